@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.neo4j.graphdb.config.Configuration;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.FileUtils;
+import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
+import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier;
+import org.neo4j.kernel.impl.scheduler.JobSchedulerFactory;
+import org.neo4j.memory.GlobalMemoryTracker;
+import org.neo4j.scheduler.JobScheduler;
+
+/**
+ * A page cache on the real file system, in a temporary directory, for benchmarks to create their files in.
+ * Tracing is disabled so that the measurements only include the page cache itself.
+ */
+public final class PageCacheFixture implements AutoCloseable
+{
+    private final File directory;
+    private final FileSystemAbstraction fs;
+    private final JobScheduler jobScheduler;
+    private final PageCache pageCache;
+
+    private PageCacheFixture( File directory, long memory )
+    {
+        this.directory = directory;
+        this.fs = new DefaultFileSystemAbstraction();
+        this.jobScheduler = JobSchedulerFactory.createInitialisedScheduler();
+        SingleFilePageSwapperFactory swapperFactory = new SingleFilePageSwapperFactory();
+        swapperFactory.open( fs, Configuration.EMPTY );
+        MemoryAllocator memoryAllocator = MemoryAllocator.createAllocator( String.valueOf( memory ), GlobalMemoryTracker.INSTANCE );
+        this.pageCache = new MuninnPageCache( swapperFactory, memoryAllocator, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL,
+                EmptyVersionContextSupplier.EMPTY, jobScheduler );
+    }
+
+    /**
+     * @param memory the number of bytes of memory for the page cache to use.
+     * @return a new page cache fixture in a fresh temporary directory.
+     */
+    public static PageCacheFixture create( long memory ) throws IOException
+    {
+        return new PageCacheFixture( Files.createTempDirectory( "ongdb-bench" ).toFile(), memory );
+    }
+
+    public PageCache pageCache()
+    {
+        return pageCache;
+    }
+
+    public FileSystemAbstraction fileSystem()
+    {
+        return fs;
+    }
+
+    public File file( String name )
+    {
+        return new File( directory, name );
+    }
+
+    /**
+     * Map a new file, and fill the given number of pages with longs holding the id of the page they are in.
+     */
+    public PagedFile mapFile( String name, long pages ) throws IOException
+    {
+        PagedFile pagedFile = pageCache.map( file( name ), pageCache.pageSize(), StandardOpenOption.CREATE );
+        try ( PageCursor cursor = pagedFile.io( 0, PagedFile.PF_SHARED_WRITE_LOCK ) )
+        {
+            for ( long pageId = 0; pageId < pages; pageId++ )
+            {
+                cursor.next( pageId );
+                for ( int offset = 0; offset < pagedFile.pageSize(); offset += Long.BYTES )
+                {
+                    cursor.putLong( offset, pageId );
+                }
+            }
+        }
+        pagedFile.flushAndForce();
+        return pagedFile;
+    }
+
+    @Override
+    public void close() throws Exception
+    {
+        pageCache.close();
+        jobScheduler.close();
+        fs.close();
+        FileUtils.deleteRecursively( directory );
+    }
+}
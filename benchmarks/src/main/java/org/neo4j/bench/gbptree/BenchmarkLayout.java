@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bench.gbptree;
+
+import org.neo4j.index.internal.gbptree.Layout;
+
+/**
+ * A {@link Layout} that can generate its keys and values from a seed, such that the order of the keys
+ * is the same as the order of their seeds. This lets the benchmarks address entries in the tree by seed
+ * without knowing anything about the actual key and value types.
+ *
+ * @param <KEY> type of key
+ * @param <VALUE> type of value
+ */
+abstract class BenchmarkLayout<KEY,VALUE> extends Layout.Adapter<KEY,VALUE>
+{
+    static final String FIXED = "fixed";
+    static final String DYNAMIC = "dynamic";
+
+    /**
+     * Make the given key into the key generated from the given seed.
+     */
+    abstract void keyWithSeed( KEY into, long seed );
+
+    /**
+     * Make the given value into the value generated from the given seed.
+     */
+    abstract void valueWithSeed( VALUE into, long seed );
+
+    static BenchmarkLayout<?,?> forName( String name )
+    {
+        switch ( name )
+        {
+        case FIXED:
+            return new FixedSizeLongLayout();
+        case DYNAMIC:
+            return new DynamicSizeBytesLayout();
+        default:
+            throw new IllegalArgumentException( "Unknown layout '" + name + "', expected one of " + FIXED + " or " + DYNAMIC );
+        }
+    }
+}
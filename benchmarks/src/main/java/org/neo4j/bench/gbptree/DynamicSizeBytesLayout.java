@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bench.gbptree;
+
+import java.util.Arrays;
+
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.io.pagecache.PageCursor;
+
+/**
+ * Dynamic size layout with byte array keys and values. A key is its seed in big-endian order followed by a
+ * suffix of 0 to {@value #MAX_KEY_SUFFIX} bytes, which makes key order follow seed order, and lets splits
+ * in the tree use the seed alone as a minimal splitter. Values are {@value #MIN_VALUE_SIZE} to
+ * {@value #MAX_VALUE_SIZE} bytes.
+ */
+class DynamicSizeBytesLayout extends BenchmarkLayout<DynamicSizeBytesLayout.Bytes,DynamicSizeBytesLayout.Bytes>
+{
+    private static final int MAX_KEY_SUFFIX = 24;
+    private static final int MIN_VALUE_SIZE = 8;
+    private static final int MAX_VALUE_SIZE = 24;
+
+    static final class Bytes
+    {
+        byte[] bytes = new byte[0];
+
+        private byte[] ensureLength( int length )
+        {
+            if ( bytes.length != length )
+            {
+                bytes = new byte[length];
+            }
+            return bytes;
+        }
+    }
+
+    @Override
+    void keyWithSeed( Bytes into, long seed )
+    {
+        long hash = mix( seed );
+        byte[] bytes = into.ensureLength( Long.BYTES + (int) ((hash >>> 1) % (MAX_KEY_SUFFIX + 1)) );
+        putSeed( bytes, seed );
+        fill( bytes, Long.BYTES, hash );
+    }
+
+    @Override
+    void valueWithSeed( Bytes into, long seed )
+    {
+        long hash = mix( ~seed );
+        byte[] bytes = into.ensureLength( MIN_VALUE_SIZE + (int) ((hash >>> 1) % (MAX_VALUE_SIZE - MIN_VALUE_SIZE + 1)) );
+        fill( bytes, 0, hash );
+    }
+
+    @Override
+    public Bytes newKey()
+    {
+        return new Bytes();
+    }
+
+    @Override
+    public Bytes copyKey( Bytes key, Bytes into )
+    {
+        into.bytes = Arrays.copyOf( key.bytes, key.bytes.length );
+        return into;
+    }
+
+    @Override
+    public Bytes newValue()
+    {
+        return new Bytes();
+    }
+
+    @Override
+    public int keySize( Bytes key )
+    {
+        return key.bytes.length;
+    }
+
+    @Override
+    public int valueSize( Bytes value )
+    {
+        return value.bytes.length;
+    }
+
+    @Override
+    public void writeKey( PageCursor cursor, Bytes key )
+    {
+        cursor.putBytes( key.bytes );
+    }
+
+    @Override
+    public void writeValue( PageCursor cursor, Bytes value )
+    {
+        cursor.putBytes( value.bytes );
+    }
+
+    @Override
+    public void readKey( PageCursor cursor, Bytes into, int keySize )
+    {
+        // The size may be garbage in an inconsistent read, so guard against allocating for it.
+        cursor.getBytes( into.ensureLength( Math.max( 0, Math.min( keySize, Long.BYTES + MAX_KEY_SUFFIX ) ) ) );
+    }
+
+    @Override
+    public void readValue( PageCursor cursor, Bytes into, int valueSize )
+    {
+        cursor.getBytes( into.ensureLength( Math.max( 0, Math.min( valueSize, MAX_VALUE_SIZE ) ) ) );
+    }
+
+    @Override
+    public boolean fixedSize()
+    {
+        return false;
+    }
+
+    @Override
+    public void minimalSplitter( Bytes left, Bytes right, Bytes into )
+    {
+        if ( left.bytes.length >= Long.BYTES && right.bytes.length >= Long.BYTES && seedOf( left ) != seedOf( right ) )
+        {
+            into.bytes = Arrays.copyOf( right.bytes, Long.BYTES );
+        }
+        else
+        {
+            copyKey( right, into );
+        }
+    }
+
+    @Override
+    public long identifier()
+    {
+        return Layout.namedIdentifier( "BDyn", 1 );
+    }
+
+    @Override
+    public int majorVersion()
+    {
+        return 0;
+    }
+
+    @Override
+    public int minorVersion()
+    {
+        return 1;
+    }
+
+    @Override
+    public int compare( Bytes o1, Bytes o2 )
+    {
+        byte[] a = o1.bytes;
+        byte[] b = o2.bytes;
+        int length = Math.min( a.length, b.length );
+        for ( int i = 0; i < length; i++ )
+        {
+            int compare = Integer.compare( a[i] & 0xFF, b[i] & 0xFF );
+            if ( compare != 0 )
+            {
+                return compare;
+            }
+        }
+        return Integer.compare( a.length, b.length );
+    }
+
+    private static long seedOf( Bytes key )
+    {
+        long seed = 0;
+        for ( int i = 0; i < Long.BYTES; i++ )
+        {
+            seed = (seed << Byte.SIZE) | (key.bytes[i] & 0xFF);
+        }
+        return seed;
+    }
+
+    private static void putSeed( byte[] bytes, long seed )
+    {
+        // Flip the sign bit so that unsigned byte-wise comparison orders negative seeds before positive ones.
+        long sortable = seed ^ Long.MIN_VALUE;
+        for ( int i = Long.BYTES - 1; i >= 0; i-- )
+        {
+            bytes[i] = (byte) sortable;
+            sortable >>>= Byte.SIZE;
+        }
+    }
+
+    private static void fill( byte[] bytes, int offset, long hash )
+    {
+        for ( int i = offset; i < bytes.length; i++ )
+        {
+            hash = mix( hash );
+            bytes[i] = (byte) hash;
+        }
+    }
+
+    private static long mix( long value )
+    {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb93fe34d53a9L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bench.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.io.pagecache.PageCursor;
+
+/**
+ * Fixed size layout with a single long for key and value, which gives the tree its highest fan-out.
+ */
+class FixedSizeLongLayout extends BenchmarkLayout<MutableLong,MutableLong>
+{
+    @Override
+    void keyWithSeed( MutableLong into, long seed )
+    {
+        into.setValue( seed );
+    }
+
+    @Override
+    void valueWithSeed( MutableLong into, long seed )
+    {
+        into.setValue( seed );
+    }
+
+    @Override
+    public MutableLong newKey()
+    {
+        return new MutableLong();
+    }
+
+    @Override
+    public MutableLong copyKey( MutableLong key, MutableLong into )
+    {
+        into.setValue( key.longValue() );
+        return into;
+    }
+
+    @Override
+    public MutableLong newValue()
+    {
+        return new MutableLong();
+    }
+
+    @Override
+    public int keySize( MutableLong key )
+    {
+        return Long.BYTES;
+    }
+
+    @Override
+    public int valueSize( MutableLong value )
+    {
+        return Long.BYTES;
+    }
+
+    @Override
+    public void writeKey( PageCursor cursor, MutableLong key )
+    {
+        cursor.putLong( key.longValue() );
+    }
+
+    @Override
+    public void writeValue( PageCursor cursor, MutableLong value )
+    {
+        cursor.putLong( value.longValue() );
+    }
+
+    @Override
+    public void readKey( PageCursor cursor, MutableLong into, int keySize )
+    {
+        into.setValue( cursor.getLong() );
+    }
+
+    @Override
+    public void readValue( PageCursor cursor, MutableLong into, int valueSize )
+    {
+        into.setValue( cursor.getLong() );
+    }
+
+    @Override
+    public boolean fixedSize()
+    {
+        return true;
+    }
+
+    @Override
+    public long identifier()
+    {
+        return Layout.namedIdentifier( "BFix", 1 );
+    }
+
+    @Override
+    public int majorVersion()
+    {
+        return 0;
+    }
+
+    @Override
+    public int minorVersion()
+    {
+        return 1;
+    }
+
+    @Override
+    public int compare( MutableLong o1, MutableLong o2 )
+    {
+        return Long.compare( o1.longValue(), o2.longValue() );
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bench.gbptree;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.neo4j.bench.PageCacheFixture;
+import org.neo4j.io.ByteUnit;
+
+/**
+ * Inserts into a tree that starts out empty on every iteration, so that a large part of the time goes to
+ * splitting nodes. A tree only has a single writer, so every benchmark thread inserts into its own tree,
+ * and running with more threads measures how inserts scale on a shared page cache.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Fork( 1 )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+public class GBPTreeInsertBenchmark
+{
+    @Param( {BenchmarkLayout.FIXED, BenchmarkLayout.DYNAMIC} )
+    public String layout;
+
+    private final AtomicInteger treeIds = new AtomicInteger();
+    private PageCacheFixture fixture;
+
+    @Setup( Level.Trial )
+    public void setUp() throws IOException
+    {
+        fixture = PageCacheFixture.create( ByteUnit.gibiBytes( 1 ) );
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws Exception
+    {
+        fixture.close();
+    }
+
+    @State( Scope.Thread )
+    public static class Writer
+    {
+        private File file;
+        private TreeFixture<?,?> tree;
+        TreeFixture<?,?>.Inserter inserter;
+        long nextSeed;
+
+        @Setup( Level.Iteration )
+        public void setUp( GBPTreeInsertBenchmark benchmark ) throws IOException
+        {
+            file = benchmark.fixture.file( "tree-" + benchmark.treeIds.getAndIncrement() );
+            tree = TreeFixture.create( benchmark.fixture.pageCache(), file, benchmark.layout );
+            inserter = tree.inserter();
+            nextSeed = 0;
+        }
+
+        @TearDown( Level.Iteration )
+        public void tearDown( GBPTreeInsertBenchmark benchmark ) throws IOException
+        {
+            inserter.close();
+            tree.close();
+            benchmark.fixture.fileSystem().deleteFile( file );
+        }
+    }
+
+    /**
+     * Inserts in key order, where every split is at the right-most leaf.
+     */
+    @Benchmark
+    public void insertSequential( Writer writer ) throws IOException
+    {
+        writer.inserter.insert( writer.nextSeed++ );
+    }
+
+    /**
+     * Inserts in random key order, where splits are spread over the whole tree.
+     */
+    @Benchmark
+    public void insertRandom( Writer writer ) throws IOException
+    {
+        writer.inserter.insert( ThreadLocalRandom.current().nextLong() );
+    }
+}
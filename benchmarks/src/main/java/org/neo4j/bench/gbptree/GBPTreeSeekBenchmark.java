@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bench.gbptree;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.bench.PageCacheFixture;
+import org.neo4j.io.ByteUnit;
+
+/**
+ * Exact seeks and range scans on a populated tree, which fits in the page cache. Seeks are lock free,
+ * so running these with more threads measures how well readers scale on a shared tree.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Fork( 1 )
+@Warmup( iterations = 5, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+public class GBPTreeSeekBenchmark
+{
+    private static final int RANGE_SIZE = 1_000;
+
+    @Param( {BenchmarkLayout.FIXED, BenchmarkLayout.DYNAMIC} )
+    public String layout;
+
+    @Param( "1000000" )
+    public long entries;
+
+    private PageCacheFixture fixture;
+    private TreeFixture<?,?> tree;
+
+    @Setup( Level.Trial )
+    public void setUp() throws IOException
+    {
+        fixture = PageCacheFixture.create( ByteUnit.mebiBytes( 512 ) );
+        tree = TreeFixture.create( fixture.pageCache(), fixture.file( "tree" ), layout );
+        tree.populate( entries );
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws Exception
+    {
+        tree.close();
+        fixture.close();
+    }
+
+    @State( Scope.Thread )
+    public static class Reader
+    {
+        TreeFixture<?,?>.Seeker seeker;
+
+        @Setup( Level.Trial )
+        public void setUp( GBPTreeSeekBenchmark benchmark )
+        {
+            seeker = benchmark.tree.seeker();
+        }
+    }
+
+    @Benchmark
+    public long seekExact( Reader reader ) throws IOException
+    {
+        long seed = ThreadLocalRandom.current().nextLong( entries );
+        return reader.seeker.seek( seed, seed + 1 );
+    }
+
+    @Benchmark
+    @OutputTimeUnit( TimeUnit.SECONDS )
+    public long rangeScan( Reader reader ) throws IOException
+    {
+        long seed = ThreadLocalRandom.current().nextLong( entries - RANGE_SIZE );
+        return reader.seeker.seek( seed, seed + RANGE_SIZE );
+    }
+}
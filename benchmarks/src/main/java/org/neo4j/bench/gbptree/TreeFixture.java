@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bench.gbptree;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Hit;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.index.internal.gbptree.Writer;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.io.pagecache.PageCache;
+
+/**
+ * A {@link GBPTree} whose entries are addressed by the seeds of its {@link BenchmarkLayout}, so that benchmarks
+ * don't need to know the key and value types of the layout they run with.
+ */
+final class TreeFixture<KEY,VALUE> implements Closeable
+{
+    private final BenchmarkLayout<KEY,VALUE> layout;
+    private final GBPTree<KEY,VALUE> tree;
+
+    private TreeFixture( PageCache pageCache, File file, BenchmarkLayout<KEY,VALUE> layout ) throws IOException
+    {
+        this.layout = layout;
+        this.tree = new GBPTree<>( pageCache, file, layout, 0, GBPTree.NO_MONITOR, GBPTree.NO_HEADER_READER,
+                GBPTree.NO_HEADER_WRITER, RecoveryCleanupWorkCollector.immediate(), false );
+    }
+
+    static TreeFixture<?,?> create( PageCache pageCache, File file, String layoutName ) throws IOException
+    {
+        return new TreeFixture<>( pageCache, file, BenchmarkLayout.forName( layoutName ) );
+    }
+
+    /**
+     * Insert the entries with seeds {@code 0} up to, but not including, {@code count} and checkpoint the tree.
+     */
+    void populate( long count ) throws IOException
+    {
+        try ( Inserter inserter = inserter() )
+        {
+            for ( long seed = 0; seed < count; seed++ )
+            {
+                inserter.insert( seed );
+            }
+        }
+        tree.checkpoint( IOLimiter.UNLIMITED );
+    }
+
+    /**
+     * @return a new {@link Seeker}, which is meant to be used by a single thread.
+     */
+    Seeker seeker()
+    {
+        return new Seeker();
+    }
+
+    /**
+     * @return a new {@link Inserter} holding the single writer of the tree, until it is closed.
+     */
+    Inserter inserter() throws IOException
+    {
+        return new Inserter( tree.writer() );
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        tree.close();
+    }
+
+    final class Seeker
+    {
+        private final KEY from = layout.newKey();
+        private final KEY to = layout.newKey();
+
+        /**
+         * Seek the entries with seeds in the given range and read all their keys and values.
+         *
+         * @return the number of entries found.
+         */
+        long seek( long fromSeedInclusive, long toSeedExclusive ) throws IOException
+        {
+            layout.keyWithSeed( from, fromSeedInclusive );
+            layout.keyWithSeed( to, toSeedExclusive );
+            long count = 0;
+            try ( RawCursor<Hit<KEY,VALUE>,IOException> cursor = tree.seek( from, to ) )
+            {
+                while ( cursor.next() )
+                {
+                    Hit<KEY,VALUE> hit = cursor.get();
+                    if ( hit.key() != null && hit.value() != null )
+                    {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+    }
+
+    final class Inserter implements Closeable
+    {
+        private final Writer<KEY,VALUE> writer;
+        private final KEY key = layout.newKey();
+        private final VALUE value = layout.newValue();
+
+        private Inserter( Writer<KEY,VALUE> writer )
+        {
+            this.writer = writer;
+        }
+
+        void insert( long seed ) throws IOException
+        {
+            layout.keyWithSeed( key, seed );
+            layout.valueWithSeed( value, seed );
+            writer.put( key, value );
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            writer.close();
+        }
+    }
+}
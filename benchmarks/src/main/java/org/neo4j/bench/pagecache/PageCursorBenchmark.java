@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bench.pagecache;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.bench.PageCacheFixture;
+import org.neo4j.io.ByteUnit;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+
+/**
+ * Pinning, unpinning and optimistic reads of pages that are all in memory, so that no benchmark here
+ * ever faults or evicts. The contended group has readers retrying their reads of pages that a writer
+ * keeps changing, and counts the retries.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Fork( 1 )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+public class PageCursorBenchmark
+{
+    private static final int PAGES = 1_000;
+    private static final int CONTENDED_PAGES = 4;
+
+    private PageCacheFixture fixture;
+    private PagedFile pagedFile;
+    private int longsPerPage;
+
+    @Setup( Level.Trial )
+    public void setUp() throws IOException
+    {
+        fixture = PageCacheFixture.create( ByteUnit.mebiBytes( 64 ) );
+        pagedFile = fixture.mapFile( "pages", PAGES );
+        longsPerPage = pagedFile.pageSize() / Long.BYTES;
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws Exception
+    {
+        pagedFile.close();
+        fixture.close();
+    }
+
+    @State( Scope.Thread )
+    public static class Reader
+    {
+        PageCursor cursor;
+
+        @Setup( Level.Trial )
+        public void setUp( PageCursorBenchmark benchmark ) throws IOException
+        {
+            cursor = benchmark.pagedFile.io( 0, PagedFile.PF_SHARED_READ_LOCK );
+        }
+
+        @TearDown( Level.Trial )
+        public void tearDown()
+        {
+            cursor.close();
+        }
+    }
+
+    @AuxCounters( AuxCounters.Type.OPERATIONS )
+    @State( Scope.Thread )
+    public static class Retries
+    {
+        public long retries;
+
+        @Setup( Level.Iteration )
+        public void clear()
+        {
+            retries = 0;
+        }
+    }
+
+    /**
+     * Moving a read cursor to another page, which unpins the page it was on and pins the new one.
+     */
+    @Benchmark
+    public boolean pinUnpin( Reader reader ) throws IOException
+    {
+        return reader.cursor.next( ThreadLocalRandom.current().nextInt( PAGES ) );
+    }
+
+    /**
+     * A complete optimistic read of a single long, including the pin and the retry check.
+     */
+    @Benchmark
+    public long readLong( Reader reader ) throws IOException
+    {
+        ThreadLocalRandom rng = ThreadLocalRandom.current();
+        return read( reader.cursor, rng.nextInt( PAGES ), rng.nextInt( longsPerPage ) * Long.BYTES );
+    }
+
+    /**
+     * Pin a page once, and read all the longs in it, like a scan over the records of a page does.
+     */
+    @Benchmark
+    public long readPage( Reader reader ) throws IOException
+    {
+        PageCursor cursor = reader.cursor;
+        long sum;
+        cursor.next( ThreadLocalRandom.current().nextInt( PAGES ) );
+        do
+        {
+            sum = 0;
+            for ( int offset = 0; offset < longsPerPage * Long.BYTES; offset += Long.BYTES )
+            {
+                sum += cursor.getLong( offset );
+            }
+        }
+        while ( cursor.shouldRetry() );
+        return sum;
+    }
+
+    @Benchmark
+    @Group( "contended" )
+    @GroupThreads( 3 )
+    public long contendedRead( Reader reader, Retries retries ) throws IOException
+    {
+        PageCursor cursor = reader.cursor;
+        cursor.next( ThreadLocalRandom.current().nextInt( CONTENDED_PAGES ) );
+        long value;
+        long retried = -1;
+        do
+        {
+            retried++;
+            value = cursor.getLong( 0 );
+        }
+        while ( cursor.shouldRetry() );
+        retries.retries += retried;
+        return value;
+    }
+
+    @Benchmark
+    @Group( "contended" )
+    @GroupThreads( 1 )
+    public void contendedWrite() throws IOException
+    {
+        // Use a cursor per write, such that the write lock is released as soon as the write is done,
+        // rather than being held until the next invocation.
+        long pageId = ThreadLocalRandom.current().nextInt( CONTENDED_PAGES );
+        try ( PageCursor cursor = pagedFile.io( pageId, PagedFile.PF_SHARED_WRITE_LOCK | PagedFile.PF_NO_GROW ) )
+        {
+            if ( cursor.next() )
+            {
+                cursor.putLong( 0, cursor.getLong( 0 ) + 1 );
+            }
+        }
+    }
+
+    private static long read( PageCursor cursor, long pageId, int offset ) throws IOException
+    {
+        long value;
+        cursor.next( pageId );
+        do
+        {
+            value = cursor.getLong( offset );
+        }
+        while ( cursor.shouldRetry() );
+        return value;
+    }
+}
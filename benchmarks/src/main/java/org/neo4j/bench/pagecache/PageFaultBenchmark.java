@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bench.pagecache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.bench.PageCacheFixture;
+import org.neo4j.io.ByteUnit;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+
+/**
+ * Random page accesses to a file that is larger than the page cache, such that a part of the accesses
+ * fault pages in and evict others. Writes dirty the pages, which makes the evictions flush them. All
+ * benchmark threads share the file, so running these with more threads puts the eviction and the
+ * translation tables of the file under contention.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Fork( 1 )
+@Warmup( iterations = 5, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+public class PageFaultBenchmark
+{
+    private static final long CACHE_MEMORY = ByteUnit.mebiBytes( 32 );
+
+    /**
+     * The fraction of the file that fits in the page cache.
+     */
+    @Param( {"0.1", "0.5", "0.9"} )
+    public double cachedFraction;
+
+    private PageCacheFixture fixture;
+    private PagedFile pagedFile;
+    private long pages;
+
+    @Setup( Level.Trial )
+    public void setUp() throws IOException
+    {
+        fixture = PageCacheFixture.create( CACHE_MEMORY );
+        pages = (long) (CACHE_MEMORY / fixture.pageCache().pageSize() / cachedFraction);
+        pagedFile = fixture.mapFile( "pages", pages );
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws Exception
+    {
+        pagedFile.close();
+        fixture.close();
+    }
+
+    @State( Scope.Thread )
+    public static class Cursors
+    {
+        PageCursor reader;
+        PageCursor writer;
+
+        @Setup( Level.Trial )
+        public void setUp( PageFaultBenchmark benchmark ) throws IOException
+        {
+            reader = benchmark.pagedFile.io( 0, PagedFile.PF_SHARED_READ_LOCK );
+            writer = benchmark.pagedFile.io( 0, PagedFile.PF_SHARED_WRITE_LOCK | PagedFile.PF_NO_GROW );
+        }
+
+        @TearDown( Level.Trial )
+        public void tearDown()
+        {
+            reader.close();
+            writer.close();
+        }
+    }
+
+    @Benchmark
+    public long randomRead( Cursors cursors ) throws IOException
+    {
+        PageCursor cursor = cursors.reader;
+        long value;
+        cursor.next( ThreadLocalRandom.current().nextLong( pages ) );
+        do
+        {
+            value = cursor.getLong( 0 );
+        }
+        while ( cursor.shouldRetry() );
+        return value;
+    }
+
+    @Benchmark
+    public void randomWrite( Cursors cursors ) throws IOException
+    {
+        PageCursor cursor = cursors.writer;
+        long pageId = ThreadLocalRandom.current().nextLong( pages );
+        cursor.next( pageId );
+        cursor.putLong( 0, pageId );
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bench.pagecache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.graphdb.config.Configuration;
+import org.neo4j.helpers.Service;
+import org.neo4j.io.ByteUnit;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.FileUtils;
+import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.io.pagecache.PageSwapper;
+import org.neo4j.io.pagecache.PageSwapperFactory;
+import org.neo4j.memory.LocalMemoryTracker;
+
+/**
+ * Page faults served directly by a {@link PageSwapper}, one full pass over a file in random page order per
+ * operation, comparing the swapper implementations that can be selected with {@code dbms.memory.pagecache.swapper}.
+ * <p>
+ * A cold pass reads every page through a newly created swapper, so it includes the cost of opening the file and,
+ * for the mapped swapper, of establishing the mappings. Pages that the OS has evicted, e.g. after
+ * {@code echo 3 > /proc/sys/vm/drop_caches}, also add the cost of going to the storage device. A warm pass reuses a
+ * swapper that has already read the whole file, which isolates the overhead of the swapper itself.
+ * <p>
+ * Every benchmark thread has its own file, because swappers lock the files they open.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Fork( 1 )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+public class PageSwapperBenchmark
+{
+    private static final int PAGE_SIZE = 8192;
+    private static final int FILE_PAGES = (int) (ByteUnit.mebiBytes( 64 ) / PAGE_SIZE);
+
+    /**
+     * The {@link PageSwapperFactory#implementationName()} of the swapper to benchmark.
+     */
+    @Param( {"single", "mapped"} )
+    public String swapper;
+
+    @Param( {"cold", "warm"} )
+    public String cache;
+
+    private File directory;
+    private FileSystemAbstraction fs;
+    private PageSwapperFactory factory;
+    private MemoryAllocator allocator;
+    private File file;
+    private long buffer;
+    private int[] order;
+    private PageSwapper pageSwapper;
+
+    @Setup( Level.Trial )
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory( "ongdb-bench" ).toFile();
+        fs = new DefaultFileSystemAbstraction();
+        factory = swapperFactory( swapper );
+        factory.open( fs, Configuration.EMPTY );
+        allocator = MemoryAllocator.createAllocator( String.valueOf( PAGE_SIZE * 2 ), new LocalMemoryTracker() );
+        buffer = allocator.allocateAligned( PAGE_SIZE, PAGE_SIZE );
+        file = new File( directory, "pages" );
+        order = shuffledPageIds();
+        createFile();
+        if ( isWarm() )
+        {
+            pageSwapper = factory.createPageSwapper( file, PAGE_SIZE, null, false, false );
+            readAllPages();
+        }
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws IOException
+    {
+        if ( isWarm() )
+        {
+            pageSwapper.close();
+        }
+        factory.close();
+        allocator.close();
+        fs.close();
+        FileUtils.deleteRecursively( directory );
+    }
+
+    @Setup( Level.Invocation )
+    public void openColdSwapper() throws IOException
+    {
+        if ( !isWarm() )
+        {
+            pageSwapper = factory.createPageSwapper( file, PAGE_SIZE, null, false, false );
+        }
+    }
+
+    @TearDown( Level.Invocation )
+    public void closeColdSwapper() throws IOException
+    {
+        if ( !isWarm() )
+        {
+            pageSwapper.close();
+        }
+    }
+
+    @Benchmark
+    public long readAllPages() throws IOException
+    {
+        long bytesRead = 0;
+        for ( int filePageId : order )
+        {
+            bytesRead += pageSwapper.read( filePageId, buffer, PAGE_SIZE );
+        }
+        return bytesRead;
+    }
+
+    private boolean isWarm()
+    {
+        return "warm".equals( cache );
+    }
+
+    private void createFile() throws IOException
+    {
+        PageSwapper writer = factory.createPageSwapper( file, PAGE_SIZE, null, true, false );
+        try
+        {
+            for ( int filePageId = 0; filePageId < FILE_PAGES; filePageId++ )
+            {
+                writer.write( filePageId, buffer );
+            }
+            writer.force();
+        }
+        finally
+        {
+            writer.close();
+        }
+    }
+
+    private static int[] shuffledPageIds()
+    {
+        int[] order = new int[FILE_PAGES];
+        for ( int i = 0; i < FILE_PAGES; i++ )
+        {
+            order[i] = i;
+        }
+        ThreadLocalRandom rng = ThreadLocalRandom.current();
+        for ( int i = FILE_PAGES - 1; i > 0; i-- )
+        {
+            int j = rng.nextInt( i + 1 );
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    private static PageSwapperFactory swapperFactory( String implementationName )
+    {
+        for ( PageSwapperFactory factory : Service.load( PageSwapperFactory.class ) )
+        {
+            if ( factory.implementationName().equals( implementationName ) )
+            {
+                return factory;
+            }
+        }
+        throw new IllegalArgumentException( "Cannot find PageSwapperFactory: " + implementationName );
+    }
+}
@@ -43,6 +43,10 @@ public enum Group
     LOG_ROTATION( "LogRotation" ),
     /** Checkpoint and store flush. */
     CHECKPOINT( "CheckPoint" ),
+    /** Trickles dirty pages out of the page cache in between check points. */
+    PAGE_CACHE_FLUSHER( "PageCacheFlusher" ),
+    /** Asynchronous page faults, on behalf of page cursors that read ahead or prefetch pages. */
+    PAGE_CACHE_IO( "PageCacheIO" ),
     /** Various little periodic tasks that need to be done on a regular basis to keep the store in good shape. */
     STORAGE_MAINTENANCE( "StorageMaintenance" ),
     /** Terminates kernel transactions that have timed out. */
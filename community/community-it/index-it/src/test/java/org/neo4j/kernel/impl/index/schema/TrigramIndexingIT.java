@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.graphdb.StringSearchMode;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.internal.kernel.api.NodeValueIndexCursor;
+import org.neo4j.internal.kernel.api.exceptions.KernelException;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.api.schema.index.TestIndexDescriptorFactory;
+import org.neo4j.kernel.impl.core.ThreadToStatementContextBridge;
+import org.neo4j.test.TestLabels;
+import org.neo4j.test.rule.DatabaseRule;
+import org.neo4j.test.rule.EmbeddedDatabaseRule;
+import org.neo4j.test.rule.RandomRule;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.values.storable.Values.stringValue;
+
+public class TrigramIndexingIT
+{
+    private static final Label LABEL = TestLabels.LABEL_ONE;
+    private static final String KEY = "key";
+
+    @Rule
+    public final DatabaseRule db = new EmbeddedDatabaseRule()
+            .withSetting( GraphDatabaseSettings.default_schema_provider, GraphDatabaseSettings.SchemaIndex.TRIGRAM10.providerName() );
+    @Rule
+    public final RandomRule random = new RandomRule();
+
+    @Test
+    public void shouldFindStringsContainingAndEndingWithSearchedString() throws IOException
+    {
+        // given
+        createIndex();
+        Map<Long,String> strings = new HashMap<>();
+        try ( Transaction tx = db.beginTx() )
+        {
+            for ( int i = 0; i < 1_000; i++ )
+            {
+                Node node = db.createNode( LABEL );
+                String string = randomString();
+                node.setProperty( KEY, string );
+                strings.put( node.getId(), string );
+            }
+            tx.success();
+        }
+
+        // then
+        assertFindsMatchingNodes( strings );
+
+        // and when changing and removing some values
+        try ( Transaction tx = db.beginTx() )
+        {
+            for ( long nodeId : new HashSet<>( strings.keySet() ) )
+            {
+                if ( random.nextInt( 5 ) == 0 )
+                {
+                    db.getNodeById( nodeId ).removeProperty( KEY );
+                    strings.remove( nodeId );
+                }
+                else if ( random.nextInt( 5 ) == 0 )
+                {
+                    String string = randomString();
+                    db.getNodeById( nodeId ).setProperty( KEY, string );
+                    strings.put( nodeId, string );
+                }
+            }
+            tx.success();
+        }
+
+        // then
+        assertFindsMatchingNodes( strings );
+
+        // and after restart
+        db.restartDatabase();
+        assertFindsMatchingNodes( strings );
+    }
+
+    @Test
+    public void shouldPopulateFromExistingData()
+    {
+        // given
+        Map<Long,String> strings = new HashMap<>();
+        try ( Transaction tx = db.beginTx() )
+        {
+            for ( int i = 0; i < 1_000; i++ )
+            {
+                Node node = db.createNode( LABEL );
+                String string = randomString();
+                node.setProperty( KEY, string );
+                strings.put( node.getId(), string );
+            }
+            tx.success();
+        }
+
+        // when
+        createIndex();
+
+        // then
+        assertFindsMatchingNodes( strings );
+    }
+
+    @Test
+    public void shouldProvideValuesOfVerifiedCandidates() throws KernelException
+    {
+        // given
+        createIndex();
+        Node node;
+        try ( Transaction tx = db.beginTx() )
+        {
+            node = db.createNode( LABEL );
+            node.setProperty( KEY, "a trigram index" );
+            db.createNode( LABEL ).setProperty( KEY, "an n-gram index" );
+            tx.success();
+        }
+
+        // when
+        try ( Transaction tx = db.beginTx() )
+        {
+            KernelTransaction ktx = db.getDependencyResolver().resolveDependency( ThreadToStatementContextBridge.class )
+                    .getKernelTransactionBoundToThisThread( true );
+            int labelId = ktx.tokenRead().nodeLabel( LABEL.name() );
+            int propertyKeyId = ktx.tokenRead().propertyKey( KEY );
+            try ( NodeValueIndexCursor cursor = ktx.cursors().allocateNodeValueIndexCursor() )
+            {
+                ktx.dataRead().nodeIndexSeek( TestIndexDescriptorFactory.forLabel( labelId, propertyKeyId ), cursor, IndexOrder.NONE, true,
+                        IndexQuery.stringContains( propertyKeyId, stringValue( "trigram" ) ) );
+
+                // then
+                assertTrue( cursor.next() );
+                assertEquals( node.getId(), cursor.nodeReference() );
+                assertTrue( cursor.hasValue() );
+                assertEquals( stringValue( "a trigram index" ), cursor.propertyValue( 0 ) );
+                assertFalse( cursor.next() );
+            }
+            tx.success();
+        }
+    }
+
+    private void assertFindsMatchingNodes( Map<Long,String> strings )
+    {
+        try ( Transaction tx = db.beginTx() )
+        {
+            for ( int i = 0; i < 100; i++ )
+            {
+                String searched = randomString();
+                searched = searched.substring( random.nextInt( searched.length() ) );
+                assertFindsMatchingNodes( strings, searched, StringSearchMode.CONTAINS );
+                assertFindsMatchingNodes( strings, searched, StringSearchMode.SUFFIX );
+            }
+            tx.success();
+        }
+    }
+
+    private void assertFindsMatchingNodes( Map<Long,String> strings, String searched, StringSearchMode mode )
+    {
+        Set<Long> expected = new HashSet<>();
+        strings.forEach( ( nodeId, string ) ->
+        {
+            if ( mode == StringSearchMode.CONTAINS ? string.contains( searched ) : string.endsWith( searched ) )
+            {
+                expected.add( nodeId );
+            }
+        } );
+
+        Set<Long> found = new HashSet<>();
+        try ( ResourceIterator<Node> nodes = db.findNodes( LABEL, KEY, searched, mode ) )
+        {
+            nodes.forEachRemaining( node -> assertTrue( found.add( node.getId() ) ) );
+        }
+        assertEquals( mode + " " + searched, expected, found );
+    }
+
+    private String randomString()
+    {
+        // Few different characters, to get many strings sharing trigrams
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt( 1, 12 );
+        for ( int i = 0; i < length; i++ )
+        {
+            builder.append( (char) ('a' + random.nextInt( 5 )) );
+        }
+        return builder.toString();
+    }
+
+    private void createIndex()
+    {
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.schema().indexFor( LABEL ).on( KEY ).create();
+            tx.success();
+        }
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.schema().awaitIndexesOnline( 10, SECONDS );
+            tx.success();
+        }
+    }
+}
@@ -443,6 +443,27 @@ public abstract class CompositeIndexAccessorCompatibility extends IndexAccessorC
         assertThat( query( IndexQuery.stringPrefix( 0, stringValue( "" )), exists( 1 ) ), equalTo( asList( 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L ) ) );
     }
 
+    @Test
+    public void testIndexSeekFiltersRestrictivePredicatesFollowingNonExactPredicates() throws Exception
+    {
+        Assume.assumeTrue( "Assume support for granular composite queries", testSuite.supportsGranularCompositeQueries() );
+
+        updateAndCommit( asList(
+                add( 1L, descriptor.schema(), "a", "x" ),
+                add( 2L, descriptor.schema(), "b", "y" ),
+                add( 3L, descriptor.schema(), "c", "x" ),
+                add( 4L, descriptor.schema(), "d", "x" ),
+                add( 5L, descriptor.schema(), "e", "xx" ),
+                add( 6L, descriptor.schema(), "c", "y" )
+        ) );
+
+        assertThat( query( IndexQuery.range( 0, "b", true, "d", true ), exact( 1, "x" ) ), equalTo( asList( 3L, 4L ) ) );
+        assertThat( query( IndexQuery.stringPrefix( 0, stringValue( "" ) ), IndexQuery.stringPrefix( 1, stringValue( "y" ) ) ),
+                equalTo( asList( 2L, 6L ) ) );
+        assertThat( query( exists( 0 ), exact( 1, "y" ) ), equalTo( asList( 2L, 6L ) ) );
+        assertThat( query( exists( 0 ), IndexQuery.stringPrefix( 1, stringValue( "x" ) ) ), equalTo( asList( 1L, 3L, 4L, 5L ) ) );
+    }
+
     /* testIndexSeekExactWithExists */
 
     @Test
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.internal.kernel.api.RelationshipValueIndexCursorTestBase;
+import org.neo4j.internal.kernel.api.TokenWrite;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.api.schema.SchemaDescriptorFactory;
+import org.neo4j.kernel.impl.core.ThreadToStatementContextBridge;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+
+public class RelationshipValueIndexCursorTest extends RelationshipValueIndexCursorTestBase<ReadTestSupport>
+{
+    @Override
+    public ReadTestSupport newTestSupport()
+    {
+        return new ReadTestSupport();
+    }
+
+    @Override
+    protected void createRelationshipIndex( GraphDatabaseService graphDb, String relationshipType, String... properties ) throws Exception
+    {
+        GraphDatabaseAPI internal = (GraphDatabaseAPI) graphDb;
+        KernelTransaction ktx = internal.getDependencyResolver()
+                .resolveDependency( ThreadToStatementContextBridge.class )
+                .getKernelTransactionBoundToThisThread( true );
+        TokenWrite token = ktx.tokenWrite();
+        int[] propertyKeyIds = new int[properties.length];
+        for ( int i = 0; i < properties.length; i++ )
+        {
+            propertyKeyIds[i] = token.propertyKeyGetOrCreateForName( properties[i] );
+        }
+        ktx.schemaWrite().indexCreate(
+                SchemaDescriptorFactory.forRelType( token.relationshipTypeGetOrCreateForName( relationshipType ), propertyKeyIds ) );
+    }
+}
@@ -133,14 +133,30 @@ object IndexSeek {
     } else if (predicates.length > 1) {
 
       val properties = new ArrayBuffer[IndexedProperty]()
-      val valueExprs = new ArrayBuffer[SingleQueryExpression[Expression]]()
+      val valueExprs = new ArrayBuffer[QueryExpression[Expression]]()
+
+      def add(propStr: String, valueExpr: QueryExpression[Expression]): Unit = {
+        valueExprs += valueExpr
+        properties += prop(propStr)
+      }
 
       for (predicate <- predicates)
         predicate match {
           case EXACT(propStr, valueStr) =>
-            valueExprs += SingleQueryExpression(value(valueStr))
-            properties += prop(propStr)
-          case _ => throw new IllegalArgumentException("Only exact predicates are allowed in composite seeks.")
+            add(propStr, SingleQueryExpression(value(valueStr)))
+          case LESS_THAN(propStr, valueStr) =>
+            add(propStr, RangeQueryExpression(InequalitySeekRangeWrapper(RangeLessThan(NonEmptyList(ExclusiveBound(value(valueStr)))))(pos)))
+          case LESS_THAN_OR_EQ(propStr, valueStr) =>
+            add(propStr, RangeQueryExpression(InequalitySeekRangeWrapper(RangeLessThan(NonEmptyList(InclusiveBound(value(valueStr)))))(pos)))
+          case GREATER_THAN(propStr, valueStr) =>
+            add(propStr, RangeQueryExpression(InequalitySeekRangeWrapper(RangeGreaterThan(NonEmptyList(ExclusiveBound(value(valueStr)))))(pos)))
+          case GREATER_THAN_OR_EQ(propStr, valueStr) =>
+            add(propStr, RangeQueryExpression(InequalitySeekRangeWrapper(RangeGreaterThan(NonEmptyList(InclusiveBound(value(valueStr)))))(pos)))
+          case STARTS_WITH(propStr, string) =>
+            add(propStr, RangeQueryExpression(PrefixSeekRangeWrapper(PrefixRange(StringLiteral(string)(pos)))(pos)))
+          case EXISTS(propStr) =>
+            add(propStr, ExistenceQueryExpression())
+          case _ => throw new IllegalArgumentException("Only exact, range and existence predicates are allowed in composite seeks.")
         }
 
       NodeIndexSeek(node, label, properties, CompositeQueryExpression(valueExprs), argumentIds, indexOrder)
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.v3_6.logical.plans
+
+import org.neo4j.cypher.internal.v3_6.expressions._
+import org.neo4j.cypher.internal.v3_6.util.attribution.{IdGen, SameId}
+
+/**
+  * Produces one row for each of the 'k' nodes whose indexed point is nearest to 'point', nearest first. If there are fewer
+  * than 'k' such nodes, rows for other nodes in the index follow until there are 'k' rows, or for other nodes with the label
+  * if 'includeNodesWithoutProperty' is set. This is the order that sorting by the distance to 'point' gives, since the
+  * distance to nodes that have no point of the same coordinate reference system is null.
+  */
+case class NodeIndexNearestNeighbours(idName: String,
+                                      label: LabelToken,
+                                      property: IndexedProperty,
+                                      point: Expression,
+                                      k: Expression,
+                                      argumentIds: Set[String],
+                                      includeNodesWithoutProperty: Boolean)
+                                     (implicit idGen: IdGen)
+  extends IndexLeafPlan(idGen) {
+
+  override def properties: Seq[IndexedProperty] = Seq(property)
+
+  override def cachedNodeProperties: Traversable[CachedNodeProperty] = property.maybeCachedNodeProperty(idName)
+
+  override val availableSymbols: Set[String] = argumentIds + idName
+
+  override def availableCachedNodeProperties: Map[Property, CachedNodeProperty] = property.asAvailablePropertyMap(idName)
+
+  override def copyWithoutGettingValues: NodeIndexNearestNeighbours =
+    NodeIndexNearestNeighbours(idName, label, IndexedProperty(property.propertyKeyToken, DoNotGetValue), point, k, argumentIds,
+                               includeNodesWithoutProperty)(SameId(this.id))
+}
@@ -53,3 +53,9 @@ case class CompositeQueryExpression[T](inner: Seq[QueryExpression[T]]) extends Q
 
   override def expressions: Seq[T] = inner.flatMap(_.expressions)
 }
+
+case class ExistenceQueryExpression[T]() extends QueryExpression[T] {
+  def map[R](f: T => R) = ExistenceQueryExpression[R]()
+
+  override def expressions: Seq[T] = Seq.empty
+}
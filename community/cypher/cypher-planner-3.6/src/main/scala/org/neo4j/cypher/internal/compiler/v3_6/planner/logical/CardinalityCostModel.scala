@@ -72,6 +72,7 @@ case class CardinalityCostModel(config: CypherPlannerConfiguration) extends Cost
 
     case _: NodeUniqueIndexSeek |
          _: NodeIndexSeek |
+         _: DirectedRelationshipIndexSeek |
          _: NodeIndexContainsScan |
          _: NodeIndexEndsWithScan
     => 1.9
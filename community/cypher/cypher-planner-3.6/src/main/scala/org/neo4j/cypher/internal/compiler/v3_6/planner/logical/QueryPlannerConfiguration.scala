@@ -36,6 +36,9 @@ object QueryPlannerConfiguration {
     // MATCH (n) WHERE n.prop IN ... RETURN n
     indexSeekLeafPlanner,
 
+    // MATCH ()-[r:T]->() WHERE r.prop IN ... RETURN r
+    relationshipIndexSeekLeafPlanner,
+
     // MATCH (n) WHERE has(n.prop) RETURN n
     // MATCH (n:Person) WHERE n.prop CONTAINS ...
     indexScanLeafPlanner,
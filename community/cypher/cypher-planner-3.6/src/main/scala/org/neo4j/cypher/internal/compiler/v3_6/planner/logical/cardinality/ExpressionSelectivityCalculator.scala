@@ -27,6 +27,7 @@ import org.neo4j.cypher.internal.ir.v3_6.Selections
 import org.neo4j.cypher.internal.planner.v3_6.spi.GraphStatistics
 import org.neo4j.cypher.internal.planner.v3_6.spi.GraphStatistics._
 import org.neo4j.cypher.internal.planner.v3_6.spi.IndexDescriptor
+import org.neo4j.cypher.internal.v3_6.logical.plans.InequalitySeekRange
 import org.neo4j.cypher.internal.v3_6.logical.plans.PrefixRange
 import org.neo4j.cypher.internal.v3_6.ast.semantics.SemanticTable
 import org.neo4j.cypher.internal.v3_6.expressions._
@@ -212,7 +213,9 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
           case (Some(labelId), Some(propertyKeyId)) =>
             val descriptor = IndexDescriptor(labelId, Seq(propertyKeyId))
 
-            for {
+            // An index counting the nodes in the range knows better than the range seek factor
+            val countedSelectivity = literalRange(seekable).flatMap(range => stats.indexRangeSelectivity(descriptor, range))
+            countedSelectivity.orElse(for {
               propertyExistsSelectivity <- stats.indexPropertyExistsSelectivity(descriptor)
               propEqValueSelectivity <- stats.uniqueValueSelectivity(descriptor)
             } yield {
@@ -222,7 +225,7 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
               val pRange = Selectivity(if (seekable.hasEquality) propEqValueSelectivity.factor + pNeqRange else pNeqRange)
               val pRangeBounded = Selectivity(math.max(propEqValueSelectivity.factor, pRange.factor))
               pRangeBounded * propertyExistsSelectivity
-            }
+            })
 
           case _ =>
             Some(Selectivity.ZERO)
@@ -231,6 +234,17 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
     combiner.orTogetherSelectivities(indexRangeSelectivities).getOrElse(default)
   }
 
+  /**
+    * The range of a seekable whose bounds are all number or string literals, which the index can count nodes in.
+    */
+  private def literalRange(seekable: InequalityRangeSeekable): Option[InequalitySeekRange[Literal]] = {
+    val literalBounds = seekable.expr.inequalities.forall(_.rhs match {
+      case _: NumberLiteral | _: StringLiteral => true
+      case _ => false
+    })
+    if (literalBounds) Some(seekable.range.mapBounds { case literal: Literal => literal }) else None
+  }
+
   private def calculateSelectivityForPointDistanceSeekable(seekable: PointDistanceSeekable,
                                                         selections: Selections)
                                                        (implicit semanticTable: SemanticTable): Selectivity = {
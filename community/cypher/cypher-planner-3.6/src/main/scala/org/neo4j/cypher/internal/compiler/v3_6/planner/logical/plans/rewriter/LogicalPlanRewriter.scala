@@ -51,6 +51,8 @@ case class PlanRewriter(rewriterSequencer: String => RewriterStepSequencer) exte
     removeIdenticalPlans(otherAttributes.withAlso(cardinalities, solveds)),
     pruningVarExpander,
     useTop,
+    useIndexForNearestNeighbours(context.planContext, otherAttributes.withAlso(cardinalities, solveds)),
+    useIndexForCount,
     simplifySelections,
     limitNestedPlanExpressions(context.logicalPlanIdGen)
   ).rewriter)
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.compiler.v3_6.planner.logical.plans.rewriter
+
+import org.neo4j.cypher.internal.v3_6.expressions._
+import org.neo4j.cypher.internal.v3_6.expressions.functions.Count
+import org.neo4j.cypher.internal.v3_6.logical.plans._
+import org.neo4j.cypher.internal.v3_6.util.attribution.SameId
+import org.neo4j.cypher.internal.v3_6.util.{Rewriter, bottomUp}
+
+/**
+  * When doing RETURN count(*) over the nodes found by an index seek, we don't have to find every node. Indexes keeping
+  * counts of their entries can count the nodes in a range without visiting them.
+  */
+case object useIndexForCount extends Rewriter {
+
+  private val instance: Rewriter = bottomUp(Rewriter.lift {
+    case aggregation @ Aggregation(NodeIndexSeek(idName, label, properties, valueExpr, argumentIds, _), grouping, aggregating)
+      if countsRows(idName, grouping, aggregating) && countable(properties, valueExpr, argumentIds) =>
+      NodeCountFromIndexSeek(aggregating.keys.head, label, properties, valueExpr, argumentIds)(SameId(aggregation.id))
+
+    case aggregation @ Aggregation(NodeUniqueIndexSeek(idName, label, properties, valueExpr, argumentIds, _), grouping, aggregating)
+      if countsRows(idName, grouping, aggregating) && countable(properties, valueExpr, argumentIds) =>
+      NodeCountFromIndexSeek(aggregating.keys.head, label, properties, valueExpr, argumentIds)(SameId(aggregation.id))
+  })
+
+  override def apply(input: AnyRef): AnyRef = instance.apply(input)
+
+  /**
+    * count(*) and count(n) of the node found by the seek both count the rows, since the node is never null.
+    */
+  private def countsRows(idName: String, grouping: Map[String, Expression], aggregating: Map[String, Expression]): Boolean =
+    grouping.isEmpty && aggregating.size == 1 && (aggregating.values.head match {
+      case CountStar() => true
+      case f @ FunctionInvocation(_, _, false, Seq(Variable(`idName`)), _) if f.function == Count => true
+      case _ => false
+    })
+
+  /**
+    * Seeks the index can count exactly, without filtering the nodes it finds. Seeks depending on arguments are left alone,
+    * since the count would have to be produced once per argument row.
+    */
+  private def countable(properties: Seq[IndexedProperty], valueExpr: QueryExpression[Expression], argumentIds: Set[String]): Boolean =
+    argumentIds.isEmpty && properties.size == 1 && (valueExpr match {
+      case SingleQueryExpression(_) | ManyQueryExpression(_) => true
+      case RangeQueryExpression(_: InequalitySeekRangeWrapper | _: PrefixSeekRangeWrapper) => true
+      case _ => false
+    })
+}
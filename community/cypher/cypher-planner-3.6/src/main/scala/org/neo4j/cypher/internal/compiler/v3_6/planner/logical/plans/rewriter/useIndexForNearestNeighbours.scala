@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.compiler.v3_6.planner.logical.plans.rewriter
+
+import org.neo4j.cypher.internal.planner.v3_6.spi.PlanContext
+import org.neo4j.cypher.internal.v3_6.expressions._
+import org.neo4j.cypher.internal.v3_6.expressions.functions.Distance
+import org.neo4j.cypher.internal.v3_6.logical.plans._
+import org.neo4j.cypher.internal.v3_6.util.attribution.{Attributes, SameId}
+import org.neo4j.cypher.internal.v3_6.util.{LabelId, PropertyKeyId, Rewriter, bottomUp}
+
+/**
+  * When doing ORDER BY distance(n.prop, point) LIMIT k over the nodes of a label, or of an index, we don't have to compute
+  * the distance to every node and sort by it. An index on the property can find the k nearest nodes by searching around the point.
+  */
+case class useIndexForNearestNeighbours(planContext: PlanContext, attributes: Attributes) extends Rewriter {
+
+  private val instance: Rewriter = bottomUp(Rewriter.lift {
+    case top @ Top(projection: Projection, Seq(Ascending(sortKey)), limit) =>
+      val rewritten = for {
+        distance <- projectedExpression(projection, sortKey)
+        leaf <- leafBelowProjections(projection)
+        nearestNeighbours <- nearestNeighboursPlan(leaf, distance, limit)
+      } yield Projection(replaceLeaf(projection.source, nearestNeighbours), projection.expressions)(SameId(top.id))
+      rewritten.getOrElse(top)
+  })
+
+  override def apply(input: AnyRef): AnyRef = instance.apply(input)
+
+  private def projectedExpression(plan: LogicalPlan, key: String): Option[Expression] = plan match {
+    case Projection(source, expressions) =>
+      expressions.get(key) match {
+        case Some(Variable(alias)) if alias != key => projectedExpression(source, alias)
+        case None => projectedExpression(source, key)
+        case found => found
+      }
+    case _ => None
+  }
+
+  private def leafBelowProjections(plan: LogicalPlan): Option[NodeLogicalLeafPlan] = plan match {
+    case Projection(source, _) => leafBelowProjections(source)
+    case leaf: NodeIndexScan => Some(leaf)
+    case leaf: NodeByLabelScan => Some(leaf)
+    case _ => None
+  }
+
+  private def replaceLeaf(plan: LogicalPlan, leaf: NodeIndexNearestNeighbours): LogicalPlan = plan match {
+    case projection @ Projection(source, expressions) => Projection(replaceLeaf(source, leaf), expressions)(SameId(projection.id))
+    case _ => leaf
+  }
+
+  private def nearestNeighboursPlan(leaf: NodeLogicalLeafPlan, distance: Expression, k: Expression): Option[NodeIndexNearestNeighbours] = {
+    def dependsOnArgumentsOnly(expression: Expression) = expression.dependencies.map(_.name).subsetOf(leaf.argumentIds)
+
+    distanceToProperty(leaf.idName, distance).filter { case (_, point) => dependsOnArgumentsOnly(point) && dependsOnArgumentsOnly(k) }.flatMap {
+      case (propertyKey, point) =>
+        leaf match {
+          case NodeIndexScan(idName, label, property, argumentIds, _) if property.propertyKeyToken.name == propertyKey =>
+            Some(NodeIndexNearestNeighbours(idName, label, property, point, k, argumentIds, includeNodesWithoutProperty = false)(attributes.copy(leaf.id)))
+
+          case NodeByLabelScan(idName, label, argumentIds) =>
+            for {
+              _ <- planContext.indexGetForLabelAndProperties(label.name, Seq(propertyKey))
+              labelId <- planContext.getOptLabelId(label.name)
+              propertyKeyId <- planContext.getOptPropertyKeyId(propertyKey)
+            } yield {
+              val property = IndexedProperty(PropertyKeyToken(propertyKey, PropertyKeyId(propertyKeyId)), DoNotGetValue)
+              NodeIndexNearestNeighbours(idName, LabelToken(label.name, LabelId(labelId)), property, point, k, argumentIds,
+                                         includeNodesWithoutProperty = true)(attributes.copy(leaf.id))
+            }
+
+          case _ => None
+        }
+    }
+  }
+
+  /**
+    * Finds the property and the point of a distance(n.prop, point) or distance(point, n.prop) expression.
+    */
+  private def distanceToProperty(idName: String, distance: Expression): Option[(String, Expression)] = distance match {
+    case f: FunctionInvocation if f.function == Distance && !f.distinct && f.args.size == 2 =>
+      val Seq(first, second) = f.args
+      propertyOf(idName, first).map(_ -> second).orElse(propertyOf(idName, second).map(_ -> first))
+    case _ => None
+  }
+
+  private def propertyOf(idName: String, expression: Expression): Option[String] = expression match {
+    case Property(Variable(`idName`), PropertyKeyName(name)) => Some(name)
+    case CachedNodeProperty(`idName`, PropertyKeyName(name)) => Some(name)
+    case _ => None
+  }
+}
@@ -28,13 +28,13 @@ import org.neo4j.cypher.internal.compiler.v3_6.planner.logical.ordering.ResultOr
 import org.neo4j.cypher.internal.compiler.v3_6.planner.logical.plans._
 import org.neo4j.cypher.internal.compiler.v3_6.planner.logical.{LeafPlanFromExpressions, LeafPlanner, LeafPlansForVariable, LogicalPlanningContext}
 import org.neo4j.cypher.internal.ir.v3_6.{ProvidedOrder, QueryGraph, InterestingOrder}
-import org.neo4j.cypher.internal.planner.v3_6.spi.IndexDescriptor
+import org.neo4j.cypher.internal.planner.v3_6.spi.{ExactCompositeOnly, IndexDescriptor}
 import org.neo4j.cypher.internal.v3_6.logical.plans._
 import org.neo4j.cypher.internal.v3_6.ast._
 import org.neo4j.cypher.internal.v3_6.ast.semantics.SemanticTable
 import org.neo4j.cypher.internal.v3_6.expressions._
 import org.neo4j.cypher.internal.v3_6.util.LabelId
-import org.neo4j.cypher.internal.v3_6.util.symbols.CypherType
+import org.neo4j.cypher.internal.v3_6.util.symbols.{CTAny, CypherType}
 
 abstract class AbstractIndexSeekLeafPlanner extends LeafPlanner with LeafPlanFromExpressions {
 
@@ -204,13 +204,24 @@ abstract class AbstractIndexSeekLeafPlanner extends LeafPlanner with LeafPlanFro
         val keyName = seekable.propertyKeyName
         IndexCompatiblePredicate(seekable.name, keyName, predicate, queryExpression, seekable.propertyValueType(semanticTable), exactPredicate = false,
           hints, argumentIds, solvesPredicate = false)
+
+      // exists(n.prop)
+      // Only usable on the properties following the first non-exact one of a composite index, see asValidPredicateCombination
+      case predicate@AsPropertyScannable(scannable: ExplicitlyPropertyScannable) if !arguments(scannable.ident) =>
+        IndexCompatiblePredicate(scannable.name, scannable.propertyKey, predicate, ExistenceQueryExpression(), CTAny, exactPredicate = false,
+          hints, argumentIds, solvesPredicate = true)
+
+      // n.prop IS NOT NULL
+      case predicate@IsNotNull(Property(variable: LogicalVariable, propertyKey)) if !arguments(variable) =>
+        IndexCompatiblePredicate(variable.name, propertyKey, predicate, ExistenceQueryExpression(), CTAny, exactPredicate = false,
+          hints, argumentIds, solvesPredicate = true)
     }
   }
 
   /**
     * Finds the Seq of IndexCompatiblePredicate that can be solved by the indexDescriptor.
     * Either each property of the index solves some predicate, in which case case this returns Some(...).
-    * Or, if at least one property does not solve a predicate, this returns None.
+    * Or, if at least one property does not solve a predicate, or the predicates can not be combined into a seek, this returns None.
     *
     * Together with the matching IndexCompatiblePredicates it also returns the GetValueFromIndexBehavior for each property. The tuple
     * contains two lists of the same size, which is indexDescriptor.properties.length
@@ -220,14 +231,16 @@ abstract class AbstractIndexSeekLeafPlanner extends LeafPlanner with LeafPlanFro
     val maybeMatchingPredicates = indexDescriptor.properties.foldLeft(Option(Seq.empty[IndexCompatiblePredicate])) {
       case (None, _) => None
       case (Some(acc), propertyKeyId) =>
-        predicates.find(p => semanticTable.id(p.propertyKeyName).contains(propertyKeyId)) match {
+        val predicatesOnProperty = predicates.filter(p => semanticTable.id(p.propertyKeyName).contains(propertyKeyId))
+        // An existence predicate is only used if there is nothing more restrictive to seek by
+        predicatesOnProperty.find(!_.isExistence).orElse(predicatesOnProperty.headOption) match {
           case None => None
           case Some(found) => Some(acc :+ found)
         }
     }
 
     maybeMatchingPredicates
-      .filter(isValidPredicateCombination)
+      .flatMap(asValidPredicateCombination(indexDescriptor))
       .map { matchingPredicates =>
         matchPredicateWithIndexDescriptorAndInterestingOrder(matchingPredicates, indexDescriptor, interestingOrder)
       }
@@ -256,15 +269,25 @@ abstract class AbstractIndexSeekLeafPlanner extends LeafPlanner with LeafPlanFro
     (matchingPredicates, propertyBehaviours, providedOrder)
   }
 
-  private def isValidPredicateCombination(foundPredicates: Seq[IndexCompatiblePredicate]): Boolean = {
-    // We currently only support range queries against single prop indexes
-    // TODO: Consider fixing this once kernel support native composite indexes for range queries
-    foundPredicates.length == 1 ||
-      foundPredicates.forall(_.queryExpression match {
-        case _: SingleQueryExpression[_] => true
-        case _: ManyQueryExpression[_] => true
-        case _ => false
-      })
+  /**
+    * Single property indexes can be sought by any predicate but existence, which is solved by an index scan.
+    * Composite indexes can be sought by exact predicates on all properties, or - unless the index has the [[ExactCompositeOnly]]
+    * limitation - by exact predicates on a prefix of the properties, a range predicate on the next and existence on the rest.
+    * The properties following that range only restrict the seek by existence, so any other predicates on them are left to a Filter.
+    */
+  private def asValidPredicateCombination(indexDescriptor: IndexDescriptor)
+                                         (foundPredicates: Seq[IndexCompatiblePredicate]): Option[Seq[IndexCompatiblePredicate]] = {
+    val (exactPrefix, rest) = foundPredicates.span(_.isExact)
+    if (rest.isEmpty)
+      Some(foundPredicates)
+    else if (exactPrefix.isEmpty && rest.head.isExistence)
+      None
+    else if (foundPredicates.length == 1)
+      Some(foundPredicates)
+    else if (indexDescriptor.limitations.contains(ExactCompositeOnly))
+      None
+    else
+      Some(exactPrefix ++ (rest.head +: rest.tail.map(_.asExistence)))
   }
 
   /**
@@ -283,5 +306,20 @@ abstract class AbstractIndexSeekLeafPlanner extends LeafPlanner with LeafPlanFro
                                               hints: Set[Hint],
                                               argumentIds: Set[String],
                                               solvesPredicate: Boolean)
-                                             (implicit labelPredicateMap: Map[String, Set[HasLabels]])
+                                             (implicit labelPredicateMap: Map[String, Set[HasLabels]]) {
+    def isExact: Boolean = queryExpression match {
+      case _: SingleQueryExpression[_] => true
+      case _: ManyQueryExpression[_] => true
+      case _ => false
+    }
+
+    def isExistence: Boolean = queryExpression.isInstanceOf[ExistenceQueryExpression[_]]
+
+    /**
+      * Seek only by the existence of the property, leaving the predicate itself to be solved by a Filter.
+      */
+    def asExistence: IndexCompatiblePredicate =
+      if (isExistence) this
+      else copy(queryExpression = ExistenceQueryExpression(), exactPredicate = false, solvesPredicate = false)
+  }
 }
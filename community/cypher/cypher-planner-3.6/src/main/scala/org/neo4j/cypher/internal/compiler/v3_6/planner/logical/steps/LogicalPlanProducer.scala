@@ -109,6 +109,24 @@ case class LogicalPlanProducer(cardinalityModel: CardinalityModel, planningAttri
     annotate(DirectedRelationshipByIdSeek(idName, relIds, startNode, endNode, argumentIds), solved, ProvidedOrder.empty, context)
   }
 
+  def planDirectedRelationshipIndexSeek(idName: String,
+                                        startNode: String,
+                                        endNode: String,
+                                        pattern: PatternRelationship,
+                                        typeToken: RelationshipTypeToken,
+                                        properties: Seq[PropertyKeyToken],
+                                        valueExpr: QueryExpression[Expression],
+                                        solvedPredicates: Seq[Expression],
+                                        argumentIds: Set[String],
+                                        context: LogicalPlanningContext): LogicalPlan = {
+    val solved = RegularPlannerQuery(queryGraph = QueryGraph.empty
+      .addPatternRelationship(pattern)
+      .addPredicates(solvedPredicates: _*)
+      .addArgumentIds(argumentIds.toIndexedSeq)
+    )
+    annotate(DirectedRelationshipIndexSeek(idName, startNode, endNode, typeToken, properties, valueExpr, argumentIds), solved, ProvidedOrder.empty, context)
+  }
+
   def planUndirectedRelationshipByIdSeek(idName: String,
                                          relIds: SeekableArgs,
                                          leftNode: String,
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.compiler.v3_6.planner.logical.steps
+
+import org.neo4j.cypher.internal.compiler.v3_6.planner.logical.LeafPlansForVariable.maybeLeafPlans
+import org.neo4j.cypher.internal.compiler.v3_6.planner.logical.plans._
+import org.neo4j.cypher.internal.compiler.v3_6.planner.logical.{LeafPlanFromExpressions, LeafPlanner, LeafPlansForVariable, LogicalPlanningContext}
+import org.neo4j.cypher.internal.ir.v3_6.{InterestingOrder, PatternRelationship, QueryGraph, SimplePatternLength}
+import org.neo4j.cypher.internal.planner.v3_6.spi.RelationshipIndexDescriptor
+import org.neo4j.cypher.internal.v3_6.ast.semantics.SemanticTable
+import org.neo4j.cypher.internal.v3_6.expressions.SemanticDirection.{BOTH, OUTGOING}
+import org.neo4j.cypher.internal.v3_6.expressions._
+import org.neo4j.cypher.internal.v3_6.logical.plans._
+import org.neo4j.cypher.internal.v3_6.util.RelTypeId
+
+/**
+  * Plans a [[DirectedRelationshipIndexSeek]] for a directed, single typed relationship pattern with property predicates
+  * that can be answered by an index on that relationship type.
+  *
+  * MATCH ()-[r:T {prop: $value}]->() or MATCH ()-[r:T]->() WHERE r.prop > $value
+  */
+object relationshipIndexSeekLeafPlanner extends LeafPlanner with LeafPlanFromExpressions {
+
+  override def producePlanFor(predicates: Set[Expression], qg: QueryGraph, interestingOrder: InterestingOrder, context: LogicalPlanningContext): Set[LeafPlansForVariable] = {
+    val arguments: Set[LogicalVariable] = qg.argumentIds.map(n => Variable(n)(null))
+    val indexCompatibles = predicates.collect(asIndexCompatiblePredicate(arguments))
+    if (indexCompatibles.isEmpty)
+      Set.empty
+    else
+      qg.patternRelationships.filter(isSeekable(_, qg.argumentIds)).flatMap { relationship =>
+        val relationshipPredicates = indexCompatibles.filter(_.name == relationship.name)
+        if (relationshipPredicates.isEmpty)
+          None
+        else
+          maybeLeafPlans(relationship.name, producePlansForRelationship(relationship, relationshipPredicates, qg.argumentIds, context))
+      }
+  }
+
+  override def apply(qg: QueryGraph, interestingOrder: InterestingOrder, context: LogicalPlanningContext): Seq[LogicalPlan] =
+    producePlanFor(qg.selections.flatPredicates.toSet, qg, interestingOrder, context).toSeq.flatMap(_.plans)
+
+  private def isSeekable(relationship: PatternRelationship, argumentIds: Set[String]): Boolean = {
+    val (left, right) = relationship.nodes
+    relationship.dir != BOTH &&
+      relationship.types.size == 1 &&
+      relationship.length == SimplePatternLength &&
+      left != right &&
+      !argumentIds(relationship.name) && !argumentIds(left) && !argumentIds(right)
+  }
+
+  private def producePlansForRelationship(relationship: PatternRelationship,
+                                          predicates: Set[IndexCompatiblePredicate],
+                                          argumentIds: Set[String],
+                                          context: LogicalPlanningContext): Set[LogicalPlan] = {
+    implicit val semanticTable: SemanticTable = context.semanticTable
+    val relTypeName = relationship.types.head
+    val (startNode, endNode) = if (relationship.dir == OUTGOING) relationship.nodes else relationship.nodes.swap
+    for (relTypeId <- semanticTable.id(relTypeName).toSet[RelTypeId];
+         indexDescriptor <- context.planContext.relationshipIndexesGetForRelType(relTypeId.id);
+         matchingPredicates <- predicatesForIndex(indexDescriptor, predicates))
+      yield {
+        val properties = matchingPredicates.map(p => PropertyKeyToken(p.propertyKeyName, semanticTable.id(p.propertyKeyName).head))
+        val queryExpression =
+          if (matchingPredicates.length == 1) matchingPredicates.head.queryExpression
+          else CompositeQueryExpression(matchingPredicates.map(_.queryExpression))
+        context.logicalPlanProducer.planDirectedRelationshipIndexSeek(relationship.name, startNode, endNode, relationship,
+          RelationshipTypeToken(relTypeName, relTypeId), properties, queryExpression, matchingPredicates.map(_.predicate), argumentIds, context)
+      }
+  }
+
+  /**
+    * Single property indexes can be sought by any compatible predicate, preferring exact ones.
+    * Composite indexes need exact predicates on all their properties.
+    */
+  private def predicatesForIndex(indexDescriptor: RelationshipIndexDescriptor, predicates: Set[IndexCompatiblePredicate])
+                                (implicit semanticTable: SemanticTable): Option[Seq[IndexCompatiblePredicate]] = {
+    val found = indexDescriptor.properties.map { propertyKeyId =>
+      val predicatesOnProperty = predicates.filter(p => semanticTable.id(p.propertyKeyName).contains(propertyKeyId))
+      predicatesOnProperty.find(_.isExact).orElse(predicatesOnProperty.headOption)
+    }
+    if (found.contains(None) || (indexDescriptor.isComposite && !found.forall(_.exists(_.isExact))))
+      None
+    else
+      Some(found.flatten)
+  }
+
+  private def asIndexCompatiblePredicate(arguments: Set[LogicalVariable]): PartialFunction[Expression, IndexCompatiblePredicate] = {
+    def validDependencies(seekable: Seekable[_]): Boolean =
+      seekable.dependencies.forall(arguments) && !arguments(seekable.ident)
+
+    {
+      // r.prop IN [ ... ]
+      case predicate@AsPropertySeekable(seekable: PropertySeekable) if validDependencies(seekable) =>
+        IndexCompatiblePredicate(seekable.name, seekable.propertyKey, predicate, seekable.args.asQueryExpression)
+
+      // r.prop STARTS WITH "prefix%..."
+      case predicate@AsStringRangeSeekable(seekable) if validDependencies(seekable) =>
+        IndexCompatiblePredicate(seekable.name, seekable.propertyKey, predicate, seekable.asQueryExpression)
+
+      // r.prop <|<=|>|>= value
+      case predicate@AsValueRangeSeekable(seekable) if validDependencies(seekable) =>
+        IndexCompatiblePredicate(seekable.name, seekable.propertyKeyName, predicate, seekable.asQueryExpression)
+    }
+  }
+
+  private case class IndexCompatiblePredicate(name: String,
+                                              propertyKeyName: PropertyKeyName,
+                                              predicate: Expression,
+                                              queryExpression: QueryExpression[Expression]) {
+    def isExact: Boolean = queryExpression match {
+      case _: SingleQueryExpression[_] => true
+      case _: ManyQueryExpression[_] => true
+      case _ => false
+    }
+  }
+}
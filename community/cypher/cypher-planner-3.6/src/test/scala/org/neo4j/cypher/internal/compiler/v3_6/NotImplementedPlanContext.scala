@@ -22,7 +22,7 @@
  */
 package org.neo4j.cypher.internal.compiler.v3_6
 
-import org.neo4j.cypher.internal.planner.v3_6.spi.{IndexDescriptor, InstrumentedGraphStatistics, PlanContext}
+import org.neo4j.cypher.internal.planner.v3_6.spi.{IndexDescriptor, InstrumentedGraphStatistics, PlanContext, RelationshipIndexDescriptor}
 import org.neo4j.cypher.internal.v3_6.frontend.phases.InternalNotificationLogger
 import org.neo4j.cypher.internal.v3_6.logical.plans.{ProcedureSignature, QualifiedName, UserFunctionSignature}
 
@@ -37,6 +37,8 @@ class NotImplementedPlanContext extends PlanContext {
 
   override def uniqueIndexesGetForLabel(labelId: Int): Iterator[IndexDescriptor] = ???
 
+  override def relationshipIndexesGetForRelType(relTypeId: Int): Iterator[RelationshipIndexDescriptor] = ???
+
   override def hasPropertyExistenceConstraint(labelName: String, propertyKey: String): Boolean = ???
 
   override def checkNodeIndex(idxName: String): Unit = ???
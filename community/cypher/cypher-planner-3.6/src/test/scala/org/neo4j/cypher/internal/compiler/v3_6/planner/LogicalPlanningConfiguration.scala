@@ -26,12 +26,12 @@ import org.neo4j.cypher.internal.compiler.v3_6.planner.logical.ExpressionEvaluat
 import org.neo4j.cypher.internal.compiler.v3_6.planner.logical.Metrics._
 import org.neo4j.cypher.internal.ir.v3_6.{PlannerQuery, QueryGraph}
 import org.neo4j.cypher.internal.planner.v3_6.spi.PlanningAttributes.Cardinalities
-import org.neo4j.cypher.internal.planner.v3_6.spi.{GraphStatistics, IndexOrderCapability}
+import org.neo4j.cypher.internal.planner.v3_6.spi.{GraphStatistics, IndexLimitation, IndexOrderCapability}
 import org.neo4j.cypher.internal.v3_6.logical.plans.{LogicalPlan, ProcedureSignature}
 import org.neo4j.cypher.internal.v3_6.ast.semantics.{ExpressionTypeInfo, SemanticTable}
 import org.neo4j.cypher.internal.v3_6.expressions.Expression
 import org.neo4j.cypher.internal.v3_6.util.symbols.TypeSpec
-import org.neo4j.cypher.internal.v3_6.util.{Cardinality, Cost, LabelId, PropertyKeyId}
+import org.neo4j.cypher.internal.v3_6.util.{Cardinality, Cost, LabelId, PropertyKeyId, RelTypeId}
 
 import scala.collection.mutable
 
@@ -41,6 +41,7 @@ trait LogicalPlanningConfiguration {
   def costModel(): PartialFunction[(LogicalPlan, QueryGraphSolverInput, Cardinalities), Cost]
   def graphStatistics: GraphStatistics
   def indexes: Map[IndexDef, IndexType]
+  def relationshipIndexes: Set[RelationshipIndexDef]
   // A subset of indexes
   def procedureSignatures: Set[ProcedureSignature]
   def labelCardinality: Map[String, Cardinality]
@@ -52,9 +53,11 @@ trait LogicalPlanningConfiguration {
 }
 
 case class IndexDef(label: String, propertyKeys: Seq[String])
+case class RelationshipIndexDef(relType: String, propertyKeys: Seq[String])
 class IndexType(var isUnique: Boolean = false,
                 var withValues: Boolean = false,
-                var withOrdering: IndexOrderCapability = IndexOrderCapability.NONE)
+                var withOrdering: IndexOrderCapability = IndexOrderCapability.NONE,
+                var limitations: Set[IndexLimitation] = Set.empty)
 
 class DelegatingLogicalPlanningConfiguration(val parent: LogicalPlanningConfiguration) extends LogicalPlanningConfiguration {
   override def updateSemanticTableWithTokens(in: SemanticTable): SemanticTable = parent.updateSemanticTableWithTokens(in)
@@ -63,6 +66,7 @@ class DelegatingLogicalPlanningConfiguration(val parent: LogicalPlanningConfigur
   override def costModel(): PartialFunction[(LogicalPlan, QueryGraphSolverInput, Cardinalities), Cost] = parent.costModel()
   override def graphStatistics: GraphStatistics = parent.graphStatistics
   override def indexes: Map[IndexDef, IndexType] = parent.indexes
+  override def relationshipIndexes: Set[RelationshipIndexDef] = parent.relationshipIndexes
   override def labelCardinality: Map[String, Cardinality] = parent.labelCardinality
   override def knownLabels: Set[String] = parent.knownLabels
   override def labelsById: Map[Int, String] = parent.labelsById
@@ -92,6 +96,12 @@ trait LogicalPlanningConfigurationAdHocSemanticTable {
       properties.foreach(addPropertyKeyIfUnknown)
     }
 
+    relationshipIndexes.foreach { case RelationshipIndexDef(relType, properties) =>
+      if (!table.resolvedRelTypeNames.contains(relType))
+        table.resolvedRelTypeNames.put(relType, RelTypeId(table.resolvedRelTypeNames.size))
+      properties.foreach(addPropertyKeyIfUnknown)
+    }
+
     labelCardinality.keys.foreach(addLabelIfUnknown)
     knownLabels.foreach(addLabelIfUnknown)
 
@@ -48,7 +48,7 @@ import org.neo4j.cypher.internal.v3_6.rewriting.{Deprecations, RewriterStepSeque
 import org.neo4j.cypher.internal.v3_6.util.attribution.{Attribute, Attributes}
 import org.neo4j.cypher.internal.v3_6.util.helpers.fixedPoint
 import org.neo4j.cypher.internal.v3_6.util.test_helpers.{CypherFunSuite, CypherTestSupport}
-import org.neo4j.cypher.internal.v3_6.util.{Cardinality, Cost, PropertyKeyId}
+import org.neo4j.cypher.internal.v3_6.util.{Cardinality, Cost, PropertyKeyId, RelTypeId}
 import org.neo4j.helpers.collection.Visitable
 import org.neo4j.kernel.impl.util.dbstructure.DbStructureVisitor
 import org.scalatest.matchers.{BeMatcher, MatchResult}
@@ -128,12 +128,20 @@ trait LogicalPlanningTestSupport2 extends CypherTestSupport with AstConstruction
         IndexDescriptor(
           semanticTable.resolvedLabelNames(indexDef.label),
           indexDef.propertyKeys.map(semanticTable.resolvedPropertyKeyNames(_)),
+          limitations = indexType.limitations,
           valueCapability = valueCapability,
           orderCapability = orderCapability,
           isUnique = indexType.isUnique
         )
       }
 
+      override def relationshipIndexesGetForRelType(relTypeId: Int): Iterator[RelationshipIndexDescriptor] = {
+        config.relationshipIndexes.collect {
+          case RelationshipIndexDef(relType, propertyKeys) if semanticTable.resolvedRelTypeNames.get(relType).contains(RelTypeId(relTypeId)) =>
+            RelationshipIndexDescriptor(RelTypeId(relTypeId), propertyKeys.map(semanticTable.resolvedPropertyKeyNames(_)))
+        }.iterator
+      }
+
       override def procedureSignature(name: QualifiedName): ProcedureSignature = {
         config.procedureSignatures.find(_.name == name).get
       }
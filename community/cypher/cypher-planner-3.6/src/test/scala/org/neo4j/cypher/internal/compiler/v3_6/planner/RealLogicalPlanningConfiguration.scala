@@ -48,6 +48,7 @@ case class RealLogicalPlanningConfiguration(cypherCompilerConfig: CypherPlannerC
 
   override def graphStatistics: GraphStatistics = HardcodedGraphStatistics
   override def indexes: Map[IndexDef, IndexType] = Map.empty
+  override def relationshipIndexes: Set[RelationshipIndexDef] = Set.empty
   override def procedureSignatures: Set[ProcedureSignature] = Set.empty
   override def labelCardinality: Map[String, Cardinality] = Map.empty
   override def knownLabels: Set[String] = Set.empty
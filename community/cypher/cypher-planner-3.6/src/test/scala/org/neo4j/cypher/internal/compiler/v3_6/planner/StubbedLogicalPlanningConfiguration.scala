@@ -26,7 +26,7 @@ import org.neo4j.cypher.internal.compiler.v3_6.planner.logical.ExpressionEvaluat
 import org.neo4j.cypher.internal.compiler.v3_6.planner.logical.Metrics.{CardinalityModel, QueryGraphCardinalityModel, QueryGraphSolverInput}
 import org.neo4j.cypher.internal.ir.v3_6._
 import org.neo4j.cypher.internal.planner.v3_6.spi.PlanningAttributes.Cardinalities
-import org.neo4j.cypher.internal.planner.v3_6.spi.{GraphStatistics, IndexOrderCapability}
+import org.neo4j.cypher.internal.planner.v3_6.spi.{GraphStatistics, IndexLimitation, IndexOrderCapability}
 import org.neo4j.cypher.internal.v3_6.logical.plans.{LogicalPlan, ProcedureSignature}
 import org.neo4j.cypher.internal.v3_6.ast.semantics.SemanticTable
 import org.neo4j.cypher.internal.v3_6.expressions.{Expression, HasLabels}
@@ -53,6 +53,8 @@ class StubbedLogicalPlanningConfiguration(val parent: LogicalPlanningConfigurati
 
   var indexes: Map[IndexDef, IndexType] = Map.empty
 
+  var relationshipIndexes: Set[RelationshipIndexDef] = Set.empty
+
   var procedureSignatures: Set[ProcedureSignature] = Set.empty
 
   lazy val labelsById: Map[Int, String] = indexes.keys.map(_.label).zipWithIndex.map(_.swap).toMap
@@ -66,6 +68,10 @@ class StubbedLogicalPlanningConfiguration(val parent: LogicalPlanningConfigurati
       indexType.withOrdering = order
       this
     }
+    def withLimitation(limitation: IndexLimitation): IndexModifier = {
+      indexType.limitations += limitation
+      this
+    }
   }
 
   def indexOn(label: String, properties: String*): IndexModifier = {
@@ -80,6 +86,10 @@ class StubbedLogicalPlanningConfiguration(val parent: LogicalPlanningConfigurati
     IndexModifier(indexType)
   }
 
+  def relationshipIndexOn(relType: String, properties: String*): Unit = {
+    relationshipIndexes += RelationshipIndexDef(relType, properties)
+  }
+
   def procedure(signature: ProcedureSignature): Unit = {
     procedureSignatures += signature
   }
@@ -27,6 +27,7 @@ import org.neo4j.cypher.internal.compiler.v3_6.planner.LogicalPlanningTestSuppor
 import org.neo4j.cypher.internal.compiler.v3_6.planner.StubbedLogicalPlanningConfiguration
 import org.neo4j.cypher.internal.compiler.v3_6.planner.logical.Metrics.QueryGraphSolverInput
 import org.neo4j.cypher.internal.ir.v3_6.RegularPlannerQuery
+import org.neo4j.cypher.internal.planner.v3_6.spi.ExactCompositeOnly
 import org.neo4j.cypher.internal.planner.v3_6.spi.PlanningAttributes.Cardinalities
 import org.neo4j.cypher.internal.v3_6.logical.plans._
 import org.neo4j.cypher.internal.v3_6.ast.AstConstructionTestSupport
@@ -464,6 +465,58 @@ class LeafPlanningIntegrationTest extends CypherFunSuite with LogicalPlanningTes
     )
   }
 
+  test("should plan composite index seek when there is an equality predicate on the first property and a range predicate on the second") {
+    val plan = new given {
+      indexOn("Awesome", "prop", "prop2")
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE n.prop = 42 AND n.prop2 > 10 RETURN n"
+
+    plan._2 should equal(
+      IndexSeek("n:Awesome(prop = 42, prop2 > 10)")
+    )
+  }
+
+  test("should plan composite index seek with equality, range and existence predicates") {
+    val plan = new given {
+      indexOn("Awesome", "prop", "prop2", "prop3")
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE n.prop = 42 AND n.prop2 STARTS WITH 'foo' AND exists(n.prop3) RETURN n"
+
+    plan._2 should equal(
+      IndexSeek("n:Awesome(prop = 42, prop2 STARTS WITH 'foo', prop3)")
+    )
+  }
+
+  test("should plan composite index seek by existence and filter predicates on properties following a range predicate") {
+    val plan = new given {
+      indexOn("Awesome", "prop", "prop2")
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE n.prop > 42 AND n.prop2 = 'foo' RETURN n"
+
+    plan._2 should equal(
+      Selection(Ands(Set(Equals(Property(varFor("n"), PropertyKeyName("prop2") _) _, StringLiteral("foo") _) _)) _,
+        IndexSeek("n:Awesome(prop > 42, prop2)")
+      )
+    )
+  }
+
+  test("should not plan composite index seek by existence only") {
+    val plan = new given {
+      indexOn("Awesome", "prop", "prop2")
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE exists(n.prop) AND n.prop2 = 'foo' RETURN n"
+
+    plan._2 should beLike {
+      case Selection(_, _: NodeByLabelScan) => ()
+    }
+  }
+
+  test("should not plan composite index seek with range predicate when the index only supports exact composite seeks") {
+    val plan = new given {
+      indexOn("Awesome", "prop", "prop2").withLimitation(ExactCompositeOnly)
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE n.prop = 42 AND n.prop2 > 10 RETURN n"
+
+    plan._2 should beLike {
+      case Selection(_, _: NodeByLabelScan) => ()
+    }
+  }
+
   //
   // index hints
   //
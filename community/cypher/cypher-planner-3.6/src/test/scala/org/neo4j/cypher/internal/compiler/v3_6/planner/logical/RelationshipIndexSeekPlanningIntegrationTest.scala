@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.compiler.v3_6.planner.logical
+
+import org.neo4j.cypher.internal.compiler.v3_6.planner.BeLikeMatcher._
+import org.neo4j.cypher.internal.compiler.v3_6.planner.LogicalPlanningTestSupport2
+import org.neo4j.cypher.internal.compiler.v3_6.planner.logical.Metrics.QueryGraphSolverInput
+import org.neo4j.cypher.internal.planner.v3_6.spi.PlanningAttributes.Cardinalities
+import org.neo4j.cypher.internal.v3_6.expressions._
+import org.neo4j.cypher.internal.v3_6.logical.plans._
+import org.neo4j.cypher.internal.v3_6.util.Foldable._
+import org.neo4j.cypher.internal.v3_6.util._
+import org.neo4j.cypher.internal.v3_6.util.test_helpers.CypherFunSuite
+
+class RelationshipIndexSeekPlanningIntegrationTest extends CypherFunSuite with LogicalPlanningTestSupport2 {
+
+  private val relationshipIndexSeekCost: PartialFunction[(LogicalPlan, QueryGraphSolverInput, Cardinalities), Cost] = {
+    case (_: AllNodesScan, _, _) => 1000.0
+    case (_: DirectedRelationshipIndexSeek, _, _) => 1.0
+  }
+
+  test("should plan relationship index seek for property equality in the pattern") {
+    (new given {
+      relationshipIndexOn("TRANSFER", "txId")
+      cost = relationshipIndexSeekCost
+    } getLogicalPlanFor "MATCH (a)-[t:TRANSFER {txId: $id}]->(b) RETURN t")._2 should beLike {
+      case DirectedRelationshipIndexSeek("t", "a", "b", RelationshipTypeToken("TRANSFER", _), Seq(PropertyKeyToken("txId", _)),
+                                         SingleQueryExpression(Parameter("id", _)), _) => ()
+    }
+  }
+
+  test("should plan relationship index seek by range") {
+    (new given {
+      relationshipIndexOn("RATED", "ts")
+      cost = relationshipIndexSeekCost
+    } getLogicalPlanFor "MATCH (a)-[r:RATED]->(b) WHERE r.ts > $t RETURN r")._2 should beLike {
+      case DirectedRelationshipIndexSeek("r", "a", "b", RelationshipTypeToken("RATED", _), Seq(PropertyKeyToken("ts", _)),
+                                         RangeQueryExpression(InequalitySeekRangeWrapper(RangeGreaterThan(_))), _) => ()
+    }
+  }
+
+  test("should seek from the end node of incoming relationships") {
+    (new given {
+      relationshipIndexOn("TRANSFER", "txId")
+      cost = relationshipIndexSeekCost
+    } getLogicalPlanFor "MATCH (a)<-[t:TRANSFER {txId: $id}]-(b) RETURN t")._2 should beLike {
+      case DirectedRelationshipIndexSeek("t", "b", "a", _, _, _, _) => ()
+    }
+  }
+
+  test("should plan relationship index seek on composite index only for equality on all properties") {
+    val planner = new given {
+      relationshipIndexOn("TRANSFER", "txId", "currency")
+      cost = relationshipIndexSeekCost
+    }
+
+    (planner getLogicalPlanFor "MATCH (a)-[t:TRANSFER {txId: $id, currency: $c}]->(b) RETURN t")._2 should beLike {
+      case DirectedRelationshipIndexSeek("t", "a", "b", _, Seq(PropertyKeyToken("txId", _), PropertyKeyToken("currency", _)),
+                                         CompositeQueryExpression(Seq(SingleQueryExpression(_), SingleQueryExpression(_))), _) => ()
+    }
+    usesRelationshipIndexSeek((planner getLogicalPlanFor "MATCH (a)-[t:TRANSFER {txId: $id}]->(b) WHERE t.currency > $c RETURN t")._2) should be(false)
+  }
+
+  test("should not plan relationship index seek for undirected relationships") {
+    usesRelationshipIndexSeek((new given {
+      relationshipIndexOn("TRANSFER", "txId")
+      cost = relationshipIndexSeekCost
+    } getLogicalPlanFor "MATCH (a)-[t:TRANSFER {txId: $id}]-(b) RETURN t")._2) should be(false)
+  }
+
+  test("should not plan relationship index seek for relationships of several types") {
+    usesRelationshipIndexSeek((new given {
+      relationshipIndexOn("TRANSFER", "txId")
+      cost = relationshipIndexSeekCost
+    } getLogicalPlanFor "MATCH (a)-[t:TRANSFER|PAYMENT {txId: $id}]->(b) RETURN t")._2) should be(false)
+  }
+
+  test("should not plan relationship index seek without an index on the relationship type") {
+    usesRelationshipIndexSeek((new given {
+      relationshipIndexOn("PAYMENT", "txId")
+      cost = relationshipIndexSeekCost
+    } getLogicalPlanFor "MATCH (a)-[t:TRANSFER {txId: $id}]->(b) RETURN t")._2) should be(false)
+  }
+
+  private def usesRelationshipIndexSeek(plan: LogicalPlan): Boolean =
+    plan.treeExists {
+      case _: DirectedRelationshipIndexSeek => true
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.compiler.v3_6.planner.logical.plans.rewriter
+
+import org.neo4j.cypher.internal.compiler.v3_6.planner.LogicalPlanningTestSupport
+import org.neo4j.cypher.internal.v3_6.ast.AstConstructionTestSupport
+import org.neo4j.cypher.internal.v3_6.expressions._
+import org.neo4j.cypher.internal.v3_6.logical.plans._
+import org.neo4j.cypher.internal.v3_6.util.helpers.fixedPoint
+import org.neo4j.cypher.internal.v3_6.util.symbols.CTAny
+import org.neo4j.cypher.internal.v3_6.util.test_helpers.CypherFunSuite
+import org.neo4j.cypher.internal.v3_6.util.{LabelId, NonEmptyList, PropertyKeyId}
+
+class UseIndexForCountTest extends CypherFunSuite with LogicalPlanningTestSupport with AstConstructionTestSupport {
+  private val label = LabelToken("Transfer", LabelId(0))
+  private val properties = Seq(IndexedProperty(PropertyKeyToken("amount", PropertyKeyId(1)), DoNotGetValue))
+  private val exact = SingleQueryExpression(Parameter("amount", CTAny)(pos))
+  private val greaterThan = RangeQueryExpression(InequalitySeekRangeWrapper(RangeGreaterThan(NonEmptyList(ExclusiveBound(literalInt(100)))))(pos))
+
+  test("should count nodes of an exact index seek from the index") {
+    val aggregation = Aggregation(NodeIndexSeek("n", label, properties, exact, Set.empty, IndexOrderNone), Map.empty, Map("c" -> CountStar()(pos)))
+
+    rewrite(aggregation) should equal(NodeCountFromIndexSeek("c", label, properties, exact, Set.empty))
+  }
+
+  test("should count nodes of an index range seek from the index") {
+    val aggregation = Aggregation(NodeIndexSeek("n", label, properties, greaterThan, Set.empty, IndexOrderNone), Map.empty,
+                                  Map("c" -> function("count", varFor("n"))))
+
+    rewrite(aggregation) should equal(NodeCountFromIndexSeek("c", label, properties, greaterThan, Set.empty))
+  }
+
+  test("should count nodes of a unique index seek from the index") {
+    val aggregation = Aggregation(NodeUniqueIndexSeek("n", label, properties, exact, Set.empty, IndexOrderNone), Map.empty, Map("c" -> CountStar()(pos)))
+
+    rewrite(aggregation) should equal(NodeCountFromIndexSeek("c", label, properties, exact, Set.empty))
+  }
+
+  test("should not count from the index when grouping") {
+    val aggregation = Aggregation(NodeIndexSeek("n", label, properties, exact, Set.empty, IndexOrderNone), Map("k" -> prop("n", "kind")),
+                                  Map("c" -> CountStar()(pos)))
+
+    rewrite(aggregation) should equal(aggregation)
+  }
+
+  test("should not count from the index when counting distinct values or properties") {
+    val seek = NodeIndexSeek("n", label, properties, exact, Set.empty, IndexOrderNone)
+    val distinct = Aggregation(seek, Map.empty, Map("c" -> FunctionInvocation(FunctionName("count")(pos), distinct = true, IndexedSeq(varFor("n")))(pos)))
+    val property = Aggregation(seek, Map.empty, Map("c" -> function("count", prop("n", "kind"))))
+
+    rewrite(distinct) should equal(distinct)
+    rewrite(property) should equal(property)
+  }
+
+  test("should not count from the index when the seek depends on arguments") {
+    val aggregation = Aggregation(NodeIndexSeek("n", label, properties, SingleQueryExpression(varFor("x")), Set("x"), IndexOrderNone), Map.empty,
+                                  Map("c" -> CountStar()(pos)))
+
+    rewrite(aggregation) should equal(aggregation)
+  }
+
+  private def rewrite(p: LogicalPlan): LogicalPlan =
+    fixedPoint((p: LogicalPlan) => p.endoRewrite(useIndexForCount))(p)
+}
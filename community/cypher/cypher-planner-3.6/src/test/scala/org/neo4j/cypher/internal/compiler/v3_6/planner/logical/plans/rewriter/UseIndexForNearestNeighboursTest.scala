@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.compiler.v3_6.planner.logical.plans.rewriter
+
+import org.mockito.Mockito._
+import org.neo4j.cypher.internal.compiler.v3_6.planner.LogicalPlanningTestSupport
+import org.neo4j.cypher.internal.planner.v3_6.spi.{IndexDescriptor, PlanContext}
+import org.neo4j.cypher.internal.v3_6.ast.AstConstructionTestSupport
+import org.neo4j.cypher.internal.v3_6.expressions._
+import org.neo4j.cypher.internal.v3_6.logical.plans._
+import org.neo4j.cypher.internal.v3_6.util.attribution.Attributes
+import org.neo4j.cypher.internal.v3_6.util.helpers.fixedPoint
+import org.neo4j.cypher.internal.v3_6.util.symbols.CTPoint
+import org.neo4j.cypher.internal.v3_6.util.test_helpers.CypherFunSuite
+import org.neo4j.cypher.internal.v3_6.util.{LabelId, PropertyKeyId}
+
+class UseIndexForNearestNeighboursTest extends CypherFunSuite with LogicalPlanningTestSupport with AstConstructionTestSupport {
+  private val point = Parameter("p", CTPoint)(pos)
+  private val distance = function("distance", prop("n", "loc"), point)
+  private val lit10 = literalInt(10)
+  private val label = LabelToken("Store", LabelId(0))
+  private val property = IndexedProperty(PropertyKeyToken("loc", PropertyKeyId(1)), DoNotGetValue)
+
+  test("should find nearest neighbours in index when ordering nodes of a label by distance to a point") {
+    val scan = NodeByLabelScan("n", LabelName("Store")(pos), Set.empty)
+    val top = Top(Projection(scan, Map("d" -> distance)), Seq(Ascending("d")), lit10)
+
+    rewrite(top, planContextWithIndex()) should equal(
+      Projection(NodeIndexNearestNeighbours("n", label, property, point, lit10, Set.empty, includeNodesWithoutProperty = true), Map("d" -> distance)))
+  }
+
+  test("should find nearest neighbours when the point comes first and the distance is aliased") {
+    val flippedDistance = function("distance", point, prop("n", "loc"))
+    val scan = NodeByLabelScan("n", LabelName("Store")(pos), Set.empty)
+    val projections = Projection(Projection(scan, Map("d" -> flippedDistance)), Map("dist" -> varFor("d")))
+    val top = Top(projections, Seq(Ascending("dist")), lit10)
+
+    rewrite(top, planContextWithIndex()) should equal(
+      Projection(
+        Projection(NodeIndexNearestNeighbours("n", label, property, point, lit10, Set.empty, includeNodesWithoutProperty = true),
+                   Map("d" -> flippedDistance)),
+        Map("dist" -> varFor("d"))))
+  }
+
+  test("should find nearest neighbours when ordering the nodes of an index scan by distance to a point") {
+    val scan = NodeIndexScan("n", label, property, Set.empty, IndexOrderNone)
+    val top = Top(Projection(scan, Map("d" -> distance)), Seq(Ascending("d")), lit10)
+
+    rewrite(top, newMockedPlanContext()) should equal(
+      Projection(NodeIndexNearestNeighbours("n", label, property, point, lit10, Set.empty, includeNodesWithoutProperty = false), Map("d" -> distance)))
+  }
+
+  test("should not find nearest neighbours without an index") {
+    val planContext = newMockedPlanContext()
+    when(planContext.indexGetForLabelAndProperties("Store", Seq("loc"))).thenReturn(None)
+    val scan = NodeByLabelScan("n", LabelName("Store")(pos), Set.empty)
+    val top = Top(Projection(scan, Map("d" -> distance)), Seq(Ascending("d")), lit10)
+
+    rewrite(top, planContext) should equal(top)
+  }
+
+  test("should not find nearest neighbours when ordering by descending distance") {
+    val scan = NodeByLabelScan("n", LabelName("Store")(pos), Set.empty)
+    val top = Top(Projection(scan, Map("d" -> distance)), Seq(Descending("d")), lit10)
+
+    rewrite(top, planContextWithIndex()) should equal(top)
+  }
+
+  test("should not find nearest neighbours of a point that depends on the node") {
+    val distanceToOwnPoint = function("distance", prop("n", "loc"), prop("n", "home"))
+    val scan = NodeByLabelScan("n", LabelName("Store")(pos), Set.empty)
+    val top = Top(Projection(scan, Map("d" -> distanceToOwnPoint)), Seq(Ascending("d")), lit10)
+
+    rewrite(top, planContextWithIndex()) should equal(top)
+  }
+
+  private def planContextWithIndex(): PlanContext = {
+    val planContext = newMockedPlanContext()
+    when(planContext.indexGetForLabelAndProperties("Store", Seq("loc"))).thenReturn(Some(IndexDescriptor(0, 1)))
+    when(planContext.getOptLabelId("Store")).thenReturn(Some(0))
+    when(planContext.getOptPropertyKeyId("loc")).thenReturn(Some(1))
+    planContext
+  }
+
+  private def rewrite(p: LogicalPlan, planContext: PlanContext): LogicalPlan =
+    fixedPoint((p: LogicalPlan) => p.endoRewrite(useIndexForNearestNeighbours(planContext, Attributes(idGen))))(p)
+}
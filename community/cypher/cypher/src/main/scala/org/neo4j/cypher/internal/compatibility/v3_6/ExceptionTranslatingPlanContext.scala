@@ -22,7 +22,7 @@
  */
 package org.neo4j.cypher.internal.compatibility.v3_6
 
-import org.neo4j.cypher.internal.planner.v3_6.spi.{IndexDescriptor, InstrumentedGraphStatistics, PlanContext}
+import org.neo4j.cypher.internal.planner.v3_6.spi.{IndexDescriptor, InstrumentedGraphStatistics, PlanContext, RelationshipIndexDescriptor}
 import org.neo4j.cypher.internal.v3_6.frontend.phases.InternalNotificationLogger
 import org.neo4j.cypher.internal.v3_6.logical.plans.{ProcedureSignature, QualifiedName, UserFunctionSignature}
 
@@ -40,6 +40,9 @@ class ExceptionTranslatingPlanContext(inner: PlanContext) extends PlanContext wi
   override def uniqueIndexesGetForLabel(labelId: Int): Iterator[IndexDescriptor] =
     translateException(inner.uniqueIndexesGetForLabel(labelId))
 
+  override def relationshipIndexesGetForRelType(relTypeId: Int): Iterator[RelationshipIndexDescriptor] =
+    translateException(inner.relationshipIndexesGetForRelType(relTypeId))
+
   override def statistics: InstrumentedGraphStatistics =
     translateException(inner.statistics)
 
@@ -33,11 +33,11 @@ import org.neo4j.cypher.internal.v3_6.logical.plans.{IndexOrder, QualifiedName}
 import org.neo4j.graphdb.{Path, PropertyContainer}
 import org.neo4j.internal.kernel.api.helpers.RelationshipSelectionCursor
 import org.neo4j.internal.kernel.api.procs.ProcedureCallContext
-import org.neo4j.internal.kernel.api.{IndexQuery, IndexReference, NodeValueIndexCursor}
+import org.neo4j.internal.kernel.api.{IndexQuery, IndexReference, NodeValueIndexCursor, RelationshipValueIndexCursor}
 import org.neo4j.kernel.impl.api.store.RelationshipIterator
 import org.neo4j.kernel.impl.core.EmbeddedProxySPI
 import org.neo4j.values.AnyValue
-import org.neo4j.values.storable.{TextValue, Value}
+import org.neo4j.values.storable.{PointValue, TextValue, Value}
 import org.neo4j.values.virtual.{ListValue, MapValue, NodeValue, RelationshipValue}
 
 import scala.collection.Iterator
@@ -222,6 +222,12 @@ class ExceptionTranslatingQueryContext(val inner: QueryContext) extends QueryCon
                                               values: Seq[IndexQuery.ExactPredicate]): NodeValueIndexCursor =
     translateException(inner.lockingUniqueIndexSeek(index, values))
 
+  override def relationshipIndexReference(relType: Int, properties: Int*): IndexReference =
+    translateException(inner.relationshipIndexReference(relType, properties:_*))
+
+  override def relationshipIndexSeek(index: IndexReference, queries: Seq[IndexQuery]): RelationshipValueIndexCursor =
+    translateException(inner.relationshipIndexSeek(index, queries))
+
   override def getImportURL(url: URL) =
     translateException(inner.getImportURL(url))
 
@@ -266,6 +272,12 @@ class ExceptionTranslatingQueryContext(val inner: QueryContext) extends QueryCon
                                            indexOrder: IndexOrder): NodeValueIndexCursor =
     translateException(inner.indexScan(index, needsValues, indexOrder))
 
+  override def indexNearestNeighbours[RESULT <: AnyRef](index: IndexReference,
+                                                        needsValues: Boolean,
+                                                        point: PointValue,
+                                                        k: Int): NodeValueIndexCursor =
+    translateException(inner.indexNearestNeighbours(index, needsValues, point, k))
+
   override def nodeIsDense(node: Long) =
     translateException(inner.nodeIsDense(node))
 
@@ -284,6 +296,9 @@ class ExceptionTranslatingQueryContext(val inner: QueryContext) extends QueryCon
   override def nodeCountByCountStore(labelId: Int) =
     translateException(inner.nodeCountByCountStore(labelId))
 
+  override def indexCount(index: IndexReference, queries: Seq[IndexQuery]): Long =
+    translateException(inner.indexCount(index, queries))
+
   override def relationshipCountByCountStore(startLabelId: Int, typeId: Int, endLabelId: Int) =
   translateException(inner.relationshipCountByCountStore(startLabelId, typeId, endLabelId))
 
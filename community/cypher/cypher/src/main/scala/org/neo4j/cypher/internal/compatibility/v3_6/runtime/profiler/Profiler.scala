@@ -27,7 +27,7 @@ import org.neo4j.cypher.internal.compatibility.v3_6.runtime.helpers.PrimitiveLon
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.{Pipe, PipeDecorator, QueryState}
 import org.neo4j.cypher.internal.runtime.interpreted.{DelegatingOperations, DelegatingQueryContext, ExecutionContext}
 import org.neo4j.cypher.internal.runtime.{Operations, QueryContext}
-import org.neo4j.internal.kernel.api.{NodeCursor, NodeValueIndexCursor}
+import org.neo4j.internal.kernel.api.{NodeCursor, NodeValueIndexCursor, RelationshipScanCursor, RelationshipValueIndexCursor}
 import org.neo4j.internal.kernel.api.helpers.RelationshipSelectionCursor
 import org.neo4j.kernel.impl.api.store.RelationshipIterator
 import org.neo4j.kernel.impl.factory.{DatabaseInfo, Edition}
@@ -192,6 +192,40 @@ final class ProfilingPipeQueryContext(inner: QueryContext, val p: Pipe)
     override def isClosed: Boolean = inner.isClosed
   }
 
+  override protected def manyDbHits[A](inner: RelationshipValueIndexCursor): RelationshipValueIndexCursor = new RelationshipValueIndexCursor {
+
+    override def numberOfProperties(): Int = inner.numberOfProperties()
+
+    override def propertyKey(offset: Int): Int = inner.propertyKey(offset)
+
+    override def hasValue: Boolean = inner.hasValue
+
+    override def propertyValue(offset: Int): Value = inner.propertyValue(offset)
+
+    override def relationship(cursor: RelationshipScanCursor): Unit = inner.relationship(cursor)
+
+    override def sourceNode(cursor: NodeCursor): Unit = inner.sourceNode(cursor)
+
+    override def targetNode(cursor: NodeCursor): Unit = inner.targetNode(cursor)
+
+    override def `type`(): Int = inner.`type`()
+
+    override def sourceNodeReference(): Long = inner.sourceNodeReference()
+
+    override def targetNodeReference(): Long = inner.targetNodeReference()
+
+    override def relationshipReference(): Long = inner.relationshipReference()
+
+    override def next(): Boolean = {
+      increment()
+      inner.next()
+    }
+
+    override def close(): Unit = inner.close()
+
+    override def isClosed: Boolean = inner.isClosed
+  }
+
   class ProfilerOperations[T](inner: Operations[T]) extends DelegatingOperations[T](inner) {
     override protected def singleDbHit[A](value: A): A = self.singleDbHit(value)
     override protected def manyDbHits[A](value: Iterator[A]): Iterator[A] = self.manyDbHits(value)
@@ -32,9 +32,11 @@ trait IndexDescriptorCompatibility {
   def kernelToCypher(index: IndexDescriptor): CypherIndexDescriptor =
     CypherIndexDescriptor(index.schema().keyId, index.schema().getPropertyIds)
 
-  def kernelToCypher(limitation: KernelIndexLimitation): IndexLimitation = {
+  def kernelToCypher(limitation: KernelIndexLimitation): Option[IndexLimitation] = {
     limitation match {
-      case KernelIndexLimitation.SLOW_CONTAINS => SlowContains
+      case KernelIndexLimitation.SLOW_CONTAINS => Some(SlowContains)
+      // This planner only seeks composite indexes by exact values, which every index supports
+      case KernelIndexLimitation.EXACT_COMPOSITE_ONLY => None
       case _ => throw new IllegalStateException("Missing kernel to cypher mapping for limitation: " + limitation)
     }
   }
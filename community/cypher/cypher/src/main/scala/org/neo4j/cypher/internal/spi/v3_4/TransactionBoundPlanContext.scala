@@ -90,7 +90,7 @@ class TransactionBoundPlanContext(txSupplier: () => KernelTransaction, logger: I
     txSupplier().schemaRead.indexGetState(reference) match {
       case InternalIndexState.ONLINE => reference match {
         case ref if ref.isFulltextIndex || ref.isEventuallyConsistent => None
-        case cir: CapableIndexDescriptor => Some(IndexDescriptor(cir.schema().getEntityTokenIds()(0), cir.properties, cir.limitations().map(kernelToCypher).toSet))
+        case cir: CapableIndexDescriptor => Some(IndexDescriptor(cir.schema().getEntityTokenIds()(0), cir.properties, cir.limitations().flatMap(kernelToCypher).toSet))
         case _ => Some(IndexDescriptor(reference.schema().getEntityTokenIds()(0), reference.properties))
       }
       case _ => None
@@ -19,7 +19,7 @@
  */
 package org.neo4j.cypher.internal.v3_6.expressions
 
-import org.neo4j.cypher.internal.v3_6.util.{LabelId, NameId, PropertyKeyId}
+import org.neo4j.cypher.internal.v3_6.util.{LabelId, NameId, PropertyKeyId, RelTypeId}
 
 sealed abstract class NameToken[I <: NameId] {
   def name: String
@@ -37,3 +37,9 @@ object PropertyKeyToken {
 }
 
 final case class PropertyKeyToken(name: String, nameId: PropertyKeyId) extends NameToken[PropertyKeyId]
+
+object RelationshipTypeToken {
+  def apply(symbolicName: RelTypeName, nameId: RelTypeId): RelationshipTypeToken = RelationshipTypeToken(symbolicName.name, nameId)
+}
+
+final case class RelationshipTypeToken(name: String, nameId: RelTypeId) extends NameToken[RelTypeId]
@@ -32,11 +32,11 @@ import org.neo4j.cypher.internal.v3_6.logical.plans.{IndexOrder, QualifiedName}
 import org.neo4j.graphdb.{Path, PropertyContainer}
 import org.neo4j.internal.kernel.api.helpers.RelationshipSelectionCursor
 import org.neo4j.internal.kernel.api.procs.ProcedureCallContext
-import org.neo4j.internal.kernel.api.{IndexQuery, IndexReference, NodeValueIndexCursor}
+import org.neo4j.internal.kernel.api.{IndexQuery, IndexReference, NodeValueIndexCursor, RelationshipValueIndexCursor}
 import org.neo4j.kernel.impl.api.store.RelationshipIterator
 import org.neo4j.kernel.impl.core.EmbeddedProxySPI
 import org.neo4j.values.AnyValue
-import org.neo4j.values.storable.TextValue
+import org.neo4j.values.storable.{PointValue, TextValue}
 import org.neo4j.values.virtual.{ListValue, MapValue, NodeValue, RelationshipValue}
 
 import scala.collection.Iterator
@@ -148,6 +148,8 @@ abstract class BaseQueryContext extends QueryContext {
 
   override def nodeCountByCountStore(labelId: Int): Long = notSupported()
 
+  override def indexCount(index: IndexReference, queries: Seq[IndexQuery]): Long = notSupported()
+
   override def relationshipCountByCountStore(startLabelId: Int, typeId: Int, endLabelId: Int): Long = notSupported()
 
   override def lockNodes(nodeIds: Long*): Unit = notSupported()
@@ -266,6 +268,15 @@ abstract class BaseQueryContext extends QueryContext {
                                            needsValues: Boolean,
                                            indexOrder: IndexOrder): NodeValueIndexCursor = notSupported()
 
+  override def indexNearestNeighbours[RESULT <: AnyRef](index: IndexReference,
+                                                        needsValues: Boolean,
+                                                        point: PointValue,
+                                                        k: Int): NodeValueIndexCursor = notSupported()
+
   override def lockingUniqueIndexSeek[RESULT](index: IndexReference,
                                               queries: Seq[IndexQuery.ExactPredicate]): NodeValueIndexCursor = notSupported()
+
+  override def relationshipIndexReference(relType: Int, properties: Int*): IndexReference = notSupported()
+
+  override def relationshipIndexSeek(index: IndexReference, queries: Seq[IndexQuery]): RelationshipValueIndexCursor = notSupported()
 }
@@ -38,7 +38,7 @@ import org.neo4j.kernel.impl.api.store.RelationshipIterator
 import org.neo4j.kernel.impl.core.EmbeddedProxySPI
 import org.neo4j.kernel.impl.factory.DatabaseInfo
 import org.neo4j.values.AnyValue
-import org.neo4j.values.storable.{TextValue, Value}
+import org.neo4j.values.storable.{PointValue, TextValue, Value}
 import org.neo4j.values.virtual.{ListValue, MapValue, NodeValue, RelationshipValue}
 
 import scala.collection.Iterator
@@ -52,6 +52,7 @@ abstract class DelegatingQueryContext(val inner: QueryContext) extends QueryCont
   protected def manyDbHits[A](value: RelationshipIterator): RelationshipIterator = value
   protected def manyDbHits[A](value: RelationshipSelectionCursor): RelationshipSelectionCursor = value
   protected def manyDbHits[A](value: NodeValueIndexCursor): NodeValueIndexCursor = value
+  protected def manyDbHits[A](value: RelationshipValueIndexCursor): RelationshipValueIndexCursor = value
   protected def manyDbHits(count: Int): Int = count
 
   override def resources: ResourceManager = inner.resources
@@ -135,6 +136,12 @@ abstract class DelegatingQueryContext(val inner: QueryContext) extends QueryCont
                                            indexOrder: IndexOrder): NodeValueIndexCursor =
     manyDbHits(inner.indexScan(index, needsValues, indexOrder))
 
+  override def indexNearestNeighbours[RESULT <: AnyRef](index: IndexReference,
+                                                        needsValues: Boolean,
+                                                        point: PointValue,
+                                                        k: Int): NodeValueIndexCursor =
+    manyDbHits(inner.indexNearestNeighbours(index, needsValues, point, k))
+
   override def indexSeekByContains[RESULT <: AnyRef](index: IndexReference,
                                                      needsValues: Boolean,
                                                      indexOrder: IndexOrder,
@@ -194,6 +201,12 @@ abstract class DelegatingQueryContext(val inner: QueryContext) extends QueryCont
                                               queries: Seq[IndexQuery.ExactPredicate]): NodeValueIndexCursor =
     singleDbHit(inner.lockingUniqueIndexSeek(index, queries))
 
+  override def relationshipIndexReference(relType: Int, properties: Int*): IndexReference =
+    singleDbHit(inner.relationshipIndexReference(relType, properties:_*))
+
+  override def relationshipIndexSeek(index: IndexReference, queries: Seq[IndexQuery]): RelationshipValueIndexCursor =
+    manyDbHits(inner.relationshipIndexSeek(index, queries))
+
   override def getRelTypeId(relType: String): Int = singleDbHit(inner.getRelTypeId(relType))
 
   override def getOptRelTypeId(relType: String): Option[Int] = singleDbHit(inner.getOptRelTypeId(relType))
@@ -232,6 +245,8 @@ abstract class DelegatingQueryContext(val inner: QueryContext) extends QueryCont
 
   override def nodeCountByCountStore(labelId: Int): Long = singleDbHit(inner.nodeCountByCountStore(labelId))
 
+  override def indexCount(index: IndexReference, queries: Seq[IndexQuery]): Long = singleDbHit(inner.indexCount(index, queries))
+
   override def relationshipCountByCountStore(startLabelId: Int, typeId: Int, endLabelId: Int): Long =
     singleDbHit(inner.relationshipCountByCountStore(startLabelId, typeId, endLabelId))
 
@@ -22,7 +22,7 @@
  */
 package org.neo4j.cypher.internal.runtime.interpreted
 
-import org.neo4j.cypher.internal.planner.v3_6.spi.{IndexLimitation, SlowContains, IndexDescriptor => CypherIndexDescriptor}
+import org.neo4j.cypher.internal.planner.v3_6.spi.{ExactCompositeOnly, IndexLimitation, SlowContains, IndexDescriptor => CypherIndexDescriptor}
 import org.neo4j.internal.kernel.api.schema.LabelSchemaDescriptor
 import org.neo4j.internal.kernel.api.{IndexLimitation => KernelIndexLimitation}
 import org.neo4j.kernel.api.schema.SchemaDescriptorFactory
@@ -31,6 +31,7 @@ trait IndexDescriptorCompatibility {
   def kernelToCypher(limitation: KernelIndexLimitation): IndexLimitation = {
     limitation match {
       case KernelIndexLimitation.SLOW_CONTAINS => SlowContains
+      case KernelIndexLimitation.EXACT_COMPOSITE_ONLY => ExactCompositeOnly
       case _ => throw new IllegalStateException("Missing kernel to cypher mapping for limitation: " + limitation)
     }
   }
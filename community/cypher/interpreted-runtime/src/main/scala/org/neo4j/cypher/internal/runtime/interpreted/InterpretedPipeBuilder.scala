@@ -72,6 +72,9 @@ case class InterpretedPipeBuilder(recurse: LogicalPlan => Pipe,
         RelationshipCountFromCountStorePipe(ident, startLabel.map(LazyLabel.apply),
                                             new LazyTypes(typeNames.map(_.name).toArray), endLabel.map(LazyLabel.apply))(id = id)
 
+      case NodeCountFromIndexSeek(ident, label, properties, valueExpr, _) =>
+        NodeCountFromIndexSeekPipe(ident, label, properties.toArray, valueExpr.map(buildExpression))(id = id)
+
       case NodeByLabelScan(ident, label, _) =>
         NodeByLabelScanPipe(ident, LazyLabel(label))(id = id)
 
@@ -84,6 +87,9 @@ case class InterpretedPipeBuilder(recurse: LogicalPlan => Pipe,
       case UndirectedRelationshipByIdSeek(ident, relIdExpr, fromNode, toNode, _) =>
         UndirectedRelationshipByIdSeekPipe(ident, expressionConverters.toCommandSeekArgs(id, relIdExpr), toNode, fromNode)(id = id)
 
+      case DirectedRelationshipIndexSeek(ident, startNode, endNode, typeToken, properties, valueExpr, _) =>
+        DirectedRelationshipIndexSeekPipe(ident, startNode, endNode, typeToken, properties.toArray, valueExpr.map(buildExpression))(id = id)
+
       case NodeIndexSeek(ident, label, properties, valueExpr, _, indexOrder) =>
         val indexSeekMode = IndexSeekModeFactory(unique = false, readOnly = readOnly).fromQueryExpression(valueExpr)
         NodeIndexSeekPipe(ident, label, properties.toArray, valueExpr.map(buildExpression), indexSeekMode, indexOrder)(id = id)
@@ -100,6 +106,9 @@ case class InterpretedPipeBuilder(recurse: LogicalPlan => Pipe,
 
       case NodeIndexEndsWithScan(ident, label, property, valueExpr, _, indexOrder) =>
         NodeIndexEndsWithScanPipe(ident, label,property, buildExpression(valueExpr), indexOrder)(id = id)
+
+      case NodeIndexNearestNeighbours(ident, label, property, point, k, _, includeNodesWithoutProperty) =>
+        NodeIndexNearestNeighboursPipe(ident, label, property, buildExpression(point), buildExpression(k), includeNodesWithoutProperty)(id = id)
     }
   }
 
@@ -28,13 +28,20 @@ import org.neo4j.cypher.internal.planner.v3_6.spi.GraphStatistics
 import org.neo4j.cypher.internal.planner.v3_6.spi.IndexDescriptor
 import org.neo4j.cypher.internal.planner.v3_6.spi.StatisticsCompletingGraphStatistics
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException
+import org.neo4j.internal.kernel.api.IndexQuery
+import org.neo4j.internal.kernel.api.IndexReference
+import org.neo4j.internal.kernel.api.InternalIndexState
 import org.neo4j.internal.kernel.api.Read
 import org.neo4j.internal.kernel.api.SchemaRead
 import org.neo4j.kernel.impl.query.TransactionalContext
+import org.neo4j.cypher.internal.v3_6.expressions.Literal
+import org.neo4j.cypher.internal.v3_6.logical.plans._
 import org.neo4j.cypher.internal.v3_6.util.Cardinality
 import org.neo4j.cypher.internal.v3_6.util.LabelId
 import org.neo4j.cypher.internal.v3_6.util.RelTypeId
 import org.neo4j.cypher.internal.v3_6.util.Selectivity
+import org.neo4j.values.storable.Value
+import org.neo4j.values.storable.Values
 
 object TransactionBoundGraphStatistics {
   def apply(transactionalContext: TransactionalContext): StatisticsCompletingGraphStatistics =
@@ -89,6 +96,43 @@ object TransactionBoundGraphStatistics {
         case _: IndexNotFoundKernelException => None
       }
 
+    override def indexRangeSelectivity(index: IndexDescriptor, range: InequalitySeekRange[Literal]): Option[Selectivity] =
+      try {
+        val labeledNodes = read.countsForNodeWithoutTxState( index.label ).toDouble
+        if (labeledNodes == 0)
+          Some(Selectivity.ZERO)
+        else {
+          val reference = schemaRead.index(index.label, index.properties.map(_.id):_*)
+          val online = reference != IndexReference.NO_INDEX && schemaRead.indexGetState(reference) == InternalIndexState.ONLINE
+          rangeQuery(index.properties.head.id, range.mapBounds(literal => Values.of(literal.value))).filter(_ => online).flatMap { query =>
+            // Probability of any node with the given label, to have a property with a value in the range
+            val count = read.nodeIndexCount(reference, query)
+            if (count == Read.UNKNOWN_COUNT) None else Selectivity.of(min(count / labeledNodes, 1.0))
+          }
+        }
+      }
+      catch {
+        case _: IndexNotFoundKernelException => None
+      }
+
+    /**
+      * The index query finding the values in the range, if they are of one value group which the index can order.
+      */
+    private def rangeQuery(propertyKeyId: Int, range: InequalitySeekRange[Value]): Option[IndexQuery] = {
+      implicit val byValue: MinMaxOrdering[Value] = MinMaxOrdering(Ordering.comparatorToOrdering(Values.COMPARATOR))
+      val groups = range.groupBy(_.endPoint.valueGroup())
+      if (groups.size != 1) None
+      else groups.head._2 match {
+        case greaterThan: RangeGreaterThan[Value] =>
+          greaterThan.limit.map(from => IndexQuery.range(propertyKeyId, from.endPoint, from.isInclusive, null, false))
+        case lessThan: RangeLessThan[Value] =>
+          lessThan.limit.map(to => IndexQuery.range(propertyKeyId, null, false, to.endPoint, to.isInclusive))
+        case RangeBetween(greaterThan, lessThan) =>
+          for (from <- greaterThan.limit; to <- lessThan.limit)
+            yield IndexQuery.range(propertyKeyId, from.endPoint, from.isInclusive, to.endPoint, to.isInclusive)
+      }
+    }
+
     override def nodesWithLabelCardinality(labelId: Option[LabelId]): Cardinality =
       atLeastOne(read.countsForNodeWithoutTxState(labelId))
 
@@ -38,7 +38,7 @@ import org.neo4j.procedure.Mode
 import org.neo4j.values.storable.ValueCategory
 import org.neo4j.cypher.internal.v3_6.frontend.phases.InternalNotificationLogger
 import org.neo4j.cypher.internal.v3_6.util.symbols._
-import org.neo4j.cypher.internal.v3_6.util.{CypherExecutionException, LabelId, PropertyKeyId, symbols => types}
+import org.neo4j.cypher.internal.v3_6.util.{CypherExecutionException, LabelId, PropertyKeyId, RelTypeId, symbols => types}
 
 import scala.collection.JavaConverters._
 
@@ -79,6 +79,13 @@ class TransactionBoundPlanContext(tc: TransactionalContextWrapper, logger: Inter
     indexGetForLabelAndProperties(labelName, propertyKey).isDefined
   }
 
+  override def relationshipIndexesGetForRelType(relTypeId: Int): Iterator[RelationshipIndexDescriptor] = {
+    tc.schemaRead.indexesGetForRelationshipType(relTypeId).asScala
+      .filter(reference => tc.schemaRead.indexGetState(reference) == InternalIndexState.ONLINE)
+      .filterNot(reference => reference.isFulltextIndex || reference.isEventuallyConsistent)
+      .map(reference => RelationshipIndexDescriptor(RelTypeId(relTypeId), reference.properties().map(PropertyKeyId)))
+  }
+
   private def evalOrNone[T](f: => Option[T]): Option[T] =
     try {
       f
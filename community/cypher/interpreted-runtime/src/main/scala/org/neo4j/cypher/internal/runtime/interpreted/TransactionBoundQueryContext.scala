@@ -288,18 +288,17 @@ sealed class TransactionBoundQueryContext(val transactionalContext: Transactiona
                                            needsValues: Boolean,
                                            indexOrder: IndexOrder,
                                            predicates: Seq[IndexQuery]): NodeValueIndexCursor = {
-
-    val impossiblePredicate =
-      predicates.exists {
-        case p: IndexQuery.ExactPredicate => p.value() == Values.NO_VALUE
-        case p: IndexQuery =>
-          !RANGE_SEEKABLE_VALUE_GROUPS.contains(p.valueGroup())
-      }
-
-    if (impossiblePredicate) NodeValueIndexCursor.EMPTY
+    if (impossiblePredicate(predicates)) NodeValueIndexCursor.EMPTY
     else seek(index, needsValues, indexOrder, predicates: _*)
   }
 
+  private def impossiblePredicate(predicates: Seq[IndexQuery]): Boolean =
+    predicates.exists {
+      case p: IndexQuery.ExactPredicate => p.value() == Values.NO_VALUE
+      case p: IndexQuery =>
+        !RANGE_SEEKABLE_VALUE_GROUPS.contains(p.valueGroup())
+    }
+
   override def indexReference(label: Int,
                               properties: Int*): IndexReference =
     transactionalContext.kernelTransaction.schemaRead().index(label, properties: _*)
@@ -333,6 +332,15 @@ sealed class TransactionBoundQueryContext(val transactionalContext: Transactiona
     nodeCursor
   }
 
+  override def indexNearestNeighbours[RESULT <: AnyRef](index: IndexReference,
+                                                        needsValues: Boolean,
+                                                        point: PointValue,
+                                                        k: Int): NodeValueIndexCursor = {
+    val nodeCursor = allocateAndTraceNodeValueIndexCursor()
+    reads().nodeIndexNearestNeighbours(index, nodeCursor, point, k, needsValues)
+    nodeCursor
+  }
+
   override def indexSeekByContains[RESULT <: AnyRef](index: IndexReference,
                                                      needsValues: Boolean,
                                                      indexOrder: IndexOrder,
@@ -363,6 +371,18 @@ sealed class TransactionBoundQueryContext(val transactionalContext: Transactiona
     }
   }
 
+  override def relationshipIndexReference(relType: Int, properties: Int*): IndexReference =
+    transactionalContext.kernelTransaction.schemaRead().index(SchemaDescriptorFactory.forRelType(relType, properties: _*))
+
+  override def relationshipIndexSeek(index: IndexReference, queries: Seq[IndexQuery]): RelationshipValueIndexCursor = {
+    val relationshipCursor = transactionalContext.cursors.allocateRelationshipValueIndexCursor()
+    resources.trace(relationshipCursor)
+    // A cursor that was never sought finds no relationships
+    if (!impossiblePredicate(queries))
+      reads().relationshipIndexSeek(index, relationshipCursor, KernelIndexOrder.NONE, false, queries: _*)
+    relationshipCursor
+  }
+
   override def removeLabelsFromNode(node: Long, labelIds: Iterator[Int]): Int = labelIds.foldLeft(0) {
     case (count, labelId) =>
       if (transactionalContext.kernelTransaction.dataWrite().nodeRemoveLabel(node, labelId)) count + 1 else count
@@ -944,6 +964,22 @@ sealed class TransactionBoundQueryContext(val transactionalContext: Transactiona
     reads().countsForNode(labelId)
   }
 
+  override def indexCount(index: IndexReference, queries: Seq[IndexQuery]): Long = {
+    val count = if (impossiblePredicate(queries)) 0L else reads().nodeIndexCount(index, queries: _*)
+    if (count != Read.UNKNOWN_COUNT) count
+    else {
+      // The index can't count these nodes by itself, e.g. because of changes in the transaction state
+      val cursor = seek(index, needsValues = false, IndexOrderNone, queries: _*)
+      try {
+        var seen = 0L
+        while (cursor.next()) seen += 1
+        seen
+      } finally {
+        cursor.close()
+      }
+    }
+  }
+
   override def relationshipCountByCountStore(startLabelId: Int, typeId: Int, endLabelId: Int): Long = {
     reads().countsForRelationship(startLabelId, typeId, endLabelId)
   }
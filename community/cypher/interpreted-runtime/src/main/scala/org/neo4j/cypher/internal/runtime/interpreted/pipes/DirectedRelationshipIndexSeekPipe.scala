@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.pipes
+
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.ExecutionContext
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.v3_6.expressions.{PropertyKeyToken, RelationshipTypeToken}
+import org.neo4j.cypher.internal.v3_6.logical.plans._
+import org.neo4j.cypher.internal.v3_6.util.attribution.Id
+import org.neo4j.internal.kernel.api.{IndexReference, RelationshipValueIndexCursor}
+
+case class DirectedRelationshipIndexSeekPipe(ident: String,
+                                             fromNode: String,
+                                             toNode: String,
+                                             typeToken: RelationshipTypeToken,
+                                             properties: Array[PropertyKeyToken],
+                                             valueExpr: QueryExpression[Expression])
+                                            (val id: Id = Id.INVALID_ID) extends Pipe with NodeIndexSeeker {
+
+  override val indexMode: IndexSeekMode = IndexSeek
+
+  override val propertyIds: Array[Int] = properties.map(_.nameId.id)
+
+  private var reference: IndexReference = IndexReference.NO_INDEX
+
+  private def reference(context: QueryContext): IndexReference = {
+    if (reference == IndexReference.NO_INDEX) {
+      reference = context.relationshipIndexReference(typeToken.nameId.id, propertyIds:_*)
+    }
+    reference
+  }
+
+  valueExpr.expressions.foreach(_.registerOwningPipe(this))
+
+  protected def internalCreateResults(state: QueryState): Iterator[ExecutionContext] = {
+    val indexReference = reference(state.query)
+    val baseContext = state.newExecutionContext(executionContextFactory)
+
+    relationshipIndexSeek(state, indexReference, baseContext).flatMap(
+      cursor => new RelationshipIndexIterator(state.query, baseContext, cursor)
+    )
+  }
+
+  class RelationshipIndexIterator(queryContext: QueryContext,
+                                  baseContext: ExecutionContext,
+                                  cursor: RelationshipValueIndexCursor
+                                 ) extends IndexIteratorBase[ExecutionContext](cursor) {
+
+    override protected def fetchNext(): ExecutionContext = {
+      if (cursor.next()) {
+        val rel = queryContext.relationshipOps.getById(cursor.relationshipReference())
+        executionContextFactory.copyWith(baseContext, ident, rel, fromNode, rel.startNode(), toNode, rel.endNode())
+      } else null
+    }
+  }
+
+  def canEqual(other: Any): Boolean = other.isInstanceOf[DirectedRelationshipIndexSeekPipe]
+
+  override def equals(other: Any): Boolean = other match {
+    case that: DirectedRelationshipIndexSeekPipe =>
+      (that canEqual this) &&
+        ident == that.ident &&
+        fromNode == that.fromNode &&
+        toNode == that.toNode &&
+        typeToken == that.typeToken &&
+        (properties sameElements that.properties) &&
+        valueExpr == that.valueExpr
+    case _ => false
+  }
+
+  override def hashCode(): Int = {
+    val state = Seq(ident, fromNode, toNode, typeToken, properties.toSeq, valueExpr)
+    state.map(_.hashCode()).foldLeft(0)((a, b) => 31 * a + b)
+  }
+}
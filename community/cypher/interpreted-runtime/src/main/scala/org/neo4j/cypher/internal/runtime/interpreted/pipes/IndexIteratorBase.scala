@@ -22,11 +22,11 @@
  */
 package org.neo4j.cypher.internal.runtime.interpreted.pipes
 
-import org.neo4j.internal.kernel.api.NodeValueIndexCursor
+import org.neo4j.internal.kernel.api.Cursor
 
 import scala.collection.Iterator
 
-abstract class IndexIteratorBase[T](val cursor: NodeValueIndexCursor) extends Iterator[T] {
+abstract class IndexIteratorBase[T](val cursor: Cursor) extends Iterator[T] {
   private var _next: T = fetchNext()
 
   protected def fetchNext(): T
@@ -23,17 +23,24 @@
 package org.neo4j.cypher.internal.runtime.interpreted.pipes
 
 import org.neo4j.cypher.internal.v3_6.util.InternalException
-import org.neo4j.cypher.internal.v3_6.logical.plans.{QueryExpression, RangeQueryExpression}
+import org.neo4j.cypher.internal.v3_6.logical.plans.{CompositeQueryExpression, ExistenceQueryExpression, QueryExpression, RangeQueryExpression}
 import org.neo4j.values.virtual.NodeValue
 
 case class IndexSeekModeFactory(unique: Boolean, readOnly: Boolean) {
   def fromQueryExpression[T](qexpr: QueryExpression[T]): IndexSeekMode = qexpr match {
     case _: RangeQueryExpression[_] if unique => UniqueIndexSeekByRange
     case _: RangeQueryExpression[_] => IndexSeekByRange
+    case CompositeQueryExpression(inner) if unique && inner.exists(isNotExact) => UniqueIndexSeekByRange
+    case CompositeQueryExpression(inner) if inner.exists(isNotExact) => IndexSeekByRange
     case _ if unique && !readOnly => LockingUniqueIndexSeek
     case _ if unique => UniqueIndexSeek
     case _ => IndexSeek
   }
+
+  private def isNotExact(qexpr: QueryExpression[_]): Boolean = qexpr match {
+    case _: RangeQueryExpression[_] | _: ExistenceQueryExpression[_] => true
+    case _ => false
+  }
 }
 
 object IndexSeekMode {
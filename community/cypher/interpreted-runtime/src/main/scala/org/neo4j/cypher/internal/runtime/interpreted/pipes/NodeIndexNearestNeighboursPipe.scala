@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.pipes
+
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.ExecutionContext
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.v3_6.logical.plans.{CachedNodeProperty, IndexOrderNone, IndexedProperty}
+import org.neo4j.internal.kernel.api.{IndexReference, NodeValueIndexCursor}
+import org.neo4j.cypher.internal.v3_6.expressions.LabelToken
+import org.neo4j.cypher.internal.v3_6.util.attribution.Id
+import org.neo4j.values.storable.{NumberValue, PointValue}
+
+import scala.collection.{Iterator, mutable}
+
+case class NodeIndexNearestNeighboursPipe(ident: String,
+                                          label: LabelToken,
+                                          property: IndexedProperty,
+                                          point: Expression,
+                                          k: Expression,
+                                          includeNodesWithoutProperty: Boolean)
+                                         (val id: Id = Id.INVALID_ID) extends Pipe with IndexPipeWithValues {
+
+  point.registerOwningPipe(this)
+  k.registerOwningPipe(this)
+
+  private val needsValues = property.shouldGetValue
+  override val indexPropertyIndices: Array[Int] = if (needsValues) Array(0) else Array.empty
+  override val indexCachedNodeProperties: Array[CachedNodeProperty] =
+    if (needsValues) Array(property.asCachedNodeProperty(ident)) else Array.empty
+
+  private var reference: IndexReference = IndexReference.NO_INDEX
+
+  private def reference(context: QueryContext): IndexReference = {
+    if (reference == IndexReference.NO_INDEX) {
+      reference = context.indexReference(label.nameId.id, property.propertyKeyToken.nameId.id)
+    }
+    reference
+  }
+
+  protected def internalCreateResults(state: QueryState): Iterator[ExecutionContext] = {
+    val baseContext = state.newExecutionContext(executionContextFactory)
+    val count = k(baseContext, state).asInstanceOf[NumberValue].longValue()
+    if (count <= 0) {
+      Iterator.empty
+    } else {
+      val index = reference(state.query)
+      val produced = mutable.Set.empty[Long]
+      val nearest = point(baseContext, state) match {
+        case p: PointValue =>
+          val cursor = state.query.indexNearestNeighbours(index, needsValues, p, math.min(count, Int.MaxValue).toInt)
+          new DistinctNodeIterator(state.query, baseContext, cursor, produced)
+        case _ =>
+          Iterator.empty
+      }
+      // The distance to the rest of the nodes is null, so they come last when sorting by it
+      def rest: Iterator[ExecutionContext] =
+        if (includeNodesWithoutProperty)
+          state.query.getNodesByLabel(label.nameId.id).filterNot(n => produced.contains(n.id()))
+            .map(n => executionContextFactory.copyWith(baseContext, ident, n))
+        else
+          new DistinctNodeIterator(state.query, baseContext, state.query.indexScan(index, needsValues, IndexOrderNone), produced)
+
+      (nearest ++ rest).take(math.min(count, Int.MaxValue).toInt)
+    }
+  }
+
+  /**
+    * Produces the rows for the nodes of a cursor that no row has been produced for yet.
+    */
+  class DistinctNodeIterator(queryContext: QueryContext,
+                             baseContext: ExecutionContext,
+                             cursor: NodeValueIndexCursor,
+                             produced: mutable.Set[Long]) extends IndexIteratorBase[ExecutionContext](cursor) {
+
+    override protected def fetchNext(): ExecutionContext = {
+      while (cursor.next()) {
+        if (produced.add(cursor.nodeReference())) {
+          val newContext = executionContextFactory.copyWith(baseContext, ident, queryContext.nodeById(cursor.nodeReference()))
+          var i = 0
+          while (i < indexPropertyIndices.length) {
+            newContext.setCachedProperty(indexCachedNodeProperties(i), cursor.propertyValue(indexPropertyIndices(i)))
+            i += 1
+          }
+          return newContext
+        }
+      }
+      null
+    }
+  }
+}
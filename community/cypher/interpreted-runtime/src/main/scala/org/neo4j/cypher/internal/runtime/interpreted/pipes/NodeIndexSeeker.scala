@@ -25,7 +25,7 @@ package org.neo4j.cypher.internal.runtime.interpreted.pipes
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.{Expression, InequalitySeekRangeExpression, PointDistanceSeekRangeExpression, PrefixSeekRangeExpression}
 import org.neo4j.cypher.internal.runtime.interpreted.{ExecutionContext, IsList, makeValueNeoSafe}
 import org.neo4j.cypher.internal.v3_6.logical.plans._
-import org.neo4j.internal.kernel.api.{IndexQuery, IndexReference, NodeValueIndexCursor}
+import org.neo4j.internal.kernel.api.{IndexQuery, IndexReference, NodeValueIndexCursor, RelationshipValueIndexCursor}
 import org.neo4j.values.AnyValue
 import org.neo4j.values.storable._
 import org.neo4j.cypher.internal.v3_6.frontend.helpers.SeqCombiner.combine
@@ -64,6 +64,16 @@ trait NodeIndexSeeker {
         indexQueries.map(indexQuery => state.query.lockingUniqueIndexSeek(indexReference, indexQuery)).toIterator
     }
 
+  // index count
+  protected def indexCount(state: QueryState, indexReference: IndexReference, baseContext: ExecutionContext): Long =
+    computeIndexQueries(state, baseContext).map(query => state.query.indexCount(indexReference, query)).sum
+
+  // relationship index seek
+  protected def relationshipIndexSeek(state: QueryState,
+                                      indexReference: IndexReference,
+                                      baseContext: ExecutionContext): Iterator[RelationshipValueIndexCursor] =
+    computeIndexQueries(state, baseContext).toIterator.map(query => state.query.relationshipIndexSeek(indexReference, query))
+
   // helpers
 
   private val BY_VALUE: MinMaxOrdering[Value] = MinMaxOrdering(Ordering.comparatorToOrdering(Values.COMPARATOR))
@@ -74,77 +84,102 @@ trait NodeIndexSeeker {
       // Index range seek over range of values
       case RangeQueryExpression(rangeWrapper) =>
         assert(propertyIds.length == 1)
-        rangeWrapper match {
-          case PrefixSeekRangeExpression(range) =>
-            val expr = range.prefix
-            expr(row, state) match {
-              case text: TextValue =>
-                Array(Seq(IndexQuery.stringPrefix(propertyIds.head, text)))
-              case Values.NO_VALUE =>
-                Nil
-              case other =>
-                throw new CypherTypeException("Expected TextValue, got "+other )
-            }
-
-          case InequalitySeekRangeExpression(innerRange) =>
-            val valueRange: InequalitySeekRange[Value] = innerRange.mapBounds(expr => makeValueNeoSafe(expr(row, state)))
-            val groupedRanges = valueRange.groupBy(bound => bound.endPoint.valueGroup())
-            if (groupedRanges.size > 1) {
-              Nil // predicates of more than one value group mean that no node can ever match
-            } else {
-              val (valueGroup, range) = groupedRanges.head
-              range match {
-                case rangeLessThan: RangeLessThan[Value] =>
-                  rangeLessThan.limit(BY_VALUE).map( limit =>
-                    List(IndexQuery.range(propertyIds.head, null, false, limit.endPoint, limit.isInclusive))
-                  ).toSeq
-
-                case rangeGreaterThan: RangeGreaterThan[Value] =>
-                  rangeGreaterThan.limit(BY_VALUE).map( limit =>
-                    List(IndexQuery.range(propertyIds.head, limit.endPoint, limit.isInclusive, null, false))
-                  ).toSeq
-
-                case RangeBetween(rangeGreaterThan, rangeLessThan) =>
-                  val greaterThanLimit = rangeGreaterThan.limit(BY_VALUE).get
-                  val lessThanLimit = rangeLessThan.limit(BY_VALUE).get
-
-                  val compare = Values.COMPARATOR.compare(greaterThanLimit.endPoint, lessThanLimit.endPoint)
-                  if (compare < 0) {
-                    List(List(IndexQuery.range(propertyIds.head,
-                                         greaterThanLimit.endPoint,
-                                         greaterThanLimit.isInclusive,
-                                         lessThanLimit.endPoint,
-                                         lessThanLimit.isInclusive)))
-                  } else if (compare == 0 && greaterThanLimit.isInclusive && lessThanLimit.isInclusive) {
-                    List(List(IndexQuery.exact(propertyIds.head, lessThanLimit.endPoint)))
-                  } else {
-                    Nil
-                  }
-              }
-            }
-
-          case PointDistanceSeekRangeExpression(range) =>
-            val valueRange = range.map(expr => makeValueNeoSafe(expr(row, state)))
-            (valueRange.distance, valueRange.point) match {
-              case (distance: NumberValue, point: PointValue) =>
-                val bboxes = point.getCoordinateReferenceSystem.getCalculator.boundingBox(point, distance.doubleValue()).asScala
-                // The geographic calculator pads the range to avoid numerical errors, which means we rely more on post-filtering
-                // This also means we can fix the date-line '<' case by simply being inclusive in the index seek, and again rely on post-filtering
-                val inclusive = if (bboxes.length > 1) true else range.inclusive
-                bboxes.map( bbox => List(IndexQuery.range(propertyIds.head,
-                  bbox.first(),
-                  inclusive,
-                  bbox.other(),
-                  inclusive
-                )))
-              case _ => Nil
-            }
+        computeRangeQueries(state, row, rangeWrapper, propertyIds.head).map(Seq(_))
+
+      // Index seek making use of a composite index, by exact values on a prefix of the properties followed by a range
+      // and existence on the rest, or by exact values on all properties
+      //    eg:   x in [1, 2] AND y > 3 AND exists(z)
+      case CompositeQueryExpression(exprs) =>
+        assert(exprs.lengthCompare(propertyIds.length) == 0)
+
+        // predicates = [[x = 1, x = 2], [y > 3], [exists(z)]]
+        val predicates = exprs.zip(propertyIds).map {
+          case (RangeQueryExpression(rangeWrapper), propId) =>
+            computeRangeQueries(state, row, rangeWrapper, propId)
+          case (ExistenceQueryExpression(), propId) =>
+            Seq(IndexQuery.exists(propId))
+          case (exactQuery, propId) =>
+            expressionValues(row, state)(exactQuery).map(v => IndexQuery.exact(propId, makeValueNeoSafe(v)))
         }
 
+        // combined = [[x = 1, y > 3, exists(z)], [x = 2, y > 3, exists(z)]]
+        combine(predicates)
+
       case exactQuery =>
         computeExactQueries(state, row)
     }
 
+  /**
+    * The predicates on a single property that together find all values in the range. No predicates means that no value can match.
+    */
+  private def computeRangeQueries(state: QueryState, row: ExecutionContext, rangeWrapper: Expression, propertyId: Int): Seq[IndexQuery] =
+    rangeWrapper match {
+      case PrefixSeekRangeExpression(range) =>
+        val expr = range.prefix
+        expr(row, state) match {
+          case text: TextValue =>
+            Seq(IndexQuery.stringPrefix(propertyId, text))
+          case Values.NO_VALUE =>
+            Nil
+          case other =>
+            throw new CypherTypeException("Expected TextValue, got "+other )
+        }
+
+      case InequalitySeekRangeExpression(innerRange) =>
+        val valueRange: InequalitySeekRange[Value] = innerRange.mapBounds(expr => makeValueNeoSafe(expr(row, state)))
+        val groupedRanges = valueRange.groupBy(bound => bound.endPoint.valueGroup())
+        if (groupedRanges.size > 1) {
+          Nil // predicates of more than one value group mean that no node can ever match
+        } else {
+          val (valueGroup, range) = groupedRanges.head
+          range match {
+            case rangeLessThan: RangeLessThan[Value] =>
+              rangeLessThan.limit(BY_VALUE).map( limit =>
+                IndexQuery.range(propertyId, null, false, limit.endPoint, limit.isInclusive)
+              ).toSeq
+
+            case rangeGreaterThan: RangeGreaterThan[Value] =>
+              rangeGreaterThan.limit(BY_VALUE).map( limit =>
+                IndexQuery.range(propertyId, limit.endPoint, limit.isInclusive, null, false)
+              ).toSeq
+
+            case RangeBetween(rangeGreaterThan, rangeLessThan) =>
+              val greaterThanLimit = rangeGreaterThan.limit(BY_VALUE).get
+              val lessThanLimit = rangeLessThan.limit(BY_VALUE).get
+
+              val compare = Values.COMPARATOR.compare(greaterThanLimit.endPoint, lessThanLimit.endPoint)
+              if (compare < 0) {
+                List(IndexQuery.range(propertyId,
+                                      greaterThanLimit.endPoint,
+                                      greaterThanLimit.isInclusive,
+                                      lessThanLimit.endPoint,
+                                      lessThanLimit.isInclusive))
+              } else if (compare == 0 && greaterThanLimit.isInclusive && lessThanLimit.isInclusive) {
+                List(IndexQuery.exact(propertyId, lessThanLimit.endPoint))
+              } else {
+                Nil
+              }
+          }
+        }
+
+      case PointDistanceSeekRangeExpression(range) =>
+        val valueRange = range.map(expr => makeValueNeoSafe(expr(row, state)))
+        (valueRange.distance, valueRange.point) match {
+          case (distance: NumberValue, point: PointValue) =>
+            val bboxes = point.getCoordinateReferenceSystem.getCalculator.boundingBox(point, distance.doubleValue()).asScala
+            // The geographic calculator pads the range to avoid numerical errors, which means we rely more on post-filtering
+            // This also means we can fix the date-line '<' case by simply being inclusive in the index seek, and again rely on post-filtering
+            val inclusive = if (bboxes.length > 1) true else range.inclusive
+            bboxes.map( bbox => IndexQuery.range(propertyId,
+              bbox.first(),
+              inclusive,
+              bbox.other(),
+              inclusive
+            ))
+          case _ => Nil
+        }
+    }
+
   private def computeExactQueries(state: QueryState, row: ExecutionContext): Seq[Seq[IndexQuery.ExactPredicate]] =
     valueExpr match {
       // Index exact value seek on single value
@@ -200,7 +235,10 @@ trait NodeIndexSeeker {
         throw new InternalException("A CompositeQueryExpression can't be nested in a CompositeQueryExpression")
 
       case RangeQueryExpression(rangeWrapper) =>
-        throw new InternalException("Range queries on composite indexes not yet supported")
+        throw new InternalException("Range queries are not exact, they can't be combined into exact composite index queries")
+
+      case ExistenceQueryExpression() =>
+        throw new InternalException("Existence queries are not exact, they can't be combined into exact composite index queries")
     }
   }
 }
@@ -32,11 +32,11 @@ import org.neo4j.cypher.internal.v3_6.logical.plans.{IndexOrder, QualifiedName}
 import org.neo4j.graphdb.{Path, PropertyContainer}
 import org.neo4j.internal.kernel.api.helpers.RelationshipSelectionCursor
 import org.neo4j.internal.kernel.api.procs.ProcedureCallContext
-import org.neo4j.internal.kernel.api.{IndexQuery, IndexReference, NodeValueIndexCursor}
+import org.neo4j.internal.kernel.api.{IndexQuery, IndexReference, NodeValueIndexCursor, RelationshipValueIndexCursor}
 import org.neo4j.kernel.impl.api.store.RelationshipIterator
 import org.neo4j.kernel.impl.core.EmbeddedProxySPI
 import org.neo4j.values.AnyValue
-import org.neo4j.values.storable.TextValue
+import org.neo4j.values.storable.{PointValue, TextValue}
 import org.neo4j.values.virtual.{ListValue, MapValue, NodeValue, RelationshipValue}
 
 trait QueryContextAdaptation {
@@ -141,6 +141,11 @@ trait QueryContextAdaptation {
                                            needsValues: Boolean,
                                            indexOrder: IndexOrder): NodeValueIndexCursor = ???
 
+  override def indexNearestNeighbours[RESULT <: AnyRef](index: IndexReference,
+                                                        needsValues: Boolean,
+                                                        point: PointValue,
+                                                        k: Int): NodeValueIndexCursor = ???
+
   override def getImportURL(url: URL): Either[String, URL] = ???
 
   override def relationshipCountByCountStore(startLabelId: Int, typeId: Int, endLabelId: Int): Long = ???
@@ -164,6 +169,10 @@ trait QueryContextAdaptation {
   override def lockingUniqueIndexSeek[RESULT](index: IndexReference,
                                               values: Seq[IndexQuery.ExactPredicate]): NodeValueIndexCursor = ???
 
+  override def relationshipIndexReference(relType: Int, properties: Int*): IndexReference = ???
+
+  override def relationshipIndexSeek(index: IndexReference, queries: Seq[IndexQuery]): RelationshipValueIndexCursor = ???
+
   override def callReadOnlyProcedure(id: Int, args: Seq[Any], allowed: Array[String], procedureCallContext: ProcedureCallContext): scala.Iterator[Array[AnyRef]] = ???
 
   override def callReadWriteProcedure(id: Int, args: Seq[Any], allowed: Array[String], procedureCallContext: ProcedureCallContext): scala.Iterator[Array[AnyRef]] = ???
@@ -195,6 +204,8 @@ trait QueryContextAdaptation {
 
   override def nodeCountByCountStore(labelId: Int): Long = ???
 
+  override def indexCount(index: IndexReference, queries: Seq[IndexQuery]): Long = ???
+
   override def addIndexRule(descriptor: IndexDescriptor): IdempotentResult[IndexReference] = ???
 
   override def getOptRelTypeId(relType: String): Option[Int] = ???
@@ -22,6 +22,8 @@
  */
 package org.neo4j.cypher.internal.planner.v3_6.spi
 
+import org.neo4j.cypher.internal.v3_6.expressions.Literal
+import org.neo4j.cypher.internal.v3_6.logical.plans.InequalitySeekRange
 import org.neo4j.cypher.internal.v3_6.util.Cardinality
 import org.neo4j.cypher.internal.v3_6.util.LabelId
 import org.neo4j.cypher.internal.v3_6.util.RelTypeId
@@ -70,6 +72,14 @@ trait GraphStatistics {
       indexPropertyExistsSelectivity(:X, prop) = s => |MATCH (a:X)| * s = |MATCH (a:X) WHERE has(x.prop)|
    */
   def indexPropertyExistsSelectivity(index: IndexDescriptor): Option[Selectivity]
+
+  /*
+      Probability of any node with the given label, to have a property with a value in the given range. Only indexes
+      which can count the nodes in a range without visiting them know this.
+
+      indexRangeSelectivity(:X, prop, range) = s => |MATCH (a:X)| * s = |MATCH (a:X) WHERE x.prop in range|
+   */
+  def indexRangeSelectivity(index: IndexDescriptor, range: InequalitySeekRange[Literal]): Option[Selectivity] = None
 }
 
 class DelegatingGraphStatistics(delegate: GraphStatistics) extends GraphStatistics {
@@ -85,6 +95,9 @@ class DelegatingGraphStatistics(delegate: GraphStatistics) extends GraphStatisti
   override def indexPropertyExistsSelectivity(index: IndexDescriptor): Option[Selectivity] =
     delegate.indexPropertyExistsSelectivity(index)
 
+  override def indexRangeSelectivity(index: IndexDescriptor, range: InequalitySeekRange[Literal]): Option[Selectivity] =
+    delegate.indexRangeSelectivity(index, range)
+
   override def nodesAllCardinality(): Cardinality = delegate.nodesAllCardinality()
 }
 
@@ -29,6 +29,7 @@ import org.neo4j.cypher.internal.v3_6.util.{LabelId, PropertyKeyId}
 
 sealed trait IndexLimitation
 case object SlowContains extends IndexLimitation
+case object ExactCompositeOnly extends IndexLimitation
 
 sealed trait IndexOrderCapability {
   def asc: Boolean
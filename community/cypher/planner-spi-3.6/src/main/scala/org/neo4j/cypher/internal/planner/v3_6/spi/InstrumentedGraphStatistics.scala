@@ -25,6 +25,8 @@ package org.neo4j.cypher.internal.planner.v3_6.spi
 import java.lang.Math.abs
 import java.lang.Math.max
 
+import org.neo4j.cypher.internal.v3_6.expressions.Literal
+import org.neo4j.cypher.internal.v3_6.logical.plans.InequalitySeekRange
 import org.neo4j.cypher.internal.v3_6.util.Cardinality
 import org.neo4j.cypher.internal.v3_6.util.LabelId
 import org.neo4j.cypher.internal.v3_6.util.RelTypeId
@@ -38,6 +40,7 @@ case object NodesAllCardinality extends StatisticsKey
 case class CardinalityByLabelsAndRelationshipType(lhs: Option[LabelId], relType: Option[RelTypeId], rhs: Option[LabelId]) extends StatisticsKey
 case class IndexSelectivity(index: IndexDescriptor) extends StatisticsKey
 case class IndexPropertyExistsSelectivity(index: IndexDescriptor) extends StatisticsKey
+case class IndexRangeSelectivity(index: IndexDescriptor, range: InequalitySeekRange[Literal]) extends StatisticsKey
 
 class MutableGraphStatisticsSnapshot(val map: mutable.Map[StatisticsKey, Double] = mutable.Map.empty) {
   def freeze: GraphStatisticsSnapshot = GraphStatisticsSnapshot(map.toMap)
@@ -58,6 +61,8 @@ case class GraphStatisticsSnapshot(statsValues: Map[StatisticsKey, Double] = Map
         instrumented.uniqueValueSelectivity(index)
       case IndexPropertyExistsSelectivity(index) =>
         instrumented.indexPropertyExistsSelectivity(index)
+      case IndexRangeSelectivity(index, range) =>
+        instrumented.indexRangeSelectivity(index, range)
     }
     snapshot.freeze
   }
@@ -103,5 +108,11 @@ case class InstrumentedGraphStatistics(inner: GraphStatistics, snapshot: Mutable
     selectivity
   }
 
+  override def indexRangeSelectivity(index: IndexDescriptor, range: InequalitySeekRange[Literal]): Option[Selectivity] = {
+    val selectivity = inner.indexRangeSelectivity(index, range)
+    snapshot.map.getOrElseUpdate(IndexRangeSelectivity(index, range), selectivity.fold(0.0)(_.factor))
+    selectivity
+  }
+
   override def nodesAllCardinality(): Cardinality = snapshot.map.getOrElseUpdate(NodesAllCardinality, inner.nodesAllCardinality().amount)
 }
@@ -59,6 +59,11 @@ trait PlanContext extends TokenContext with ProcedureSignatureResolver {
     */
   def indexExistsForLabelAndProperties(labelName: String, propertyKey: Seq[String]): Boolean
 
+  /**
+    * Return all indexes on the properties of relationships of a given type
+    */
+  def relationshipIndexesGetForRelType(relTypeId: Int): Iterator[RelationshipIndexDescriptor]
+
   def hasPropertyExistenceConstraint(labelName: String, propertyKey: String): Boolean
 
   def checkNodeIndex(idxName: String)
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.planner.v3_6.spi
+
+import org.neo4j.cypher.internal.v3_6.util.{PropertyKeyId, RelTypeId}
+
+/**
+  * An index on the properties of relationships of one type. Unlike node indexes, these are only planned for seeks
+  * that don't get values from the index or rely on its ordering.
+  */
+case class RelationshipIndexDescriptor(relType: RelTypeId, properties: Seq[PropertyKeyId]) {
+  val isComposite: Boolean = properties.length > 1
+}
@@ -38,7 +38,7 @@ import org.neo4j.kernel.impl.api.store.RelationshipIterator
 import org.neo4j.kernel.impl.core.EmbeddedProxySPI
 import org.neo4j.kernel.impl.factory.DatabaseInfo
 import org.neo4j.values.AnyValue
-import org.neo4j.values.storable.{TextValue, Value}
+import org.neo4j.values.storable.{PointValue, TextValue, Value}
 import org.neo4j.values.virtual.{NodeValue, RelationshipValue}
 
 import scala.collection.Iterator
@@ -124,8 +124,20 @@ trait QueryContext extends TokenContext with DbAccess {
                                   needsValues: Boolean,
                                   indexOrder: IndexOrder): NodeValueIndexCursor
 
+  def indexNearestNeighbours[RESULT <: AnyRef](index: IndexReference,
+                                               needsValues: Boolean,
+                                               point: PointValue,
+                                               k: Int): NodeValueIndexCursor
+
   def lockingUniqueIndexSeek[RESULT](index: IndexReference, queries: Seq[IndexQuery.ExactPredicate]): NodeValueIndexCursor
 
+  def relationshipIndexReference(relType: Int, properties: Int*): IndexReference
+
+  /**
+    * Seek the relationships of a relationship type index. The cursor never provides values from the index.
+    */
+  def relationshipIndexSeek(index: IndexReference, queries: Seq[IndexQuery]): RelationshipValueIndexCursor
+
   def getNodesByLabel(id: Int): Iterator[NodeValue]
 
   def getNodesByLabelPrimitive(id: Int): LongIterator
@@ -191,6 +203,11 @@ trait QueryContext extends TokenContext with DbAccess {
 
   def nodeCountByCountStore(labelId: Int): Long
 
+  /**
+    * Count the nodes an index seek with the given queries would find, without visiting them.
+    */
+  def indexCount(index: IndexReference, queries: Seq[IndexQuery]): Long
+
   def relationshipCountByCountStore(startLabelId: Int, typeId: Int, endLabelId: Int): Long
 
   def lockNodes(nodeIds: Long*)
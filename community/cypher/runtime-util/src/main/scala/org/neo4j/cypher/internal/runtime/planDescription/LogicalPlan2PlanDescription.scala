@@ -83,6 +83,10 @@ case class LogicalPlan2PlanDescription(readOnly: Boolean, cardinalities: Cardina
       case _: plans.Argument =>
         ArgumentPlanDescription(id, Seq.empty, variables)
 
+      case DirectedRelationshipIndexSeek(_, _, _, typeToken, properties, valueExpr, _) =>
+        val name = if (isRangeSeek(valueExpr)) "DirectedRelationshipIndexSeekByRange" else "DirectedRelationshipIndexSeek"
+        PlanDescriptionImpl(id, name, NoChildren, Seq(indexDescription(typeToken.name, properties, valueExpr)), variables)
+
       case DirectedRelationshipByIdSeek(_, relIds, _, _, _) =>
         val entityByIdRhs = EntityByIdRhs(relIds)
         PlanDescriptionImpl(id, "DirectedRelationshipByIdSeek", NoChildren, Seq(entityByIdRhs), variables)
@@ -94,6 +98,10 @@ case class LogicalPlan2PlanDescription(readOnly: Boolean, cardinalities: Cardina
         val arguments = Seq(CountNodesExpression(variable, labelNames.map(l => l.map(_.name))))
         PlanDescriptionImpl(id, "NodeCountFromCountStore", NoChildren, arguments, variables)
 
+      case NodeCountFromIndexSeek(_, label, properties, valueExpr, _) =>
+        val (_, indexDesc) = getDescriptions(label, properties.map(_.propertyKeyToken), valueExpr, unique = false, readOnly)
+        PlanDescriptionImpl(id, "NodeCountFromIndexSeek", NoChildren, Seq(indexDesc), variables)
+
       case NodeIndexContainsScan(_, label, property, valueExpr, _, _) =>
         val arguments = Seq(Index(label.name, Seq(property.propertyKeyToken.name)), Expression(valueExpr))
         PlanDescriptionImpl(id, "NodeIndexContainsScan", NoChildren, arguments, variables)
@@ -105,6 +113,10 @@ case class LogicalPlan2PlanDescription(readOnly: Boolean, cardinalities: Cardina
       case NodeIndexScan(_, label, property, _, _) =>
         PlanDescriptionImpl(id, "NodeIndexScan", NoChildren, Seq(Index(label.name, Seq(property.propertyKeyToken.name))), variables)
 
+      case NodeIndexNearestNeighbours(_, label, property, point, k, _, _) =>
+        val arguments = Seq(Index(label.name, Seq(property.propertyKeyToken.name)), Expression(point), Expression(k))
+        PlanDescriptionImpl(id, "NodeIndexNearestNeighbours", NoChildren, arguments, variables)
+
       case ProcedureCall(_, call) =>
         val signature = Signature(call.qualifiedName, call.callArguments, call.callResultTypes)
         PlanDescriptionImpl(id, "ProcedureCall", NoChildren, Seq(signature), variables)
@@ -438,26 +450,48 @@ case class LogicalPlan2PlanDescription(readOnly: Boolean, cardinalities: Cardina
                               unique: Boolean,
                               readOnly: Boolean): (String, Argument) = {
 
-    val (name, indexDesc) = valueExpr match {
+    val name =
+      if (isRangeSeek(valueExpr)) {
+        if (unique) "NodeUniqueIndexSeekByRange" else "NodeIndexSeekByRange"
+      }
+      else if (unique && readOnly) "NodeUniqueIndexSeek"
+      else if (unique) "NodeUniqueIndexSeek(Locking)"
+      else "NodeIndexSeek"
+
+    (name, indexDescription(label.name, propertyKeys, valueExpr))
+  }
+
+  private def isRangeSeek(valueExpr: QueryExpression[ASTExpression]): Boolean = valueExpr match {
+    case _: RangeQueryExpression[_] => true
+    case CompositeQueryExpression(inner) => inner.exists(e => e.isInstanceOf[RangeQueryExpression[_]] || e.isInstanceOf[ExistenceQueryExpression[_]])
+    case _ => false
+  }
+
+  /**
+    * Describes the index by the label or relationship type it is on, and the property values it is sought by.
+    */
+  private def indexDescription(indexedName: String,
+                               propertyKeys: Seq[PropertyKeyToken],
+                               valueExpr: QueryExpression[ASTExpression]): Argument =
+    valueExpr match {
       case e: RangeQueryExpression[_] =>
         assert(propertyKeys.size == 1, "Range queries not yet supported for composite indexes")
         val propertyKey = propertyKeys.head.name
-        val name = if (unique) "NodeUniqueIndexSeekByRange" else "NodeIndexSeekByRange"
         e.expression match {
           case PrefixSeekRangeWrapper(range) =>
-            (name, PrefixIndex(label.name, propertyKey, range.prefix))
+            PrefixIndex(indexedName, propertyKey, range.prefix)
           case InequalitySeekRangeWrapper(RangeLessThan(bounds)) =>
-            (name, InequalityIndex(label.name, propertyKey,
-              bounds.map(bound => s"<${bound.inequalitySignSuffix} ${bound.endPoint.asCanonicalStringVal}").toIndexedSeq))
+            InequalityIndex(indexedName, propertyKey,
+              bounds.map(bound => s"<${bound.inequalitySignSuffix} ${bound.endPoint.asCanonicalStringVal}").toIndexedSeq)
           case InequalitySeekRangeWrapper(RangeGreaterThan(bounds)) =>
-            (name, InequalityIndex(label.name, propertyKey,
-              bounds.map(bound => s">${bound.inequalitySignSuffix} ${bound.endPoint.asCanonicalStringVal}").toIndexedSeq))
+            InequalityIndex(indexedName, propertyKey,
+              bounds.map(bound => s">${bound.inequalitySignSuffix} ${bound.endPoint.asCanonicalStringVal}").toIndexedSeq)
           case InequalitySeekRangeWrapper(RangeBetween(greaterThanBounds, lessThanBounds)) =>
             val greaterThanBoundsText = greaterThanBounds.bounds.map(bound =>
               s">${bound.inequalitySignSuffix} ${bound.endPoint.asCanonicalStringVal}").toIndexedSeq
             val lessThanBoundsText = lessThanBounds.bounds.map(bound =>
               s"<${bound.inequalitySignSuffix} ${bound.endPoint.asCanonicalStringVal}").toIndexedSeq
-            (name, InequalityIndex(label.name, propertyKey, greaterThanBoundsText ++ lessThanBoundsText))
+            InequalityIndex(indexedName, propertyKey, greaterThanBoundsText ++ lessThanBoundsText)
           case PointDistanceSeekRangeWrapper(PointDistanceRange(point, distance, inclusive)) =>
             val funcName = Point.name
             val poi = point match {
@@ -465,17 +499,10 @@ case class LogicalPlan2PlanDescription(readOnly: Boolean, cardinalities: Cardina
                 s"point(${args.map(_._1.name).mkString(",")})"
               case _ => point.toString
             }
-            (name, PointDistanceIndex(label.name, propertyKey, poi, distance.toString, inclusive))
+            PointDistanceIndex(indexedName, propertyKey, poi, distance.toString, inclusive)
           case _ => throw new InternalException("This should never happen. Missing a case?")
         }
       case _ =>
-        val name =
-          if (unique && readOnly) "NodeUniqueIndexSeek"
-          else if (unique) "NodeUniqueIndexSeek(Locking)"
-          else "NodeIndexSeek"
-        (name, Index(label.name, propertyKeys.map(_.name)))
+        Index(indexedName, propertyKeys.map(_.name))
     }
-
-    (name, indexDesc)
-  }
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import java.io.Closeable;
+import java.io.UncheckedIOException;
+
+/**
+ * Builds the contents of an empty {@link GBPTree} from key/value pairs {@link #add(Object, Object) added}
+ * in strictly ascending key order. Leaves are written left to right, filled up to a fill factor, and the internal
+ * levels are built above them as leaves are completed. The loaded entries become visible when the bulk loader is
+ * {@link #close() closed}, typically using try-with-resource clause.
+ *
+ * @param <KEY> type of keys
+ * @param <VALUE> type of values
+ */
+public interface BulkLoader<KEY,VALUE> extends Closeable
+{
+    /**
+     * Appends given {@code key} and {@code value} to the tree being loaded.
+     *
+     * @param key key to add, must be greater than any previously added key.
+     * @param value value to associate with key.
+     * @throws IllegalArgumentException if key isn't greater than the previously added key.
+     * @throws UncheckedIOException on index access error.
+     */
+    void add( KEY key, VALUE value );
+}
@@ -204,7 +204,8 @@ class CrashGenerationCleaner
             {
                 for ( int i = 0; i <= keyCount && treeNode.reasonableChildCount( i ) && !hasCrashed; i++ )
                 {
-                    hasCrashed = hasCrashedGSPP( cursor, treeNode.childOffset( i ) );
+                    hasCrashed = hasCrashedGSPP( cursor, treeNode.childOffset( i ) ) ||
+                            (treeNode.hasSubtreeCounts() && hasCrashedGSPP( cursor, treeNode.childOffset( i ) + TreeNode.SIZE_PAGE_REFERENCE ));
                 }
             }
         }
@@ -239,6 +240,11 @@ class CrashGenerationCleaner
             for ( int i = 0; i <= keyCount && treeNode.reasonableChildCount( i ); i++ )
             {
                 cleanCrashedGSPP( cursor, treeNode.childOffset( i ), cleanedPointers );
+                if ( treeNode.hasSubtreeCounts() )
+                {
+                    // Subtree counts are kept in generation safe pairs too and must be cleaned along with the child pointers
+                    cleanCrashedGSPP( cursor, treeNode.childOffset( i ) + TreeNode.SIZE_PAGE_REFERENCE, cleanedPointers );
+                }
             }
         }
     }
@@ -30,8 +30,12 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.file.NoSuchFileException;
+import java.nio.file.OpenOption;
 import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.StampedLock;
 import java.util.function.Consumer;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
@@ -78,8 +82,10 @@ import static org.neo4j.index.internal.gbptree.PointerChecking.assertNoSuccessor
  * while at the same time keeping one pointer to the stable version, in case there's a crash or non-clean
  * shutdown, followed by recovery.
  * <p>
- * A single writer w/ multiple concurrent readers is supported. Assuming usage adheres to this
- * constraint neither writer nor readers are blocking. Readers are virtually garbage-free.
+ * Either a single writer or multiple {@link #parallelWriter() parallel writers}, together with multiple concurrent
+ * readers, are supported. Readers are never blocking and are virtually garbage-free. Parallel writers change
+ * different leaves in parallel, but block each other while one of them makes a structural change to the tree,
+ * like a split, a merge or creating a successor of a node.
  * <p>
  * An reader of GB+Tree is a {@link SeekCursor} that returns result as it finds them.
  * As the cursor move over keys/values, returned results are considered "behind" it
@@ -288,6 +294,12 @@ public class GBPTree<KEY,VALUE> implements Closeable
      */
     private final TreeNode<KEY,VALUE> bTreeNode;
 
+    /**
+     * Format of {@link #bTreeNode}, used to create a separate {@link TreeNode} for each {@link ParallelWriter}
+     * since a {@link TreeNode} may keep scratch state which can't be shared between concurrent writers.
+     */
+    private final TreeNodeSelector.Factory treeNodeFormat;
+
     /**
      * A free-list of released ids. Acquiring new ids involves first trying out the free-list and then,
      * as a fall-back allocate a new id at the end of the store.
@@ -295,7 +307,7 @@ public class GBPTree<KEY,VALUE> implements Closeable
     private final FreeListIdProvider freeList;
 
     /**
-     * A single instance {@link Writer} because tree only supports single writer.
+     * A single instance {@link Writer} for {@link #writer()}, which keeps all other writers out for as long as it is open.
      */
     private final SingleWriter writer;
 
@@ -322,6 +334,33 @@ public class GBPTree<KEY,VALUE> implements Closeable
      */
     private final GBPTreeLock lock = new GBPTreeLock();
 
+    /**
+     * Number of open writers, single or parallel. The first writer to open takes the writer lock in {@link #lock}
+     * and the last one to close releases it. Guarded by {@link #writerSessionLock}.
+     */
+    private int openWriters;
+
+    /**
+     * Number of checkpoints waiting for the open writers to close. While there are any, no new writer may open,
+     * or else overlapping writers could keep the writer lock in {@link #lock} taken forever and starve checkpoints.
+     * Guarded by {@link #writerSessionLock}.
+     */
+    private int pendingCheckpoints;
+    private final Object writerSessionLock = new Object();
+
+    /**
+     * Lock between writers, for changes to the structure of the tree. {@link #parallelWriter() Parallel writers}
+     * hold it shared while changing a single leaf, and exclusively while changing the structure of the tree.
+     * The {@link #writer() single writer} holds it exclusively for as long as it's open, since it remembers
+     * its path down the tree between changes.
+     */
+    private final StampedLock structureLock = new StampedLock();
+
+    /**
+     * Latches for parallel writers, so that only one of them at a time changes any given leaf.
+     */
+    private final LeafLatches leafLatches = new LeafLatches();
+
     /**
      * Page size, i.e. tree node size, of the tree nodes in this tree. The page size is determined on
      * tree creation, stored in meta page and read when opening tree later.
@@ -369,6 +408,12 @@ public class GBPTree<KEY,VALUE> implements Closeable
      */
     private final LongSupplier generationSupplier = () -> generation;
 
+    /**
+     * Depth of the leaf level as last seen by an exact {@link #count(Object, Object)}, used by
+     * {@link #estimateCount(Object, Object)} to know which level to stop at. {@code -1} if not yet known.
+     */
+    private volatile int leafDepthHint = -1;
+
     /**
      * Called on certain events.
      */
@@ -469,12 +514,15 @@ public class GBPTree<KEY,VALUE> implements Closeable
      * @param headerWriter writes header data if indexFile is created as a result of this call.
      * @param recoveryCleanupWorkCollector collects recovery cleanup jobs for execution after recovery.
      * @param readOnly Opening tree in readOnly mode will prevent any modifications to it.
+     * @param openOptions additional options for {@link PageCache#map(File, int, OpenOption...) mapping} the index
+     * file, like a {@link org.neo4j.io.pagecache.PageReservation page reservation}.
      * @throws UncheckedIOException on page cache error
      * @throws MetadataMismatchException if meta information does not match constructor parameters or meta page is missing
      */
     public GBPTree( PageCache pageCache, File indexFile, Layout<KEY,VALUE> layout, int tentativePageSize,
             Monitor monitor, Header.Reader headerReader, Consumer<PageCursor> headerWriter,
-            RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, boolean readOnly ) throws MetadataMismatchException
+            RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, boolean readOnly, OpenOption... openOptions )
+            throws MetadataMismatchException
     {
         this.indexFile = indexFile;
         this.monitor = monitor;
@@ -486,7 +534,7 @@ public class GBPTree<KEY,VALUE> implements Closeable
 
         try
         {
-            this.pagedFile = openOrCreate( pageCache, indexFile, tentativePageSize );
+            this.pagedFile = openOrCreate( pageCache, indexFile, tentativePageSize, openOptions );
             this.pageSize = pagedFile.pageSize();
             closed = false;
             TreeNodeSelector.Factory format;
@@ -501,6 +549,7 @@ public class GBPTree<KEY,VALUE> implements Closeable
                 meta.verify( layout );
                 format = TreeNodeSelector.selectByFormat( meta.getFormatIdentifier(), meta.getFormatVersion() );
             }
+            this.treeNodeFormat = format;
             this.bTreeNode = format.create( pageSize, layout );
             this.freeList = new FreeListIdProvider( pagedFile, pageSize, rootId, FreeListIdProvider.NO_MONITOR );
             this.writer = new SingleWriter( new InternalTreeLogic<>( freeList, bTreeNode, layout, monitor ) );
@@ -583,26 +632,26 @@ public class GBPTree<KEY,VALUE> implements Closeable
     }
 
     private PagedFile openOrCreate( PageCache pageCache, File indexFile,
-            int pageSizeForCreation ) throws IOException, MetadataMismatchException
+            int pageSizeForCreation, OpenOption[] openOptions ) throws IOException, MetadataMismatchException
     {
         try
         {
-            return openExistingIndexFile( pageCache, indexFile );
+            return openExistingIndexFile( pageCache, indexFile, openOptions );
         }
         catch ( NoSuchFileException e )
         {
             if ( !readOnly )
             {
-                return createNewIndexFile( pageCache, indexFile, pageSizeForCreation );
+                return createNewIndexFile( pageCache, indexFile, pageSizeForCreation, openOptions );
             }
             throw new TreeFileNotFoundException( "Can not create new tree file in read only mode.", e );
         }
     }
 
-    private static PagedFile openExistingIndexFile( PageCache pageCache, File indexFile )
+    private static PagedFile openExistingIndexFile( PageCache pageCache, File indexFile, OpenOption... openOptions )
             throws IOException, MetadataMismatchException
     {
-        PagedFile pagedFile = pageCache.map( indexFile, pageCache.pageSize() );
+        PagedFile pagedFile = pageCache.map( indexFile, pageCache.pageSize(), openOptions );
         // This index already exists, verify meta data aligns with expectations
 
         boolean success = false;
@@ -610,7 +659,7 @@ public class GBPTree<KEY,VALUE> implements Closeable
         {
             // We're only interested in the page size really, so don't involve layout at this point
             Meta meta = readMeta( null, pagedFile );
-            pagedFile = mapWithCorrectPageSize( pageCache, indexFile, pagedFile, meta.getPageSize() );
+            pagedFile = mapWithCorrectPageSize( pageCache, indexFile, pagedFile, meta.getPageSize(), openOptions );
             success = true;
             return pagedFile;
         }
@@ -627,7 +676,8 @@ public class GBPTree<KEY,VALUE> implements Closeable
         }
     }
 
-    private PagedFile createNewIndexFile( PageCache pageCache, File indexFile, int pageSizeForCreation ) throws IOException
+    private PagedFile createNewIndexFile( PageCache pageCache, File indexFile, int pageSizeForCreation, OpenOption[] openOptions )
+            throws IOException
     {
         // First time
         monitor.noStoreFile();
@@ -641,7 +691,9 @@ public class GBPTree<KEY,VALUE> implements Closeable
         }
 
         // We need to create this index
-        PagedFile pagedFile = pageCache.map( indexFile, pageSize, StandardOpenOption.CREATE );
+        OpenOption[] createOptions = Arrays.copyOf( openOptions, openOptions.length + 1 );
+        createOptions[openOptions.length] = StandardOpenOption.CREATE;
+        PagedFile pagedFile = pageCache.map( indexFile, pageSize, createOptions );
         created = true;
         return pagedFile;
     }
@@ -701,6 +753,26 @@ public class GBPTree<KEY,VALUE> implements Closeable
         }
     }
 
+    /**
+     * Use when you need to know whether or not an existing index file {@link #hasSubtreeCounts() has subtree counts}
+     * before opening it, e.g. to open it with a {@link Layout} which {@link Layout#countSubtreeEntries() counts subtree entries}
+     * if so, since trees keep the format they were created with.
+     *
+     * @param pageCache {@link PageCache} to use to map index file
+     * @param indexFile {@link File} containing the actual index
+     * @return whether or not the tree in the index file has subtree counts.
+     * @throws IOException On page cache error
+     * @throws MetadataMismatchException if the meta page is missing (tree not fully initialized)
+     */
+    public static boolean readHasSubtreeCounts( PageCache pageCache, File indexFile ) throws IOException, MetadataMismatchException
+    {
+        try ( PagedFile pagedFile = openExistingIndexFile( pageCache, indexFile ) )
+        {
+            Meta meta = readMeta( null, pagedFile );
+            return TreeNodeSelector.selectByFormat( meta.getFormatIdentifier(), meta.getFormatVersion() ).subtreeCounts();
+        }
+    }
+
     private static void doReadHeader( Header.Reader headerReader, PageCursor cursor ) throws IOException
     {
         int headerDataLength;
@@ -843,8 +915,8 @@ public class GBPTree<KEY,VALUE> implements Closeable
         }
     }
 
-    private static PagedFile mapWithCorrectPageSize( PageCache pageCache, File indexFile, PagedFile pagedFile, int pageSize )
-            throws IOException
+    private static PagedFile mapWithCorrectPageSize( PageCache pageCache, File indexFile, PagedFile pagedFile, int pageSize,
+            OpenOption[] openOptions ) throws IOException
     {
         // This index was created with another page size, re-open with that actual page size
         if ( pageSize != pageCache.pageSize() )
@@ -857,7 +929,7 @@ public class GBPTree<KEY,VALUE> implements Closeable
                         pageSize, pageCache.pageSize() );
             }
             pagedFile.close();
-            return pageCache.map( indexFile, pageSize );
+            return pageCache.map( indexFile, pageSize, openOptions );
         }
         return pagedFile;
     }
@@ -905,7 +977,9 @@ public class GBPTree<KEY,VALUE> implements Closeable
         long stableGeneration = stableGeneration( generation );
         long unstableGeneration = unstableGeneration( generation );
 
-        PageCursor cursor = pagedFile.io( 0L /*ignored*/, PagedFile.PF_SHARED_READ_LOCK );
+        // Leaves written in key order tend to also be laid out in page id order, so ask the page cache to read ahead
+        // of range scans. It only kicks in once the leaf traversal is seen to be moving forward through the file.
+        PageCursor cursor = pagedFile.io( 0L /*ignored*/, PagedFile.PF_SHARED_READ_LOCK | PagedFile.PF_READ_AHEAD );
         long rootGeneration = root.goTo( cursor );
 
         // Returns cursor which is now initiated with left-most leaf node for the specified range
@@ -914,6 +988,118 @@ public class GBPTree<KEY,VALUE> implements Closeable
                 exceptionDecorator, SeekCursor.DEFAULT_MAX_READ_AHEAD );
     }
 
+    /**
+     * Splits the given key range into sub-ranges which can be {@link #seek(Object, Object) seeked} independently of each other,
+     * typically from different threads in parallel. The sub-ranges are picked so that they have roughly the same number
+     * of entries, using separator keys from the top levels of internal nodes. Together they cover the whole range
+     * and they don't overlap.
+     * <p>
+     * The returned list contains the edges of the partitions, starting with {@code fromInclusive} and ending with
+     * {@code toExclusive}, where partition {@code i} is the range from edge {@code i} (inclusive) to edge {@code i + 1} (exclusive).
+     * The number of partitions may be lower than the desired number, e.g. for small trees or narrow ranges,
+     * but is always at least one.
+     *
+     * @param fromInclusive lower bound of the range to partition (inclusive).
+     * @param toExclusive higher bound of the range to partition (exclusive), must not be lower than {@code fromInclusive}.
+     * @param desiredNumberOfPartitions number of partitions that caller would like to get.
+     * @return list of partition edges, containing number of partitions plus one keys.
+     * @throws IOException on error reading from index.
+     * @throws IllegalArgumentException if {@code toExclusive} is lower than {@code fromInclusive} or the desired number of partitions isn't positive.
+     */
+    public List<KEY> partitionRange( KEY fromInclusive, KEY toExclusive, int desiredNumberOfPartitions ) throws IOException
+    {
+        if ( desiredNumberOfPartitions < 1 )
+        {
+            throw new IllegalArgumentException( "Desired number of partitions must be positive, was " + desiredNumberOfPartitions );
+        }
+        if ( layout.compare( fromInclusive, toExclusive ) > 0 )
+        {
+            throw new IllegalArgumentException( "Can only partition ascending ranges, but from key is higher than to key" );
+        }
+
+        long generation = this.generation;
+        try ( PageCursor cursor = pagedFile.io( 0L /*ignored*/, PagedFile.PF_SHARED_READ_LOCK ) )
+        {
+            RangePartitioner<KEY,VALUE> partitioner =
+                    new RangePartitioner<>( cursor, bTreeNode, layout, stableGeneration( generation ), unstableGeneration( generation ) );
+            return partitioner.partition( root.id(), fromInclusive, toExclusive, desiredNumberOfPartitions );
+        }
+        catch ( Throwable e )
+        {
+            exceptionDecorator.accept( e );
+            throw e;
+        }
+    }
+
+    /**
+     * @return whether or not this tree keeps number of entries in the subtrees of internal nodes, see {@link Layout#countSubtreeEntries()},
+     * which means that {@link #count(Object, Object)} and {@link #estimateCount(Object, Object)} are supported.
+     */
+    public boolean hasSubtreeCounts()
+    {
+        return bTreeNode.hasSubtreeCounts();
+    }
+
+    /**
+     * Counts number of entries in the given key range, using the subtree counts kept in internal nodes
+     * of trees which {@link #hasSubtreeCounts() has subtree counts}. The cost is logarithmic in the size of the tree,
+     * regardless of the size of the range. The range has the same semantics as that of {@link #seek(Object, Object)},
+     * but the direction of the range doesn't affect the count.
+     * <p>
+     * The count is exact given that there are no concurrent changes to the range while counting.
+     *
+     * @param fromInclusive lower bound of the range to count (inclusive).
+     * @param toExclusive higher bound of the range to count (exclusive).
+     * @return number of entries in the given range.
+     * @throws IOException on error reading from index.
+     * @throws UnsupportedOperationException if this tree doesn't have subtree counts.
+     */
+    public long count( KEY fromInclusive, KEY toExclusive ) throws IOException
+    {
+        return count( fromInclusive, toExclusive, RangeCounter.EXACT );
+    }
+
+    /**
+     * Estimates number of entries in the given key range, like {@link #count(Object, Object)}, but without reading
+     * any leaves. Instead the range boundaries are assumed to split the subtrees of the lowest level of internal nodes
+     * evenly. Ranges which are small enough to be within a single such subtree are counted exactly.
+     *
+     * @param fromInclusive lower bound of the range to count (inclusive).
+     * @param toExclusive higher bound of the range to count (exclusive).
+     * @return estimated number of entries in the given range.
+     * @throws IOException on error reading from index.
+     * @throws UnsupportedOperationException if this tree doesn't have subtree counts.
+     */
+    public long estimateCount( KEY fromInclusive, KEY toExclusive ) throws IOException
+    {
+        int leafDepth = leafDepthHint;
+        return count( fromInclusive, toExclusive, leafDepth > 0 ? leafDepth - 1 : RangeCounter.EXACT );
+    }
+
+    private long count( KEY fromInclusive, KEY toExclusive, int estimateAtDepth ) throws IOException
+    {
+        if ( !bTreeNode.hasSubtreeCounts() )
+        {
+            throw new UnsupportedOperationException( "Tree " + indexFile + " doesn't keep subtree counts" );
+        }
+
+        try ( PageCursor cursor = pagedFile.io( 0L /*ignored*/, PagedFile.PF_SHARED_READ_LOCK ) )
+        {
+            RangeCounter<KEY,VALUE> counter = new RangeCounter<>( cursor, bTreeNode, layout, generationSupplier, () -> root );
+            long count = counter.count( fromInclusive, toExclusive, estimateAtDepth );
+            if ( counter.leafDepth() != -1 )
+            {
+                leafDepthHint = counter.leafDepth();
+            }
+            return count;
+        }
+        catch ( Throwable e )
+        {
+            exceptionDecorator.accept( e );
+            throw e;
+        }
+    }
+
     /**
      * Checkpoints and flushes any pending changes to storage. After a successful call to this method
      * the data is durable and safe. {@link #writer() Changes} made after this call and until crashing or
@@ -969,9 +1155,9 @@ public class GBPTree<KEY,VALUE> implements Closeable
         // blocked while we do this
         pagedFile.flushAndForce( ioLimiter );
 
-        // Block writers, or if there's a current writer then wait for it to complete and then block
+        // Block writers, or if there are open writers then wait for them to complete and then block
         // From this point and till the lock is released we know that the tree won't change.
-        lock.writerAndCleanerLock();
+        lockOutWriters();
         try
         {
             assertRecoveryCleanSuccessful();
@@ -1100,7 +1286,8 @@ public class GBPTree<KEY,VALUE> implements Closeable
      *
      * @param ratioToKeepInLeftOnSplit Decide how much to keep in left node on split, 0=keep nothing, 0.5=split 50-50, 1=keep everything.
      * @return the single {@link Writer} for this index. The returned writer must be
-     * {@link Writer#close() closed} before another caller can acquire this writer.
+     * {@link Writer#close() closed} before another caller can acquire this writer. While it's open,
+     * {@link #parallelWriter() parallel writers} are blocked.
      * @throws IOException on error accessing the index.
      * @throws IllegalStateException for calls made between a successful call to this method and closing the
      * returned writer.
@@ -1113,6 +1300,162 @@ public class GBPTree<KEY,VALUE> implements Closeable
         return writer;
     }
 
+    /**
+     * Use default value for ratioToKeepInLeftOnSplit
+     * @see GBPTree#parallelWriter(double)
+     */
+    public Writer<KEY,VALUE> parallelWriter() throws IOException
+    {
+        return parallelWriter( InternalTreeLogic.DEFAULT_SPLIT_RATIO );
+    }
+
+    /**
+     * Returns a new {@link Writer} able to modify the index, which can be used at the same time as other writers
+     * returned from this method, each by a single thread. Changes which fit in the leaf they belong in are made
+     * in parallel with changes in other leaves. A change which needs to change the structure of the tree waits for
+     * all other changes to complete, and blocks them while it is being made.
+     * <p>
+     * A parallel writer can't be used while the {@link #writer() single writer} is open, since the single writer
+     * keeps the structure of the tree locked for as long as it's open. Like the single writer, parallel writers
+     * block {@link #checkpoint(IOLimiter) checkpoints} until they are {@link Writer#close() closed}.
+     * <p>
+     * A {@link ValueMerger} used with a parallel writer may be called more than once for the same change,
+     * if the change first was tried without changing the structure of the tree.
+     *
+     * @param ratioToKeepInLeftOnSplit Decide how much to keep in left node on split, 0=keep nothing, 0.5=split 50-50, 1=keep everything.
+     * @return a new {@link Writer}, which must be {@link Writer#close() closed} after usage.
+     * @throws IOException on error accessing the index.
+     */
+    public Writer<KEY,VALUE> parallelWriter( double ratioToKeepInLeftOnSplit ) throws IOException
+    {
+        assertNotReadOnly( "Open parallel tree writer." );
+        ParallelWriter parallelWriter = new ParallelWriter(
+                new InternalTreeLogic<>( freeList, treeNodeFormat.create( pageSize, layout ), layout, monitor ) );
+        parallelWriter.initialize( ratioToKeepInLeftOnSplit );
+        changesSinceLastCheckpoint = true;
+        return parallelWriter;
+    }
+
+    /**
+     * Returns a {@link BulkLoader} which builds the contents of this tree, which must be empty, from entries added in
+     * strictly ascending key order. This is much cheaper than inserting the same entries using a {@link Writer}
+     * since no entry is searched for from the root and no node is ever split. Instead leaves are written left to right,
+     * each filled up to {@code fillFactor}, and the internal levels are built on top of them as leaves are completed.
+     * <p>
+     * The bulk loader holds the {@link #writer() single writer} until it's {@link BulkLoader#close() closed}
+     * and the loaded entries become visible first when it's closed.
+     *
+     * @param fillFactor how much of each tree node to fill, larger than 0 and at most 1. Leaving some space in each node
+     * makes later inserts cheaper, whereas 1 builds the most compact tree.
+     * @return the {@link BulkLoader} for this index, which must be {@link BulkLoader#close() closed} after usage.
+     * @throws IOException on error accessing the index.
+     * @throws IllegalStateException if the tree isn't empty or if the single writer is already acquired.
+     */
+    public BulkLoader<KEY,VALUE> bulkLoader( double fillFactor ) throws IOException
+    {
+        if ( fillFactor <= 0 || fillFactor > 1 )
+        {
+            throw new IllegalArgumentException( "Fill factor must be larger than 0 and at most 1, but was " + fillFactor );
+        }
+        assertNotReadOnly( "Open tree bulk loader." );
+        writer.initialize( InternalTreeLogic.DEFAULT_SPLIT_RATIO );
+        boolean success = false;
+        try
+        {
+            TreeBulkLoader bulkLoader = new TreeBulkLoader( fillFactor );
+            changesSinceLastCheckpoint = true;
+            success = true;
+            return bulkLoader;
+        }
+        finally
+        {
+            if ( !success )
+            {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Takes the writer and cleaner lock for a checkpoint. Writers opening after this call wait for the checkpoint,
+     * so the lock is taken as soon as the writers that are already open have closed.
+     */
+    private void lockOutWriters()
+    {
+        synchronized ( writerSessionLock )
+        {
+            pendingCheckpoints++;
+        }
+        try
+        {
+            lock.writerAndCleanerLock();
+        }
+        finally
+        {
+            synchronized ( writerSessionLock )
+            {
+                pendingCheckpoints--;
+                writerSessionLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Blocks until cleaning and any pending or ongoing checkpoint has completed, if the tree has no other open writer.
+     */
+    private void openWriterSession()
+    {
+        synchronized ( writerSessionLock )
+        {
+            awaitNoPendingCheckpoint();
+            if ( openWriters == 0 )
+            {
+                lock.writerAndCleanerLock();
+            }
+            openWriters++;
+        }
+    }
+
+    /**
+     * Waits uninterruptibly, like the locks in {@link GBPTreeLock}, until no checkpoint is waiting for the open writers.
+     * Must be called while holding {@link #writerSessionLock}.
+     */
+    private void awaitNoPendingCheckpoint()
+    {
+        boolean interrupted = false;
+        while ( pendingCheckpoints > 0 )
+        {
+            try
+            {
+                writerSessionLock.wait();
+            }
+            catch ( InterruptedException e )
+            {
+                interrupted = true;
+            }
+        }
+        if ( interrupted )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void closeWriterSession()
+    {
+        synchronized ( writerSessionLock )
+        {
+            if ( openWriters == 0 )
+            {
+                throw new IllegalStateException( "No open writer in " + this );
+            }
+            openWriters--;
+            if ( openWriters == 0 )
+            {
+                lock.writerAndCleanerUnlock();
+            }
+        }
+    }
+
     private void setRoot( long rootId, long rootGeneration )
     {
         this.root = new Root( rootId, rootGeneration );
@@ -1300,27 +1643,91 @@ public class GBPTree<KEY,VALUE> implements Closeable
         Exceptions.withMessage( e, e.getMessage() + " | " + toString() );
     }
 
-    private class SingleWriter implements Writer<KEY,VALUE>
+    /**
+     * State and structure change handling common to {@link SingleWriter} and {@link ParallelWriter}.
+     */
+    private abstract class TreeWriter implements Writer<KEY,VALUE>
+    {
+        final InternalTreeLogic<KEY,VALUE> treeLogic;
+        final StructurePropagation<KEY> structurePropagation;
+        PageCursor cursor;
+
+        // Writer can't live past a checkpoint because of the mutex with checkpoint,
+        // therefore safe to locally cache these generation fields from the volatile generation in the tree
+        long stableGeneration;
+        long unstableGeneration;
+        double ratioToKeepInLeftOnSplit;
+
+        TreeWriter( InternalTreeLogic<KEY,VALUE> treeLogic )
+        {
+            this.structurePropagation = new StructurePropagation<>( layout.newKey(), layout.newKey(), layout.newKey() );
+            this.treeLogic = treeLogic;
+        }
+
+        @Override
+        public void put( KEY key, VALUE value )
+        {
+            merge( key, value, ValueMergers.overwrite() );
+        }
+
+        void setRoot( long rootPointer )
+        {
+            long rootId = GenerationSafePointerPair.pointer( rootPointer );
+            GBPTree.this.setRoot( rootId, unstableGeneration );
+            treeLogic.initialize( cursor, ratioToKeepInLeftOnSplit );
+        }
+
+        void handleStructureChanges() throws IOException
+        {
+            if ( structurePropagation.hasRightKeyInsert )
+            {
+                // New root
+                long newRootId = freeList.acquireNewId( stableGeneration, unstableGeneration );
+                PageCursorUtil.goTo( cursor, "new root", newRootId );
+
+                bTreeNode.initializeInternal( cursor, stableGeneration, unstableGeneration );
+                bTreeNode.setChildAt( cursor, structurePropagation.midChild, 0,
+                        stableGeneration, unstableGeneration );
+                bTreeNode.insertKeyAndRightChildAt( cursor, structurePropagation.rightKey, structurePropagation.rightChild, 0, 0,
+                        stableGeneration, unstableGeneration );
+                if ( bTreeNode.hasSubtreeCounts() )
+                {
+                    bTreeNode.setSubtreeCountAt( cursor, structurePropagation.midChildCount, 0, stableGeneration, unstableGeneration );
+                    bTreeNode.setSubtreeCountAt( cursor, structurePropagation.rightChildCount, 1, stableGeneration, unstableGeneration );
+                }
+                TreeNode.setKeyCount( cursor, 1 );
+                setRoot( newRootId );
+                monitor.treeGrowth();
+            }
+            else if ( structurePropagation.hasMidChildUpdate )
+            {
+                setRoot( structurePropagation.midChild );
+            }
+            structurePropagation.clear();
+        }
+
+        void closeCursor()
+        {
+            if ( cursor != null )
+            {
+                cursor.close();
+                cursor = null;
+            }
+        }
+    }
+
+    private class SingleWriter extends TreeWriter
     {
         /**
          * Currently an index only supports one concurrent writer and so this boolean will act as
          * guard so that only one writer ever exist.
          */
         private final AtomicBoolean writerTaken = new AtomicBoolean();
-        private final InternalTreeLogic<KEY,VALUE> treeLogic;
-        private final StructurePropagation<KEY> structurePropagation;
-        private PageCursor cursor;
-
-        // Writer can't live past a checkpoint because of the mutex with checkpoint,
-        // therefore safe to locally cache these generation fields from the volatile generation in the tree
-        private long stableGeneration;
-        private long unstableGeneration;
-        private double ratioToKeepInLeftOnSplit;
+        private long structureLockStamp;
 
         SingleWriter( InternalTreeLogic<KEY,VALUE> treeLogic )
         {
-            this.structurePropagation = new StructurePropagation<>( layout.newKey(), layout.newKey(), layout.newKey() );
-            this.treeLogic = treeLogic;
+            super( treeLogic );
         }
 
         /**
@@ -1330,12 +1737,14 @@ public class GBPTree<KEY,VALUE> implements Closeable
          * <ul>
          *    <li>{@link #writerTaken} - true</li>
          *    <li>{@link #lock} - writerLock locked</li>
+         *    <li>{@link #structureLock} - write locked</li>
          *    <li>{@link #cursor} - not null</li>
          * </ul>
          * Of fully closed:
          * <ul>
          *    <li>{@link #writerTaken} - false</li>
          *    <li>{@link #lock} - writerLock unlocked</li>
+         *    <li>{@link #structureLock} - write unlocked</li>
          *    <li>{@link #cursor} - null</li>
          * </ul>
          *
@@ -1355,7 +1764,9 @@ public class GBPTree<KEY,VALUE> implements Closeable
             try
             {
                 // Block here until cleaning has completed, if cleaning was required
-                lock.writerAndCleanerLock();
+                openWriterSession();
+                // Wait for changes by parallel writers to complete and keep them out until closed
+                structureLockStamp = structureLock.writeLock();
                 assertRecoveryCleanSuccessful();
                 cursor = openRootCursor( PagedFile.PF_SHARED_WRITE_LOCK );
                 stableGeneration = stableGeneration( generation );
@@ -1379,12 +1790,6 @@ public class GBPTree<KEY,VALUE> implements Closeable
             }
         }
 
-        @Override
-        public void put( KEY key, VALUE value )
-        {
-            merge( key, value, ValueMergers.overwrite() );
-        }
-
         @Override
         public void merge( KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger )
         {
@@ -1409,13 +1814,6 @@ public class GBPTree<KEY,VALUE> implements Closeable
             checkOutOfBounds( cursor );
         }
 
-        private void setRoot( long rootPointer )
-        {
-            long rootId = GenerationSafePointerPair.pointer( rootPointer );
-            GBPTree.this.setRoot( rootId, unstableGeneration );
-            treeLogic.initialize( cursor, ratioToKeepInLeftOnSplit );
-        }
-
         @Override
         public VALUE remove( KEY key )
         {
@@ -1442,48 +1840,433 @@ public class GBPTree<KEY,VALUE> implements Closeable
             return result;
         }
 
-        private void handleStructureChanges() throws IOException
+        @Override
+        public void close()
         {
-            if ( structurePropagation.hasRightKeyInsert )
+            if ( !writerTaken.compareAndSet( true, false ) )
             {
-                // New root
-                long newRootId = freeList.acquireNewId( stableGeneration, unstableGeneration );
-                PageCursorUtil.goTo( cursor, "new root", newRootId );
+                throw new IllegalStateException( "Tried to close writer of " + GBPTree.this +
+                        ", but writer is already closed." );
+            }
+            closeCursor();
+            if ( structureLockStamp != 0 )
+            {
+                structureLock.unlockWrite( structureLockStamp );
+                structureLockStamp = 0;
+            }
+            closeWriterSession();
+        }
+    }
 
-                bTreeNode.initializeInternal( cursor, stableGeneration, unstableGeneration );
-                bTreeNode.setChildAt( cursor, structurePropagation.midChild, 0,
-                        stableGeneration, unstableGeneration );
-                bTreeNode.insertKeyAndRightChildAt( cursor, structurePropagation.rightKey, structurePropagation.rightChild, 0, 0,
-                        stableGeneration, unstableGeneration );
-                TreeNode.setKeyCount( cursor, 1 );
-                setRoot( newRootId );
-                monitor.treeGrowth();
+    /**
+     * Writer which can be used at the same time as other parallel writers. Every change starts from the root and
+     * is first tried in the leaf alone, with {@link #structureLock} held shared and the leaf latched. Only if the
+     * change needs to change the structure of the tree is it redone from the root with {@link #structureLock} held
+     * exclusively, just like {@link SingleWriter} does it. There's no need to latch internal nodes on the way down,
+     * since internal nodes only change while the structure lock is held exclusively.
+     */
+    private class ParallelWriter extends TreeWriter
+    {
+        private boolean closed;
+
+        ParallelWriter( InternalTreeLogic<KEY,VALUE> treeLogic )
+        {
+            super( treeLogic );
+        }
+
+        void initialize( double ratioToKeepInLeftOnSplit ) throws IOException
+        {
+            // Block here until cleaning has completed, if cleaning was required
+            openWriterSession();
+            boolean success = false;
+            try
+            {
+                assertRecoveryCleanSuccessful();
+                cursor = pagedFile.io( 0L /*Ignored*/, PagedFile.PF_SHARED_WRITE_LOCK );
+                long generation = GBPTree.this.generation;
+                stableGeneration = stableGeneration( generation );
+                unstableGeneration = unstableGeneration( generation );
+                this.ratioToKeepInLeftOnSplit = ratioToKeepInLeftOnSplit;
+                success = true;
             }
-            else if ( structurePropagation.hasMidChildUpdate )
+            catch ( Throwable e )
             {
-                setRoot( structurePropagation.midChild );
+                appendTreeInformation( e );
+                throw e;
+            }
+            finally
+            {
+                if ( !success )
+                {
+                    close();
+                }
+            }
+        }
+
+        @Override
+        public void merge( KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger )
+        {
+            assertOpen();
+            try
+            {
+                InternalTreeLogic.LeafChange change;
+                long stamp = structureLock.readLock();
+                try
+                {
+                    goToRoot();
+                    treeLogic.moveToLeaf( cursor, key, stableGeneration, unstableGeneration );
+                    long leafId = cursor.getCurrentPageId();
+                    leafLatches.acquire( leafId );
+                    try
+                    {
+                        change = treeLogic.insertInLeafWithoutStructureChange( cursor, key, value, valueMerger, unstableGeneration );
+                    }
+                    finally
+                    {
+                        leafLatches.release( leafId );
+                    }
+                }
+                finally
+                {
+                    structureLock.unlockRead( stamp );
+                }
+
+                if ( change == InternalTreeLogic.LeafChange.NEEDS_STRUCTURE_CHANGE )
+                {
+                    stamp = structureLock.writeLock();
+                    try
+                    {
+                        goToRoot();
+                        treeLogic.insert( cursor, structurePropagation, key, value, valueMerger,
+                                stableGeneration, unstableGeneration );
+                        handleStructureChanges();
+                    }
+                    finally
+                    {
+                        structureLock.unlockWrite( stamp );
+                    }
+                }
+            }
+            catch ( IOException e )
+            {
+                appendTreeInformation( e );
+                throw new UncheckedIOException( e );
+            }
+            catch ( Throwable t )
+            {
+                appendTreeInformation( t );
+                throw t;
+            }
+
+            checkOutOfBounds( cursor );
+        }
+
+        @Override
+        public VALUE remove( KEY key )
+        {
+            assertOpen();
+            VALUE result = layout.newValue();
+            try
+            {
+                InternalTreeLogic.LeafChange change;
+                long stamp = structureLock.readLock();
+                try
+                {
+                    goToRoot();
+                    treeLogic.moveToLeaf( cursor, key, stableGeneration, unstableGeneration );
+                    long leafId = cursor.getCurrentPageId();
+                    leafLatches.acquire( leafId );
+                    try
+                    {
+                        change = treeLogic.removeFromLeafWithoutStructureChange( cursor, key, result, unstableGeneration );
+                    }
+                    finally
+                    {
+                        leafLatches.release( leafId );
+                    }
+                }
+                finally
+                {
+                    structureLock.unlockRead( stamp );
+                }
+
+                if ( change == InternalTreeLogic.LeafChange.NOT_FOUND )
+                {
+                    result = null;
+                }
+                else if ( change != InternalTreeLogic.LeafChange.DONE )
+                {
+                    stamp = structureLock.writeLock();
+                    try
+                    {
+                        goToRoot();
+                        if ( change == InternalTreeLogic.LeafChange.UNDERFLOW )
+                        {
+                            treeLogic.rebalanceUnderflowingLeaf( cursor, structurePropagation, key,
+                                    stableGeneration, unstableGeneration );
+                        }
+                        else
+                        {
+                            result = treeLogic.remove( cursor, structurePropagation, key, result,
+                                    stableGeneration, unstableGeneration );
+                        }
+                        handleStructureChanges();
+                    }
+                    finally
+                    {
+                        structureLock.unlockWrite( stamp );
+                    }
+                }
+            }
+            catch ( IOException e )
+            {
+                appendTreeInformation( e );
+                throw new UncheckedIOException( e );
+            }
+            catch ( Throwable e )
+            {
+                appendTreeInformation( e );
+                throw e;
+            }
+
+            checkOutOfBounds( cursor );
+            return result;
+        }
+
+        private void goToRoot() throws IOException
+        {
+            root.goTo( cursor );
+            treeLogic.initialize( cursor, ratioToKeepInLeftOnSplit );
+        }
+
+        private void assertOpen()
+        {
+            if ( closed )
+            {
+                throw new IllegalStateException( "Writer of " + GBPTree.this + " is closed." );
             }
-            structurePropagation.clear();
         }
 
         @Override
         public void close()
         {
-            if ( !writerTaken.compareAndSet( true, false ) )
+            if ( closed )
             {
                 throw new IllegalStateException( "Tried to close writer of " + GBPTree.this +
                         ", but writer is already closed." );
             }
+            closed = true;
             closeCursor();
-            lock.writerAndCleanerUnlock();
+            closeWriterSession();
         }
+    }
 
-        private void closeCursor()
+    /**
+     * Builds the tree bottom-up while holding the {@link SingleWriter}, which keeps other writers and checkpoints out.
+     * Leaves are written using the cursor of the single writer and internal nodes using a cursor of their own.
+     * Only the rightmost node on each level is open for appending. When it's full a new node is started to the right
+     * of it and that new node is added to the level above, which is created if needed. The level which ends up
+     * with a single node holds the new root.
+     */
+    private class TreeBulkLoader implements BulkLoader<KEY,VALUE>
+    {
+        private final double fillFactor;
+        private final long stableGeneration;
+        private final long unstableGeneration;
+        private final long previousRootId;
+        private final PageCursor leafCursor;
+        private final PageCursor internalCursor;
+        private final KEY previousKey;
+        private final KEY splitter;
+        private long leafId = TreeNode.NO_NODE_FLAG;
+        private int leafKeyCount;
+        // Rightmost node and its key count for each internal level, from the level just above the leaves and up
+        private long[] levelNodeIds = new long[4];
+        private int[] levelKeyCounts = new int[4];
+        private int levels;
+        private boolean closed;
+
+        TreeBulkLoader( double fillFactor ) throws IOException
         {
-            if ( cursor != null )
+            this.fillFactor = fillFactor;
+            this.stableGeneration = writer.stableGeneration;
+            this.unstableGeneration = writer.unstableGeneration;
+            this.leafCursor = writer.cursor;
+            this.previousRootId = root.id();
+            if ( !TreeNode.isLeaf( leafCursor ) || TreeNode.keyCount( leafCursor ) != 0 )
             {
-                cursor.close();
-                cursor = null;
+                throw new IllegalStateException( "Can only bulk load into an empty tree, but " + GBPTree.this + " isn't empty" );
+            }
+            this.internalCursor = pagedFile.io( 0L /*Ignored*/, PagedFile.PF_SHARED_WRITE_LOCK );
+            this.previousKey = layout.newKey();
+            this.splitter = layout.newKey();
+        }
+
+        @Override
+        public void add( KEY key, VALUE value )
+        {
+            if ( closed )
+            {
+                throw new IllegalStateException( "Bulk loader of " + GBPTree.this + " is closed." );
+            }
+            if ( leafId != TreeNode.NO_NODE_FLAG && layout.compare( previousKey, key ) >= 0 )
+            {
+                throw new IllegalArgumentException( format( "Keys must be added in strictly ascending order, but %s was added after %s",
+                        key, previousKey ) );
+            }
+
+            try
+            {
+                bTreeNode.validateKeyValueSize( key, value );
+                if ( leafId == TreeNode.NO_NODE_FLAG )
+                {
+                    leafId = freeList.acquireNewId( stableGeneration, unstableGeneration );
+                    PageCursorUtil.goTo( leafCursor, "first leaf", leafId );
+                    bTreeNode.initializeLeaf( leafCursor, stableGeneration, unstableGeneration );
+                }
+                else if ( bTreeNode.leafFillExceeded( leafCursor, leafKeyCount, key, value, fillFactor ) )
+                {
+                    long previousLeafId = leafId;
+                    int leafKeyCountBefore = leafKeyCount;
+                    leafId = freeList.acquireNewId( stableGeneration, unstableGeneration );
+                    TreeNode.setRightSibling( leafCursor, leafId, stableGeneration, unstableGeneration );
+                    PageCursorUtil.goTo( leafCursor, "new leaf", leafId );
+                    bTreeNode.initializeLeaf( leafCursor, stableGeneration, unstableGeneration );
+                    TreeNode.setLeftSibling( leafCursor, previousLeafId, stableGeneration, unstableGeneration );
+                    leafKeyCount = 0;
+                    layout.minimalSplitter( previousKey, key, splitter );
+                    addToLevel( 0, splitter, previousLeafId, leafKeyCountBefore, leafId );
+                }
+
+                bTreeNode.insertKeyValueAt( leafCursor, key, value, leafKeyCount, leafKeyCount );
+                leafKeyCount++;
+                TreeNode.setKeyCount( leafCursor, leafKeyCount );
+                layout.copyKey( key, previousKey );
+            }
+            catch ( IOException e )
+            {
+                appendTreeInformation( e );
+                throw new UncheckedIOException( e );
+            }
+            catch ( Throwable t )
+            {
+                appendTreeInformation( t );
+                throw t;
+            }
+
+            checkOutOfBounds( leafCursor );
+            checkOutOfBounds( internalCursor );
+        }
+
+        /**
+         * Adds {@code rightChild}, which was just started to the right of {@code leftChild}, to the rightmost
+         * node on {@code level}. {@code separator} is the shortest key that separates {@code rightChild} from {@code leftChild}.
+         * {@code leftChild} is complete and has {@code leftChildCount} entries in its subtree, whereas the subtree count
+         * of {@code rightChild} is set when it's completed too.
+         */
+        private void addToLevel( int level, KEY separator, long leftChild, long leftChildCount, long rightChild ) throws IOException
+        {
+            if ( level == levels )
+            {
+                // The level below just got its second node, so the tree grows by one level
+                if ( level == levelNodeIds.length )
+                {
+                    levelNodeIds = Arrays.copyOf( levelNodeIds, level * 2 );
+                    levelKeyCounts = Arrays.copyOf( levelKeyCounts, level * 2 );
+                }
+                levelNodeIds[level] = newInternalNode( leftChild );
+                levelKeyCounts[level] = 0;
+                levels++;
+                monitor.treeGrowth();
+            }
+            else
+            {
+                PageCursorUtil.goTo( internalCursor, "rightmost internal node", levelNodeIds[level] );
+            }
+
+            int keyCount = levelKeyCounts[level];
+            if ( bTreeNode.hasSubtreeCounts() )
+            {
+                bTreeNode.setSubtreeCountAt( internalCursor, leftChildCount, keyCount, stableGeneration, unstableGeneration );
+            }
+            boolean fillExceeded = bTreeNode.internalFillExceeded( internalCursor, keyCount, separator, fillFactor );
+            if ( fillExceeded && bTreeNode.compactInternal( internalCursor, keyCount ) )
+            {
+                fillExceeded = bTreeNode.internalFillExceeded( internalCursor, keyCount, separator, fillFactor );
+            }
+            if ( fillExceeded )
+            {
+                long previousNodeId = levelNodeIds[level];
+                long previousNodeCount = bTreeNode.hasSubtreeCounts() ? bTreeNode.subtreeCount( internalCursor, stableGeneration, unstableGeneration ) : 0;
+                long nodeId = freeList.acquireNewId( stableGeneration, unstableGeneration );
+                TreeNode.setRightSibling( internalCursor, nodeId, stableGeneration, unstableGeneration );
+                PageCursorUtil.goTo( internalCursor, "new internal node", nodeId );
+                bTreeNode.initializeInternal( internalCursor, stableGeneration, unstableGeneration );
+                bTreeNode.setChildAt( internalCursor, rightChild, 0, stableGeneration, unstableGeneration );
+                TreeNode.setLeftSibling( internalCursor, previousNodeId, stableGeneration, unstableGeneration );
+                levelNodeIds[level] = nodeId;
+                levelKeyCounts[level] = 0;
+                addToLevel( level + 1, separator, previousNodeId, previousNodeCount, nodeId );
+            }
+            else
+            {
+                bTreeNode.insertKeyAndRightChildAt( internalCursor, separator, rightChild, keyCount, keyCount,
+                        stableGeneration, unstableGeneration );
+                TreeNode.setKeyCount( internalCursor, keyCount + 1 );
+                levelKeyCounts[level] = keyCount + 1;
+            }
+        }
+
+        /**
+         * Sets the subtree counts of the rightmost child on each level, which can't be known until all entries have been added.
+         */
+        private void completeSubtreeCounts() throws IOException
+        {
+            long count = leafKeyCount;
+            for ( int level = 0; level < levels; level++ )
+            {
+                PageCursorUtil.goTo( internalCursor, "rightmost internal node", levelNodeIds[level] );
+                bTreeNode.setSubtreeCountAt( internalCursor, count, levelKeyCounts[level], stableGeneration, unstableGeneration );
+                count = bTreeNode.subtreeCount( internalCursor, stableGeneration, unstableGeneration );
+            }
+        }
+
+        private long newInternalNode( long firstChild ) throws IOException
+        {
+            long nodeId = freeList.acquireNewId( stableGeneration, unstableGeneration );
+            PageCursorUtil.goTo( internalCursor, "new internal level", nodeId );
+            bTreeNode.initializeInternal( internalCursor, stableGeneration, unstableGeneration );
+            bTreeNode.setChildAt( internalCursor, firstChild, 0, stableGeneration, unstableGeneration );
+            return nodeId;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            if ( closed )
+            {
+                throw new IllegalStateException( "Tried to close bulk loader of " + GBPTree.this +
+                        ", but bulk loader is already closed." );
+            }
+            closed = true;
+            try
+            {
+                if ( leafId != TreeNode.NO_NODE_FLAG )
+                {
+                    if ( bTreeNode.hasSubtreeCounts() )
+                    {
+                        completeSubtreeCounts();
+                    }
+                    // Publish the new tree and let go of the old empty root
+                    long rootId = levels == 0 ? leafId : levelNodeIds[levels - 1];
+                    GBPTree.this.setRoot( rootId, unstableGeneration );
+                    freeList.releaseId( stableGeneration, unstableGeneration, previousRootId );
+                }
+            }
+            finally
+            {
+                internalCursor.close();
+                writer.close();
             }
         }
     }
@@ -87,6 +87,23 @@ class GenerationSafePointer
         writeGSP( cursor, generation, pointer );
     }
 
+    /**
+     * Writes GSP at the given {@code offset}, like {@link #write(PageCursor, long, long)} but for a value which isn't a pointer.
+     *
+     * @param cursor {@link PageCursor} to write into.
+     * @param generation generation to write.
+     * @param value value to write, between 0 and {@link #MAX_POINTER}.
+     */
+    static void writeValue( PageCursor cursor, long generation, long value )
+    {
+        assertGenerationOnWrite( generation );
+        if ( value < 0 || value > MAX_POINTER )
+        {
+            throw new IllegalArgumentException( "Can not write value " + value + " because outside boundary for valid value" );
+        }
+        writeGSP( cursor, generation, value );
+    }
+
     private static void writeGSP( PageCursor cursor, long generation, long pointer )
     {
         cursor.putInt( (int) generation );
@@ -216,10 +216,30 @@ class GenerationSafePointerPair
      * @return {@code true} on success, otherwise {@code false} on failure.
      */
     public static long write( PageCursor cursor, long pointer, long stableGeneration, long unstableGeneration )
+    {
+        return write( cursor, pointer( pointer ), stableGeneration, unstableGeneration, true );
+    }
+
+    /**
+     * Like {@link #write(PageCursor, long, long, long)}, but for a value which isn't a pointer to a page, e.g. the number
+     * of entries in a subtree. Any value from 0 up to the maximum size of a pointer can be written and read back
+     * using {@link #read(PageCursor, long, long, GBPTreeGenerationTarget)}.
+     *
+     * @param cursor {@link PageCursor} to write to, placed at the beginning of the GSPP.
+     * @param value value to write.
+     * @param stableGeneration stable index generation.
+     * @param unstableGeneration unstable index generation, which will be the generation to write in the slot.
+     * @return {@code true} on success, otherwise {@code false} on failure.
+     */
+    static long writeValue( PageCursor cursor, long value, long stableGeneration, long unstableGeneration )
+    {
+        return write( cursor, value, stableGeneration, unstableGeneration, false );
+    }
+
+    private static long write( PageCursor cursor, long pointer, long stableGeneration, long unstableGeneration, boolean isPointer )
     {
         // Later there will be a selection which "slot" of GSP out of the two to write into.
         int offset = cursor.getOffset();
-        pointer = pointer( pointer );
 
         // Try A
         long generationA = readGeneration( cursor );
@@ -245,7 +265,14 @@ class GenerationSafePointerPair
             boolean writeToA = ( writeResult & SLOT_MASK) == FLAG_SLOT_A;
             int writeOffset = writeToA ? offset : offset + GenerationSafePointer.SIZE;
             cursor.setOffset( writeOffset );
-            GenerationSafePointer.write( cursor, unstableGeneration, pointer );
+            if ( isPointer )
+            {
+                GenerationSafePointer.write( cursor, unstableGeneration, pointer );
+            }
+            else
+            {
+                GenerationSafePointer.writeValue( cursor, unstableGeneration, pointer );
+            }
         }
         return writeResult;
     }
@@ -89,6 +89,30 @@ class InternalTreeLogic<KEY,VALUE>
 {
     static final double DEFAULT_SPLIT_RATIO = 0.5;
 
+    /**
+     * Outcome of {@link #insertInLeafWithoutStructureChange(PageCursor, Object, Object, ValueMerger, long)} and
+     * {@link #removeFromLeafWithoutStructureChange(PageCursor, Object, Object, long)}.
+     */
+    enum LeafChange
+    {
+        /**
+         * The change was made in the leaf.
+         */
+        DONE,
+        /**
+         * There was no such key to remove, nothing was changed.
+         */
+        NOT_FOUND,
+        /**
+         * The key was removed, but left the leaf in underflow.
+         */
+        UNDERFLOW,
+        /**
+         * Nothing was changed, since the change requires changes to the structure of the tree.
+         */
+        NEEDS_STRUCTURE_CHANGE
+    }
+
     private final IdProvider idProvider;
     private final TreeNode<KEY,VALUE> bTreeNode;
     private final Layout<KEY,VALUE> layout;
@@ -421,19 +445,31 @@ class InternalTreeLogic<KEY,VALUE>
         createSuccessorIfNeeded( cursor, structurePropagation, UPDATE_MID_CHILD,
                 stableGeneration, unstableGeneration );
 
-        doInsertInInternal( cursor, structurePropagation, keyCount, primKey, rightChild, stableGeneration, unstableGeneration );
+        long rightChildCount = structurePropagation.rightChildCount;
+        if ( bTreeNode.hasSubtreeCounts() )
+        {
+            // The child that was split keeps the entries which didn't move to its new right sibling
+            int pos = positionOf( search( cursor, INTERNAL, primKey, readKey, keyCount ) );
+            bTreeNode.setSubtreeCountAt( cursor, structurePropagation.midChildCount, pos, stableGeneration, unstableGeneration );
+        }
+        doInsertInInternal( cursor, structurePropagation, keyCount, primKey, rightChild, rightChildCount, stableGeneration, unstableGeneration );
     }
 
     private void doInsertInInternal( PageCursor cursor, StructurePropagation<KEY> structurePropagation, int keyCount, KEY primKey,
-            long rightChild, long stableGeneration, long unstableGeneration ) throws IOException
+            long rightChild, long rightChildCount, long stableGeneration, long unstableGeneration ) throws IOException
     {
         Overflow overflow = bTreeNode.internalOverflow( cursor, keyCount, primKey );
+        if ( overflow == YES && bTreeNode.compactInternal( cursor, keyCount ) )
+        {
+            // Compacting the keys made room, maybe enough to not have to split
+            overflow = bTreeNode.internalOverflow( cursor, keyCount, primKey );
+        }
         if ( overflow == YES )
         {
             // Overflow
             // We will overwrite rightKey in structurePropagation, so copy it over to a place holder
             layout.copyKey( primKey, newKeyPlaceHolder );
-            splitInternal( cursor, structurePropagation, newKeyPlaceHolder, rightChild, keyCount,
+            splitInternal( cursor, structurePropagation, newKeyPlaceHolder, rightChild, rightChildCount, keyCount,
                     stableGeneration, unstableGeneration );
             return;
         }
@@ -446,6 +482,10 @@ class InternalTreeLogic<KEY,VALUE>
         // No overflow
         int pos = positionOf( search( cursor, INTERNAL, primKey, readKey, keyCount ) );
         bTreeNode.insertKeyAndRightChildAt( cursor, primKey, rightChild, pos, keyCount, stableGeneration, unstableGeneration );
+        if ( bTreeNode.hasSubtreeCounts() )
+        {
+            bTreeNode.setSubtreeCountAt( cursor, rightChildCount, pos + 1, stableGeneration, unstableGeneration );
+        }
         // Increase key count
         TreeNode.setKeyCount( cursor, keyCount + 1 );
     }
@@ -459,11 +499,12 @@ class InternalTreeLogic<KEY,VALUE>
      * @param structurePropagation {@link StructurePropagation} used to report structure changes between tree levels.
      * @param newKey new key to be inserted together with newRightChild, causing the split
      * @param newRightChild new child to be inserted to the right of newKey
+     * @param newRightChildCount number of entries in the subtree of newRightChild, for trees with subtree counts
      * @param keyCount key count for fullNode
      * @throws IOException on cursor failure
      */
     private void splitInternal( PageCursor cursor, StructurePropagation<KEY> structurePropagation, KEY newKey,
-            long newRightChild, int keyCount, long stableGeneration, long unstableGeneration ) throws IOException
+            long newRightChild, long newRightChildCount, int keyCount, long stableGeneration, long unstableGeneration ) throws IOException
     {
         long current = cursor.getCurrentPageId();
         long oldRight = TreeNode.rightSibling( cursor, stableGeneration, unstableGeneration );
@@ -489,6 +530,22 @@ class InternalTreeLogic<KEY,VALUE>
             // Do split
             bTreeNode.doSplitInternal( cursor, keyCount, rightCursor, pos, newKey, newRightChild, stableGeneration, unstableGeneration,
                     structurePropagation.rightKey, ratioToKeepInLeftOnSplit );
+
+            if ( bTreeNode.hasSubtreeCounts() )
+            {
+                // New child is at pos + 1 among all children, where the leftKeyCount + 1 first ones stayed in left node
+                int leftKeyCount = TreeNode.keyCount( cursor );
+                if ( pos + 1 <= leftKeyCount )
+                {
+                    bTreeNode.setSubtreeCountAt( cursor, newRightChildCount, pos + 1, stableGeneration, unstableGeneration );
+                }
+                else
+                {
+                    bTreeNode.setSubtreeCountAt( rightCursor, newRightChildCount, pos - leftKeyCount, stableGeneration, unstableGeneration );
+                }
+                structurePropagation.midChildCount = bTreeNode.subtreeCount( cursor, stableGeneration, unstableGeneration );
+                structurePropagation.rightChildCount = bTreeNode.subtreeCount( rightCursor, stableGeneration, unstableGeneration );
+            }
         }
 
         // Update old right with new left sibling (newRight)
@@ -532,6 +589,10 @@ class InternalTreeLogic<KEY,VALUE>
         createSuccessorIfNeeded( cursor, structurePropagation, UPDATE_MID_CHILD, stableGeneration, unstableGeneration );
 
         doInsertInLeaf( cursor, structurePropagation, key, value, pos, keyCount, stableGeneration, unstableGeneration );
+        if ( bTreeNode.hasSubtreeCounts() )
+        {
+            addToSubtreeCountsOnPath( cursor, 1, stableGeneration, unstableGeneration );
+        }
     }
 
     private void overwriteValue( PageCursor cursor, StructurePropagation<KEY> structurePropagation, KEY key, VALUE value,
@@ -674,6 +735,8 @@ class InternalTreeLogic<KEY,VALUE>
 
             // Do split
             bTreeNode.doSplitLeaf( cursor, keyCount, rightCursor, pos, newKey, newValue, structurePropagation.rightKey, ratioToKeepInLeftOnSplit );
+            structurePropagation.midChildCount = TreeNode.keyCount( cursor );
+            structurePropagation.rightChildCount = TreeNode.keyCount( rightCursor );
         }
 
         // Update old right with new left sibling (newRight)
@@ -735,6 +798,162 @@ class InternalTreeLogic<KEY,VALUE>
         return into;
     }
 
+    /**
+     * Moves the cursor to the leaf where {@code key} belongs, without changing anything on the way.
+     * Meant to be followed by {@link #insertInLeafWithoutStructureChange(PageCursor, Object, Object, ValueMerger, long)}
+     * or {@link #removeFromLeafWithoutStructureChange(PageCursor, Object, Object, long)}.
+     *
+     * @param cursor {@link PageCursor} pinned to root of tree, right after {@link #initialize(PageCursor, double)}.
+     * @param key key to find leaf for.
+     * @param stableGeneration stable generation, i.e. generations <= this generation are considered stable.
+     * @param unstableGeneration unstable generation, i.e. generation which is under development right now.
+     * @throws IOException on cursor failure
+     */
+    void moveToLeaf( PageCursor cursor, KEY key, long stableGeneration, long unstableGeneration ) throws IOException
+    {
+        assert cursorIsAtExpectedLocation( cursor );
+        moveToCorrectLeaf( cursor, key, stableGeneration, unstableGeneration );
+    }
+
+    /**
+     * Insert {@code key} and associate it with {@code value} in the leaf that the cursor is at, but only if that can be
+     * done without changing the structure of the tree, i.e. without creating a successor of the leaf or splitting it.
+     * Nothing is changed if it can't, and the insert must instead be done with
+     * {@link #insert(PageCursor, StructurePropagation, Object, Object, ValueMerger, long, long)}.
+     * <p>
+     * Since no other node than the leaf is read or changed, this can be done by several writers at the same time,
+     * in different leaves, as long as no writer changes the structure of the tree meanwhile.
+     * In trees with subtree counts only values of existing keys can be changed this way.
+     *
+     * @param cursor {@link PageCursor} pinned to the leaf where {@code key} belongs, see
+     * {@link #moveToLeaf(PageCursor, Object, long, long)}.
+     * @param key key to be inserted
+     * @param value value to be associated with key
+     * @param valueMerger {@link ValueMerger} for deciding what to do with existing keys
+     * @param unstableGeneration unstable generation, i.e. generation which is under development right now.
+     * @return {@link LeafChange#DONE} if the key was inserted, or needed no change, otherwise
+     * {@link LeafChange#NEEDS_STRUCTURE_CHANGE}.
+     */
+    LeafChange insertInLeafWithoutStructureChange( PageCursor cursor, KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger,
+            long unstableGeneration )
+    {
+        bTreeNode.validateKeyValueSize( key, value );
+        if ( TreeNode.generation( cursor ) != unstableGeneration )
+        {
+            return LeafChange.NEEDS_STRUCTURE_CHANGE;
+        }
+
+        int keyCount = TreeNode.keyCount( cursor );
+        int search = search( cursor, LEAF, key, readKey, keyCount );
+        int pos = positionOf( search );
+        if ( isHit( search ) )
+        {
+            bTreeNode.valueAt( cursor, readValue, pos );
+            VALUE mergedValue = valueMerger.merge( readKey, key, readValue, value );
+            if ( mergedValue == null || bTreeNode.setValueAt( cursor, mergedValue, pos ) )
+            {
+                return LeafChange.DONE;
+            }
+            // Merged value differs in size from the existing value and so the entry needs to be moved
+            return LeafChange.NEEDS_STRUCTURE_CHANGE;
+        }
+        if ( bTreeNode.hasSubtreeCounts() )
+        {
+            // A new entry changes the subtree counts in internal nodes above this leaf
+            return LeafChange.NEEDS_STRUCTURE_CHANGE;
+        }
+
+        Overflow overflow = bTreeNode.leafOverflow( cursor, keyCount, key, value );
+        if ( overflow == YES )
+        {
+            return LeafChange.NEEDS_STRUCTURE_CHANGE;
+        }
+        if ( overflow == NO_NEED_DEFRAG )
+        {
+            bTreeNode.defragmentLeaf( cursor );
+        }
+        bTreeNode.insertKeyValueAt( cursor, key, value, pos, keyCount );
+        TreeNode.setKeyCount( cursor, keyCount + 1 );
+        return LeafChange.DONE;
+    }
+
+    /**
+     * Remove {@code key} from the leaf that the cursor is at, but only if that can be done without creating a successor
+     * of the leaf. Nothing is changed if it can't, and the remove must instead be done with
+     * {@link #remove(PageCursor, StructurePropagation, Object, Object, long, long)}. If the removal leaves the leaf in
+     * underflow, then it must be followed by
+     * {@link #rebalanceUnderflowingLeaf(PageCursor, StructurePropagation, Object, long, long)}.
+     * <p>
+     * Since no other node than the leaf is read or changed, this can be done by several writers at the same time,
+     * in different leaves, as long as no writer changes the structure of the tree meanwhile.
+     * In trees with subtree counts nothing can be removed this way.
+     *
+     * @param cursor {@link PageCursor} pinned to the leaf where {@code key} belongs, see
+     * {@link #moveToLeaf(PageCursor, Object, long, long)}.
+     * @param key key to be removed
+     * @param into {@code VALUE} instance to write removed value to
+     * @param unstableGeneration unstable generation, i.e. generation which is under development right now.
+     * @return {@link LeafChange#DONE} or {@link LeafChange#UNDERFLOW} if the key was removed,
+     * {@link LeafChange#NOT_FOUND} if there was no such key and otherwise {@link LeafChange#NEEDS_STRUCTURE_CHANGE}.
+     */
+    LeafChange removeFromLeafWithoutStructureChange( PageCursor cursor, KEY key, VALUE into, long unstableGeneration )
+    {
+        int keyCount = TreeNode.keyCount( cursor );
+        int search = search( cursor, LEAF, key, readKey, keyCount );
+        if ( !isHit( search ) )
+        {
+            return LeafChange.NOT_FOUND;
+        }
+        if ( TreeNode.generation( cursor ) != unstableGeneration || bTreeNode.hasSubtreeCounts() )
+        {
+            // Removing an entry changes the subtree counts in internal nodes above this leaf
+            return LeafChange.NEEDS_STRUCTURE_CHANGE;
+        }
+
+        keyCount = simplyRemoveFromLeaf( cursor, into, keyCount, positionOf( search ) );
+        return bTreeNode.leafUnderflow( cursor, keyCount ) ? LeafChange.UNDERFLOW : LeafChange.DONE;
+    }
+
+    /**
+     * Rebalance or merge the leaf where {@code key} belongs with its siblings, if it's in underflow. This is the part
+     * of {@link #remove(PageCursor, StructurePropagation, Object, Object, long, long)} that changes the structure of the
+     * tree, for when the key itself was removed by
+     * {@link #removeFromLeafWithoutStructureChange(PageCursor, Object, Object, long)}.
+     * <p>
+     * When this method returns, {@code structurePropagation} will be populated with information about new
+     * generation version of root. This needs to be handled by caller.
+     *
+     * @param cursor {@link PageCursor} pinned to root of tree, right after {@link #initialize(PageCursor, double)}.
+     * @param structurePropagation {@link StructurePropagation} used to report structure changes between tree levels.
+     * @param key key which was removed.
+     * @param stableGeneration stable generation, i.e. generations <= this generation are considered stable.
+     * @param unstableGeneration unstable generation, i.e. generation which is under development right now.
+     * @throws IOException on cursor failure
+     */
+    void rebalanceUnderflowingLeaf( PageCursor cursor, StructurePropagation<KEY> structurePropagation, KEY key,
+            long stableGeneration, long unstableGeneration ) throws IOException
+    {
+        moveToLeaf( cursor, key, stableGeneration, unstableGeneration );
+
+        int keyCount = TreeNode.keyCount( cursor );
+        if ( !bTreeNode.leafUnderflow( cursor, keyCount ) )
+        {
+            // Someone else has inserted into this leaf since the key was removed
+            return;
+        }
+
+        createSuccessorIfNeeded( cursor, structurePropagation, UPDATE_MID_CHILD,
+                stableGeneration, unstableGeneration );
+        underflowInLeaf( cursor, structurePropagation, keyCount, stableGeneration, unstableGeneration );
+
+        handleStructureChanges( cursor, structurePropagation, stableGeneration, unstableGeneration );
+
+        if ( currentLevel <= 0 )
+        {
+            tryShrinkTree( cursor, structurePropagation, stableGeneration, unstableGeneration );
+        }
+    }
+
     private void handleStructureChanges( PageCursor cursor, StructurePropagation<KEY> structurePropagation,
             long stableGeneration, long unstableGeneration ) throws IOException
     {
@@ -852,10 +1071,12 @@ class InternalTreeLogic<KEY,VALUE>
         {
             // Remove key and right child
             long rightChild = bTreeNode.childAt( cursor, pos + 1, stableGeneration, unstableGeneration );
+            long rightChildCount = bTreeNode.hasSubtreeCounts() ? subtreeCountAt( cursor, pos + 1, stableGeneration, unstableGeneration ) : 0;
             bTreeNode.removeKeyAndRightChildAt( cursor, pos, keyCount );
             TreeNode.setKeyCount( cursor, keyCount - 1 );
 
-            doInsertInInternal( cursor, structurePropagation, keyCount - 1, newKey, rightChild, stableGeneration, unstableGeneration );
+            doInsertInInternal( cursor, structurePropagation, keyCount - 1, newKey, rightChild, rightChildCount,
+                    stableGeneration, unstableGeneration );
         }
     }
 
@@ -1061,6 +1282,10 @@ class InternalTreeLogic<KEY,VALUE>
         createSuccessorIfNeeded( cursor, structurePropagation, UPDATE_MID_CHILD,
                 stableGeneration, unstableGeneration );
         keyCount = simplyRemoveFromLeaf( cursor, into, keyCount, pos );
+        if ( bTreeNode.hasSubtreeCounts() )
+        {
+            addToSubtreeCountsOnPath( cursor, -1, stableGeneration, unstableGeneration );
+        }
 
         if ( bTreeNode.leafUnderflow( cursor, keyCount ) )
         {
@@ -1093,6 +1318,10 @@ class InternalTreeLogic<KEY,VALUE>
                     createSuccessorIfNeeded( leftSiblingCursor, structurePropagation, UPDATE_LEFT_CHILD,
                             stableGeneration, unstableGeneration );
                     rebalanceLeaf( leftSiblingCursor, leftSiblingKeyCount, cursor, keyCount, keysToRebalance , structurePropagation );
+                    if ( bTreeNode.hasSubtreeCounts() )
+                    {
+                        moveSubtreeCountFromLeftSibling( cursor, keysToRebalance, stableGeneration, unstableGeneration );
+                    }
                 }
                 else if ( keysToRebalance == -1 )
                 {
@@ -1100,6 +1329,10 @@ class InternalTreeLogic<KEY,VALUE>
                     // Parent pointer will be updated later.
                     mergeFromLeftSiblingLeaf( cursor, leftSiblingCursor, structurePropagation, keyCount,
                             leftSiblingKeyCount, stableGeneration, unstableGeneration );
+                    if ( bTreeNode.hasSubtreeCounts() )
+                    {
+                        moveSubtreeCountFromLeftSibling( cursor, leftSiblingKeyCount, stableGeneration, unstableGeneration );
+                    }
                 }
             }
         }
@@ -1117,6 +1350,10 @@ class InternalTreeLogic<KEY,VALUE>
                             stableGeneration, unstableGeneration );
                     mergeToRightSiblingLeaf( cursor, rightSiblingCursor, structurePropagation, keyCount,
                             rightSiblingKeyCount, stableGeneration, unstableGeneration);
+                    if ( bTreeNode.hasSubtreeCounts() )
+                    {
+                        moveSubtreeCountToRightSibling( cursor, keyCount, stableGeneration, unstableGeneration );
+                    }
                 }
             }
         }
@@ -1205,6 +1442,107 @@ class InternalTreeLogic<KEY,VALUE>
         bTreeNode.keyAt( rightCursor, structurePropagation.leftKey, 0, LEAF );
     }
 
+    /**
+     * Adds {@code delta} to the subtree counts of all internal nodes on the path down to the leaf that the cursor is at,
+     * after entries were added to or removed from it. Internal nodes are updated in place, like child pointers in
+     * {@link #updateRightmostChildInLeftSibling(PageCursor, long, long, long)}, since the subtree counts are generation safe
+     * and structure changes further up will create successors of them as needed.
+     * <p>
+     * Leaves cursor at same page as when called. No guarantees on offset.
+     */
+    private void addToSubtreeCountsOnPath( PageCursor cursor, long delta, long stableGeneration, long unstableGeneration )
+            throws IOException
+    {
+        if ( currentLevel <= 0 )
+        {
+            return;
+        }
+        try ( PageCursor parentCursor = cursor.openLinkedCursor( levels[currentLevel - 1].treeNodeId ) )
+        {
+            for ( int level = currentLevel - 1; level >= 0; level-- )
+            {
+                TreeNode.goTo( parentCursor, "parent", levels[level].treeNodeId );
+                addToSubtreeCount( parentCursor, levels[level + 1].childPos, delta, stableGeneration, unstableGeneration );
+            }
+        }
+    }
+
+    /**
+     * Moves {@code count} entries from the subtree counts of the left sibling of the leaf that the cursor is at
+     * to the subtree counts of the leaf itself, after entries were moved between them by rebalance or merge.
+     * On each level up from the leaf the two subtrees are either children of the same node, where moving
+     * the count ends, or children of neighbouring nodes, where it continues on the level above.
+     * <p>
+     * Leaves cursor at same page as when called. No guarantees on offset.
+     */
+    private void moveSubtreeCountFromLeftSibling( PageCursor cursor, long count, long stableGeneration, long unstableGeneration )
+            throws IOException
+    {
+        try ( PageCursor parentCursor = cursor.openLinkedCursor( levels[currentLevel - 1].treeNodeId ) )
+        {
+            for ( int level = currentLevel - 1; level >= 0; level-- )
+            {
+                int childPos = levels[level + 1].childPos;
+                TreeNode.goTo( parentCursor, "parent", levels[level].treeNodeId );
+                addToSubtreeCount( parentCursor, childPos, count, stableGeneration, unstableGeneration );
+                if ( childPos > 0 )
+                {
+                    addToSubtreeCount( parentCursor, childPos - 1, -count, stableGeneration, unstableGeneration );
+                    return;
+                }
+
+                long leftSibling = TreeNode.leftSibling( parentCursor, stableGeneration, unstableGeneration );
+                PointerChecking.checkPointer( leftSibling, false );
+                TreeNode.goTo( parentCursor, "left sibling of parent", leftSibling );
+                addToSubtreeCount( parentCursor, TreeNode.keyCount( parentCursor ), -count, stableGeneration, unstableGeneration );
+            }
+        }
+    }
+
+    /**
+     * Moves {@code count} entries from the subtree counts of the leaf that the cursor is at to the subtree counts of
+     * its right sibling, after entries were moved between them by merge. Works like
+     * {@link #moveSubtreeCountFromLeftSibling(PageCursor, long, long, long)}, but in the other direction.
+     * <p>
+     * Leaves cursor at same page as when called. No guarantees on offset.
+     */
+    private void moveSubtreeCountToRightSibling( PageCursor cursor, long count, long stableGeneration, long unstableGeneration )
+            throws IOException
+    {
+        try ( PageCursor parentCursor = cursor.openLinkedCursor( levels[currentLevel - 1].treeNodeId ) )
+        {
+            for ( int level = currentLevel - 1; level >= 0; level-- )
+            {
+                int childPos = levels[level + 1].childPos;
+                TreeNode.goTo( parentCursor, "parent", levels[level].treeNodeId );
+                addToSubtreeCount( parentCursor, childPos, -count, stableGeneration, unstableGeneration );
+                if ( childPos < TreeNode.keyCount( parentCursor ) )
+                {
+                    addToSubtreeCount( parentCursor, childPos + 1, count, stableGeneration, unstableGeneration );
+                    return;
+                }
+
+                long rightSibling = TreeNode.rightSibling( parentCursor, stableGeneration, unstableGeneration );
+                PointerChecking.checkPointer( rightSibling, false );
+                TreeNode.goTo( parentCursor, "right sibling of parent", rightSibling );
+                addToSubtreeCount( parentCursor, 0, count, stableGeneration, unstableGeneration );
+            }
+        }
+    }
+
+    private void addToSubtreeCount( PageCursor cursor, int pos, long delta, long stableGeneration, long unstableGeneration )
+    {
+        long count = subtreeCountAt( cursor, pos, stableGeneration, unstableGeneration ) + delta;
+        bTreeNode.setSubtreeCountAt( cursor, count, pos, stableGeneration, unstableGeneration );
+    }
+
+    private long subtreeCountAt( PageCursor cursor, int pos, long stableGeneration, long unstableGeneration )
+    {
+        long result = bTreeNode.subtreeCountAt( cursor, pos, stableGeneration, unstableGeneration );
+        GenerationSafePointerPair.assertSuccess( result );
+        return GenerationSafePointerPair.pointer( result );
+    }
+
     /**
      * Remove key and value on given position and decrement key count. Deleted value is stored in {@code into}.
      * Key count after remove is returned.
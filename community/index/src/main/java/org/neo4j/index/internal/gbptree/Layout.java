@@ -113,6 +113,31 @@ public interface Layout<KEY, VALUE> extends Comparator<KEY>
      */
     boolean fixedSize();
 
+    /**
+     * Indicate if keys in internal nodes of new trees should be stored relative to a prefix that is shared by keys in the same node.
+     * Only applies to layouts which aren't {@link #fixedSize() fixed size}. It's worth it for layouts where neighbouring keys
+     * tend to start with the same bytes, which means more keys fit in each internal node and trees get fewer levels.
+     * The format is recorded in the tree meta, trees created without it keep their format also when opened with a layout that has it.
+     * @return true if key prefixes should be compressed, otherwise false.
+     */
+    default boolean compressKeyPrefixes()
+    {
+        return false;
+    }
+
+    /**
+     * Indicate if internal nodes of new trees should keep the number of entries in the subtree of each child, which allows
+     * counting the entries in a key range without visiting the leaves, see {@link GBPTree#count(Object, Object)}.
+     * It costs some space in internal nodes and updates of all internal nodes on the path down to a leaf whenever
+     * an entry is added to or removed from it. Like for {@link #compressKeyPrefixes()} this is recorded in the tree meta,
+     * trees created without counts keep their format also when opened with a layout that has it.
+     * @return true if internal nodes should keep subtree entry counts, otherwise false.
+     */
+    default boolean countSubtreeEntries()
+    {
+        return false;
+    }
+
     /**
      * Find shortest key (best effort) that separate left from right in sort order
      * and initialize into with result.
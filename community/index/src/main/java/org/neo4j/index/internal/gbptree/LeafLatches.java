@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Latches which give {@link GBPTree#parallelWriter() parallel writers} exclusive access to the leaf they are changing.
+ * Tree node ids are mapped onto a fixed number of latches, which can't deadlock since a writer never holds more than
+ * one latch at a time. Two writers in different leaves may occasionally contend for the same latch, which only
+ * costs a little waiting.
+ */
+class LeafLatches
+{
+    private static final int LATCH_COUNT = 1 << 10;
+    private static final int LATCH_MASK = LATCH_COUNT - 1;
+
+    private final ReentrantLock[] latches = new ReentrantLock[LATCH_COUNT];
+
+    LeafLatches()
+    {
+        for ( int i = 0; i < latches.length; i++ )
+        {
+            latches[i] = new ReentrantLock();
+        }
+    }
+
+    void acquire( long treeNodeId )
+    {
+        latch( treeNodeId ).lock();
+    }
+
+    void release( long treeNodeId )
+    {
+        latch( treeNodeId ).unlock();
+    }
+
+    private ReentrantLock latch( long treeNodeId )
+    {
+        return latches[(int) (treeNodeId ^ (treeNodeId >>> 32)) & LATCH_MASK];
+    }
+}
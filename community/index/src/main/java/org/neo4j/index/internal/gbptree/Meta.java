@@ -167,9 +167,11 @@ public class Meta
                     layout.identifier(), layout.majorVersion(), layout.minorVersion() );
         }
 
+        // Format versions are sets of optional features, one bit each. A layout can open trees created with a subset
+        // of the features it would create trees with, the tree will then keep using the format version it was created with
         Factory formatByLayout = TreeNodeSelector.selectByLayout( layout );
         if ( formatByLayout.formatIdentifier() != formatIdentifier ||
-             formatByLayout.formatVersion() != formatVersion )
+             (formatVersion & ~formatByLayout.formatVersion()) != 0 )
         {
             throw new MetadataMismatchException( "Tried to open using layout not compatible with what index was created with. " +
                     "Created with formatIdentifier:%d,formatVersion:%d. Opened with formatIdentifier:%d,formatVersion%d",
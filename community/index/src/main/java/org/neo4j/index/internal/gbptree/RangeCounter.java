@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import java.io.IOException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.neo4j.io.pagecache.PageCursor;
+
+import static org.neo4j.index.internal.gbptree.GenerationSafePointerPair.pointer;
+import static org.neo4j.index.internal.gbptree.PageCursorUtil.checkOutOfBounds;
+import static org.neo4j.index.internal.gbptree.TreeNode.Type.INTERNAL;
+import static org.neo4j.index.internal.gbptree.TreeNode.Type.LEAF;
+
+/**
+ * Counts number of entries in a key range of a tree which {@link TreeNode#hasSubtreeCounts() has subtree counts}
+ * by making two traversals from root down to leaf, one for each end of the range, summing up the subtree counts
+ * of the children to the left of the traversed path on each level. The count is the difference between the two
+ * ranks, so the cost is logarithmic in the size of the tree, regardless of the size of the range.
+ * <p>
+ * Traversals are made the same way as in {@link SeekCursor}, i.e. optimistically reading without locks,
+ * retrying reads on {@link PageCursor#shouldRetry()} and starting over from root if ending up on an unexpected
+ * node as a result of concurrent changes. The count is exact given that there are no concurrent changes
+ * to the range while counting.
+ * <p>
+ * An estimate can be had by stopping the traversals on the level right above the leaves and assuming that
+ * the range boundary splits the subtree of the child it ends up in evenly. This saves reading the leaves,
+ * which is where most of the page faults are for a cold tree.
+ *
+ * @param <KEY> type of keys in the tree.
+ * @param <VALUE> type of values in the tree.
+ */
+class RangeCounter<KEY,VALUE>
+{
+    static final int EXACT = -1;
+
+    private final PageCursor cursor;
+    private final TreeNode<KEY,VALUE> bTreeNode;
+    private final Layout<KEY,VALUE> layout;
+    private final LongSupplier generationSupplier;
+    private final Supplier<Root> rootSupplier;
+    private final RootCatchup rootCatchup;
+    private final GenerationKeeper generationKeeper = new GenerationKeeper();
+    private final KEY readKey;
+
+    private long stableGeneration;
+    private long unstableGeneration;
+
+    /**
+     * Depth of the leaf level as seen by the most recent exact traversal, or {@code -1} if not yet known.
+     */
+    private int leafDepth = -1;
+
+    /**
+     * Node id and child position that the most recent estimating traversal stopped at.
+     */
+    private long stoppedAtNode;
+    private int stoppedAtPos;
+
+    RangeCounter( PageCursor cursor, TreeNode<KEY,VALUE> bTreeNode, Layout<KEY,VALUE> layout,
+            LongSupplier generationSupplier, Supplier<Root> rootSupplier )
+    {
+        this.cursor = cursor;
+        this.bTreeNode = bTreeNode;
+        this.layout = layout;
+        this.generationSupplier = generationSupplier;
+        this.rootSupplier = rootSupplier;
+        this.rootCatchup = new TripCountingRootCatchup( rootSupplier );
+        this.readKey = layout.newKey();
+    }
+
+    /**
+     * Counts number of entries in the given range, with the same range semantics as {@link GBPTree#seek(Object, Object)},
+     * i.e. including {@code fromInclusive} and excluding {@code toExclusive} regardless of the direction of the range.
+     *
+     * @param fromInclusive lower bound of the range to count (inclusive).
+     * @param toExclusive higher bound of the range to count (exclusive).
+     * @param estimateAtDepth depth (root being at depth 0) of internal nodes to stop traversals at and estimate
+     * the remainder, or {@link #EXACT} for an exact count. If the tree isn't deep enough the count will be exact.
+     * @return number of entries in the range.
+     * @throws IOException on {@link PageCursor} error.
+     */
+    long count( KEY fromInclusive, KEY toExclusive, int estimateAtDepth ) throws IOException
+    {
+        boolean forward = layout.compare( fromInclusive, toExclusive ) <= 0;
+        KEY low = forward ? fromInclusive : toExclusive;
+        KEY high = forward ? toExclusive : fromInclusive;
+        // Forward range is [low,high), backwards range is (low,high]
+        boolean inclusive = !forward;
+
+        if ( estimateAtDepth != EXACT )
+        {
+            long highRank = rank( high, inclusive, estimateAtDepth );
+            long highStoppedAtNode = stoppedAtNode;
+            int highStoppedAtPos = stoppedAtPos;
+            long lowRank = rank( low, inclusive, estimateAtDepth );
+            if ( stoppedAtNode == TreeNode.NO_NODE_FLAG || stoppedAtNode != highStoppedAtNode || stoppedAtPos != highStoppedAtPos )
+            {
+                return Math.max( 0, highRank - lowRank );
+            }
+            // Both ends of the range are within the subtree of the same child and so the estimate would say nothing,
+            // do an exact count instead.
+        }
+        return Math.max( 0, rank( high, inclusive, EXACT ) - rank( low, inclusive, EXACT ) );
+    }
+
+    /**
+     * @return depth of the leaf level as seen by the most recent exact traversal, or {@code -1} if not known.
+     */
+    int leafDepth()
+    {
+        return leafDepth;
+    }
+
+    /**
+     * @return number of entries in the tree which are smaller than, or if {@code inclusive} smaller than or equal to, {@code key}.
+     */
+    private long rank( KEY key, boolean inclusive, int estimateAtDepth ) throws IOException
+    {
+        stoppedAtNode = TreeNode.NO_NODE_FLAG;
+        long rank;
+        int depth;
+        boolean isInternal;
+        int keyCount;
+        int searchResult;
+        int pos;
+        long pointerId;
+        long pointerGeneration;
+        long successor;
+        long successorGeneration;
+        long sumLeftOf;
+        long countAt;
+        boolean sane;
+        boolean pointersRead;
+
+        Root root = startFromRoot( rootSupplier.get() );
+        long expectedGeneration = root.generation();
+        rank = 0;
+        depth = 0;
+        while ( true )
+        {
+            // Read
+            do
+            {
+                isInternal = false;
+                keyCount = 0;
+                searchResult = 0;
+                pos = 0;
+                pointerId = TreeNode.NO_NODE_FLAG;
+                pointerGeneration = 0;
+                successor = TreeNode.NO_NODE_FLAG;
+                successorGeneration = 0;
+                sumLeftOf = 0;
+                countAt = 0;
+                sane = false;
+                pointersRead = true;
+
+                if ( TreeNode.nodeType( cursor ) != TreeNode.NODE_TYPE_TREE_NODE ||
+                        TreeNode.generation( cursor ) > expectedGeneration )
+                {
+                    continue;
+                }
+                successor = TreeNode.successor( cursor, stableGeneration, unstableGeneration, generationKeeper );
+                successorGeneration = generationKeeper.generation;
+                pointersRead = GenerationSafePointerPair.isSuccess( successor );
+                isInternal = TreeNode.isInternal( cursor );
+                keyCount = TreeNode.keyCount( cursor );
+                if ( !bTreeNode.reasonableKeyCount( keyCount ) )
+                {
+                    continue;
+                }
+
+                searchResult = KeySearch.search( cursor, bTreeNode, isInternal ? INTERNAL : LEAF, key, readKey, keyCount );
+                if ( !KeySearch.isSuccess( searchResult ) )
+                {
+                    continue;
+                }
+                pos = KeySearch.positionOf( searchResult );
+                boolean hit = KeySearch.isHit( searchResult );
+                if ( !isInternal )
+                {
+                    sumLeftOf = pos + (hit && inclusive ? 1 : 0);
+                    sane = true;
+                    continue;
+                }
+
+                // Keys equal to a separator key lives in the subtree to the right of it
+                if ( hit )
+                {
+                    pos++;
+                }
+                pointerId = bTreeNode.childAt( cursor, pos, stableGeneration, unstableGeneration, generationKeeper );
+                pointerGeneration = generationKeeper.generation;
+                pointersRead &= GenerationSafePointerPair.isSuccess( pointerId );
+                pointerId = pointer( pointerId );
+                sane = true;
+                for ( int i = 0; i <= pos; i++ )
+                {
+                    long result = bTreeNode.subtreeCountAt( cursor, i, stableGeneration, unstableGeneration );
+                    pointersRead &= GenerationSafePointerPair.isSuccess( result );
+                    if ( i < pos )
+                    {
+                        sumLeftOf += pointer( result );
+                    }
+                    else
+                    {
+                        countAt = pointer( result );
+                    }
+                }
+            }
+            while ( cursor.shouldRetry() );
+            checkOutOfBounds( cursor );
+            cursor.checkAndClearCursorException();
+
+            // Act
+            if ( TreeNode.nodeType( cursor ) != TreeNode.NODE_TYPE_TREE_NODE || TreeNode.generation( cursor ) > expectedGeneration ||
+                    !pointersRead )
+            {
+                // Ended up on a node which has been reused since we followed the pointer to it, or a checkpoint has happened
+                // since we read the generation so that pointers can't be read, start over from root with current generation
+                root = startFromRoot( rootCatchup.catchupFrom( cursor.getCurrentPageId() ) );
+                expectedGeneration = root.generation();
+                rank = 0;
+                depth = 0;
+                continue;
+            }
+            successor = pointer( successor );
+            if ( TreeNode.isNode( successor ) )
+            {
+                TreeNode.goTo( cursor, "successor", successor );
+                expectedGeneration = successorGeneration;
+                continue;
+            }
+            if ( !sane || (isInternal && !TreeNode.isNode( pointerId )) )
+            {
+                throw new TreeInconsistencyException( "Read inconsistent tree node %d while counting%n" +
+                        "  isInternal:%b%n  keyCount:%d%n  searchResult:%d%n  pos:%d%n  childId:%d%n  childIdGeneration:%d",
+                        cursor.getCurrentPageId(), isInternal, keyCount, searchResult, pos, pointerId, pointerGeneration );
+            }
+
+            if ( !isInternal )
+            {
+                leafDepth = depth;
+                return rank + sumLeftOf;
+            }
+            if ( depth == estimateAtDepth )
+            {
+                stoppedAtNode = cursor.getCurrentPageId();
+                stoppedAtPos = pos;
+                return rank + sumLeftOf + countAt / 2;
+            }
+            rank += sumLeftOf;
+            depth++;
+            TreeNode.goTo( cursor, "child", pointerId );
+            expectedGeneration = pointerGeneration;
+        }
+    }
+
+    private Root startFromRoot( Root root ) throws IOException
+    {
+        long generation = generationSupplier.getAsLong();
+        stableGeneration = Generation.stableGeneration( generation );
+        unstableGeneration = Generation.unstableGeneration( generation );
+        root.goTo( cursor );
+        return root;
+    }
+}
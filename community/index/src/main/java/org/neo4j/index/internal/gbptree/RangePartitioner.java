@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.neo4j.io.pagecache.PageCursor;
+
+import static org.neo4j.index.internal.gbptree.GenerationSafePointerPair.pointer;
+import static org.neo4j.index.internal.gbptree.PageCursorUtil.checkOutOfBounds;
+import static org.neo4j.index.internal.gbptree.TreeNode.Type.INTERNAL;
+
+/**
+ * Splits a key range into sub-ranges of roughly the same number of entries, for seeking a range from multiple threads
+ * in parallel. Edges of the sub-ranges are separator keys picked from the highest level of internal nodes, going from
+ * root and down, which has enough separator keys within the range. Since nodes on the same level of the tree have
+ * similar fill, the subtrees between separators on the same level have roughly the same number of entries.
+ * <p>
+ * Nodes are read optimistically without locks, like in {@link SeekCursor}. Concurrent changes to the tree can only
+ * make the partitions less balanced, never wrong, since any sorted set of keys within the range splits it into
+ * non-overlapping sub-ranges which together cover the whole range.
+ *
+ * @param <KEY> type of keys in the tree.
+ * @param <VALUE> type of values in the tree.
+ */
+class RangePartitioner<KEY,VALUE>
+{
+    private final PageCursor cursor;
+    private final TreeNode<KEY,VALUE> bTreeNode;
+    private final Layout<KEY,VALUE> layout;
+    private final long stableGeneration;
+    private final long unstableGeneration;
+
+    RangePartitioner( PageCursor cursor, TreeNode<KEY,VALUE> bTreeNode, Layout<KEY,VALUE> layout, long stableGeneration, long unstableGeneration )
+    {
+        this.cursor = cursor;
+        this.bTreeNode = bTreeNode;
+        this.layout = layout;
+        this.stableGeneration = stableGeneration;
+        this.unstableGeneration = unstableGeneration;
+    }
+
+    /**
+     * @param rootId id of the root node to start from.
+     * @param fromInclusive lower bound of the range to partition (inclusive).
+     * @param toExclusive higher bound of the range to partition (exclusive).
+     * @param desiredNumberOfPartitions number of partitions that caller would like to get. The actual number may be lower,
+     * for small trees or ranges, but never higher.
+     * @return edges of the partitions, starting with {@code fromInclusive} and ending with {@code toExclusive}, where each
+     * two consecutive keys are the inclusive and exclusive bounds of a partition.
+     * @throws IOException on {@link PageCursor} error.
+     */
+    List<KEY> partition( long rootId, KEY fromInclusive, KEY toExclusive, int desiredNumberOfPartitions ) throws IOException
+    {
+        List<KEY> separators = Collections.emptyList();
+        List<Long> level = Collections.singletonList( rootId );
+        while ( !level.isEmpty() && separators.size() < desiredNumberOfPartitions - 1 )
+        {
+            List<KEY> keysOnLevel = new ArrayList<>();
+            List<Long> nextLevel = new ArrayList<>();
+            for ( long nodeId : level )
+            {
+                if ( !readInternalNode( nodeId, fromInclusive, toExclusive, keysOnLevel, nextLevel ) )
+                {
+                    // Reached the leaves, or a node which has changed under our feet, go with what we've got
+                    nextLevel.clear();
+                    break;
+                }
+            }
+            if ( keysOnLevel.size() > separators.size() )
+            {
+                separators = keysOnLevel;
+            }
+            level = nextLevel;
+        }
+
+        // Keys of the different nodes may be out of order if the tree has changed while reading it
+        separators.sort( layout );
+        List<KEY> edges = new ArrayList<>();
+        edges.add( layout.copyKey( fromInclusive, layout.newKey() ) );
+        int numberOfPartitions = Math.min( desiredNumberOfPartitions, separators.size() + 1 );
+        for ( int partition = 1; partition < numberOfPartitions; partition++ )
+        {
+            KEY separator = separators.get( partition * separators.size() / numberOfPartitions );
+            if ( layout.compare( separator, edges.get( edges.size() - 1 ) ) > 0 )
+            {
+                edges.add( separator );
+            }
+        }
+        edges.add( layout.copyKey( toExclusive, layout.newKey() ) );
+        return edges;
+    }
+
+    /**
+     * Reads the keys within the range from the internal node with the given id, along with the ids of its children
+     * whose subtrees overlap the range.
+     *
+     * @return {@code true} if the node is an internal node which could be read, otherwise {@code false}.
+     */
+    private boolean readInternalNode( long nodeId, KEY fromInclusive, KEY toExclusive, List<KEY> keys, List<Long> children )
+            throws IOException
+    {
+        int keysBefore = keys.size();
+        int childrenBefore = children.size();
+        boolean internal;
+        TreeNode.goTo( cursor, "partition", nodeId );
+        do
+        {
+            trim( keys, keysBefore );
+            trim( children, childrenBefore );
+            internal = TreeNode.nodeType( cursor ) == TreeNode.NODE_TYPE_TREE_NODE && TreeNode.isInternal( cursor );
+            int keyCount = TreeNode.keyCount( cursor );
+            if ( !internal || !bTreeNode.reasonableKeyCount( keyCount ) )
+            {
+                internal = false;
+                continue;
+            }
+
+            // Child at pos has keys in the range [key(pos-1),key(pos)), so it overlaps the range if key(pos-1) < toExclusive
+            // and key(pos) > fromInclusive.
+            boolean previousKeyBelowTo = true;
+            for ( int pos = 0; pos <= keyCount && previousKeyBelowTo; pos++ )
+            {
+                KEY key = null;
+                boolean keyAboveFrom = true;
+                if ( pos < keyCount )
+                {
+                    key = bTreeNode.keyAt( cursor, layout.newKey(), pos, INTERNAL );
+                    keyAboveFrom = layout.compare( key, fromInclusive ) > 0;
+                }
+                if ( keyAboveFrom )
+                {
+                    long child = bTreeNode.childAt( cursor, pos, stableGeneration, unstableGeneration );
+                    if ( TreeNode.isNode( pointer( child ) ) && GenerationSafePointerPair.isSuccess( child ) )
+                    {
+                        children.add( pointer( child ) );
+                    }
+                }
+                previousKeyBelowTo = key != null && layout.compare( key, toExclusive ) < 0;
+                if ( keyAboveFrom && previousKeyBelowTo )
+                {
+                    keys.add( key );
+                }
+            }
+        }
+        while ( cursor.shouldRetry() );
+        checkOutOfBounds( cursor );
+        cursor.checkAndClearCursorException();
+        return internal;
+    }
+
+    private static void trim( List<?> list, int size )
+    {
+        while ( list.size() > size )
+        {
+            list.remove( list.size() - 1 );
+        }
+    }
+}
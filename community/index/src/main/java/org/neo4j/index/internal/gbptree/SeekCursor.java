@@ -28,6 +28,7 @@ import java.util.function.LongSupplier;
 
 import org.neo4j.cursor.RawCursor;
 import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.util.FeatureToggles;
 
 import static org.neo4j.index.internal.gbptree.PageCursorUtil.checkOutOfBounds;
 import static org.neo4j.index.internal.gbptree.TreeNode.Type.INTERNAL;
@@ -146,6 +147,12 @@ class SeekCursor<KEY,VALUE> implements RawCursor<Hit<KEY,VALUE>,IOException>, Hi
 {
     static final int DEFAULT_MAX_READ_AHEAD = 20;
 
+    /**
+     * Maximum number of leaves, following the first leaf of a range seek, that the seeker will ask the page cache to
+     * prefetch. These are the relevant siblings of the first leaf, as seen from their common parent.
+     */
+    static final int MAX_PREFETCH_LEAVES = FeatureToggles.getInteger( SeekCursor.class, "maxPrefetchLeaves", 16 );
+
     /**
      * Cursor for reading from tree nodes and also will be moved around when following pointers.
      */
@@ -396,6 +403,22 @@ class SeekCursor<KEY,VALUE> implements RawCursor<Hit<KEY,VALUE>,IOException>, Hi
      */
     private final GenerationKeeper generationKeeper = new GenerationKeeper();
 
+    /**
+     * Ids of the leaves to prefetch, collected from the last internal node on the way down to the first leaf.
+     * {@code null} for exact match seeks, which only ever visit a single leaf.
+     */
+    private final long[] prefetchPageIds;
+
+    /**
+     * Number of valid ids in {@link #prefetchPageIds}.
+     */
+    private int prefetchCount;
+
+    /**
+     * Key instance to use when reading the keys of internal nodes, to decide which leaves to prefetch.
+     */
+    private final KEY prefetchKey;
+
     @SuppressWarnings( "unchecked" )
     SeekCursor( PageCursor cursor, TreeNode<KEY,VALUE> bTreeNode, KEY fromInclusive, KEY toExclusive,
             Layout<KEY,VALUE> layout, long stableGeneration, long unstableGeneration, LongSupplier generationSupplier,
@@ -424,6 +447,9 @@ class SeekCursor<KEY,VALUE> implements RawCursor<Hit<KEY,VALUE>,IOException>, Hi
         this.stride = seekForward ? 1 : -1;
         this.expectedFirstAfterGoToNext = layout.newKey();
         this.firstKeyInNode = layout.newKey();
+        boolean prefetch = !exactMatch && MAX_PREFETCH_LEAVES > 0;
+        this.prefetchPageIds = prefetch ? new long[MAX_PREFETCH_LEAVES] : null;
+        this.prefetchKey = prefetch ? layout.newKey() : null;
 
         try
         {
@@ -474,6 +500,10 @@ class SeekCursor<KEY,VALUE> implements RawCursor<Hit<KEY,VALUE>,IOException>, Hi
                 {
                     pointerId = bTreeNode.childAt( cursor, pos, stableGeneration, unstableGeneration, generationKeeper );
                     pointerGeneration = generationKeeper.generation;
+                    if ( prefetchPageIds != null )
+                    {
+                        prefetchCount = collectLeavesToPrefetch();
+                    }
                 }
             }
             while ( cursor.shouldRetry() );
@@ -509,6 +539,14 @@ class SeekCursor<KEY,VALUE> implements RawCursor<Hit<KEY,VALUE>,IOException>, Hi
         }
         while ( isInternal );
 
+        // We've now come to the first relevant leaf. The rest of the range is likely to continue in its siblings,
+        // so have the page cache fault those in while we scan this one.
+        if ( prefetchCount > 0 )
+        {
+            cursor.prefetch( prefetchPageIds, 0, prefetchCount );
+            prefetchCount = 0;
+        }
+
         // We've now come to the first relevant leaf, initialize the state for the coming leaf scan
         pos -= stride;
         if ( !seekForward )
@@ -520,6 +558,48 @@ class SeekCursor<KEY,VALUE> implements RawCursor<Hit<KEY,VALUE>,IOException>, Hi
         cachedLength = 0;
     }
 
+    /**
+     * Read the children of the current internal node that follow the child at {@link #pos}, in seek direction, and
+     * that may hold keys within the seek range. This is an optimistic read, like any other read of the node, and is
+     * to be retried if {@link PageCursor#shouldRetry()} says so.
+     *
+     * @return the number of child ids placed in {@link #prefetchPageIds}.
+     */
+    private int collectLeavesToPrefetch()
+    {
+        int count = 0;
+        int child = pos + stride;
+        while ( count < prefetchPageIds.length && child >= 0 && child <= keyCount )
+        {
+            // Child i holds the keys in the range [key(i-1),key(i)), so it is within the seek range if its lower
+            // bound is below the end of a forward seek, or its upper bound is above the end of a backward seek.
+            if ( seekForward )
+            {
+                bTreeNode.keyAt( cursor, prefetchKey, child - 1, INTERNAL );
+                if ( layout.compare( prefetchKey, toExclusive ) >= 0 )
+                {
+                    break;
+                }
+            }
+            else
+            {
+                bTreeNode.keyAt( cursor, prefetchKey, child, INTERNAL );
+                if ( layout.compare( prefetchKey, toExclusive ) <= 0 )
+                {
+                    break;
+                }
+            }
+            long result = bTreeNode.childAt( cursor, child, stableGeneration, unstableGeneration );
+            if ( !GenerationSafePointerPair.isSuccess( result ) )
+            {
+                break;
+            }
+            prefetchPageIds[count++] = GenerationSafePointerPair.pointer( result );
+            child += stride;
+        }
+        return count;
+    }
+
     @Override
     public boolean next() throws IOException
     {
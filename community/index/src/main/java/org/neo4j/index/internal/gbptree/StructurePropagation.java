@@ -119,6 +119,16 @@ class StructurePropagation<KEY>
      * New right sibling to {@link #midChild}, depending on {@link #hasRightKeyInsert} this can be simple replace of an insert.
      */
     long rightChild;
+
+    /**
+     * Number of entries in the subtree of {@link #midChild} after a split, for trees with subtree counts.
+     */
+    long midChildCount;
+
+    /**
+     * Number of entries in the subtree of {@link #rightChild} when it's inserted by a split, for trees with subtree counts.
+     */
+    long rightChildCount;
     /* </CONTENT> */
 
     /* <ACTIONS> */
@@ -69,13 +69,22 @@ abstract class TreeNode<KEY,VALUE>
 
     static final int NO_KEY_VALUE_SIZE_CAP = -1;
 
+    static final int SIZE_SUBTREE_COUNT = GenerationSafePointerPair.SIZE;
+
     final Layout<KEY,VALUE> layout;
     final int pageSize;
+    final boolean subtreeCounts;
 
     TreeNode( int pageSize, Layout<KEY,VALUE> layout )
+    {
+        this( pageSize, layout, false );
+    }
+
+    TreeNode( int pageSize, Layout<KEY,VALUE> layout, boolean subtreeCounts )
     {
         this.pageSize = pageSize;
         this.layout = layout;
+        this.subtreeCounts = subtreeCounts;
     }
 
     static byte nodeType( PageCursor cursor )
@@ -291,6 +300,64 @@ abstract class TreeNode<KEY,VALUE>
         GenerationSafePointerPair.assertSuccess( write );
     }
 
+    /**
+     * @return whether or not internal nodes of this format keep the number of entries in the subtree of each child.
+     */
+    boolean hasSubtreeCounts()
+    {
+        return subtreeCounts;
+    }
+
+    /**
+     * Reads the number of entries in the subtree of child at {@code pos}. Only for formats which {@link #hasSubtreeCounts() has subtree counts}.
+     * The count is stored in a generation safe pair next to the child pointer, so it's only to be trusted if
+     * {@link GenerationSafePointerPair#isSuccess(long)} and the cursor doesn't need to retry the read.
+     *
+     * @return the result of reading the count, check using {@link GenerationSafePointerPair#isSuccess(long)} and
+     * get the count using {@link GenerationSafePointerPair#pointer(long)}.
+     */
+    long subtreeCountAt( PageCursor cursor, int pos, long stableGeneration, long unstableGeneration )
+    {
+        cursor.setOffset( subtreeCountOffset( pos ) );
+        return read( cursor, stableGeneration, unstableGeneration, NO_GENERATION_TARGET );
+    }
+
+    /**
+     * Sets the number of entries in the subtree of child at {@code pos}. Only for formats which {@link #hasSubtreeCounts() has subtree counts}.
+     */
+    void setSubtreeCountAt( PageCursor cursor, long count, int pos, long stableGeneration, long unstableGeneration )
+    {
+        cursor.setOffset( subtreeCountOffset( pos ) );
+        long write = GenerationSafePointerPair.writeValue( cursor, count, stableGeneration, unstableGeneration );
+        GenerationSafePointerPair.assertSuccess( write );
+    }
+
+    /**
+     * @return number of entries in the subtree of node that cursor is at, i.e. key count of a leaf or the sum of
+     * the subtree counts of all children of an internal node. Only to be called from writers.
+     */
+    long subtreeCount( PageCursor cursor, long stableGeneration, long unstableGeneration )
+    {
+        int keyCount = keyCount( cursor );
+        if ( isLeaf( cursor ) )
+        {
+            return keyCount;
+        }
+        long count = 0;
+        for ( int pos = 0; pos <= keyCount; pos++ )
+        {
+            long result = subtreeCountAt( cursor, pos, stableGeneration, unstableGeneration );
+            GenerationSafePointerPair.assertSuccess( result );
+            count += GenerationSafePointerPair.pointer( result );
+        }
+        return count;
+    }
+
+    private int subtreeCountOffset( int pos )
+    {
+        return childOffset( pos ) + SIZE_PAGE_REFERENCE;
+    }
+
     // HELPERS
 
     abstract int keyValueSizeCap();
@@ -307,6 +374,15 @@ abstract class TreeNode<KEY,VALUE>
 
     abstract int childOffset( int pos );
 
+    /**
+     * @return size of each child in internal nodes, i.e. the child pointer followed by the count of entries in its subtree
+     * for formats which {@link #hasSubtreeCounts() has subtree counts}.
+     */
+    int childSize()
+    {
+        return subtreeCounts ? SIZE_PAGE_REFERENCE + SIZE_SUBTREE_COUNT : SIZE_PAGE_REFERENCE;
+    }
+
     static boolean isNode( long node )
     {
         return GenerationSafePointerPair.pointer( node ) != NO_NODE_FLAG;
@@ -337,6 +413,20 @@ abstract class TreeNode<KEY,VALUE>
      */
     abstract Overflow leafOverflow( PageCursor cursor, int currentKeyCount, KEY newKey, VALUE newValue );
 
+    /**
+     * Used when bulk loading, where keys are always appended last in the node.
+     * @return true if appending new key and value would fill the leaf more than {@code fillFactor} of its capacity,
+     * or not fit at all. A leaf without keys is never considered full.
+     */
+    abstract boolean leafFillExceeded( PageCursor cursor, int currentKeyCount, KEY newKey, VALUE newValue, double fillFactor );
+
+    /**
+     * Used when bulk loading, where keys are always appended last in the node.
+     * @return true if appending new key would fill the internal node more than {@code fillFactor} of its capacity,
+     * or not fit at all. An internal node without keys is never considered full.
+     */
+    abstract boolean internalFillExceeded( PageCursor cursor, int currentKeyCount, KEY newKey, double fillFactor );
+
     /**
      * Clean page with leaf node from garbage to make room for further insert without having to split.
      */
@@ -347,6 +437,13 @@ abstract class TreeNode<KEY,VALUE>
      */
     abstract void defragmentInternal( PageCursor cursor );
 
+    /**
+     * Rewrite keys in page with internal node in a more compact form, if the format supports it and if doing so saves space.
+     * Sizes of keys to insert after this call must be calculated from how the node looks after it.
+     * @return true if the node was rewritten, otherwise false.
+     */
+    abstract boolean compactInternal( PageCursor cursor, int keyCount );
+
     abstract boolean leafUnderflow( PageCursor cursor, int keyCount );
 
     /**
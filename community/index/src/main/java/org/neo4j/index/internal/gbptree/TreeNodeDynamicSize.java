@@ -26,9 +26,12 @@ import org.eclipse.collections.api.stack.primitive.IntStack;
 import org.eclipse.collections.api.stack.primitive.MutableIntStack;
 import org.eclipse.collections.impl.stack.mutable.primitive.IntArrayStack;
 
+import java.nio.BufferUnderflowException;
 import java.util.Arrays;
 import java.util.StringJoiner;
 
+import org.neo4j.io.pagecache.ByteArrayPageCursor;
+import org.neo4j.io.pagecache.CursorException;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.util.VisibleForTesting;
 
@@ -65,12 +68,29 @@ import static org.neo4j.index.internal.gbptree.TreeNode.Type.LEAF;
  * [NODETYPE][TYPE][GENERATION][KEYCOUNT][RIGHTSIBLING][LEFTSIBLING][SUCCESSOR][ALLOCOFFSET][DEADSPACE]|[C0,K0*,C1,K1*,C2,K2*,C3]->  <-[K2,K0,K1]
  *  0         1     2           6         10            34           58         82           84          86
  *
+ * INTERNAL, with key prefix compression (format version 1)
+ * [                                   HEADER   86B                                                   ]|[  KEY_OFFSET_CHILDREN  ]######[  KEYS  ][PREFIX][PREFIXLENGTH]
+ *
+ * With key prefix compression the last byte of an internal node holds the length of a prefix, which is stored right before it.
+ * When that length is zero keys are stored like in version 0, otherwise each key starts with one byte saying how many bytes
+ * of the prefix it shares, followed by its remaining bytes. The prefix is picked by {@link #compactInternal(PageCursor, int)}.
+ * Leaves look the same in both versions.
+ *
+ * INTERNAL, with subtree counts (format version 2, or 3 together with key prefix compression)
+ * [                                   HEADER   86B                                                   ]|[  KEY_OFFSET_CHILDREN  ]######[  KEYS  ]
+ * [NODETYPE][TYPE][GENERATION][KEYCOUNT][RIGHTSIBLING][LEFTSIBLING][SUCCESSOR][ALLOCOFFSET][DEADSPACE]|[C0N0,K0*,C1N1,K1*,C2N2]->  <-[K1,K0]
+ *
+ * With subtree counts each child pointer Cn is followed by Nn, the number of entries in its subtree, stored in a generation
+ * safe pair just like the child pointer. Format versions are bit flags, so the two features can be combined.
+ *
  * See {@link DynamicSizeUtil} for more detailed layout for individual offset array entries and key / key_value entries.
  */
 public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
 {
     static final byte FORMAT_IDENTIFIER = 3;
     static final byte FORMAT_VERSION = 0;
+    static final byte FORMAT_VERSION_KEY_PREFIX_COMPRESSION = 1;
+    static final byte FORMAT_VERSION_SUBTREE_COUNTS = 2;
 
     /**
      * Concepts
@@ -94,6 +114,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
 
     private static final int LEAST_NUMBER_OF_ENTRIES_PER_PAGE = 2;
     private static final int MINIMUM_ENTRY_SIZE_CAP = Long.SIZE;
+    private static final int MAX_KEY_PREFIX_LENGTH = 0xFF;
     private final int keyValueSizeCap;
     private final MutableIntStack deadKeysOffset = new IntArrayStack();
     private final MutableIntStack aliveKeysOffset = new IntArrayStack();
@@ -104,10 +125,29 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
     private final int halfSpace;
     private final KEY tmpKeyLeft;
     private final KEY tmpKeyRight;
+    private final boolean keyPrefixCompression;
+    private final int maxKeyPrefixLength;
+    // Serialized form of the latest key sized by internalKeySize, used by writers only
+    private final byte[] keyBytes;
+    private final PageCursor keyBytesCursor;
+    private int keyBytesLength;
+    private int keyBytesShared;
+    // Readers share this instance with the writer, so each thread reassembles compressed keys in a buffer of its own
+    private final ThreadLocal<KeyBuffer> keyBuffers;
 
     TreeNodeDynamicSize( int pageSize, Layout<KEY,VALUE> layout )
     {
-        super( pageSize, layout );
+        this( pageSize, layout, false );
+    }
+
+    TreeNodeDynamicSize( int pageSize, Layout<KEY,VALUE> layout, boolean keyPrefixCompression )
+    {
+        this( pageSize, layout, keyPrefixCompression, false );
+    }
+
+    TreeNodeDynamicSize( int pageSize, Layout<KEY,VALUE> layout, boolean keyPrefixCompression, boolean subtreeCounts )
+    {
+        super( pageSize, layout, subtreeCounts );
         totalSpace = pageSize - HEADER_LENGTH_DYNAMIC;
         halfSpace = totalSpace / 2;
         keyValueSizeCap = keyValueSizeCapFromPageSize( pageSize );
@@ -122,6 +162,12 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
 
         tmpKeyLeft = layout.newKey();
         tmpKeyRight = layout.newKey();
+
+        this.keyPrefixCompression = keyPrefixCompression;
+        this.maxKeyPrefixLength = Math.min( MAX_KEY_PREFIX_LENGTH, keyValueSizeCap / 4 );
+        this.keyBytes = keyPrefixCompression ? new byte[pageSize] : null;
+        this.keyBytesCursor = keyPrefixCompression ? ByteArrayPageCursor.wrap( keyBytes ) : null;
+        this.keyBuffers = keyPrefixCompression ? ThreadLocal.withInitial( () -> new KeyBuffer( pageSize ) ) : null;
     }
 
     @VisibleForTesting
@@ -133,7 +179,16 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
     @Override
     void writeAdditionalHeader( PageCursor cursor )
     {
-        setAllocOffset( cursor, pageSize );
+        if ( keyPrefixCompression && isInternal( cursor ) )
+        {
+            // Starts out without prefix
+            cursor.putByte( pageSize - 1, (byte) 0 );
+            setAllocOffset( cursor, pageSize - 1 );
+        }
+        else
+        {
+            setAllocOffset( cursor, pageSize );
+        }
         setDeadSpace( cursor, 0 );
     }
 
@@ -146,6 +201,11 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         long keyValueSize = readKeyValueSize( cursor );
         int keySize = extractKeySize( keyValueSize );
         int valueSize = extractValueSize( keyValueSize );
+        if ( type == INTERNAL && hasKeyPrefix( cursor ) )
+        {
+            readPrefixCompressedKey( cursor, into, keySize, keyValueSize, pos );
+            return into;
+        }
         if ( keyValueSizeTooLarge( keySize, valueSize ) || keySize < 0 )
         {
             readUnreliableKeyValueSize( cursor, keySize, valueSize, keyValueSize, pos );
@@ -178,13 +238,13 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
     {
         // Where to write key?
         int currentKeyOffset = getAllocOffset( cursor );
-        int keySize = layout.keySize( key );
+        int keySize = internalKeySize( cursor, key );
         int newKeyOffset = currentKeyOffset - keySize - getOverhead( keySize, 0 );
 
         // Write key
         cursor.setOffset( newKeyOffset );
         putKeySize( cursor, keySize );
-        layout.writeKey( cursor, key );
+        writeInternalKey( cursor, key );
 
         // Update alloc space
         setAllocOffset( cursor, newKeyOffset );
@@ -293,15 +353,15 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         long keyValueSize = readKeyValueSize( cursor );
         int oldKeySize = extractKeySize( keyValueSize );
         int oldValueSize = extractValueSize( keyValueSize );
-        if ( keyValueSizeTooLarge( oldKeySize, oldValueSize ) )
+        if ( keyValueSizeTooLarge( hasKeyPrefix( cursor ) ? oldKeySize - 1 : oldKeySize, oldValueSize ) )
         {
             readUnreliableKeyValueSize( cursor, oldKeySize, oldValueSize, keyValueSize, pos );
         }
-        int newKeySize = layout.keySize( key );
+        int newKeySize = internalKeySize( cursor, key );
         if ( newKeySize == oldKeySize )
         {
             // Fine, we can just overwrite
-            layout.writeKey( cursor, key );
+            writeInternalKey( cursor, key );
             return true;
         }
         return false;
@@ -401,7 +461,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         int deadSpace = getDeadSpace( cursor );
 
         // How much space do we need?
-        int neededSpace = totalSpaceOfKeyChild( newKey );
+        int neededSpace = totalSpaceOfKeyChild( cursor, newKey );
 
         // There is your answer!
         return neededSpace <= allocSpace ? Overflow.NO :
@@ -423,6 +483,30 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
                neededSpace <= allocSpace + deadSpace ? Overflow.NO_NEED_DEFRAG : Overflow.YES;
     }
 
+    @Override
+    boolean leafFillExceeded( PageCursor cursor, int currentKeyCount, KEY newKey, VALUE newValue, double fillFactor )
+    {
+        if ( currentKeyCount == 0 )
+        {
+            return false;
+        }
+        int neededSpace = totalSpaceOfKeyValue( newKey, newValue );
+        return neededSpace > getAllocSpace( cursor, currentKeyCount, LEAF ) ||
+               totalActiveSpace( cursor, currentKeyCount, LEAF ) + neededSpace > totalSpace * fillFactor;
+    }
+
+    @Override
+    boolean internalFillExceeded( PageCursor cursor, int currentKeyCount, KEY newKey, double fillFactor )
+    {
+        if ( currentKeyCount == 0 )
+        {
+            return false;
+        }
+        int neededSpace = totalSpaceOfKeyChild( cursor, newKey );
+        return neededSpace > getAllocSpace( cursor, currentKeyCount, INTERNAL ) ||
+               totalActiveSpace( cursor, currentKeyCount, INTERNAL ) + neededSpace > totalSpace * fillFactor;
+    }
+
     @Override
     void defragmentLeaf( PageCursor cursor )
     {
@@ -435,6 +519,84 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         doDefragment( cursor, INTERNAL );
     }
 
+    @Override
+    boolean compactInternal( PageCursor cursor, int keyCount )
+    {
+        /*
+        Finds the longest prefix shared by all keys in the node and, if it saves space, rewrites
+        all keys relative to that prefix. This also gets rid of any dead keys.
+
+        BEFORE
+        [C0,K0*,C1,K1*,C2]->......<-[K1][K0][PREFIX][PREFIXLENGTH]
+
+        AFTER
+        [C0,K0*,C1,K1*,C2]->.............<-[K1'][K0'][PREFIX'][PREFIXLENGTH']
+        */
+        if ( !keyPrefixCompression || keyCount == 0 )
+        {
+            return false;
+        }
+
+        // Read all keys in full, together with how much space they currently occupy
+        int currentPrefixLength = keyPrefixLength( cursor );
+        int currentSpace = currentPrefixLength + 1;
+        byte[][] keys = new byte[keyCount][];
+        for ( int pos = 0; pos < keyCount; pos++ )
+        {
+            placeCursorAtActualKey( cursor, pos, INTERNAL );
+            int keySize = extractKeySize( readKeyValueSize( cursor ) );
+            currentSpace += getOverhead( keySize, 0 ) + keySize;
+            keys[pos] = readFullInternalKey( cursor, keySize, currentPrefixLength );
+        }
+
+        // Longest prefix shared by all keys
+        byte[] first = keys[0];
+        int prefixLength = Math.min( first.length, maxKeyPrefixLength );
+        for ( int pos = 1; pos < keyCount && prefixLength > 0; pos++ )
+        {
+            prefixLength = sharedLength( first, keys[pos], prefixLength );
+        }
+
+        int compactedSpace = prefixLength + 1;
+        for ( byte[] key : keys )
+        {
+            int keySize = storedKeySize( key.length, prefixLength, prefixLength );
+            compactedSpace += getOverhead( keySize, 0 ) + keySize;
+        }
+        if ( compactedSpace >= currentSpace )
+        {
+            return false;
+        }
+
+        // Rewrite prefix and keys, from the end of the node and down
+        int allocOffset = keyPrefixOffset( prefixLength );
+        cursor.putByte( pageSize - 1, (byte) prefixLength );
+        cursor.setOffset( allocOffset );
+        cursor.putBytes( first, 0, prefixLength );
+        for ( int pos = 0; pos < keyCount; pos++ )
+        {
+            byte[] key = keys[pos];
+            int keySize = storedKeySize( key.length, prefixLength, prefixLength );
+            allocOffset -= getOverhead( keySize, 0 ) + keySize;
+            cursor.setOffset( allocOffset );
+            putKeySize( cursor, keySize );
+            if ( prefixLength > 0 )
+            {
+                cursor.putByte( (byte) prefixLength );
+            }
+            cursor.putBytes( key, prefixLength, key.length - prefixLength );
+            cursor.setOffset( keyPosOffsetInternal( pos ) );
+            putKeyOffset( cursor, allocOffset );
+        }
+
+        // Zero pad reclaimed area
+        int endOfOffsetArray = keyPosOffsetInternal( keyCount );
+        zeroPad( cursor, endOfOffsetArray, allocOffset - endOfOffsetArray );
+        setAllocOffset( cursor, allocOffset );
+        setDeadSpace( cursor, 0 );
+        return true;
+    }
+
     private void doDefragment( PageCursor cursor, Type type )
     {
         /*
@@ -489,7 +651,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         int oldOffsetCursor = 0;
         int newOffsetCursor = 0;
 
-        int aliveRangeOffset = pageSize; // Everything after this point is alive
+        int aliveRangeOffset = keysEndOffset( cursor, type ); // Everything after this point is alive
         int deadRangeOffset; // Everything between this point and aliveRangeOffset is dead space
 
         // Rightmost alive keys does not need to move
@@ -725,6 +887,14 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         }
         int rightKeyCount = keyCountAfterInsert - splitPos - 1; // -1 because don't keep prim key in internal
 
+        if ( keyPrefixCompression )
+        {
+            // Keys are moved as they are, so right starts out with the same prefix as left
+            int keysEnd = keysEndOffset( leftCursor, INTERNAL );
+            leftCursor.copyTo( keysEnd, rightCursor, keysEnd, pageSize - keysEnd );
+            setAllocOffset( rightCursor, keysEnd );
+        }
+
         if ( insertPos < splitPos )
         {
             //                         v-------v       copy
@@ -783,6 +953,10 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         }
         TreeNode.setKeyCount( leftCursor, splitPos );
         TreeNode.setKeyCount( rightCursor, rightKeyCount );
+
+        // Each half covers a narrower range of keys than before, which may allow a longer prefix
+        compactInternal( leftCursor, splitPos );
+        compactInternal( rightCursor, rightKeyCount );
     }
 
     @Override
@@ -897,6 +1071,150 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         return newRightAllocSpace;
     }
 
+    /**
+     * Size of given key when written to the internal node that cursor is at. If the node has a key prefix the serialized key
+     * is kept in {@link #keyBytes}, to be written by a following call to {@link #writeInternalKey(PageCursor, Object)}.
+     */
+    private int internalKeySize( PageCursor cursor, KEY key )
+    {
+        if ( !hasKeyPrefix( cursor ) )
+        {
+            return layout.keySize( key );
+        }
+
+        keyBytesLength = layout.keySize( key );
+        keyBytesCursor.setOffset( 0 );
+        layout.writeKey( keyBytesCursor, key );
+
+        int prefixLength = keyPrefixLength( cursor );
+        int prefixOffset = keyPrefixOffset( prefixLength );
+        int maxShared = Math.min( prefixLength, keyBytesLength );
+        int shared = 0;
+        while ( shared < maxShared && cursor.getByte( prefixOffset + shared ) == keyBytes[shared] )
+        {
+            shared++;
+        }
+        keyBytesShared = shared;
+        return storedKeySize( keyBytesLength, prefixLength, shared );
+    }
+
+    /**
+     * Write key at current offset of cursor, which must be preceded by a call to {@link #internalKeySize(PageCursor, Object)}
+     * for the same key and node.
+     */
+    private void writeInternalKey( PageCursor cursor, KEY key )
+    {
+        if ( !hasKeyPrefix( cursor ) )
+        {
+            layout.writeKey( cursor, key );
+            return;
+        }
+        cursor.putByte( (byte) keyBytesShared );
+        cursor.putBytes( keyBytes, keyBytesShared, keyBytesLength - keyBytesShared );
+    }
+
+    /**
+     * Reads key from internal node with a key prefix, cursor placed right after the key size. Leaves cursor right after the key.
+     */
+    private void readPrefixCompressedKey( PageCursor cursor, KEY into, int keySize, long keyValueSize, int pos )
+    {
+        int prefixLength = keyPrefixLength( cursor );
+        int shared = cursor.getByte() & 0xFF;
+        int suffixLength = keySize - 1;
+        if ( shared > prefixLength || suffixLength < 0 || keyValueSizeTooLarge( shared + suffixLength, 0 ) )
+        {
+            readUnreliableKeyValueSize( cursor, keySize, 0, keyValueSize, pos );
+            return;
+        }
+
+        KeyBuffer buffer = keyBuffers.get();
+        cursor.getBytes( buffer.bytes, shared, suffixLength );
+        int keyEndOffset = cursor.getOffset();
+        cursor.setOffset( keyPrefixOffset( prefixLength ) );
+        cursor.getBytes( buffer.bytes, 0, shared );
+        cursor.setOffset( keyEndOffset );
+
+        buffer.cursor.setOffset( 0 );
+        try
+        {
+            layout.readKey( buffer.cursor, into, shared + suffixLength );
+            buffer.cursor.checkAndClearCursorException();
+        }
+        catch ( CursorException e )
+        {
+            cursor.setCursorException( e.getMessage() );
+        }
+        catch ( BufferUnderflowException | IndexOutOfBoundsException e )
+        {
+            // Only happens when reading inconsistent data, which the reader will notice and retry
+            cursor.setCursorException( format( "Read outside of prefix compressed key, id=%d, keySize=%d, pos=%d",
+                    cursor.getCurrentPageId(), shared + suffixLength, pos ) );
+        }
+    }
+
+    /**
+     * Reads key from internal node, cursor placed right after the key size, with any shared prefix put back in front of it.
+     */
+    private byte[] readFullInternalKey( PageCursor cursor, int keySize, int prefixLength )
+    {
+        if ( prefixLength == 0 )
+        {
+            byte[] key = new byte[keySize];
+            cursor.getBytes( key );
+            return key;
+        }
+        int shared = cursor.getByte() & 0xFF;
+        byte[] key = new byte[shared + keySize - 1];
+        cursor.getBytes( key, shared, keySize - 1 );
+        cursor.setOffset( keyPrefixOffset( prefixLength ) );
+        cursor.getBytes( key, 0, shared );
+        return key;
+    }
+
+    private static int storedKeySize( int keyLength, int prefixLength, int shared )
+    {
+        return prefixLength == 0 ? keyLength : 1 + keyLength - shared;
+    }
+
+    private static int sharedLength( byte[] first, byte[] second, int maxLength )
+    {
+        int length = Math.min( maxLength, second.length );
+        for ( int i = 0; i < length; i++ )
+        {
+            if ( first[i] != second[i] )
+            {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Only meaningful for internal nodes.
+     */
+    private boolean hasKeyPrefix( PageCursor cursor )
+    {
+        return keyPrefixCompression && keyPrefixLength( cursor ) > 0;
+    }
+
+    private int keyPrefixLength( PageCursor cursor )
+    {
+        return cursor.getByte( pageSize - 1 ) & 0xFF;
+    }
+
+    private int keyPrefixOffset( int keyPrefixLength )
+    {
+        return pageSize - 1 - keyPrefixLength;
+    }
+
+    /**
+     * @return offset right after the last key in the node, which is where the key prefix starts in internal nodes using key prefix compression.
+     */
+    private int keysEndOffset( PageCursor cursor, Type type )
+    {
+        return keyPrefixCompression && type == INTERNAL ? keyPrefixOffset( keyPrefixLength( cursor ) ) : pageSize;
+    }
+
     private int getAllocSpace( PageCursor cursor, int keyCount, Type type )
     {
         int allocOffset = getAllocOffset( cursor );
@@ -930,7 +1248,8 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
     private void recordDeadAndAliveInternal( PageCursor cursor, MutableIntStack deadKeysOffset, MutableIntStack aliveKeysOffset )
     {
         int currentOffset = getAllocOffset( cursor );
-        while ( currentOffset < pageSize )
+        int keysEnd = keysEndOffset( cursor, INTERNAL );
+        while ( currentOffset < keysEnd )
         {
             cursor.setOffset( currentOffset );
             long keyValueSize = readKeyValueSize( cursor );
@@ -1020,11 +1339,14 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         int targetLeftSpace = (int) (this.totalSpace * ratioToKeepInLeftOnSplit);
         int splitPos = 0;
         int currentPos = 0;
-        int accumulatedLeftSpace = childSize(); // Leftmost child will always be included in left side
+        // Both left and right will have the key prefix, if any
+        int keyPrefixSpace = pageSize - keysEndOffset( cursor, INTERNAL );
+        int accumulatedLeftSpace = childSize() + keyPrefixSpace; // Leftmost child will always be included in left side
         int currentDelta = Math.abs( accumulatedLeftSpace - targetLeftSpace );
         int prevDelta;
-        int spaceOfNewKeyAndChild = totalSpaceOfKeyChild( newKey );
-        int totalSpaceIncludingNewKeyAndChild = totalActiveSpace( cursor, keyCountAfterInsert - 1, INTERNAL ) + spaceOfNewKeyAndChild;
+        int spaceOfNewKeyAndChild = totalSpaceOfKeyChild( cursor, newKey );
+        int totalSpaceIncludingNewKeyAndChild =
+                totalActiveSpace( cursor, keyCountAfterInsert - 1, INTERNAL ) + spaceOfNewKeyAndChild + keyPrefixSpace;
         boolean includedNew = false;
         boolean prevPosPossible;
         boolean thisPosPossible = false;
@@ -1037,7 +1359,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
             int space;
             if ( currentPos == insertPos & !includedNew )
             {
-                space = totalSpaceOfKeyChild( newKey );
+                space = spaceOfNewKeyAndChild;
                 includedNew = true;
                 currentPos--;
             }
@@ -1155,9 +1477,9 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         return bytesKeyOffset() + getOverhead( keySize, valueSize ) + keySize + valueSize;
     }
 
-    private int totalSpaceOfKeyChild( KEY key )
+    private int totalSpaceOfKeyChild( PageCursor cursor, KEY key )
     {
-        int keySize = layout.keySize( key );
+        int keySize = internalKeySize( cursor, key );
         return bytesKeyOffset() + getOverhead( keySize, 0 ) + childSize() + keySize;
     }
 
@@ -1257,12 +1579,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
 
     private int keyChildSize()
     {
-        return bytesKeyOffset() + SIZE_PAGE_REFERENCE;
-    }
-
-    private int childSize()
-    {
-        return SIZE_PAGE_REFERENCE;
+        return bytesKeyOffset() + childSize();
     }
 
     private static int bytesKeyOffset()
@@ -1294,7 +1611,8 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         // HEADER
         int allocOffset = getAllocOffset( cursor );
         int deadSpace = getDeadSpace( cursor );
-        String additionalHeader = "{" + cursor.getCurrentPageId() + "} [allocOffset=" + allocOffset + " deadSpace=" + deadSpace + "] ";
+        String keyPrefix = keyPrefixCompression && type == INTERNAL ? " keyPrefixLength=" + keyPrefixLength( cursor ) : "";
+        String additionalHeader = "{" + cursor.getCurrentPageId() + "} [allocOffset=" + allocOffset + " deadSpace=" + deadSpace + keyPrefix + "] ";
 
         // OFFSET ARRAY
         String offsetArray = readOffsetArray( cursor, stableGeneration, unstableGeneration, type );
@@ -1310,8 +1628,9 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         KEY readKey = layout.newKey();
         VALUE readValue = layout.newValue();
         StringJoiner keys = new StringJoiner( " " );
+        int keysEnd = keysEndOffset( cursor, type );
         cursor.setOffset( allocOffset );
-        while ( cursor.getOffset() < cursor.getCurrentPageSize() )
+        while ( cursor.getOffset() < keysEnd )
         {
             StringJoiner singleKey = new StringJoiner( "|" );
             singleKey.add( Integer.toString( cursor.getOffset() ) );
@@ -1330,7 +1649,14 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
             {
                 singleKey.add( "_" );
             }
-            layout.readKey( cursor, readKey, keySize );
+            if ( type == INTERNAL && hasKeyPrefix( cursor ) )
+            {
+                readPrefixCompressedKey( cursor, readKey, keySize, keyValueSize, -1 );
+            }
+            else
+            {
+                layout.readKey( cursor, readKey, keySize );
+            }
             if ( type == LEAF )
             {
                 layout.readValue( cursor, readValue, valueSize );
@@ -1407,7 +1733,14 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
             }
         }
 
-        if ( allocOffset < pageSize && allocOffset >= 0 )
+        if ( keyPrefixCompression && type == INTERNAL && keyPrefixLength( cursor ) > maxKeyPrefixLength )
+        {
+            hasInconsistency = true;
+            joiner.add( format( "Key prefix is longer than allowed, keyPrefixLength=%d, maxKeyPrefixLength=%d",
+                    keyPrefixLength( cursor ), maxKeyPrefixLength ) );
+        }
+
+        if ( allocOffset < keysEndOffset( cursor, type ) && allocOffset >= 0 )
         {
             // Verify allocOffset point at start of key
             cursor.setOffset( allocOffset );
@@ -1454,7 +1787,8 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         // Alive keys
         int aliveKeySize = 0;
         int nextKeyOffset = getAllocOffset( cursor );
-        while ( nextKeyOffset < pageSize )
+        int keysEnd = keysEndOffset( cursor, type );
+        while ( nextKeyOffset < keysEnd )
         {
             cursor.setOffset( nextKeyOffset );
             long keyValueSize = readKeyValueSize( cursor );
@@ -1467,7 +1801,9 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
             }
             nextKeyOffset = cursor.getOffset() + keySize + valueSize;
         }
-        return offsetArraySize + aliveKeySize;
+        // Key prefix, if any, is active too
+        int keyPrefixSize = pageSize - keysEnd;
+        return offsetArraySize + aliveKeySize + keyPrefixSize;
     }
 
     private String readAllocSpace( PageCursor cursor, int allocOffset, Type type )
@@ -1509,4 +1845,16 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         }
         return offsetArray.toString();
     }
+
+    private static class KeyBuffer
+    {
+        private final byte[] bytes;
+        private final PageCursor cursor;
+
+        KeyBuffer( int size )
+        {
+            bytes = new byte[size];
+            cursor = ByteArrayPageCursor.wrap( bytes );
+        }
+    }
 }
@@ -50,6 +50,9 @@ import static org.neo4j.index.internal.gbptree.TreeNode.Type.LEAF;
  * Calc offset for child i
  * HEADER_LENGTH + SIZE_KEY * MAX_KEY_COUNT_INTERNAL + i * SIZE_CHILD
  * <p>
+ * With subtree counts (format version 2) each [CHILD] is followed by the number of entries in its subtree,
+ * stored in a generation safe pair just like the child pointer, which makes SIZE_CHILD twice as big.
+ * <p>
  * Using Separate design the leaf nodes should look like
  *
  * <pre>
@@ -71,6 +74,7 @@ class TreeNodeFixedSize<KEY,VALUE> extends TreeNode<KEY,VALUE>
 {
     static final byte FORMAT_IDENTIFIER = 2;
     static final byte FORMAT_VERSION = 0;
+    static final byte FORMAT_VERSION_SUBTREE_COUNTS = 2;
 
     private final int internalMaxKeyCount;
     private final int leafMaxKeyCount;
@@ -79,11 +83,16 @@ class TreeNodeFixedSize<KEY,VALUE> extends TreeNode<KEY,VALUE>
 
     TreeNodeFixedSize( int pageSize, Layout<KEY,VALUE> layout )
     {
-        super( pageSize, layout );
+        this( pageSize, layout, false );
+    }
+
+    TreeNodeFixedSize( int pageSize, Layout<KEY,VALUE> layout, boolean subtreeCounts )
+    {
+        super( pageSize, layout, subtreeCounts );
         this.keySize = layout.keySize( null );
         this.valueSize = layout.valueSize( null );
-        this.internalMaxKeyCount = Math.floorDiv( pageSize - (BASE_HEADER_LENGTH + SIZE_PAGE_REFERENCE),
-                keySize + SIZE_PAGE_REFERENCE);
+        this.internalMaxKeyCount = Math.floorDiv( pageSize - (BASE_HEADER_LENGTH + childSize()),
+                keySize + childSize());
         this.leafMaxKeyCount = Math.floorDiv( pageSize - BASE_HEADER_LENGTH, keySize + valueSize );
 
         if ( internalMaxKeyCount < 2 )
@@ -104,11 +113,6 @@ class TreeNodeFixedSize<KEY,VALUE> extends TreeNode<KEY,VALUE>
     {   // no-op
     }
 
-    private static int childSize()
-    {
-        return SIZE_PAGE_REFERENCE;
-    }
-
     @Override
     KEY keyAt( PageCursor cursor, KEY into, int pos, Type type )
     {
@@ -217,7 +221,7 @@ class TreeNodeFixedSize<KEY,VALUE> extends TreeNode<KEY,VALUE>
     @Override
     int childOffset( int pos )
     {
-        return BASE_HEADER_LENGTH + internalMaxKeyCount * keySize + pos * SIZE_PAGE_REFERENCE;
+        return BASE_HEADER_LENGTH + internalMaxKeyCount * keySize + pos * childSize();
     }
 
     private int internalMaxKeyCount()
@@ -322,6 +326,18 @@ class TreeNodeFixedSize<KEY,VALUE> extends TreeNode<KEY,VALUE>
         return currentKeyCount + 1 > leafMaxKeyCount() ? Overflow.YES : Overflow.NO;
     }
 
+    @Override
+    boolean leafFillExceeded( PageCursor cursor, int currentKeyCount, KEY newKey, VALUE newValue, double fillFactor )
+    {
+        return currentKeyCount > 0 && currentKeyCount + 1 > leafMaxKeyCount() * fillFactor;
+    }
+
+    @Override
+    boolean internalFillExceeded( PageCursor cursor, int currentKeyCount, KEY newKey, double fillFactor )
+    {
+        return currentKeyCount > 0 && currentKeyCount + 1 > internalMaxKeyCount() * fillFactor;
+    }
+
     @Override
     void defragmentLeaf( PageCursor cursor )
     {   // no-op
@@ -332,6 +348,12 @@ class TreeNodeFixedSize<KEY,VALUE> extends TreeNode<KEY,VALUE>
     {   // no-op
     }
 
+    @Override
+    boolean compactInternal( PageCursor cursor, int keyCount )
+    {
+        return false;
+    }
+
     @Override
     boolean leafUnderflow( PageCursor cursor, int keyCount )
     {
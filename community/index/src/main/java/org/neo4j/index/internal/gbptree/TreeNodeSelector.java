@@ -33,50 +33,35 @@ class TreeNodeSelector
     /**
      * Creates {@link TreeNodeFixedSize} instances.
      */
-    static Factory FIXED = new Factory()
-    {
-        @Override
-        public <KEY,VALUE> TreeNode<KEY,VALUE> create( int pageSize, Layout<KEY,VALUE> layout )
-        {
-            return new TreeNodeFixedSize<>( pageSize, layout );
-        }
+    static Factory FIXED = new FixedSizeFactory( false );
 
-        @Override
-        public byte formatIdentifier()
-        {
-            return TreeNodeFixedSize.FORMAT_IDENTIFIER;
-        }
-
-        @Override
-        public byte formatVersion()
-        {
-            return TreeNodeFixedSize.FORMAT_VERSION;
-        }
-    };
+    /**
+     * Creates {@link TreeNodeFixedSize} instances which keep entry counts of subtrees in internal nodes.
+     */
+    static Factory FIXED_SUBTREE_COUNTS = new FixedSizeFactory( true );
 
     /**
      * Creates {@link TreeNodeDynamicSize} instances.
      */
-    static Factory DYNAMIC = new Factory()
-    {
-        @Override
-        public <KEY,VALUE> TreeNode<KEY,VALUE> create( int pageSize, Layout<KEY,VALUE> layout )
-        {
-            return new TreeNodeDynamicSize<>( pageSize, layout );
-        }
+    static Factory DYNAMIC = new DynamicSizeFactory( false, false );
 
-        @Override
-        public byte formatIdentifier()
-        {
-            return TreeNodeDynamicSize.FORMAT_IDENTIFIER;
-        }
+    /**
+     * Creates {@link TreeNodeDynamicSize} instances which compress key prefixes in internal nodes.
+     */
+    static Factory DYNAMIC_KEY_PREFIX_COMPRESSION = new DynamicSizeFactory( true, false );
 
-        @Override
-        public byte formatVersion()
-        {
-            return TreeNodeDynamicSize.FORMAT_VERSION;
-        }
-    };
+    /**
+     * Creates {@link TreeNodeDynamicSize} instances which keep entry counts of subtrees in internal nodes.
+     */
+    static Factory DYNAMIC_SUBTREE_COUNTS = new DynamicSizeFactory( false, true );
+
+    /**
+     * Creates {@link TreeNodeDynamicSize} instances which compress key prefixes and keep entry counts of subtrees in internal nodes.
+     */
+    static Factory DYNAMIC_KEY_PREFIX_COMPRESSION_SUBTREE_COUNTS = new DynamicSizeFactory( true, true );
+
+    private static final Factory[] ALL_FORMATS = {FIXED, FIXED_SUBTREE_COUNTS, DYNAMIC, DYNAMIC_KEY_PREFIX_COMPRESSION, DYNAMIC_SUBTREE_COUNTS,
+            DYNAMIC_KEY_PREFIX_COMPRESSION_SUBTREE_COUNTS};
 
     /**
      * Selects a format based on the given {@link Layout}.
@@ -86,8 +71,18 @@ class TreeNodeSelector
      */
     static Factory selectByLayout( Layout<?,?> layout )
     {
-        // For now the selection is done in a simple fashion, by looking at layout.fixedSize().
-        return layout.fixedSize() ? FIXED : DYNAMIC;
+        // For now the selection is done in a simple fashion, by looking at layout.fixedSize(), layout.compressKeyPrefixes()
+        // and layout.countSubtreeEntries().
+        boolean subtreeCounts = layout.countSubtreeEntries();
+        if ( layout.fixedSize() )
+        {
+            return subtreeCounts ? FIXED_SUBTREE_COUNTS : FIXED;
+        }
+        if ( layout.compressKeyPrefixes() )
+        {
+            return subtreeCounts ? DYNAMIC_KEY_PREFIX_COMPRESSION_SUBTREE_COUNTS : DYNAMIC_KEY_PREFIX_COMPRESSION;
+        }
+        return subtreeCounts ? DYNAMIC_SUBTREE_COUNTS : DYNAMIC;
     }
 
     /**
@@ -99,15 +94,12 @@ class TreeNodeSelector
      */
     static Factory selectByFormat( byte formatIdentifier, byte formatVersion )
     {
-        // For now do a simple selection of the two formats we know. Moving forward this can contain
-        // many more identifiers and different versions of each.
-        if ( formatIdentifier == TreeNodeFixedSize.FORMAT_IDENTIFIER && formatVersion == TreeNodeFixedSize.FORMAT_VERSION )
-        {
-            return FIXED;
-        }
-        else if ( formatIdentifier == TreeNodeDynamicSize.FORMAT_IDENTIFIER && formatVersion == TreeNodeDynamicSize.FORMAT_VERSION )
+        for ( Factory factory : ALL_FORMATS )
         {
-            return DYNAMIC;
+            if ( factory.formatIdentifier() == formatIdentifier && factory.formatVersion() == formatVersion )
+            {
+                return factory;
+            }
         }
         throw new IllegalArgumentException(
                 format( "Unknown format identifier:%d and version:%d combination", formatIdentifier, formatVersion ) );
@@ -146,5 +138,89 @@ class TreeNodeSelector
          * Can return this w/o instantiating the {@link TreeNode}.
          */
         byte formatVersion();
+
+        /**
+         * @return whether or not the {@link TreeNode} that this factory represents keeps entry counts of subtrees in internal nodes.
+         */
+        boolean subtreeCounts();
+    }
+
+    private static class FixedSizeFactory implements Factory
+    {
+        private final boolean subtreeCounts;
+
+        FixedSizeFactory( boolean subtreeCounts )
+        {
+            this.subtreeCounts = subtreeCounts;
+        }
+
+        @Override
+        public <KEY,VALUE> TreeNode<KEY,VALUE> create( int pageSize, Layout<KEY,VALUE> layout )
+        {
+            return new TreeNodeFixedSize<>( pageSize, layout, subtreeCounts );
+        }
+
+        @Override
+        public byte formatIdentifier()
+        {
+            return TreeNodeFixedSize.FORMAT_IDENTIFIER;
+        }
+
+        @Override
+        public byte formatVersion()
+        {
+            return subtreeCounts ? TreeNodeFixedSize.FORMAT_VERSION_SUBTREE_COUNTS : TreeNodeFixedSize.FORMAT_VERSION;
+        }
+
+        @Override
+        public boolean subtreeCounts()
+        {
+            return subtreeCounts;
+        }
+    }
+
+    private static class DynamicSizeFactory implements Factory
+    {
+        private final boolean keyPrefixCompression;
+        private final boolean subtreeCounts;
+
+        DynamicSizeFactory( boolean keyPrefixCompression, boolean subtreeCounts )
+        {
+            this.keyPrefixCompression = keyPrefixCompression;
+            this.subtreeCounts = subtreeCounts;
+        }
+
+        @Override
+        public <KEY,VALUE> TreeNode<KEY,VALUE> create( int pageSize, Layout<KEY,VALUE> layout )
+        {
+            return new TreeNodeDynamicSize<>( pageSize, layout, keyPrefixCompression, subtreeCounts );
+        }
+
+        @Override
+        public byte formatIdentifier()
+        {
+            return TreeNodeDynamicSize.FORMAT_IDENTIFIER;
+        }
+
+        @Override
+        public byte formatVersion()
+        {
+            byte formatVersion = TreeNodeDynamicSize.FORMAT_VERSION;
+            if ( keyPrefixCompression )
+            {
+                formatVersion |= TreeNodeDynamicSize.FORMAT_VERSION_KEY_PREFIX_COMPRESSION;
+            }
+            if ( subtreeCounts )
+            {
+                formatVersion |= TreeNodeDynamicSize.FORMAT_VERSION_SUBTREE_COUNTS;
+            }
+            return formatVersion;
+        }
+
+        @Override
+        public boolean subtreeCounts()
+        {
+            return subtreeCounts;
+        }
     }
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.graphdb.config.Configuration;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.scheduler.ThreadPoolJobScheduler;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.TestDirectoryExtension;
+import org.neo4j.test.rule.TestDirectory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.io.pagecache.IOLimiter.UNLIMITED;
+import static org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier.EMPTY;
+
+@ExtendWith( TestDirectoryExtension.class )
+class GBPTreeBulkLoaderTest
+{
+    @Inject
+    TestDirectory directory;
+    private PageCache pageCache;
+    private ThreadPoolJobScheduler jobScheduler;
+
+    @BeforeEach
+    void createPageCache()
+    {
+        SingleFilePageSwapperFactory factory = new SingleFilePageSwapperFactory();
+        factory.open( new DefaultFileSystemAbstraction(), Configuration.EMPTY );
+        MemoryAllocator mman = MemoryAllocator.createAllocator( "8 MiB", new LocalMemoryTracker() );
+        jobScheduler = new ThreadPoolJobScheduler();
+        pageCache = new MuninnPageCache( factory, mman, 256, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL, EMPTY, jobScheduler );
+    }
+
+    @AfterEach
+    void tearDownPageCache()
+    {
+        pageCache.close();
+        jobScheduler.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource( doubles = {1, 0.75, 0.1} )
+    void shouldBulkLoadFixedSizeEntries( double fillFactor ) throws IOException
+    {
+        shouldBulkLoadEntries( SimpleLongLayout.longLayout().build(), fillFactor );
+    }
+
+    @ParameterizedTest
+    @ValueSource( doubles = {1, 0.75, 0.1} )
+    void shouldBulkLoadDynamicSizeEntries( double fillFactor ) throws IOException
+    {
+        shouldBulkLoadEntries( SimpleLongLayout.longLayout().withFixedSize( false ).withKeyPadding( 13 ).build(), fillFactor );
+    }
+
+    @Test
+    void shouldOnlyBulkLoadIntoEmptyTree() throws IOException
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().build();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            try ( Writer<MutableLong,MutableLong> writer = tree.writer() )
+            {
+                writer.put( layout.key( 1 ), layout.value( 10 ) );
+            }
+
+            assertThrows( IllegalStateException.class, () -> tree.bulkLoader( 1 ) );
+
+            // and the single writer must have been released
+            tree.writer().close();
+        }
+    }
+
+    @Test
+    void shouldRequireStrictlyAscendingKeys() throws IOException
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().build();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            try ( BulkLoader<MutableLong,MutableLong> bulkLoader = tree.bulkLoader( 1 ) )
+            {
+                bulkLoader.add( layout.key( 2 ), layout.value( 20 ) );
+                assertThrows( IllegalArgumentException.class, () -> bulkLoader.add( layout.key( 2 ), layout.value( 21 ) ) );
+                assertThrows( IllegalArgumentException.class, () -> bulkLoader.add( layout.key( 1 ), layout.value( 10 ) ) );
+                bulkLoader.add( layout.key( 3 ), layout.value( 30 ) );
+            }
+
+            Map<Long,Long> expected = new TreeMap<>();
+            expected.put( 2L, 20L );
+            expected.put( 3L, 30L );
+            assertEquals( expected, contentsOf( tree, layout ) );
+        }
+    }
+
+    private void shouldBulkLoadEntries( SimpleLongLayout layout, double fillFactor ) throws IOException
+    {
+        File file = directory.file( "index" );
+        Random random = new Random();
+        Map<Long,Long> expected = new TreeMap<>();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, file, layout ).build() )
+        {
+            // when
+            try ( BulkLoader<MutableLong,MutableLong> bulkLoader = tree.bulkLoader( fillFactor ) )
+            {
+                long key = 0;
+                for ( int i = 0; i < 20_000; i++ )
+                {
+                    key += 1 + random.nextInt( 3 );
+                    long value = random.nextLong();
+                    bulkLoader.add( layout.key( key ), layout.value( value ) );
+                    expected.put( key, value );
+                }
+            }
+
+            // then
+            assertEquals( expected, contentsOf( tree, layout ) );
+            assertTrue( tree.consistencyCheck() );
+
+            // and the loaded tree must accept regular changes
+            try ( Writer<MutableLong,MutableLong> writer = tree.writer() )
+            {
+                for ( int i = 0; i < 5_000; i++ )
+                {
+                    long key = random.nextInt( 50_000 );
+                    if ( random.nextBoolean() )
+                    {
+                        long value = random.nextLong();
+                        writer.put( layout.key( key ), layout.value( value ) );
+                        expected.put( key, value );
+                    }
+                    else
+                    {
+                        writer.remove( layout.key( key ) );
+                        expected.remove( key );
+                    }
+                }
+            }
+            assertEquals( expected, contentsOf( tree, layout ) );
+            assertTrue( tree.consistencyCheck() );
+            tree.checkpoint( UNLIMITED );
+        }
+
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, file, layout ).build() )
+        {
+            assertEquals( expected, contentsOf( tree, layout ) );
+            assertTrue( tree.consistencyCheck() );
+        }
+    }
+
+    private static Map<Long,Long> contentsOf( GBPTree<MutableLong,MutableLong> tree, SimpleLongLayout layout ) throws IOException
+    {
+        Map<Long,Long> contents = new TreeMap<>();
+        try ( RawCursor<Hit<MutableLong,MutableLong>,IOException> seek = tree.seek( layout.key( Long.MIN_VALUE ), layout.key( Long.MAX_VALUE ) ) )
+        {
+            while ( seek.next() )
+            {
+                Hit<MutableLong,MutableLong> hit = seek.get();
+                contents.put( hit.key().longValue(), hit.value().longValue() );
+            }
+        }
+        return contents;
+    }
+}
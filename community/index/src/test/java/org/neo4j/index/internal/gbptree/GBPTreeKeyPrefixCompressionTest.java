@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.graphdb.config.Configuration;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.scheduler.ThreadPoolJobScheduler;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.TestDirectoryExtension;
+import org.neo4j.test.rule.TestDirectory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.io.pagecache.IOLimiter.UNLIMITED;
+import static org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier.EMPTY;
+
+@ExtendWith( TestDirectoryExtension.class )
+class GBPTreeKeyPrefixCompressionTest
+{
+    // High bytes shared by all keys, like keys of the same type and similar values would
+    private static final long KEY_BASE = 0x0102030405000000L;
+
+    @Inject
+    TestDirectory directory;
+    private PageCache pageCache;
+    private ThreadPoolJobScheduler jobScheduler;
+
+    @BeforeEach
+    void createPageCache()
+    {
+        SingleFilePageSwapperFactory factory = new SingleFilePageSwapperFactory();
+        factory.open( new DefaultFileSystemAbstraction(), Configuration.EMPTY );
+        MemoryAllocator mman = MemoryAllocator.createAllocator( "8 MiB", new LocalMemoryTracker() );
+        jobScheduler = new ThreadPoolJobScheduler();
+        pageCache = new MuninnPageCache( factory, mman, 256, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL, EMPTY, jobScheduler );
+    }
+
+    @AfterEach
+    void tearDownPageCache()
+    {
+        pageCache.close();
+        jobScheduler.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource( ints = {0, 7, 20} )
+    void shouldKeepContentsThroughRandomChanges( int keyPadding ) throws IOException
+    {
+        SimpleLongLayout layout = compressingLayout( keyPadding );
+        File file = directory.file( "index" );
+        Random random = new Random();
+        Map<Long,Long> expected = new TreeMap<>();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, file, layout ).build() )
+        {
+            for ( int round = 0; round < 5; round++ )
+            {
+                try ( Writer<MutableLong,MutableLong> writer = tree.writer() )
+                {
+                    for ( int i = 0; i < 10_000; i++ )
+                    {
+                        long key = KEY_BASE + random.nextInt( 100_000 );
+                        if ( random.nextInt( 4 ) == 0 )
+                        {
+                            writer.remove( layout.key( key ) );
+                            expected.remove( key );
+                        }
+                        else
+                        {
+                            long value = random.nextLong();
+                            writer.put( layout.key( key ), layout.value( value ) );
+                            expected.put( key, value );
+                        }
+                    }
+                }
+                assertEquals( expected, contentsOf( tree, layout ) );
+                assertTrue( tree.consistencyCheck() );
+            }
+            tree.checkpoint( UNLIMITED );
+        }
+
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, file, layout ).build() )
+        {
+            assertEquals( expected, contentsOf( tree, layout ) );
+            assertTrue( tree.consistencyCheck() );
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource( booleans = {false, true} )
+    void shouldNeedFewerInternalNodesForKeysWithSharedPrefix( boolean bulkLoad ) throws IOException
+    {
+        int plainInternalNodes = internalNodesAfterLoading( uncompressedLayout(), "plain", bulkLoad );
+        int compressedInternalNodes = internalNodesAfterLoading( compressingLayout( 0 ), "compressed", bulkLoad );
+        assertTrue( compressedInternalNodes < plainInternalNodes,
+                "expected fewer than " + plainInternalNodes + " internal nodes, but was " + compressedInternalNodes );
+    }
+
+    @Test
+    void shouldOpenUncompressedTreeWithCompressingLayout() throws IOException
+    {
+        // given
+        File file = directory.file( "index" );
+        SimpleLongLayout uncompressed = uncompressedLayout();
+        Map<Long,Long> expected = new TreeMap<>();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, file, uncompressed ).build() )
+        {
+            put( tree, uncompressed, expected, 0, 20_000 );
+            tree.checkpoint( UNLIMITED );
+        }
+
+        // when
+        SimpleLongLayout compressing = compressingLayout( 0 );
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, file, compressing ).build() )
+        {
+            put( tree, compressing, expected, 20_000, 40_000 );
+            tree.checkpoint( UNLIMITED );
+        }
+
+        // then the tree keeps its format
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, file, uncompressed ).build() )
+        {
+            assertEquals( expected, contentsOf( tree, uncompressed ) );
+            assertTrue( tree.consistencyCheck() );
+        }
+    }
+
+    @Test
+    void shouldNotOpenCompressedTreeWithUncompressedLayout() throws IOException
+    {
+        File file = directory.file( "index" );
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, file, compressingLayout( 0 ) ).build() )
+        {
+            tree.checkpoint( UNLIMITED );
+        }
+
+        assertThrows( MetadataMismatchException.class, () -> new GBPTreeBuilder<>( pageCache, file, uncompressedLayout() ).build() );
+    }
+
+    private int internalNodesAfterLoading( SimpleLongLayout layout, String name, boolean bulkLoad ) throws IOException
+    {
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( name ), layout ).build() )
+        {
+            Map<Long,Long> expected = new TreeMap<>();
+            if ( bulkLoad )
+            {
+                try ( BulkLoader<MutableLong,MutableLong> bulkLoader = tree.bulkLoader( 1 ) )
+                {
+                    for ( long i = 0; i < 100_000; i++ )
+                    {
+                        bulkLoader.add( layout.key( KEY_BASE + i ), layout.value( i ) );
+                        expected.put( KEY_BASE + i, i );
+                    }
+                }
+            }
+            else
+            {
+                put( tree, layout, expected, 0, 100_000 );
+            }
+            assertEquals( expected, contentsOf( tree, layout ) );
+            assertTrue( tree.consistencyCheck() );
+            return tree.visit( new InspectingVisitor<>() ).get().getInternalNodes().size();
+        }
+    }
+
+    private static void put( GBPTree<MutableLong,MutableLong> tree, SimpleLongLayout layout, Map<Long,Long> expected, long from, long to )
+            throws IOException
+    {
+        try ( Writer<MutableLong,MutableLong> writer = tree.writer() )
+        {
+            for ( long i = from; i < to; i++ )
+            {
+                writer.put( layout.key( KEY_BASE + i ), layout.value( i ) );
+                expected.put( KEY_BASE + i, i );
+            }
+        }
+    }
+
+    private static SimpleLongLayout compressingLayout( int keyPadding )
+    {
+        return SimpleLongLayout.longLayout().withFixedSize( false ).withKeyPadding( keyPadding ).withKeyPrefixCompression( true ).build();
+    }
+
+    private static SimpleLongLayout uncompressedLayout()
+    {
+        return SimpleLongLayout.longLayout().withFixedSize( false ).build();
+    }
+
+    private static Map<Long,Long> contentsOf( GBPTree<MutableLong,MutableLong> tree, SimpleLongLayout layout ) throws IOException
+    {
+        Map<Long,Long> contents = new TreeMap<>();
+        try ( RawCursor<Hit<MutableLong,MutableLong>,IOException> seek = tree.seek( layout.key( Long.MIN_VALUE ), layout.key( Long.MAX_VALUE ) ) )
+        {
+            while ( seek.next() )
+            {
+                Hit<MutableLong,MutableLong> hit = seek.get();
+                contents.put( hit.key().longValue(), hit.value().longValue() );
+            }
+        }
+        return contents;
+    }
+}
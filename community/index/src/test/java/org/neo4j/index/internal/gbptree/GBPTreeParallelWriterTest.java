@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.graphdb.config.Configuration;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.scheduler.ThreadPoolJobScheduler;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.TestDirectoryExtension;
+import org.neo4j.test.rule.TestDirectory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.io.pagecache.IOLimiter.UNLIMITED;
+import static org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier.EMPTY;
+
+@ExtendWith( TestDirectoryExtension.class )
+class GBPTreeParallelWriterTest
+{
+    private static final int THREADS = 8;
+
+    @Inject
+    TestDirectory directory;
+    private PageCache pageCache;
+    private ThreadPoolJobScheduler jobScheduler;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void createPageCache()
+    {
+        SingleFilePageSwapperFactory factory = new SingleFilePageSwapperFactory();
+        factory.open( new DefaultFileSystemAbstraction(), Configuration.EMPTY );
+        MemoryAllocator mman = MemoryAllocator.createAllocator( "8 MiB", new LocalMemoryTracker() );
+        jobScheduler = new ThreadPoolJobScheduler();
+        pageCache = new MuninnPageCache( factory, mman, 256, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL, EMPTY, jobScheduler );
+        executor = Executors.newFixedThreadPool( THREADS );
+    }
+
+    @AfterEach
+    void tearDownPageCache()
+    {
+        executor.shutdown();
+        pageCache.close();
+        jobScheduler.close();
+    }
+
+    @Test
+    void shouldAllowMultipleOpenParallelWriters() throws IOException
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().build();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            try ( Writer<MutableLong,MutableLong> first = tree.parallelWriter();
+                  Writer<MutableLong,MutableLong> second = tree.parallelWriter() )
+            {
+                first.put( layout.key( 1 ), layout.value( 10 ) );
+                second.put( layout.key( 2 ), layout.value( 20 ) );
+                first.put( layout.key( 3 ), layout.value( 30 ) );
+                assertEquals( 20, second.remove( layout.key( 2 ) ).longValue() );
+            }
+
+            Map<Long,Long> expected = new TreeMap<>();
+            expected.put( 1L, 10L );
+            expected.put( 3L, 30L );
+            assertEquals( expected, contentsOf( tree, layout ) );
+        }
+    }
+
+    @Test
+    void parallelWriterMustWaitForSingleWriterToClose() throws Exception
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().build();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            Future<Object> parallelPut;
+            try ( Writer<MutableLong,MutableLong> writer = tree.writer() )
+            {
+                writer.put( layout.key( 1 ), layout.value( 10 ) );
+                parallelPut = executor.submit( () ->
+                {
+                    try ( Writer<MutableLong,MutableLong> parallelWriter = tree.parallelWriter() )
+                    {
+                        parallelWriter.put( layout.key( 2 ), layout.value( 20 ) );
+                    }
+                    return null;
+                } );
+                assertThrows( TimeoutException.class, () -> parallelPut.get( 100, TimeUnit.MILLISECONDS ) );
+            }
+            parallelPut.get();
+
+            assertEquals( 2, contentsOf( tree, layout ).size() );
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource( booleans = {true, false} )
+    void parallelWritersMustKeepTreeConsistent( boolean fixedSize ) throws Exception
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().withFixedSize( fixedSize ).build();
+        List<Map<Long,Long>> expectedPerThread = new ArrayList<>();
+        for ( int i = 0; i < THREADS; i++ )
+        {
+            expectedPerThread.add( new TreeMap<>() );
+        }
+
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            for ( int round = 0; round < 5; round++ )
+            {
+                List<Future<Object>> futures = new ArrayList<>();
+                for ( int i = 0; i < THREADS; i++ )
+                {
+                    int thread = i;
+                    long seed = round * THREADS + thread;
+                    // Every thread has its own keys, but all threads' keys are mixed within the same leaves
+                    futures.add( executor.submit( () ->
+                    {
+                        Map<Long,Long> expected = expectedPerThread.get( thread );
+                        Random random = new Random( seed );
+                        try ( Writer<MutableLong,MutableLong> writer = tree.parallelWriter() )
+                        {
+                            for ( int op = 0; op < 2_000; op++ )
+                            {
+                                long key = random.nextInt( 2_000 ) * THREADS + thread;
+                                if ( random.nextInt( 3 ) == 0 )
+                                {
+                                    MutableLong removed = writer.remove( layout.key( key ) );
+                                    Long expectedRemoved = expected.remove( key );
+                                    assertEquals( expectedRemoved, removed == null ? null : removed.longValue() );
+                                }
+                                else
+                                {
+                                    long value = random.nextLong();
+                                    writer.put( layout.key( key ), layout.value( value ) );
+                                    expected.put( key, value );
+                                }
+                            }
+                        }
+                        return null;
+                    } ) );
+                }
+                for ( Future<Object> future : futures )
+                {
+                    future.get();
+                }
+                // Checkpoint between rounds, so that the next round must create successors of the nodes it changes
+                tree.checkpoint( UNLIMITED );
+            }
+
+            Map<Long,Long> expected = new TreeMap<>();
+            expectedPerThread.forEach( expected::putAll );
+            assertFalse( expected.isEmpty() );
+            assertEquals( expected, contentsOf( tree, layout ) );
+            assertTrue( tree.consistencyCheck() );
+        }
+    }
+
+    @Test
+    void checkpointsMustCompleteWhileOverlappingParallelWritersKeepOpening() throws Exception
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().build();
+        AtomicBoolean stop = new AtomicBoolean();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            List<Future<Long>> writers = new ArrayList<>();
+            for ( int i = 0; i < THREADS - 1; i++ )
+            {
+                int thread = i;
+                // Each writer stays open for a while and the writers are staggered, so that there's always some writer open
+                writers.add( executor.submit( () ->
+                {
+                    long sessions = 0;
+                    Thread.sleep( thread );
+                    while ( !stop.get() )
+                    {
+                        try ( Writer<MutableLong,MutableLong> writer = tree.parallelWriter() )
+                        {
+                            long key = sessions * THREADS + thread;
+                            writer.put( layout.key( key ), layout.value( key ) );
+                            Thread.sleep( THREADS - 1 );
+                        }
+                        sessions++;
+                    }
+                    return sessions;
+                } ) );
+            }
+
+            try
+            {
+                Future<Object> checkpoints = executor.submit( () ->
+                {
+                    for ( int i = 0; i < 20; i++ )
+                    {
+                        tree.checkpoint( UNLIMITED );
+                    }
+                    return null;
+                } );
+                checkpoints.get( 1, TimeUnit.MINUTES );
+            }
+            finally
+            {
+                stop.set( true );
+            }
+
+            long sessions = 0;
+            for ( Future<Long> writer : writers )
+            {
+                sessions += writer.get();
+            }
+            assertEquals( sessions, contentsOf( tree, layout ).size() );
+            assertTrue( tree.consistencyCheck() );
+        }
+    }
+
+    private static Map<Long,Long> contentsOf( GBPTree<MutableLong,MutableLong> tree, SimpleLongLayout layout ) throws IOException
+    {
+        Map<Long,Long> contents = new TreeMap<>();
+        try ( RawCursor<Hit<MutableLong,MutableLong>,IOException> seek = tree.seek( layout.key( Long.MIN_VALUE ), layout.key( Long.MAX_VALUE ) ) )
+        {
+            while ( seek.next() )
+            {
+                Hit<MutableLong,MutableLong> hit = seek.get();
+                contents.put( hit.key().longValue(), hit.value().longValue() );
+            }
+        }
+        return contents;
+    }
+}
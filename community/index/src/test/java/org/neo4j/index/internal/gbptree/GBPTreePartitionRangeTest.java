@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.graphdb.config.Configuration;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.scheduler.ThreadPoolJobScheduler;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.TestDirectoryExtension;
+import org.neo4j.test.rule.TestDirectory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier.EMPTY;
+
+@ExtendWith( TestDirectoryExtension.class )
+class GBPTreePartitionRangeTest
+{
+    @Inject
+    TestDirectory directory;
+    private PageCache pageCache;
+    private ThreadPoolJobScheduler jobScheduler;
+    private final SimpleLongLayout layout = SimpleLongLayout.longLayout().build();
+
+    @BeforeEach
+    void createPageCache()
+    {
+        SingleFilePageSwapperFactory factory = new SingleFilePageSwapperFactory();
+        factory.open( new DefaultFileSystemAbstraction(), Configuration.EMPTY );
+        MemoryAllocator mman = MemoryAllocator.createAllocator( "8 MiB", new LocalMemoryTracker() );
+        jobScheduler = new ThreadPoolJobScheduler();
+        pageCache = new MuninnPageCache( factory, mman, 256, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL, EMPTY, jobScheduler );
+    }
+
+    @AfterEach
+    void tearDownPageCache()
+    {
+        pageCache.close();
+        jobScheduler.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource( ints = {0, 10, 1_000, 100_000} )
+    void shouldCoverWholeRangeWithPartitions( int numberOfKeys ) throws IOException
+    {
+        Random random = new Random();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            insert( tree, numberOfKeys );
+            for ( int round = 0; round < 20; round++ )
+            {
+                long from = random.nextInt( numberOfKeys + 1 );
+                long to = from + 1 + random.nextInt( numberOfKeys + 1 );
+                int desiredNumberOfPartitions = 1 + random.nextInt( 32 );
+
+                List<MutableLong> edges = tree.partitionRange( layout.key( from ), layout.key( to ), desiredNumberOfPartitions );
+
+                assertTrue( edges.size() >= 2 && edges.size() <= desiredNumberOfPartitions + 1, "partitions " + (edges.size() - 1) );
+                assertEquals( from, edges.get( 0 ).longValue() );
+                assertEquals( to, edges.get( edges.size() - 1 ).longValue() );
+                List<Long> keys = new ArrayList<>();
+                for ( int partition = 0; partition < edges.size() - 1; partition++ )
+                {
+                    assertTrue( edges.get( partition ).longValue() < edges.get( partition + 1 ).longValue() );
+                    keys.addAll( seek( tree, edges.get( partition ), edges.get( partition + 1 ) ) );
+                }
+                assertEquals( seek( tree, layout.key( from ), layout.key( to ) ), keys );
+            }
+        }
+    }
+
+    @Test
+    void shouldPartitionLargeTreeIntoBalancedPartitions() throws IOException
+    {
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            int numberOfKeys = 500_000;
+            insert( tree, numberOfKeys );
+
+            List<MutableLong> edges = tree.partitionRange( layout.key( Long.MIN_VALUE ), layout.key( Long.MAX_VALUE ), 8 );
+
+            assertEquals( 9, edges.size() );
+            for ( int partition = 0; partition < edges.size() - 1; partition++ )
+            {
+                int size = seek( tree, edges.get( partition ), edges.get( partition + 1 ) ).size();
+                assertTrue( size > numberOfKeys / 8 / 2 && size < numberOfKeys / 8 * 2, "partition size " + size );
+            }
+        }
+    }
+
+    @Test
+    void shouldNotPartitionDescendingRange() throws IOException
+    {
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            assertThrows( IllegalArgumentException.class, () -> tree.partitionRange( layout.key( 10 ), layout.key( 0 ), 4 ) );
+        }
+    }
+
+    private void insert( GBPTree<MutableLong,MutableLong> tree, int numberOfKeys ) throws IOException
+    {
+        try ( Writer<MutableLong,MutableLong> writer = tree.writer() )
+        {
+            for ( long i = 0; i < numberOfKeys; i++ )
+            {
+                writer.put( layout.key( i ), layout.value( i ) );
+            }
+        }
+    }
+
+    private static List<Long> seek( GBPTree<MutableLong,MutableLong> tree, MutableLong from, MutableLong to ) throws IOException
+    {
+        List<Long> keys = new ArrayList<>();
+        try ( RawCursor<Hit<MutableLong,MutableLong>,IOException> seek = tree.seek( from, to ) )
+        {
+            while ( seek.next() )
+            {
+                keys.add( seek.get().key().longValue() );
+            }
+        }
+        return keys;
+    }
+}
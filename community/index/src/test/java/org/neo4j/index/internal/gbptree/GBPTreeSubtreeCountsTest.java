@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.neo4j.graphdb.config.Configuration;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.scheduler.ThreadPoolJobScheduler;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.TestDirectoryExtension;
+import org.neo4j.test.rule.TestDirectory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.io.pagecache.IOLimiter.UNLIMITED;
+import static org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier.EMPTY;
+
+@ExtendWith( TestDirectoryExtension.class )
+class GBPTreeSubtreeCountsTest
+{
+    private static final int FIXED = 0;
+    private static final int DYNAMIC = 1;
+    private static final int DYNAMIC_COMPRESSED = 2;
+
+    @Inject
+    TestDirectory directory;
+    private PageCache pageCache;
+    private ThreadPoolJobScheduler jobScheduler;
+
+    @BeforeEach
+    void createPageCache()
+    {
+        SingleFilePageSwapperFactory factory = new SingleFilePageSwapperFactory();
+        factory.open( new DefaultFileSystemAbstraction(), Configuration.EMPTY );
+        MemoryAllocator mman = MemoryAllocator.createAllocator( "8 MiB", new LocalMemoryTracker() );
+        jobScheduler = new ThreadPoolJobScheduler();
+        pageCache = new MuninnPageCache( factory, mman, 256, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL, EMPTY, jobScheduler );
+    }
+
+    @AfterEach
+    void tearDownPageCache()
+    {
+        pageCache.close();
+        jobScheduler.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource( ints = {FIXED, DYNAMIC, DYNAMIC_COMPRESSED} )
+    void shouldCountRangesThroughRandomChanges( int format ) throws IOException
+    {
+        SimpleLongLayout layout = countingLayout( format );
+        File file = directory.file( "index" );
+        Random random = new Random();
+        TreeMap<Long,Long> expected = new TreeMap<>();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, file, layout ).build() )
+        {
+            for ( int round = 0; round < 8; round++ )
+            {
+                // Mostly inserts in the first rounds, growing the tree, and mostly removals in the last rounds, shrinking it
+                int removalPercentage = round < 4 ? 25 : 80;
+                try ( Writer<MutableLong,MutableLong> writer = tree.writer() )
+                {
+                    for ( int i = 0; i < 10_000; i++ )
+                    {
+                        long key = random.nextInt( 50_000 );
+                        if ( random.nextInt( 100 ) < removalPercentage )
+                        {
+                            writer.remove( layout.key( key ) );
+                            expected.remove( key );
+                        }
+                        else
+                        {
+                            writer.put( layout.key( key ), layout.value( key ) );
+                            expected.put( key, key );
+                        }
+                    }
+                }
+                assertCounts( tree, layout, expected, random );
+                assertTrue( tree.consistencyCheck() );
+                tree.checkpoint( UNLIMITED );
+            }
+        }
+
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, file, layout ).build() )
+        {
+            assertCounts( tree, layout, expected, random );
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource( ints = {FIXED, DYNAMIC, DYNAMIC_COMPRESSED} )
+    void shouldCountRangesAfterBulkLoad( int format ) throws IOException
+    {
+        SimpleLongLayout layout = countingLayout( format );
+        Random random = new Random();
+        TreeMap<Long,Long> expected = new TreeMap<>();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            try ( BulkLoader<MutableLong,MutableLong> bulkLoader = tree.bulkLoader( 0.8 ) )
+            {
+                for ( long i = 0; i < 100_000; i++ )
+                {
+                    bulkLoader.add( layout.key( i * 2 ), layout.value( i ) );
+                    expected.put( i * 2, i );
+                }
+            }
+            assertCounts( tree, layout, expected, random );
+
+            try ( Writer<MutableLong,MutableLong> writer = tree.writer() )
+            {
+                for ( int i = 0; i < 20_000; i++ )
+                {
+                    long key = random.nextInt( 200_000 );
+                    writer.remove( layout.key( key ) );
+                    expected.remove( key );
+                }
+            }
+            assertCounts( tree, layout, expected, random );
+            assertTrue( tree.consistencyCheck() );
+        }
+    }
+
+    @Test
+    void shouldEstimateCountWithoutReadingLeaves() throws IOException
+    {
+        SimpleLongLayout layout = countingLayout( FIXED );
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            try ( Writer<MutableLong,MutableLong> writer = tree.writer() )
+            {
+                for ( long i = 0; i < 200_000; i++ )
+                {
+                    writer.put( layout.key( i ), layout.value( i ) );
+                }
+            }
+
+            // An exact count first, to learn the height of the tree
+            assertEquals( 200_000, tree.count( layout.key( Long.MIN_VALUE ), layout.key( Long.MAX_VALUE ) ) );
+            long estimate = tree.estimateCount( layout.key( 10_000 ), layout.key( 150_000 ) );
+            int maxLeafKeyCount = pageCache.pageSize() / (Long.BYTES * 2);
+            assertTrue( Math.abs( estimate - 140_000 ) <= maxLeafKeyCount, "estimate " + estimate );
+        }
+    }
+
+    @Test
+    void shouldNotCountInTreeWithoutSubtreeCounts() throws IOException
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().build();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            assertFalse( tree.hasSubtreeCounts() );
+            assertThrows( UnsupportedOperationException.class, () -> tree.count( layout.key( 0 ), layout.key( 10 ) ) );
+        }
+    }
+
+    @Test
+    void shouldOpenTreeWithoutSubtreeCountsWithCountingLayout() throws IOException
+    {
+        // given
+        File file = directory.file( "index" );
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, file, SimpleLongLayout.longLayout().build() ).build() )
+        {
+            tree.checkpoint( UNLIMITED );
+        }
+
+        // when
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, file, countingLayout( FIXED ) ).build() )
+        {
+            // then the tree keeps its format
+            assertFalse( tree.hasSubtreeCounts() );
+        }
+    }
+
+    @Test
+    void shouldNotOpenTreeWithSubtreeCountsWithNonCountingLayout() throws IOException
+    {
+        File file = directory.file( "index" );
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, file, countingLayout( FIXED ) ).build() )
+        {
+            tree.checkpoint( UNLIMITED );
+        }
+
+        assertThrows( MetadataMismatchException.class, () -> new GBPTreeBuilder<>( pageCache, file, SimpleLongLayout.longLayout().build() ).build() );
+    }
+
+    @ParameterizedTest
+    @ValueSource( booleans = {true, false} )
+    void shouldReadWhetherTreeHasSubtreeCountsWithoutOpeningIt( boolean subtreeCounts ) throws IOException
+    {
+        // given
+        File file = directory.file( "index" );
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().withSubtreeCounts( subtreeCounts ).build();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, file, layout ).build() )
+        {
+            tree.checkpoint( UNLIMITED );
+        }
+
+        // when/then
+        assertEquals( subtreeCounts, GBPTree.readHasSubtreeCounts( pageCache, file ) );
+    }
+
+    private static void assertCounts( GBPTree<MutableLong,MutableLong> tree, SimpleLongLayout layout, TreeMap<Long,Long> expected, Random random )
+            throws IOException
+    {
+        assertEquals( expected.size(), tree.count( layout.key( Long.MIN_VALUE ), layout.key( Long.MAX_VALUE ) ) );
+        long max = expected.isEmpty() ? 100 : expected.lastKey() + 1;
+        for ( int i = 0; i < 100; i++ )
+        {
+            long from = random.nextInt( (int) max );
+            long to = from + random.nextInt( (int) (max - from) + 1 );
+            assertEquals( expected.subMap( from, true, to, false ).size(), tree.count( layout.key( from ), layout.key( to ) ),
+                    "[" + from + "," + to + ")" );
+            // Backwards, i.e. range (from,to]
+            assertEquals( expected.subMap( from, false, to, true ).size(), tree.count( layout.key( to ), layout.key( from ) ),
+                    "(" + from + "," + to + "]" );
+        }
+    }
+
+    private static SimpleLongLayout countingLayout( int format )
+    {
+        return SimpleLongLayout.longLayout()
+                .withFixedSize( format == FIXED )
+                .withKeyPrefixCompression( format == DYNAMIC_COMPRESSED )
+                .withSubtreeCounts( true )
+                .build();
+    }
+}
@@ -418,6 +418,11 @@ class PageAwareByteArrayCursor extends PageCursor
         return toReturn;
     }
 
+    @Override
+    public void prefetch( long[] pageIds, int offset, int length )
+    {
+    }
+
     @Override
     public void zapPage()
     {
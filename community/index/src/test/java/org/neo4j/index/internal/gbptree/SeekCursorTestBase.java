@@ -1633,6 +1633,71 @@ abstract class SeekCursorTestBase<KEY, VALUE>
         }
     }
 
+    /* PREFETCH */
+
+    @Test
+    void mustPrefetchLeavesFollowingFirstLeafOfRangeSeek() throws Exception
+    {
+        // given
+        long lastKey = rootWithAtLeastChildren( 3 );
+        List<Long> children = rootChildren();
+
+        // when
+        PrefetchRecordingCursor seekCursor = new PrefetchRecordingCursor( cursor.duplicate( rootId ) );
+        seekCursor.next();
+        try ( SeekCursor<KEY,VALUE> seeker = seekCursor( 0, lastKey + 1, seekCursor ) )
+        {
+            // then
+            int lastPrefetched = Math.min( children.size() - 1, SeekCursor.MAX_PREFETCH_LEAVES );
+            assertEquals( children.subList( 1, lastPrefetched + 1 ), seekCursor.prefetched );
+            assertTrue( seeker.next() );
+        }
+    }
+
+    @Test
+    void mustPrefetchLeavesFollowingFirstLeafOfRangeSeekBackwards() throws Exception
+    {
+        // given
+        long lastKey = rootWithAtLeastChildren( 3 );
+        List<Long> children = rootChildren();
+        Collections.reverse( children );
+
+        // when
+        PrefetchRecordingCursor seekCursor = new PrefetchRecordingCursor( cursor.duplicate( rootId ) );
+        seekCursor.next();
+        try ( SeekCursor<KEY,VALUE> seeker = seekCursor( lastKey, -1, seekCursor ) )
+        {
+            // then
+            int lastPrefetched = Math.min( children.size() - 1, SeekCursor.MAX_PREFETCH_LEAVES );
+            assertEquals( children.subList( 1, lastPrefetched + 1 ), seekCursor.prefetched );
+            assertTrue( seeker.next() );
+        }
+    }
+
+    @Test
+    void mustNotPrefetchLeavesOutsideOfSeekRange() throws Exception
+    {
+        // given
+        rootWithAtLeastChildren( 3 );
+
+        // when
+        PrefetchRecordingCursor seekCursor = new PrefetchRecordingCursor( cursor.duplicate( rootId ) );
+        seekCursor.next();
+        try ( SeekCursor<KEY,VALUE> ignored = seekCursor( 0, 1, seekCursor ) )
+        {
+            // then
+            assertTrue( seekCursor.prefetched.isEmpty() );
+        }
+
+        // and when
+        seekCursor.next( rootId );
+        try ( SeekCursor<KEY,VALUE> ignored = seekCursor( 0, 0, seekCursor ) )
+        {
+            // then
+            assertTrue( seekCursor.prefetched.isEmpty() );
+        }
+    }
+
     /* POINTER GENERATION TESTING */
 
     @Test
@@ -2418,6 +2483,30 @@ abstract class SeekCursorTestBase<KEY, VALUE>
         }
     }
 
+    private long rootWithAtLeastChildren( int childCount ) throws IOException
+    {
+        long key = 0;
+        while ( numberOfRootSplits == 0 || rootChildren().size() < childCount )
+        {
+            insert( key );
+            key++;
+        }
+        return key - 1;
+    }
+
+    private List<Long> rootChildren() throws IOException
+    {
+        PageAwareByteArrayCursor readCursor = cursor.duplicate( rootId );
+        readCursor.next();
+        List<Long> children = new ArrayList<>();
+        int keyCount = TreeNode.keyCount( readCursor );
+        for ( int pos = 0; pos <= keyCount; pos++ )
+        {
+            children.add( childAt( readCursor, pos, stableGeneration, unstableGeneration ) );
+        }
+        return children;
+    }
+
     private long childAt( PageCursor cursor, int pos, long stableGeneration, long unstableGeneration )
     {
         return pointer( node.childAt( cursor, pos, stableGeneration, unstableGeneration ) );
@@ -2440,4 +2529,23 @@ abstract class SeekCursorTestBase<KEY, VALUE>
         new GBPTreeStructure<>( node, layout, stableGeneration, unstableGeneration ).visitTree( cursor, cursor, printingVisitor );
         cursor.next( currentPageId );
     }
+
+    private static class PrefetchRecordingCursor extends DelegatingPageCursor
+    {
+        private final List<Long> prefetched = new ArrayList<>();
+
+        PrefetchRecordingCursor( PageCursor delegate )
+        {
+            super( delegate );
+        }
+
+        @Override
+        public void prefetch( long[] pageIds, int offset, int length )
+        {
+            for ( int i = offset; i < offset + length; i++ )
+            {
+                prefetched.add( pageIds[i] );
+            }
+        }
+    }
 }
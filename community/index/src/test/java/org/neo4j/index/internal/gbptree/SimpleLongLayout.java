@@ -33,6 +33,8 @@ public class SimpleLongLayout extends TestLayout<MutableLong,MutableLong>
     private final int keyPadding;
     private String customNameAsMetaData;
     private final boolean fixedSize;
+    private final boolean keyPrefixCompression;
+    private final boolean subtreeCounts;
     private final int identifier;
     private final int majorVersion;
     private final int minorVersion;
@@ -45,6 +47,8 @@ public class SimpleLongLayout extends TestLayout<MutableLong,MutableLong>
         private int minorVersion;
         private String customNameAsMetaData = "test";
         private boolean fixedSize = true;
+        private boolean keyPrefixCompression;
+        private boolean subtreeCounts;
 
         public Builder withKeyPadding( int keyPadding )
         {
@@ -82,9 +86,22 @@ public class SimpleLongLayout extends TestLayout<MutableLong,MutableLong>
             return this;
         }
 
+        public Builder withKeyPrefixCompression( boolean keyPrefixCompression )
+        {
+            this.keyPrefixCompression = keyPrefixCompression;
+            return this;
+        }
+
+        public Builder withSubtreeCounts( boolean subtreeCounts )
+        {
+            this.subtreeCounts = subtreeCounts;
+            return this;
+        }
+
         public SimpleLongLayout build()
         {
-            return new SimpleLongLayout( keyPadding, customNameAsMetaData, fixedSize, identifier, majorVersion, minorVersion );
+            return new SimpleLongLayout( keyPadding, customNameAsMetaData, fixedSize, keyPrefixCompression, subtreeCounts, identifier,
+                    majorVersion, minorVersion );
         }
     }
 
@@ -94,10 +111,24 @@ public class SimpleLongLayout extends TestLayout<MutableLong,MutableLong>
     }
 
     public SimpleLongLayout( int keyPadding, String customNameAsMetaData, boolean fixedSize, int identifier, int majorVersion, int minorVersion )
+    {
+        this( keyPadding, customNameAsMetaData, fixedSize, false, identifier, majorVersion, minorVersion );
+    }
+
+    public SimpleLongLayout( int keyPadding, String customNameAsMetaData, boolean fixedSize, boolean keyPrefixCompression, int identifier,
+            int majorVersion, int minorVersion )
+    {
+        this( keyPadding, customNameAsMetaData, fixedSize, keyPrefixCompression, false, identifier, majorVersion, minorVersion );
+    }
+
+    public SimpleLongLayout( int keyPadding, String customNameAsMetaData, boolean fixedSize, boolean keyPrefixCompression,
+            boolean subtreeCounts, int identifier, int majorVersion, int minorVersion )
     {
         this.keyPadding = keyPadding;
         this.customNameAsMetaData = customNameAsMetaData;
         this.fixedSize = fixedSize;
+        this.keyPrefixCompression = keyPrefixCompression;
+        this.subtreeCounts = subtreeCounts;
         this.identifier = identifier;
         this.majorVersion = majorVersion;
         this.minorVersion = minorVersion;
@@ -179,6 +210,18 @@ public class SimpleLongLayout extends TestLayout<MutableLong,MutableLong>
         return fixedSize;
     }
 
+    @Override
+    public boolean compressKeyPrefixes()
+    {
+        return keyPrefixCompression;
+    }
+
+    @Override
+    public boolean countSubtreeEntries()
+    {
+        return subtreeCounts;
+    }
+
     @Override
     public long identifier()
     {
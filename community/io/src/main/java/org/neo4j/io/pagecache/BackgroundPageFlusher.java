@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache;
+
+import java.io.IOException;
+import java.util.function.BooleanSupplier;
+
+import org.neo4j.function.Predicates;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Periodically writes out the dirty pages in the page cache, that have not been written to recently, such that check
+ * points only have to flush the remaining dirty pages, and force the files.
+ * <p>
+ * The flushing is throttled by the given {@link IOLimiter}, which is normally the same limiter that check points use.
+ * The outcome of the latest pass is available through the accessor methods on this class, for monitoring.
+ */
+public class BackgroundPageFlusher extends LifecycleAdapter
+{
+    private final PageCache pageCache;
+    private final IOLimiter ioLimiter;
+    private final JobScheduler scheduler;
+    private final long recurringPeriodMillis;
+    private final Runnable job = new Runnable()
+    {
+        @Override
+        public void run()
+        {
+            try
+            {
+                flushing = true;
+                if ( stopped )
+                {
+                    return;
+                }
+                long startTime = System.currentTimeMillis();
+                dirtyPagesLeftBehind = pageCache.flushColdPages( ioLimiter );
+                lastPassDurationMillis = System.currentTimeMillis() - startTime;
+                completedPasses++;
+            }
+            catch ( IOException | RuntimeException e )
+            {
+                // Whatever the flusher was unable to write out, is left dirty for the next pass, or the next check
+                // point. The check point will report the problem, if it persists.
+                failedPasses++;
+            }
+            finally
+            {
+                flushing = false;
+            }
+
+            // reschedule only if it is not stopped
+            if ( !stopped )
+            {
+                handle = scheduler.schedule( Group.PAGE_CACHE_FLUSHER, job, recurringPeriodMillis, MILLISECONDS );
+            }
+        }
+    };
+
+    private volatile JobHandle handle;
+    private volatile boolean stopped;
+    private volatile boolean flushing;
+    private final BooleanSupplier notFlushing = () -> !flushing;
+
+    // Only written to by the flusher job, which never runs concurrently with itself.
+    private volatile long dirtyPagesLeftBehind;
+    private volatile long lastPassDurationMillis;
+    private volatile long completedPasses;
+    private volatile long failedPasses;
+
+    public BackgroundPageFlusher( PageCache pageCache, IOLimiter ioLimiter, JobScheduler scheduler,
+            long recurringPeriodMillis )
+    {
+        this.pageCache = pageCache;
+        this.ioLimiter = ioLimiter;
+        this.scheduler = scheduler;
+        this.recurringPeriodMillis = recurringPeriodMillis;
+    }
+
+    @Override
+    public void start()
+    {
+        stopped = false;
+        handle = scheduler.schedule( Group.PAGE_CACHE_FLUSHER, job, recurringPeriodMillis, MILLISECONDS );
+    }
+
+    @Override
+    public void stop()
+    {
+        stopped = true;
+        if ( handle != null )
+        {
+            handle.cancel( false );
+        }
+        waitOngoingFlushCompletion();
+    }
+
+    private void waitOngoingFlushCompletion()
+    {
+        ioLimiter.disableLimit();
+        try
+        {
+            Predicates.awaitForever( notFlushing, 10, MILLISECONDS );
+        }
+        finally
+        {
+            ioLimiter.enableLimit();
+        }
+    }
+
+    /**
+     * @return the number of dirty pages that the latest pass left for the next pass, or check point, to flush.
+     * This is how far behind the writers the flusher is.
+     */
+    public long dirtyPagesLeftBehind()
+    {
+        return dirtyPagesLeftBehind;
+    }
+
+    /**
+     * @return the duration of the latest pass, in milliseconds.
+     */
+    public long lastPassDurationMillis()
+    {
+        return lastPassDurationMillis;
+    }
+
+    /**
+     * @return the number of passes that have completed successfully.
+     */
+    public long completedPasses()
+    {
+        return completedPasses;
+    }
+
+    /**
+     * @return the number of passes that failed with an exception.
+     */
+    public long failedPasses()
+    {
+        return failedPasses;
+    }
+}
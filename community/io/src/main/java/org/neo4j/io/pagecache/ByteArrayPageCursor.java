@@ -338,6 +338,12 @@ public class ByteArrayPageCursor extends PageCursor
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void prefetch( long[] pageIds, int offset, int length )
+    {
+        // The page is always in memory.
+    }
+
     @Override
     public void zapPage()
     {
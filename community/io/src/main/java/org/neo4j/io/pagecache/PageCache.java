@@ -112,6 +112,25 @@ public interface PageCache extends AutoCloseable
      */
     void flushAndForce( IOLimiter limiter ) throws IOException;
 
+    /**
+     * Write out the dirty pages that have not been written to recently, without forcing the files, and limit the
+     * rate of IO as advised by the given IOLimiter.
+     * <p>
+     * This is meant to be called periodically in the background, to trickle out dirty pages between check points,
+     * such that {@link #flushAndForce(IOLimiter)} has fewer pages left to flush. Pages that are still being written
+     * to, or are otherwise busy, are left for a later call. The durability of the flushed pages is not guaranteed
+     * until the next call to {@link #flushAndForce()}.
+     *
+     * @param limiter The {@link IOLimiter} that determines if pauses or sleeps should be injected into the flushing
+     * process to keep the IO rate down.
+     * @return the number of dirty pages that were left behind, or zero if this page cache does not support
+     * background flushing.
+     */
+    default long flushColdPages( IOLimiter limiter ) throws IOException
+    {
+        return 0;
+    }
+
     /**
      * Close the page cache to prevent any future mapping of files.
      * This also releases any internal resources, including the {@link PageSwapperFactory} through its
@@ -28,6 +28,8 @@ import java.nio.file.OpenOption;
 /**
  * {@link OpenOption}s that are specific to {@link PageCache#map(File, int, OpenOption...)},
  * and not normally supported by file systems.
+ *
+ * @see PageReservation
  */
 public enum PageCacheOpenOptions implements OpenOption
 {
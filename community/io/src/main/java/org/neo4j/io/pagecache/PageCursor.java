@@ -398,6 +398,22 @@ public abstract class PageCursor implements AutoCloseable
      */
     public abstract PageCursor openLinkedCursor( long pageId ) throws IOException;
 
+    /**
+     * Ask for the given pages of the file to be faulted into the page cache in the background, because this cursor
+     * expects to visit them soon. The pages are faulted concurrently by a pool of IO threads, and a later
+     * {@link #next(long)} to any one of them will only wait for that particular page, if it is still on its way in.
+     * <p>
+     * This is only a hint. Pages that are already in memory, or that are outside the file, are ignored, and the page
+     * cache is free to drop the request entirely. Cursors opened with {@link PagedFile#PF_NO_FAULT} ignore it as well.
+     * Ascending runs of consecutive page ids are faulted with vectored reads, so callers should order the page ids
+     * where they can.
+     *
+     * @param pageIds The array holding the file page ids to fault in.
+     * @param offset The index into the array of the first page id.
+     * @param length The number of page ids, from the offset, to fault in.
+     */
+    public abstract void prefetch( long[] pageIds, int offset, int length );
+
     /**
      * Sets all bytes in this page to zero, as if this page was newly allocated at the end of the file.
      */
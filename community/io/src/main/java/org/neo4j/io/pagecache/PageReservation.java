@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache;
+
+import java.io.File;
+import java.nio.file.OpenOption;
+import java.util.Objects;
+
+/**
+ * An {@link OpenOption} for {@link PageCache#map(File, int, OpenOption...)}, that reserves a minimum number of pages
+ * in the page cache for the files of a given class.
+ * <p>
+ * The reservation is named, and all files that are mapped with a reservation of the same name share the same reserved
+ * pages. Page eviction will leave the pages of those files alone, for as long as they in total occupy no more than the
+ * reserved number of pages. The amount is taken from whichever file was mapped first with the given name, while
+ * the reservation is in effect, and a file that is already mapped keeps the reservation it was first mapped with.
+ * The reservation is released when the last file that holds it is unmapped.
+ * <p>
+ * A reservation is a priority, and not a guarantee. If all of the pages in the page cache are reserved, or pinned by
+ * cursors, then eviction will eventually ignore the reservations in order to make progress.
+ */
+public final class PageReservation implements OpenOption
+{
+    private final String name;
+    private final long pages;
+    private final double fraction;
+
+    private PageReservation( String name, long pages, double fraction )
+    {
+        this.name = Objects.requireNonNull( name );
+        this.pages = pages;
+        this.fraction = fraction;
+    }
+
+    /**
+     * Reserve the given number of pages for the files of the named class.
+     */
+    public static PageReservation pages( String name, long pages )
+    {
+        if ( pages < 0 )
+        {
+            throw new IllegalArgumentException( "Cannot reserve a negative number of pages: " + pages );
+        }
+        return new PageReservation( name, pages, 0 );
+    }
+
+    /**
+     * Reserve the given fraction, between 0.0 and 1.0, of the pages in the page cache for the files of the named class.
+     */
+    public static PageReservation fraction( String name, double fraction )
+    {
+        if ( !(fraction >= 0.0 && fraction <= 1.0) )
+        {
+            throw new IllegalArgumentException( "The reserved fraction of the page cache must be between 0 and 1, " +
+                                                "but was " + fraction );
+        }
+        return new PageReservation( name, -1, fraction );
+    }
+
+    public String name()
+    {
+        return name;
+    }
+
+    /**
+     * Compute the number of reserved pages, in a page cache of the given size.
+     */
+    public long reservedPages( long maxPages )
+    {
+        return pages >= 0 ? Math.min( pages, maxPages ) : (long) (maxPages * fraction);
+    }
+
+    @Override
+    public boolean equals( Object o )
+    {
+        return this == o || o instanceof PageReservation && name.equals( ((PageReservation) o).name );
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "PageReservation[" + name + ", " + (pages >= 0 ? pages + " pages" : fraction * 100 + "%") + "]";
+    }
+}
@@ -63,8 +63,15 @@ public interface PagedFile extends AutoCloseable
     int PF_NO_GROW = 1 << 2;
     /**
      * Read-ahead hint for sequential forward scanning.
+     * <p>
+     * Cursors opened with this flag watch for runs of consecutive forward page pins. Once a cursor looks like it is
+     * scanning the file, the pages ahead of it are faulted in asynchronously, in batches, using vectored reads.
+     * Random access through such a cursor is not affected, so the flag is safe to use for cursors that only
+     * <em>sometimes</em> scan.
+     * <p>
+     * This flag has no effect when combined with {@link #PF_NO_FAULT}.
      */
-    int PF_READ_AHEAD = 1 << 3; // TBD
+    int PF_READ_AHEAD = 1 << 3;
     /**
      * Do not load in the page if it is not loaded already. The methods {@link PageCursor#next()} and
      * {@link PageCursor#next(long)} will always return {@code true} for pages that are within the range of the file,
@@ -77,8 +84,16 @@ public interface PagedFile extends AutoCloseable
     int PF_NO_FAULT = 1 << 4;
     /**
      * Do not update page access statistics.
+     * <p>
+     * Pages accessed through a transient cursor are not made to look any hotter to the page cache eviction algorithm,
+     * and pages that a transient cursor faults in are admitted into a small probationary region, that is recycled
+     * before the rest of the cache. This makes it possible to scan through very large files, without evicting the
+     * working set of the rest of the database. Accesses that are made through transient cursors are also counted
+     * separately by the {@link org.neo4j.io.pagecache.tracing.PageCacheTracer}.
+     * <p>
+     * Pages that are later accessed by a cursor that is not transient are promoted out of the probationary region.
      */
-    int PF_TRANSIENT = 1 << 5; // TBD
+    int PF_TRANSIENT = 1 << 5;
     /**
      * Flush pages more aggressively, after they have been dirtied by a write cursor.
      */
@@ -177,6 +192,27 @@ public interface PagedFile extends AutoCloseable
      */
     long getLastPageId() throws IOException;
 
+    /**
+     * Get the number of pages of this file that are currently in memory.
+     * <p>
+     * This is a snapshot of a number that changes concurrently with page faults and evictions, and is only
+     * intended for monitoring.
+     */
+    long residentPages();
+
+    /**
+     * Get the usage count of the given page, if it is in memory. The usage count is an approximation of how frequently
+     * the page has been accessed recently, as seen by the page replacement policy of the page cache. Higher counts
+     * mean hotter pages. The page is neither faulted in nor otherwise touched by this method.
+     * <p>
+     * Like {@link #residentPages()}, this is a snapshot of a number that changes concurrently with page accesses and
+     * evictions. It is meant for profiling what data is hot, and not for making decisions that need to be exact.
+     *
+     * @param filePageId The file page id of the page to look at.
+     * @return The usage count of the page, which is zero or greater, or -1 if the page is not in memory.
+     */
+    int usageCount( long filePageId );
+
     /**
      * Release a handle to a paged file.
      * <p>
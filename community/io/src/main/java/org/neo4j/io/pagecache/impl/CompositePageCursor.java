@@ -518,6 +518,12 @@ public class CompositePageCursor extends PageCursor
         throw new UnsupportedOperationException( "Linked cursors are not supported for composite cursors" );
     }
 
+    @Override
+    public void prefetch( long[] pageIds, int offset, int length )
+    {
+        // The composite cursor does not know which page ids belong to which of its cursors.
+    }
+
     @Override
     public void zapPage()
     {
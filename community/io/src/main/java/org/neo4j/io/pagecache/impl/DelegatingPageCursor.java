@@ -288,6 +288,12 @@ public class DelegatingPageCursor extends PageCursor
         return delegate.shouldRetry();
     }
 
+    @Override
+    public void prefetch( long[] pageIds, int offset, int length )
+    {
+        delegate.prefetch( pageIds, offset, length );
+    }
+
     @Override
     public void zapPage()
     {
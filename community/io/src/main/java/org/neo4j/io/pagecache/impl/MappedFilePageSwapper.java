@@ -0,0 +1,654 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl;
+
+import org.apache.commons.lang3.SystemUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.OpenMode;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.fs.StoreFileChannel;
+import org.neo4j.io.fs.StoreFileChannelUnwrapper;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PageEvictionCallback;
+import org.neo4j.io.pagecache.PageSwapper;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
+import org.neo4j.util.FeatureToggles;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * A PageSwapper implementation that serves page faults by copying the page contents out of read-only memory mappings
+ * of the file, instead of issuing a read system call per fault.
+ * <p>
+ * The file is mapped in segments of a whole number of pages, which are mapped lazily as they are first read from, and
+ * unmapped and remapped when the file grows past the end of their mapping. Writes still go through a file channel,
+ * which relies on the operating system keeping the mappings coherent with the file, as is the case on Linux and other
+ * systems with a unified buffer cache. This makes the swapper best suited for read-mostly stores.
+ * <p>
+ * Readers hold a shared lock on the mappings while copying, so that segments can safely be unmapped when they are
+ * remapped, when the file is truncated, and when the swapper is closed.
+ */
+public class MappedFilePageSwapper implements PageSwapper
+{
+    private static final int MAX_INTERRUPTED_CHANNEL_REOPEN_ATTEMPTS = 42;
+
+    // The maximum number of bytes that a single mapped segment will cover. Segments are at most 1 GiB by default,
+    // and always cover a whole number of file pages.
+    private static final long maxSegmentSize =
+            FeatureToggles.getLong( MappedFilePageSwapper.class, "segmentSize", 1L << 30 );
+
+    private static final long fileSizeOffset =
+            UnsafeUtil.getFieldOffset( MappedFilePageSwapper.class, "fileSize" );
+
+    private static final ThreadLocal<ByteBuffer> proxyCache = new ThreadLocal<>();
+    private static final MethodHandle unmapper = findUnmapper();
+
+    private static MethodHandle findUnmapper()
+    {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try
+        {
+            // Java 9 and later
+            Class<?> unsafeClass = Class.forName( "sun.misc.Unsafe" );
+            Field theUnsafe = unsafeClass.getDeclaredField( "theUnsafe" );
+            theUnsafe.setAccessible( true );
+            MethodHandle invokeCleaner =
+                    lookup.findVirtual( unsafeClass, "invokeCleaner", methodType( void.class, ByteBuffer.class ) );
+            return invokeCleaner.bindTo( theUnsafe.get( null ) );
+        }
+        catch ( Throwable ignore )
+        {
+            // Not available on this platform, so we try the next alternative.
+        }
+        try
+        {
+            // Java 8
+            Method cleanerMethod = Class.forName( "sun.nio.ch.DirectBuffer" ).getMethod( "cleaner" );
+            cleanerMethod.setAccessible( true );
+            Method cleanMethod = cleanerMethod.getReturnType().getMethod( "clean" );
+            cleanMethod.setAccessible( true );
+            MethodHandle clean = MethodHandles.filterReturnValue(
+                    lookup.unreflect( cleanerMethod ), lookup.unreflect( cleanMethod ) );
+            return clean.asType( methodType( void.class, ByteBuffer.class ) );
+        }
+        catch ( Throwable ignore )
+        {
+            // We'll leave it to the garbage collector to unmap the segments.
+            return null;
+        }
+    }
+
+    private static ByteBuffer proxy( long buffer, int bufferLength ) throws IOException
+    {
+        ByteBuffer buf = proxyCache.get();
+        if ( buf != null )
+        {
+            UnsafeUtil.initDirectByteBuffer( buf, buffer, bufferLength );
+            return buf;
+        }
+        try
+        {
+            buf = UnsafeUtil.newDirectByteBuffer( buffer, bufferLength );
+        }
+        catch ( Exception e )
+        {
+            throw new IOException( e );
+        }
+        proxyCache.set( buf );
+        return buf;
+    }
+
+    private final FileSystemAbstraction fs;
+    private final File file;
+    private final int filePageSize;
+    private final int pagesPerSegment;
+    private final long segmentSize;
+    private volatile PageEvictionCallback onEviction;
+    private volatile StoreChannel channel;
+    private FileLock fileLock;
+
+    // Guards the segments against being unmapped while they are being read from. Read locked while copying out of a
+    // segment, and write locked while changing or unmapping segments.
+    private final StampedLock mappingLock = new StampedLock();
+    // Only changed while holding the write lock on the mappingLock.
+    private Segment[] segments = new Segment[0];
+
+    // Guarded by synchronized(this). See tryReopen() and close().
+    private volatile boolean closed;
+
+    @SuppressWarnings( "unused" ) // Accessed through unsafe
+    private volatile long fileSize;
+
+    public MappedFilePageSwapper( File file, FileSystemAbstraction fs, int filePageSize, PageEvictionCallback onEviction )
+            throws IOException
+    {
+        this.fs = fs;
+        this.file = file;
+        this.filePageSize = filePageSize;
+        this.pagesPerSegment = (int) Math.max( 1, Math.min( maxSegmentSize, Integer.MAX_VALUE ) / filePageSize );
+        this.segmentSize = ((long) pagesPerSegment) * filePageSize;
+        this.onEviction = onEviction;
+        this.channel = fs.open( file, OpenMode.READ_WRITE );
+        increaseFileSizeTo( channel.size() );
+
+        try
+        {
+            acquireLock();
+        }
+        catch ( IOException e )
+        {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return {@code true} if the given channel can be memory mapped by this swapper.
+     */
+    static boolean canMap( StoreChannel channel )
+    {
+        return channel instanceof StoreFileChannel;
+    }
+
+    private void increaseFileSizeTo( long newFileSize )
+    {
+        long currentFileSize;
+        do
+        {
+            currentFileSize = getCurrentFileSize();
+        }
+        while ( currentFileSize < newFileSize && !UnsafeUtil.compareAndSwapLong(
+                this, fileSizeOffset, currentFileSize, newFileSize ) );
+    }
+
+    private long getCurrentFileSize()
+    {
+        return UnsafeUtil.getLongVolatile( this, fileSizeOffset );
+    }
+
+    private void setCurrentFileSize( long size )
+    {
+        UnsafeUtil.putLongVolatile( this, fileSizeOffset, size );
+    }
+
+    private void acquireLock() throws IOException
+    {
+        if ( SystemUtils.IS_OS_WINDOWS )
+        {
+            // See SingleFilePageSwapper.acquireLock() for why we don't lock store files on Windows.
+            return;
+        }
+
+        try
+        {
+            fileLock = channel.tryLock();
+            if ( fileLock == null )
+            {
+                throw new FileLockException( file );
+            }
+        }
+        catch ( OverlappingFileLockException e )
+        {
+            throw new FileLockException( file, e );
+        }
+    }
+
+    @Override
+    public long read( long filePageId, long bufferAddress, int bufferSize ) throws IOException
+    {
+        long fileOffset = pageIdToPosition( filePageId );
+        int segmentId = (int) (filePageId / pagesPerSegment);
+        long segmentOffset = (filePageId % pagesPerSegment) * filePageSize;
+        boolean remapped = false;
+        for (;;)
+        {
+            long stamp = mappingLock.readLock();
+            try
+            {
+                if ( closed )
+                {
+                    throw new ClosedChannelException();
+                }
+                if ( fileOffset >= getCurrentFileSize() )
+                {
+                    clear( bufferAddress, bufferSize );
+                    return 0;
+                }
+                Segment segment = segmentId < segments.length ? segments[segmentId] : null;
+                if ( remapped || (segment != null &&
+                        (segment.length >= segmentOffset + filePageSize || segment.mappedFileSize >= getCurrentFileSize())) )
+                {
+                    return copyOut( segment, segmentOffset, bufferAddress, bufferSize );
+                }
+            }
+            finally
+            {
+                mappingLock.unlockRead( stamp );
+            }
+
+            // The page is beyond the end of what we have mapped, and the file has grown since we mapped it.
+            remapSegment( segmentId, MAX_INTERRUPTED_CHANNEL_REOPEN_ATTEMPTS );
+            remapped = true;
+        }
+    }
+
+    private int copyOut( Segment segment, long segmentOffset, long bufferAddress, int bufferSize ) throws IOException
+    {
+        int bytes = segment == null ? 0 : (int) Math.max( 0, Math.min( filePageSize, segment.length - segmentOffset ) );
+        try
+        {
+            if ( bytes > 0 )
+            {
+                UnsafeUtil.copyMemory( segment.address + segmentOffset, bufferAddress, bytes );
+            }
+        }
+        catch ( InternalError e )
+        {
+            // The JVM reports faults in memory mapped regions, e.g. because the file was truncated behind our back,
+            // as internal errors.
+            throw new IOException( "Read failed from mapped file " + file + " at segment offset " + segmentOffset, e );
+        }
+        UnsafeUtil.setMemory( bufferAddress + bytes, bufferSize - bytes, MuninnPageCache.ZERO_BYTE );
+        return bytes;
+    }
+
+    private void remapSegment( int segmentId, int attemptsLeft ) throws IOException
+    {
+        long stamp = mappingLock.writeLock();
+        try
+        {
+            if ( closed )
+            {
+                throw new ClosedChannelException();
+            }
+            long segmentStart = segmentId * segmentSize;
+            long length = Math.min( segmentSize, channel.size() - segmentStart );
+            Segment current = segmentId < segments.length ? segments[segmentId] : null;
+            if ( length <= 0 || (current != null && current.length >= length) )
+            {
+                // Nothing new to map.
+                return;
+            }
+            FileChannel fileChannel = StoreFileChannelUnwrapper.unwrap( channel );
+            MappedByteBuffer buffer = fileChannel.map( FileChannel.MapMode.READ_ONLY, segmentStart, length );
+            if ( segmentId >= segments.length )
+            {
+                segments = Arrays.copyOf( segments, segmentId + 1 );
+            }
+            segments[segmentId] = new Segment( buffer, length, segmentStart + length );
+            if ( current != null )
+            {
+                unmap( current );
+            }
+        }
+        catch ( ClosedChannelException e )
+        {
+            mappingLock.unlockWrite( stamp );
+            stamp = 0;
+            tryReopen( e );
+
+            if ( attemptsLeft < 1 )
+            {
+                throw new IOException( "IO failed due to interruption", e );
+            }
+
+            boolean interrupted = Thread.interrupted();
+            remapSegment( segmentId, attemptsLeft - 1 );
+            if ( interrupted )
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+        finally
+        {
+            if ( stamp != 0 )
+            {
+                mappingLock.unlockWrite( stamp );
+            }
+        }
+    }
+
+    /**
+     * Must be called while holding the write lock on the mappingLock.
+     */
+    private void unmapAllSegments()
+    {
+        for ( Segment segment : segments )
+        {
+            if ( segment != null )
+            {
+                unmap( segment );
+            }
+        }
+        segments = new Segment[0];
+    }
+
+    private static void unmap( Segment segment )
+    {
+        if ( unmapper != null )
+        {
+            try
+            {
+                unmapper.invokeExact( (ByteBuffer) segment.buffer );
+            }
+            catch ( Throwable ignore )
+            {
+                // The mapping will be released when the buffer is garbage collected instead.
+            }
+        }
+    }
+
+    private void clear( long bufferAddress, int bufferSize )
+    {
+        UnsafeUtil.setMemory( bufferAddress, bufferSize, MuninnPageCache.ZERO_BYTE );
+    }
+
+    @Override
+    public long read( long startFilePageId, long[] bufferAddresses, int bufferSize, int arrayOffset, int length )
+            throws IOException
+    {
+        long bytes = 0;
+        for ( int i = 0; i < length; i++ )
+        {
+            bytes += read( startFilePageId + i, bufferAddresses[arrayOffset + i], bufferSize );
+        }
+        return bytes;
+    }
+
+    @Override
+    public long write( long filePageId, long bufferAddress ) throws IOException
+    {
+        return writeAndRetryIfInterrupted( filePageId, bufferAddress, MAX_INTERRUPTED_CHANNEL_REOPEN_ATTEMPTS );
+    }
+
+    private long writeAndRetryIfInterrupted( long filePageId, long bufferAddress, int attemptsLeft ) throws IOException
+    {
+        long fileOffset = pageIdToPosition( filePageId );
+        increaseFileSizeTo( fileOffset + filePageSize );
+        try
+        {
+            ByteBuffer bufferProxy = proxy( bufferAddress, filePageSize );
+            channel.writeAll( bufferProxy, fileOffset );
+            return filePageSize;
+        }
+        catch ( ClosedChannelException e )
+        {
+            tryReopen( e );
+
+            if ( attemptsLeft < 1 )
+            {
+                throw new IOException( "IO failed due to interruption", e );
+            }
+
+            boolean interrupted = Thread.interrupted();
+            long bytesWritten = writeAndRetryIfInterrupted( filePageId, bufferAddress, attemptsLeft - 1 );
+            if ( interrupted )
+            {
+                Thread.currentThread().interrupt();
+            }
+            return bytesWritten;
+        }
+    }
+
+    @Override
+    public long write( long startFilePageId, long[] bufferAddresses, int arrayOffset, int length ) throws IOException
+    {
+        long bytes = 0;
+        for ( int i = 0; i < length; i++ )
+        {
+            bytes += write( startFilePageId + i, bufferAddresses[arrayOffset + i] );
+        }
+        return bytes;
+    }
+
+    @Override
+    public void evicted( long filePageId )
+    {
+        PageEvictionCallback callback = this.onEviction;
+        if ( callback != null )
+        {
+            callback.onEvict( filePageId );
+        }
+    }
+
+    @Override
+    public File file()
+    {
+        return file;
+    }
+
+    private long pageIdToPosition( long pageId )
+    {
+        return filePageSize * pageId;
+    }
+
+    @Override
+    public boolean equals( Object o )
+    {
+        if ( this == o )
+        {
+            return true;
+        }
+        if ( o == null || getClass() != o.getClass() )
+        {
+            return false;
+        }
+
+        MappedFilePageSwapper that = (MappedFilePageSwapper) o;
+
+        return file.equals( that.file );
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return file.hashCode();
+    }
+
+    /**
+     * Reopens the channel if it has been closed and the close() method on this swapper has not been called, e.g.
+     * because the channel was closed by an interrupt. The memory mappings are not affected by this, since they
+     * outlive the channel they were created from.
+     */
+    private synchronized void tryReopen( ClosedChannelException closedException ) throws ClosedChannelException
+    {
+        if ( channel.isOpen() )
+        {
+            // Someone got ahead of us, presumably. Nothing to do.
+            return;
+        }
+
+        if ( closed )
+        {
+            // We've been explicitly closed, so we shouldn't reopen the channel.
+            throw closedException;
+        }
+
+        try
+        {
+            channel = fs.open( file, OpenMode.READ_WRITE );
+            // The closing of a FileChannel also releases all associated file locks.
+            acquireLock();
+        }
+        catch ( IOException e )
+        {
+            closedException.addSuppressed( e );
+            throw closedException;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        closed = true;
+        long stamp = mappingLock.writeLock();
+        try
+        {
+            unmapAllSegments();
+            channel.close();
+        }
+        finally
+        {
+            mappingLock.unlockWrite( stamp );
+            // Relinquish our reference to the onEviction callback eagerly, like SingleFilePageSwapper does.
+            onEviction = null;
+        }
+    }
+
+    @Override
+    public synchronized void closeAndDelete() throws IOException
+    {
+        close();
+        fs.deleteFile( file );
+    }
+
+    @Override
+    public void force() throws IOException
+    {
+        forceAndRetryIfInterrupted( MAX_INTERRUPTED_CHANNEL_REOPEN_ATTEMPTS );
+    }
+
+    private void forceAndRetryIfInterrupted( int attemptsLeft ) throws IOException
+    {
+        try
+        {
+            channel.force( false );
+        }
+        catch ( ClosedChannelException e )
+        {
+            tryReopen( e );
+
+            if ( attemptsLeft < 1 )
+            {
+                throw new IOException( "IO failed due to interruption", e );
+            }
+
+            boolean interrupted = Thread.interrupted();
+            forceAndRetryIfInterrupted( attemptsLeft - 1 );
+            if ( interrupted )
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public long getLastPageId()
+    {
+        long channelSize = getCurrentFileSize();
+        if ( channelSize == 0 )
+        {
+            return PageCursor.UNBOUND_PAGE_ID;
+        }
+        long div = channelSize / filePageSize;
+        long mod = channelSize % filePageSize;
+        return mod == 0 ? div - 1 : div;
+    }
+
+    @Override
+    public void truncate() throws IOException
+    {
+        truncateAndRetryIfInterrupted( MAX_INTERRUPTED_CHANNEL_REOPEN_ATTEMPTS );
+    }
+
+    private void truncateAndRetryIfInterrupted( int attemptsLeft ) throws IOException
+    {
+        long stamp = mappingLock.writeLock();
+        try
+        {
+            // Accessing a mapping beyond the end of the file is a fatal error, so all segments must go first, and
+            // no reader can be allowed to map them again, until the file has been truncated.
+            setCurrentFileSize( 0 );
+            unmapAllSegments();
+            channel.truncate( 0 );
+        }
+        catch ( ClosedChannelException e )
+        {
+            mappingLock.unlockWrite( stamp );
+            stamp = 0;
+            tryReopen( e );
+
+            if ( attemptsLeft < 1 )
+            {
+                throw new IOException( "IO failed due to interruption", e );
+            }
+
+            boolean interrupted = Thread.interrupted();
+            truncateAndRetryIfInterrupted( attemptsLeft - 1 );
+            if ( interrupted )
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+        finally
+        {
+            if ( stamp != 0 )
+            {
+                mappingLock.unlockWrite( stamp );
+            }
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "MappedFilePageSwapper{" +
+                "filePageSize=" + filePageSize +
+                ", file=" + file +
+                '}';
+    }
+
+    private static final class Segment
+    {
+        private final MappedByteBuffer buffer;
+        private final long address;
+        private final long length;
+        // The size of the file, as far as this segment could observe, when it was mapped.
+        private final long mappedFileSize;
+
+        Segment( MappedByteBuffer buffer, long length, long mappedFileSize )
+        {
+            this.buffer = buffer;
+            this.address = UnsafeUtil.getDirectByteBufferAddress( buffer );
+            this.length = length;
+            this.mappedFileSize = mappedFileSize;
+        }
+    }
+}
@@ -374,9 +374,9 @@ public class SingleFilePageSwapper implements PageSwapper
         long bytesRead = lockPositionReadVectorAndRetryIfInterrupted( startFilePageId, channel, fileOffset, srcs, MAX_INTERRUPTED_CHANNEL_REOPEN_ATTEMPTS );
         if ( bytesRead == -1 )
         {
-            for ( long address : bufferAddresses )
+            for ( int i = 0; i < length; i++ )
             {
-                UnsafeUtil.setMemory( address, filePageSize, MuninnPageCache.ZERO_BYTE );
+                UnsafeUtil.setMemory( bufferAddresses[arrayOffset + i], filePageSize, MuninnPageCache.ZERO_BYTE );
             }
             return 0;
         }
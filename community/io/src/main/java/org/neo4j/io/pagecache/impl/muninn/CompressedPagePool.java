@@ -0,0 +1,459 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import org.eclipse.collections.api.set.primitive.IntSet;
+import org.eclipse.collections.impl.map.mutable.primitive.LongIntHashMap;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.neo4j.memory.MemoryAllocationTracker;
+import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
+
+/**
+ * A second tier of page memory, that keeps LZ4 compressed copies of pages that have been evicted from the page cache.
+ * <p>
+ * When the page cache evicts a page, it is clean, either because it was never modified or because it was flushed as
+ * part of the eviction, so its contents are the same as what is on disk. Instead of just dropping the page, it is
+ * compressed into this pool, as long as it compresses to at least one {@link #CHUNK_SIZE chunk} less than the cache
+ * page size. A later page fault of the same file page then decompresses the page from memory, instead of reading it
+ * from the file. The compressed copy is removed from the pool when it is faulted back in, so a page is never both in
+ * the page cache and in this pool, and a modified page simply replaces its old copy when it is evicted again.
+ * <p>
+ * The pool memory is split into a number of segments, that each have their own lock, so that concurrent page faults
+ * and evictions don't all contend on the same lock. The compressed pages are stored in linked lists of fixed size
+ * chunks within the memory of a segment. When a segment runs out of free chunks, it evicts compressed pages with a
+ * clock sweep over its chunks.
+ * <p>
+ * The compressed pages are keyed by swapper id and file page id. Compressed pages of files that have been unmapped are
+ * {@link #invalidate(IntSet) invalidated} when their swapper ids are vacuumed, before the ids can be reused.
+ */
+public final class CompressedPagePool
+{
+    static final CompressedPagePool DISABLED = new CompressedPagePool();
+
+    static final int CHUNK_SIZE = 512;
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_PAGES_PER_SEGMENT = 64;
+    private static final int SHIFT_FILE_PAGE_ID = 21;
+    private static final long MASK_SWAPPER_ID = (1L << SHIFT_FILE_PAGE_ID) - 1;
+    private static final long NO_KEY = -1;
+    private static final int NO_CHUNK = -1;
+
+    private final SwapperSet swappers;
+    private final int cachePageSize;
+    private final int maxCompressedLength;
+    private final Segment[] segments;
+    private final MemoryAllocationTracker memoryTracker;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder diskFaults = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private CompressedPagePool()
+    {
+        this.swappers = null;
+        this.cachePageSize = 0;
+        this.maxCompressedLength = 0;
+        this.segments = new Segment[0];
+        this.memoryTracker = null;
+    }
+
+    /**
+     * Create a compressed page pool that uses the given amount of memory.
+     * <p>
+     * The pool is disabled if the memory is not enough for a minimum number of compressed pages.
+     *
+     * @param memory The number of bytes of native memory to use for compressed pages.
+     * @param cachePageSize The size of the cache pages that are compressed into this pool.
+     * @param swappers The swappers of the page cache, used for checking that the file of a page is still mapped.
+     * @param memoryTracker The tracker of the native memory allocations of this pool.
+     */
+    CompressedPagePool( long memory, int cachePageSize, SwapperSet swappers, MemoryAllocationTracker memoryTracker )
+    {
+        this.swappers = swappers;
+        this.cachePageSize = cachePageSize;
+        this.maxCompressedLength = cachePageSize - CHUNK_SIZE;
+        this.memoryTracker = memoryTracker;
+        long minimumSegmentMemory = (long) MIN_PAGES_PER_SEGMENT * cachePageSize;
+        if ( maxCompressedLength <= 0 || memory < minimumSegmentMemory )
+        {
+            this.segments = new Segment[0];
+            return;
+        }
+        int segmentCount = Integer.highestOneBit( (int) Math.min( MAX_SEGMENTS, memory / minimumSegmentMemory ) );
+        int chunksPerSegment = Math.toIntExact( Math.min( Integer.MAX_VALUE, memory / segmentCount / CHUNK_SIZE ) );
+        this.segments = new Segment[segmentCount];
+        for ( int i = 0; i < segmentCount; i++ )
+        {
+            segments[i] = new Segment( chunksPerSegment, cachePageSize, memoryTracker );
+        }
+    }
+
+    /**
+     * @return {@code true} if this pool has any memory to keep compressed pages in.
+     */
+    public boolean isEnabled()
+    {
+        return segments.length > 0;
+    }
+
+    /**
+     * @return The number of page faults that were served by decompressing a page from this pool.
+     */
+    public long hits()
+    {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of page faults that had to read their page from the file, because it was not in this pool.
+     */
+    public long diskFaults()
+    {
+        return diskFaults.sum();
+    }
+
+    /**
+     * @return The number of evicted pages that were compressed into this pool.
+     */
+    public long stores()
+    {
+        return stores.sum();
+    }
+
+    /**
+     * @return The number of evicted pages that were not kept, because they did not compress well enough.
+     */
+    public long rejections()
+    {
+        return rejections.sum();
+    }
+
+    /**
+     * @return The number of compressed pages that were evicted from this pool to make room for others.
+     */
+    public long evictions()
+    {
+        return evictions.sum();
+    }
+
+    /**
+     * Compress the contents of the given evicted cache page into this pool, replacing any older copy of the same page.
+     * <p>
+     * The caller must hold the exclusive lock on the cache page, and the page must be clean.
+     *
+     * @param swapperMapping The mapping of the swapper the page is bound to.
+     * @param filePageId The file page id the page is bound to.
+     * @param address The address of the page memory.
+     */
+    void store( SwapperSet.SwapperMapping swapperMapping, long filePageId, long address )
+    {
+        if ( !isEnabled() )
+        {
+            return;
+        }
+        long key = key( swapperMapping.id, filePageId );
+        Segment segment = segment( key );
+        synchronized ( segment )
+        {
+            if ( segment.closed )
+            {
+                return;
+            }
+            segment.remove( key );
+            // The file might have been unmapped since the page was chosen for eviction, in which case its swapper id
+            // may already have been vacuumed and be ready for reuse by another file. Since vacuuming invalidates the
+            // compressed pages of the swapper ids under the segment locks, checking here is enough to never leave a
+            // compressed page behind for a vacuumed swapper id.
+            if ( swappers.getAllocation( swapperMapping.id ) != swapperMapping )
+            {
+                return;
+            }
+            int length = Lz4BlockCodec.compress( address, cachePageSize, segment.scratch, maxCompressedLength, segment.hashTable );
+            if ( length == -1 )
+            {
+                rejections.increment();
+                return;
+            }
+            int chunks = chunksFor( length );
+            while ( segment.freeCount < chunks )
+            {
+                segment.evictNext();
+                evictions.increment();
+            }
+            segment.put( key, length );
+            stores.increment();
+        }
+    }
+
+    /**
+     * Decompress the given file page into the given page memory, if this pool has a compressed copy of it. The
+     * compressed copy is removed from the pool.
+     *
+     * @param swapperId The id of the swapper of the file.
+     * @param filePageId The file page id to look for.
+     * @param address The address of the page memory to decompress into.
+     * @return {@code true} if the page was decompressed into the page memory, otherwise {@code false}, and the page
+     * must be read from the file.
+     */
+    boolean restore( int swapperId, long filePageId, long address )
+    {
+        if ( !isEnabled() )
+        {
+            return false;
+        }
+        long key = key( swapperId, filePageId );
+        Segment segment = segment( key );
+        synchronized ( segment )
+        {
+            int head = segment.closed ? NO_CHUNK : segment.entries.getIfAbsent( key, NO_CHUNK );
+            if ( head == NO_CHUNK )
+            {
+                diskFaults.increment();
+                return false;
+            }
+            int length = segment.gather( head );
+            segment.remove( key );
+            if ( !Lz4BlockCodec.decompress( segment.scratch, length, address, cachePageSize ) )
+            {
+                diskFaults.increment();
+                return false;
+            }
+        }
+        hits.increment();
+        return true;
+    }
+
+    /**
+     * Remove any compressed copies of the given range of file pages, because they have been read from the file.
+     */
+    void discard( int swapperId, long startFilePageId, int length )
+    {
+        if ( !isEnabled() )
+        {
+            return;
+        }
+        for ( int i = 0; i < length; i++ )
+        {
+            long key = key( swapperId, startFilePageId + i );
+            Segment segment = segment( key );
+            synchronized ( segment )
+            {
+                segment.remove( key );
+            }
+        }
+    }
+
+    /**
+     * Remove all compressed pages of the given swapper ids, because their files have been unmapped, and the ids are
+     * about to be reused.
+     */
+    void invalidate( IntSet swapperIds )
+    {
+        if ( !isEnabled() || swapperIds.isEmpty() )
+        {
+            return;
+        }
+        for ( Segment segment : segments )
+        {
+            synchronized ( segment )
+            {
+                for ( int chunk = 0; chunk < segment.chunkCount; chunk++ )
+                {
+                    long key = segment.headKeys[chunk];
+                    if ( key != NO_KEY && swapperIds.contains( (int) (key & MASK_SWAPPER_ID) ) )
+                    {
+                        segment.remove( key );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Release the memory of this pool. Any later stores and restores are ignored.
+     */
+    void close()
+    {
+        for ( Segment segment : segments )
+        {
+            synchronized ( segment )
+            {
+                if ( !segment.closed )
+                {
+                    segment.closed = true;
+                    segment.entries.clear();
+                    UnsafeUtil.free( segment.memory, segment.memorySize, memoryTracker );
+                }
+            }
+        }
+    }
+
+    private static long key( int swapperId, long filePageId )
+    {
+        return (filePageId << SHIFT_FILE_PAGE_ID) | swapperId;
+    }
+
+    private Segment segment( long key )
+    {
+        int hash = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32);
+        return segments[hash & (segments.length - 1)];
+    }
+
+    private static int chunksFor( int length )
+    {
+        return (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    /**
+     * The compressed pages in a part of the pool memory. All access is guarded by synchronizing on the segment.
+     */
+    private static final class Segment
+    {
+        private final long memory;
+        private final long memorySize;
+        private final int chunkCount;
+        // Scratch space for compressing into, and for gathering compressed pages into for decompression.
+        private final long scratch;
+        private final int[] hashTable = new int[Lz4BlockCodec.HASH_TABLE_SIZE];
+        private final LongIntHashMap entries = new LongIntHashMap();
+        // The chunk that follows each chunk in its compressed page, or NO_CHUNK.
+        private final int[] nextChunks;
+        // The key of the compressed page that starts at each chunk, or NO_KEY.
+        private final long[] headKeys;
+        // The compressed length of the page that starts at each chunk.
+        private final int[] headLengths;
+        private final int[] freeChunks;
+        private int freeCount;
+        private int evictionHand;
+        private boolean closed;
+
+        Segment( int chunkCount, int cachePageSize, MemoryAllocationTracker memoryTracker )
+        {
+            this.chunkCount = chunkCount;
+            this.memorySize = (long) chunkCount * CHUNK_SIZE + cachePageSize;
+            this.memory = UnsafeUtil.allocateMemory( memorySize, memoryTracker );
+            this.scratch = memory + (long) chunkCount * CHUNK_SIZE;
+            this.nextChunks = new int[chunkCount];
+            this.headKeys = new long[chunkCount];
+            this.headLengths = new int[chunkCount];
+            this.freeChunks = new int[chunkCount];
+            for ( int i = 0; i < chunkCount; i++ )
+            {
+                headKeys[i] = NO_KEY;
+                freeChunks[i] = chunkCount - 1 - i;
+            }
+            this.freeCount = chunkCount;
+        }
+
+        private long chunkAddress( int chunk )
+        {
+            return memory + (long) chunk * CHUNK_SIZE;
+        }
+
+        /**
+         * Copy the compressed page in the scratch space into free chunks, and add it under the given key.
+         */
+        void put( long key, int length )
+        {
+            int head = freeChunks[--freeCount];
+            int chunk = head;
+            int offset = 0;
+            while ( true )
+            {
+                int bytes = Math.min( CHUNK_SIZE, length - offset );
+                UnsafeUtil.copyMemory( scratch + offset, chunkAddress( chunk ), bytes );
+                offset += bytes;
+                if ( offset == length )
+                {
+                    break;
+                }
+                int next = freeChunks[--freeCount];
+                nextChunks[chunk] = next;
+                chunk = next;
+            }
+            nextChunks[chunk] = NO_CHUNK;
+            headKeys[head] = key;
+            headLengths[head] = length;
+            entries.put( key, head );
+        }
+
+        /**
+         * Copy the compressed page that starts at the given chunk into the scratch space.
+         *
+         * @return the compressed length of the page.
+         */
+        int gather( int head )
+        {
+            int length = headLengths[head];
+            int chunk = head;
+            int offset = 0;
+            while ( chunk != NO_CHUNK )
+            {
+                int bytes = Math.min( CHUNK_SIZE, length - offset );
+                UnsafeUtil.copyMemory( chunkAddress( chunk ), scratch + offset, bytes );
+                offset += bytes;
+                chunk = nextChunks[chunk];
+            }
+            return length;
+        }
+
+        void remove( long key )
+        {
+            int head = entries.removeKeyIfAbsent( key, NO_CHUNK );
+            if ( head == NO_CHUNK )
+            {
+                return;
+            }
+            headKeys[head] = NO_KEY;
+            int chunk = head;
+            while ( chunk != NO_CHUNK )
+            {
+                freeChunks[freeCount++] = chunk;
+                chunk = nextChunks[chunk];
+            }
+        }
+
+        /**
+         * Evict the next compressed page that the clock hand comes across.
+         */
+        void evictNext()
+        {
+            while ( true )
+            {
+                int chunk = evictionHand;
+                evictionHand = chunk + 1 == chunkCount ? 0 : chunk + 1;
+                long key = headKeys[chunk];
+                if ( key != NO_KEY )
+                {
+                    remove( key );
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A concurrent bitmap of the file pages in a {@link MuninnPagedFile} that have been written to since they were last
+ * flushed.
+ * <p>
+ * Write cursors mark their pages when they unlock them, and flushes clear the mark of a page <em>before</em> they
+ * inspect and flush it. Since the modified flag of a page is raised before the page is marked, this means that a page
+ * can never be modified without either being marked, or being observed as modified by an ongoing flush. The bitmap
+ * may contain pages that are no longer dirty, e.g. because they have since been evicted, so the marks are only hints
+ * of where to look.
+ * <p>
+ * The bitmap is split into chunks that are allocated on demand, such that the memory usage is proportional to the
+ * regions of the file that are actually being written to.
+ */
+final class DirtyPageBitmap
+{
+    static final long NO_DIRTY_PAGE = -1;
+
+    private static final int CHUNK_SIZE_POWER = 12;
+    private static final int WORDS_PER_CHUNK = (1 << CHUNK_SIZE_POWER) >>> 6;
+    private static final int WORD_INDEX_MASK = WORDS_PER_CHUNK - 1;
+
+    // Only grows, and only while holding the monitor lock on this object.
+    private volatile AtomicLongArray[] chunks = new AtomicLongArray[0];
+
+    /**
+     * Mark the given file page as dirty.
+     */
+    void mark( long filePageId )
+    {
+        AtomicLongArray chunk = getOrCreateChunk( chunkId( filePageId ) );
+        int wordIndex = wordIndex( filePageId );
+        long bit = 1L << filePageId;
+        long word = chunk.get( wordIndex );
+        // Avoid the write, if the page is already marked. This is the common case for hot pages.
+        while ( (word & bit) == 0 && !chunk.compareAndSet( wordIndex, word, word | bit ) )
+        {
+            word = chunk.get( wordIndex );
+        }
+    }
+
+    /**
+     * Clear the mark of the given file page.
+     *
+     * @return {@code true} if the page was marked.
+     */
+    boolean clear( long filePageId )
+    {
+        int chunkId = chunkId( filePageId );
+        AtomicLongArray[] cs = chunks;
+        if ( chunkId >= cs.length || cs[chunkId] == null )
+        {
+            return false;
+        }
+        AtomicLongArray chunk = cs[chunkId];
+        int wordIndex = wordIndex( filePageId );
+        long bit = 1L << filePageId;
+        long word;
+        do
+        {
+            word = chunk.get( wordIndex );
+            if ( (word & bit) == 0 )
+            {
+                return false;
+            }
+        }
+        while ( !chunk.compareAndSet( wordIndex, word, word & ~bit ) );
+        return true;
+    }
+
+    /**
+     * @return {@code true} if the given file page is currently marked.
+     */
+    boolean isMarked( long filePageId )
+    {
+        int chunkId = chunkId( filePageId );
+        AtomicLongArray[] cs = chunks;
+        if ( chunkId >= cs.length || cs[chunkId] == null )
+        {
+            return false;
+        }
+        return (cs[chunkId].get( wordIndex( filePageId ) ) & (1L << filePageId)) != 0;
+    }
+
+    /**
+     * Find the lowest marked file page id that is greater than or equal to the given file page id.
+     *
+     * @param fromFilePageId The file page id to start searching from.
+     * @return The file page id of the next marked page, or {@link #NO_DIRTY_PAGE} if there are none.
+     */
+    long nextMarked( long fromFilePageId )
+    {
+        AtomicLongArray[] cs = chunks;
+        int chunkId = chunkId( fromFilePageId );
+        int wordIndex = wordIndex( fromFilePageId );
+        long mask = -1L << fromFilePageId;
+        for ( ; chunkId < cs.length; chunkId++, wordIndex = 0, mask = -1L )
+        {
+            AtomicLongArray chunk = cs[chunkId];
+            if ( chunk == null )
+            {
+                continue;
+            }
+            for ( ; wordIndex < WORDS_PER_CHUNK; wordIndex++, mask = -1L )
+            {
+                long word = chunk.get( wordIndex ) & mask;
+                if ( word != 0 )
+                {
+                    return ((long) chunkId << CHUNK_SIZE_POWER) + ((long) wordIndex << 6) +
+                           Long.numberOfTrailingZeros( word );
+                }
+            }
+        }
+        return NO_DIRTY_PAGE;
+    }
+
+    private AtomicLongArray getOrCreateChunk( int chunkId )
+    {
+        AtomicLongArray[] cs = chunks;
+        if ( chunkId < cs.length )
+        {
+            AtomicLongArray chunk = cs[chunkId];
+            if ( chunk != null )
+            {
+                return chunk;
+            }
+        }
+        return createChunk( chunkId );
+    }
+
+    private synchronized AtomicLongArray createChunk( int chunkId )
+    {
+        AtomicLongArray[] cs = chunks;
+        if ( chunkId >= cs.length )
+        {
+            cs = Arrays.copyOf( cs, Math.max( chunkId + 1, cs.length * 2 ) );
+        }
+        AtomicLongArray chunk = cs[chunkId];
+        if ( chunk == null )
+        {
+            chunk = new AtomicLongArray( WORDS_PER_CHUNK );
+            cs[chunkId] = chunk;
+        }
+        chunks = cs;
+        return chunk;
+    }
+
+    private static int chunkId( long filePageId )
+    {
+        return (int) (filePageId >>> CHUNK_SIZE_POWER);
+    }
+
+    private static int wordIndex( long filePageId )
+    {
+        return (int) (filePageId >>> 6) & WORD_INDEX_MASK;
+    }
+}
@@ -107,6 +107,29 @@ final class LatchMap
         return null;
     }
 
+    /**
+     * Like {@link #takeOrAwaitLatch(long)}, except if a latch is already installed for the given (or any colliding)
+     * identifier, then {@code null} is returned immediately instead of waiting for that latch to be released.
+     * <p>
+     * This is used by speculative page faults, such as read-ahead, that would rather skip a page than wait for it.
+     */
+    Latch tryTakeLatch( long identifier )
+    {
+        int index = index( identifier );
+        if ( getLatch( index ) != null )
+        {
+            return null;
+        }
+        Latch latch = new Latch();
+        if ( compareAndSetLatch( index, null, latch ) )
+        {
+            latch.latchMap = this;
+            latch.index = index;
+            return latch;
+        }
+        return null;
+    }
+
     private int index( long identifier )
     {
         return (int) (mix( identifier ) & faultLockMask);
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import java.util.Arrays;
+
+import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
+
+/**
+ * A compressor and decompressor for the LZ4 block format, that works directly on native memory.
+ * <p>
+ * The compressor is the simple greedy single-pass variant of LZ4, with a hash table of the most recent position of
+ * every 4 byte sequence it has seen. It gradually skips ahead through input it cannot find matches in, so it gives up
+ * quickly on incompressible data. The output can be decompressed by any LZ4 block decompressor, and the decompressor
+ * accepts any valid LZ4 block, although it is only ever given blocks it has compressed itself.
+ * <p>
+ * The format is a sequence of sequences, each made of a token byte, where the high 4 bits are the number of literals
+ * and the low 4 bits are the match length minus 4, followed by any extra literal length bytes, the literals, the 2
+ * byte little-endian match offset, and then any extra match length bytes. A length nibble of 15 means that more
+ * length bytes follow, which are added to it, until one that is not 255. The last sequence only has literals.
+ */
+final class Lz4BlockCodec
+{
+    static final int HASH_TABLE_SIZE = 1 << 12;
+
+    private static final int HASH_SHIFT = Integer.SIZE - 12;
+    private static final int MIN_MATCH = 4;
+    // The last 5 bytes of the input are always literals, and the last match must start 12 bytes before the end.
+    private static final int LAST_LITERALS = 5;
+    private static final int MATCH_FIND_LIMIT = 12;
+    private static final int MAX_DISTANCE = 0xFFFF;
+    private static final int RUN_MASK = 0xF;
+    private static final int SKIP_TRIGGER = 6;
+
+    private Lz4BlockCodec()
+    {
+    }
+
+    /**
+     * Compress the given source memory into the given destination memory.
+     *
+     * @param src The address of the data to compress.
+     * @param srcLength The number of bytes to compress.
+     * @param dst The address to write the compressed data to.
+     * @param maxDstLength The maximum number of bytes to write. Compression is abandoned if the data won't fit.
+     * @param hashTable Scratch space of {@link #HASH_TABLE_SIZE} ints.
+     * @return The compressed length, or -1 if the compressed data would be longer than {@code maxDstLength}.
+     */
+    static int compress( long src, int srcLength, long dst, int maxDstLength, int[] hashTable )
+    {
+        Arrays.fill( hashTable, -1 );
+        int anchor = 0;
+        int dstPos = 0;
+        if ( srcLength > MATCH_FIND_LIMIT )
+        {
+            int matchFindLimit = srcLength - MATCH_FIND_LIMIT;
+            int matchLimit = srcLength - LAST_LITERALS;
+            int searchMisses = 1 << SKIP_TRIGGER;
+            int pos = 0;
+            while ( pos < matchFindLimit )
+            {
+                int sequence = readInt( src + pos );
+                int hash = (sequence * -1640531535) >>> HASH_SHIFT;
+                int ref = hashTable[hash];
+                hashTable[hash] = pos;
+                if ( ref < 0 || pos - ref > MAX_DISTANCE || readInt( src + ref ) != sequence )
+                {
+                    pos += searchMisses++ >>> SKIP_TRIGGER;
+                    continue;
+                }
+                searchMisses = 1 << SKIP_TRIGGER;
+
+                // Extend the match backwards over the pending literals, and then forwards as far as we can.
+                while ( pos > anchor && ref > 0 && UnsafeUtil.getByte( src + pos - 1 ) == UnsafeUtil.getByte( src + ref - 1 ) )
+                {
+                    pos--;
+                    ref--;
+                }
+                int matchLength = MIN_MATCH;
+                while ( pos + matchLength < matchLimit &&
+                        UnsafeUtil.getByte( src + pos + matchLength ) == UnsafeUtil.getByte( src + ref + matchLength ) )
+                {
+                    matchLength++;
+                }
+
+                dstPos = writeSequence( src, anchor, pos - anchor, pos - ref, matchLength, dst, dstPos, maxDstLength );
+                if ( dstPos == -1 )
+                {
+                    return -1;
+                }
+                pos += matchLength;
+                anchor = pos;
+            }
+        }
+        return writeLastLiterals( src, anchor, srcLength - anchor, dst, dstPos, maxDstLength );
+    }
+
+    /**
+     * Decompress the given LZ4 block into the given destination memory.
+     *
+     * @param src The address of the compressed data.
+     * @param srcLength The length of the compressed data.
+     * @param dst The address to write the decompressed data to.
+     * @param dstLength The exact number of bytes the data is expected to decompress to.
+     * @return {@code true} if the block decompressed to exactly {@code dstLength} bytes, or {@code false} if the block
+     * is malformed. The destination memory may have been partially overwritten in that case.
+     */
+    static boolean decompress( long src, int srcLength, long dst, int dstLength )
+    {
+        int srcPos = 0;
+        int dstPos = 0;
+        while ( srcPos < srcLength )
+        {
+            int token = UnsafeUtil.getByte( src + srcPos++ ) & 0xFF;
+
+            int literalLength = token >>> 4;
+            if ( literalLength == RUN_MASK )
+            {
+                int b;
+                do
+                {
+                    if ( srcPos == srcLength )
+                    {
+                        return false;
+                    }
+                    b = UnsafeUtil.getByte( src + srcPos++ ) & 0xFF;
+                    literalLength += b;
+                }
+                while ( b == 0xFF );
+            }
+            if ( literalLength > srcLength - srcPos || literalLength > dstLength - dstPos )
+            {
+                return false;
+            }
+            if ( literalLength > 0 )
+            {
+                UnsafeUtil.copyMemory( src + srcPos, dst + dstPos, literalLength );
+                srcPos += literalLength;
+                dstPos += literalLength;
+            }
+            if ( srcPos == srcLength )
+            {
+                break; // The last sequence has no match part.
+            }
+
+            if ( srcLength - srcPos < 2 )
+            {
+                return false;
+            }
+            int offset = (UnsafeUtil.getByte( src + srcPos ) & 0xFF) | (UnsafeUtil.getByte( src + srcPos + 1 ) & 0xFF) << 8;
+            srcPos += 2;
+            if ( offset == 0 || offset > dstPos )
+            {
+                return false;
+            }
+            int matchLength = token & RUN_MASK;
+            if ( matchLength == RUN_MASK )
+            {
+                int b;
+                do
+                {
+                    if ( srcPos == srcLength )
+                    {
+                        return false;
+                    }
+                    b = UnsafeUtil.getByte( src + srcPos++ ) & 0xFF;
+                    matchLength += b;
+                }
+                while ( b == 0xFF );
+            }
+            matchLength += MIN_MATCH;
+            if ( matchLength > dstLength - dstPos )
+            {
+                return false;
+            }
+            long matchAddress = dst + dstPos - offset;
+            if ( offset >= matchLength )
+            {
+                UnsafeUtil.copyMemory( matchAddress, dst + dstPos, matchLength );
+            }
+            else
+            {
+                // Overlapping matches repeat the bytes we are in the middle of writing, so they must be copied in order.
+                for ( int i = 0; i < matchLength; i++ )
+                {
+                    UnsafeUtil.putByte( dst + dstPos + i, UnsafeUtil.getByte( matchAddress + i ) );
+                }
+            }
+            dstPos += matchLength;
+        }
+        return dstPos == dstLength;
+    }
+
+    private static int writeSequence( long src, int literalStart, int literalLength, int offset, int matchLength,
+            long dst, int dstPos, int maxDstLength )
+    {
+        int remainingMatchLength = matchLength - MIN_MATCH;
+        int maxSequenceLength = 1 + literalLength / 0xFF + 1 + literalLength + 2 + remainingMatchLength / 0xFF + 1;
+        if ( maxSequenceLength > maxDstLength - dstPos )
+        {
+            return -1;
+        }
+        long tokenAddress = dst + dstPos++;
+        int token;
+        if ( literalLength >= RUN_MASK )
+        {
+            token = RUN_MASK << 4;
+            dstPos = writeLength( literalLength - RUN_MASK, dst, dstPos );
+        }
+        else
+        {
+            token = literalLength << 4;
+        }
+        if ( literalLength > 0 )
+        {
+            UnsafeUtil.copyMemory( src + literalStart, dst + dstPos, literalLength );
+            dstPos += literalLength;
+        }
+        UnsafeUtil.putByte( dst + dstPos++, (byte) offset );
+        UnsafeUtil.putByte( dst + dstPos++, (byte) (offset >>> 8) );
+        if ( remainingMatchLength >= RUN_MASK )
+        {
+            token |= RUN_MASK;
+            dstPos = writeLength( remainingMatchLength - RUN_MASK, dst, dstPos );
+        }
+        else
+        {
+            token |= remainingMatchLength;
+        }
+        UnsafeUtil.putByte( tokenAddress, (byte) token );
+        return dstPos;
+    }
+
+    private static int writeLastLiterals( long src, int literalStart, int literalLength, long dst, int dstPos,
+            int maxDstLength )
+    {
+        if ( 1 + literalLength / 0xFF + 1 + literalLength > maxDstLength - dstPos )
+        {
+            return -1;
+        }
+        if ( literalLength >= RUN_MASK )
+        {
+            UnsafeUtil.putByte( dst + dstPos++, (byte) (RUN_MASK << 4) );
+            dstPos = writeLength( literalLength - RUN_MASK, dst, dstPos );
+        }
+        else
+        {
+            UnsafeUtil.putByte( dst + dstPos++, (byte) (literalLength << 4) );
+        }
+        if ( literalLength > 0 )
+        {
+            UnsafeUtil.copyMemory( src + literalStart, dst + dstPos, literalLength );
+            dstPos += literalLength;
+        }
+        return dstPos;
+    }
+
+    private static int writeLength( int length, long dst, int dstPos )
+    {
+        while ( length >= 0xFF )
+        {
+            UnsafeUtil.putByte( dst + dstPos++, (byte) 0xFF );
+            length -= 0xFF;
+        }
+        UnsafeUtil.putByte( dst + dstPos++, (byte) length );
+        return dstPos;
+    }
+
+    private static int readInt( long address )
+    {
+        if ( UnsafeUtil.allowUnalignedMemoryAccess )
+        {
+            return UnsafeUtil.getInt( address );
+        }
+        // Only used for finding equal sequences, so the byte order does not matter.
+        return (UnsafeUtil.getByte( address ) & 0xFF) |
+               (UnsafeUtil.getByte( address + 1 ) & 0xFF) << 8 |
+               (UnsafeUtil.getByte( address + 2 ) & 0xFF) << 16 |
+               (UnsafeUtil.getByte( address + 3 ) & 0xFF) << 24;
+    }
+}
@@ -30,9 +30,12 @@ import java.nio.file.OpenOption;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -42,6 +45,8 @@ import org.neo4j.io.mem.MemoryAllocator;
 import org.neo4j.io.pagecache.IOLimiter;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.PageCacheOpenOptions;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PageReservation;
 import org.neo4j.io.pagecache.PageSwapperFactory;
 import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.io.pagecache.tracing.EvictionRunEvent;
@@ -60,6 +65,7 @@ import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
 
 import static java.lang.String.format;
 import static org.neo4j.util.FeatureToggles.flag;
+import static org.neo4j.io.pagecache.impl.muninn.PageList.MAX_USAGE_COUNT;
 import static org.neo4j.util.FeatureToggles.getInteger;
 
 /**
@@ -130,6 +136,11 @@ public class MuninnPageCache implements PageCache
     private static final int cooperativeEvictionLiveLockThreshold = getInteger(
             MuninnPageCache.class, "cooperativeEvictionLiveLockThreshold", 100 );
 
+    // The maximum number of asynchronous page fault jobs, from read-ahead and prefetching cursors, that can be in
+    // flight at any one time. Asynchronous faults beyond this limit are dropped, and left to the cursors themselves.
+    private static final int maxAsyncPageFaults = getInteger(
+            MuninnPageCache.class, "maxAsyncPageFaults", 64 );
+
     // This is a pre-allocated constant, so we can throw it without allocating any objects:
     @SuppressWarnings( "ThrowableInstanceNeverThrown" )
     private static final IOException oomException = new IOException(
@@ -151,6 +162,9 @@ public class MuninnPageCache implements PageCache
     // Scheduler that runs all the background jobs for page cache.
     private final JobScheduler scheduler;
 
+    // The number of asynchronous page fault jobs that are currently queued or running.
+    private final AtomicInteger asyncPageFaultsInFlight = new AtomicInteger();
+
     private static final List<OpenOption> ignoredOpenOptions = Arrays.asList( StandardOpenOption.APPEND,
             StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.SPARSE );
 
@@ -169,6 +183,11 @@ public class MuninnPageCache implements PageCache
     // exceptions on bounds checking failures; we can instead return the victim page pointer, and permit the page
     // accesses to take place without fear of segfaulting newly allocated cursors.
     final long victimPage;
+    // Pages faulted in by PF_TRANSIENT cursors. These are recycled before the eviction clocks get to sweep the rest of
+    // the cache, so that large scans do not push the hot working set out of memory.
+    final ProbationaryPages probationaryPages;
+    // Compressed copies of evicted pages, that page faults can decompress instead of reading the file.
+    private final CompressedPagePool compressedPages;
 
     // The freelist is a thread-safe linked-list of FreePage objects, or an AtomicInteger, or null.
     // Initially, the field is an AtomicInteger that counts from zero to the max page count, at which point all of the
@@ -182,6 +201,12 @@ public class MuninnPageCache implements PageCache
     // Linked list of mappings - guarded by synchronized(this)
     private volatile FileMapping mappedFiles;
 
+    // The page reservations held by the mapped files - guarded by synchronized(this)
+    private final Map<PageReservation,ReservedPages> reservations = new HashMap<>();
+    // The number of page reservations that actually reserve any pages. Eviction only looks up the reservation of the
+    // pages it comes across, when this is non-zero.
+    private volatile int reservationsInEffect;
+
     // The thread that runs the eviction algorithm. We unpark this when we've run out of
     // free pages to grab.
     private volatile Thread evictionThread;
@@ -261,6 +286,31 @@ public class MuninnPageCache implements PageCache
         this( swapperFactory, memoryAllocator, PAGE_SIZE, pageCacheTracer, pageCursorTracerSupplier, versionContextSupplier, jobScheduler );
     }
 
+    /**
+     * Create page cache with a second tier pool of compressed pages.
+     * @param swapperFactory page cache swapper factory
+     * @param memoryAllocator the source of native memory the page cache should use
+     * @param pageCacheTracer global page cache tracer
+     * @param pageCursorTracerSupplier supplier of thread local (transaction local) page cursor tracer that will provide
+     * thread local page cache statistics
+     * @param versionContextSupplier supplier of thread local (transaction local) version context that will provide
+     *        access to thread local version context
+     * @param compressedPagesMemory the amount of native memory to keep compressed copies of evicted pages in, or zero
+     *        to drop evicted pages as usual
+     */
+    public MuninnPageCache(
+            PageSwapperFactory swapperFactory,
+            MemoryAllocator memoryAllocator,
+            PageCacheTracer pageCacheTracer,
+            PageCursorTracerSupplier pageCursorTracerSupplier,
+            VersionContextSupplier versionContextSupplier,
+            JobScheduler jobScheduler,
+            long compressedPagesMemory )
+    {
+        this( swapperFactory, memoryAllocator, PAGE_SIZE, pageCacheTracer, pageCursorTracerSupplier, versionContextSupplier, jobScheduler,
+                compressedPagesMemory );
+    }
+
     /**
      * Constructor variant that allows setting a non-standard cache page size.
      * Only ever use this for testing.
@@ -275,6 +325,26 @@ public class MuninnPageCache implements PageCache
             PageCursorTracerSupplier pageCursorTracerSupplier,
             VersionContextSupplier versionContextSupplier,
             JobScheduler jobScheduler )
+    {
+        this( swapperFactory, memoryAllocator, cachePageSize, pageCacheTracer, pageCursorTracerSupplier, versionContextSupplier, jobScheduler,
+                0 );
+    }
+
+    /**
+     * Constructor variant that allows setting a non-standard cache page size, and a compressed page pool.
+     * Only ever use this for testing.
+     */
+    @SuppressWarnings( "DeprecatedIsStillUsed" )
+    @Deprecated
+    public MuninnPageCache(
+            PageSwapperFactory swapperFactory,
+            MemoryAllocator memoryAllocator,
+            int cachePageSize,
+            PageCacheTracer pageCacheTracer,
+            PageCursorTracerSupplier pageCursorTracerSupplier,
+            VersionContextSupplier versionContextSupplier,
+            JobScheduler jobScheduler,
+            long compressedPagesMemory )
     {
         verifyHacks();
         verifyCachePageSizeIsPowerOfTwo( cachePageSize );
@@ -294,7 +364,12 @@ public class MuninnPageCache implements PageCache
         this.printExceptionsOnClose = true;
         long alignment = swapperFactory.getRequiredBufferAlignment();
         this.victimPage = VictimPageReference.getVictimPage( cachePageSize, memoryTracker );
-        this.pages = new PageList( maxPages, cachePageSize, memoryAllocator, new SwapperSet(), victimPage, alignment );
+        SwapperSet swappers = new SwapperSet();
+        this.compressedPages = compressedPagesMemory > 0
+                               ? new CompressedPagePool( compressedPagesMemory, cachePageSize, swappers, memoryTracker )
+                               : CompressedPagePool.DISABLED;
+        this.pages = new PageList( maxPages, cachePageSize, memoryAllocator, swappers, victimPage, alignment, compressedPages );
+        this.probationaryPages = new ProbationaryPages( maxPages );
         this.scheduler = jobScheduler;
 
         setFreelistHead( new AtomicInteger() );
@@ -348,6 +423,7 @@ public class MuninnPageCache implements PageCache
         boolean deleteOnClose = false;
         boolean anyPageSize = false;
         boolean noChannelStriping = false;
+        PageReservation reservation = null;
         for ( OpenOption option : openOptions )
         {
             if ( option.equals( StandardOpenOption.CREATE ) )
@@ -370,6 +446,10 @@ public class MuninnPageCache implements PageCache
             {
                 noChannelStriping = true;
             }
+            else if ( option instanceof PageReservation )
+            {
+                reservation = (PageReservation) option;
+            }
             else if ( !ignoredOpenOptions.contains( option ) )
             {
                 throw new UnsupportedOperationException( "Unsupported OpenOption: " + option );
@@ -412,17 +492,30 @@ public class MuninnPageCache implements PageCache
         }
 
         // there was no existing mapping
-        MuninnPagedFile pagedFile = new MuninnPagedFile(
-                file,
-                this,
-                filePageSize,
-                swapperFactory,
-                pageCacheTracer,
-                pageCursorTracerSupplier,
-                versionContextSupplier,
-                createIfNotExists,
-                truncateExisting,
-                noChannelStriping );
+        ReservedPages reservedPages = acquireReservation( reservation );
+        MuninnPagedFile pagedFile = null;
+        try
+        {
+            pagedFile = new MuninnPagedFile(
+                    file,
+                    this,
+                    filePageSize,
+                    swapperFactory,
+                    pageCacheTracer,
+                    pageCursorTracerSupplier,
+                    versionContextSupplier,
+                    createIfNotExists,
+                    truncateExisting,
+                    noChannelStriping,
+                    reservedPages );
+        }
+        finally
+        {
+            if ( pagedFile == null )
+            {
+                releaseReservation( reservedPages );
+            }
+        }
         pagedFile.incrementRefCount();
         pagedFile.markDeleteOnClose( deleteOnClose );
         current = new FileMapping( file, pagedFile );
@@ -521,6 +614,10 @@ public class MuninnPageCache implements PageCache
         if ( file.decrementRefCount() )
         {
             // This was the last reference!
+            // Read-ahead jobs can be faulting pages into the file without holding a reference to it. They are quick to
+            // notice that the file is no longer mapped, but the ones that are already underway must finish before we
+            // close the swapper, or they might bind pages to its swapper id after it has been freed and reused.
+            file.awaitAsyncPageFaults();
             // Find and remove the existing mapping:
             FileMapping prev = null;
             FileMapping current = mappedFiles;
@@ -539,6 +636,7 @@ public class MuninnPageCache implements PageCache
                     }
                     pageCacheTracer.unmappedFile( current.file );
                     flushAndCloseWithoutFail( file );
+                    releaseReservation( file.reservedPages );
                     break;
                 }
                 prev = current;
@@ -547,6 +645,38 @@ public class MuninnPageCache implements PageCache
         }
     }
 
+    private ReservedPages acquireReservation( PageReservation reservation )
+    {
+        if ( reservation == null )
+        {
+            return null;
+        }
+        ReservedPages reservedPages = reservations.get( reservation );
+        if ( reservedPages == null )
+        {
+            reservedPages = new ReservedPages( reservation, pages.getPageCount() );
+            reservations.put( reservation, reservedPages );
+            if ( reservedPages.reserved > 0 )
+            {
+                reservationsInEffect++;
+            }
+        }
+        reservedPages.holders++;
+        return reservedPages;
+    }
+
+    private void releaseReservation( ReservedPages reservedPages )
+    {
+        if ( reservedPages != null && --reservedPages.holders == 0 )
+        {
+            reservations.remove( reservedPages.reservation );
+            if ( reservedPages.reserved > 0 )
+            {
+                reservationsInEffect--;
+            }
+        }
+    }
+
     private void flushAndCloseWithoutFail( MuninnPagedFile file )
     {
         boolean flushedAndClosed = false;
@@ -676,6 +806,33 @@ public class MuninnPageCache implements PageCache
         }
     }
 
+    @Override
+    public long flushColdPages( IOLimiter limiter ) throws IOException
+    {
+        if ( limiter == null )
+        {
+            throw new IllegalArgumentException( "IOLimiter cannot be null" );
+        }
+        long pagesLeftDirty = 0;
+        for ( PagedFile file : listExistingMappings() )
+        {
+            MuninnPagedFile muninnPagedFile = (MuninnPagedFile) file;
+            try ( MajorFlushEvent fileFlush = pageCacheTracer.beginFileFlush( muninnPagedFile.swapper ) )
+            {
+                pagesLeftDirty += muninnPagedFile.flushColdPages( fileFlush.flushEventOpportunity(), limiter );
+            }
+            catch ( ClosedChannelException e )
+            {
+                if ( muninnPagedFile.getRefCount() > 0 )
+                {
+                    throw e;
+                }
+                // Otherwise: The file was unmapped while we were flushing it, and unmapping flushes the file anyway.
+            }
+        }
+        return pagesLeftDirty;
+    }
+
     void syncDevice()
     {
         swapperFactory.syncDevice();
@@ -706,10 +863,13 @@ public class MuninnPageCache implements PageCache
             throw new IllegalStateException( msg.toString() );
         }
 
+        // All files have been unmapped, and unmapping waits for the read-ahead jobs of the file. Any read-ahead jobs
+        // that are still queued will find their files unmapped, and will not touch the page cache memory.
         closed = true;
 
         interrupt( evictionThread );
         evictionThread = null;
+        compressedPages.close();
 
         // Close the page swapper factory last. If this fails then we will still consider ourselves closed.
         swapperFactory.close();
@@ -754,6 +914,14 @@ public class MuninnPageCache implements PageCache
         return cachePageSize;
     }
 
+    /**
+     * @return the pool of compressed copies of evicted pages, with its hit and disk fault counters.
+     */
+    public CompressedPagePool compressedPages()
+    {
+        return compressedPages;
+    }
+
     @Override
     public long maxCachedPages()
     {
@@ -839,6 +1007,18 @@ public class MuninnPageCache implements PageCache
 
     private long cooperativelyEvict( PageFaultEvent faultEvent ) throws IOException
     {
+        // Transient pages are evicted first. We don't count these against the live-lock threshold, since the
+        // probationary region is bounded, and will run dry long before we get there.
+        int probationaryPageId;
+        while ( (probationaryPageId = probationaryPages.poll()) != ProbationaryPages.EMPTY )
+        {
+            long pageRef = pages.deref( probationaryPageId );
+            if ( isProbationaryEvictionCandidate( pageRef ) && pages.tryEvict( pageRef, faultEvent ) )
+            {
+                return pageRef;
+            }
+        }
+
         int iterations = 0;
         int pageCount = pages.getPageCount();
         int clockArm = ThreadLocalRandom.current().nextInt( pageCount );
@@ -863,7 +1043,8 @@ public class MuninnPageCache implements PageCache
             }
 
             pageRef = pages.deref( clockArm );
-            if ( pages.isLoaded( pageRef ) && pages.decrementUsage( pageRef ) )
+            if ( pages.isLoaded( pageRef ) && !(iterations < MAX_USAGE_COUNT && isReservedPage( pageRef )) &&
+                 pages.decrementUsage( pageRef ) )
             {
                 evicted = pages.tryEvict( pageRef, faultEvent );
             }
@@ -998,6 +1179,23 @@ public class MuninnPageCache implements PageCache
 
     int evictPages( int pageCountToEvict, int clockArm, EvictionRunEvent evictionRunEvent )
     {
+        // Start with the pages in the probationary region, since those have only been touched by transient cursors.
+        int probationaryPageId;
+        while ( pageCountToEvict > 0 && !closed &&
+                (probationaryPageId = probationaryPages.poll()) != ProbationaryPages.EMPTY )
+        {
+            long pageRef = pages.deref( probationaryPageId );
+            if ( isProbationaryEvictionCandidate( pageRef ) )
+            {
+                pageCountToEvict--;
+                evictToFreelist( pageRef, evictionRunEvent );
+            }
+        }
+
+        // Reserved pages are passed over, until we have gone so many laps around the clock without evicting anything,
+        // that all of the other pages would have been evicted if they could be.
+        long maxPagesPassedOver = MAX_USAGE_COUNT * pages.getPageCount();
+        long pagesPassedOver = 0;
         while ( pageCountToEvict > 0 && !closed )
         {
             if ( clockArm == pages.getPageCount() )
@@ -1012,30 +1210,16 @@ public class MuninnPageCache implements PageCache
             }
 
             long pageRef = pages.deref( clockArm );
-            if ( pages.isLoaded( pageRef ) && pages.decrementUsage( pageRef ) )
+            if ( pages.isLoaded( pageRef ) && !(pagesPassedOver < maxPagesPassedOver && isReservedPage( pageRef )) &&
+                 pages.decrementUsage( pageRef ) )
             {
-                try
-                {
-                    pageCountToEvict--;
-                    if ( pages.tryEvict( pageRef, evictionRunEvent ) )
-                    {
-                        clearEvictorException();
-                        addFreePageToFreelist( pageRef );
-                    }
-                }
-                catch ( IOException e )
-                {
-                    evictorException = e;
-                }
-                catch ( OutOfMemoryError oom )
-                {
-                    evictorException = oomException;
-                }
-                catch ( Throwable th )
-                {
-                    evictorException = new IOException(
-                            "Eviction thread encountered a problem", th );
-                }
+                pageCountToEvict--;
+                pagesPassedOver = 0;
+                evictToFreelist( pageRef, evictionRunEvent );
+            }
+            else
+            {
+                pagesPassedOver++;
             }
 
             clockArm++;
@@ -1044,6 +1228,110 @@ public class MuninnPageCache implements PageCache
         return clockArm;
     }
 
+    private void evictToFreelist( long pageRef, EvictionRunEvent evictionRunEvent )
+    {
+        try
+        {
+            if ( pages.tryEvict( pageRef, evictionRunEvent ) )
+            {
+                clearEvictorException();
+                addFreePageToFreelist( pageRef );
+            }
+        }
+        catch ( IOException e )
+        {
+            evictorException = e;
+        }
+        catch ( OutOfMemoryError oom )
+        {
+            evictorException = oomException;
+        }
+        catch ( Throwable th )
+        {
+            evictorException = new IOException(
+                    "Eviction thread encountered a problem", th );
+        }
+    }
+
+    /**
+     * A page is reserved if it belongs to a file whose {@link PageReservation page reservation} would go below the
+     * reserved amount, if the page were evicted. Such pages are passed over by the eviction clock, without losing
+     * any of their usage count.
+     */
+    private boolean isReservedPage( long pageRef )
+    {
+        if ( reservationsInEffect == 0 )
+        {
+            return false;
+        }
+        int swapperId = pages.getSwapperId( pageRef );
+        if ( swapperId == 0 )
+        {
+            return false;
+        }
+        SwapperSet.SwapperMapping swapperMapping = pages.getSwappers().getAllocation( swapperId );
+        return swapperMapping != null && swapperMapping.reservedPages != null && swapperMapping.reservedPages.isProtected();
+    }
+
+    /**
+     * A page polled from the probationary region is only evicted if it is still loaded, and nobody has touched it
+     * with a regular cursor since it was faulted in. Such an access gives the page a usage count, which promotes it
+     * out of the probationary region and leaves it to the eviction clock.
+     */
+    private boolean isProbationaryEvictionCandidate( long pageRef )
+    {
+        return pages.isLoaded( pageRef ) && pages.getUsageCounter( pageRef ) == 0;
+    }
+
+    /**
+     * Admit the given page, that was just faulted in by a {@link PagedFile#PF_TRANSIENT transient} cursor, into the
+     * probationary region.
+     */
+    void addProbationaryPage( long pageRef )
+    {
+        probationaryPages.add( pages.toId( pageRef ) );
+    }
+
+    /**
+     * Asynchronously fault in the given range of pages of the given file, on behalf of a
+     * {@link PagedFile#PF_READ_AHEAD read-ahead} or {@link PageCursor#prefetch(long[], int, int) prefetching} cursor.
+     * <p>
+     * The faults are carried out by the {@link Group#PAGE_CACHE_IO} pool, with at most {@code maxAsyncPageFaults}
+     * jobs in flight at a time.
+     */
+    void scheduleReadAhead( MuninnPagedFile pagedFile, long startFilePageId, int pageCount, boolean transientAccess )
+    {
+        if ( closed )
+        {
+            return;
+        }
+        if ( asyncPageFaultsInFlight.incrementAndGet() > maxAsyncPageFaults )
+        {
+            // The IO pool is saturated. The cursor will fault in the pages itself, if it gets to them.
+            asyncPageFaultsInFlight.decrementAndGet();
+            return;
+        }
+        try
+        {
+            scheduler.schedule( Group.PAGE_CACHE_IO, () ->
+            {
+                try
+                {
+                    pagedFile.readAhead( startFilePageId, pageCount, transientAccess );
+                }
+                finally
+                {
+                    asyncPageFaultsInFlight.decrementAndGet();
+                }
+            } );
+        }
+        catch ( RejectedExecutionException ignore )
+        {
+            // Read-ahead is only a hint. The scanning cursor will fault in the pages itself.
+            asyncPageFaultsInFlight.decrementAndGet();
+        }
+    }
+
     void addFreePageToFreelist( long pageRef )
     {
         Object current;
@@ -1099,6 +1387,8 @@ public class MuninnPageCache implements PageCache
                         }
                     }
                 }
+                // The compressed copies of the pages must also go, before their swapper ids can be reused.
+                compressedPages.invalidate( swapperIds );
             }
             catch ( IOException e )
             {
@@ -41,9 +41,12 @@ import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
 
 import static org.neo4j.io.pagecache.PagedFile.PF_EAGER_FLUSH;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_TRANSIENT;
 import static org.neo4j.io.pagecache.impl.muninn.MuninnPagedFile.UNMAPPED_TTE;
 import static org.neo4j.util.FeatureToggles.flag;
+import static org.neo4j.util.FeatureToggles.getInteger;
 
 abstract class MuninnPageCursor extends PageCursor
 {
@@ -52,6 +55,9 @@ abstract class MuninnPageCursor extends PageCursor
 
     private static final boolean boundsCheck = flag( MuninnPageCursor.class, "boundsCheck", true );
 
+    // The number of consecutive forward pins a PF_READ_AHEAD cursor must make, before we consider it to be scanning.
+    private static final int readAheadSequentialPins = getInteger( MuninnPageCursor.class, "readAheadSequentialPins", 2 );
+
     // Size of the respective primitive types in bytes.
     private static final int SIZE_OF_BYTE = Byte.BYTES;
     private static final int SIZE_OF_SHORT = Short.BYTES;
@@ -70,6 +76,8 @@ abstract class MuninnPageCursor extends PageCursor
     protected boolean eagerFlush;
     protected boolean noFault;
     protected boolean noGrow;
+    protected boolean readAhead;
+    protected boolean transientAccess;
     protected long currentPageId;
     protected long nextPageId;
     protected MuninnPageCursor linkedCursor;
@@ -81,6 +89,11 @@ abstract class MuninnPageCursor extends PageCursor
     private int mark;
     private boolean outOfBounds;
     private boolean isLinkedCursor;
+    // Read-ahead state; the last page we pinned, how many pins in a row have been sequential, and the highest file
+    // page id that we have asked to have faulted in ahead of us.
+    private long readAheadLastPageId;
+    private int readAheadSequentialCount;
+    private long readAheadWatermark;
     // This is a String with the exception message if usePreciseCursorErrorStackTraces is false, otherwise it is a
     // CursorExceptionWithPreciseStackTrace with the message and stack trace pointing more or less directly at the
     // offending code.
@@ -105,6 +118,11 @@ abstract class MuninnPageCursor extends PageCursor
         this.eagerFlush = isFlagRaised( pf_flags, PF_EAGER_FLUSH );
         this.noFault = isFlagRaised( pf_flags, PF_NO_FAULT );
         this.noGrow = noFault | isFlagRaised( pf_flags, PagedFile.PF_NO_GROW );
+        this.readAhead = !noFault && isFlagRaised( pf_flags, PF_READ_AHEAD ) && pagedFile.readAheadPageCount > 0;
+        this.transientAccess = isFlagRaised( pf_flags, PF_TRANSIENT );
+        this.readAheadLastPageId = UNBOUND_PAGE_ID;
+        this.readAheadSequentialCount = 0;
+        this.readAheadWatermark = UNBOUND_PAGE_ID;
     }
 
     private boolean isFlagRaised( int flagSet, int flag )
@@ -221,6 +239,16 @@ abstract class MuninnPageCursor extends PageCursor
         return linkedCursor;
     }
 
+    @Override
+    public final void prefetch( long[] pageIds, int offset, int length )
+    {
+        MuninnPagedFile pf = pagedFile;
+        if ( pf != null && !noFault )
+        {
+            pf.prefetch( pageIds, offset, length, transientAccess );
+        }
+    }
+
     /**
      * Must be called by {@link #unpinCurrentPage()}.
      */
@@ -267,7 +295,8 @@ abstract class MuninnPageCursor extends PageCursor
      */
     protected void pin( long filePageId, boolean writeLock ) throws IOException
     {
-        pinEvent = tracer.beginPin( writeLock, filePageId, swapper );
+        pinEvent = transientAccess ? tracer.beginTransientPin( writeLock, filePageId, swapper )
+                                   : tracer.beginPin( writeLock, filePageId, swapper );
         int chunkId = MuninnPagedFile.computeChunkId( filePageId );
         // The chunkOffset is the addressing offset into the chunk array object for the relevant array slot. Using
         // this, we can access the array slot with Unsafe.
@@ -317,6 +346,45 @@ abstract class MuninnPageCursor extends PageCursor
         }
     }
 
+    /**
+     * Called by {@link PagedFile#PF_READ_AHEAD} cursors after they have pinned a page. If the cursor looks like it is
+     * scanning forward through the file, then we ask the page cache to asynchronously fault in the next window of
+     * pages, such that the scan will ideally find them in memory by the time it gets there.
+     * <p>
+     * We top the window up once the cursor has consumed half of the pages that we have already asked for, so there is
+     * always some IO in flight ahead of the scan.
+     *
+     * @param filePageId The file page id that was just pinned.
+     * @param lastPageId The id of the last page in the file.
+     */
+    final void readAheadIfSequential( long filePageId, long lastPageId )
+    {
+        if ( filePageId == readAheadLastPageId + 1 )
+        {
+            readAheadSequentialCount++;
+        }
+        else
+        {
+            readAheadSequentialCount = 0;
+            readAheadWatermark = filePageId;
+        }
+        readAheadLastPageId = filePageId;
+        if ( readAheadSequentialCount < readAheadSequentialPins )
+        {
+            return;
+        }
+
+        int window = pagedFile.readAheadPageCount;
+        long watermark = Math.max( readAheadWatermark, filePageId );
+        if ( watermark - filePageId <= window / 2 && watermark < lastPageId )
+        {
+            int pageCount = (int) Math.min( window, lastPageId - watermark );
+            pagedFile.pageCache.scheduleReadAhead( pagedFile, watermark + 1, pageCount, transientAccess );
+            watermark += pageCount;
+        }
+        readAheadWatermark = watermark;
+    }
+
     private int[][] expandTranslationTableCapacity( int chunkId )
     {
         return pagedFile.expandCapacity( chunkId );
@@ -343,6 +411,10 @@ abstract class MuninnPageCursor extends PageCursor
                 // Sweet, we didn't race with any other fault on this translation table entry.
                 long pageRef = pageFault( filePageId, swapper, chunkOffset, chunk, latch );
                 pinCursorToPage( pageRef, filePageId, swapper );
+                if ( transientAccess )
+                {
+                    pagedFile.pageCache.addProbationaryPage( pageRef );
+                }
                 return true;
             }
             // Oops, looks like we raced with another page fault on this file page.
@@ -393,6 +465,7 @@ abstract class MuninnPageCursor extends PageCursor
             assertPagedFileStillMappedAndGetIdOfLastPage();
             pagedFile.initBuffer( pageRef );
             pagedFile.fault( pageRef, swapper, pagedFile.swapperId, filePageId, faultEvent );
+            pagedFile.recordPagesFaulted( 1 );
         }
         catch ( Throwable throwable )
         {
@@ -432,6 +505,18 @@ abstract class MuninnPageCursor extends PageCursor
 
     protected abstract void convertPageFaultLock( long pageRef );
 
+    /**
+     * Count an access to the given page, unless this is a {@link PagedFile#PF_TRANSIENT transient} cursor, in which
+     * case the access should not make the page look any hotter to the eviction clock.
+     */
+    protected final void incrementUsage( long pageRef )
+    {
+        if ( !transientAccess )
+        {
+            pagedFile.incrementUsage( pageRef );
+        }
+    }
+
     protected abstract void pinCursorToPage( long pageRef, long filePageId, PageSwapper swapper )
             throws FileIsNotMappedException;
 
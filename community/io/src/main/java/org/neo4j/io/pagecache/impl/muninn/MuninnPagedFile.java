@@ -27,6 +27,10 @@ import java.io.Flushable;
 import java.io.IOException;
 import java.nio.channels.ClosedChannelException;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 import org.neo4j.io.pagecache.IOLimiter;
 import org.neo4j.io.pagecache.PageCursor;
@@ -43,6 +47,7 @@ import org.neo4j.io.pagecache.tracing.PageFaultEvent;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
 import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
+import org.neo4j.util.FeatureToggles;
 
 final class MuninnPagedFile extends PageList implements PagedFile, Flushable
 {
@@ -62,22 +67,45 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
     private static final long headerStateLastPageIdMask = 0x8000_FFFF_FFFF_FFFFL;
     private static final int PF_LOCK_MASK = PF_SHARED_WRITE_LOCK | PF_SHARED_READ_LOCK;
 
+    // The maximum number of pages that a PF_READ_AHEAD cursor will ask to have faulted in ahead of itself.
+    // This will be truncated to be no more than 1/16th of the number of pages in the cache.
+    private static final int readAheadPages = FeatureToggles.getInteger( MuninnPagedFile.class, "readAheadPages", 32 );
+
     final MuninnPageCache pageCache;
     final int filePageSize;
     private final PageCacheTracer pageCacheTracer;
     final LatchMap pageFaultLatches;
+    final int readAheadPageCount;
 
     // This is the table where we translate file-page-ids to cache-page-ids. Only one thread can perform a resize at
     // a time, and we ensure this mutual exclusion using the monitor lock on this MuninnPagedFile object.
     volatile int[][] translationTable;
 
+    // The file pages that have been written to since they were last flushed. This lets flushes skip straight to the
+    // dirty pages, instead of probing every page in the translation table.
+    final DirtyPageBitmap dirtyPages = new DirtyPageBitmap();
+
+    // The dirty file pages that a background flush has seen, and that have not been written to since. Write cursors
+    // clear the mark of their page, so a background flush only writes out the pages that it has seen dirty twice in a
+    // row, and leaves the pages that are still being actively written to, for the next pass or the next check point.
+    final DirtyPageBitmap quiescentPages = new DirtyPageBitmap();
+
     final PageSwapper swapper;
     final int swapperId;
     private final CursorFactory cursorFactory;
 
+    // The number of pages of this file that are currently in memory. If the file was mapped with a page reservation,
+    // then the pages are also counted towards that reservation, which protects them from eviction.
+    private final LongAdder residentPageCount = new LongAdder();
+    final ReservedPages reservedPages;
+
     // Guarded by the monitor lock on MuninnPageCache (map and unmap)
     private boolean deleteOnClose;
 
+    // The number of read-ahead jobs that are currently faulting pages into this file. Unmapping waits for these to
+    // finish before it closes the swapper, so that no page gets bound to a swapper id after it has been freed.
+    private final AtomicInteger asyncPageFaultsInFlight = new AtomicInteger();
+
     // Used to trace the causes of any exceptions from getLastPageId.
     private volatile Exception closeStackTrace;
 
@@ -118,19 +146,22 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
      * @param truncateExisting should truncate file if it exists
      * @param noChannelStriping when true, overrides channel striping behaviour,
      * setting it to a single channel per mapped file.
+     * @param reservedPages the page reservation that the pages of this file count towards, or {@code null}.
      * @throws IOException If the {@link PageSwapper} could not be created.
      */
     MuninnPagedFile( File file, MuninnPageCache pageCache, int filePageSize, PageSwapperFactory swapperFactory,
             PageCacheTracer pageCacheTracer, PageCursorTracerSupplier pageCursorTracerSupplier,
             VersionContextSupplier versionContextSupplier, boolean createIfNotExists, boolean truncateExisting,
-            boolean noChannelStriping ) throws IOException
+            boolean noChannelStriping, ReservedPages reservedPages ) throws IOException
     {
         super( pageCache.pages );
+        this.reservedPages = reservedPages;
         this.pageCache = pageCache;
         this.filePageSize = filePageSize;
         this.cursorFactory = new CursorFactory( this, pageCursorTracerSupplier, pageCacheTracer, versionContextSupplier );
         this.pageCacheTracer = pageCacheTracer;
         this.pageFaultLatches = new LatchMap();
+        this.readAheadPageCount = Math.min( readAheadPages, getPageCount() / 16 );
 
         // The translation table is an array of arrays of integers that are either UNMAPPED_TTE, or the id of a page in
         // the page list. The table only grows the outer array, and all the inner "chunks" all stay the same size. This
@@ -165,7 +196,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         translationTable = tt;
 
         initialiseLastPageId( lastPageId );
-        this.swapperId = getSwappers().allocate( swapper );
+        this.swapperId = getSwappers().allocate( swapper, reservedPages );
     }
 
     @Override
@@ -253,6 +284,8 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         {
             swapper.closeAndDelete();
         }
+        // The pages that are still in memory will be evicted without notifying us, so we give them back now.
+        recordPagesEvicted( residentPageCount.sumThenReset() );
         if ( getSwappers().free( swapperId ) )
         {
             // We need to do a vacuum of the cache, fully evicting all pages that have freed swapper ids.
@@ -313,47 +346,49 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
 
     private void markAllDirtyPagesAsClean()
     {
-        long filePageId = -1; // Start at -1 because we increment at the *start* of the chunk-loop iteration.
         int[][] tt = this.translationTable;
-        for ( int[] chunk : tt )
+        for ( long filePageId = dirtyPages.nextMarked( 0 );
+              filePageId != DirtyPageBitmap.NO_DIRTY_PAGE;
+              filePageId = dirtyPages.nextMarked( filePageId + 1 ) )
         {
-            chunkLoop:
-            for ( int i = 0; i < chunk.length; i++ )
+            dirtyPages.clear( filePageId );
+            int chunkId = computeChunkId( filePageId );
+            if ( chunkId >= tt.length )
             {
-                filePageId++;
-                long offset = computeChunkOffset( filePageId );
+                continue;
+            }
+            int[] chunk = tt[chunkId];
+            long offset = computeChunkOffset( filePageId );
 
-                // We might race with eviction, but we also mustn't miss a dirty page, so we loop until we succeed
-                // in getting a lock on all available pages.
-                for (;;)
+            // We might race with eviction, but we also mustn't miss a dirty page, so we loop until we succeed
+            // in getting a lock on all available pages.
+            for (;;)
+            {
+                int pageId = UnsafeUtil.getIntVolatile( chunk, offset );
+                if ( pageId != UNMAPPED_TTE )
                 {
-                    int pageId = UnsafeUtil.getIntVolatile( chunk, offset );
-                    if ( pageId != UNMAPPED_TTE )
+                    long pageRef = deref( pageId );
+                    long stamp = tryOptimisticReadLock( pageRef );
+                    if ( (!isModified( pageRef )) && validateReadLock( pageRef, stamp ) )
                     {
-                        long pageRef = deref( pageId );
-                        long stamp = tryOptimisticReadLock( pageRef );
-                        if ( (!isModified( pageRef )) && validateReadLock( pageRef, stamp ) )
-                        {
-                            // We got a valid read, and the page isn't dirty, so we skip it.
-                            continue chunkLoop;
-                        }
+                        // We got a valid read, and the page isn't dirty, so we skip it.
+                        break;
+                    }
 
-                        if ( !tryExclusiveLock( pageRef ) )
-                        {
-                            continue;
-                        }
-                        if ( isBoundTo( pageRef, swapperId, filePageId ) && isModified( pageRef ) )
-                        {
-                            // The page is still bound to the expected file and file page id after we locked it,
-                            // so we didn't race with eviction and faulting, and the page is dirty.
-                            explicitlyMarkPageUnmodifiedUnderExclusiveLock( pageRef );
-                            unlockExclusive( pageRef );
-                            continue chunkLoop;
-                        }
+                    if ( !tryExclusiveLock( pageRef ) )
+                    {
+                        continue;
+                    }
+                    if ( isBoundTo( pageRef, swapperId, filePageId ) && isModified( pageRef ) )
+                    {
+                        // The page is still bound to the expected file and file page id after we locked it,
+                        // so we didn't race with eviction and faulting, and the page is dirty.
+                        explicitlyMarkPageUnmodifiedUnderExclusiveLock( pageRef );
                     }
-                    // There was no page at this entry in the table. Continue to the next entry.
-                    continue chunkLoop;
+                    unlockExclusive( pageRef );
                 }
+                // There was no page at this entry in the table, or we dealt with it. Continue to the next dirty page.
+                break;
             }
         }
     }
@@ -372,87 +407,144 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         }
     }
 
+    /**
+     * Write out the dirty pages that have not been written to since the previous call to this method, without
+     * forcing the file. Pages that are still being written to, or that are currently locked, are left for later.
+     *
+     * @return the number of dirty pages that were left behind by this flush.
+     */
+    long flushColdPages( FlushEventOpportunity flushes, IOLimiter limiter ) throws IOException
+    {
+        try
+        {
+            return flushDirtyPages( flushes, false, limiter, true );
+        }
+        catch ( ClosedChannelException e )
+        {
+            e.addSuppressed( closeStackTrace );
+            throw e;
+        }
+    }
+
     private void doFlushAndForceInternal( FlushEventOpportunity flushes, boolean forClosing, IOLimiter limiter )
             throws IOException
     {
         // TODO it'd be awesome if, on Linux, we'd call sync_file_range(2) instead of fsync
+        flushDirtyPages( flushes, forClosing, limiter, false );
+        swapper.force();
+    }
+
+    private long flushDirtyPages( FlushEventOpportunity flushes, boolean forClosing, IOLimiter limiter,
+            boolean background ) throws IOException
+    {
+        long pagesLeftDirty = 0;
         long[] pages = new long[translationTableChunkSize];
         long[] flushStamps = forClosing ? null : new long[translationTableChunkSize];
         long[] bufferAddresses = new long[translationTableChunkSize];
-        long filePageId = -1; // Start at -1 because we increment at the *start* of the chunk-loop iteration.
         long limiterStamp = IOLimiter.INITIAL_STAMP;
+        int pagesGrabbed = 0;
+        long nextFilePageIdInVector = DirtyPageBitmap.NO_DIRTY_PAGE;
         int[][] tt = this.translationTable;
-        for ( int[] chunk : tt )
+        // We only visit the pages that have been marked as dirty, in file order, and coalesce runs of consecutive
+        // dirty pages into vectored writes.
+        // TODO Look into if we can tolerate flushing a few clean pages if it means we can use larger vectors.
+        // TODO The clean pages in question must still be loaded, though. Otherwise we'll end up writing
+        // TODO garbage to the file.
+        for ( long filePageId = dirtyPages.nextMarked( 0 );
+              filePageId != DirtyPageBitmap.NO_DIRTY_PAGE;
+              filePageId = dirtyPages.nextMarked( filePageId + 1 ) )
         {
-            // TODO Look into if we can tolerate flushing a few clean pages if it means we can use larger vectors.
-            // TODO The clean pages in question must still be loaded, though. Otherwise we'll end up writing
-            // TODO garbage to the file.
-            int pagesGrabbed = 0;
-            chunkLoop:
-            for ( int i = 0; i < chunk.length; i++ )
+            if ( background && !quiescentPages.isMarked( filePageId ) )
             {
-                filePageId++;
-                long offset = computeChunkOffset( filePageId );
+                // The page has been written to since the previous background flush, so it is likely to be written to
+                // again soon. We note that we have seen it, and come back for it on the next pass.
+                quiescentPages.mark( filePageId );
+                pagesLeftDirty++;
+                continue;
+            }
+
+            if ( pagesGrabbed > 0 && (filePageId != nextFilePageIdInVector || pagesGrabbed == pages.length) )
+            {
+                // This page does not extend the current vector, so we have to write out what we have first.
+                vectoredFlush( pages, bufferAddresses, flushStamps, pagesGrabbed, flushes, forClosing );
+                limiterStamp = limiter.maybeLimitIO( limiterStamp, pagesGrabbed, this );
+                pagesGrabbed = 0;
+            }
+
+            // Clear the mark before we look at the page. Any writer that modifies the page after this point, will
+            // mark it again when it releases its write lock.
+            dirtyPages.clear( filePageId );
+            int chunkId = computeChunkId( filePageId );
+            if ( chunkId >= tt.length )
+            {
+                tt = this.translationTable;
+            }
+            if ( chunkId >= tt.length )
+            {
+                continue;
+            }
+            int[] chunk = tt[chunkId];
+            long offset = computeChunkOffset( filePageId );
 
-                // We might race with eviction, but we also mustn't miss a dirty page, so we loop until we succeed
-                // in getting a lock on all available pages.
-                for (;;)
+            // We might race with eviction, but we also mustn't miss a dirty page, so we loop until we succeed
+            // in getting a lock on all available pages.
+            for (;;)
+            {
+                int pageId = UnsafeUtil.getIntVolatile( chunk, offset );
+                if ( pageId != UNMAPPED_TTE )
                 {
-                    int pageId = UnsafeUtil.getIntVolatile( chunk, offset );
-                    if ( pageId != UNMAPPED_TTE )
+                    long pageRef = deref( pageId );
+                    long stamp = tryOptimisticReadLock( pageRef );
+                    if ( (!isModified( pageRef )) && validateReadLock( pageRef, stamp ) )
                     {
-                        long pageRef = deref( pageId );
-                        long stamp = tryOptimisticReadLock( pageRef );
-                        if ( (!isModified( pageRef )) && validateReadLock( pageRef, stamp ) )
-                        {
-                            break;
-                        }
+                        break;
+                    }
 
-                        long flushStamp = 0;
-                        if ( !(forClosing ? tryExclusiveLock( pageRef ) : ((flushStamp = tryFlushLock( pageRef )) != 0)) )
-                        {
-                            continue;
-                        }
-                        if ( isBoundTo( pageRef, swapperId, filePageId ) && isModified( pageRef ) )
-                        {
-                            // The page is still bound to the expected file and file page id after we locked it,
-                            // so we didn't race with eviction and faulting, and the page is dirty.
-                            // So we add it to our IO vector.
-                            pages[pagesGrabbed] = pageRef;
-                            if ( !forClosing )
-                            {
-                                flushStamps[pagesGrabbed] = flushStamp;
-                            }
-                            bufferAddresses[pagesGrabbed] = getAddress( pageRef );
-                            pagesGrabbed++;
-                            continue chunkLoop;
-                        }
-                        else if ( forClosing )
+                    long flushStamp = 0;
+                    if ( !(forClosing ? tryExclusiveLock( pageRef ) : ((flushStamp = tryFlushLock( pageRef )) != 0)) )
+                    {
+                        if ( background )
                         {
-                            unlockExclusive( pageRef );
+                            // Background flushes don't wait for busy pages. Whoever holds the lock will either
+                            // mark the page again, or the next flush will pick it up.
+                            dirtyPages.mark( filePageId );
+                            pagesLeftDirty++;
+                            break;
                         }
-                        else
+                        continue;
+                    }
+                    if ( isBoundTo( pageRef, swapperId, filePageId ) && isModified( pageRef ) )
+                    {
+                        // The page is still bound to the expected file and file page id after we locked it,
+                        // so we didn't race with eviction and faulting, and the page is dirty.
+                        // So we add it to our IO vector.
+                        pages[pagesGrabbed] = pageRef;
+                        if ( !forClosing )
                         {
-                            unlockFlush( pageRef, flushStamp, false );
+                            flushStamps[pagesGrabbed] = flushStamp;
                         }
+                        bufferAddresses[pagesGrabbed] = getAddress( pageRef );
+                        pagesGrabbed++;
+                        nextFilePageIdInVector = filePageId + 1;
+                    }
+                    else if ( forClosing )
+                    {
+                        unlockExclusive( pageRef );
+                    }
+                    else
+                    {
+                        unlockFlush( pageRef, flushStamp, false );
                     }
-                    break;
-                }
-                if ( pagesGrabbed > 0 )
-                {
-                    vectoredFlush( pages, bufferAddresses, flushStamps, pagesGrabbed, flushes, forClosing );
-                    limiterStamp = limiter.maybeLimitIO( limiterStamp, pagesGrabbed, this );
-                    pagesGrabbed = 0;
                 }
-            }
-            if ( pagesGrabbed > 0 )
-            {
-                vectoredFlush( pages, bufferAddresses, flushStamps, pagesGrabbed, flushes, forClosing );
-                limiterStamp = limiter.maybeLimitIO( limiterStamp, pagesGrabbed, this );
+                break;
             }
         }
-
-        swapper.force();
+        if ( pagesGrabbed > 0 )
+        {
+            vectoredFlush( pages, bufferAddresses, flushStamps, pagesGrabbed, flushes, forClosing );
+            limiter.maybeLimitIO( limiterStamp, pagesGrabbed, this );
+        }
+        return pagesLeftDirty;
     }
 
     private void vectoredFlush(
@@ -487,6 +579,14 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         }
         finally
         {
+            if ( !successful )
+            {
+                // The pages are still dirty, so they must be found by the next flush.
+                for ( int i = 0; i < pagesGrabbed; i++ )
+                {
+                    dirtyPages.mark( getFilePageId( pages[i] ) );
+                }
+            }
             // Always unlock all the pages in the vector
             if ( forClosing )
             {
@@ -677,6 +777,240 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         return pageCache.grabFreeAndExclusivelyLockedPage( faultEvent );
     }
 
+    /**
+     * Asynchronously fault in the given file pages, on behalf of a cursor that has been told which pages it is going
+     * to visit next.
+     * <p>
+     * The page ids are split into runs of ascending consecutive ids, and every run that is not already entirely in
+     * memory is handed to the page cache IO pool as a separate {@link #readAhead(long, int, boolean) read-ahead} job.
+     * The runs are thus faulted in concurrently, and a cursor that pins one of the pages while it is still being
+     * faulted in, will only wait for the page fault latch of that particular page.
+     *
+     * @param filePageIds The array holding the file page ids to fault in.
+     * @param offset The index into the array of the first page id.
+     * @param length The number of page ids to fault in.
+     * @param transientAccess {@code true} if the prefetch is on behalf of a {@link #PF_TRANSIENT} cursor.
+     */
+    void prefetch( long[] filePageIds, int offset, int length, boolean transientAccess )
+    {
+        long lastPageId;
+        try
+        {
+            lastPageId = getLastPageId();
+        }
+        catch ( FileIsNotMappedException e )
+        {
+            return;
+        }
+        int end = offset + length;
+        int index = offset;
+        while ( index < end )
+        {
+            long runStartFilePageId = filePageIds[index];
+            int runLength = 1;
+            index++;
+            while ( index < end && filePageIds[index] == runStartFilePageId + runLength )
+            {
+                runLength++;
+                index++;
+            }
+            if ( runStartFilePageId < 0 || runStartFilePageId > lastPageId )
+            {
+                continue;
+            }
+            runLength = (int) Math.min( runLength, lastPageId - runStartFilePageId + 1 );
+            if ( !isRunInMemory( runStartFilePageId, runLength ) )
+            {
+                pageCache.scheduleReadAhead( this, runStartFilePageId, runLength, transientAccess );
+            }
+        }
+    }
+
+    private boolean isRunInMemory( long startFilePageId, int length )
+    {
+        int[][] tt = translationTable;
+        for ( long filePageId = startFilePageId; filePageId < startFilePageId + length; filePageId++ )
+        {
+            int chunkId = computeChunkId( filePageId );
+            if ( tt.length <= chunkId ||
+                    UnsafeUtil.getIntVolatile( tt[chunkId], computeChunkOffset( filePageId ) ) == UNMAPPED_TTE )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Speculatively fault in the given range of file pages, on behalf of a {@link #PF_READ_AHEAD} cursor that has been
+     * observed to be scanning the file sequentially.
+     * <p>
+     * Pages that are already in memory, or that are concurrently being faulted in by someone else, are skipped.
+     * The remaining pages are faulted in with vectored reads, one for each run of consecutive missing pages.
+     * <p>
+     * Read-ahead is only ever a hint, so this method never throws. If anything goes wrong, then the read-ahead is
+     * abandoned, and the cursor will end up faulting in the pages itself.
+     *
+     * @param startFilePageId The file page id of the first page to read ahead.
+     * @param pageCount The number of pages to read ahead.
+     * @param transientAccess {@code true} if the read-ahead is on behalf of a {@link #PF_TRANSIENT} cursor, in which
+     * case the pages are admitted into the probationary region instead of being given a usage count.
+     */
+    void readAhead( long startFilePageId, int pageCount, boolean transientAccess )
+    {
+        // We announce ourselves before we check if the file is still mapped. Then either we observe that the file has
+        // been unmapped and back off, or the unmapping observes us and waits for us in awaitAsyncPageFaults.
+        asyncPageFaultsInFlight.incrementAndGet();
+        try
+        {
+            readAheadIfMapped( startFilePageId, pageCount, transientAccess );
+        }
+        finally
+        {
+            asyncPageFaultsInFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Wait for any in-flight {@link #readAhead(long, int, boolean) read-ahead} jobs to finish. This is called when the
+     * file is being unmapped, after the last reference has been released, and before the swapper is closed and its
+     * swapper id is freed. Jobs that start after this point will find the file unmapped, and will not fault in anything.
+     */
+    void awaitAsyncPageFaults()
+    {
+        while ( asyncPageFaultsInFlight.get() > 0 )
+        {
+            LockSupport.parkNanos( this, TimeUnit.MICROSECONDS.toNanos( 100 ) );
+        }
+    }
+
+    private void readAheadIfMapped( long startFilePageId, int pageCount, boolean transientAccess )
+    {
+        long lastPageId;
+        try
+        {
+            lastPageId = getLastPageId();
+        }
+        catch ( FileIsNotMappedException e )
+        {
+            return;
+        }
+        long endFilePageId = Math.min( startFilePageId + pageCount - 1, lastPageId );
+        LatchMap.Latch[] latches = new LatchMap.Latch[pageCount];
+        long[] pageRefs = new long[pageCount];
+        long[] bufferAddresses = new long[pageCount];
+        long filePageId = startFilePageId;
+        while ( filePageId <= endFilePageId )
+        {
+            long runStartFilePageId = filePageId;
+            int runLength = 0;
+            while ( filePageId <= endFilePageId )
+            {
+                int chunkId = computeChunkId( filePageId );
+                long chunkOffset = computeChunkOffset( filePageId );
+                int[][] tt = translationTable;
+                if ( tt.length <= chunkId )
+                {
+                    tt = expandCapacity( chunkId );
+                }
+                int[] chunk = tt[chunkId];
+                if ( UnsafeUtil.getIntVolatile( chunk, chunkOffset ) != UNMAPPED_TTE )
+                {
+                    break;
+                }
+                LatchMap.Latch latch = pageFaultLatches.tryTakeLatch( filePageId );
+                if ( latch == null )
+                {
+                    break;
+                }
+                if ( UnsafeUtil.getIntVolatile( chunk, chunkOffset ) != UNMAPPED_TTE )
+                {
+                    // We raced with a page fault on this translation table entry.
+                    latch.release();
+                    break;
+                }
+                latches[runLength] = latch;
+                runLength++;
+                filePageId++;
+            }
+
+            if ( runLength == 0 )
+            {
+                // This page is either already in memory, or someone else is faulting it in. Skip it.
+                filePageId++;
+            }
+            else if ( !readAheadRun( runStartFilePageId, runLength, latches, pageRefs, bufferAddresses, transientAccess ) )
+            {
+                return;
+            }
+        }
+    }
+
+    private boolean readAheadRun( long startFilePageId, int length, LatchMap.Latch[] latches, long[] pageRefs,
+            long[] bufferAddresses, boolean transientAccess )
+    {
+        // We hold the page fault latches for all the pages in the run, so we have the exclusive right to fault them in.
+        // Just like in MuninnPageCursor.pageFault, we must make sure to release those latches no matter what happens.
+        int pagesGrabbed = 0;
+        boolean published = false;
+        try
+        {
+            for ( ; pagesGrabbed < length; pagesGrabbed++ )
+            {
+                long pageRef = grabFreeAndExclusivelyLockedPage( PageFaultEvent.NULL );
+                pageRefs[pagesGrabbed] = pageRef;
+                initBuffer( pageRef );
+            }
+            // Check if we're racing with unmapping, before we touch the swapper.
+            getLastPageId();
+            faultVectored( pageRefs, length, bufferAddresses, swapper, swapperId, startFilePageId, PageFaultEvent.NULL );
+            recordPagesFaulted( length );
+            int[][] tt = translationTable;
+            for ( int i = 0; i < length; i++ )
+            {
+                long filePageId = startFilePageId + i;
+                long pageRef = pageRefs[i];
+                UnsafeUtil.putIntVolatile( tt[computeChunkId( filePageId )], computeChunkOffset( filePageId ), toId( pageRef ) );
+                if ( transientAccess )
+                {
+                    // The probationary region is recycled oldest first, so these pages will outlive the ones that the
+                    // scanning cursor has already moved past.
+                    pageCache.addProbationaryPage( pageRef );
+                }
+                else
+                {
+                    // Give the page a usage count, so it will survive one sweep of the eviction clock before the
+                    // scanning cursor gets to it.
+                    incrementUsage( pageRef );
+                }
+                unlockExclusive( pageRef );
+            }
+            published = true;
+        }
+        catch ( Throwable ignore )
+        {
+            // Read-ahead is only a hint. The cursor will fault in the pages that we failed to read.
+        }
+        finally
+        {
+            if ( !published )
+            {
+                // The grabbed pages are still exclusively locked and unbound, so they can go straight back to the
+                // freelist.
+                for ( int i = 0; i < pagesGrabbed; i++ )
+                {
+                    pageCache.addFreePageToFreelist( pageRefs[i] );
+                }
+            }
+            for ( int i = 0; i < length; i++ )
+            {
+                latches[i].release();
+                latches[i] = null;
+            }
+        }
+        return published;
+    }
+
     /**
      * Remove the mapping of the given filePageId from the translation table, and return the evicted page object.
      * @param filePageId The id of the file page to evict.
@@ -691,6 +1025,53 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         long pageRef = deref( mappedPageId );
         setHighestEvictedTransactionId( getAndResetLastModifiedTransactionId( pageRef ) );
         UnsafeUtil.putIntVolatile( chunk, chunkOffset, UNMAPPED_TTE );
+        residentPageCount.decrement();
+        recordPagesEvicted( 1 );
+    }
+
+    /**
+     * Count the given number of pages, that have just been faulted in, as resident in memory.
+     */
+    void recordPagesFaulted( int pageCount )
+    {
+        residentPageCount.add( pageCount );
+        if ( reservedPages != null )
+        {
+            reservedPages.add( pageCount );
+        }
+    }
+
+    private void recordPagesEvicted( long pageCount )
+    {
+        if ( reservedPages != null )
+        {
+            reservedPages.add( -pageCount );
+        }
+    }
+
+    @Override
+    public long residentPages()
+    {
+        return residentPageCount.sum();
+    }
+
+    @Override
+    public int usageCount( long filePageId )
+    {
+        int chunkId = computeChunkId( filePageId );
+        int[][] tt = translationTable;
+        if ( filePageId < 0 || tt.length <= chunkId )
+        {
+            return -1;
+        }
+        int mappedPageId = UnsafeUtil.getIntVolatile( tt[chunkId], computeChunkOffset( filePageId ) );
+        if ( mappedPageId == UNMAPPED_TTE )
+        {
+            return -1;
+        }
+        // The page could be evicted and reused for some other file page, right after we read the translation table.
+        // We would then report the usage count of the wrong page, but that is fine since this is only an estimate.
+        return getUsageCounter( deref( mappedPageId ) );
     }
 
     private void setHighestEvictedTransactionId( long modifiedTransactionId )
@@ -61,6 +61,10 @@ final class MuninnReadPageCursor extends MuninnPageCursor
         currentPageId = nextPageId;
         nextPageId++;
         pin( currentPageId, false );
+        if ( readAhead )
+        {
+            readAheadIfSequential( currentPageId, lastPageId );
+        }
         verifyContext();
         return true;
     }
@@ -81,7 +85,7 @@ final class MuninnReadPageCursor extends MuninnPageCursor
     protected void pinCursorToPage( long pageRef, long filePageId, PageSwapper swapper )
     {
         reset( pageRef );
-        pagedFile.incrementUsage( pageRef );
+        incrementUsage( pageRef );
     }
 
     @Override
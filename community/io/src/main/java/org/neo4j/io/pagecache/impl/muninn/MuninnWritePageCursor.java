@@ -53,6 +53,11 @@ final class MuninnWritePageCursor extends MuninnPageCursor
             {
                 pagedFile.unlockWrite( pinnedPageRef );
             }
+            // Record the page in the dirty set of the file, so the next flush will find it. This must happen after
+            // the modified flag has been raised, which the write lock did for us. The page is also no longer
+            // quiescent, so background flushes will leave it alone until it has stopped being written to.
+            pagedFile.quiescentPages.clear( currentPageId );
+            pagedFile.dirtyPages.mark( currentPageId );
         }
         clearPageCursorState();
     }
@@ -97,6 +102,10 @@ final class MuninnWritePageCursor extends MuninnPageCursor
         currentPageId = nextPageId;
         nextPageId++;
         pin( currentPageId, true );
+        if ( readAhead )
+        {
+            readAheadIfSequential( currentPageId, lastPageId );
+        }
         return true;
     }
 
@@ -124,7 +133,7 @@ final class MuninnWritePageCursor extends MuninnPageCursor
         // after the reset() call, which means that if we throw, the cursor will
         // be closed and the page lock will be released.
         assertPagedFileStillMappedAndGetIdOfLastPage();
-        pagedFile.incrementUsage( pageRef );
+        incrementUsage( pageRef );
         pagedFile.setLastModifiedTxId( pageRef, versionContextSupplier.getVersionContext().committingTransactionId() );
     }
 
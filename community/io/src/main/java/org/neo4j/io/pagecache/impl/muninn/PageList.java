@@ -59,7 +59,7 @@ class PageList
     static final long MAX_PAGES = Integer.MAX_VALUE;
 
     private static final int UNBOUND_LAST_MODIFIED_TX_ID = -1;
-    private static final long MAX_USAGE_COUNT = 4;
+    static final long MAX_USAGE_COUNT = 4;
     private static final int SHIFT_FILE_PAGE_ID = 24;
     private static final int SHIFT_SWAPPER_ID = 3;
     private static final int SHIFT_PARTIAL_FILE_PAGE_ID = SHIFT_FILE_PAGE_ID - SHIFT_SWAPPER_ID;
@@ -87,9 +87,17 @@ class PageList
     private final long victimPageAddress;
     private final long baseAddress;
     private final long bufferAlignment;
+    final CompressedPagePool compressedPages;
 
     PageList( int pageCount, int cachePageSize, MemoryAllocator memoryAllocator, SwapperSet swappers,
               long victimPageAddress, long bufferAlignment )
+    {
+        this( pageCount, cachePageSize, memoryAllocator, swappers, victimPageAddress, bufferAlignment,
+                CompressedPagePool.DISABLED );
+    }
+
+    PageList( int pageCount, int cachePageSize, MemoryAllocator memoryAllocator, SwapperSet swappers,
+              long victimPageAddress, long bufferAlignment, CompressedPagePool compressedPages )
     {
         this.pageCount = pageCount;
         this.cachePageSize = cachePageSize;
@@ -99,6 +107,7 @@ class PageList
         long bytes = ((long) pageCount) * META_DATA_BYTES_PER_PAGE;
         this.baseAddress = memoryAllocator.allocateAligned( bytes, Long.BYTES );
         this.bufferAlignment = bufferAlignment;
+        this.compressedPages = compressedPages;
         clearMemory( baseAddress, pageCount );
     }
 
@@ -119,6 +128,7 @@ class PageList
         this.victimPageAddress = pageList.victimPageAddress;
         this.baseAddress = pageList.baseAddress;
         this.bufferAlignment = pageList.bufferAlignment;
+        this.compressedPages = pageList.compressedPages;
     }
 
     private void clearMemory( long baseAddress, long pageCount )
@@ -304,7 +314,7 @@ class PageList
         }
     }
 
-    private byte getUsageCounter( long pageRef )
+    byte getUsageCounter( long pageRef )
     {
         return (byte) (UnsafeUtil.getLongVolatile( offPageBinding( pageRef ) ) & MASK_USAGE_COUNT);
     }
@@ -434,12 +444,77 @@ class PageList
         // the file page, so any subsequent thread that finds the page in their
         // translation table will re-do the page fault.
         setFilePageId( pageRef, filePageId ); // Page now considered isLoaded()
-        long bytesRead = swapper.read( filePageId, getAddress( pageRef ), cachePageSize );
-        event.addBytesRead( bytesRead );
+        long address = getAddress( pageRef );
+        if ( !compressedPages.restore( swapperId, filePageId, address ) )
+        {
+            long bytesRead = swapper.read( filePageId, address, cachePageSize );
+            event.addBytesRead( bytesRead );
+        }
         event.setCachePageId( toId( pageRef ) );
         setSwapperId( pageRef, swapperId ); // Page now considered isBoundTo( swapper, filePageId )
     }
 
+    /**
+     * Fault a run of consecutive file pages into the given exclusively locked pages, using a single vectored read.
+     * <p>
+     * If the read fails, then the pages are returned to their unbound state, so they can be put back on the freelist
+     * by the caller.
+     *
+     * @param pageRefs The exclusively locked, unbound pages to fault into, in file page order.
+     * @param length The number of pages in the {@code pageRefs} array to use.
+     * @param bufferAddresses Scratch space for the buffer addresses, at least {@code length} long.
+     * @param swapper The swapper to read the pages from.
+     * @param swapperId The id of the given swapper.
+     * @param startFilePageId The file page id of the first page in the run.
+     * @param event The trace event for the page fault.
+     * @throws IOException If the read failed.
+     */
+    void faultVectored( long[] pageRefs, int length, long[] bufferAddresses, PageSwapper swapper, int swapperId,
+            long startFilePageId, PageFaultEvent event ) throws IOException
+    {
+        if ( swapper == null )
+        {
+            throw swapperCannotBeNull();
+        }
+        for ( int i = 0; i < length; i++ )
+        {
+            long pageRef = pageRefs[i];
+            long filePageId = startFilePageId + i;
+            int currentSwapper = getSwapperId( pageRef );
+            long currentFilePageId = getFilePageId( pageRef );
+            if ( !isExclusivelyLocked( pageRef ) || currentSwapper != 0 || currentFilePageId != PageCursor.UNBOUND_PAGE_ID )
+            {
+                throw cannotFaultException( pageRef, swapper, swapperId, filePageId, currentSwapper, currentFilePageId );
+            }
+            bufferAddresses[i] = getAddress( pageRef );
+        }
+        // See the comment in fault() about why the file page ids are assigned before the swapping.
+        for ( int i = 0; i < length; i++ )
+        {
+            setFilePageId( pageRefs[i], startFilePageId + i );
+        }
+        long bytesRead;
+        try
+        {
+            bytesRead = swapper.read( startFilePageId, bufferAddresses, cachePageSize, 0, length );
+        }
+        catch ( Throwable throwable )
+        {
+            for ( int i = 0; i < length; i++ )
+            {
+                clearBinding( pageRefs[i] );
+            }
+            throw throwable;
+        }
+        event.addBytesRead( bytesRead );
+        // Any compressed copies of these pages are now redundant, and would only take up room in the pool.
+        compressedPages.discard( swapperId, startFilePageId, length );
+        for ( int i = 0; i < length; i++ )
+        {
+            setSwapperId( pageRefs[i], swapperId );
+        }
+    }
+
     private static IllegalArgumentException swapperCannotBeNull()
     {
         return new IllegalArgumentException( "swapper cannot be null" );
@@ -495,6 +570,8 @@ class PageList
                 {
                     flushModifiedPage( pageRef, evictionEvent, filePageId, swapper );
                 }
+                // The page is now clean, so a compressed copy of it can stand in for reading it from the file.
+                compressedPages.store( swapperMapping, filePageId, getAddress( pageRef ) );
                 swapper.evicted( filePageId );
             }
         }
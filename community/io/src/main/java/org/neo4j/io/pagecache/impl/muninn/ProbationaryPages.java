@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The probationary region of the page cache, that pages faulted in by {@link org.neo4j.io.pagecache.PagedFile#PF_TRANSIENT}
+ * cursors are admitted into.
+ * <p>
+ * This is a bounded ring of cache page ids, in the order they were faulted in. The eviction routines poll this ring
+ * before they sweep their clocks, so pages that were only ever touched by scans are recycled before the clock gets a
+ * chance to evict any of the hot working set. If the ring overflows, then the oldest entries are overwritten, and those
+ * pages are left for the clock to deal with.
+ * <p>
+ * Entries are only hints. The page may have been evicted, faulted into something else, or promoted by a regular access
+ * in the meantime, so whoever polls a page id from the ring must validate the page before acting on it.
+ */
+final class ProbationaryPages
+{
+    static final int EMPTY = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final AtomicIntegerArray pageIds;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param pageCount The number of pages in the page cache. The ring will hold roughly 1/16th of them.
+     */
+    ProbationaryPages( int pageCount )
+    {
+        int capacity = Integer.highestOneBit( Math.max( MIN_CAPACITY, pageCount / 16 ) - 1 ) << 1;
+        this.pageIds = new AtomicIntegerArray( capacity );
+        this.mask = capacity - 1;
+    }
+
+    int capacity()
+    {
+        return mask + 1;
+    }
+
+    /**
+     * Admit the given cache page id into the probationary region.
+     */
+    void add( int pageId )
+    {
+        long index = tail.getAndIncrement();
+        pageIds.set( (int) (index & mask), pageId );
+    }
+
+    /**
+     * Take the oldest cache page id out of the probationary region.
+     *
+     * @return The id of the oldest probationary page, or {@link #EMPTY} if there are none.
+     */
+    int poll()
+    {
+        for (;;)
+        {
+            long h = head.get();
+            long t = tail.get();
+            if ( h >= t )
+            {
+                return EMPTY;
+            }
+            if ( t - h > capacity() )
+            {
+                // The ring has wrapped around, and the oldest entries have been overwritten. Skip past them.
+                head.compareAndSet( h, t - capacity() );
+                continue;
+            }
+            int pageId = pageIds.get( (int) (h & mask) );
+            if ( head.compareAndSet( h, h + 1 ) )
+            {
+                return pageId;
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.io.pagecache.PageReservation;
+
+/**
+ * The state of a {@link PageReservation} that is in effect in a {@link MuninnPageCache}: the number of pages that are
+ * reserved, and the number of pages that the files holding the reservation currently have in memory.
+ */
+final class ReservedPages
+{
+    final PageReservation reservation;
+    final long reserved;
+    private final AtomicLong resident = new AtomicLong();
+    // The number of mapped files that hold this reservation. Guarded by the MuninnPageCache monitor.
+    int holders;
+
+    ReservedPages( PageReservation reservation, long maxPages )
+    {
+        this.reservation = reservation;
+        this.reserved = reservation.reservedPages( maxPages );
+    }
+
+    void add( long pageCount )
+    {
+        resident.addAndGet( pageCount );
+    }
+
+    long resident()
+    {
+        return resident.get();
+    }
+
+    /**
+     * @return {@code true} if evicting a page that belongs to this reservation would bring it below the reserved amount.
+     */
+    boolean isProtected()
+    {
+        return resident.get() <= reserved;
+    }
+}
@@ -45,10 +45,10 @@ import static org.neo4j.helpers.Numbers.safeCastIntToShort;
 final class SwapperSet
 {
     // The sentinel is used to reserve swapper id 0 as a special value.
-    private static final SwapperMapping SENTINEL = new SwapperMapping( 0, null );
+    private static final SwapperMapping SENTINEL = new SwapperMapping( 0, null, null );
     // The tombstone is used as a marker to reserve allocation entries that have been freed, but not yet vacuumed.
     // An allocation cannot be reused until it has been vacuumed.
-    private static final SwapperMapping TOMBSTONE = new SwapperMapping( 0, null );
+    private static final SwapperMapping TOMBSTONE = new SwapperMapping( 0, null, null );
     private static final int MAX_SWAPPER_ID = (1 << 21) - 1;
     private volatile SwapperMapping[] swapperMappings = new SwapperMapping[] { SENTINEL };
     private final MutableIntSet free = new IntHashSet();
@@ -62,11 +62,14 @@ final class SwapperSet
     {
         public final int id;
         public final PageSwapper swapper;
+        // The page reservation held by the file of the swapper, or null if the file has no reservation.
+        public final ReservedPages reservedPages;
 
-        private SwapperMapping( int id, PageSwapper swapper )
+        private SwapperMapping( int id, PageSwapper swapper, ReservedPages reservedPages )
         {
             this.id = id;
             this.swapper = swapper;
+            this.reservedPages = reservedPages;
         }
     }
 
@@ -95,7 +98,15 @@ final class SwapperSet
     /**
      * Allocate a new swapper id for the given {@link PageSwapper}.
      */
-    synchronized int allocate( PageSwapper swapper )
+    int allocate( PageSwapper swapper )
+    {
+        return allocate( swapper, null );
+    }
+
+    /**
+     * Allocate a new swapper id for the given {@link PageSwapper}, whose pages count towards the given reservation.
+     */
+    synchronized int allocate( PageSwapper swapper, ReservedPages reservedPages )
     {
         SwapperMapping[] swapperMappings = this.swapperMappings;
 
@@ -106,7 +117,7 @@ final class SwapperSet
             {
                 int id = free.intIterator().next();
                 free.remove( id );
-                swapperMappings[id] = new SwapperMapping( id, swapper );
+                swapperMappings[id] = new SwapperMapping( id, swapper, reservedPages );
                 this.swapperMappings = swapperMappings; // Volatile store synchronizes-with loads in getters.
                 return id;
             }
@@ -119,7 +130,7 @@ final class SwapperSet
             throw new IllegalStateException( "All swapper ids are allocated: " + MAX_SWAPPER_ID );
         }
         swapperMappings = Arrays.copyOf( swapperMappings, id + 1 );
-        swapperMappings[id] = new SwapperMapping( id, swapper );
+        swapperMappings[id] = new SwapperMapping( id, swapper, reservedPages );
         this.swapperMappings = swapperMappings; // Volatile store synchronizes-with loads in getters.
         return id;
     }
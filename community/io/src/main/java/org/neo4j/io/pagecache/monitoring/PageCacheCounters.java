@@ -53,6 +53,18 @@ public interface PageCacheCounters
      */
     long hits();
 
+    /**
+     * @return The number of page cache hits by {@link org.neo4j.io.pagecache.PagedFile#PF_TRANSIENT transient}
+     * cursors so far. These are included in {@link #hits()}.
+     */
+    long transientHits();
+
+    /**
+     * @return The number of page faults by {@link org.neo4j.io.pagecache.PagedFile#PF_TRANSIENT transient} cursors
+     * observed thus far. These are included in {@link #faults()}.
+     */
+    long transientFaults();
+
     /**
      * @return The number of page flushes observed thus far.
      */
@@ -88,6 +100,13 @@ public interface PageCacheCounters
      */
     double hitRatio();
 
+    /**
+     * @return The cache hit ratio observed thus far, for all accesses except those by
+     * {@link org.neo4j.io.pagecache.PagedFile#PF_TRANSIENT transient} cursors. This is the hit ratio of the working
+     * set, that the transient accesses should not disturb.
+     */
+    double nonTransientHitRatio();
+
     /**
      * @return The current usage ration of number of used pages to the total number of pages or {@code 0} if it cannot
      * be determined.
@@ -40,6 +40,8 @@ public class DefaultPageCacheTracer implements PageCacheTracer
     protected final LongAdder pins = new LongAdder();
     protected final LongAdder unpins = new LongAdder();
     protected final LongAdder hits = new LongAdder();
+    protected final LongAdder transientHits = new LongAdder();
+    protected final LongAdder transientFaults = new LongAdder();
     protected final LongAdder flushes = new LongAdder();
     protected final LongAdder bytesRead = new LongAdder();
     protected final LongAdder bytesWritten = new LongAdder();
@@ -200,6 +202,18 @@ public class DefaultPageCacheTracer implements PageCacheTracer
         return hits.sum();
     }
 
+    @Override
+    public long transientHits()
+    {
+        return transientHits.sum();
+    }
+
+    @Override
+    public long transientFaults()
+    {
+        return transientFaults.sum();
+    }
+
     @Override
     public long flushes()
     {
@@ -242,6 +256,12 @@ public class DefaultPageCacheTracer implements PageCacheTracer
         return MathUtil.portion( hits(), faults() );
     }
 
+    @Override
+    public double nonTransientHitRatio()
+    {
+        return MathUtil.portion( hits() - transientHits(), faults() - transientFaults() );
+    }
+
     @Override
     public double usageRatio()
     {
@@ -277,6 +297,18 @@ public class DefaultPageCacheTracer implements PageCacheTracer
         this.faults.add( faults );
     }
 
+    @Override
+    public void transientHits( long transientHits )
+    {
+        this.transientHits.add( transientHits );
+    }
+
+    @Override
+    public void transientFaults( long transientFaults )
+    {
+        this.transientFaults.add( transientFaults );
+    }
+
     @Override
     public void bytesRead( long bytesRead )
     {
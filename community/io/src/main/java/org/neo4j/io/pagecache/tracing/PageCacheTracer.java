@@ -97,6 +97,18 @@ public interface PageCacheTracer extends PageCacheCounters
             return 0;
         }
 
+        @Override
+        public long transientHits()
+        {
+            return 0;
+        }
+
+        @Override
+        public long transientFaults()
+        {
+            return 0;
+        }
+
         @Override
         public long flushes()
         {
@@ -139,6 +151,12 @@ public interface PageCacheTracer extends PageCacheCounters
             return 0d;
         }
 
+        @Override
+        public double nonTransientHitRatio()
+        {
+            return 0d;
+        }
+
         @Override
         public double usageRatio()
         {
@@ -165,6 +183,16 @@ public interface PageCacheTracer extends PageCacheCounters
         {
         }
 
+        @Override
+        public void transientHits( long transientHits )
+        {
+        }
+
+        @Override
+        public void transientFaults( long transientFaults )
+        {
+        }
+
         @Override
         public void bytesRead( long bytesRead )
         {
@@ -255,6 +283,19 @@ public interface PageCacheTracer extends PageCacheCounters
      */
     void faults( long faults );
 
+    /**
+     * Report number of observed hits by transient cursors, in addition to reporting them as {@link #hits(long) hits}
+     * @param transientHits number of transient hits
+     */
+    void transientHits( long transientHits );
+
+    /**
+     * Report number of observed faults by transient cursors, in addition to reporting them as
+     * {@link #faults(long) faults}
+     * @param transientFaults number of transient faults
+     */
+    void transientFaults( long transientFaults );
+
     /**
      * Report number of bytes read
      * @param bytesRead number of read bytes
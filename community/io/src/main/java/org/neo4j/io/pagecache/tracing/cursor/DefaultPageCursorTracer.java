@@ -41,6 +41,8 @@ public class DefaultPageCursorTracer implements PageCursorTracer
     private long historicalHits;
     private long faults;
     private long historicalFaults;
+    private long transientHits;
+    private long transientFaults;
     private long bytesRead;
     private long bytesWritten;
     private long evictions;
@@ -77,6 +79,14 @@ public class DefaultPageCursorTracer implements PageCursorTracer
             pageCacheTracer.faults( faults );
             historicalFaults = historicalFaults + faults;
         }
+        if ( transientHits > 0 )
+        {
+            pageCacheTracer.transientHits( transientHits );
+        }
+        if ( transientFaults > 0 )
+        {
+            pageCacheTracer.transientFaults( transientFaults );
+        }
         if ( bytesRead > 0 )
         {
             pageCacheTracer.bytesRead( bytesRead );
@@ -118,6 +128,8 @@ public class DefaultPageCursorTracer implements PageCursorTracer
         unpins = 0;
         hits = 0;
         faults = 0;
+        transientHits = 0;
+        transientFaults = 0;
         bytesRead = 0;
         bytesWritten = 0;
         evictions = 0;
@@ -190,6 +202,16 @@ public class DefaultPageCursorTracer implements PageCursorTracer
     {
         pins++;
         pinTracingEvent.eventHits = 1;
+        pinTracingEvent.transientPin = false;
+        return pinTracingEvent;
+    }
+
+    @Override
+    public PinEvent beginTransientPin( boolean writeLock, long filePageId, PageSwapper swapper )
+    {
+        pins++;
+        pinTracingEvent.eventHits = 1;
+        pinTracingEvent.transientPin = true;
         return pinTracingEvent;
     }
 
@@ -241,6 +263,10 @@ public class DefaultPageCursorTracer implements PageCursorTracer
         public void done()
         {
             faults++;
+            if ( pinTracingEvent.transientPin )
+            {
+                transientFaults++;
+            }
         }
 
         @Override
@@ -299,6 +325,7 @@ public class DefaultPageCursorTracer implements PageCursorTracer
     private class DefaultPinEvent implements PinEvent
     {
         int eventHits = 1;
+        boolean transientPin;
 
         @Override
         public void setCachePageId( long cachePageId )
@@ -316,6 +343,10 @@ public class DefaultPageCursorTracer implements PageCursorTracer
         public void hit()
         {
             hits += eventHits;
+            if ( transientPin )
+            {
+                transientHits += eventHits;
+            }
         }
 
         @Override
@@ -133,6 +133,15 @@ public interface PageCursorTracer extends PageCursorCounters
 
     PinEvent beginPin( boolean writeLock, long filePageId, PageSwapper swapper );
 
+    /**
+     * Begin a pin on behalf of a {@link org.neo4j.io.pagecache.PagedFile#PF_TRANSIENT transient} cursor.
+     * By default this is traced like any other pin.
+     */
+    default PinEvent beginTransientPin( boolean writeLock, long filePageId, PageSwapper swapper )
+    {
+        return beginPin( writeLock, filePageId, swapper );
+    }
+
     /**
      * Initialize page cursor tracer with required context dependent values.
      * @param tracer page cache tracer
@@ -106,6 +106,13 @@ public class AdversarialPageCache implements PageCache
         delegate.flushAndForce( limiter );
     }
 
+    @Override
+    public long flushColdPages( IOLimiter limiter ) throws IOException
+    {
+        adversary.injectFailure( FileNotFoundException.class, IOException.class, SecurityException.class );
+        return delegate.flushColdPages( limiter );
+    }
+
     @Override
     public void close()
     {
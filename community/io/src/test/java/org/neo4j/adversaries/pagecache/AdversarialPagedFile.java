@@ -103,6 +103,18 @@ public class AdversarialPagedFile implements PagedFile
         return delegate.getLastPageId();
     }
 
+    @Override
+    public long residentPages()
+    {
+        return delegate.residentPages();
+    }
+
+    @Override
+    public int usageCount( long filePageId )
+    {
+        return delegate.usageCount( filePageId );
+    }
+
     @Override
     public void close() throws IOException
     {
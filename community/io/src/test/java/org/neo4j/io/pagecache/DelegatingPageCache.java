@@ -91,4 +91,10 @@ public class DelegatingPageCache implements PageCache
         delegate.flushAndForce();
     }
 
+    @Override
+    public long flushColdPages( IOLimiter limiter ) throws IOException
+    {
+        return delegate.flushColdPages( limiter );
+    }
+
 }
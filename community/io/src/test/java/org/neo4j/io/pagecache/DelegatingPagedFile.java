@@ -52,6 +52,18 @@ public class DelegatingPagedFile implements PagedFile
         return delegate.getLastPageId();
     }
 
+    @Override
+    public long residentPages()
+    {
+        return delegate.residentPages();
+    }
+
+    @Override
+    public int usageCount( long filePageId )
+    {
+        return delegate.usageCount( filePageId );
+    }
+
     @Override
     public int pageSize()
     {
@@ -436,6 +436,11 @@ public class StubPageCursor extends PageCursor
         this.currentOffset = this.mark;
     }
 
+    @Override
+    public void prefetch( long[] pageIds, int offset, int length )
+    {
+    }
+
     @Override
     public void zapPage()
     {
@@ -88,6 +88,18 @@ public class StubPagedFile implements PagedFile
         return lastPageId;
     }
 
+    @Override
+    public long residentPages()
+    {
+        return 0;
+    }
+
+    @Override
+    public int usageCount( long filePageId )
+    {
+        return -1;
+    }
+
     @Override
     public void close()
     {
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.neo4j.graphdb.config.Configuration;
+import org.neo4j.graphdb.mockfs.EphemeralFileSystemAbstraction;
+import org.neo4j.io.IOUtils;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.pagecache.PageSwapper;
+import org.neo4j.io.pagecache.PageSwapperFactory;
+import org.neo4j.io.pagecache.PageSwapperTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+public class MappedFilePageSwapperTest extends PageSwapperTest
+{
+    private static final int PAGE_SIZE = 32;
+
+    private DefaultFileSystemAbstraction fileSystem;
+
+    @BeforeEach
+    void setUp()
+    {
+        fileSystem = new DefaultFileSystemAbstraction();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception
+    {
+        IOUtils.closeAll( fileSystem );
+    }
+
+    @Override
+    protected PageSwapperFactory swapperFactory()
+    {
+        MappedFilePageSwapperFactory factory = new MappedFilePageSwapperFactory();
+        factory.open( fileSystem, Configuration.EMPTY );
+        return factory;
+    }
+
+    @Override
+    protected void mkdirs( File dir ) throws IOException
+    {
+        fileSystem.mkdirs( dir );
+    }
+
+    @Test
+    void mustCreateMappedSwappersForFilesOnRealFileSystems() throws Exception
+    {
+        PageSwapper swapper = createSwapper( createSwapperFactory(), testDir.file( "a" ), PAGE_SIZE, NO_CALLBACK, true, false );
+        assertThat( swapper, instanceOf( MappedFilePageSwapper.class ) );
+    }
+
+    @Test
+    void mustFallBackToFileChannelsForFileSystemsThatCannotBeMapped() throws Exception
+    {
+        try ( EphemeralFileSystemAbstraction fs = new EphemeralFileSystemAbstraction() )
+        {
+            MappedFilePageSwapperFactory factory = new MappedFilePageSwapperFactory();
+            factory.open( fs, Configuration.EMPTY );
+            PageSwapper swapper = factory.createPageSwapper( new File( "a" ).getCanonicalFile(), PAGE_SIZE, NO_CALLBACK, true, false );
+            assertThat( swapper, instanceOf( SingleFilePageSwapper.class ) );
+            swapper.close();
+            factory.close();
+        }
+    }
+
+    @Test
+    void mustReadPagesWrittenAfterTheFileWasMapped() throws Exception
+    {
+        PageSwapper swapper = createSwapper( createSwapperFactory(), testDir.file( "a" ), PAGE_SIZE, NO_CALLBACK, true, false );
+        long page = createPage( PAGE_SIZE );
+
+        for ( int filePageId = 0; filePageId < 10; filePageId++ )
+        {
+            putLong( page, 0, filePageId + 1 );
+            swapper.write( filePageId, page );
+            clear( page );
+
+            // Every read extends past the end of the previous mapping, so the segment must be remapped.
+            assertThat( swapper.read( filePageId, page, PAGE_SIZE ), is( (long) PAGE_SIZE ) );
+            assertThat( getLong( page, 0 ), is( filePageId + 1L ) );
+        }
+        for ( int filePageId = 0; filePageId < 10; filePageId++ )
+        {
+            swapper.read( filePageId, page, PAGE_SIZE );
+            assertThat( getLong( page, 0 ), is( filePageId + 1L ) );
+        }
+    }
+
+    @Test
+    void mustSeeOverwrittenPagesThroughExistingMappings() throws Exception
+    {
+        PageSwapper swapper = createSwapper( createSwapperFactory(), testDir.file( "a" ), PAGE_SIZE, NO_CALLBACK, true, false );
+        long page = createPage( PAGE_SIZE );
+        putLong( page, 0, 1 );
+        swapper.write( 0, page );
+        swapper.read( 0, page, PAGE_SIZE );
+
+        putLong( page, 0, 2 );
+        swapper.write( 0, page );
+        clear( page );
+        swapper.read( 0, page, PAGE_SIZE );
+        assertThat( getLong( page, 0 ), is( 2L ) );
+    }
+
+    @Test
+    void mustNotReadThroughMappingsAfterTruncation() throws Exception
+    {
+        PageSwapper swapper = createSwapper( createSwapperFactory(), testDir.file( "a" ), PAGE_SIZE, NO_CALLBACK, true, false );
+        long page = createPage( PAGE_SIZE );
+        putLong( page, 0, 1 );
+        swapper.write( 0, page );
+        swapper.write( 1, page );
+        swapper.read( 1, page, PAGE_SIZE );
+
+        swapper.truncate();
+        assertThat( swapper.read( 1, page, PAGE_SIZE ), is( 0L ) );
+        assertThat( getLong( page, 0 ), is( 0L ) );
+
+        putLong( page, 0, 3 );
+        swapper.write( 0, page );
+        clear( page );
+        assertThat( swapper.read( 0, page, PAGE_SIZE ), is( (long) PAGE_SIZE ) );
+        assertThat( getLong( page, 0 ), is( 3L ) );
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.neo4j.io.pagecache.impl.muninn.DirtyPageBitmap.NO_DIRTY_PAGE;
+
+class DirtyPageBitmapTest
+{
+    private final DirtyPageBitmap dirtyPages = new DirtyPageBitmap();
+
+    @Test
+    void emptyBitmapMustHaveNoMarkedPages()
+    {
+        assertThat( dirtyPages.nextMarked( 0 ), is( NO_DIRTY_PAGE ) );
+        assertThat( dirtyPages.isMarked( 0 ), is( false ) );
+        assertThat( dirtyPages.clear( 0 ), is( false ) );
+    }
+
+    @Test
+    void nextMarkedMustFindMarkedPagesInFileOrder()
+    {
+        long[] filePageIds = {100_000, 3, 64, 63, 4095, 4096, 0};
+        for ( long filePageId : filePageIds )
+        {
+            dirtyPages.mark( filePageId );
+        }
+
+        assertThat( dirtyPages.nextMarked( 0 ), is( 0L ) );
+        assertThat( dirtyPages.nextMarked( 1 ), is( 3L ) );
+        assertThat( dirtyPages.nextMarked( 4 ), is( 63L ) );
+        assertThat( dirtyPages.nextMarked( 64 ), is( 64L ) );
+        assertThat( dirtyPages.nextMarked( 65 ), is( 4095L ) );
+        assertThat( dirtyPages.nextMarked( 4096 ), is( 4096L ) );
+        assertThat( dirtyPages.nextMarked( 4097 ), is( 100_000L ) );
+        assertThat( dirtyPages.nextMarked( 100_001 ), is( NO_DIRTY_PAGE ) );
+    }
+
+    @Test
+    void clearMustUnmarkPageAndReportIfItWasMarked()
+    {
+        dirtyPages.mark( 42 );
+        dirtyPages.mark( 43 );
+
+        assertThat( dirtyPages.clear( 42 ), is( true ) );
+        assertThat( dirtyPages.clear( 42 ), is( false ) );
+        assertThat( dirtyPages.isMarked( 42 ), is( false ) );
+        assertThat( dirtyPages.isMarked( 43 ), is( true ) );
+        assertThat( dirtyPages.nextMarked( 0 ), is( 43L ) );
+    }
+
+    @Test
+    void markingAlreadyMarkedPageMustBeIdempotent()
+    {
+        dirtyPages.mark( 7 );
+        dirtyPages.mark( 7 );
+
+        assertThat( dirtyPages.clear( 7 ), is( true ) );
+        assertThat( dirtyPages.nextMarked( 0 ), is( NO_DIRTY_PAGE ) );
+    }
+}
@@ -32,46 +32,69 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.IntSupplier;
 import java.util.function.LongSupplier;
 
+import org.neo4j.graphdb.config.Configuration;
 import org.neo4j.graphdb.mockfs.DelegatingFileSystemAbstraction;
 import org.neo4j.graphdb.mockfs.DelegatingStoreChannel;
+import org.neo4j.io.ByteUnit;
 import org.neo4j.io.IOUtils;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.fs.OpenMode;
 import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.io.pagecache.DelegatingPageSwapper;
 import org.neo4j.io.pagecache.IOLimiter;
 import org.neo4j.io.pagecache.PageCacheTest;
 import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PageEvictionCallback;
+import org.neo4j.io.pagecache.PageReservation;
 import org.neo4j.io.pagecache.PageSwapper;
+import org.neo4j.io.pagecache.PageSwapperFactory;
 import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
 import org.neo4j.io.pagecache.tracing.ConfigurablePageCursorTracerSupplier;
 import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.DelegatingPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.EvictionRunEvent;
+import org.neo4j.io.pagecache.tracing.FlushEvent;
+import org.neo4j.io.pagecache.tracing.FlushEventOpportunity;
 import org.neo4j.io.pagecache.tracing.MajorFlushEvent;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.DefaultPageCursorTracer;
 import org.neo4j.io.pagecache.tracing.cursor.DefaultPageCursorTracerSupplier;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
+import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContext;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
 import org.neo4j.io.pagecache.tracing.recording.RecordingPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.recording.RecordingPageCursorTracer;
 import org.neo4j.io.pagecache.tracing.recording.RecordingPageCursorTracer.Fault;
+import org.neo4j.memory.LocalMemoryTracker;
 
 import static java.time.Duration.ofMillis;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTimeout;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.neo4j.io.pagecache.PageCache.PAGE_SIZE;
+import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_GROW;
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_TRANSIENT;
 import static org.neo4j.io.pagecache.tracing.recording.RecordingPageCacheTracer.Evict;
 
 public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
@@ -714,6 +737,596 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
         } );
     }
 
+    @Test
+    void readAheadCursorMustFaultInPagesAheadOfSequentialScan()
+    {
+        assertTimeout( ofMillis( SEMI_LONG_TIMEOUT_MILLIS ), () ->
+        {
+            int pageCount = 200;
+            try ( MuninnPageCache pageCache = createPageCache( fs, 1000, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL );
+                  PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+            {
+                try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+                {
+                    for ( int i = 0; i < pageCount; i++ )
+                    {
+                        assertTrue( cursor.next() );
+                        cursor.putLong( i );
+                    }
+                }
+                pagedFile.flushAndForce();
+                evictAllPages( pageCache );
+
+                try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK | PF_READ_AHEAD ) )
+                {
+                    for ( int i = 0; i < 4; i++ )
+                    {
+                        assertTrue( cursor.next() );
+                    }
+                }
+
+                // The page after the ones we pinned must eventually show up without us faulting it in.
+                try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK | PF_NO_FAULT ) )
+                {
+                    do
+                    {
+                        assertTrue( cursor.next( 10 ) );
+                    }
+                    while ( cursor.getCurrentPageId() != 10 );
+                    long value;
+                    do
+                    {
+                        value = cursor.getLong();
+                    }
+                    while ( cursor.shouldRetry() );
+                    assertEquals( 10L, value );
+                }
+            }
+        } );
+    }
+
+    @Test
+    void prefetchMustFaultInRequestedPagesWithoutBlockingTheCursor()
+    {
+        assertTimeout( ofMillis( SEMI_LONG_TIMEOUT_MILLIS ), () ->
+        {
+            int pageCount = 200;
+            try ( MuninnPageCache pageCache = createPageCache( fs, 1000, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL );
+                  PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+            {
+                try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+                {
+                    for ( int i = 0; i < pageCount; i++ )
+                    {
+                        assertTrue( cursor.next() );
+                        cursor.putLong( i );
+                    }
+                }
+                pagedFile.flushAndForce();
+                evictAllPages( pageCache );
+
+                long[] pageIds = {-1, 150, 20, 21, 22, 90, pageCount + 10};
+                try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK ) )
+                {
+                    cursor.prefetch( pageIds, 0, pageIds.length );
+                }
+
+                // The prefetched pages must eventually show up without us faulting them in.
+                try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK | PF_NO_FAULT ) )
+                {
+                    for ( long pageId : new long[]{150, 20, 21, 22, 90} )
+                    {
+                        do
+                        {
+                            assertTrue( cursor.next( pageId ) );
+                        }
+                        while ( cursor.getCurrentPageId() != pageId );
+                        long value;
+                        do
+                        {
+                            value = cursor.getLong();
+                        }
+                        while ( cursor.shouldRetry() );
+                        assertEquals( pageId, value );
+                    }
+
+                    // Pages we did not ask for must not have been faulted in.
+                    assertTrue( cursor.next( 100 ) );
+                    assertEquals( PageCursor.UNBOUND_PAGE_ID, cursor.getCurrentPageId() );
+                }
+            }
+        } );
+    }
+
+    @Test
+    void unmappingMustWaitForPrefetchJobsToStopBindingPagesToTheFile()
+    {
+        assertTimeout( ofMillis( SEMI_LONG_TIMEOUT_MILLIS ), () ->
+        {
+            AtomicBoolean blockReads = new AtomicBoolean();
+            CountDownLatch readCompleted = new CountDownLatch( 1 );
+            CountDownLatch releaseRead = new CountDownLatch( 1 );
+            PageSwapperFactory swapperFactory = new SingleFilePageSwapperFactory()
+            {
+                @Override
+                public PageSwapper createPageSwapper( File file, int filePageSize, PageEvictionCallback onEviction, boolean createIfNotExist,
+                        boolean noChannelStriping ) throws IOException
+                {
+                    PageSwapper swapper = super.createPageSwapper( file, filePageSize, onEviction, createIfNotExist, noChannelStriping );
+                    return new DelegatingPageSwapper( swapper )
+                    {
+                        @Override
+                        public long read( long startFilePageId, long[] bufferAddresses, int bufferSize, int arrayOffset, int length )
+                                throws IOException
+                        {
+                            long bytesRead = super.read( startFilePageId, bufferAddresses, bufferSize, arrayOffset, length );
+                            if ( blockReads.get() )
+                            {
+                                // Hold the prefetch job between reading the pages, and binding them to the file.
+                                readCompleted.countDown();
+                                try
+                                {
+                                    releaseRead.await();
+                                }
+                                catch ( InterruptedException e )
+                                {
+                                    Thread.currentThread().interrupt();
+                                    throw new IOException( e );
+                                }
+                            }
+                            return bytesRead;
+                        }
+                    };
+                }
+            };
+            swapperFactory.open( fs, Configuration.EMPTY );
+            MemoryAllocator allocator = MemoryAllocator.createAllocator(
+                    String.valueOf( MuninnPageCache.memoryRequiredForPages( 100 ) ), new LocalMemoryTracker() );
+            try ( MuninnPageCache pageCache = new MuninnPageCache( swapperFactory, allocator, PageCacheTracer.NULL,
+                    PageCursorTracerSupplier.NULL, EmptyVersionContextSupplier.EMPTY, jobScheduler ) )
+            {
+                MuninnPagedFile pagedFile = (MuninnPagedFile) map( pageCache, file( "a" ), 8 );
+                try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+                {
+                    for ( int i = 0; i < 20; i++ )
+                    {
+                        assertTrue( cursor.next() );
+                        cursor.putLong( i );
+                    }
+                }
+                pagedFile.flushAndForce();
+                evictAllPages( pageCache );
+
+                int swapperId = pagedFile.swapperId;
+                blockReads.set( true );
+                try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK ) )
+                {
+                    cursor.prefetch( new long[]{10, 11, 12}, 0, 3 );
+                }
+                readCompleted.await();
+
+                // The unmapping must not close the swapper, and free its swapper id, while the prefetch job is in flight.
+                Future<?> unmapping = executor.submit( pagedFile::close );
+                Thread.sleep( 100 );
+                assertFalse( unmapping.isDone() );
+                releaseRead.countDown();
+                unmapping.get();
+
+                PageList pages = pageCache.pages;
+                for ( int pageId = 0; pageId < pages.getPageCount(); pageId++ )
+                {
+                    assertNotEquals( swapperId, pages.getSwapperId( pages.deref( pageId ) ) );
+                }
+            }
+            finally
+            {
+                allocator.close();
+            }
+        } );
+    }
+
+    @Test
+    void usageCountMustReflectPageAccessesWithoutFaultingPagesIn() throws Exception
+    {
+        try ( MuninnPageCache pageCache = createPageCache( fs, 10, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL );
+              PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+            {
+                for ( int i = 0; i < 4; i++ )
+                {
+                    assertTrue( cursor.next() );
+                    cursor.putLong( i );
+                }
+            }
+            pagedFile.flushAndForce();
+            evictAllPages( pageCache );
+
+            try ( PageCursor cursor = pagedFile.io( 2, PF_SHARED_READ_LOCK ) )
+            {
+                assertTrue( cursor.next() );
+            }
+            for ( int i = 0; i < 3; i++ )
+            {
+                try ( PageCursor cursor = pagedFile.io( 1, PF_SHARED_READ_LOCK ) )
+                {
+                    assertTrue( cursor.next() );
+                }
+            }
+
+            assertEquals( -1, pagedFile.usageCount( 0 ) );
+            assertThat( pagedFile.usageCount( 1 ), greaterThan( pagedFile.usageCount( 2 ) ) );
+            assertThat( pagedFile.usageCount( 2 ), greaterThanOrEqualTo( 0 ) );
+            assertEquals( -1, pagedFile.usageCount( 3 ) );
+            assertEquals( -1, pagedFile.usageCount( 1000 ) );
+            assertEquals( -1, pagedFile.usageCount( -1 ) );
+            assertEquals( 2, pagedFile.residentPages() );
+        }
+    }
+
+    @Test
+    void evictedPagesMustBeFaultedBackInFromCompressedPagePool() throws Exception
+    {
+        PageSwapperFactory swapperFactory = new SingleFilePageSwapperFactory();
+        swapperFactory.open( fs, Configuration.EMPTY );
+        MemoryAllocator allocator = MemoryAllocator.createAllocator(
+                String.valueOf( MuninnPageCache.memoryRequiredForPages( 20 ) ), new LocalMemoryTracker() );
+        byte[] randomBytes = new byte[PAGE_SIZE];
+        ThreadLocalRandom.current().nextBytes( randomBytes );
+        try ( MuninnPageCache pageCache = new MuninnPageCache( swapperFactory, allocator, PageCacheTracer.NULL,
+                PageCursorTracerSupplier.NULL, EmptyVersionContextSupplier.EMPTY, jobScheduler, ByteUnit.mebiBytes( 1 ) );
+              PagedFile pagedFile = map( pageCache, file( "a" ), PAGE_SIZE ) )
+        {
+            CompressedPagePool compressedPages = pageCache.compressedPages();
+            assertTrue( compressedPages.isEnabled() );
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+            {
+                for ( int i = 0; i < 10; i++ )
+                {
+                    assertTrue( cursor.next() );
+                    cursor.putLong( i );
+                }
+                // The last page will not compress, so it must not be kept.
+                assertTrue( cursor.next() );
+                cursor.putBytes( randomBytes );
+            }
+            evictAllPages( pageCache );
+            assertEquals( 10, compressedPages.stores() );
+            assertEquals( 1, compressedPages.rejections() );
+
+            long diskFaults = compressedPages.diskFaults();
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK ) )
+            {
+                for ( int i = 0; i < 10; i++ )
+                {
+                    assertTrue( cursor.next() );
+                    long value;
+                    do
+                    {
+                        value = cursor.getLong();
+                    }
+                    while ( cursor.shouldRetry() );
+                    assertEquals( i, value );
+                }
+                assertTrue( cursor.next() );
+                byte[] bytes = new byte[PAGE_SIZE];
+                do
+                {
+                    cursor.getBytes( bytes );
+                }
+                while ( cursor.shouldRetry() );
+                assertArrayEquals( randomBytes, bytes );
+            }
+            assertEquals( 10, compressedPages.hits() );
+            assertEquals( diskFaults + 1, compressedPages.diskFaults() );
+
+            // A page that is modified after it was decompressed, must be compressed again with its new contents.
+            try ( PageCursor cursor = pagedFile.io( 3, PF_SHARED_WRITE_LOCK ) )
+            {
+                assertTrue( cursor.next() );
+                cursor.putLong( 42 );
+            }
+            evictAllPages( pageCache );
+            try ( PageCursor cursor = pagedFile.io( 3, PF_SHARED_READ_LOCK ) )
+            {
+                assertTrue( cursor.next() );
+                long value;
+                do
+                {
+                    value = cursor.getLong();
+                }
+                while ( cursor.shouldRetry() );
+                assertEquals( 42, value );
+            }
+            assertEquals( 11, compressedPages.hits() );
+        }
+        finally
+        {
+            allocator.close();
+        }
+    }
+
+    @Test
+    void evictionMustRecycleTransientPagesBeforeHotPages() throws Exception
+    {
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        DefaultPageCursorTracer cursorTracer = new DefaultPageCursorTracer();
+        ConfigurablePageCursorTracerSupplier<DefaultPageCursorTracer> cursorTracerSupplier =
+                new ConfigurablePageCursorTracerSupplier<>( cursorTracer );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 10, tracer, cursorTracerSupplier );
+              PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+            {
+                for ( int i = 0; i < 4; i++ )
+                {
+                    assertTrue( cursor.next() );
+                    cursor.putLong( i );
+                }
+            }
+            pagedFile.flushAndForce();
+            evictAllPages( pageCache );
+            cursorTracer.reportEvents();
+            long faultsBefore = tracer.faults();
+
+            // Pages 0 and 1 are the working set, while pages 2 and 3 are only touched by a scan.
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK ) )
+            {
+                assertTrue( cursor.next( 0 ) );
+                assertTrue( cursor.next( 1 ) );
+            }
+            try ( PageCursor cursor = pagedFile.io( 2, PF_SHARED_READ_LOCK | PF_TRANSIENT ) )
+            {
+                assertTrue( cursor.next() );
+                assertTrue( cursor.next() );
+                assertTrue( cursor.next( 2 ) );
+            }
+            cursorTracer.reportEvents();
+            assertEquals( 4, tracer.faults() - faultsBefore );
+            assertEquals( 2, tracer.transientFaults() );
+            assertEquals( 1, tracer.transientHits() );
+
+            // A plain clock sweep from page 0 would evict the working set first.
+            pageCache.evictPages( 2, 0, EvictionRunEvent.NULL );
+
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK | PF_NO_FAULT ) )
+            {
+                assertTrue( cursor.next( 0 ) );
+                assertEquals( 0, cursor.getCurrentPageId() );
+                assertTrue( cursor.next( 1 ) );
+                assertEquals( 1, cursor.getCurrentPageId() );
+                assertTrue( cursor.next( 2 ) );
+                assertEquals( PageCursor.UNBOUND_PAGE_ID, cursor.getCurrentPageId() );
+                assertTrue( cursor.next( 3 ) );
+                assertEquals( PageCursor.UNBOUND_PAGE_ID, cursor.getCurrentPageId() );
+            }
+        }
+    }
+
+    @Test
+    void flushMustOnlyWriteOutDirtyPagesInVectorsOfConsecutivePages() throws Exception
+    {
+        List<long[]> vectors = new ArrayList<>();
+        PageCacheTracer tracer = vectorRecordingTracer( vectors );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 20, tracer, PageCursorTracerSupplier.NULL );
+              PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+            {
+                for ( int i = 0; i < 10; i++ )
+                {
+                    assertTrue( cursor.next() );
+                    cursor.putLong( i );
+                }
+            }
+            pagedFile.flushAndForce();
+            assertEquals( 1, vectors.size() );
+            assertEquals( 10, vectors.get( 0 )[1] );
+            vectors.clear();
+
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+            {
+                for ( int pageId : new int[]{2, 3, 7} )
+                {
+                    assertTrue( cursor.next( pageId ) );
+                    cursor.putLong( pageId + 100 );
+                }
+            }
+            pagedFile.flushAndForce();
+            assertEquals( 2, vectors.size() );
+            assertEquals( 2, vectors.get( 0 )[0] );
+            assertEquals( 2, vectors.get( 0 )[1] );
+            assertEquals( 7, vectors.get( 1 )[0] );
+            assertEquals( 1, vectors.get( 1 )[1] );
+            assertEquals( DirtyPageBitmap.NO_DIRTY_PAGE, ((MuninnPagedFile) pagedFile).dirtyPages.nextMarked( 0 ) );
+            vectors.clear();
+
+            // Nothing has been written to since the last flush, so there is nothing to write out.
+            pagedFile.flushAndForce();
+            assertTrue( vectors.isEmpty() );
+        }
+    }
+
+    @Test
+    void flushColdPagesMustOnlyWriteOutPagesThatHaveNotBeenWrittenToSinceThePreviousPass() throws Exception
+    {
+        List<long[]> vectors = new ArrayList<>();
+        PageCacheTracer tracer = vectorRecordingTracer( vectors );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 20, tracer, PageCursorTracerSupplier.NULL );
+              PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+            {
+                for ( int i = 0; i < 4; i++ )
+                {
+                    assertTrue( cursor.next() );
+                    cursor.putLong( i );
+                }
+            }
+            // The pages have only just been written to, so the first pass leaves all of them behind.
+            assertEquals( 4, pageCache.flushColdPages( IOLimiter.UNLIMITED ) );
+            assertTrue( vectors.isEmpty() );
+
+            try ( PageCursor cursor = pagedFile.io( 1, PF_SHARED_WRITE_LOCK ) )
+            {
+                assertTrue( cursor.next() );
+                cursor.putLong( 101 );
+            }
+            assertEquals( 1, pageCache.flushColdPages( IOLimiter.UNLIMITED ) );
+            assertEquals( 2, vectors.size() );
+            assertArrayEquals( new long[]{0, 1}, vectors.get( 0 ) );
+            assertArrayEquals( new long[]{2, 2}, vectors.get( 1 ) );
+            vectors.clear();
+
+            assertEquals( 0, pageCache.flushColdPages( IOLimiter.UNLIMITED ) );
+            assertEquals( 1, vectors.size() );
+            assertArrayEquals( new long[]{1, 1}, vectors.get( 0 ) );
+            vectors.clear();
+
+            // Nothing is left for the check point to flush.
+            pagedFile.flushAndForce();
+            assertTrue( vectors.isEmpty() );
+
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK ) )
+            {
+                for ( int i = 0; i < 4; i++ )
+                {
+                    assertTrue( cursor.next() );
+                    assertEquals( i == 1 ? 101 : i, cursor.getLong() );
+                }
+            }
+        }
+    }
+
+    @Test
+    void evictionMustLeaveReservedPagesInMemory() throws Exception
+    {
+        try ( MuninnPageCache pageCache = createPageCache( fs, 20, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL );
+              PagedFile reservedFile = map( pageCache, file( "a" ), 8, PageReservation.pages( "a", 8 ) );
+              PagedFile otherFile = map( pageCache, file( "b" ), 8 ) )
+        {
+            writeLongs( reservedFile, 10 );
+            assertEquals( 10, reservedFile.residentPages() );
+
+            // Go through many more pages than fit in the page cache, which will evict everything that isn't reserved.
+            writeLongs( otherFile, 200 );
+            readLongs( otherFile, 200 );
+            assertThat( reservedFile.residentPages() >= 8, is( true ) );
+            assertThat( reservedFile.residentPages() + otherFile.residentPages() <= 20, is( true ) );
+            readLongs( reservedFile, 10 );
+        }
+    }
+
+    @Test
+    void evictionMustIgnoreReservationsRatherThanLiveLock() throws Exception
+    {
+        try ( MuninnPageCache pageCache = createPageCache( fs, 20, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL );
+              PagedFile reservedFile = map( pageCache, file( "a" ), 8, PageReservation.fraction( "a", 1.0 ) );
+              PagedFile otherFile = map( pageCache, file( "b" ), 8 ) )
+        {
+            assertTimeout( ofMillis( SEMI_LONG_TIMEOUT_MILLIS ), () ->
+            {
+                writeLongs( reservedFile, 40 );
+                writeLongs( otherFile, 40 );
+                readLongs( reservedFile, 40 );
+                readLongs( otherFile, 40 );
+            } );
+        }
+    }
+
+    @Test
+    void filesMappedWithTheSameReservationMustShareTheReservedPages() throws Exception
+    {
+        try ( MuninnPageCache pageCache = createPageCache( fs, 20, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL );
+              PagedFile fileA = map( pageCache, file( "a" ), 8, PageReservation.pages( "shared", 8 ) );
+              PagedFile fileB = map( pageCache, file( "b" ), 8, PageReservation.pages( "shared", 2 ) );
+              PagedFile otherFile = map( pageCache, file( "c" ), 8 ) )
+        {
+            writeLongs( fileA, 6 );
+            writeLongs( fileB, 6 );
+            writeLongs( otherFile, 200 );
+            readLongs( otherFile, 200 );
+            assertThat( fileA.residentPages() + fileB.residentPages() >= 8, is( true ) );
+            assertThat( fileA.residentPages() + fileB.residentPages() < 12, is( true ) );
+        }
+    }
+
+    private static void writeLongs( PagedFile pagedFile, int pageCount ) throws IOException
+    {
+        try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+        {
+            for ( int i = 0; i < pageCount; i++ )
+            {
+                assertTrue( cursor.next() );
+                cursor.putLong( i );
+            }
+        }
+    }
+
+    private static void readLongs( PagedFile pagedFile, int pageCount ) throws IOException
+    {
+        try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK ) )
+        {
+            for ( int i = 0; i < pageCount; i++ )
+            {
+                assertTrue( cursor.next() );
+                long value;
+                do
+                {
+                    value = cursor.getLong();
+                }
+                while ( cursor.shouldRetry() );
+                assertEquals( i, value );
+            }
+        }
+    }
+
+    private static PageCacheTracer vectorRecordingTracer( List<long[]> vectors )
+    {
+        return new DelegatingPageCacheTracer( PageCacheTracer.NULL )
+        {
+            @Override
+            public MajorFlushEvent beginFileFlush( PageSwapper swapper )
+            {
+                return new MajorFlushEvent()
+                {
+                    @Override
+                    public FlushEventOpportunity flushEventOpportunity()
+                    {
+                        return ( filePageId, cachePageId, swapper ) -> new FlushEvent()
+                        {
+                            @Override
+                            public void addBytesWritten( long bytes )
+                            {
+                            }
+
+                            @Override
+                            public void done()
+                            {
+                            }
+
+                            @Override
+                            public void done( IOException exception )
+                            {
+                            }
+
+                            @Override
+                            public void addPagesFlushed( int pageCount )
+                            {
+                                vectors.add( new long[]{filePageId, pageCount} );
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void close()
+                    {
+                    }
+                };
+            }
+        };
+    }
+
     private static class FlushRendezvousTracer extends DefaultPageCacheTracer
     {
         private final CountDownLatch latch;
@@ -76,6 +76,18 @@ public class DelegatingPageCacheTracer implements PageCacheTracer
         return delegate.hits();
     }
 
+    @Override
+    public long transientHits()
+    {
+        return delegate.transientHits();
+    }
+
+    @Override
+    public long transientFaults()
+    {
+        return delegate.transientFaults();
+    }
+
     @Override
     public MajorFlushEvent beginCacheFlush()
     {
@@ -124,6 +136,12 @@ public class DelegatingPageCacheTracer implements PageCacheTracer
         return delegate.usageRatio();
     }
 
+    @Override
+    public double nonTransientHitRatio()
+    {
+        return delegate.nonTransientHitRatio();
+    }
+
     @Override
     public void pins( long pins )
     {
@@ -148,6 +166,18 @@ public class DelegatingPageCacheTracer implements PageCacheTracer
         delegate.faults( faults );
     }
 
+    @Override
+    public void transientHits( long transientHits )
+    {
+        delegate.transientHits( transientHits );
+    }
+
+    @Override
+    public void transientFaults( long transientFaults )
+    {
+        delegate.transientFaults( transientFaults );
+    }
+
     @Override
     public void bytesRead( long bytesRead )
     {
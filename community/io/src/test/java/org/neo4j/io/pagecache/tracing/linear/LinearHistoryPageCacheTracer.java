@@ -111,6 +111,18 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer
         return 0;
     }
 
+    @Override
+    public long transientHits()
+    {
+        return 0;
+    }
+
+    @Override
+    public long transientFaults()
+    {
+        return 0;
+    }
+
     @Override
     public long flushes()
     {
@@ -153,6 +165,12 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer
         return 0d;
     }
 
+    @Override
+    public double nonTransientHitRatio()
+    {
+        return 0d;
+    }
+
     @Override
     public double usageRatio()
     {
@@ -179,6 +197,16 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer
     {
     }
 
+    @Override
+    public void transientHits( long transientHits )
+    {
+    }
+
+    @Override
+    public void transientFaults( long transientFaults )
+    {
+    }
+
     @Override
     public void bytesRead( long bytesRead )
     {
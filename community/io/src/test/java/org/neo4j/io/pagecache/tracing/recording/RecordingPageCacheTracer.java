@@ -116,6 +116,18 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
         return 0;
     }
 
+    @Override
+    public long transientHits()
+    {
+        return 0;
+    }
+
+    @Override
+    public long transientFaults()
+    {
+        return 0;
+    }
+
     @Override
     public long flushes()
     {
@@ -158,6 +170,12 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
         return 0d;
     }
 
+    @Override
+    public double nonTransientHitRatio()
+    {
+        return 0d;
+    }
+
     @Override
     public double usageRatio()
     {
@@ -186,6 +204,16 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
         this.faults.getAndAdd( faults );
     }
 
+    @Override
+    public void transientHits( long transientHits )
+    {
+    }
+
+    @Override
+    public void transientFaults( long transientFaults )
+    {
+    }
+
     @Override
     public void bytesRead( long bytesRead )
     {
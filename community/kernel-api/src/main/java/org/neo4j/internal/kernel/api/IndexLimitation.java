@@ -27,5 +27,11 @@ public enum IndexLimitation
     /**
      * Highlights that CONTAINS and ENDS WITH isn't supported efficiently.
      */
-    SLOW_CONTAINS;
+    SLOW_CONTAINS,
+
+    /**
+     * Highlights that a composite index can only be sought with exact predicates on all properties, i.e. not with
+     * exact predicates on a prefix of the properties followed by a range predicate.
+     */
+    EXACT_COMPOSITE_ONLY;
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.kernel.api;
+
+/**
+ * A scan or seek split up into a number of partitions, for consuming it with multiple cursors from different threads in parallel.
+ * Partitions are reserved on a first come first served basis, each one by exactly one cursor.
+ *
+ * @param <Cursor>
+ *         the type of cursor this object initializes.
+ */
+public interface PartitionedScan<Cursor extends org.neo4j.internal.kernel.api.Cursor>
+{
+    /**
+     * @return the number of partitions, which may be lower than the number of partitions asked for.
+     */
+    int getNumberOfPartitions();
+
+    /**
+     * Reserves the next partition which hasn't yet been reserved and initializes {@code cursor} to go through it.
+     *
+     * @param cursor the cursor to initialize.
+     * @return {@code true} if a partition was reserved, or {@code false} if all partitions have already been reserved.
+     */
+    boolean reservePartition( Cursor cursor );
+}
@@ -37,6 +37,14 @@ public interface PropertyCursor extends Cursor
 
     ValueGroup propertyType();
 
+    /**
+     * Size of the value of the current property, found without reading the value itself. Use this and
+     * {@link #propertyType()} to decide whether a value is worth loading before calling {@link #propertyValue()}.
+     *
+     * @return number of bytes the value occupies in the store, or {@code -1} if the value is only present in transaction state.
+     */
+    int propertyValueSize();
+
     Value propertyValue();
 
     <E extends Exception> void writeTo( ValueWriter<E> target );
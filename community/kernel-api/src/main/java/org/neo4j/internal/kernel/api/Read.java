@@ -24,6 +24,7 @@ package org.neo4j.internal.kernel.api;
 
 import org.neo4j.internal.kernel.api.exceptions.KernelException;
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException;
+import org.neo4j.values.storable.PointValue;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
 
@@ -35,6 +36,11 @@ public interface Read
     int ANY_LABEL = -1;
     int ANY_RELATIONSHIP_TYPE = -1;
 
+    /**
+     * Returned from {@link #nodeIndexCount(IndexReference, IndexQuery...)} when the index can't count the matching nodes without visiting them.
+     */
+    long UNKNOWN_COUNT = -1;
+
     /**
      * Seek all nodes matching the provided index query in an index.
      *  @param index {@link IndexReference} referencing index to query.
@@ -47,6 +53,48 @@ public interface Read
     void nodeIndexSeek( IndexReference index, NodeValueIndexCursor cursor, IndexOrder indexOrder, boolean needsValues, IndexQuery... query )
             throws KernelException;
 
+    /**
+     * Seek all nodes matching the provided index query in an index, with the results split up into partitions which can be
+     * consumed by different cursors from different threads in parallel. Results within each partition come in no particular order.
+     * <p>
+     * Partitioned seeks don't see changes made in the transaction, and so can only be made in transactions without changes.
+     *
+     * @param index {@link IndexReference} referencing index to query.
+     * @param desiredNumberOfPartitions the number of partitions that the caller would like to get, the actual number may be lower.
+     * @param needsValues if the index should fetch property values together with node ids for index queries
+     * @param query Combination of {@link IndexQuery index queries} to run against referenced index.
+     * @return {@link PartitionedScan} to reserve partitions from, using {@link NodeValueIndexCursor cursors} to consume the results.
+     * @throws IllegalStateException if the transaction has changes.
+     */
+    PartitionedScan<NodeValueIndexCursor> nodeIndexSeek( IndexReference index, int desiredNumberOfPartitions, boolean needsValues,
+            IndexQuery... query ) throws KernelException;
+
+    /**
+     * Count the nodes matching the provided index query in an index, without visiting them. Indexes which keep counts of
+     * their entries can do this in time logarithmic in the size of the index.
+     *
+     * @param index {@link IndexReference} referencing index to count in.
+     * @param query Combination of {@link IndexQuery index queries} to count matches of.
+     * @return the number of nodes that {@link #nodeIndexSeek(IndexReference, NodeValueIndexCursor, IndexOrder, boolean, IndexQuery...)}
+     * would find for the query, or {@link #UNKNOWN_COUNT} if the index can't count them without visiting them, or if the transaction
+     * has changes that the count would have to include. The caller will then have to count the results of a seek instead.
+     */
+    long nodeIndexCount( IndexReference index, IndexQuery... query ) throws KernelException;
+
+    /**
+     * Find the {@code k} nodes whose indexed points are nearest to the given point, nearest first. Only points in the same
+     * coordinate reference system as the given point are considered, so fewer than {@code k} nodes are found if the index has fewer
+     * such points. Changes made in the transaction are taken into account.
+     *
+     * @param index {@link IndexReference} referencing a point index on a single property.
+     * @param cursor the cursor to use for consuming the results.
+     * @param point the point to find the nearest neighbours of.
+     * @param k the maximum number of nodes to find, must be positive.
+     * @param needsValues if the indexed points should be given to the cursor together with the node ids.
+     */
+    void nodeIndexNearestNeighbours( IndexReference index, NodeValueIndexCursor cursor, PointValue point, int k, boolean needsValues )
+            throws KernelException;
+
     /**
      * Access all distinct counts in an index. Entries fed to the {@code cursor} will be (count,Value[]),
      * where the count (number of nodes having the particular value) will be accessed using {@link NodeValueIndexCursor#nodeReference()}
@@ -90,6 +138,19 @@ public interface Read
      */
     void nodeIndexScan( IndexReference index, NodeValueIndexCursor cursor, IndexOrder indexOrder, boolean needsValues ) throws KernelException;
 
+    /**
+     * Seek all relationships matching the provided index query in an index on relationship type and properties.
+     *
+     * @param index {@link IndexReference} referencing a relationship index to query.
+     * @param cursor the cursor to use for consuming the results.
+     * @param indexOrder requested {@link IndexOrder} of result. Must be among the capabilities of
+     * {@link IndexReference referenced index}, or {@link IndexOrder#NONE}.
+     * @param needsValues if the index should fetch property values together with relationship ids for index queries
+     * @param query Combination of {@link IndexQuery index queries} to run against referenced index.
+     */
+    void relationshipIndexSeek( IndexReference index, RelationshipValueIndexCursor cursor, IndexOrder indexOrder, boolean needsValues,
+            IndexQuery... query ) throws KernelException;
+
     void nodeLabelScan( int label, NodeLabelIndexCursor cursor );
 
     /**
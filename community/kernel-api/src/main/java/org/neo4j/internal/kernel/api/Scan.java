@@ -24,11 +24,21 @@ package org.neo4j.internal.kernel.api;
 
 /**
  * Initializer for spreading a scan operator over multiple cursors for use from different threads in parallel.
+ * The scan is handed out in disjoint batches on a first come first served basis, so that faster threads simply end up
+ * reserving more batches than slower ones.
  *
  * @param <Cursor>
  *         the type of cursor this object initializes.
  */
 public interface Scan<Cursor extends org.neo4j.internal.kernel.api.Cursor>
 {
-    void initialize( Cursor cursor );
+    /**
+     * Reserves the next batch of the scan which hasn't yet been reserved and initializes {@code cursor} to go through it.
+     * A cursor which has gone through its batch can be given to this method again, to continue with the next batch.
+     *
+     * @param cursor the cursor to initialize.
+     * @param sizeHint the desired number of entities in the batch. The actual batch may be somewhat bigger or smaller than this.
+     * @return {@code true} if a batch was reserved, or {@code false} if the whole scan has already been reserved.
+     */
+    boolean reserveBatch( Cursor cursor, int sizeHint );
 }
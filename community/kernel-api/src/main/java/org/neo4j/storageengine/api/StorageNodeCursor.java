@@ -27,6 +27,15 @@ package org.neo4j.storageengine.api;
  */
 public interface StorageNodeCursor extends StorageEntityScanCursor
 {
+    /**
+     * Initializes this cursor so that it will scan over the next batch of the given scan which hasn't yet been reserved by any other cursor.
+     *
+     * @param scan the scan shared between the cursors of a parallel scan.
+     * @param sizeHint the desired number of nodes in the batch.
+     * @return {@code true} if a batch was reserved, or {@code false} if the whole scan has already been reserved.
+     */
+    boolean scanBatch( AllNodeScan scan, int sizeHint );
+
     /**
      * @return label ids of the node this cursor currently is placed at.
      */
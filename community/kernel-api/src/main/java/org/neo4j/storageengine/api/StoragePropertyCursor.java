@@ -37,6 +37,15 @@ public interface StoragePropertyCursor extends StorageCursor
      */
     void init( long reference );
 
+    /**
+     * Initializes this cursor to that reading property data of the node {@code nodeReference}, starting at the given {@code reference}.
+     * Knowing which node the properties belong to lets the storage serve values from a cache.
+     *
+     * @param reference reference to start reading properties at.
+     * @param nodeReference reference of the node the properties belong to.
+     */
+    void initNodeProperties( long reference, long nodeReference );
+
     /**
      * @return property key of the property this cursor currently is placed at.
      */
@@ -47,6 +56,14 @@ public interface StoragePropertyCursor extends StorageCursor
      */
     ValueGroup propertyType();
 
+    /**
+     * Size of the value of the property this cursor currently is placed at, as occupied in the store. Implementations should
+     * answer this without reading or decoding the value itself, so that it is cheap compared to {@link #propertyValue()}.
+     *
+     * @return number of bytes the value of the current property occupies in the store.
+     */
+    int propertyValueSize();
+
     /**
      * @return value of the property this cursor currently is placed at.
      */
@@ -36,6 +36,7 @@ import org.neo4j.storageengine.api.schema.CapableIndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.LabelScanReader;
+import org.neo4j.storageengine.api.schema.RelationshipTypeScanReader;
 
 /**
  * Abstraction for accessing data from a {@link StorageEngine}.
@@ -71,6 +72,11 @@ public interface StorageReader extends AutoCloseable, StorageSchemaReader
      */
     LabelScanReader getLabelScanReader();
 
+    /**
+     * @return {@link RelationshipTypeScanReader} capable of reading relationships for specific relationship type ids.
+     */
+    RelationshipTypeScanReader getRelationshipTypeScanReader();
+
     /**
      * Returns an {@link IndexReader} for searching entity ids given property values. One reader is allocated
      * and kept per index throughout the life of a statement, making the returned reader repeatable-read isolation.
@@ -254,6 +260,16 @@ public interface StorageReader extends AutoCloseable, StorageSchemaReader
 
     <T> T getOrCreateSchemaDependantState( Class<T> type, Function<StorageReader, T> factory );
 
+    /**
+     * @return a new {@link AllNodeScan} for the cursors of a parallel scan over all nodes to reserve batches of.
+     */
+    AllNodeScan allNodeScan();
+
+    /**
+     * @return a new {@link AllRelationshipsScan} for the cursors of a parallel scan over all relationships to reserve batches of.
+     */
+    AllRelationshipsScan allRelationshipScan();
+
     /**
      * @return a new {@link StorageNodeCursor} capable of reading node data from the underlying storage.
      */
@@ -34,4 +34,13 @@ public interface StorageRelationshipScanCursor extends StorageRelationshipCursor
      * @param type relationship type to scan over, or -1 for all relationships regardless of type.
      */
     void scan( int type );
+
+    /**
+     * Initializes this cursor so that it will scan over the next batch of the given scan which hasn't yet been reserved by any other cursor.
+     *
+     * @param scan the scan shared between the cursors of a parallel scan.
+     * @param sizeHint the desired number of relationships in the batch.
+     * @return {@code true} if a batch was reserved, or {@code false} if the whole scan has already been reserved.
+     */
+    boolean scanBatch( AllRelationshipsScan scan, int sizeHint );
 }
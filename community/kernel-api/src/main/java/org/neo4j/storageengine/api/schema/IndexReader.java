@@ -37,6 +37,11 @@ import org.neo4j.values.storable.Value;
  */
 public interface IndexReader extends Resource
 {
+    /**
+     * Returned from {@link #countEntries(IndexQuery...)} by readers which can't count entries without visiting them.
+     */
+    long UNKNOWN_COUNT = -1;
+
     /**
      * @param nodeId node id to match.
      * @param propertyKeyIds the property key ids that correspond to each of the property values.
@@ -64,6 +69,37 @@ public interface IndexReader extends Resource
     void query( IndexProgressor.NodeValueClient client, IndexOrder indexOrder, boolean needsValues, IndexQuery... query )
             throws IndexNotApplicableKernelException;
 
+    /**
+     * Queries the index for the given {@link IndexQuery} predicates, splitting the results up in partitions which can be
+     * consumed from different threads in parallel. Results within each partition come in no particular order.
+     * <p>
+     * Readers which can't split up their results make a seek with a single partition, running {@link #query(IndexProgressor.NodeValueClient,
+     * IndexOrder, boolean, IndexQuery...)} for the client reserving it.
+     *
+     * @param desiredNumberOfPartitions the number of partitions that the caller would like to get.
+     * @param needsValues if the index should fetch property values together with node ids for index queries.
+     * @param query the query to serve.
+     * @return a {@link PartitionedValueSeek} handing out the partitions.
+     */
+    default PartitionedValueSeek partitionedQuery( int desiredNumberOfPartitions, boolean needsValues, IndexQuery... query )
+    {
+        return PartitionedValueSeek.singlePartition( this, needsValues, query );
+    }
+
+    /**
+     * Counts the entries matching the given predicates without visiting them one by one, which is possible for indexes
+     * keeping counts of entries in their internal structure. The count is exact as of the time of the call, but doesn't
+     * include changes made in the current transaction state.
+     *
+     * @param predicates the predicates to count entries for.
+     * @return number of entries matching the predicates, or {@link #UNKNOWN_COUNT} if this reader can't count them
+     * cheaply and the caller will have to count the results of {@link #query(IndexQuery...)} instead.
+     */
+    default long countEntries( IndexQuery... predicates )
+    {
+        return UNKNOWN_COUNT;
+    }
+
     /**
      * @param predicates query to determine whether or not index has full value precision for.
      * @return whether or not this reader will only return 100% matching results from {@link #query(IndexQuery...)}.
@@ -49,6 +49,16 @@ public interface LabelScanReader extends Resource
      */
     void nodesWithLabel( IndexProgressor.NodeLabelClient client, int labelId );
 
+    /**
+     * Creates a scan over the nodes with the given label, which threads can reserve batches of to go through in parallel.
+     * Unlike the other methods of this reader, the returned scan and the batches reserved from it are not tied to this reader
+     * and may be used from any thread.
+     *
+     * @param labelId label token id.
+     * @return a scan over the node ids with the given {@code labelId}.
+     */
+    TokenScan nodeLabelScan( int labelId );
+
     /**
      * @param labelIds label token ids.
      * @return node ids with any of the given label ids.
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.storageengine.api.schema;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotApplicableKernelException;
+
+/**
+ * An index seek split up into partitions, for consuming the results of a single query from multiple threads in parallel.
+ * Together the partitions contain all results of the query and every result is in exactly one partition.
+ * Partitions are handed out on a first come first served basis, so implementations must be thread-safe.
+ */
+public interface PartitionedValueSeek
+{
+    PartitionedValueSeek EMPTY = new PartitionedValueSeek()
+    {
+        @Override
+        public int getNumberOfPartitions()
+        {
+            return 0;
+        }
+
+        @Override
+        public boolean reserve( IndexProgressor.NodeValueClient client )
+        {
+            return false;
+        }
+    };
+
+    /**
+     * @return the number of partitions in this seek, which may be lower than the desired number of partitions.
+     */
+    int getNumberOfPartitions();
+
+    /**
+     * Reserves the next partition of this seek, which is not reserved by anyone else, and initializes {@code client} with it.
+     *
+     * @param client the client to progress through the results of the reserved partition.
+     * @return {@code true} if a partition was reserved and {@code client} initialized, or {@code false} if all partitions have
+     * already been reserved.
+     */
+    boolean reserve( IndexProgressor.NodeValueClient client );
+
+    /**
+     * @param reader {@link IndexReader} to query.
+     * @param needsValues if the index should fetch property values together with node ids.
+     * @param query the query to serve.
+     * @return a seek with a single partition, which runs the query using {@link IndexReader#query(IndexProgressor.NodeValueClient,
+     * IndexOrder, boolean, IndexQuery...)} for the client reserving it.
+     */
+    static PartitionedValueSeek singlePartition( IndexReader reader, boolean needsValues, IndexQuery... query )
+    {
+        AtomicBoolean reserved = new AtomicBoolean();
+        return new PartitionedValueSeek()
+        {
+            @Override
+            public int getNumberOfPartitions()
+            {
+                return 1;
+            }
+
+            @Override
+            public boolean reserve( IndexProgressor.NodeValueClient client )
+            {
+                if ( reserved.getAndSet( true ) )
+                {
+                    return false;
+                }
+                try
+                {
+                    reader.query( client, IndexOrder.NONE, needsValues, query );
+                    return true;
+                }
+                catch ( IndexNotApplicableKernelException e )
+                {
+                    throw new IllegalArgumentException( e.getMessage(), e );
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.storageengine.api.schema;
+
+import org.neo4j.collection.PrimitiveLongResourceIterator;
+import org.neo4j.graphdb.Resource;
+
+/**
+ * Reader of a relationship type scan store which contains type-->relationships mappings.
+ */
+public interface RelationshipTypeScanReader extends Resource
+{
+    /**
+     * @param typeId relationship type token id.
+     * @return relationship ids with the given {@code typeId}, in ascending order.
+     */
+    PrimitiveLongResourceIterator relationshipsWithType( int typeId );
+
+    /**
+     * Creates a scan over the relationships with the given type, which threads can reserve batches of to go through in parallel.
+     * The returned scan and the batches reserved from it are not tied to this reader and may be used from any thread.
+     *
+     * @param typeId relationship type token id.
+     * @return a scan over the relationship ids with the given {@code typeId}.
+     */
+    TokenScan relationshipTypeScan( int typeId );
+}
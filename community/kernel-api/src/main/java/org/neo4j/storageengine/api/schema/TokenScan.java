@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.storageengine.api.schema;
+
+import org.neo4j.collection.PrimitiveLongResourceIterator;
+
+/**
+ * A scan over the entities having one token, e.g. the nodes having a label, which can be shared between threads scanning in parallel.
+ * The scan is split up into contiguous ranges of entity ids, which are reserved in batches on a first come first served basis.
+ */
+public interface TokenScan
+{
+    /**
+     * Reserves the next batch of the scan which hasn't yet been reserved.
+     *
+     * @param sizeHint the desired number of entity ids the batch should span. The actual batch may span somewhat more ids than this.
+     * @return the ids of the entities in the reserved batch in ascending order, or {@code null} if the whole scan has already been reserved.
+     * The batch may be empty, which doesn't mean that the scan is done.
+     */
+    PrimitiveLongResourceIterator reserveBatch( int sizeHint );
+}
@@ -27,6 +27,9 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.neo4j.graphdb.GraphDatabaseService;
 import org.neo4j.graphdb.Node;
@@ -93,6 +96,76 @@ public abstract class LargeNodeCursorTestBase<G extends KernelAPIReadTestSupport
         assertEquals( NODE_IDS, ids );
     }
 
+    @Test
+    public void shouldScanNodesInBatches()
+    {
+        // given
+        List<Long> ids = new ArrayList<>();
+        Scan<NodeCursor> scan = read.allNodesScan();
+        try ( NodeCursor nodes = cursors.allocateNodeCursor() )
+        {
+            // when
+            while ( scan.reserveBatch( nodes, 100 ) )
+            {
+                while ( nodes.next() )
+                {
+                    ids.add( nodes.nodeReference() );
+                }
+            }
+        }
+
+        // then
+        assertEquals( NODE_IDS, ids );
+    }
+
+    @Test
+    public void shouldScanNodesInParallel() throws Exception
+    {
+        // given
+        int threads = 4;
+        Scan<NodeCursor> scan = read.allNodesScan();
+        List<NodeCursor> cursorsOfThreads = new ArrayList<>();
+        for ( int i = 0; i < threads; i++ )
+        {
+            cursorsOfThreads.add( cursors.allocateNodeCursor() );
+        }
+        ExecutorService executor = Executors.newFixedThreadPool( threads );
+        try
+        {
+            // when
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for ( NodeCursor nodes : cursorsOfThreads )
+            {
+                futures.add( executor.submit( () ->
+                {
+                    List<Long> ids = new ArrayList<>();
+                    while ( scan.reserveBatch( nodes, 32 ) )
+                    {
+                        while ( nodes.next() )
+                        {
+                            ids.add( nodes.nodeReference() );
+                        }
+                    }
+                    return ids;
+                } ) );
+            }
+            List<Long> ids = new ArrayList<>();
+            for ( Future<List<Long>> future : futures )
+            {
+                ids.addAll( future.get() );
+            }
+
+            // then
+            ids.sort( Long::compare );
+            assertEquals( NODE_IDS, ids );
+        }
+        finally
+        {
+            executor.shutdown();
+            cursorsOfThreads.forEach( NodeCursor::close );
+        }
+    }
+
     @Test
     public void shouldAccessNodesByReference()
     {
@@ -28,6 +28,8 @@ import org.junit.Test;
 
 import org.neo4j.internal.kernel.api.exceptions.KernelException;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.neo4j.internal.kernel.api.IndexReadAsserts.assertNodeCount;
 import static org.neo4j.internal.kernel.api.IndexReadAsserts.assertNodes;
 
@@ -135,6 +137,93 @@ public abstract class NodeLabelIndexCursorTestBase<G extends KernelAPIWriteTestS
         }
     }
 
+    @Test
+    public void shouldFindNodesByLabelInParallelBatches() throws Exception
+    {
+        // given
+        MutableLongSet expected = new LongHashSet();
+        try ( Transaction tx = beginTransaction() )
+        {
+            for ( int i = 0; i < 500; i++ )
+            {
+                long node = i % 3 == 0 ? createNode( tx.dataWrite(), labelOne ) : createNode( tx.dataWrite(), labelTwo );
+                if ( i % 3 == 0 )
+                {
+                    expected.add( node );
+                }
+            }
+            tx.success();
+        }
+
+        try ( Transaction tx = beginTransaction();
+              NodeLabelIndexCursor first = tx.cursors().allocateNodeLabelIndexCursor();
+              NodeLabelIndexCursor second = tx.cursors().allocateNodeLabelIndexCursor() )
+        {
+            // when
+            Scan<NodeLabelIndexCursor> scan = tx.dataRead().nodeLabelScan( labelOne );
+            MutableLongSet found = new LongHashSet();
+            boolean firstHasBatch = true;
+            boolean secondHasBatch = true;
+            while ( firstHasBatch || secondHasBatch )
+            {
+                firstHasBatch = firstHasBatch && scan.reserveBatch( first, 64 );
+                secondHasBatch = secondHasBatch && scan.reserveBatch( second, 64 );
+                addNodes( firstHasBatch ? first : null, found );
+                addNodes( secondHasBatch ? second : null, found );
+            }
+
+            // then
+            assertEquals( expected, found );
+        }
+    }
+
+    @Test
+    public void shouldFindNodesByLabelInTxInParallelScan() throws Exception
+    {
+        long inStore;
+        long deletedInTx;
+        long labelRemovedInTx;
+        long createdInTx;
+        long labelAddedInTx;
+
+        try ( Transaction tx = beginTransaction() )
+        {
+            inStore = createNode( tx.dataWrite(), labelOne );
+            deletedInTx = createNode( tx.dataWrite(), labelOne );
+            labelRemovedInTx = createNode( tx.dataWrite(), labelOne );
+            labelAddedInTx = createNode( tx.dataWrite(), labelTwo );
+            tx.success();
+        }
+
+        try ( Transaction tx = beginTransaction();
+              NodeLabelIndexCursor cursor = tx.cursors().allocateNodeLabelIndexCursor() )
+        {
+            tx.dataWrite().nodeDelete( deletedInTx );
+            tx.dataWrite().nodeRemoveLabel( labelRemovedInTx, labelOne );
+            tx.dataWrite().nodeAddLabel( labelAddedInTx, labelOne );
+            createdInTx = createNode( tx.dataWrite(), labelOne );
+
+            // when
+            Scan<NodeLabelIndexCursor> scan = tx.dataRead().nodeLabelScan( labelOne );
+            MutableLongSet found = new LongHashSet();
+            while ( scan.reserveBatch( cursor, 1 ) )
+            {
+                addNodes( cursor, found );
+            }
+
+            // then
+            assertEquals( LongHashSet.newSetWith( inStore, createdInTx, labelAddedInTx ), found );
+        }
+    }
+
+    private static void addNodes( NodeLabelIndexCursor cursor, MutableLongSet found )
+    {
+        while ( cursor != null && cursor.next() )
+        {
+            assertTrue( "should find each node only once", found.add( cursor.nodeReference() ) );
+        }
+    }
+
     private long createNode( Write write, int... labels ) throws KernelException
     {
         long nodeId = write.nodeCreate();
@@ -25,7 +25,9 @@ package org.neo4j.internal.kernel.api;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.neo4j.helpers.collection.Iterables;
 import org.neo4j.values.storable.ValueGroup;
@@ -531,6 +533,40 @@ public abstract class NodeTransactionStateTestBase<G extends KernelAPIWriteTestS
         }
     }
 
+    @Test
+    public void shouldSeeAddedAndNotDeletedNodesInParallelScan() throws Exception
+    {
+        // Given
+        long deleted;
+        long kept;
+        try ( Transaction tx = beginTransaction() )
+        {
+            deleted = tx.dataWrite().nodeCreate();
+            kept = tx.dataWrite().nodeCreate();
+            tx.success();
+        }
+
+        try ( Transaction tx = beginTransaction();
+              NodeCursor cursor = tx.cursors().allocateNodeCursor() )
+        {
+            // when
+            long added = tx.dataWrite().nodeCreate();
+            tx.dataWrite().nodeDelete( deleted );
+            Scan<NodeCursor> scan = tx.dataRead().allNodesScan();
+            List<Long> ids = new ArrayList<>();
+            while ( scan.reserveBatch( cursor, 1 ) )
+            {
+                while ( cursor.next() )
+                {
+                    ids.add( cursor.nodeReference() );
+                }
+            }
+
+            // then
+            assertThat( ids, containsInAnyOrder( kept, added ) );
+        }
+    }
+
     @Test
     public void shouldNotFindDeletedNodeInLabelScan() throws Exception
     {
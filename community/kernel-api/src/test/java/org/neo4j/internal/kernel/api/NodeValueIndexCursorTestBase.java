@@ -48,6 +48,7 @@ import org.neo4j.values.storable.Values;
 
 import static java.lang.Math.toIntExact;
 import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.hamcrest.CoreMatchers.anyOf;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
@@ -659,6 +660,44 @@ public abstract class NodeValueIndexCursorTestBase<G extends KernelAPIReadTestSu
         }
     }
 
+    @Test
+    public void shouldFindAllNodesOfIndexScanInPartitionedSeek() throws Exception
+    {
+        // given
+        int label = token.nodeLabel( "Node" );
+        int prop = token.propertyKey( "prop" );
+        IndexReference index = schemaRead.index( label, prop );
+        MutableLongSet expected = new LongHashSet();
+        try ( NodeValueIndexCursor node = cursors.allocateNodeValueIndexCursor() )
+        {
+            read.nodeIndexScan( index, node, IndexOrder.NONE, false );
+            while ( node.next() )
+            {
+                expected.add( node.nodeReference() );
+            }
+        }
+
+        // when
+        PartitionedScan<NodeValueIndexCursor> scan = read.nodeIndexSeek( index, 4, false, IndexQuery.exists( prop ) );
+        MutableLongSet found = new LongHashSet();
+        int partitions = 0;
+        try ( NodeValueIndexCursor node = cursors.allocateNodeValueIndexCursor() )
+        {
+            while ( scan.reservePartition( node ) )
+            {
+                partitions++;
+                while ( node.next() )
+                {
+                    assertTrue( "found node " + node.nodeReference() + " in more than one partition", found.add( node.nodeReference() ) );
+                }
+            }
+        }
+
+        // then
+        assertEquals( scan.getNumberOfPartitions(), partitions );
+        assertEquals( expected, found );
+    }
+
     @Test
     public void shouldRespectOrderCapabilitiesForNumbers() throws Exception
     {
@@ -840,6 +879,129 @@ public abstract class NodeValueIndexCursorTestBase<G extends KernelAPIReadTestSu
         }
     }
 
+    @Test
+    public void shouldFindNearestNeighboursNearestFirst() throws Exception
+    {
+        // given
+        int label = token.nodeLabel( "Node" );
+        int prop = token.propertyKey( "prop" );
+        IndexReference index = schemaRead.index( label, prop );
+        PointValue point = Values.pointValue( Cartesian, 1.0, 0.1 );
+
+        try ( NodeValueIndexCursor node = cursors.allocateNodeValueIndexCursor() )
+        {
+            // when
+            read.nodeIndexNearestNeighbours( index, node, point, 2, true );
+
+            // then
+            assertTrue( node.next() );
+            assertEquals( Values.pointValue( Cartesian, 1, 0 ), node.propertyValue( 0 ) );
+            assertTrue( node.next() );
+            assertEquals( Values.pointValue( Cartesian, 0, 0 ), node.propertyValue( 0 ) );
+            assertFalse( node.next() );
+        }
+    }
+
+    @Test
+    public void shouldFindAllPointsOfTheSameCrsWhenAskedForMoreNearestNeighboursThanThereAre() throws Exception
+    {
+        // given
+        int label = token.nodeLabel( "Node" );
+        int prop = token.propertyKey( "prop" );
+        IndexReference index = schemaRead.index( label, prop );
+        PointValue point = Values.pointValue( Cartesian, 0.1, 0.9 );
+
+        try ( NodeValueIndexCursor node = cursors.allocateNodeValueIndexCursor() )
+        {
+            // when
+            read.nodeIndexNearestNeighbours( index, node, point, 10, true );
+
+            // then
+            int count = 0;
+            double previousDistance = 0;
+            while ( node.next() )
+            {
+                PointValue found = (PointValue) node.propertyValue( 0 );
+                assertEquals( Cartesian, found.getCoordinateReferenceSystem() );
+                double distance = Cartesian.getCalculator().distance( point, found );
+                assertTrue( distance >= previousDistance );
+                previousDistance = distance;
+                count++;
+            }
+            assertEquals( 5, count );
+        }
+    }
+
+    @Test
+    public void shouldFindNearestNeighboursAddedAndNotRemovedInTransaction() throws Exception
+    {
+        // given
+        int label = token.nodeLabel( "Node" );
+        int prop = token.propertyKey( "prop" );
+        IndexReference index = schemaRead.index( label, prop );
+        PointValue point = Values.pointValue( Cartesian, 0.9, 0.1 );
+
+        try ( org.neo4j.internal.kernel.api.Transaction tx = beginTransaction();
+              NodeValueIndexCursor node = cursors.allocateNodeValueIndexCursor() )
+        {
+            long nearest = tx.dataWrite().nodeCreate();
+            tx.dataWrite().nodeAddLabel( nearest, label );
+            tx.dataWrite().nodeSetProperty( nearest, prop, Values.pointValue( Cartesian, 0.9, 0.2 ) );
+            long removed = tx.dataWrite().nodeCreate();
+            tx.dataWrite().nodeAddLabel( removed, label );
+            tx.dataWrite().nodeSetProperty( removed, prop, Values.pointValue( Cartesian, 0.9, 0.1 ) );
+            tx.dataWrite().nodeDelete( removed );
+
+            // when
+            tx.dataRead().nodeIndexNearestNeighbours( index, node, point, 2, false );
+
+            // then
+            assertTrue( node.next() );
+            assertEquals( nearest, node.nodeReference() );
+            assertTrue( node.next() );
+            assertFalse( node.next() );
+        }
+    }
+
+    @Test
+    public void shouldCountNodesFoundByRangeSeekOrNotCountThemAtAll() throws Exception
+    {
+        // given
+        int label = token.nodeLabel( "Node" );
+        int prop = token.propertyKey( "prop" );
+        IndexReference index = schemaRead.index( label, prop );
+
+        // when
+        long inclusive = read.nodeIndexCount( index, IndexQuery.range( prop, 5, true, 12, true ) );
+        long exclusive = read.nodeIndexCount( index, IndexQuery.range( prop, 5, false, 12, false ) );
+
+        // then
+        assertThat( inclusive, anyOf( equalTo( 4L ), equalTo( Read.UNKNOWN_COUNT ) ) );
+        assertThat( exclusive, anyOf( equalTo( 1L ), equalTo( Read.UNKNOWN_COUNT ) ) );
+    }
+
+    @Test
+    public void shouldNotCountNodesInIndexWhenTransactionHasChanges() throws Exception
+    {
+        // given
+        int label = token.nodeLabel( "Node" );
+        int prop = token.propertyKey( "prop" );
+        IndexReference index = schemaRead.index( label, prop );
+
+        try ( org.neo4j.internal.kernel.api.Transaction tx = beginTransaction() )
+        {
+            long node = tx.dataWrite().nodeCreate();
+            tx.dataWrite().nodeAddLabel( node, label );
+            tx.dataWrite().nodeSetProperty( node, prop, Values.intValue( 7 ) );
+
+            // when
+            long count = tx.dataRead().nodeIndexCount( index, IndexQuery.range( prop, 5, true, 12, true ) );
+
+            // then
+            assertEquals( Read.UNKNOWN_COUNT, count );
+        }
+    }
+
     private void assertFoundNodesInOrder( NodeValueIndexCursor node, IndexOrder indexOrder )
     {
         Value currentValue = null;
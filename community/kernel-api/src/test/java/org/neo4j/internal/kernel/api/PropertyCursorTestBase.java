@@ -39,6 +39,7 @@ import org.neo4j.values.storable.ValueGroup;
 import org.neo4j.values.storable.Values;
 
 import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -269,6 +270,41 @@ public abstract class PropertyCursorTestBase<G extends KernelAPIReadTestSupport>
         }
     }
 
+    @Test
+    public void shouldAccessPropertyTypeAndSizeWithoutValue()
+    {
+        assertTypeAndSizeBeforeValue( intProp, Values.of( 13 ), ValueGroup.NUMBER, 1 );
+        assertTypeAndSizeBeforeValue( trueProp, Values.of( true ), ValueGroup.BOOLEAN, 1 );
+        assertTypeAndSizeBeforeValue( shortStringProp, Values.of( "hello" ), ValueGroup.TEXT, 1 );
+        if ( supportsBigProperties() )
+        {
+            assertTypeAndSizeBeforeValue( longStringProp, Values.of( LONG_STRING ), ValueGroup.TEXT, LONG_STRING.length() );
+            assertTypeAndSizeBeforeValue( smallArray, Values.of( new int[]{1, 2, 3, 4} ), ValueGroup.NUMBER_ARRAY, 1 );
+            assertTypeAndSizeBeforeValue( bigArray, Values.of( new String[]{LONG_STRING} ), ValueGroup.TEXT_ARRAY, LONG_STRING.length() );
+        }
+        assertTypeAndSizeBeforeValue( pointProp, Values.of( pointValue ), ValueGroup.GEOMETRY, 1 );
+        assertTypeAndSizeBeforeValue( dateProp, Values.of( dateValue ), ValueGroup.DATE, 1 );
+    }
+
+    private void assertTypeAndSizeBeforeValue( long nodeId, Object expectedValue, ValueGroup expectedValueType, int minimumSize )
+    {
+        // given
+        try ( NodeCursor node = cursors.allocateNodeCursor(); PropertyCursor props = cursors.allocatePropertyCursor() )
+        {
+            // when
+            read.singleNode( nodeId, node );
+            assertTrue( "node by reference", node.next() );
+            node.properties( props );
+            assertTrue( "has properties by direct method", props.next() );
+
+            // then
+            assertEquals( "correct value type", expectedValueType, props.propertyType() );
+            assertThat( "value size", props.propertyValueSize(), greaterThanOrEqualTo( minimumSize ) );
+            assertEquals( "correct value", expectedValue, props.propertyValue() );
+            assertFalse( "single property", props.next() );
+        }
+    }
+
     private void assertAccessSingleProperty( long nodeId, Object expectedValue, ValueGroup expectedValueType )
     {
         // given
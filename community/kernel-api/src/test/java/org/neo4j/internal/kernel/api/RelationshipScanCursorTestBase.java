@@ -108,6 +108,78 @@ public abstract class RelationshipScanCursorTestBase<G extends KernelAPIReadTest
         assertEquals( RELATIONSHIP_IDS, ids );
     }
 
+    @Test
+    public void shouldScanRelationshipsInBatches()
+    {
+        // given
+        List<Long> ids = new ArrayList<>();
+        Scan<RelationshipScanCursor> scan = read.allRelationshipsScan();
+        try ( RelationshipScanCursor relationships = cursors.allocateRelationshipScanCursor() )
+        {
+            // when
+            while ( scan.reserveBatch( relationships, 1 ) )
+            {
+                while ( relationships.next() )
+                {
+                    ids.add( relationships.relationshipReference() );
+                }
+            }
+        }
+
+        // then
+        assertEquals( RELATIONSHIP_IDS, ids );
+    }
+
+    @Test
+    public void shouldScanRelationshipsOfType()
+    {
+        // given
+        int triangle = token.relationshipType( "TRIANGLE" );
+        List<Long> ids = new ArrayList<>();
+        try ( RelationshipScanCursor relationships = cursors.allocateRelationshipScanCursor() )
+        {
+            // when
+            read.relationshipTypeScan( triangle, relationships );
+            while ( relationships.next() )
+            {
+                assertEquals( triangle, relationships.type() );
+                ids.add( relationships.relationshipReference() );
+            }
+        }
+
+        // then
+        assertEquals( 6, ids.size() );
+        assertFalse( "should not see deleted relationship", ids.contains( none ) );
+        List<Long> sorted = new ArrayList<>( ids );
+        sorted.sort( Long::compare );
+        assertEquals( "should see relationships in id order", sorted, ids );
+    }
+
+    @Test
+    public void shouldScanRelationshipsOfTypeInBatches()
+    {
+        // given
+        int triangle = token.relationshipType( "TRIANGLE" );
+        List<Long> ids = new ArrayList<>();
+        Scan<RelationshipScanCursor> scan = read.relationshipTypeScan( triangle );
+        try ( RelationshipScanCursor relationships = cursors.allocateRelationshipScanCursor() )
+        {
+            // when
+            while ( scan.reserveBatch( relationships, 1 ) )
+            {
+                while ( relationships.next() )
+                {
+                    assertEquals( triangle, relationships.type() );
+                    ids.add( relationships.relationshipReference() );
+                }
+            }
+        }
+
+        // then
+        assertEquals( 6, ids.size() );
+        assertFalse( "should not see deleted relationship", ids.contains( none ) );
+    }
+
     @Test
     public void shouldAccessRelationshipByReference()
     {
@@ -157,6 +157,38 @@ public abstract class RelationshipTransactionStateTestBase<G extends KernelAPIWr
         }
     }
 
+    @Test
+    public void shouldScanRelationshipsOfTypeInTransaction() throws Exception
+    {
+        int type, otherType;
+        long n1, n2, r;
+        try ( Transaction tx = beginTransaction() )
+        {
+            n1 = tx.dataWrite().nodeCreate();
+            n2 = tx.dataWrite().nodeCreate();
+            type = tx.tokenWrite().relationshipTypeGetOrCreateForName( "R" );
+            otherType = tx.tokenWrite().relationshipTypeGetOrCreateForName( "S" );
+
+            relateNTimes( 5, type, n1, n2, tx );
+            r = tx.dataWrite().relationshipCreate( n1, type, n2 );
+            relateNTimes( 3, otherType, n1, n2, tx );
+            tx.success();
+        }
+
+        try ( Transaction tx = beginTransaction() )
+        {
+            tx.dataWrite().relationshipCreate( n1, type, n2 );
+            tx.dataWrite().relationshipCreate( n1, otherType, n2 );
+            assertTrue( "should delete relationship", tx.dataWrite().relationshipDelete( r ) );
+            try ( RelationshipScanCursor relationship = tx.cursors().allocateRelationshipScanCursor() )
+            {
+                tx.dataRead().relationshipTypeScan( type, relationship );
+                assertCountRelationships( relationship, 5 + 1 - 1, n1, type, n2 );
+            }
+            tx.success();
+        }
+    }
+
     @Test
     public void shouldNotScanRelationshipWhichWasDeletedInTransaction() throws Exception
     {
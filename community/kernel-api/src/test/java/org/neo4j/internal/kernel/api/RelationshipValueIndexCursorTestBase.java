@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.kernel.api;
+
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+import org.junit.Test;
+
+import java.util.Iterator;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.internal.kernel.api.schema.SchemaDescriptor;
+import org.neo4j.storageengine.api.EntityType;
+import org.neo4j.values.storable.Values;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.graphdb.RelationshipType.withName;
+
+public abstract class RelationshipValueIndexCursorTestBase<G extends KernelAPIReadTestSupport>
+        extends KernelAPIReadTestBase<G>
+{
+    private static long start, end;
+    private static long knows1, knows2a, knows2b, knows3, knowsNoSince;
+
+    @Override
+    public void createTestGraph( GraphDatabaseService graphDb )
+    {
+        try ( Transaction tx = graphDb.beginTx() )
+        {
+            createRelationshipIndex( graphDb, "KNOWS", "since" );
+            tx.success();
+        }
+        catch ( Exception e )
+        {
+            throw new AssertionError( e );
+        }
+        try ( Transaction tx = graphDb.beginTx() )
+        {
+            graphDb.schema().awaitIndexesOnline( 5, MINUTES );
+            tx.success();
+        }
+        try ( Transaction tx = graphDb.beginTx() )
+        {
+            Node a = graphDb.createNode();
+            Node b = graphDb.createNode();
+            start = a.getId();
+            end = b.getId();
+            knows1 = relationshipWithSince( a, b, "KNOWS", 1 );
+            knows2a = relationshipWithSince( a, b, "KNOWS", 2 );
+            knows2b = relationshipWithSince( b, a, "KNOWS", 2 );
+            knows3 = relationshipWithSince( a, b, "KNOWS", 3 );
+            knowsNoSince = a.createRelationshipTo( b, withName( "KNOWS" ) ).getId();
+            relationshipWithSince( a, b, "LIKES", 2 );
+            tx.success();
+        }
+    }
+
+    /**
+     * Creates an index on the given relationship type and properties, in the transaction bound to the calling thread.
+     */
+    protected abstract void createRelationshipIndex( GraphDatabaseService graphDb, String relationshipType, String... properties ) throws Exception;
+
+    @Test
+    public void shouldPerformExactLookup() throws Exception
+    {
+        // given
+        IndexReference index = knowsSinceIndex();
+        int prop = token.propertyKey( "since" );
+        try ( RelationshipValueIndexCursor cursor = cursors.allocateRelationshipValueIndexCursor() )
+        {
+            // when
+            read.relationshipIndexSeek( index, cursor, IndexOrder.NONE, false, IndexQuery.exact( prop, 0 ) );
+
+            // then
+            assertFoundRelationships( cursor );
+
+            // when
+            read.relationshipIndexSeek( index, cursor, IndexOrder.NONE, false, IndexQuery.exact( prop, 2 ) );
+
+            // then
+            assertFoundRelationships( cursor, knows2a, knows2b );
+        }
+    }
+
+    @Test
+    public void shouldPerformRangeSeekWithValues() throws Exception
+    {
+        // given
+        IndexReference index = knowsSinceIndex();
+        int prop = token.propertyKey( "since" );
+        try ( RelationshipValueIndexCursor cursor = cursors.allocateRelationshipValueIndexCursor() )
+        {
+            // when
+            read.relationshipIndexSeek( index, cursor, IndexOrder.NONE, true, IndexQuery.range( prop, 2, true, 3, true ) );
+
+            // then
+            MutableLongSet found = new LongHashSet();
+            while ( cursor.next() )
+            {
+                assertThat( cursor.numberOfProperties(), equalTo( 1 ) );
+                assertTrue( cursor.hasValue() );
+                long since = ((Number) cursor.propertyValue( 0 ).asObject()).longValue();
+                assertTrue( since == 2 || since == 3 );
+                found.add( cursor.relationshipReference() );
+            }
+            assertEquals( LongHashSet.newSetWith( knows2a, knows2b, knows3 ), found );
+        }
+    }
+
+    @Test
+    public void shouldProvideRelationshipTypeAndEndNodes() throws Exception
+    {
+        // given
+        IndexReference index = knowsSinceIndex();
+        int prop = token.propertyKey( "since" );
+        try ( RelationshipValueIndexCursor cursor = cursors.allocateRelationshipValueIndexCursor() )
+        {
+            // when
+            read.relationshipIndexSeek( index, cursor, IndexOrder.NONE, false, IndexQuery.exact( prop, 1 ) );
+
+            // then
+            assertTrue( cursor.next() );
+            assertEquals( knows1, cursor.relationshipReference() );
+            assertEquals( token.relationshipType( "KNOWS" ), cursor.type() );
+            assertEquals( start, cursor.sourceNodeReference() );
+            assertEquals( end, cursor.targetNodeReference() );
+            assertFalse( cursor.next() );
+        }
+    }
+
+    @Test
+    public void shouldSeeChangesInTransactionState() throws Exception
+    {
+        // given
+        IndexReference index = knowsSinceIndex();
+        int prop = token.propertyKey( "since" );
+        try ( org.neo4j.internal.kernel.api.Transaction tx = beginTransaction();
+              RelationshipValueIndexCursor cursor = cursors.allocateRelationshipValueIndexCursor() )
+        {
+            int knows = tx.token().relationshipType( "KNOWS" );
+            long created = tx.dataWrite().relationshipCreate( start, knows, end );
+
+            // when
+            tx.dataWrite().relationshipSetProperty( created, prop, Values.intValue( 2 ) );
+            tx.dataWrite().relationshipSetProperty( knowsNoSince, prop, Values.intValue( 2 ) );
+            tx.dataWrite().relationshipSetProperty( knows2a, prop, Values.intValue( 3 ) );
+            tx.dataWrite().relationshipRemoveProperty( knows1, prop );
+            tx.dataWrite().relationshipDelete( knows2b );
+
+            // then
+            tx.dataRead().relationshipIndexSeek( index, cursor, IndexOrder.NONE, false, IndexQuery.exact( prop, 2 ) );
+            assertFoundRelationships( cursor, created, knowsNoSince );
+            tx.dataRead().relationshipIndexSeek( index, cursor, IndexOrder.NONE, false, IndexQuery.exact( prop, 3 ) );
+            assertFoundRelationships( cursor, knows2a, knows3 );
+            tx.dataRead().relationshipIndexSeek( index, cursor, IndexOrder.NONE, false, IndexQuery.exists( prop ) );
+            assertFoundRelationships( cursor, created, knowsNoSince, knows2a, knows3 );
+        }
+    }
+
+    @Test
+    public void shouldNotFindRelationshipsCreatedAndDeletedInTransaction() throws Exception
+    {
+        // given
+        IndexReference index = knowsSinceIndex();
+        int prop = token.propertyKey( "since" );
+        try ( org.neo4j.internal.kernel.api.Transaction tx = beginTransaction();
+              RelationshipValueIndexCursor cursor = cursors.allocateRelationshipValueIndexCursor() )
+        {
+            long created = tx.dataWrite().relationshipCreate( start, tx.token().relationshipType( "KNOWS" ), end );
+            tx.dataWrite().relationshipSetProperty( created, prop, Values.intValue( 1 ) );
+
+            // when
+            tx.dataWrite().relationshipDelete( created );
+
+            // then
+            tx.dataRead().relationshipIndexSeek( index, cursor, IndexOrder.NONE, false, IndexQuery.exact( prop, 1 ) );
+            assertFoundRelationships( cursor, knows1 );
+        }
+    }
+
+    private IndexReference knowsSinceIndex()
+    {
+        int knows = token.relationshipType( "KNOWS" );
+        Iterator<IndexReference> indexes = schemaRead.indexesGetAll();
+        while ( indexes.hasNext() )
+        {
+            IndexReference index = indexes.next();
+            SchemaDescriptor schema = index.schema();
+            if ( schema.entityType() == EntityType.RELATIONSHIP && schema.getEntityTokenIds()[0] == knows )
+            {
+                return index;
+            }
+        }
+        throw new AssertionError( "No index on :KNOWS relationships" );
+    }
+
+    private static long relationshipWithSince( Node from, Node to, String type, int since )
+    {
+        Relationship relationship = from.createRelationshipTo( to, withName( type ) );
+        relationship.setProperty( "since", since );
+        return relationship.getId();
+    }
+
+    private static void assertFoundRelationships( RelationshipValueIndexCursor cursor, long... expected )
+    {
+        MutableLongSet found = new LongHashSet();
+        while ( cursor.next() )
+        {
+            assertNotEquals( -1L, cursor.relationshipReference() );
+            assertTrue( "Duplicate relationship " + cursor.relationshipReference(), found.add( cursor.relationshipReference() ) );
+        }
+        assertEquals( LongHashSet.newSetWith( expected ), found );
+    }
+}
@@ -73,6 +73,12 @@ public class StubPropertyCursor implements PropertyCursor
         return values[offset].valueGroup();
     }
 
+    @Override
+    public int propertyValueSize()
+    {
+        throw new UnsupportedOperationException( "not implemented" );
+    }
+
     @Override
     public Value propertyValue()
     {
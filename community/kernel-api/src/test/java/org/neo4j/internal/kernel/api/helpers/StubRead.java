@@ -28,13 +28,16 @@ import org.neo4j.internal.kernel.api.IndexReference;
 import org.neo4j.internal.kernel.api.NodeCursor;
 import org.neo4j.internal.kernel.api.NodeLabelIndexCursor;
 import org.neo4j.internal.kernel.api.NodeValueIndexCursor;
+import org.neo4j.internal.kernel.api.PartitionedScan;
 import org.neo4j.internal.kernel.api.PropertyCursor;
 import org.neo4j.internal.kernel.api.Read;
 import org.neo4j.internal.kernel.api.RelationshipGroupCursor;
 import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.internal.kernel.api.RelationshipTraversalCursor;
+import org.neo4j.internal.kernel.api.RelationshipValueIndexCursor;
 import org.neo4j.internal.kernel.api.Scan;
 import org.neo4j.internal.kernel.api.exceptions.KernelException;
+import org.neo4j.values.storable.PointValue;
 import org.neo4j.values.storable.Value;
 
 public class StubRead implements Read
@@ -45,6 +48,13 @@ public class StubRead implements Read
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public PartitionedScan<NodeValueIndexCursor> nodeIndexSeek( IndexReference index, int desiredNumberOfPartitions, boolean needsValues,
+            IndexQuery... query )
+    {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public void nodeIndexDistinctValues( IndexReference index, NodeValueIndexCursor cursor, boolean needsValues )
     {
@@ -58,12 +68,31 @@ public class StubRead implements Read
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public long nodeIndexCount( IndexReference index, IndexQuery... query )
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void nodeIndexNearestNeighbours( IndexReference index, NodeValueIndexCursor cursor, PointValue point, int k, boolean needsValues )
+    {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public void nodeIndexScan( IndexReference index, NodeValueIndexCursor cursor, IndexOrder indexOrder, boolean needsValues )
     {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void relationshipIndexSeek( IndexReference index, RelationshipValueIndexCursor cursor, IndexOrder indexOrder, boolean needsValues,
+            IndexQuery... query )
+    {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public void nodeLabelScan( int label, NodeLabelIndexCursor cursor )
     {
@@ -27,6 +27,8 @@ import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import org.neo4j.configuration.Description;
 import org.neo4j.configuration.Dynamic;
@@ -579,6 +581,15 @@ public class GraphDatabaseSettings implements LoadableConfig
                   "Removing the setting, or commenting it out, will set the default value of 300." )
     public static final Setting<Integer> check_point_iops_limit = setting( "dbms.checkpoint.iops.limit", INTEGER, "300" );
 
+    @Description( "Configures the time interval between passes of the background page flusher. In between " +
+                  "check-points, the background page flusher writes out the dirty pages that have not been written " +
+                  "to since its previous pass, so that check-points only have to flush the pages that are still " +
+                  "being written to. The flusher is subject to the same IO limit as check-points, as configured by " +
+                  "`dbms.checkpoint.iops.limit`. Set this to 0 to disable background flushing, in which case " +
+                  "check-points will flush all of the dirty pages." )
+    public static final Setting<Duration> check_point_background_flush_interval =
+            setting( "dbms.checkpoint.background_flush.interval", DURATION, "10s" );
+
     // Auto Indexing
     @Description( "Controls the auto indexing feature for nodes. Setting it to `false` shuts it down, " +
             "while `true` enables it by default for properties listed in the dbms.auto_index.nodes.keys setting." )
@@ -651,6 +662,7 @@ public class GraphDatabaseSettings implements LoadableConfig
     public enum SchemaIndex
     {
         NATIVE_BTREE10( "native-btree", "1.0", false ),
+        TRIGRAM10( "trigram", "1.0", false ),
         NATIVE20( "lucene+native", "2.0", true ),
         NATIVE10( "lucene+native", "1.0", true ),
         LUCENE10( "lucene", "1.0", true );
@@ -701,12 +713,25 @@ public class GraphDatabaseSettings implements LoadableConfig
             "lucene+native-1.0: Spatial, temporal and number value types are stored in native indexes and remaining value types in Lucene index. " +
             "lucene+native-2.0: Spatial, temporal, number and string value types are stored in native indexes and remaining value types in Lucene index. " +
             "native-btree-1.0: All value types and arrays of all value types, even composite keys, are stored in one native index. " +
+            "trigram-1.0: Like native-btree-1.0, but single-property indexes also keep trigram postings of their string values, " +
+            "which serve CONTAINS and ENDS WITH queries without scanning the whole index. " +
             "A native index has faster updates, less heap and CPU usage compared to a Lucene index. " +
             "A native index has these limitations: " +
             "Index key (be it single or composite) size limit of 4039 bytes - transaction resulting in index key surpassing that will fail. " +
-            "Reduced performance of CONTAINS and ENDS WITH string index queries, compared to a Lucene index." )
+            "Reduced performance of CONTAINS and ENDS WITH string index queries, compared to a Lucene index, unless using trigram-1.0." )
     public static final Setting<String> default_schema_provider = setting( "dbms.index.default_schema_provider", STRING, NATIVE_BTREE10.providerName() );
 
+    @Description( "Make newly created native-btree-1.0 and trigram-1.0 indexes keep counts of the entries below each of their internal nodes. " +
+            "Such indexes count the nodes in a range, for count() over an index seek and for range selectivity estimates in the planner, " +
+            "without visiting them. The counts are updated on every index update, and concurrent updates of such an index are serialized. " +
+            "Existing indexes keep counting or not counting entries as they were created." )
+    public static final Setting<Boolean> index_subtree_counts_enabled = setting( "dbms.index.native.subtree_counts_enabled", BOOLEAN, FALSE );
+
+    @Description( "Let transactions committed at the same time apply their index updates in parallel, each from the committing thread. " +
+            "Native indexes then change different leaves of their trees concurrently. When disabled, the index updates of all " +
+            "transactions committed at the same time are applied by one of them." )
+    public static final Setting<Boolean> index_parallel_updates_enabled = setting( "dbms.index.parallel_updates_enabled", BOOLEAN, TRUE );
+
     @Description( "Location where Neo4j keeps the logical transaction logs." )
     public static final Setting<File> logical_logs_location =
             pathSetting( "dbms.directories.tx_log", "", database_path );
@@ -773,11 +798,60 @@ public class GraphDatabaseSettings implements LoadableConfig
     public static final Setting<String> pagecache_memory =
             buildSetting( "dbms.memory.pagecache.size", STRING, null ).build();
 
-    @Description( "Specify which page swapper to use for doing paged IO. " +
-                  "This is only used when integrating with proprietary storage technology." )
+    @Description( "Specify which page swapper to use for doing paged IO. By default, pages are read and written " +
+                  "through file channels. Set this to `mapped` to serve page faults from memory mapped store " +
+                  "files instead, which avoids a system call per page fault, and is best suited to read-mostly " +
+                  "databases. Other page swappers are only used when integrating with proprietary storage technology." )
     public static final Setting<String> pagecache_swapper =
             setting( "dbms.memory.pagecache.swapper", STRING, null );
 
+    @Description( "The part of the page cache to reserve for the node store files, either as a percentage of the page " +
+                  "cache, e.g. `10%`, or as an amount of memory, e.g. `2g`. The pages of the node store files are " +
+                  "not evicted while they occupy less than the reserved amount, unless the page cache runs out of " +
+                  "other pages to evict. By default, no pages are reserved." )
+    public static final Setting<String> pagecache_reserved_node_store =
+            buildSetting( "dbms.memory.pagecache.reserved.node_store", STRING, NO_DEFAULT )
+                    .constraint( pageCacheReservation() ).build();
+
+    @Description( "The part of the page cache to reserve for the relationship and relationship group store files. " +
+                  "See `dbms.memory.pagecache.reserved.node_store` for the format." )
+    public static final Setting<String> pagecache_reserved_relationship_store =
+            buildSetting( "dbms.memory.pagecache.reserved.relationship_store", STRING, NO_DEFAULT )
+                    .constraint( pageCacheReservation() ).build();
+
+    @Description( "The part of the page cache to reserve for the property store files, including the string and " +
+                  "array stores. See `dbms.memory.pagecache.reserved.node_store` for the format." )
+    public static final Setting<String> pagecache_reserved_property_store =
+            buildSetting( "dbms.memory.pagecache.reserved.property_store", STRING, NO_DEFAULT )
+                    .constraint( pageCacheReservation() ).build();
+
+    @Description( "The part of the page cache to reserve for the native schema indexes, shared by all of them. " +
+                  "See `dbms.memory.pagecache.reserved.node_store` for the format." )
+    public static final Setting<String> pagecache_reserved_index =
+            buildSetting( "dbms.memory.pagecache.reserved.index", STRING, NO_DEFAULT )
+                    .constraint( pageCacheReservation() ).build();
+
+    @Description( "The part of the page cache to reserve for the label scan store. " +
+                  "See `dbms.memory.pagecache.reserved.node_store` for the format." )
+    public static final Setting<String> pagecache_reserved_label_scan_store =
+            buildSetting( "dbms.memory.pagecache.reserved.label_scan_store", STRING, NO_DEFAULT )
+                    .constraint( pageCacheReservation() ).build();
+
+    @Internal
+    @Description( "The amount of memory to use for a second tier of the page cache, that keeps LZ4 compressed copies of " +
+                  "evicted pages. Page faults decompress pages from this memory when they can, instead of reading them " +
+                  "from the store files. This is most useful for stores that compress well, like the property and " +
+                  "string stores, when the page cache cannot fit the store. This memory is in addition to " +
+                  "`dbms.memory.pagecache.size`. By default, no memory is used and evicted pages are dropped." )
+    public static final Setting<Long> pagecache_compressed_memory =
+            buildSetting( "unsupported.dbms.memory.pagecache.compressed.size", BYTES, "0" ).constraint( min( 0L ) ).build();
+
+    private static BiFunction<String,Function<String,String>,String> pageCacheReservation()
+    {
+        return illegalValueMessage( "must be a percentage of the page cache, like `10%`, or an amount of memory, " +
+                                    "like `512m`", matches( "^((100(\\.0+)?|\\d{1,2}(\\.\\d+)?)%|\\d+[KkMmGg]?)$" ) );
+    }
+
     @Internal
     @Description( "The profiling frequency for the page cache. Accurate profiles allow the page cache to do active " +
                   "warmup after a restart, reducing the mean time to performance. " +
@@ -792,6 +866,14 @@ public class GraphDatabaseSettings implements LoadableConfig
             "This feature available in ONgDB Enterprise Edition." )
     public static final Setting<Boolean> pagecache_warmup_enabled = setting( "unsupported.dbms.memory.pagecache.warmup.enable", BOOLEAN, TRUE );
 
+    @Internal
+    @Description( "Page cache warmup loads the pages of its profiles hottest first. This is the fraction of the profiled pages that must " +
+            "have been loaded, before the database is made available. The rest of the pages keep loading in the background. " +
+            "The default of 0.0 makes the database available right away, and does all of the warmup in the background. " +
+            "This feature available in ONgDB Enterprise Edition." )
+    public static final Setting<Double> pagecache_warmup_hot_fraction =
+            buildSetting( "unsupported.dbms.memory.pagecache.warmup.hot_fraction", DOUBLE, "0.0" ).constraint( range( 0.0, 1.0 ) ).build();
+
     @Description( "Allows the enabling or disabling of the file watcher service." +
             " This is an auxiliary service but should be left enabled in almost all cases." )
     public static final Setting<Boolean> filewatcher_enabled = setting( "dbms.filewatcher.enabled", BOOLEAN, TRUE );
@@ -1130,6 +1212,14 @@ public class GraphDatabaseSettings implements LoadableConfig
             .constraint( min( 16 ) )
             .build();
 
+    @Description( "The maximum amount of off-heap memory that can be used to cache decoded node property values that are kept in " +
+            "dynamic records, i.e. long strings and arrays. Cached values are invalidated when transactions changing them are applied. " +
+            "Zero means that the cache is disabled." )
+    public static final Setting<Long> node_property_cache_max_off_heap_memory = buildSetting(
+            "dbms.node_property_cache.max_off_heap_memory", BYTES, "0" )
+            .constraint( min( 0L ) )
+            .build();
+
     // Needed to validate config, accessed via reflection
     @SuppressWarnings( "unused" )
     public static final HttpConnectorValidator httpValidator = new HttpConnectorValidator();
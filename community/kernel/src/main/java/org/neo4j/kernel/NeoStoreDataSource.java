@@ -40,6 +40,7 @@ import org.neo4j.internal.kernel.api.Kernel;
 import org.neo4j.internal.kernel.api.TokenNameLookup;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.pagecache.BackgroundPageFlusher;
 import org.neo4j.io.pagecache.IOLimiter;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
@@ -567,6 +568,15 @@ public class NeoStoreDataSource extends LifecycleAdapter
         life.add( checkPointer );
         life.add( checkPointScheduler );
 
+        long backgroundFlushPeriod = config.get( GraphDatabaseSettings.check_point_background_flush_interval ).toMillis();
+        if ( backgroundFlushPeriod > 0 )
+        {
+            BackgroundPageFlusher backgroundPageFlusher =
+                    new BackgroundPageFlusher( pageCache, ioLimiter, scheduler, backgroundFlushPeriod );
+            life.add( backgroundPageFlusher );
+            dataSourceDependencies.satisfyDependency( backgroundPageFlusher );
+        }
+
         return new NeoStoreTransactionLogModule( logicalTransactionStore, logFiles,
                 logRotation, checkPointer, appender, explicitIndexTransactionOrdering );
     }
@@ -131,6 +131,18 @@ public interface LabelScanStore extends Lifecycle, ConsistencyCheckable
      */
     LabelScanWriter newWriter();
 
+    /**
+     * Acquire a writer for building an empty store, which is cheaper than using {@link #newWriter()} for many updates.
+     * Updates given to the returned writer may only add labels to nodes and they are first visible when
+     * the writer is {@link LabelScanWriter#close() closed}.
+     *
+     * @return {@link LabelScanWriter} which can build the {@link LabelScanStore}.
+     */
+    default LabelScanWriter newBulkAppendWriter()
+    {
+        return newWriter();
+    }
+
     /**
      * Forces all changes to disk. Called at certain points from within Neo4j for example when
      * rotating the logical log. After completion of this call there cannot be any essential state that
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.labelscan;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.kernel.impl.index.schema.ConsistencyCheckable;
+import org.neo4j.kernel.impl.store.UnderlyingStorageException;
+import org.neo4j.kernel.lifecycle.Lifecycle;
+import org.neo4j.storageengine.api.schema.RelationshipTypeScanReader;
+
+/**
+ * Stores relationship type-->relationships mappings, the relationship counterpart of {@link LabelScanStore}.
+ * Updates are given as {@link NodeLabelUpdate}s where {@link NodeLabelUpdate#getNodeId()} is the relationship id
+ * and the label ids are the relationship type id, i.e. creating a relationship adds its type and deleting it removes it.
+ */
+public interface RelationshipTypeScanStore extends Lifecycle, ConsistencyCheckable
+{
+    /**
+     * From the point a {@link RelationshipTypeScanReader} is created till it's {@link RelationshipTypeScanReader#close() closed}
+     * the contents it returns cannot change, i.e. it honors repeatable reads.
+     *
+     * @return a {@link RelationshipTypeScanReader} capable of retrieving relationships for relationship types.
+     */
+    RelationshipTypeScanReader newReader();
+
+    /**
+     * Acquire a writer for updating the store.
+     *
+     * @return {@link LabelScanWriter} which can modify the {@link RelationshipTypeScanStore}.
+     */
+    LabelScanWriter newWriter();
+
+    /**
+     * Acquire a writer for building an empty store, which is cheaper than using {@link #newWriter()} for many updates.
+     * Updates given to the returned writer may only add types to relationships, must come in relationship id order
+     * and are first visible when the writer is {@link LabelScanWriter#close() closed}.
+     *
+     * @return {@link LabelScanWriter} which can build the {@link RelationshipTypeScanStore}.
+     */
+    default LabelScanWriter newBulkAppendWriter()
+    {
+        return newWriter();
+    }
+
+    /**
+     * Forces all changes to disk. After completion of this call there cannot be any essential state that
+     * hasn't been forced to disk.
+     *
+     * @throws UnderlyingStorageException if there was a problem forcing the state to persistent storage.
+     */
+    void force( IOLimiter limiter ) throws UnderlyingStorageException;
+
+    ResourceIterator<File> snapshotStoreFiles();
+
+    /**
+     * @return {@code true} if there's no data at all in this relationship type scan store, otherwise {@code false}.
+     * @throws IOException on I/O error.
+     */
+    boolean isEmpty() throws IOException;
+
+    /**
+     * Initializes the store. After this has been called recovery updates can be processed.
+     */
+    @Override
+    void init() throws IOException;
+
+    /**
+     * Starts the store, rebuilding it from the relationship store if needed. After this has been called updates can be processed.
+     */
+    @Override
+    void start() throws IOException;
+
+    @Override
+    void stop();
+
+    /**
+     * Shuts down the store and all resources acquired by it.
+     */
+    @Override
+    void shutdown() throws IOException;
+
+    /**
+     * Drops any persistent storage backing this store.
+     *
+     * @throws IOException on I/O error.
+     */
+    void drop() throws IOException;
+
+    /**
+     * @return whether or not this index is read-only.
+     */
+    boolean isReadOnly();
+
+    /**
+     * @return whether or not there's an existing store present for this relationship type scan store.
+     */
+    boolean hasStore();
+
+    /**
+     * @return the file where the relationship type scan store is persisted.
+     */
+    File getRelationshipTypeScanStoreFile();
+}
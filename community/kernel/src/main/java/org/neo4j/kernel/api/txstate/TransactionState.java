@@ -94,6 +94,6 @@ public interface TransactionState extends ReadableTransactionState
 
     boolean constraintDoUnRemove( ConstraintDescriptor constraint );
 
-    void indexDoUpdateEntry( SchemaDescriptor descriptor, long nodeId, ValueTuple before, ValueTuple after );
+    void indexDoUpdateEntry( SchemaDescriptor descriptor, long entityId, ValueTuple before, ValueTuple after );
 
 }
@@ -94,8 +94,25 @@ public class IndexProcedures implements AutoCloseable
 
     public Stream<BuiltInProcedures.SchemaIndexInfo> createIndex( String indexSpecification, String providerName ) throws ProcedureException
     {
-        return createIndex( indexSpecification, providerName, "index created",
-                ( schemaWrite, descriptor, provider ) -> schemaWrite.indexCreate( descriptor, provider, Optional.empty() ) );
+        assertProviderNameNotNull( providerName );
+        IndexSpecifier index = IndexSpecifier.byPattern( indexSpecification );
+        if ( index.relationshipType() == null )
+        {
+            return createIndex( indexSpecification, providerName, "index created",
+                    ( schemaWrite, descriptor, provider ) -> schemaWrite.indexCreate( descriptor, provider, Optional.empty() ) );
+        }
+
+        int relationshipTypeId = getOrCreateRelationshipTypeId( index.relationshipType() );
+        int[] propertyKeyIds = getOrCreatePropertyIds( index.properties() );
+        try
+        {
+            ktx.schemaWrite().indexCreate( SchemaDescriptorFactory.forRelType( relationshipTypeId, propertyKeyIds ), providerName, Optional.empty() );
+            return Stream.of( new BuiltInProcedures.SchemaIndexInfo( indexSpecification, providerName, "index created" ) );
+        }
+        catch ( InvalidTransactionTypeKernelException | SchemaKernelException e )
+        {
+            throw new ProcedureException( e.status(), e, e.getMessage() );
+        }
     }
 
     public Stream<BuiltInProcedures.SchemaIndexInfo> createUniquePropertyConstraint( String indexSpecification, String providerName ) throws ProcedureException
@@ -113,6 +130,11 @@ public class IndexProcedures implements AutoCloseable
     {
         assertProviderNameNotNull( providerName );
         IndexSpecifier index = IndexSpecifier.byPattern( indexSpecification );
+        if ( index.label() == null )
+        {
+            throw new ProcedureException( Status.Procedure.ProcedureCallFailed,
+                    "Only node label patterns are supported for constraints, but got '%s'", indexSpecification );
+        }
         int labelId = getOrCreateLabelId( index.label() );
         int[] propertyKeyIds = getOrCreatePropertyIds( index.properties() );
         try
@@ -151,6 +173,16 @@ public class IndexProcedures implements AutoCloseable
         return labelId;
     }
 
+    private int getRelationshipTypeId( String relationshipTypeName ) throws ProcedureException
+    {
+        int relationshipTypeId = ktx.tokenRead().relationshipType( relationshipTypeName );
+        if ( relationshipTypeId == TokenRead.NO_TOKEN )
+        {
+            throw new ProcedureException( Status.Schema.RelationshipTypeAccessFailed, "No such relationship type %s", relationshipTypeName );
+        }
+        return relationshipTypeId;
+    }
+
     private int[] getPropertyIds( String[] propertyKeyNames ) throws ProcedureException
     {
         int[] propertyKeyIds = new int[propertyKeyNames.length];
@@ -179,6 +211,18 @@ public class IndexProcedures implements AutoCloseable
         }
     }
 
+    private int getOrCreateRelationshipTypeId( String relationshipTypeName ) throws ProcedureException
+    {
+        try
+        {
+            return ktx.tokenWrite().relationshipTypeGetOrCreateForName( relationshipTypeName );
+        }
+        catch ( IllegalTokenNameException e )
+        {
+            throw new ProcedureException( e.status(), e, e.getMessage() );
+        }
+    }
+
     private int[] getOrCreatePropertyIds( String[] propertyKeyNames ) throws ProcedureException
     {
         int[] propertyKeyIds = new int[propertyKeyNames.length];
@@ -209,6 +253,19 @@ public class IndexProcedures implements AutoCloseable
             }
             return indexReference;
         }
+        else if ( specifier.relationshipType() != null )
+        {
+            // Find index by relationship type and properties.
+            int relationshipTypeId = getRelationshipTypeId( specifier.relationshipType() );
+            int[] propertyKeyIds = getPropertyIds( specifier.properties() );
+            IndexReference indexReference = ktx.schemaRead().index( SchemaDescriptorFactory.forRelType( relationshipTypeId, propertyKeyIds ) );
+
+            if ( indexReference == IndexReference.NO_INDEX )
+            {
+                throw new ProcedureException( Status.Schema.IndexNotFound, "No such index %s", specifier );
+            }
+            return indexReference;
+        }
         else
         {
             // Find index by label and properties.
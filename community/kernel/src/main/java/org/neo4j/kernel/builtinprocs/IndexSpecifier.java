@@ -33,6 +33,8 @@ public class IndexSpecifier
     private static final String GROUP_QUOTED_INDEX_NAME = "QINAME";
     private static final String GROUP_LABEL = "LABEL";
     private static final String GROUP_QUOTED_LABEL = "QLABEL";
+    private static final String GROUP_RELATIONSHIP_TYPE = "RELTYPE";
+    private static final String GROUP_QUOTED_RELATIONSHIP_TYPE = "QRELTYPE";
     private static final String GROUP_PROPERTY = "PROPERTY";
     private static final String GROUP_QUOTED_PROPERTY = "QPROPERTY";
 
@@ -43,12 +45,15 @@ public class IndexSpecifier
 
     private static final String INDEX_NAME = or( identifier( GROUP_INDEX_NAME ), quotedIdentifier( GROUP_QUOTED_INDEX_NAME ) );
     private static final String LABEL = ":" + WHITESPACE + or( identifier( GROUP_LABEL ), quotedIdentifier( GROUP_QUOTED_LABEL ) );
-    private static final String INDEX_OR_LABEL = or( INDEX_NAME, LABEL );
+    private static final String RELATIONSHIP_TYPE = "-" + WHITESPACE + "\\[" + WHITESPACE + ":" + WHITESPACE +
+            or( identifier( GROUP_RELATIONSHIP_TYPE ), quotedIdentifier( GROUP_QUOTED_RELATIONSHIP_TYPE ) );
+    private static final String INDEX_OR_LABEL = or( INDEX_NAME, or( LABEL, RELATIONSHIP_TYPE ) );
     private static final String PROPERTY_CLAUSE_BEGIN = "\\(";
     private static final String PROPERTY = or( identifier( GROUP_PROPERTY ), quotedIdentifier( GROUP_QUOTED_PROPERTY ) );
     private static final String FIRST_PROPERTY = PROPERTY;
     private static final String FOLLOWING_PROPERTY = "," + WHITESPACE + PROPERTY;
     private static final String PROPERTY_CLAUSE_END = "\\)";
+    private static final String RELATIONSHIP_CLAUSE_END = PROPERTY_CLAUSE_END + WHITESPACE + "\\]" + WHITESPACE + "-";
 
     private static final Pattern PATTERN_START_INDEX_NAME_OR_LABEL = Pattern.compile( INITIATOR + INDEX_OR_LABEL ); // Initiating pattern.
     private static final Pattern PATTERN_INDEX_NAME_END = Pattern.compile( CONTINUE + TERMINATOR ); // Terminating pattern.
@@ -56,9 +61,11 @@ public class IndexSpecifier
     private static final Pattern PATTERN_FIRST_PROPERTY = Pattern.compile( CONTINUE + FIRST_PROPERTY );
     private static final Pattern PATTERN_FOLLOWING_PROPERTY = Pattern.compile( CONTINUE + FOLLOWING_PROPERTY );
     private static final Pattern PATTERN_PROPERTY_CLAUSE_END = Pattern.compile( CONTINUE + PROPERTY_CLAUSE_END + TERMINATOR ); // Terminating pattern.
+    private static final Pattern PATTERN_RELATIONSHIP_CLAUSE_END = Pattern.compile( CONTINUE + RELATIONSHIP_CLAUSE_END + TERMINATOR ); // Terminating pattern.
 
     private final String specification;
     private final String label;
+    private final String relationshipType;
     private final String[] properties;
     private final String name;
 
@@ -108,21 +115,24 @@ public class IndexSpecifier
         }
 
         String label = either( matcher.group( GROUP_LABEL ), matcher.group( GROUP_QUOTED_LABEL ) );
-        if ( label == null )
+        String relationshipType = either( matcher.group( GROUP_RELATIONSHIP_TYPE ), matcher.group( GROUP_QUOTED_RELATIONSHIP_TYPE ) );
+        if ( label == null && relationshipType == null )
         {
             throw new IllegalArgumentException( "Cannot parse index specification: '" + specification + "'" );
         }
+        String token = label != null ? "label" : "relationship type";
 
         matcher.usePattern( PATTERN_PROPERTY_CLAUSE_BEGIN );
         if ( !matcher.find() )
         {
-            throw new IllegalArgumentException( "Expected to find a property clause following the label: '" + specification + "'" );
+            throw new IllegalArgumentException( "Expected to find a property clause following the " + token + ": '" + specification + "'" );
         }
 
         matcher.usePattern( PATTERN_FIRST_PROPERTY );
         if ( !matcher.find() )
         {
-            throw new IllegalArgumentException( "Expected to find a property in the property clause following the label: '" + specification + "'" );
+            throw new IllegalArgumentException(
+                    "Expected to find a property in the property clause following the " + token + ": '" + specification + "'" );
         }
 
         List<String> properties = new ArrayList<>();
@@ -131,7 +141,8 @@ public class IndexSpecifier
             String property = either( matcher.group( GROUP_PROPERTY ), matcher.group( GROUP_QUOTED_PROPERTY ) );
             if ( property == null )
             {
-                throw new IllegalArgumentException( "Expected to find a property in the property clause following the label: '" + specification + "'" );
+                throw new IllegalArgumentException(
+                    "Expected to find a property in the property clause following the " + token + ": '" + specification + "'" );
             }
             properties.add( property );
             if ( matcher.pattern() != PATTERN_FOLLOWING_PROPERTY )
@@ -141,13 +152,13 @@ public class IndexSpecifier
         }
         while ( matcher.find() );
 
-        matcher.usePattern( PATTERN_PROPERTY_CLAUSE_END );
+        matcher.usePattern( label != null ? PATTERN_PROPERTY_CLAUSE_END : PATTERN_RELATIONSHIP_CLAUSE_END );
         if ( !matcher.find() )
         {
             throw new IllegalArgumentException( "The property clause is not terminated: '" + specification + "'" );
         }
 
-        return new IndexSpecifier( specification, label, properties.toArray( new String[0] ) );
+        return new IndexSpecifier( specification, label, relationshipType, properties.toArray( new String[0] ) );
     }
 
     private static String either( String first, String second )
@@ -194,14 +205,16 @@ public class IndexSpecifier
     {
         this.specification = specification;
         this.label = null;
+        this.relationshipType = null;
         this.properties = null;
         this.name = indexName;
     }
 
-    private IndexSpecifier( String specification, String label, String[] properties )
+    private IndexSpecifier( String specification, String label, String relationshipType, String[] properties )
     {
         this.specification = specification;
         this.label = label;
+        this.relationshipType = relationshipType;
         this.properties = properties;
         this.name = null;
     }
@@ -211,6 +224,11 @@ public class IndexSpecifier
         return label;
     }
 
+    public String relationshipType()
+    {
+        return relationshipType;
+    }
+
     public String[] properties()
     {
         return properties;
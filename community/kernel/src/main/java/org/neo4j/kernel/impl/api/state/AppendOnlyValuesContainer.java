@@ -41,7 +41,6 @@ import org.neo4j.io.ByteUnit;
 import org.neo4j.kernel.impl.util.collection.Memory;
 import org.neo4j.kernel.impl.util.collection.MemoryAllocator;
 import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
-import org.neo4j.util.VisibleForTesting;
 import org.neo4j.values.storable.ArrayValue;
 import org.neo4j.values.storable.BooleanArray;
 import org.neo4j.values.storable.BooleanValue;
@@ -135,8 +134,7 @@ public class AppendOnlyValuesContainer implements ValuesContainer
         this( CHUNK_SIZE, allocator );
     }
 
-    @VisibleForTesting
-    AppendOnlyValuesContainer( int chunkSize, MemoryAllocator allocator )
+    public AppendOnlyValuesContainer( int chunkSize, MemoryAllocator allocator )
     {
         this.chunkSize = chunkSize;
         this.allocator = allocator;
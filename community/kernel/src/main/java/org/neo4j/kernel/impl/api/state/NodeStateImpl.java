@@ -27,10 +27,7 @@ import org.eclipse.collections.api.iterator.LongIterator;
 import org.eclipse.collections.impl.factory.primitive.IntSets;
 import org.eclipse.collections.impl.iterator.ImmutableEmptyLongIterator;
 
-import java.util.Collections;
-import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.Set;
 
 import org.neo4j.kernel.impl.api.state.RelationshipChangesForNode.DiffStrategy;
 import org.neo4j.kernel.impl.util.collection.CollectionsFactory;
@@ -125,7 +122,6 @@ class NodeStateImpl extends PropertyContainerStateImpl implements NodeState
     private RelationshipChangesForNode relationshipsAdded;
     private RelationshipChangesForNode relationshipsRemoved;
 
-    private Set<MutableLongDiffSets> indexDiffs;
 
     NodeStateImpl( long id, CollectionsFactory collectionsFactory )
     {
@@ -190,10 +186,6 @@ class NodeStateImpl extends PropertyContainerStateImpl implements NodeState
         {
             labelDiffSets = null;
         }
-        if ( indexDiffs != null )
-        {
-            indexDiffs.clear();
-        }
     }
 
     @Override
@@ -220,41 +212,6 @@ class NodeStateImpl extends PropertyContainerStateImpl implements NodeState
         return relationshipsRemoved != null;
     }
 
-    void addIndexDiff( MutableLongDiffSets diff )
-    {
-        if ( indexDiffs == null )
-        {
-            indexDiffs = Collections.newSetFromMap( new IdentityHashMap<>() );
-        }
-        indexDiffs.add( diff );
-    }
-
-    void removeIndexDiff( MutableLongDiffSets diff )
-    {
-        if ( indexDiffs != null )
-        {
-            indexDiffs.remove( diff );
-        }
-    }
-
-    void clearIndexDiffs( long nodeId )
-    {
-        if ( indexDiffs != null )
-        {
-            for ( MutableLongDiffSets diff : indexDiffs )
-            {
-                if ( diff.getAdded().contains( nodeId ) )
-                {
-                    diff.remove( nodeId );
-                }
-                else if ( diff.getRemoved().contains( nodeId ) )
-                {
-                    diff.add( nodeId );
-                }
-            }
-        }
-    }
-
     @Override
     public LongIterator getAddedRelationships()
     {
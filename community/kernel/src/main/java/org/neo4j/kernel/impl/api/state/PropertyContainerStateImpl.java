@@ -28,11 +28,15 @@ import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
 import org.eclipse.collections.api.set.primitive.MutableLongSet;
 import org.eclipse.collections.impl.factory.primitive.IntSets;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.Set;
 
 import org.neo4j.helpers.collection.Iterators;
 import org.neo4j.kernel.api.properties.PropertyKeyValue;
 import org.neo4j.kernel.impl.util.collection.CollectionsFactory;
+import org.neo4j.kernel.impl.util.diffsets.MutableLongDiffSets;
 import org.neo4j.storageengine.api.StorageProperty;
 import org.neo4j.storageengine.api.txstate.PropertyContainerState;
 import org.neo4j.values.storable.Value;
@@ -48,6 +52,7 @@ class PropertyContainerStateImpl implements PropertyContainerState
     private MutableLongObjectMap<Value> addedProperties;
     private MutableLongObjectMap<Value> changedProperties;
     private MutableLongSet removedProperties;
+    private Set<MutableLongDiffSets> indexDiffs;
 
     protected final CollectionsFactory collectionsFactory;
 
@@ -76,6 +81,45 @@ class PropertyContainerStateImpl implements PropertyContainerState
         {
             removedProperties.clear();
         }
+        if ( indexDiffs != null )
+        {
+            indexDiffs.clear();
+        }
+    }
+
+    void addIndexDiff( MutableLongDiffSets diff )
+    {
+        if ( indexDiffs == null )
+        {
+            indexDiffs = Collections.newSetFromMap( new IdentityHashMap<>() );
+        }
+        indexDiffs.add( diff );
+    }
+
+    void removeIndexDiff( MutableLongDiffSets diff )
+    {
+        if ( indexDiffs != null )
+        {
+            indexDiffs.remove( diff );
+        }
+    }
+
+    void clearIndexDiffs( long entityId )
+    {
+        if ( indexDiffs != null )
+        {
+            for ( MutableLongDiffSets diff : indexDiffs )
+            {
+                if ( diff.getAdded().contains( entityId ) )
+                {
+                    diff.remove( entityId );
+                }
+                else if ( diff.getRemoved().contains( entityId ) )
+                {
+                    diff.add( entityId );
+                }
+            }
+        }
     }
 
     void changeProperty( int propertyKeyId, Value value )
@@ -51,6 +51,7 @@ import org.neo4j.kernel.impl.util.diffsets.MutableDiffSets;
 import org.neo4j.kernel.impl.util.diffsets.MutableDiffSetsImpl;
 import org.neo4j.kernel.impl.util.diffsets.MutableLongDiffSets;
 import org.neo4j.kernel.impl.util.diffsets.MutableLongDiffSetsImpl;
+import org.neo4j.storageengine.api.EntityType;
 import org.neo4j.storageengine.api.RelationshipDirection;
 import org.neo4j.storageengine.api.RelationshipVisitor;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
@@ -337,6 +338,7 @@ public class TxState implements TransactionState, RelationshipVisitor.Home
             RelationshipStateImpl removed = relationshipStatesMap.remove( id );
             if ( removed != null )
             {
+                removed.clearIndexDiffs( id );
                 removed.clear();
             }
         }
@@ -765,37 +767,39 @@ public class TxState implements TransactionState, RelationshipVisitor.Home
     }
 
     @Override
-    public void indexDoUpdateEntry( SchemaDescriptor descriptor, long nodeId,
+    public void indexDoUpdateEntry( SchemaDescriptor descriptor, long entityId,
             ValueTuple propertiesBefore, ValueTuple propertiesAfter )
     {
-        NodeStateImpl nodeState = getOrCreateNodeState( nodeId );
+        PropertyContainerStateImpl entityState = descriptor.entityType() == EntityType.RELATIONSHIP
+                                                 ? getOrCreateRelationshipState( entityId )
+                                                 : getOrCreateNodeState( entityId );
         Map<ValueTuple, MutableLongDiffSets> updates = getOrCreateIndexUpdatesByDescriptor( descriptor );
         if ( propertiesBefore != null )
         {
             MutableLongDiffSets before = getOrCreateIndexUpdatesForSeek( updates, propertiesBefore );
             //noinspection ConstantConditions
-            before.remove( nodeId );
-            if ( before.getRemoved().contains( nodeId ) )
+            before.remove( entityId );
+            if ( before.getRemoved().contains( entityId ) )
             {
-                nodeState.addIndexDiff( before );
+                entityState.addIndexDiff( before );
             }
             else
             {
-                nodeState.removeIndexDiff( before );
+                entityState.removeIndexDiff( before );
             }
         }
         if ( propertiesAfter != null )
         {
             MutableLongDiffSets after = getOrCreateIndexUpdatesForSeek( updates, propertiesAfter );
             //noinspection ConstantConditions
-            after.add( nodeId );
-            if ( after.getAdded().contains( nodeId ) )
+            after.add( entityId );
+            if ( after.getAdded().contains( entityId ) )
             {
-                nodeState.addIndexDiff( after );
+                entityState.addIndexDiff( after );
             }
             else
             {
-                nodeState.removeIndexDiff( after );
+                entityState.removeIndexDiff( after );
             }
         }
     }
@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.cache;
+
+import org.eclipse.collections.api.map.primitive.MutableIntLongMap;
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntLongHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.neo4j.helpers.MathUtil;
+import org.neo4j.io.ByteUnit;
+import org.neo4j.kernel.impl.api.state.AppendOnlyValuesContainer;
+import org.neo4j.kernel.impl.util.collection.CachingOffHeapBlockAllocator;
+import org.neo4j.kernel.impl.util.collection.OffHeapBlockAllocator;
+import org.neo4j.kernel.impl.util.collection.OffHeapMemoryAllocator;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.values.storable.Value;
+
+/**
+ * Bounded cache of decoded node property values, keyed by node id and property key. The values themselves are kept
+ * off-heap, the index of which values are cached for which node is kept on-heap.
+ * <p>
+ * The cache is split into segments, by node id, each guarded by its own lock. Every segment holds two generations of
+ * values. New values go into the young generation and when that has used up its share of the memory budget, the old
+ * generation is dropped as a whole and the young generation becomes the old one. Values that are read from the old
+ * generation are moved back into the young one, so frequently read values stay cached while values not read since the
+ * last generation change are evicted.
+ * <p>
+ * Readers must call {@link #stamp(long)} before reading a value from the store and hand the stamp to
+ * {@link #put(long, int, Value, long, long)}. A value read from the store is only cached if no value of that segment
+ * was invalidated in between, which prevents a reader racing with a committing transaction from caching a value that
+ * the transaction has just replaced.
+ */
+public class NodePropertyValueCache implements AutoCloseable
+{
+    public static final NodePropertyValueCache DISABLED = new NodePropertyValueCache( 0 );
+
+    private static final int SEGMENTS = 16;
+    private static final long MIN_CHUNK_SIZE = ByteUnit.kibiBytes( 4 );
+    private static final long MAX_CHUNK_SIZE = ByteUnit.kibiBytes( 512 );
+
+    private final Segment[] segments;
+    private final OffHeapBlockAllocator blockAllocator;
+    private final long maxValueSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxMemory approximate maximum number of bytes of off-heap memory to use for cached values,
+     * {@code 0} disables the cache.
+     */
+    public NodePropertyValueCache( long maxMemory )
+    {
+        if ( maxMemory <= 0 )
+        {
+            this.segments = null;
+            this.blockAllocator = null;
+            this.maxValueSize = 0;
+            return;
+        }
+        long generationBudget = Math.max( maxMemory / SEGMENTS / 2, MIN_CHUNK_SIZE );
+        int chunkSize = (int) Long.highestOneBit( Math.min( Math.max( generationBudget / 4, MIN_CHUNK_SIZE ), MAX_CHUNK_SIZE ) );
+        this.blockAllocator = new CachingOffHeapBlockAllocator();
+        this.maxValueSize = generationBudget / 4;
+        this.segments = new Segment[SEGMENTS];
+        for ( int i = 0; i < SEGMENTS; i++ )
+        {
+            segments[i] = new Segment( blockAllocator, chunkSize, generationBudget );
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return segments != null;
+    }
+
+    /**
+     * @return the current invalidation stamp of the segment {@code nodeId} belongs to, to pass to
+     * {@link #put(long, int, Value, long, long)} for values read from the store after this call.
+     */
+    public long stamp( long nodeId )
+    {
+        return segments == null ? 0 : segment( nodeId ).invalidations;
+    }
+
+    /**
+     * @return the cached value, or {@code null} if the value of this property is not cached.
+     */
+    public Value get( long nodeId, int propertyKey )
+    {
+        if ( segments == null )
+        {
+            return null;
+        }
+        Value value = segment( nodeId ).get( nodeId, propertyKey );
+        if ( value == null )
+        {
+            misses.increment();
+        }
+        else
+        {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Caches a value read from the store, unless a value in the same segment has been invalidated since {@code stamp}
+     * was acquired or the value is too big to be worth caching.
+     *
+     * @param storedSize number of bytes the value occupies in the store.
+     * @param stamp stamp acquired by {@link #stamp(long)} before the value was read.
+     */
+    public void put( long nodeId, int propertyKey, Value value, long storedSize, long stamp )
+    {
+        if ( segments != null && storedSize <= maxValueSize )
+        {
+            segment( nodeId ).put( nodeId, propertyKey, value, stamp );
+        }
+    }
+
+    /**
+     * Removes the cached value of this property, if any. Must be called after the new value has been written to the store.
+     */
+    public void invalidate( long nodeId, int propertyKey )
+    {
+        if ( segments != null )
+        {
+            segment( nodeId ).invalidate( nodeId, propertyKey );
+        }
+    }
+
+    public long hits()
+    {
+        return hits.sum();
+    }
+
+    public long misses()
+    {
+        return misses.sum();
+    }
+
+    public double hitRatio()
+    {
+        return MathUtil.portion( hits(), misses() );
+    }
+
+    /**
+     * @return number of values dropped from the cache to make room for newer ones.
+     */
+    public long evictions()
+    {
+        return evictions.sum();
+    }
+
+    /**
+     * @return number of bytes of off-heap memory currently held by cached values.
+     */
+    public long usedMemory()
+    {
+        long usedMemory = 0;
+        if ( segments != null )
+        {
+            for ( Segment segment : segments )
+            {
+                usedMemory += segment.usedMemory();
+            }
+        }
+        return usedMemory;
+    }
+
+    @Override
+    public void close()
+    {
+        if ( segments != null )
+        {
+            for ( Segment segment : segments )
+            {
+                segment.close();
+            }
+            blockAllocator.release();
+        }
+    }
+
+    private Segment segment( long nodeId )
+    {
+        return segments[(int) ((nodeId ^ (nodeId >>> 32)) & (SEGMENTS - 1))];
+    }
+
+    private final class Segment
+    {
+        private final OffHeapBlockAllocator blockAllocator;
+        private final int chunkSize;
+        private final long generationBudget;
+        private Generation young;
+        private Generation old;
+        private boolean closed;
+        private volatile long invalidations;
+
+        Segment( OffHeapBlockAllocator blockAllocator, int chunkSize, long generationBudget )
+        {
+            this.blockAllocator = blockAllocator;
+            this.chunkSize = chunkSize;
+            this.generationBudget = generationBudget;
+        }
+
+        synchronized Value get( long nodeId, int propertyKey )
+        {
+            if ( young == null )
+            {
+                return null;
+            }
+            Value value = young.get( nodeId, propertyKey );
+            if ( value == null && old != null )
+            {
+                value = old.get( nodeId, propertyKey );
+                if ( value != null )
+                {
+                    old.remove( nodeId, propertyKey );
+                    add( nodeId, propertyKey, value );
+                }
+            }
+            return value;
+        }
+
+        synchronized void put( long nodeId, int propertyKey, Value value, long stamp )
+        {
+            if ( closed || stamp != invalidations )
+            {
+                return;
+            }
+            if ( young == null )
+            {
+                young = new Generation( blockAllocator, chunkSize );
+            }
+            add( nodeId, propertyKey, value );
+        }
+
+        synchronized void invalidate( long nodeId, int propertyKey )
+        {
+            invalidations++;
+            if ( young != null )
+            {
+                young.remove( nodeId, propertyKey );
+            }
+            if ( old != null )
+            {
+                old.remove( nodeId, propertyKey );
+            }
+        }
+
+        synchronized long usedMemory()
+        {
+            return (young == null ? 0 : young.usedMemory()) + (old == null ? 0 : old.usedMemory());
+        }
+
+        synchronized void close()
+        {
+            closed = true;
+            if ( young != null )
+            {
+                young.close();
+                young = null;
+            }
+            if ( old != null )
+            {
+                old.close();
+                old = null;
+            }
+        }
+
+        private void add( long nodeId, int propertyKey, Value value )
+        {
+            young.put( nodeId, propertyKey, value );
+            if ( young.usedMemory() >= generationBudget )
+            {
+                if ( old != null )
+                {
+                    evictions.add( old.size() );
+                    old.close();
+                }
+                old = young;
+                young = new Generation( blockAllocator, chunkSize );
+            }
+        }
+    }
+
+    private static final class Generation
+    {
+        private final LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+        private final AppendOnlyValuesContainer values;
+        private final MutableLongObjectMap<MutableIntLongMap> references = new LongObjectHashMap<>();
+        private int size;
+
+        Generation( OffHeapBlockAllocator blockAllocator, int chunkSize )
+        {
+            this.values = new AppendOnlyValuesContainer( chunkSize, new OffHeapMemoryAllocator( memoryTracker, blockAllocator ) );
+        }
+
+        Value get( long nodeId, int propertyKey )
+        {
+            MutableIntLongMap nodeReferences = references.get( nodeId );
+            if ( nodeReferences == null || !nodeReferences.containsKey( propertyKey ) )
+            {
+                return null;
+            }
+            return values.get( nodeReferences.get( propertyKey ) );
+        }
+
+        void put( long nodeId, int propertyKey, Value value )
+        {
+            MutableIntLongMap nodeReferences = references.getIfAbsentPut( nodeId, IntLongHashMap::new );
+            if ( !nodeReferences.containsKey( propertyKey ) )
+            {
+                size++;
+            }
+            nodeReferences.put( propertyKey, values.add( value ) );
+        }
+
+        void remove( long nodeId, int propertyKey )
+        {
+            // The value bytes stay in the container until the whole generation is dropped
+            MutableIntLongMap nodeReferences = references.get( nodeId );
+            if ( nodeReferences != null && nodeReferences.containsKey( propertyKey ) )
+            {
+                nodeReferences.remove( propertyKey );
+                if ( nodeReferences.isEmpty() )
+                {
+                    references.remove( nodeId );
+                }
+                size--;
+            }
+        }
+
+        int size()
+        {
+            return size;
+        }
+
+        long usedMemory()
+        {
+            return memoryTracker.usedDirectMemory();
+        }
+
+        void close()
+        {
+            values.close();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.labelscan;
+
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.api.tuple.primitive.IntObjectPair;
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.neo4j.index.internal.gbptree.BulkLoader;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.kernel.api.labelscan.LabelScanWriter;
+import org.neo4j.kernel.api.labelscan.NodeLabelUpdate;
+import org.neo4j.kernel.impl.index.schema.BlockEntryReader;
+import org.neo4j.kernel.impl.index.schema.BlockReader;
+import org.neo4j.kernel.impl.index.schema.BlockStorage;
+import org.neo4j.kernel.impl.index.schema.ByteBufferFactory;
+
+import static java.lang.Math.toIntExact;
+import static org.neo4j.io.ByteUnit.mebiBytes;
+import static org.neo4j.kernel.impl.index.labelscan.LabelScanValue.RANGE_SIZE;
+
+/**
+ * {@link LabelScanWriter} which builds an empty {@link NativeLabelScanStore} from scratch, used when rebuilding the store
+ * and when importing. It only accepts additions of labels.
+ * <p>
+ * Updates arrive in node id order, but the tree is ordered by label id first, so all updates for one node id range are
+ * collected into one {@link LabelScanValue} per label, which is then sorted into its place using a {@link BlockStorage}.
+ * On {@link #close()} the sorted entries are {@link GBPTree#bulkLoader(double) bulk loaded} into the tree,
+ * which is much cheaper than merging the entries into the tree one by one.
+ */
+class NativeLabelScanBulkWriter implements LabelScanWriter
+{
+    private static final int BLOCK_SIZE = toIntExact( mebiBytes( 1 ) );
+    private static final int MERGE_FACTOR = 8;
+    private static final double FILL_FACTOR = 1.0;
+
+    private final GBPTree<LabelScanKey,LabelScanValue> index;
+    private final LabelScanLayout layout = new LabelScanLayout();
+    private final ByteBufferFactory bufferFactory = ByteBufferFactory.heapBufferFactory( BLOCK_SIZE );
+    private final BlockStorage<LabelScanKey,LabelScanValue> blockStorage;
+
+    /**
+     * Labels, and their bits, of updates in the node id range {@link #currentRange}, which have not yet been added to {@link #blockStorage}.
+     */
+    private final MutableIntObjectMap<LabelScanValue> pendingRange = new IntObjectHashMap<>();
+    private long currentRange = -1;
+
+    NativeLabelScanBulkWriter( GBPTree<LabelScanKey,LabelScanValue> index, FileSystemAbstraction fs, File blockFile ) throws IOException
+    {
+        this.index = index;
+        this.blockStorage = new BlockStorage<>( layout, bufferFactory, fs, blockFile, BlockStorage.Monitor.NO_MONITOR );
+    }
+
+    @Override
+    public void write( NodeLabelUpdate update ) throws IOException
+    {
+        if ( update.getLabelsBefore().length > 0 )
+        {
+            throw new IllegalArgumentException( "Bulk writer can only add labels, but got " + update );
+        }
+
+        long range = update.getNodeId() / RANGE_SIZE;
+        if ( range != currentRange )
+        {
+            flushPendingRange();
+            currentRange = range;
+        }
+        int offset = toIntExact( update.getNodeId() % RANGE_SIZE );
+        long[] labels = update.getLabelsAfter();
+        for ( int i = 0; i < labels.length; i++ )
+        {
+            if ( i > 0 && labels[i] < labels[i - 1] )
+            {
+                throw new IllegalArgumentException( "The node label update contained unsorted label ids " + Arrays.toString( labels ) );
+            }
+            pendingRange.getIfAbsentPut( toIntExact( labels[i] ), LabelScanValue::new ).set( offset );
+        }
+    }
+
+    private void flushPendingRange() throws IOException
+    {
+        for ( IntObjectPair<LabelScanValue> labelBits : pendingRange.keyValuesView() )
+        {
+            // Block storage keeps the instances, so each entry needs its own key and value
+            blockStorage.add( new LabelScanKey( labelBits.getOne(), currentRange ), labelBits.getTwo() );
+        }
+        pendingRange.clear();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            flushPendingRange();
+            blockStorage.doneAdding();
+            blockStorage.merge( MERGE_FACTOR, BlockStorage.NOT_CANCELLABLE );
+            try ( BlockReader<LabelScanKey,LabelScanValue> reader = blockStorage.reader();
+                  BulkLoader<LabelScanKey,LabelScanValue> bulkLoader = index.bulkLoader( FILL_FACTOR ) )
+            {
+                BlockEntryReader<LabelScanKey,LabelScanValue> entries = reader.nextBlock( ByteBuffer.allocate( BLOCK_SIZE ) );
+                if ( entries != null )
+                {
+                    try ( BlockEntryReader<LabelScanKey,LabelScanValue> sortedEntries = entries )
+                    {
+                        bulkLoad( sortedEntries, bulkLoader );
+                    }
+                }
+            }
+        }
+        finally
+        {
+            blockStorage.close();
+            bufferFactory.close();
+        }
+    }
+
+    private void bulkLoad( BlockEntryReader<LabelScanKey,LabelScanValue> sortedEntries, BulkLoader<LabelScanKey,LabelScanValue> bulkLoader )
+            throws IOException
+    {
+        // Updates for the same node id range may have been split up if they didn't come in node id order, so combine them here
+        LabelScanKey key = new LabelScanKey();
+        LabelScanValue value = new LabelScanValue();
+        boolean hasEntry = false;
+        while ( sortedEntries.next() )
+        {
+            if ( hasEntry && layout.compare( key, sortedEntries.key() ) == 0 )
+            {
+                value.add( sortedEntries.value() );
+                continue;
+            }
+            if ( hasEntry )
+            {
+                bulkLoader.add( key, value );
+            }
+            layout.copyKey( sortedEntries.key(), key );
+            value.clear();
+            value.add( sortedEntries.value() );
+            hasEntry = true;
+        }
+        if ( hasEntry )
+        {
+            bulkLoader.add( key, value );
+        }
+    }
+}
@@ -38,6 +38,7 @@ import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Hit;
 import org.neo4j.storageengine.api.schema.IndexProgressor;
 import org.neo4j.storageengine.api.schema.LabelScanReader;
+import org.neo4j.storageengine.api.schema.TokenScan;
 
 import static org.neo4j.kernel.impl.index.labelscan.NativeLabelScanWriter.rangeOf;
 
@@ -132,6 +133,19 @@ class NativeLabelScanReader implements LabelScanReader
         client.scan( new LabelScanValueIndexProgressor( cursor, openCursors, client ), false, labelId );
     }
 
+    @Override
+    public TokenScan nodeLabelScan( int labelId )
+    {
+        try
+        {
+            return new NativeTokenScan( index, labelId );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
     private List<PrimitiveLongResourceIterator> iteratorsForLabels( long fromId, int[] labelIds )
     {
         List<PrimitiveLongResourceIterator> iterators = new ArrayList<>();
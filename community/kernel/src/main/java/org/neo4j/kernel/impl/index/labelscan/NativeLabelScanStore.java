@@ -28,6 +28,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.NoSuchFileException;
+import java.nio.file.OpenOption;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
 
@@ -133,6 +134,11 @@ public class NativeLabelScanStore implements LabelScanStore
      */
     private final int pageSize;
 
+    /**
+     * Additional options for mapping the store file, like its page cache reservation. Passed to {@link GBPTree}.
+     */
+    private final OpenOption[] openOptions;
+
     /**
      * Used for all file operations on the gbpTree file.
      */
@@ -182,10 +188,10 @@ public class NativeLabelScanStore implements LabelScanStore
     private static final Consumer<PageCursor> writeClean = pageCursor -> pageCursor.putByte( CLEAN );
 
     public NativeLabelScanStore( PageCache pageCache, DatabaseLayout directoryStructure, FileSystemAbstraction fs, FullStoreChangeStream fullStoreChangeStream,
-            boolean readOnly, Monitors monitors, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector )
+            boolean readOnly, Monitors monitors, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, OpenOption... openOptions )
     {
         this( pageCache, directoryStructure, fs, fullStoreChangeStream, readOnly, monitors, recoveryCleanupWorkCollector,
-                /*means no opinion about page size*/ 0 );
+                /*means no opinion about page size*/ 0, openOptions );
     }
 
     /*
@@ -193,19 +199,33 @@ public class NativeLabelScanStore implements LabelScanStore
      */
     NativeLabelScanStore( PageCache pageCache, DatabaseLayout directoryStructure, FileSystemAbstraction fs,
                 FullStoreChangeStream fullStoreChangeStream, boolean readOnly, Monitors monitors,
-                RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, int pageSize )
+                RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, int pageSize, OpenOption... openOptions )
+    {
+        this( pageCache, directoryStructure, getLabelScanStoreFile( directoryStructure ), fs, fullStoreChangeStream, readOnly, monitors,
+                recoveryCleanupWorkCollector, pageSize, openOptions );
+    }
+
+    /*
+     * Allows the same tree structure to back other token scan stores, e.g. {@link NativeRelationshipTypeScanStore},
+     * where the "label" part of each key is some other token and the "node" part is some other kind of entity.
+     * Also used for the trigram postings of schema indexes, where the "label" part of each key is a trigram.
+     */
+    public NativeLabelScanStore( PageCache pageCache, DatabaseLayout directoryStructure, File storeFile, FileSystemAbstraction fs,
+            FullStoreChangeStream fullStoreChangeStream, boolean readOnly, Monitors monitors,
+            RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, int pageSize, OpenOption... openOptions )
     {
         this.pageCache = pageCache;
         this.fs = fs;
         this.pageSize = pageSize;
         this.fullStoreChangeStream = fullStoreChangeStream;
         this.directoryStructure = directoryStructure;
-        this.storeFile = getLabelScanStoreFile( directoryStructure );
+        this.storeFile = storeFile;
         this.readOnly = readOnly;
         this.monitors = monitors;
         this.monitor = monitors.newMonitor( Monitor.class );
         this.recoveryCleanupWorkCollector = recoveryCleanupWorkCollector;
         this.fileSystem = fs;
+        this.openOptions = openOptions;
     }
 
     /**
@@ -257,6 +277,30 @@ public class NativeLabelScanStore implements LabelScanStore
         }
     }
 
+    /**
+     * Returns {@link LabelScanWriter} which builds this {@link LabelScanStore}, which must be empty, from updates
+     * which only add labels. The changes are written to the store when the writer is closed.
+     *
+     * @return {@link LabelScanWriter} capable of building this {@link LabelScanStore}.
+     */
+    @Override
+    public LabelScanWriter newBulkAppendWriter()
+    {
+        if ( readOnly )
+        {
+            throw new UnsupportedOperationException( "Can't create index writer in read only mode." );
+        }
+
+        try
+        {
+            return bulkAppendWriter();
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
     /**
      * Forces all changes to {@link PageCache} and creates a checkpoint so that the {@link LabelScanStore}
      * is recoverable from this point, given that the same transactions which will be applied after this point
@@ -342,7 +386,9 @@ public class NativeLabelScanStore implements LabelScanStore
             isDirty = true;
         }
 
-        writeMonitor = LabelScanWriteMonitor.ENABLED ? new LabelScanWriteMonitor( fs, directoryStructure ) : NativeLabelScanWriter.EMPTY;
+        // The write log is tied to the label scan store file, so don't let other token scan stores write into it
+        boolean writeLogEnabled = LabelScanWriteMonitor.ENABLED && storeFile.equals( getLabelScanStoreFile( directoryStructure ) );
+        writeMonitor = writeLogEnabled ? new LabelScanWriteMonitor( fs, directoryStructure ) : NativeLabelScanWriter.EMPTY;
         singleWriter = new NativeLabelScanWriter( 1_000, writeMonitor );
 
         if ( isDirty )
@@ -382,7 +428,7 @@ public class NativeLabelScanStore implements LabelScanStore
         try
         {
             index = new GBPTree<>( pageCache, storeFile, new LabelScanLayout(), pageSize, monitor, readRebuilding,
-                    needsRebuildingWriter, recoveryCleanupWorkCollector, readOnly );
+                    needsRebuildingWriter, recoveryCleanupWorkCollector, readOnly, openOptions );
             return isRebuilding.getValue();
         }
         catch ( TreeFileNotFoundException e )
@@ -435,7 +481,7 @@ public class NativeLabelScanStore implements LabelScanStore
             long numberOfNodes;
 
             // Intentionally ignore read-only flag here when rebuilding.
-            try ( LabelScanWriter writer = writer() )
+            try ( LabelScanWriter writer = bulkAppendWriter() )
             {
                 numberOfNodes = fullStoreChangeStream.applyTo( writer );
             }
@@ -452,6 +498,11 @@ public class NativeLabelScanStore implements LabelScanStore
         return singleWriter.initialize( index.writer() );
     }
 
+    private LabelScanWriter bulkAppendWriter() throws IOException
+    {
+        return new NativeLabelScanBulkWriter( index, fileSystem, new File( storeFile.getParentFile(), storeFile.getName() + ".bulk" ) );
+    }
+
     @Override
     public boolean isEmpty() throws IOException
     {
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.labelscan;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.OpenOption;
+
+import org.neo4j.collection.PrimitiveLongResourceIterator;
+import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.api.labelscan.LabelScanWriter;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
+import org.neo4j.kernel.impl.annotations.ReporterFactory;
+import org.neo4j.kernel.impl.api.scan.FullStoreChangeStream;
+import org.neo4j.kernel.monitoring.Monitors;
+import org.neo4j.storageengine.api.schema.LabelScanReader;
+import org.neo4j.storageengine.api.schema.RelationshipTypeScanReader;
+import org.neo4j.storageengine.api.schema.TokenScan;
+
+/**
+ * {@link RelationshipTypeScanStore} backed by the same {@link GBPTree} structure as {@link NativeLabelScanStore},
+ * i.e. keys are a combination of {@code typeId} and {@code relationshipIdRange} and values are bit sets of the
+ * relationships in that range which have that type.
+ * <p>
+ * This store is backed by a single store file "neostore.relationshiptypescanstore.db". If that file is missing,
+ * e.g. after an import or on a database created before this store existed, it's rebuilt from the relationship store on {@link #start()}.
+ */
+public class NativeRelationshipTypeScanStore implements RelationshipTypeScanStore
+{
+    private final NativeLabelScanStore store;
+
+    public NativeRelationshipTypeScanStore( PageCache pageCache, DatabaseLayout directoryStructure, FileSystemAbstraction fs,
+            FullStoreChangeStream fullStoreChangeStream, boolean readOnly, Monitors monitors,
+            RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, OpenOption... openOptions )
+    {
+        this.store = new NativeLabelScanStore( pageCache, directoryStructure, getRelationshipTypeScanStoreFile( directoryStructure ), fs,
+                fullStoreChangeStream, readOnly, monitors, recoveryCleanupWorkCollector,
+                /*means no opinion about page size*/ 0, openOptions );
+    }
+
+    /**
+     * Returns the file backing the relationship type scan store.
+     *
+     * @param directoryStructure The store directory to use.
+     * @return the file backing the relationship type scan store
+     */
+    public static File getRelationshipTypeScanStoreFile( DatabaseLayout directoryStructure )
+    {
+        return directoryStructure.relationshipTypeScanStore();
+    }
+
+    @Override
+    public RelationshipTypeScanReader newReader()
+    {
+        LabelScanReader reader = store.newReader();
+        return new RelationshipTypeScanReader()
+        {
+            @Override
+            public PrimitiveLongResourceIterator relationshipsWithType( int typeId )
+            {
+                return reader.nodesWithLabel( typeId );
+            }
+
+            @Override
+            public TokenScan relationshipTypeScan( int typeId )
+            {
+                return reader.nodeLabelScan( typeId );
+            }
+
+            @Override
+            public void close()
+            {
+                reader.close();
+            }
+        };
+    }
+
+    @Override
+    public LabelScanWriter newWriter()
+    {
+        return store.newWriter();
+    }
+
+    @Override
+    public LabelScanWriter newBulkAppendWriter()
+    {
+        return store.newBulkAppendWriter();
+    }
+
+    @Override
+    public void force( IOLimiter limiter )
+    {
+        store.force( limiter );
+    }
+
+    @Override
+    public ResourceIterator<File> snapshotStoreFiles()
+    {
+        return store.snapshotStoreFiles();
+    }
+
+    @Override
+    public boolean isEmpty() throws IOException
+    {
+        return store.isEmpty();
+    }
+
+    @Override
+    public void init() throws IOException
+    {
+        store.init();
+    }
+
+    @Override
+    public void start() throws IOException
+    {
+        store.start();
+    }
+
+    @Override
+    public void stop()
+    {
+        store.stop();
+    }
+
+    @Override
+    public void shutdown() throws IOException
+    {
+        store.shutdown();
+    }
+
+    @Override
+    public void drop() throws IOException
+    {
+        store.drop();
+    }
+
+    @Override
+    public boolean isReadOnly()
+    {
+        return store.isReadOnly();
+    }
+
+    @Override
+    public boolean hasStore()
+    {
+        return store.hasStore();
+    }
+
+    @Override
+    public File getRelationshipTypeScanStoreFile()
+    {
+        return store.getLabelScanStoreFile();
+    }
+
+    public boolean isDirty()
+    {
+        return store.isDirty();
+    }
+
+    @Override
+    public boolean consistencyCheck( ReporterFactory reporterFactory )
+    {
+        return store.consistencyCheck( reporterFactory );
+    }
+}
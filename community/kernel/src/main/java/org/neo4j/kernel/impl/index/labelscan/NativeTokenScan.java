@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.labelscan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.collection.PrimitiveLongResourceIterator;
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Hit;
+import org.neo4j.storageengine.api.schema.TokenScan;
+
+import static org.neo4j.kernel.impl.index.labelscan.LabelScanValue.RANGE_SIZE;
+import static org.neo4j.storageengine.api.schema.LabelScanReader.NO_ID;
+
+/**
+ * {@link TokenScan} over the {@link LabelScanKey id ranges} of one token in a {@link NativeLabelScanStore}. The id ranges between
+ * the lowest and highest range of the token at the time of creating the scan are handed out in batches of consecutive ranges,
+ * each of which is read by a seek of its own, so batches can be read by different threads in parallel.
+ */
+class NativeTokenScan implements TokenScan
+{
+    private final GBPTree<LabelScanKey,LabelScanValue> index;
+    private final int tokenId;
+    private final AtomicLong nextRange;
+    private final long highestRange;
+
+    NativeTokenScan( GBPTree<LabelScanKey,LabelScanValue> index, int tokenId ) throws IOException
+    {
+        this.index = index;
+        this.tokenId = tokenId;
+        long lowestRange = firstRange( new LabelScanKey( tokenId, 0 ), new LabelScanKey( tokenId, Long.MAX_VALUE ) );
+        this.highestRange = lowestRange == NO_ID ? NO_ID : firstRange( new LabelScanKey( tokenId, Long.MAX_VALUE ), new LabelScanKey( tokenId, NO_ID ) );
+        this.nextRange = new AtomicLong( lowestRange == NO_ID ? 0 : lowestRange );
+    }
+
+    @Override
+    public PrimitiveLongResourceIterator reserveBatch( int sizeHint )
+    {
+        long ranges = Math.max( 1, (sizeHint + (long) RANGE_SIZE - 1) / RANGE_SIZE );
+        long start = nextRange.getAndAdd( ranges );
+        if ( start > highestRange )
+        {
+            return null;
+        }
+        long end = Math.min( start + ranges, highestRange + 1 );
+        try
+        {
+            RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException> cursor = index.seek( new LabelScanKey( tokenId, start ), new LabelScanKey( tokenId, end ) );
+            // The cursor is owned by the returned iterator alone, which closes it when exhausted or closed
+            return new LabelScanValueIterator( cursor, new ArrayList<>( 0 ), NO_ID );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private long firstRange( LabelScanKey from, LabelScanKey to ) throws IOException
+    {
+        try ( RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException> cursor = index.seek( from, to ) )
+        {
+            return cursor.next() ? cursor.get().key().idRange : NO_ID;
+        }
+    }
+}
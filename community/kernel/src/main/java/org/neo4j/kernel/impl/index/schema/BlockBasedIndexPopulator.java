@@ -27,6 +27,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.file.OpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -40,6 +41,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.neo4j.cursor.RawCursor;
+import org.neo4j.index.internal.gbptree.BulkLoader;
+import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Hit;
 import org.neo4j.index.internal.gbptree.Writer;
 import org.neo4j.io.ByteUnit;
@@ -87,6 +90,10 @@ import static org.neo4j.util.concurrent.Runnables.runAll;
 public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>,VALUE extends NativeIndexValue> extends NativeIndexPopulator<KEY,VALUE>
 {
     public static final String BLOCK_SIZE_NAME = "blockSize";
+    /**
+     * How much of each tree node to fill when building the tree from the merged scan updates, see {@link GBPTree#bulkLoader(double)}.
+     */
+    private static final double BULK_LOAD_FILL_FACTOR = FeatureToggles.getDouble( BlockBasedIndexPopulator.class, "bulkLoadFillFactor", 1.0 );
 
     private final IndexDirectoryStructure directoryStructure;
     private final IndexDropAction dropAction;
@@ -115,18 +122,19 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>,V
 
     BlockBasedIndexPopulator( PageCache pageCache, FileSystemAbstraction fs, File file, IndexLayout<KEY,VALUE> layout, IndexProvider.Monitor monitor,
             StoreIndexDescriptor descriptor, IndexSpecificSpaceFillingCurveSettingsCache spatialSettings,
-            IndexDirectoryStructure directoryStructure, IndexDropAction dropAction, boolean archiveFailedIndex, ByteBufferFactory bufferFactory )
+            IndexDirectoryStructure directoryStructure, IndexDropAction dropAction, boolean archiveFailedIndex, ByteBufferFactory bufferFactory,
+            OpenOption... openOptions )
     {
         this( pageCache, fs, file, layout, monitor, descriptor, spatialSettings, directoryStructure, dropAction, archiveFailedIndex, bufferFactory,
-                FeatureToggles.getInteger( BlockBasedIndexPopulator.class, "mergeFactor", 8 ), NO_MONITOR );
+                FeatureToggles.getInteger( BlockBasedIndexPopulator.class, "mergeFactor", 8 ), NO_MONITOR, openOptions );
     }
 
     BlockBasedIndexPopulator( PageCache pageCache, FileSystemAbstraction fs, File file, IndexLayout<KEY,VALUE> layout, IndexProvider.Monitor monitor,
             StoreIndexDescriptor descriptor, IndexSpecificSpaceFillingCurveSettingsCache spatialSettings,
             IndexDirectoryStructure directoryStructure, IndexDropAction dropAction, boolean archiveFailedIndex, ByteBufferFactory bufferFactory,
-            int mergeFactor, BlockStorage.Monitor blockStorageMonitor )
+            int mergeFactor, BlockStorage.Monitor blockStorageMonitor, OpenOption... openOptions )
     {
-        super( pageCache, fs, file, layout, monitor, descriptor, new SpaceFillingCurveSettingsWriter( spatialSettings ) );
+        super( pageCache, fs, file, layout, monitor, descriptor, new SpaceFillingCurveSettingsWriter( spatialSettings ), openOptions );
         this.directoryStructure = directoryStructure;
         this.dropAction = dropAction;
         this.archiveFailedIndex = archiveFailedIndex;
@@ -431,12 +439,36 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>,V
                 }
             }
 
-            int asMuchAsPossibleToTheLeft = 1;
-            try ( Writer<KEY,VALUE> writer = tree.writer( asMuchAsPossibleToTheLeft ) )
+            // The merged scan updates come in key order, so the tree can be built bottom-up instead of inserting them one by one
+            try ( BulkLoader<KEY,VALUE> bulkLoader = tree.bulkLoader( BULK_LOAD_FILL_FACTOR ) )
             {
+                KEY previousKey = layout.newKey();
+                boolean first = true;
                 while ( allEntries.next() && !cancellation.cancelled() )
                 {
-                    writeToTree( writer, recordingConflictDetector, allEntries.key(), allEntries.value() );
+                    KEY key = allEntries.key();
+                    VALUE value = allEntries.value();
+                    recordingConflictDetector.controlConflictDetection( key );
+                    if ( !first && layout.compare( previousKey, key ) == 0 )
+                    {
+                        // Same key as the previous entry, given the strictness of the conflict detection
+                        recordingConflictDetector.merge( previousKey, key, value, value );
+                        if ( !recordingConflictDetector.wasConflicting() )
+                        {
+                            // Exactly the same entry as the previous one, which is already loaded
+                            numberOfAppliedScanUpdates++;
+                            continue;
+                        }
+                        // Record the conflict to verify uniqueness for this value later on, but load the entry anyway
+                        KEY copy = layout.newKey();
+                        layout.copyKey( key, copy );
+                        recordingConflictDetector.reportConflict( copy );
+                    }
+                    // Keys are sorted including entity id, so always compare entity ids in the tree
+                    recordingConflictDetector.relaxUniqueness( key );
+                    bulkLoader.add( key, value );
+                    layout.copyKey( key, previousKey );
+                    first = false;
                     numberOfAppliedScanUpdates++;
                 }
             }
@@ -54,7 +54,7 @@ public class BlockReader<KEY,VALUE> implements Closeable
         this.channel = fs.open( file, OpenMode.READ );
     }
 
-    BlockEntryReader<KEY,VALUE> nextBlock( ByteBuffer blockBuffer ) throws IOException
+    public BlockEntryReader<KEY,VALUE> nextBlock( ByteBuffer blockBuffer ) throws IOException
     {
         long position = channel.position();
         if ( position >= channel.size() )
@@ -53,7 +53,7 @@ import static java.lang.Math.ceil;
  * fashion until there is only a single large block in the resulting file. The entries are now ready to be read in sorted order,
  * call {@link #reader()}.
  */
-class BlockStorage<KEY, VALUE> implements Closeable
+public class BlockStorage<KEY, VALUE> implements Closeable
 {
     static final int BLOCK_HEADER_SIZE = Long.BYTES  // blockSize
                                        + Long.BYTES; // entryCount
@@ -72,7 +72,7 @@ class BlockStorage<KEY, VALUE> implements Closeable
     private boolean doneAdding;
     private long entryCount;
 
-    BlockStorage( Layout<KEY,VALUE> layout, ByteBufferFactory bufferFactory, FileSystemAbstraction fs, File blockFile, Monitor monitor )
+    public BlockStorage( Layout<KEY,VALUE> layout, ByteBufferFactory bufferFactory, FileSystemAbstraction fs, File blockFile, Monitor monitor )
             throws IOException
     {
         this.layout = layout;
@@ -105,7 +105,7 @@ class BlockStorage<KEY, VALUE> implements Closeable
         monitor.entryAdded( entrySize );
     }
 
-    void doneAdding() throws IOException
+    public void doneAdding() throws IOException
     {
         if ( !bufferedEntries.isEmpty() )
         {
@@ -366,7 +366,7 @@ class BlockStorage<KEY, VALUE> implements Closeable
         fs.deleteFile( blockFile );
     }
 
-    BlockReader<KEY,VALUE> reader() throws IOException
+    public BlockReader<KEY,VALUE> reader() throws IOException
     {
         return reader( blockFile );
     }
@@ -486,5 +486,5 @@ class BlockStorage<KEY, VALUE> implements Closeable
         boolean cancelled();
     }
 
-    static final Cancellation NOT_CANCELLABLE = () -> false;
+    public static final Cancellation NOT_CANCELLABLE = () -> false;
 }
@@ -23,6 +23,7 @@
 package org.neo4j.kernel.impl.index.schema;
 
 import java.io.File;
+import java.nio.file.OpenOption;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -43,9 +44,10 @@ class GenericBlockBasedIndexPopulator extends BlockBasedIndexPopulator<GenericKe
     GenericBlockBasedIndexPopulator( PageCache pageCache, FileSystemAbstraction fs, File file, IndexLayout<GenericKey,NativeIndexValue> layout,
             IndexProvider.Monitor monitor, StoreIndexDescriptor descriptor, IndexSpecificSpaceFillingCurveSettingsCache spatialSettings,
             IndexDirectoryStructure directoryStructure, SpaceFillingCurveConfiguration configuration,
-            IndexDropAction dropAction, boolean archiveFailedIndex, ByteBufferFactory bufferFactory )
+            IndexDropAction dropAction, boolean archiveFailedIndex, ByteBufferFactory bufferFactory, OpenOption... openOptions )
     {
-        super( pageCache, fs, file, layout, monitor, descriptor, spatialSettings, directoryStructure, dropAction, archiveFailedIndex, bufferFactory );
+        super( pageCache, fs, file, layout, monitor, descriptor, spatialSettings, directoryStructure, dropAction, archiveFailedIndex, bufferFactory,
+                openOptions );
         this.spatialSettings = spatialSettings;
         this.configuration = configuration;
     }
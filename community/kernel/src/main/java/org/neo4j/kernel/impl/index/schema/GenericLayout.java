@@ -29,12 +29,23 @@ class GenericLayout extends IndexLayout<GenericKey,NativeIndexValue>
 {
     private final int numberOfSlots;
     private final IndexSpecificSpaceFillingCurveSettingsCache spatialSettings;
+    private final boolean countSubtreeEntries;
 
     GenericLayout( int numberOfSlots, IndexSpecificSpaceFillingCurveSettingsCache spatialSettings )
+    {
+        this( numberOfSlots, spatialSettings, false );
+    }
+
+    /**
+     * @param countSubtreeEntries whether or not new trees should keep subtree counts, see {@link #countSubtreeEntries()}.
+     * Trees with subtree counts can only be opened with layouts that count subtree entries.
+     */
+    GenericLayout( int numberOfSlots, IndexSpecificSpaceFillingCurveSettingsCache spatialSettings, boolean countSubtreeEntries )
     {
         super( "NSIL", 0, 5 );
         this.numberOfSlots = numberOfSlots;
         this.spatialSettings = spatialSettings;
+        this.countSubtreeEntries = countSubtreeEntries;
     }
 
     @Override
@@ -84,6 +95,20 @@ class GenericLayout extends IndexLayout<GenericKey,NativeIndexValue>
         right.minimalSplitter( left, right, into );
     }
 
+    @Override
+    public boolean compressKeyPrefixes()
+    {
+        // Separators in internal nodes are mostly without entity id and so start with the same type and value bytes
+        return true;
+    }
+
+    @Override
+    public boolean countSubtreeEntries()
+    {
+        // Lets range counts and unique index sampling be answered without scanning the leaves, see NativeIndexReader#countEntries
+        return countSubtreeEntries;
+    }
+
     IndexSpecificSpaceFillingCurveSettingsCache getSpaceFillingCurveSettings()
     {
         return spatialSettings;
@@ -25,6 +25,7 @@ package org.neo4j.kernel.impl.index.schema;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.file.OpenOption;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -54,6 +55,7 @@ import org.neo4j.values.storable.ValueCategory;
 
 import static org.neo4j.graphdb.factory.GraphDatabaseSettings.SchemaIndex.NATIVE_BTREE10;
 import static org.neo4j.kernel.impl.index.schema.config.SpaceFillingCurveSettingsFactory.getConfiguredSpaceFillingCurveConfiguration;
+import static org.neo4j.kernel.impl.pagecache.PageCacheReservations.withReservation;
 
 /**
  * Native index able to handle all value types in a single {@link GBPTree}. Single-key as well as composite-key is supported.
@@ -61,9 +63,10 @@ import static org.neo4j.kernel.impl.index.schema.config.SpaceFillingCurveSetting
  * A composite index query have one predicate per slot / column.
  * The predicate comes in the form of an index query. Any of "exact", "range" or "exist".
  * Other index providers have support for exact predicate on all columns or exists predicate on all columns (full scan).
- * This index provider have some additional capabilities. It can combine the slot predicates under the following rules:
- * a. Exact can only follow another Exact or be in first slot.
- * b. Range can only follow Exact or be in first slot.
+ * This index provider have some additional capabilities. It can combine any slot predicates, but they only restrict the seek
+ * under the following rules, any other predicate is checked by filtering the entries found by the seek:
+ * a. Exact restricts the seek if it follows another Exact or is in first slot.
+ * b. Range restricts the seek if it follows Exact or is in first slot.
  *
  * We use the following notation for the predicates:
  * x: exact predicate
@@ -79,10 +82,10 @@ import static org.neo4j.kernel.impl.index.schema.config.SpaceFillingCurveSetting
  * 5:  >  -  -  -  -
  * 6:  x  >  -  -  -
  * 7:  x  x  x  x  >
- * 8:  >  x  -  -  - (not allowed!)
- * 9:  >  >  -  -  - (not allowed!)
- * 10: -  x  -  -  - (not allowed!)
- * 11: -  >  -  -  - (not allowed!)
+ * 8:  >  x  -  -  - (filtered)
+ * 9:  >  >  -  -  - (filtered)
+ * 10: -  x  -  -  - (filtered)
+ * 11: -  >  -  -  - (filtered)
  *
  * 1: Exact match on all slots. Supported by all index providers.
  * 2: Exists scan on all slots. Supported by all index providers.
@@ -91,26 +94,26 @@ import static org.neo4j.kernel.impl.index.schema.config.SpaceFillingCurveSetting
  * 5: Range on first column and exists on rest.
  * 6: Exact on first, range on second and exists on rest.
  * 7: Exact on all but last column. Range on last.
- * 8: Not allowed because Exact can only follow another Exact.
- * 9: Not allowed because range can only follow Exact.
- * 10: Not allowed because Exact can only follow another Exact.
- * 11: Not allowed because range can only follow Exact.
+ * 8: Range on first restricts the seek, exact on second is filtered.
+ * 9: Range on first restricts the seek, range on second is filtered.
+ * 10: Exact on second is filtered during a full scan.
+ * 11: Range on second is filtered during a full scan.
  *
  * WHY?
- * In short, we only allow "restrictive" predicates (exact or range) if they help us restrict the scan range.
- * Let's take query 11 as example
+ * Index is sorted first by p1, then p2, etc. Only "restrictive" predicates (exact or range) following nothing but exact predicates
+ * help us restrict the range of the index we need to scan. Let's take query 11 as example
  * p1 p2 p3 p4 p5
  * -  >  -  -  -
- * Index is sorted first by p1, then p2, etc.
  * Because we have a complete scan on p1 the range predicate on p2 can not restrict the range of the index we need to scan.
- * We COULD allow this query and do filter during scan instead and take the extra cost into account when planning queries.
- * As of writing this, there is no such filtering implementation.
+ * Such queries are still answered correctly, the seek covers a superset of the matching entries and every predicate is
+ * checked on each entry during the scan. This is also why 1-7 are the shapes the planner should prefer, because their
+ * cost is proportional to the number of matching entries, not to the size of the leading range.
  */
 public class GenericNativeIndexProvider extends NativeIndexProvider<GenericKey,NativeIndexValue,GenericLayout>
 {
     public static final String KEY = NATIVE_BTREE10.providerKey();
     public static final IndexProviderDescriptor DESCRIPTOR = new IndexProviderDescriptor( KEY, NATIVE_BTREE10.providerVersion() );
-    public static final IndexCapability CAPABILITY = new GenericIndexCapability();
+    public static final IndexCapability CAPABILITY = new GenericIndexCapability( IndexLimitation.SLOW_CONTAINS );
     public static final String BLOCK_BASED_POPULATION_NAME = "blockBasedPopulation";
     // todo turn OFF by default before releasing next patch. For now ON by default to test it.
     private final boolean blockBasedPopulation = FeatureToggles.flag( GenericNativeIndexPopulator.class, BLOCK_BASED_POPULATION_NAME, false );
@@ -126,17 +129,31 @@ public class GenericNativeIndexProvider extends NativeIndexProvider<GenericKey,N
      */
     private final SpaceFillingCurveConfiguration configuration;
     private final boolean archiveFailedIndex;
+    private final boolean subtreeCounts;
     private final IndexDropAction dropAction;
+    // The index files are mapped with the page cache reservation for indexes, if one has been configured.
+    final OpenOption[] openOptions;
 
     GenericNativeIndexProvider( IndexDirectoryStructure.Factory directoryStructureFactory, PageCache pageCache, FileSystemAbstraction fs, Monitor monitor,
             RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, boolean readOnly, Config config )
     {
-        super( DESCRIPTOR, directoryStructureFactory, pageCache, fs, monitor, recoveryCleanupWorkCollector, readOnly );
+        this( DESCRIPTOR, directoryStructureFactory, pageCache, fs, monitor, recoveryCleanupWorkCollector, readOnly, config );
+    }
+
+    /*
+     * For providers storing their indexes in this format, but under their own descriptor, e.g. {@link TrigramIndexProvider}.
+     */
+    GenericNativeIndexProvider( IndexProviderDescriptor descriptor, IndexDirectoryStructure.Factory directoryStructureFactory, PageCache pageCache,
+            FileSystemAbstraction fs, Monitor monitor, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, boolean readOnly, Config config )
+    {
+        super( descriptor, directoryStructureFactory, pageCache, fs, monitor, recoveryCleanupWorkCollector, readOnly );
 
         this.configuredSettings = new ConfiguredSpaceFillingCurveSettingsCache( config );
         this.configuration = getConfiguredSpaceFillingCurveConfiguration( config );
         this.archiveFailedIndex = config.get( GraphDatabaseSettings.archive_failed_index );
+        this.subtreeCounts = config.get( GraphDatabaseSettings.index_subtree_counts_enabled );
         this.dropAction = new FileSystemIndexDropAction( fs, directoryStructure() );
+        this.openOptions = withReservation( config, GraphDatabaseSettings.pagecache_reserved_index, pageCache );
     }
 
     @Override
@@ -146,12 +163,16 @@ public class GenericNativeIndexProvider extends NativeIndexProvider<GenericKey,N
         {
             int numberOfSlots = descriptor.properties().length;
             Map<CoordinateReferenceSystem,SpaceFillingCurveSettings> settings = new HashMap<>();
+            boolean countSubtreeEntries = subtreeCounts;
             if ( storeFile != null && fs.fileExists( storeFile ) )
             {
                 // The index file exists and is sane so use it to read header information from.
                 GBPTree.readHeader( pageCache, storeFile, new NativeIndexHeaderReader( new SpaceFillingCurveSettingsReader( settings ) ) );
+                // The tree keeps the format it was created with, and a tree with subtree counts can only be opened by a layout counting them
+                countSubtreeEntries |= GBPTree.readHasSubtreeCounts( pageCache, storeFile );
             }
-            return new GenericLayout( numberOfSlots, new IndexSpecificSpaceFillingCurveSettingsCache( configuredSettings, settings ) );
+            return new GenericLayout( numberOfSlots, new IndexSpecificSpaceFillingCurveSettingsCache( configuredSettings, settings ),
+                    countSubtreeEntries );
         }
         catch ( IOException e )
         {
@@ -165,18 +186,18 @@ public class GenericNativeIndexProvider extends NativeIndexProvider<GenericKey,N
         if ( blockBasedPopulation )
         {
             return new GenericBlockBasedIndexPopulator( pageCache, fs, storeFile, layout, monitor, descriptor, layout.getSpaceFillingCurveSettings(),
-                    directoryStructure(), configuration, dropAction, archiveFailedIndex, bufferFactory );
+                    directoryStructure(), configuration, dropAction, archiveFailedIndex, bufferFactory, openOptions );
         }
         return new WorkSyncedNativeIndexPopulator<>(
                 new GenericNativeIndexPopulator( pageCache, fs, storeFile, layout, monitor, descriptor, layout.getSpaceFillingCurveSettings(),
-                        directoryStructure(), configuration, dropAction, archiveFailedIndex ) );
+                        directoryStructure(), configuration, dropAction, archiveFailedIndex, openOptions ) );
     }
 
     @Override
     protected IndexAccessor newIndexAccessor( File storeFile, GenericLayout layout, StoreIndexDescriptor descriptor, boolean readOnly )
     {
         return new GenericNativeIndexAccessor( pageCache, fs, storeFile, layout, recoveryCleanupWorkCollector, monitor, descriptor,
-                layout.getSpaceFillingCurveSettings(), configuration, dropAction, readOnly );
+                layout.getSpaceFillingCurveSettings(), configuration, dropAction, readOnly, openOptions );
     }
 
     @Override
@@ -185,9 +206,14 @@ public class GenericNativeIndexProvider extends NativeIndexProvider<GenericKey,N
         return CAPABILITY;
     }
 
-    private static class GenericIndexCapability implements IndexCapability
+    static class GenericIndexCapability implements IndexCapability
     {
-        private final IndexLimitation[] limitations = {IndexLimitation.SLOW_CONTAINS};
+        private final IndexLimitation[] limitations;
+
+        GenericIndexCapability( IndexLimitation... limitations )
+        {
+            this.limitations = limitations;
+        }
 
         @Override
         public IndexOrder[] orderCapability( ValueCategory... valueCategories )
@@ -36,6 +36,7 @@ import org.neo4j.kernel.impl.api.schema.BridgingIndexProgressor;
 import org.neo4j.kernel.impl.index.schema.config.IndexSpecificSpaceFillingCurveSettingsCache;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexProgressor;
+import org.neo4j.storageengine.api.schema.PartitionedValueSeek;
 import org.neo4j.values.storable.CoordinateReferenceSystem;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueGroup;
@@ -141,9 +142,16 @@ class GenericNativeIndexReader extends NativeIndexReader<GenericKey,NativeIndexV
             IndexQuery[] query, CoordinateReferenceSystem crs, SpaceFillingCurve.LongRange range )
     {
         boolean needsFiltering = false;
+        boolean restrictsSeek = true;
         for ( int i = 0; i < query.length; i++ )
         {
             IndexQuery predicate = query[i];
+            if ( !restrictsSeek && predicate.type() != IndexQuery.IndexQueryType.exists )
+            {
+                // A restrictive predicate following a non-exact one only bounds the seek at its ends, the entries in between must be filtered
+                needsFiltering = true;
+            }
+            restrictsSeek &= predicate.type() == IndexQuery.IndexQueryType.exact;
             switch ( predicate.type() )
             {
             case exists:
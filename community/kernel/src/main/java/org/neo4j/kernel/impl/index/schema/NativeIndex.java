@@ -25,6 +25,7 @@ package org.neo4j.kernel.impl.index.schema;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.file.OpenOption;
 import java.util.function.Consumer;
 
 import org.neo4j.index.internal.gbptree.GBPTree;
@@ -49,11 +50,12 @@ abstract class NativeIndex<KEY extends NativeIndexKey<KEY>, VALUE extends Native
     final StoreIndexDescriptor descriptor;
     private final IndexProvider.Monitor monitor;
     private final boolean readOnly;
+    private final OpenOption[] openOptions;
 
     protected GBPTree<KEY,VALUE> tree;
 
     NativeIndex( PageCache pageCache, FileSystemAbstraction fs, File storeFile, IndexLayout<KEY,VALUE> layout, IndexProvider.Monitor monitor,
-            StoreIndexDescriptor descriptor, boolean readOnly )
+            StoreIndexDescriptor descriptor, boolean readOnly, OpenOption... openOptions )
     {
         this.pageCache = pageCache;
         this.storeFile = storeFile;
@@ -62,13 +64,15 @@ abstract class NativeIndex<KEY extends NativeIndexKey<KEY>, VALUE extends Native
         this.descriptor = descriptor;
         this.monitor = monitor;
         this.readOnly = readOnly;
+        this.openOptions = openOptions;
     }
 
     void instantiateTree( RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, Consumer<PageCursor> headerWriter )
     {
         ensureDirectoryExist();
         GBPTree.Monitor monitor = treeMonitor();
-        tree = new GBPTree<>( pageCache, storeFile, layout, 0, monitor, NO_HEADER_READER, headerWriter, recoveryCleanupWorkCollector, readOnly );
+        tree = new GBPTree<>( pageCache, storeFile, layout, 0, monitor, NO_HEADER_READER, headerWriter, recoveryCleanupWorkCollector, readOnly,
+                openOptions );
         afterTreeInstantiation( tree );
     }
 
@@ -25,6 +25,7 @@ package org.neo4j.kernel.impl.index.schema;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.file.OpenOption;
 import java.util.function.Consumer;
 
 import org.neo4j.graphdb.ResourceIterator;
@@ -52,9 +53,10 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>, VALUE
     final NativeIndexHeaderWriter headerWriter;
 
     NativeIndexAccessor( PageCache pageCache, FileSystemAbstraction fs, File storeFile, IndexLayout<KEY,VALUE> layout,
-            IndexProvider.Monitor monitor, StoreIndexDescriptor descriptor, Consumer<PageCursor> additionalHeaderWriter, boolean readOnly )
+            IndexProvider.Monitor monitor, StoreIndexDescriptor descriptor, Consumer<PageCursor> additionalHeaderWriter, boolean readOnly,
+            OpenOption... openOptions )
     {
-        super( pageCache, fs, storeFile, layout, monitor, descriptor, readOnly );
+        super( pageCache, fs, storeFile, layout, monitor, descriptor, readOnly, openOptions );
         singleUpdater = new NativeIndexUpdater<>( layout.newKey(), layout.newValue() );
         headerWriter = new NativeIndexHeaderWriter( BYTE_ONLINE, additionalHeaderWriter );
     }
@@ -79,7 +81,13 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>, VALUE
         assertOpen();
         try
         {
-            return singleUpdater.initialize( tree.writer() );
+            if ( mode == IndexUpdateMode.RECOVERY )
+            {
+                // Recovery applies one batch of transactions at a time, for which the single writer is cheapest
+                return singleUpdater.initialize( tree.writer() );
+            }
+            // Transactions committed at the same time may update this index from different threads
+            return new NativeIndexUpdater<>( layout.newKey(), layout.newValue() ).initialize( tree.parallelWriter() );
         }
         catch ( IOException e )
         {
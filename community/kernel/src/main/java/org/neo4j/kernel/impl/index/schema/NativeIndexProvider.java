@@ -142,7 +142,7 @@ abstract class NativeIndexProvider<KEY extends NativeIndexKey<KEY>,VALUE extends
         return StoreMigrationParticipant.NOT_PARTICIPATING;
     }
 
-    private File nativeIndexFileFromIndexId( long indexId )
+    File nativeIndexFileFromIndexId( long indexId )
     {
         return new File( directoryStructure().directoryForIndex( indexId ), indexFileName( indexId ) );
     }
@@ -24,8 +24,10 @@ package org.neo4j.kernel.impl.index.schema;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.neo4j.collection.PrimitiveLongResourceIterator;
 import org.neo4j.cursor.RawCursor;
@@ -38,7 +40,9 @@ import org.neo4j.storageengine.api.NodePropertyAccessor;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexProgressor;
 import org.neo4j.storageengine.api.schema.IndexReader;
+import org.neo4j.storageengine.api.schema.IndexSample;
 import org.neo4j.storageengine.api.schema.IndexSampler;
+import org.neo4j.storageengine.api.schema.PartitionedValueSeek;
 import org.neo4j.values.storable.Value;
 
 import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.NEUTRAL;
@@ -56,7 +60,8 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>, VALUE extends
         this.tree = tree;
         this.layout = layout;
         this.descriptor = descriptor;
-        this.openSeekers = new HashSet<>();
+        // Seekers of a partitioned query are opened and closed from the threads consuming the partitions
+        this.openSeekers = ConcurrentHashMap.newKeySet();
     }
 
     @Override
@@ -69,11 +74,20 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>, VALUE extends
     public IndexSampler createSampler()
     {
         // For a unique index there's an optimization, knowing that all values in it are unique, to simply count
-        // the number of indexed values and create a sample for that count. The GBPTree doesn't have an O(1)
-        // count mechanism, it will have to manually count the indexed values in it to get it.
+        // the number of indexed values and create a sample for that count. A GBPTree which keeps subtree counts
+        // can count its entries in logarithmic time and so is sampled that way.
+        // Other trees don't have an O(1) count mechanism, they will have to manually count the indexed values in it to get it.
         // For that reason this implementation opts for keeping complexity down by just using the existing
-        // non-unique sampler which scans the index and counts (potentially duplicates, of which there will
+        // non-unique sampler for those, which scans the index and counts (potentially duplicates, of which there will
         // be none in a unique index).
+        if ( descriptor.isUnique() && tree.hasSubtreeCounts() )
+        {
+            return () ->
+            {
+                long count = countAll();
+                return new IndexSample( count, count, count );
+            };
+        }
 
         FullScanNonUniqueIndexSampler<KEY,VALUE> sampler = new FullScanNonUniqueIndexSampler<>( tree, layout );
         return sampler::result;
@@ -131,6 +145,81 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>, VALUE extends
         startSeekForInitializedRange( cursor, treeKeyFrom, treeKeyTo, predicates, indexOrder, needFilter, needsValues );
     }
 
+    @Override
+    public PartitionedValueSeek partitionedQuery( int desiredNumberOfPartitions, boolean needsValues, IndexQuery... predicates )
+    {
+        validateQuery( IndexOrder.NONE, predicates );
+
+        KEY treeKeyFrom = layout.newKey();
+        KEY treeKeyTo = layout.newKey();
+        initializeFromToKeys( treeKeyFrom, treeKeyTo );
+
+        boolean needFilter = initializeRangeForQuery( treeKeyFrom, treeKeyTo, predicates );
+        if ( isEmptyRange( treeKeyFrom, treeKeyTo ) )
+        {
+            return PartitionedValueSeek.EMPTY;
+        }
+        try
+        {
+            return new NativePartitionedValueSeek( tree.partitionRange( treeKeyFrom, treeKeyTo, desiredNumberOfPartitions ),
+                    needFilter, needsValues, predicates );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    @Override
+    public long countEntries( IndexQuery... predicates )
+    {
+        if ( !tree.hasSubtreeCounts() || !hasFullValuePrecision( predicates ) )
+        {
+            return UNKNOWN_COUNT;
+        }
+        validateQuery( IndexOrder.NONE, predicates );
+
+        KEY treeKeyFrom = layout.newKey();
+        KEY treeKeyTo = layout.newKey();
+        initializeFromToKeys( treeKeyFrom, treeKeyTo );
+
+        boolean needFilter = initializeRangeForQuery( treeKeyFrom, treeKeyTo, predicates );
+        if ( needFilter )
+        {
+            return UNKNOWN_COUNT;
+        }
+        if ( isEmptyRange( treeKeyFrom, treeKeyTo ) )
+        {
+            return 0;
+        }
+        try
+        {
+            return tree.count( treeKeyFrom, treeKeyTo );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private long countAll()
+    {
+        KEY lowest = layout.newKey();
+        lowest.initialize( Long.MIN_VALUE );
+        lowest.initValuesAsLowest();
+        KEY highest = layout.newKey();
+        highest.initialize( Long.MAX_VALUE );
+        highest.initValuesAsHighest();
+        try
+        {
+            return tree.count( lowest, highest );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
     void initializeFromToKeys( KEY treeKeyFrom, KEY treeKeyTo )
     {
         treeKeyFrom.initialize( Long.MIN_VALUE );
@@ -213,6 +302,45 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>, VALUE extends
         return layout.compare( treeKeyFrom, treeKeyTo ) > 0;
     }
 
+    /**
+     * Partitions of a seek, where partition {@code i} is a seek from edge {@code i} to edge {@code i + 1}.
+     */
+    private class NativePartitionedValueSeek implements PartitionedValueSeek
+    {
+        private final List<KEY> edges;
+        private final boolean needFilter;
+        private final boolean needsValues;
+        private final IndexQuery[] query;
+        private final AtomicInteger nextPartition = new AtomicInteger();
+
+        NativePartitionedValueSeek( List<KEY> edges, boolean needFilter, boolean needsValues, IndexQuery[] query )
+        {
+            this.edges = edges;
+            this.needFilter = needFilter;
+            this.needsValues = needsValues;
+            this.query = query;
+        }
+
+        @Override
+        public int getNumberOfPartitions()
+        {
+            return edges.size() - 1;
+        }
+
+        @Override
+        public boolean reserve( IndexProgressor.NodeValueClient client )
+        {
+            int partition = nextPartition.getAndIncrement();
+            if ( partition >= getNumberOfPartitions() )
+            {
+                return false;
+            }
+            startSeekForInitializedRange( client, edges.get( partition ), edges.get( partition + 1 ), query, IndexOrder.NONE, needFilter,
+                    needsValues );
+            return true;
+        }
+    }
+
     private void ensureOpenSeekersClosed()
     {
         try
@@ -350,6 +350,12 @@ class ReadableChannelPageCursor extends PageCursor
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void prefetch( long[] pageIds, int offset, int length )
+    {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public void zapPage()
     {
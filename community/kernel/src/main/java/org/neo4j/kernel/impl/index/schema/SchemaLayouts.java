@@ -135,7 +135,8 @@ public class SchemaLayouts implements LayoutBootstrapper
                 GBPTree.readHeader( pageCache, indexFile, new NativeIndexHeaderReader( new SpaceFillingCurveSettingsReader( settings ) ) );
                 final ConfiguredSpaceFillingCurveSettingsCache configuredSettings =
                         new ConfiguredSpaceFillingCurveSettingsCache( Config.defaults() );
-                return new GenericLayout( numberOfSlots, new IndexSpecificSpaceFillingCurveSettingsCache( configuredSettings, settings ) );
+                // A layout counting subtree entries can open trees both with and without subtree counts
+                return new GenericLayout( numberOfSlots, new IndexSpecificSpaceFillingCurveSettingsCache( configuredSettings, settings ), true );
             }
             return null;
         };
@@ -41,6 +41,7 @@ import org.neo4j.kernel.impl.api.schema.BridgingIndexProgressor;
 import org.neo4j.storageengine.api.NodePropertyAccessor;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexProgressor;
+import org.neo4j.storageengine.api.schema.PartitionedValueSeek;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueGroup;
 
@@ -74,6 +75,13 @@ public class SpatialIndexPartReader<VALUE extends NativeIndexValue> extends Nati
         throw new UnsupportedOperationException( "Cannot initialize 1D range in multidimensional spatial index reader" );
     }
 
+    @Override
+    public PartitionedValueSeek partitionedQuery( int desiredNumberOfPartitions, boolean needsValues, IndexQuery... predicates )
+    {
+        // Spatial queries are made up of multiple sub-ranges, one for each part of the space filling curve, see query
+        return PartitionedValueSeek.singlePartition( this, needsValues, predicates );
+    }
+
     @Override
     public void query( IndexProgressor.NodeValueClient cursor, IndexOrder indexOrder, boolean needsValues, IndexQuery... predicates )
     {
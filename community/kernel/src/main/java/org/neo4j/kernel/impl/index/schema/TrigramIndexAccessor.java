@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.File;
+
+import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.kernel.api.index.IndexAccessor;
+import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.kernel.impl.api.index.IndexUpdateMode;
+import org.neo4j.storageengine.api.schema.IndexReader;
+import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
+
+import static java.util.Arrays.asList;
+import static org.neo4j.helpers.collection.Iterators.concatResourceIterators;
+
+/**
+ * Accessor of an online index which keeps {@link TrigramPostings} up to date alongside the index itself
+ * and hands out {@link TrigramIndexReader readers} making use of them.
+ */
+class TrigramIndexAccessor extends IndexAccessor.Delegator
+{
+    private final StoreIndexDescriptor descriptor;
+    private final TrigramPostings postings;
+
+    TrigramIndexAccessor( IndexAccessor delegate, StoreIndexDescriptor descriptor, TrigramPostings postings )
+    {
+        super( delegate );
+        this.descriptor = descriptor;
+        this.postings = postings;
+        postings.open();
+    }
+
+    @Override
+    public void drop()
+    {
+        postings.close();
+        super.drop();
+    }
+
+    @Override
+    public IndexUpdater newUpdater( IndexUpdateMode mode )
+    {
+        return new TrigramIndexUpdater( super.newUpdater( mode ), postings );
+    }
+
+    @Override
+    public void force( IOLimiter ioLimiter )
+    {
+        super.force( ioLimiter );
+        postings.force( ioLimiter );
+    }
+
+    @Override
+    public void close()
+    {
+        try
+        {
+            postings.close();
+        }
+        finally
+        {
+            super.close();
+        }
+    }
+
+    @Override
+    public IndexReader newReader()
+    {
+        return new TrigramIndexReader( descriptor, super.newReader(), postings );
+    }
+
+    @Override
+    public ResourceIterator<File> snapshotFiles()
+    {
+        return concatResourceIterators( asList( super.snapshotFiles(), postings.snapshotFiles() ).iterator() );
+    }
+}
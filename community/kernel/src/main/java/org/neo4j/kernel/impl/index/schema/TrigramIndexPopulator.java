@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
+import org.neo4j.kernel.api.index.IndexEntryUpdate;
+import org.neo4j.kernel.api.index.IndexPopulator;
+import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.kernel.impl.api.index.PhaseTracker;
+import org.neo4j.storageengine.api.NodePropertyAccessor;
+import org.neo4j.storageengine.api.schema.IndexSample;
+import org.neo4j.storageengine.api.schema.PopulationProgress;
+import org.neo4j.values.storable.Value;
+
+/**
+ * Populates an index and its {@link TrigramPostings} side by side.
+ */
+class TrigramIndexPopulator implements IndexPopulator
+{
+    private final IndexPopulator delegate;
+    private final TrigramPostings postings;
+
+    TrigramIndexPopulator( IndexPopulator delegate, TrigramPostings postings )
+    {
+        this.delegate = delegate;
+        this.postings = postings;
+    }
+
+    @Override
+    public void create()
+    {
+        delegate.create();
+        postings.create();
+    }
+
+    @Override
+    public void drop()
+    {
+        postings.close();
+        delegate.drop();
+    }
+
+    @Override
+    public void add( Collection<? extends IndexEntryUpdate<?>> updates ) throws IndexEntryConflictException
+    {
+        delegate.add( updates );
+        postings.apply( updates );
+    }
+
+    @Override
+    public void verifyDeferredConstraints( NodePropertyAccessor nodePropertyAccessor ) throws IndexEntryConflictException
+    {
+        delegate.verifyDeferredConstraints( nodePropertyAccessor );
+    }
+
+    @Override
+    public IndexUpdater newPopulatingUpdater( NodePropertyAccessor accessor )
+    {
+        return new TrigramIndexUpdater( delegate.newPopulatingUpdater( accessor ), postings );
+    }
+
+    @Override
+    public void scanCompleted( PhaseTracker phaseTracker ) throws IndexEntryConflictException
+    {
+        delegate.scanCompleted( phaseTracker );
+    }
+
+    @Override
+    public void close( boolean populationCompletedSuccessfully )
+    {
+        try
+        {
+            if ( populationCompletedSuccessfully )
+            {
+                // The postings must be durable before the index is marked as online
+                postings.force( IOLimiter.UNLIMITED );
+            }
+        }
+        finally
+        {
+            postings.close();
+            delegate.close( populationCompletedSuccessfully );
+        }
+    }
+
+    @Override
+    public void markAsFailed( String failure )
+    {
+        delegate.markAsFailed( failure );
+    }
+
+    @Override
+    public void includeSample( IndexEntryUpdate<?> update )
+    {
+        delegate.includeSample( update );
+    }
+
+    @Override
+    public IndexSample sampleResult()
+    {
+        return delegate.sampleResult();
+    }
+
+    @Override
+    public PopulationProgress progress( PopulationProgress scanProgress )
+    {
+        return delegate.progress( scanProgress );
+    }
+
+    @Override
+    public Map<String,Value> indexConfig()
+    {
+        return delegate.indexConfig();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.File;
+import java.nio.file.NoSuchFileException;
+
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.internal.kernel.api.IndexCapability;
+import org.neo4j.internal.kernel.api.InternalIndexState;
+import org.neo4j.internal.kernel.api.schema.IndexProviderDescriptor;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.api.index.IndexAccessor;
+import org.neo4j.kernel.api.index.IndexDirectoryStructure;
+import org.neo4j.kernel.api.index.IndexPopulator;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.storageengine.api.EntityType;
+import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
+
+import static org.neo4j.graphdb.factory.GraphDatabaseSettings.SchemaIndex.TRIGRAM10;
+
+/**
+ * Stores indexes exactly like {@link GenericNativeIndexProvider}, but single-property node indexes additionally keep
+ * {@link TrigramPostings trigram postings} of their string values. String {@code CONTAINS} and {@code ENDS WITH} queries
+ * are answered by intersecting the postings of the trigrams of the searched string and verifying the resulting candidates,
+ * instead of scanning and filtering every string in the index, which is why indexes of this provider don't have the
+ * {@link org.neo4j.internal.kernel.api.IndexLimitation#SLOW_CONTAINS} limitation. Searched strings too short to have any
+ * trigrams are still served by scanning the index.
+ */
+public class TrigramIndexProvider extends GenericNativeIndexProvider
+{
+    public static final String KEY = TRIGRAM10.providerKey();
+    public static final IndexProviderDescriptor DESCRIPTOR = new IndexProviderDescriptor( KEY, TRIGRAM10.providerVersion() );
+    public static final IndexCapability CAPABILITY = new GenericIndexCapability();
+
+    TrigramIndexProvider( IndexDirectoryStructure.Factory directoryStructureFactory, PageCache pageCache, FileSystemAbstraction fs, Monitor monitor,
+            RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, boolean readOnly, Config config )
+    {
+        super( DESCRIPTOR, directoryStructureFactory, pageCache, fs, monitor, recoveryCleanupWorkCollector, readOnly, config );
+    }
+
+    @Override
+    protected IndexPopulator newIndexPopulator( File storeFile, GenericLayout layout, StoreIndexDescriptor descriptor, ByteBufferFactory bufferFactory )
+    {
+        IndexPopulator populator = super.newIndexPopulator( storeFile, layout, descriptor, bufferFactory );
+        if ( !hasPostings( descriptor ) )
+        {
+            return populator;
+        }
+        TrigramPostings postings = new TrigramPostings( pageCache, fs, storeFile, RecoveryCleanupWorkCollector.immediate(), false, openOptions );
+        return new TrigramIndexPopulator( populator, postings );
+    }
+
+    @Override
+    protected IndexAccessor newIndexAccessor( File storeFile, GenericLayout layout, StoreIndexDescriptor descriptor, boolean readOnly )
+    {
+        IndexAccessor accessor = super.newIndexAccessor( storeFile, layout, descriptor, readOnly );
+        if ( !hasPostings( descriptor ) )
+        {
+            return accessor;
+        }
+        TrigramPostings postings = new TrigramPostings( pageCache, fs, storeFile, recoveryCleanupWorkCollector, readOnly, openOptions );
+        return new TrigramIndexAccessor( accessor, descriptor, postings );
+    }
+
+    @Override
+    public InternalIndexState getInitialState( StoreIndexDescriptor descriptor )
+    {
+        InternalIndexState state = super.getInitialState( descriptor );
+        if ( state == InternalIndexState.ONLINE && hasPostings( descriptor ) )
+        {
+            File postingsFile = TrigramPostings.postingsFile( nativeIndexFileFromIndexId( descriptor.getId() ) );
+            if ( !fs.fileExists( postingsFile ) )
+            {
+                // Postings can't be rebuilt from the index itself, since it doesn't know which entity has which value
+                monitor.failedToOpenIndex( descriptor, "Requesting re-population.", new NoSuchFileException( postingsFile.getAbsolutePath() ) );
+                return InternalIndexState.POPULATING;
+            }
+        }
+        return state;
+    }
+
+    @Override
+    public IndexCapability getCapability( StoreIndexDescriptor descriptor )
+    {
+        return hasPostings( descriptor ) ? CAPABILITY : GenericNativeIndexProvider.CAPABILITY;
+    }
+
+    private static boolean hasPostings( StoreIndexDescriptor descriptor )
+    {
+        // Only single-property indexes can be queried with string predicates and only node index seeks can verify candidates
+        return descriptor.properties().length == 1 && descriptor.schema().entityType() == EntityType.NODE;
+    }
+}
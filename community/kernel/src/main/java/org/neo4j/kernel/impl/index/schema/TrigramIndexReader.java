@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.neo4j.collection.PrimitiveLongResourceIterator;
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotApplicableKernelException;
+import org.neo4j.io.IOUtils;
+import org.neo4j.storageengine.api.NodePropertyAccessor;
+import org.neo4j.storageengine.api.schema.IndexDescriptor;
+import org.neo4j.storageengine.api.schema.IndexProgressor;
+import org.neo4j.storageengine.api.schema.IndexReader;
+import org.neo4j.storageengine.api.schema.IndexSampler;
+import org.neo4j.storageengine.api.schema.LabelScanReader;
+import org.neo4j.storageengine.api.schema.PartitionedValueSeek;
+import org.neo4j.values.storable.Value;
+
+import static org.neo4j.collection.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
+import static org.neo4j.values.storable.Values.NO_VALUE;
+
+/**
+ * Serves {@link IndexQuery.StringContainsPredicate CONTAINS} and {@link IndexQuery.StringSuffixPredicate ENDS WITH} queries,
+ * long enough to have any {@link Trigrams trigrams}, from the {@link TrigramPostings} of the index instead of scanning it.
+ * All other queries are passed on to the reader of the index.
+ * <p>
+ * Candidates from the postings are only known to have all the trigrams of the searched string, not to actually match it,
+ * so this reader doesn't have {@link #hasFullValuePrecision(IndexQuery...) full value precision} for those queries and
+ * the candidates are verified against the property values in the store by the caller. Values are handed out as
+ * {@link org.neo4j.values.storable.Values#NO_VALUE} for the same reason, to be filled in by that verification.
+ */
+class TrigramIndexReader implements IndexReader
+{
+    private final IndexDescriptor descriptor;
+    private final IndexReader delegate;
+    private final TrigramPostings postings;
+    private LabelScanReader postingsReader;
+
+    TrigramIndexReader( IndexDescriptor descriptor, IndexReader delegate, TrigramPostings postings )
+    {
+        this.descriptor = descriptor;
+        this.delegate = delegate;
+        this.postings = postings;
+    }
+
+    @Override
+    public long countIndexedNodes( long nodeId, int[] propertyKeyIds, Value... propertyValues )
+    {
+        return delegate.countIndexedNodes( nodeId, propertyKeyIds, propertyValues );
+    }
+
+    @Override
+    public IndexSampler createSampler()
+    {
+        return delegate.createSampler();
+    }
+
+    @Override
+    public PrimitiveLongResourceIterator query( IndexQuery... predicates ) throws IndexNotApplicableKernelException
+    {
+        return delegate.query( predicates );
+    }
+
+    @Override
+    public void query( IndexProgressor.NodeValueClient client, IndexOrder indexOrder, boolean needsValues, IndexQuery... query )
+            throws IndexNotApplicableKernelException
+    {
+        long[] trigrams = indexOrder == IndexOrder.NONE ? trigrams( query ) : EMPTY_LONG_ARRAY;
+        if ( trigrams.length == 0 )
+        {
+            delegate.query( client, indexOrder, needsValues, query );
+            return;
+        }
+
+        if ( postingsReader == null )
+        {
+            postingsReader = postings.newReader();
+        }
+        PrimitiveLongResourceIterator candidates = postingsReader.nodesWithAllLabels( Trigrams.asTokens( trigrams ) );
+        client.initialize( descriptor, new CandidateProgressor( candidates, client, needsValues ), query, indexOrder, needsValues );
+    }
+
+    @Override
+    public PartitionedValueSeek partitionedQuery( int desiredNumberOfPartitions, boolean needsValues, IndexQuery... query )
+    {
+        return delegate.partitionedQuery( desiredNumberOfPartitions, needsValues, query );
+    }
+
+    @Override
+    public long countEntries( IndexQuery... predicates )
+    {
+        return delegate.countEntries( predicates );
+    }
+
+    @Override
+    public boolean hasFullValuePrecision( IndexQuery... predicates )
+    {
+        return trigrams( predicates ).length == 0 && delegate.hasFullValuePrecision( predicates );
+    }
+
+    @Override
+    public void distinctValues( IndexProgressor.NodeValueClient client, NodePropertyAccessor propertyAccessor, boolean needsValues )
+    {
+        delegate.distinctValues( client, propertyAccessor, needsValues );
+    }
+
+    @Override
+    public void close()
+    {
+        IOUtils.close( RuntimeException::new, postingsReader, delegate );
+    }
+
+    private static long[] trigrams( IndexQuery... predicates )
+    {
+        if ( predicates.length != 1 )
+        {
+            return EMPTY_LONG_ARRAY;
+        }
+        IndexQuery predicate = predicates[0];
+        switch ( predicate.type() )
+        {
+        case stringContains:
+            return Trigrams.ofContains( ((IndexQuery.StringContainsPredicate) predicate).contains() );
+        case stringSuffix:
+            return Trigrams.ofSuffix( ((IndexQuery.StringSuffixPredicate) predicate).suffix() );
+        default:
+            return EMPTY_LONG_ARRAY;
+        }
+    }
+
+    private static class CandidateProgressor implements IndexProgressor
+    {
+        private final PrimitiveLongResourceIterator candidates;
+        private final NodeValueClient client;
+        private final Value[] values;
+
+        CandidateProgressor( PrimitiveLongResourceIterator candidates, NodeValueClient client, boolean needsValues )
+        {
+            this.candidates = candidates;
+            this.client = client;
+            this.values = needsValues ? new Value[1] : null;
+        }
+
+        @Override
+        public boolean next()
+        {
+            while ( candidates.hasNext() )
+            {
+                long candidate = candidates.next();
+                if ( values != null )
+                {
+                    values[0] = NO_VALUE;
+                }
+                if ( client.acceptNode( candidate, values ) )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void close()
+        {
+            candidates.close();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
+import org.neo4j.kernel.api.index.IndexEntryUpdate;
+import org.neo4j.kernel.api.index.IndexUpdater;
+
+/**
+ * Passes updates on to the updater of the index and applies them to its {@link TrigramPostings} when closed.
+ */
+class TrigramIndexUpdater implements IndexUpdater
+{
+    private final IndexUpdater delegate;
+    private final TrigramPostings postings;
+    private final List<IndexEntryUpdate<?>> updates = new ArrayList<>();
+
+    TrigramIndexUpdater( IndexUpdater delegate, TrigramPostings postings )
+    {
+        this.delegate = delegate;
+        this.postings = postings;
+    }
+
+    @Override
+    public void process( IndexEntryUpdate<?> update ) throws IndexEntryConflictException
+    {
+        delegate.process( update );
+        updates.add( update );
+    }
+
+    @Override
+    public void close() throws IndexEntryConflictException
+    {
+        delegate.close();
+        postings.apply( updates );
+    }
+}
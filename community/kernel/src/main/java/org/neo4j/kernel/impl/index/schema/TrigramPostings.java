@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.OpenOption;
+import java.util.Collection;
+
+import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.api.index.IndexEntryUpdate;
+import org.neo4j.kernel.api.labelscan.LabelScanWriter;
+import org.neo4j.kernel.impl.api.scan.FullStoreChangeStream;
+import org.neo4j.kernel.impl.index.labelscan.NativeLabelScanStore;
+import org.neo4j.kernel.monitoring.Monitors;
+import org.neo4j.storageengine.api.schema.LabelScanReader;
+
+import static org.neo4j.collection.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
+import static org.neo4j.kernel.api.labelscan.NodeLabelUpdate.labelChanges;
+
+/**
+ * Trigram postings of the string values in a single-property schema index. Stored in a {@link GBPTree} with the same structure as
+ * the label scan store, i.e. keys are a combination of {@link Trigrams trigram} and entity id range and values are bit sets of the
+ * entities in that range which have a value containing that trigram. Looking up candidates for a string predicate is then a matter
+ * of intersecting the postings of all trigrams of the searched string.
+ * <p>
+ * The postings are kept in a file next to the index file and are created and dropped together with it.
+ */
+class TrigramPostings implements Closeable
+{
+    private static final String POSTINGS_FILE_SUFFIX = ".trigrams";
+
+    private final NativeLabelScanStore store;
+
+    TrigramPostings( PageCache pageCache, FileSystemAbstraction fs, File indexFile, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector,
+            boolean readOnly, OpenOption... openOptions )
+    {
+        // Postings are created together with the index, which is repopulated if they go missing, so there's never anything to rebuild them from
+        File postingsFile = postingsFile( indexFile );
+        this.store = new NativeLabelScanStore( pageCache, DatabaseLayout.of( postingsFile.getParentFile() ), postingsFile, fs, FullStoreChangeStream.EMPTY,
+                readOnly, new Monitors(), recoveryCleanupWorkCollector, /*means no opinion about page size*/ 0, openOptions );
+    }
+
+    static File postingsFile( File indexFile )
+    {
+        return new File( indexFile.getParentFile(), indexFile.getName() + POSTINGS_FILE_SUFFIX );
+    }
+
+    /**
+     * Creates empty postings, replacing any existing ones. Used when populating the index.
+     */
+    void create()
+    {
+        try
+        {
+            store.drop();
+            open();
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    /**
+     * Opens existing postings. Used when the index is online.
+     */
+    void open()
+    {
+        try
+        {
+            store.init();
+            store.start();
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    /**
+     * Applies the changes of the given index updates to the postings. Only the first value of each update is considered,
+     * since postings are only kept for single-property indexes.
+     *
+     * @param updates index updates to apply.
+     */
+    synchronized void apply( Collection<? extends IndexEntryUpdate<?>> updates )
+    {
+        try ( LabelScanWriter writer = store.newWriter() )
+        {
+            for ( IndexEntryUpdate<?> update : updates )
+            {
+                long[] before;
+                long[] after;
+                switch ( update.updateMode() )
+                {
+                case ADDED:
+                    before = EMPTY_LONG_ARRAY;
+                    after = Trigrams.ofIndexedValue( update.values()[0] );
+                    break;
+                case CHANGED:
+                    before = Trigrams.ofIndexedValue( update.beforeValues()[0] );
+                    after = Trigrams.ofIndexedValue( update.values()[0] );
+                    break;
+                case REMOVED:
+                    before = Trigrams.ofIndexedValue( update.values()[0] );
+                    after = EMPTY_LONG_ARRAY;
+                    break;
+                default:
+                    throw new IllegalArgumentException( "Unknown update mode " + update.updateMode() );
+                }
+                if ( before.length > 0 || after.length > 0 )
+                {
+                    writer.write( labelChanges( update.getEntityId(), before, after ) );
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    /**
+     * @return a reader of these postings, where {@link LabelScanReader#nodesWithAllLabels(int[])} given {@link Trigrams#asTokens(long[])
+     * trigrams} returns the candidate entities having all of them.
+     */
+    LabelScanReader newReader()
+    {
+        return store.newReader();
+    }
+
+    void force( IOLimiter limiter )
+    {
+        store.force( limiter );
+    }
+
+    ResourceIterator<File> snapshotFiles()
+    {
+        return store.snapshotStoreFiles();
+    }
+
+    @Override
+    public void close()
+    {
+        try
+        {
+            store.shutdown();
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.util.Arrays;
+
+import org.neo4j.values.storable.TextValue;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static org.neo4j.collection.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
+
+/**
+ * Extracts the trigrams, i.e. the substrings of three consecutive {@code char}s, which {@link TrigramPostings} keeps postings for.
+ * Working on {@code char}s rather than code points makes any substring of a string have trigrams which the string has too, even one
+ * splitting a surrogate pair.
+ * Each trigram is hashed into a non-negative {@code int}, since that's what the posting keys have room for. Hash collisions only
+ * make postings less selective, candidates are always verified against the actual values anyway.
+ * <p>
+ * Besides the trigrams found inside a string, one extra trigram is made out of the two last {@code char}s followed by an end marker.
+ * This anchors the end of the string, making {@code ENDS WITH} queries more selective and also possible for two {@code char} suffixes.
+ */
+final class Trigrams
+{
+    /**
+     * Just above the highest {@code char}, so that it can't clash with any actual one.
+     */
+    private static final int END = Character.MAX_VALUE + 1;
+
+    private Trigrams()
+    {
+    }
+
+    /**
+     * @param value value to index.
+     * @return sorted distinct trigrams of the given value, or an empty array if the value isn't a string or is too short to have any.
+     */
+    static long[] ofIndexedValue( Value value )
+    {
+        if ( !Values.isTextValue( value ) )
+        {
+            return EMPTY_LONG_ARRAY;
+        }
+        return sortedDistinct( chars( (TextValue) value ), true );
+    }
+
+    /**
+     * @param substring string that matching values should contain.
+     * @return trigrams which all values containing {@code substring} have, or an empty array if it's too short to have any.
+     */
+    static long[] ofContains( TextValue substring )
+    {
+        return sortedDistinct( chars( substring ), false );
+    }
+
+    /**
+     * @param suffix string that matching values should end with.
+     * @return trigrams which all values ending with {@code suffix} have, or an empty array if it's too short to have any.
+     */
+    static long[] ofSuffix( TextValue suffix )
+    {
+        return sortedDistinct( chars( suffix ), true );
+    }
+
+    private static char[] chars( TextValue value )
+    {
+        return value.stringValue().toCharArray();
+    }
+
+    private static long[] sortedDistinct( char[] chars, boolean anchorEnd )
+    {
+        int length = chars.length;
+        int count = Math.max( length - 2, 0 ) + (anchorEnd && length >= 2 ? 1 : 0);
+        if ( count == 0 )
+        {
+            return EMPTY_LONG_ARRAY;
+        }
+
+        long[] trigrams = new long[count];
+        int cursor = 0;
+        for ( int i = 0; i + 2 < length; i++ )
+        {
+            trigrams[cursor++] = trigram( chars[i], chars[i + 1], chars[i + 2] );
+        }
+        if ( cursor < count )
+        {
+            trigrams[cursor] = trigram( chars[length - 2], chars[length - 1], END );
+        }
+
+        Arrays.sort( trigrams );
+        int distinct = 0;
+        for ( int i = 0; i < count; i++ )
+        {
+            if ( distinct == 0 || trigrams[distinct - 1] != trigrams[i] )
+            {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return distinct == count ? trigrams : Arrays.copyOf( trigrams, distinct );
+    }
+
+    static int[] asTokens( long[] trigrams )
+    {
+        int[] tokens = new int[trigrams.length];
+        for ( int i = 0; i < trigrams.length; i++ )
+        {
+            tokens[i] = (int) trigrams[i];
+        }
+        return tokens;
+    }
+
+    private static long trigram( int first, int second, int third )
+    {
+        // Chars, and the end marker, fit in 17 bits, so the three of them together fit in a long without any loss
+        long packed = ((long) first << 34) | ((long) second << 17) | third;
+        // Spread them over the high bits and keep the 31 highest, for a non-negative int
+        return (packed * 0x9E3779B97F4A7C15L) >>> 33;
+    }
+}
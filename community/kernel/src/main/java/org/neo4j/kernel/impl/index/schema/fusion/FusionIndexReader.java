@@ -22,7 +22,10 @@
  */
 package org.neo4j.kernel.impl.index.schema.fusion;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.neo4j.collection.PrimitiveLongResourceIterator;
 import org.neo4j.graphdb.Resource;
@@ -36,6 +39,7 @@ import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexProgressor;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.IndexSampler;
+import org.neo4j.storageengine.api.schema.PartitionedValueSeek;
 import org.neo4j.values.storable.Value;
 
 import static java.lang.String.format;
@@ -119,6 +123,75 @@ class FusionIndexReader extends FusionIndexBase<IndexReader> implements IndexRea
         }
     }
 
+    @Override
+    public PartitionedValueSeek partitionedQuery( int desiredNumberOfPartitions, boolean needsValues, IndexQuery... predicates )
+    {
+        IndexSlot slot = slotSelector.selectSlot( predicates, IndexQuery::valueGroup );
+        if ( slot != null )
+        {
+            return instanceSelector.select( slot ).partitionedQuery( desiredNumberOfPartitions, needsValues, predicates );
+        }
+
+        List<PartitionedValueSeek> seeks = new ArrayList<>();
+        instanceSelector.forAll( reader -> seeks.add( reader.partitionedQuery( desiredNumberOfPartitions, needsValues, predicates ) ) );
+        return new FusionPartitionedValueSeek( seeks );
+    }
+
+    @Override
+    public long countEntries( IndexQuery... predicates )
+    {
+        IndexSlot slot = slotSelector.selectSlot( predicates, IndexQuery::valueGroup );
+        if ( slot != null )
+        {
+            return instanceSelector.select( slot ).countEntries( predicates );
+        }
+
+        long count = 0;
+        for ( long countInSlot : instanceSelector.transform( reader -> reader.countEntries( predicates ) ) )
+        {
+            if ( countInSlot == UNKNOWN_COUNT )
+            {
+                return UNKNOWN_COUNT;
+            }
+            count += countInSlot;
+        }
+        return count;
+    }
+
+    /**
+     * Hands out the partitions of the seeks in all the different parts, one part at a time.
+     */
+    private static final class FusionPartitionedValueSeek implements PartitionedValueSeek
+    {
+        private final List<PartitionedValueSeek> seeks;
+        private final AtomicInteger currentSeek = new AtomicInteger();
+
+        FusionPartitionedValueSeek( List<PartitionedValueSeek> seeks )
+        {
+            this.seeks = seeks;
+        }
+
+        @Override
+        public int getNumberOfPartitions()
+        {
+            return seeks.stream().mapToInt( PartitionedValueSeek::getNumberOfPartitions ).sum();
+        }
+
+        @Override
+        public boolean reserve( IndexProgressor.NodeValueClient client )
+        {
+            for ( int i = currentSeek.get(); i < seeks.size(); i = currentSeek.get() )
+            {
+                if ( seeks.get( i ).reserve( client ) )
+                {
+                    return true;
+                }
+                currentSeek.compareAndSet( i, i + 1 );
+            }
+            return false;
+        }
+    }
+
     private static final class InnerException extends RuntimeException
     {
         private InnerException( IndexNotApplicableKernelException e )
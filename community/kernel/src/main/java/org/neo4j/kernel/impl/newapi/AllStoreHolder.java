@@ -75,6 +75,8 @@ import org.neo4j.kernel.impl.proc.Procedures;
 import org.neo4j.kernel.impl.util.Dependencies;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.register.Register;
+import org.neo4j.storageengine.api.AllNodeScan;
+import org.neo4j.storageengine.api.AllRelationshipsScan;
 import org.neo4j.storageengine.api.StorageReader;
 import org.neo4j.storageengine.api.StorageSchemaReader;
 import org.neo4j.storageengine.api.schema.CapableIndexDescriptor;
@@ -83,6 +85,7 @@ import org.neo4j.storageengine.api.schema.IndexDescriptorFactory;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.LabelScanReader;
 import org.neo4j.storageengine.api.schema.PopulationProgress;
+import org.neo4j.storageengine.api.schema.RelationshipTypeScanReader;
 import org.neo4j.storageengine.api.schema.SchemaRule;
 import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
 import org.neo4j.storageengine.api.txstate.DiffSets;
@@ -260,6 +263,24 @@ public class AllStoreHolder extends Read
         return storageReader.getLabelScanReader();
     }
 
+    @Override
+    RelationshipTypeScanReader relationshipTypeScanReader()
+    {
+        return storageReader.getRelationshipTypeScanReader();
+    }
+
+    @Override
+    AllNodeScan nodeStoreScan()
+    {
+        return storageReader.allNodeScan();
+    }
+
+    @Override
+    AllRelationshipsScan relationshipStoreScan()
+    {
+        return storageReader.allRelationshipScan();
+    }
+
     @Override
     ExplicitIndex explicitNodeIndex( String indexName ) throws ExplicitIndexNotFoundKernelException
     {
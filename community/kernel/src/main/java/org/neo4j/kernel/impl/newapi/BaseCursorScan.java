@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.impl.iterator.ImmutableEmptyLongIterator;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.neo4j.internal.kernel.api.Cursor;
+import org.neo4j.internal.kernel.api.Scan;
+import org.neo4j.kernel.api.txstate.TransactionState;
+
+/**
+ * Base of the parallel scans over a store. The entities added in the transaction are captured when the scan is created and are
+ * handed out in batches ahead of the batches of the store, while the batches of the store are reserved by the storage layer.
+ * The transaction must not be changed while the scan is in progress, since the transaction state is read from all the threads
+ * taking part in it.
+ *
+ * @param <C> the type of cursor the scan initializes.
+ * @param <S> the type of the scan of the storage layer.
+ */
+abstract class BaseCursorScan<C extends Cursor, S> implements Scan<C>
+{
+    final S storageScan;
+    final Read read;
+    final boolean hasChanges;
+    private final long[] addedItems;
+    private final AtomicInteger addedItemsReserved = new AtomicInteger();
+
+    /**
+     * @param addedInTransaction provides the ids of the entities added in the transaction, which the scan should include.
+     */
+    BaseCursorScan( S storageScan, Read read, Function<TransactionState,long[]> addedInTransaction )
+    {
+        this.storageScan = storageScan;
+        this.read = read;
+        this.hasChanges = read.hasTxStateWithChanges();
+        this.addedItems = hasChanges ? addedInTransaction.apply( read.txState() ) : new long[0];
+    }
+
+    @Override
+    public boolean reserveBatch( C cursor, int sizeHint )
+    {
+        if ( sizeHint < 1 )
+        {
+            throw new IllegalArgumentException( "Size hint for reserving a batch must be positive, was " + sizeHint );
+        }
+        read.ktx.assertOpen();
+
+        LongIterator addedItemsBatch = ImmutableEmptyLongIterator.INSTANCE;
+        int storeSizeHint = sizeHint;
+        if ( addedItemsReserved.get() < addedItems.length )
+        {
+            int start = addedItemsReserved.getAndAdd( sizeHint );
+            if ( start < addedItems.length )
+            {
+                int end = Math.min( addedItems.length, start + sizeHint );
+                addedItemsBatch = LongArrayList.newListWith( Arrays.copyOfRange( addedItems, start, end ) ).longIterator();
+                storeSizeHint -= end - start;
+            }
+        }
+        return scanBatch( cursor, storeSizeHint, addedItemsBatch );
+    }
+
+    /**
+     * Initializes {@code cursor} to go through the given entities added in the transaction, followed by the next batch of the store,
+     * unless {@code sizeHint} is zero.
+     *
+     * @return {@code true} if the cursor has anything at all to go through.
+     */
+    abstract boolean scanBatch( C cursor, int sizeHint, LongIterator addedItemsBatch );
+}
@@ -45,6 +45,7 @@ public class DefaultCursors implements CursorFactory
     private DefaultRelationshipGroupCursor relationshipGroupCursor;
     private DefaultNodeValueIndexCursor nodeValueIndexCursor;
     private DefaultNodeLabelIndexCursor nodeLabelIndexCursor;
+    private DefaultRelationshipValueIndexCursor relationshipValueIndexCursor;
     private DefaultNodeExplicitIndexCursor nodeExplicitIndexCursor;
     private DefaultRelationshipExplicitIndexCursor relationshipExplicitIndexCursor;
 
@@ -234,6 +235,11 @@ public class DefaultCursors implements CursorFactory
         {
             nodeLabelIndexCursor = null;
         }
+        if ( relationshipValueIndexCursor != null )
+        {
+            relationshipValueIndexCursor.release();
+            relationshipValueIndexCursor = null;
+        }
     }
 
     public void accept( DefaultNodeLabelIndexCursor cursor )
@@ -245,6 +251,34 @@ public class DefaultCursors implements CursorFactory
         nodeLabelIndexCursor = cursor;
     }
 
+    @Override
+    public DefaultRelationshipValueIndexCursor allocateRelationshipValueIndexCursor()
+    {
+        if ( relationshipValueIndexCursor == null )
+        {
+            return trace( new DefaultRelationshipValueIndexCursor( new DefaultRelationshipScanCursor( null,
+                    storageReader.allocateRelationshipScanCursor() ), this ) );
+        }
+
+        try
+        {
+            return relationshipValueIndexCursor;
+        }
+        finally
+        {
+            relationshipValueIndexCursor = null;
+        }
+    }
+
+    public void accept( DefaultRelationshipValueIndexCursor cursor )
+    {
+        if ( relationshipValueIndexCursor != null )
+        {
+            relationshipValueIndexCursor.release();
+        }
+        relationshipValueIndexCursor = cursor;
+    }
+
     @Override
     public DefaultNodeExplicitIndexCursor allocateNodeExplicitIndexCursor()
     {
@@ -337,6 +371,11 @@ public class DefaultCursors implements CursorFactory
             nodeLabelIndexCursor.release();
             nodeLabelIndexCursor = null;
         }
+        if ( relationshipValueIndexCursor != null )
+        {
+            relationshipValueIndexCursor.release();
+            relationshipValueIndexCursor = null;
+        }
         if ( nodeExplicitIndexCursor != null )
         {
             nodeExplicitIndexCursor.release();
@@ -34,6 +34,7 @@ import org.neo4j.internal.kernel.api.PropertyCursor;
 import org.neo4j.internal.kernel.api.RelationshipGroupCursor;
 import org.neo4j.internal.kernel.api.RelationshipTraversalCursor;
 import org.neo4j.kernel.api.txstate.TransactionState;
+import org.neo4j.storageengine.api.AllNodeScan;
 import org.neo4j.storageengine.api.StorageNodeCursor;
 import org.neo4j.storageengine.api.txstate.LongDiffSets;
 
@@ -64,6 +65,35 @@ class DefaultNodeCursor implements NodeCursor
         this.addedNodes = ImmutableEmptyLongIterator.INSTANCE;
     }
 
+    /**
+     * Initializes this cursor to go through a batch of a parallel scan over all nodes.
+     *
+     * @param read the read to scan with.
+     * @param scan the scan of the store, shared between the cursors of the parallel scan.
+     * @param sizeHint desired number of nodes in the batch of the store, or zero for not going through the store at all.
+     * @param addedNodes the batch of nodes added in the transaction to go through before the nodes of the store.
+     * @param hasChanges whether or not the transaction had changes when the parallel scan started.
+     * @return {@code true} if this cursor has a batch to go through.
+     */
+    boolean scanBatch( Read read, AllNodeScan scan, int sizeHint, LongIterator addedNodes, boolean hasChanges )
+    {
+        this.read = read;
+        this.single = NO_ID;
+        this.hasChanges = hasChanges ? HasChanges.YES : HasChanges.NO;
+        this.addedNodes = addedNodes;
+        boolean scanBatch;
+        if ( sizeHint > 0 )
+        {
+            scanBatch = storeCursor.scanBatch( scan, sizeHint );
+        }
+        else
+        {
+            storeCursor.reset();
+            scanBatch = false;
+        }
+        return addedNodes.hasNext() || scanBatch;
+    }
+
     void single( long reference, Read read )
     {
         storeCursor.single( reference );
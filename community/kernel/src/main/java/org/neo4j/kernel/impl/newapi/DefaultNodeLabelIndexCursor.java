@@ -26,12 +26,14 @@ import org.eclipse.collections.api.iterator.LongIterator;
 import org.eclipse.collections.api.set.primitive.LongSet;
 import org.eclipse.collections.impl.iterator.ImmutableEmptyLongIterator;
 
+import org.neo4j.collection.PrimitiveLongResourceIterator;
 import org.neo4j.internal.kernel.api.LabelSet;
 import org.neo4j.internal.kernel.api.NodeCursor;
 import org.neo4j.internal.kernel.api.NodeLabelIndexCursor;
 import org.neo4j.kernel.impl.index.labelscan.LabelScanValueIndexProgressor;
 import org.neo4j.storageengine.api.schema.IndexProgressor;
 import org.neo4j.storageengine.api.schema.IndexProgressor.NodeLabelClient;
+import org.neo4j.storageengine.api.schema.TokenScan;
 import org.neo4j.storageengine.api.txstate.LongDiffSets;
 
 import static org.neo4j.collection.PrimitiveLongCollections.mergeToSet;
@@ -66,6 +68,26 @@ class DefaultNodeLabelIndexCursor extends IndexCursor<IndexProgressor>
         }
     }
 
+    /**
+     * Initializes this cursor to go through a batch of a parallel scan over the nodes with a label.
+     *
+     * @param read the read to scan with.
+     * @param scan the scan of the label scan store, shared between the cursors of the parallel scan.
+     * @param sizeHint desired number of node ids the batch of the label scan store should span, or zero for not going through the store at all.
+     * @param addedNodes the batch of nodes which got the label in the transaction to go through before the nodes of the store.
+     * @param removedNodes nodes which were deleted or lost the label in the transaction, or {@code null} if the transaction has no changes.
+     * @return {@code true} if this cursor has a batch to go through.
+     */
+    boolean scanBatch( Read read, TokenScan scan, int sizeHint, LongIterator addedNodes, LongSet removedNodes )
+    {
+        this.read = read;
+        this.added = addedNodes;
+        this.removed = removedNodes;
+        PrimitiveLongResourceIterator batch = sizeHint > 0 ? scan.reserveBatch( sizeHint ) : null;
+        super.initialize( batch == null ? IndexProgressor.EMPTY : new NodeLabelIndexProgressor( batch, this ) );
+        return addedNodes.hasNext() || batch != null;
+    }
+
     @Override
     public void unionScan( IndexProgressor progressor, boolean providesLabels, int... labels )
     {
@@ -46,11 +46,13 @@ import org.neo4j.values.storable.Value;
 
 import static java.util.Arrays.stream;
 import static org.neo4j.collection.PrimitiveLongCollections.mergeToSet;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForCompositeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForRangeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForRangeSeekByPrefix;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForScan;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSuffixOrContains;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForCompositeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForRangeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForRangeSeekByPrefix;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForScan;
@@ -94,7 +96,12 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         this.needsValues = needsValues;
         this.query = query;
 
-        if ( read.hasTxStateWithChanges() && query.length > 0 )
+        if ( read.hasTxStateWithChanges() && query.length > 1 && isCompositeSeek( query ) )
+        {
+            setNeedsValuesIfRequiresOrder();
+            compositeQuery( descriptor, query );
+        }
+        else if ( read.hasTxStateWithChanges() && query.length > 0 )
         {
             IndexQuery firstPredicate = query[0];
             switch ( firstPredicate.type() )
@@ -134,6 +141,19 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         }
     }
 
+    /**
+     * Initializes this cursor with results that already include the changes made in the transaction, e.g. from a {@link NearestNeighbourSearch}.
+     */
+    void initializeWithoutTxState( IndexProgressor progressor, IndexQuery[] query, boolean needsValues )
+    {
+        super.initialize( progressor );
+        sortedMergeJoin.initialize( IndexOrder.NONE );
+
+        this.indexOrder = IndexOrder.NONE;
+        this.needsValues = needsValues;
+        this.query = query;
+    }
+
     /**
      * If we require order, we can only do the merge sort if we also get values.
      * This implicitly relies on the fact that if we can get order, we can also get values.
@@ -146,6 +166,22 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         }
     }
 
+    /**
+     * A composite query mixing exact, range and exists predicates, e.g. exact on a prefix of the properties and range on the next one.
+     * Queries with only exact or only exists predicates have their own, more direct, ways of finding the changes.
+     */
+    private static boolean isCompositeSeek( IndexQuery[] query )
+    {
+        boolean allExact = true;
+        boolean allExists = true;
+        for ( IndexQuery predicate : query )
+        {
+            allExact &= predicate.type() == IndexQuery.IndexQueryType.exact;
+            allExists &= predicate.type() == IndexQuery.IndexQueryType.exists;
+        }
+        return !allExact && !allExists;
+    }
+
     private boolean isRemoved( long reference )
     {
         return removed.contains( reference );
@@ -351,6 +387,24 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         }
     }
 
+    private void compositeQuery( IndexDescriptor descriptor, IndexQuery[] query )
+    {
+        TransactionState txState = read.txState();
+
+        if ( needsValues )
+        {
+            AddedWithValuesAndRemoved changes = indexUpdatesWithValuesForCompositeSeek( txState, descriptor, query, indexOrder );
+            addedWithValues = changes.getAdded().iterator();
+            removed = removed( txState, changes.getRemoved() );
+        }
+        else
+        {
+            AddedAndRemoved changes = indexUpdatesForCompositeSeek( txState, descriptor, query, indexOrder );
+            added = changes.getAdded().longIterator();
+            removed = removed( txState, changes.getRemoved() );
+        }
+    }
+
     private void scanQuery( IndexDescriptor descriptor )
     {
         TransactionState txState = read.txState();
@@ -402,7 +456,7 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         return mergeToSet( txState.addedAndRemovedNodes().getRemoved(), removedFromIndex );
     }
 
-    private static IndexQuery.ExactPredicate[] assertOnlyExactPredicates( IndexQuery[] predicates )
+    static IndexQuery.ExactPredicate[] assertOnlyExactPredicates( IndexQuery[] predicates )
     {
         IndexQuery.ExactPredicate[] exactPredicates;
         if ( predicates.getClass() == IndexQuery.ExactPredicate[].class )
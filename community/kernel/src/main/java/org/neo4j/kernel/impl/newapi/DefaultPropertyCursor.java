@@ -56,7 +56,9 @@ public class DefaultPropertyCursor implements PropertyCursor
     {
         assert nodeReference != NO_ID;
 
-        init( reference, read, assertOpen );
+        this.assertOpen = assertOpen;
+        this.read = read;
+        this.storeCursor.initNodeProperties( reference, nodeReference );
 
         // Transaction state
         if ( read.hasTxStateWithChanges() )
@@ -180,6 +182,16 @@ public class DefaultPropertyCursor implements PropertyCursor
         return storeCursor.propertyType();
     }
 
+    @Override
+    public int propertyValueSize()
+    {
+        if ( txStateValue != null )
+        {
+            return -1;
+        }
+        return storeCursor.propertyValueSize();
+    }
+
     @Override
     public Value propertyValue()
     {
@@ -48,6 +48,17 @@ abstract class DefaultRelationshipCursor<STORECURSOR extends StorageRelationship
         this.checkHasChanges = true;
     }
 
+    /**
+     * Initializes this cursor with an already known answer to whether or not the transaction has changes, such that no snapshot of
+     * the added relationships is collected, since the caller provides the added relationships to go through instead.
+     */
+    protected void init( Read read, boolean hasChanges )
+    {
+        this.read = read;
+        this.hasChanges = hasChanges;
+        this.checkHasChanges = false;
+    }
+
     @Override
     public long relationshipReference()
     {
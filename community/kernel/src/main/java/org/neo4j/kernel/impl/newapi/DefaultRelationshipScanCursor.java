@@ -26,8 +26,12 @@ import org.eclipse.collections.api.iterator.LongIterator;
 import org.eclipse.collections.impl.iterator.ImmutableEmptyLongIterator;
 import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
 
+import org.neo4j.collection.PrimitiveLongResourceCollections;
+import org.neo4j.collection.PrimitiveLongResourceIterator;
 import org.neo4j.internal.kernel.api.RelationshipScanCursor;
+import org.neo4j.storageengine.api.AllRelationshipsScan;
 import org.neo4j.storageengine.api.StorageRelationshipScanCursor;
+import org.neo4j.storageengine.api.schema.TokenScan;
 
 import static org.neo4j.kernel.impl.store.record.AbstractBaseRecord.NO_ID;
 
@@ -36,6 +40,7 @@ class DefaultRelationshipScanCursor extends DefaultRelationshipCursor<StorageRel
     private int type;
     private long single;
     private LongIterator addedRelationships;
+    private PrimitiveLongResourceIterator typeScan;
 
     DefaultRelationshipScanCursor( DefaultCursors pool, StorageRelationshipScanCursor storeCursor )
     {
@@ -44,6 +49,7 @@ class DefaultRelationshipScanCursor extends DefaultRelationshipCursor<StorageRel
 
     void scan( int type, Read read )
     {
+        closeTypeScan();
         storeCursor.scan( type );
         this.type = type;
         this.single = NO_ID;
@@ -51,8 +57,83 @@ class DefaultRelationshipScanCursor extends DefaultRelationshipCursor<StorageRel
         this.addedRelationships = ImmutableEmptyLongIterator.INSTANCE;
     }
 
+    /**
+     * Scans the relationships of the given type, as provided by the relationship type scan store, instead of
+     * reading through all relationship records.
+     *
+     * @param type relationship type to scan over.
+     * @param relationships ids of committed relationships of the given type, in ascending order.
+     * @param read the read to scan with.
+     */
+    void scan( int type, PrimitiveLongResourceIterator relationships, Read read )
+    {
+        closeTypeScan();
+        storeCursor.reset();
+        this.typeScan = relationships;
+        this.type = type;
+        this.single = NO_ID;
+        init( read );
+        this.addedRelationships = ImmutableEmptyLongIterator.INSTANCE;
+    }
+
+    /**
+     * Initializes this cursor to go through a batch of a parallel scan over all relationships.
+     *
+     * @param read the read to scan with.
+     * @param scan the scan of the store, shared between the cursors of the parallel scan.
+     * @param sizeHint desired number of relationships in the batch of the store, or zero for not going through the store at all.
+     * @param addedRelationships the batch of relationships added in the transaction to go through before the relationships of the store.
+     * @param hasChanges whether or not the transaction had changes when the parallel scan started.
+     * @return {@code true} if this cursor has a batch to go through.
+     */
+    boolean scanBatch( Read read, AllRelationshipsScan scan, int sizeHint, LongIterator addedRelationships, boolean hasChanges )
+    {
+        closeTypeScan();
+        boolean scanBatch;
+        if ( sizeHint > 0 )
+        {
+            scanBatch = storeCursor.scanBatch( scan, sizeHint );
+        }
+        else
+        {
+            storeCursor.reset();
+            scanBatch = false;
+        }
+        this.type = -1;
+        this.single = NO_ID;
+        init( read, hasChanges );
+        this.addedRelationships = addedRelationships;
+        return addedRelationships.hasNext() || scanBatch;
+    }
+
+    /**
+     * Initializes this cursor to go through a batch of a parallel scan over the relationships of a type, as provided by the
+     * relationship type scan store.
+     *
+     * @param read the read to scan with.
+     * @param type relationship type to scan over.
+     * @param scan the scan of the relationship type scan store, shared between the cursors of the parallel scan.
+     * @param sizeHint desired number of relationship ids the batch of the store should span, or zero for not going through the store at all.
+     * @param addedRelationships the batch of relationships added in the transaction to go through before the relationships of the store.
+     * @param hasChanges whether or not the transaction had changes when the parallel scan started.
+     * @return {@code true} if this cursor has a batch to go through.
+     */
+    boolean scanBatch( Read read, int type, TokenScan scan, int sizeHint, LongIterator addedRelationships, boolean hasChanges )
+    {
+        closeTypeScan();
+        storeCursor.reset();
+        PrimitiveLongResourceIterator batch = sizeHint > 0 ? scan.reserveBatch( sizeHint ) : null;
+        this.typeScan = batch == null ? PrimitiveLongResourceCollections.emptyIterator() : batch;
+        this.type = type;
+        this.single = NO_ID;
+        init( read, hasChanges );
+        this.addedRelationships = addedRelationships;
+        return addedRelationships.hasNext() || batch != null;
+    }
+
     void single( long reference, Read read )
     {
+        closeTypeScan();
         storeCursor.single( reference );
         type = -1;
         this.single = reference;
@@ -66,10 +147,18 @@ class DefaultRelationshipScanCursor extends DefaultRelationshipCursor<StorageRel
         // Check tx state
         boolean hasChanges = hasChanges();
 
-        if ( hasChanges && addedRelationships.hasNext() )
+        while ( hasChanges && addedRelationships.hasNext() )
         {
             read.txState().relationshipVisit( addedRelationships.next(), storeCursor );
-            return true;
+            if ( type == -1 || storeCursor.type() == type )
+            {
+                return true;
+            }
+        }
+
+        if ( typeScan != null )
+        {
+            return nextFromTypeScan( hasChanges );
         }
 
         while ( storeCursor.next() )
@@ -82,12 +171,41 @@ class DefaultRelationshipScanCursor extends DefaultRelationshipCursor<StorageRel
         return false;
     }
 
+    private boolean nextFromTypeScan( boolean hasChanges )
+    {
+        while ( typeScan.hasNext() )
+        {
+            long reference = typeScan.next();
+            if ( hasChanges && read.txState().relationshipIsDeletedInThisTx( reference ) )
+            {
+                continue;
+            }
+            // The store record is the source of truth, so also check that the relationship still has the type we're looking for
+            storeCursor.single( reference );
+            if ( storeCursor.next() && storeCursor.type() == type )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void closeTypeScan()
+    {
+        if ( typeScan != null )
+        {
+            typeScan.close();
+            typeScan = null;
+        }
+    }
+
     @Override
     public void close()
     {
         if ( !isClosed() )
         {
             read = null;
+            closeTypeScan();
             storeCursor.close();
 
             pool.accept( this );
@@ -138,6 +256,7 @@ class DefaultRelationshipScanCursor extends DefaultRelationshipCursor<StorageRel
 
     public void release()
     {
+        closeTypeScan();
         storeCursor.close();
     }
 }
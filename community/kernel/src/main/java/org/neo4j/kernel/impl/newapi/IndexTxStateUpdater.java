@@ -27,9 +27,11 @@ import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
 import org.eclipse.collections.impl.factory.primitive.IntObjectMaps;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 import org.neo4j.internal.kernel.api.NodeCursor;
 import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.internal.kernel.api.schema.SchemaDescriptor;
 import org.neo4j.kernel.impl.api.index.IndexingService;
 import org.neo4j.values.storable.Value;
@@ -37,6 +39,7 @@ import org.neo4j.values.storable.ValueTuple;
 
 import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_PROPERTY_KEY;
 import static org.neo4j.storageengine.api.EntityType.NODE;
+import static org.neo4j.storageengine.api.EntityType.RELATIONSHIP;
 import static org.neo4j.values.storable.Values.NO_VALUE;
 
 /**
@@ -165,9 +168,58 @@ public class IndexTxStateUpdater
         }
     }
 
+    /**
+     * A property of a relationship has been added, changed or removed, figure out what updates are needed to tx state.
+     *
+     * @param relationship cursor to the relationship where the change was applied
+     * @param propertyCursor cursor to the properties of relationship
+     * @param propertyKeyId the id of the changed property
+     * @param existingPropertyKeyIds all property key ids the relationship has, sorted by id
+     * @param beforeValue the value before the change, or {@code NO_VALUE} if the property was added
+     * @param afterValue the value after the change, or {@code NO_VALUE} if the property was removed
+     */
+    void onRelationshipPropertyChange( RelationshipScanCursor relationship, PropertyCursor propertyCursor, int propertyKeyId,
+            int[] existingPropertyKeyIds, Value beforeValue, Value afterValue )
+    {
+        assert noSchemaChangedInTx();
+        Collection<SchemaDescriptor> indexes = indexingService.getRelatedIndexes( new long[]{relationship.type()}, propertyKeyId, RELATIONSHIP );
+        if ( !indexes.isEmpty() )
+        {
+            MutableIntObjectMap<Value> materializedProperties = IntObjectMaps.mutable.empty();
+            NodeSchemaMatcher.onMatchingSchema( indexes.iterator(), propertyKeyId, existingPropertyKeyIds,
+                    index ->
+                    {
+                        int[] propertyIds = index.getPropertyIds();
+                        Value[] values = getValueTuple( relationship::properties, propertyCursor, propertyKeyId,
+                                afterValue == NO_VALUE ? beforeValue : afterValue, propertyIds, materializedProperties );
+                        ValueTuple before = null;
+                        ValueTuple after = null;
+                        if ( beforeValue != NO_VALUE )
+                        {
+                            Value[] valuesBefore = values.clone();
+                            valuesBefore[ArrayUtils.indexOf( propertyIds, propertyKeyId )] = beforeValue;
+                            before = ValueTuple.of( valuesBefore );
+                        }
+                        if ( afterValue != NO_VALUE )
+                        {
+                            indexingService.validateBeforeCommit( index, values );
+                            after = ValueTuple.of( values );
+                        }
+                        read.txState().indexDoUpdateEntry( index, relationship.relationshipReference(), before, after );
+                    } );
+        }
+    }
+
     private Value[] getValueTuple( NodeCursor node, PropertyCursor propertyCursor,
             int changedPropertyKeyId, Value changedValue, int[] indexPropertyIds,
             MutableIntObjectMap<Value> materializedValues )
+    {
+        return getValueTuple( node::properties, propertyCursor, changedPropertyKeyId, changedValue, indexPropertyIds, materializedValues );
+    }
+
+    private Value[] getValueTuple( Consumer<PropertyCursor> entityProperties, PropertyCursor propertyCursor,
+            int changedPropertyKeyId, Value changedValue, int[] indexPropertyIds,
+            MutableIntObjectMap<Value> materializedValues )
     {
         Value[] values = new Value[indexPropertyIds.length];
         int missing = 0;
@@ -183,11 +235,11 @@ public class IndexTxStateUpdater
             }
         }
 
-        // If we couldn't get all values that we wanted we need to load from the node. While we're loading values
+        // If we couldn't get all values that we wanted we need to load from the entity. While we're loading values
         // we'll place those values in the map so that other index updates from this change can just used them.
         if ( missing > 0 )
         {
-            node.properties( propertyCursor );
+            entityProperties.accept( propertyCursor );
             while ( missing > 0 && propertyCursor.next() )
             {
                 int k = ArrayUtils.indexOf( indexPropertyIds, propertyCursor.propertyKey() );
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+
+import java.util.PriorityQueue;
+
+import org.neo4j.helpers.collection.Pair;
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.internal.kernel.api.IndexReference;
+import org.neo4j.internal.kernel.api.NodeValueIndexCursor;
+import org.neo4j.internal.kernel.api.exceptions.KernelException;
+import org.neo4j.storageengine.api.NodePropertyAccessor;
+import org.neo4j.storageengine.api.schema.IndexProgressor;
+import org.neo4j.values.storable.CRSCalculator;
+import org.neo4j.values.storable.CoordinateReferenceSystem;
+import org.neo4j.values.storable.PointValue;
+import org.neo4j.values.storable.Value;
+
+import static org.neo4j.values.storable.CRSCalculator.GeographicCalculator.EARTH_RADIUS_METERS;
+
+/**
+ * Finds the k nodes whose indexed points are nearest to a given point.
+ * <p>
+ * The index is sought for the bounding boxes around the point for a search distance, which the index readers answer using the
+ * tiles of their space filling curves that intersect the boxes. The k nearest points found so far are kept in a bounded priority queue.
+ * Once the queue is full and all of its points are within the search distance no point outside of the boxes can be nearer, and the
+ * search is done. Otherwise the search distance grows, by doubling it while the queue isn't full and to the distance of the farthest
+ * point in it when it is, so the points near the given point are read a bounded number of times. Points already in the queue are
+ * skipped when read again, while points that didn't make it into the queue will not make it later either.
+ * <p>
+ * When the boxes would cover the whole earth, or after {@link #MAX_ROUNDS} rounds, all points in the coordinate reference system are
+ * read instead, which is also where searches in indexes with fewer than k points of that coordinate reference system end up.
+ */
+final class NearestNeighbourSearch
+{
+    static final int MAX_ROUNDS = 24;
+    private static final double INITIAL_GEOGRAPHIC_DISTANCE = 100.0;
+    private static final double INITIAL_CARTESIAN_DISTANCE = 1.0;
+
+    private final Read read;
+    private final IndexReference index;
+    private final int propertyKeyId;
+    private final PointValue point;
+    private final CoordinateReferenceSystem crs;
+    private final CRSCalculator calculator;
+    private final int k;
+    // Farthest first, so that it's the one to give way to nearer points
+    private final PriorityQueue<Neighbour> nearest = new PriorityQueue<>( ( a, b ) -> Double.compare( b.distance, a.distance ) );
+    private final MutableLongSet queued = new LongHashSet();
+
+    NearestNeighbourSearch( Read read, IndexReference index, PointValue point, int k )
+    {
+        this.read = read;
+        this.index = index;
+        this.propertyKeyId = index.properties()[0];
+        this.point = point;
+        this.crs = point.getCoordinateReferenceSystem();
+        this.calculator = crs.getCalculator();
+        this.k = k;
+    }
+
+    /**
+     * @param cursor cursor to seek the index with.
+     * @param accessor for reading the points of nodes whose index entries don't come with values.
+     * @param client the client to give the nearest nodes to, nearest first.
+     * @param needsValues whether or not the client wants the points together with the nodes.
+     * @return progressor giving the nearest nodes to the client.
+     */
+    IndexProgressor search( NodeValueIndexCursor cursor, NodePropertyAccessor accessor, IndexProgressor.NodeValueClient client, boolean needsValues )
+            throws KernelException
+    {
+        double distance = crs.isGeographic() ? INITIAL_GEOGRAPHIC_DISTANCE : INITIAL_CARTESIAN_DISTANCE;
+        double coveringDistance = crs.isGeographic() && crs.getDimension() == 2 ? Math.PI * EARTH_RADIUS_METERS : Double.POSITIVE_INFINITY;
+        for ( int round = 0; round < MAX_ROUNDS && distance < coveringDistance; round++ )
+        {
+            for ( Pair<PointValue,PointValue> box : calculator.boundingBox( point, distance ) )
+            {
+                seek( cursor, accessor, IndexQuery.range( propertyKeyId, box.first(), true, box.other(), true ) );
+            }
+            if ( nearest.size() == k && nearest.peek().distance <= distance )
+            {
+                return new NeighbourProgressor( nearestFirst(), client, needsValues );
+            }
+            distance = nearest.size() == k ? nearest.peek().distance : distance * 2;
+        }
+        seek( cursor, accessor, IndexQuery.range( propertyKeyId, crs ) );
+        return new NeighbourProgressor( nearestFirst(), client, needsValues );
+    }
+
+    private void seek( NodeValueIndexCursor cursor, NodePropertyAccessor accessor, IndexQuery query ) throws KernelException
+    {
+        read.nodeIndexSeek( index, cursor, IndexOrder.NONE, true, query );
+        while ( cursor.next() )
+        {
+            long node = cursor.nodeReference();
+            if ( queued.contains( node ) )
+            {
+                continue;
+            }
+            Value value = cursor.hasValue() ? cursor.propertyValue( 0 ) : accessor.getNodePropertyValue( node, propertyKeyId );
+            if ( value instanceof PointValue && ((PointValue) value).getCoordinateReferenceSystem().equals( crs ) )
+            {
+                offer( node, (PointValue) value );
+            }
+        }
+    }
+
+    private void offer( long node, PointValue value )
+    {
+        double distance = calculator.distance( point, value );
+        if ( nearest.size() == k )
+        {
+            if ( distance >= nearest.peek().distance )
+            {
+                return;
+            }
+            queued.remove( nearest.poll().node );
+        }
+        nearest.add( new Neighbour( node, value, distance ) );
+        queued.add( node );
+    }
+
+    private Neighbour[] nearestFirst()
+    {
+        Neighbour[] neighbours = new Neighbour[nearest.size()];
+        for ( int i = neighbours.length - 1; i >= 0; i-- )
+        {
+            neighbours[i] = nearest.poll();
+        }
+        return neighbours;
+    }
+
+    private static class Neighbour
+    {
+        private final long node;
+        private final PointValue point;
+        private final double distance;
+
+        Neighbour( long node, PointValue point, double distance )
+        {
+            this.node = node;
+            this.point = point;
+            this.distance = distance;
+        }
+    }
+
+    private static class NeighbourProgressor implements IndexProgressor
+    {
+        private final Neighbour[] neighbours;
+        private final NodeValueClient client;
+        private final boolean needsValues;
+        private int next;
+
+        NeighbourProgressor( Neighbour[] neighbours, NodeValueClient client, boolean needsValues )
+        {
+            this.neighbours = neighbours;
+            this.client = client;
+            this.needsValues = needsValues;
+        }
+
+        @Override
+        public boolean next()
+        {
+            while ( next < neighbours.length )
+            {
+                Neighbour neighbour = neighbours[next++];
+                if ( client.acceptNode( neighbour.node, needsValues ? new Value[]{neighbour.point} : null ) )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void close()
+        {
+            next = neighbours.length;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.api.set.primitive.LongSet;
+
+import org.neo4j.internal.kernel.api.NodeLabelIndexCursor;
+import org.neo4j.storageengine.api.schema.TokenScan;
+import org.neo4j.storageengine.api.txstate.LongDiffSets;
+
+import static org.neo4j.collection.PrimitiveLongCollections.mergeToSet;
+
+/**
+ * Parallel scan over the nodes with a label. Each node which got the label in the transaction is handed out in exactly one batch,
+ * while the nodes which were deleted or lost the label in the transaction are filtered out of the batches of the label scan store.
+ */
+final class NodeLabelIndexCursorScan extends BaseCursorScan<NodeLabelIndexCursor,TokenScan>
+{
+    private final LongSet removed;
+
+    NodeLabelIndexCursorScan( TokenScan storageScan, Read read, int label )
+    {
+        super( storageScan, read, txState -> txState.nodesWithLabelChanged( label ).getAdded().toArray() );
+        if ( hasChanges )
+        {
+            LongDiffSets changes = read.txState().nodesWithLabelChanged( label );
+            this.removed = mergeToSet( read.txState().addedAndRemovedNodes().getRemoved(), changes.getRemoved() );
+        }
+        else
+        {
+            this.removed = null;
+        }
+    }
+
+    @Override
+    boolean scanBatch( NodeLabelIndexCursor cursor, int sizeHint, LongIterator addedItemsBatch )
+    {
+        return ((DefaultNodeLabelIndexCursor) cursor).scanBatch( read, storageScan, sizeHint, addedItemsBatch, removed );
+    }
+}
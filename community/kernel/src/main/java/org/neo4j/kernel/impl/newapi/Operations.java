@@ -113,6 +113,7 @@ import static org.neo4j.kernel.impl.locking.ResourceTypes.indexEntryResourceId;
 import static org.neo4j.kernel.impl.newapi.IndexTxStateUpdater.LabelChangeType.ADDED_LABEL;
 import static org.neo4j.kernel.impl.newapi.IndexTxStateUpdater.LabelChangeType.REMOVED_LABEL;
 import static org.neo4j.storageengine.api.EntityType.NODE;
+import static org.neo4j.storageengine.api.EntityType.RELATIONSHIP;
 import static org.neo4j.storageengine.api.schema.IndexDescriptor.Type.UNIQUE;
 import static org.neo4j.values.storable.Values.NO_VALUE;
 
@@ -312,6 +313,17 @@ public class Operations implements Write, ExplicitIndexWrite, SchemaWrite
     private int[] loadSortedPropertyKeyList()
     {
         nodeCursor.properties( propertyCursor );
+        return sortedPropertyKeys();
+    }
+
+    private int[] loadSortedRelationshipPropertyKeyList()
+    {
+        relationshipCursor.properties( propertyCursor );
+        return sortedPropertyKeys();
+    }
+
+    private int[] sortedPropertyKeys()
+    {
         if ( !propertyCursor.next() )
         {
             return EMPTY_INT_ARRAY;
@@ -639,10 +651,16 @@ public class Operations implements Write, ExplicitIndexWrite, SchemaWrite
         ktx.assertOpen();
         singleRelationship( relationship );
         Value existingValue = readRelationshipProperty( propertyKey );
+        boolean hasRelatedSchema = indexingService.hasRelatedSchema( new long[]{relationshipCursor.type()}, propertyKey, RELATIONSHIP );
         if ( existingValue == NO_VALUE )
         {
             autoIndexing.relationships().propertyAdded( this, relationship, propertyKey, value );
             ktx.txState().relationshipDoReplaceProperty( relationship, propertyKey, NO_VALUE, value );
+            if ( hasRelatedSchema )
+            {
+                updater.onRelationshipPropertyChange( relationshipCursor, propertyCursor, propertyKey, loadSortedRelationshipPropertyKeyList(),
+                        NO_VALUE, value );
+            }
             return NO_VALUE;
         }
         else
@@ -653,6 +671,11 @@ public class Operations implements Write, ExplicitIndexWrite, SchemaWrite
             {
 
                 ktx.txState().relationshipDoReplaceProperty( relationship, propertyKey, existingValue, value );
+                if ( hasRelatedSchema )
+                {
+                    updater.onRelationshipPropertyChange( relationshipCursor, propertyCursor, propertyKey, loadSortedRelationshipPropertyKeyList(),
+                            existingValue, value );
+                }
             }
 
             return existingValue;
@@ -672,6 +695,11 @@ public class Operations implements Write, ExplicitIndexWrite, SchemaWrite
         {
             autoIndexing.relationships().propertyRemoved( this, relationship, propertyKey );
             ktx.txState().relationshipDoRemoveProperty( relationship, propertyKey );
+            if ( indexingService.hasRelatedSchema( new long[]{relationshipCursor.type()}, propertyKey, RELATIONSHIP ) )
+            {
+                updater.onRelationshipPropertyChange( relationshipCursor, propertyCursor, propertyKey, loadSortedRelationshipPropertyKeyList(),
+                        existingValue, NO_VALUE );
+            }
         }
 
         return existingValue;
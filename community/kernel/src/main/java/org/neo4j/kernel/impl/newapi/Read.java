@@ -22,6 +22,8 @@
  */
 package org.neo4j.kernel.impl.newapi;
 
+import java.util.Arrays;
+
 import org.neo4j.internal.kernel.api.IndexOrder;
 import org.neo4j.internal.kernel.api.IndexQuery;
 import org.neo4j.internal.kernel.api.IndexReference;
@@ -29,11 +31,13 @@ import org.neo4j.internal.kernel.api.NodeCursor;
 import org.neo4j.internal.kernel.api.NodeExplicitIndexCursor;
 import org.neo4j.internal.kernel.api.NodeLabelIndexCursor;
 import org.neo4j.internal.kernel.api.NodeValueIndexCursor;
+import org.neo4j.internal.kernel.api.PartitionedScan;
 import org.neo4j.internal.kernel.api.PropertyCursor;
 import org.neo4j.internal.kernel.api.RelationshipExplicitIndexCursor;
 import org.neo4j.internal.kernel.api.RelationshipGroupCursor;
 import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.internal.kernel.api.RelationshipTraversalCursor;
+import org.neo4j.internal.kernel.api.RelationshipValueIndexCursor;
 import org.neo4j.internal.kernel.api.Scan;
 import org.neo4j.internal.kernel.api.exceptions.KernelException;
 import org.neo4j.internal.kernel.api.exceptions.explicitindex.ExplicitIndexNotFoundKernelException;
@@ -52,11 +56,17 @@ import org.neo4j.kernel.api.txstate.auxiliary.AuxiliaryTransactionState;
 import org.neo4j.kernel.impl.api.KernelTransactionImplementation;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.kernel.impl.locking.ResourceTypes;
+import org.neo4j.storageengine.api.AllNodeScan;
+import org.neo4j.storageengine.api.AllRelationshipsScan;
+import org.neo4j.storageengine.api.EntityType;
 import org.neo4j.storageengine.api.lock.LockTracer;
 import org.neo4j.storageengine.api.lock.ResourceType;
 import org.neo4j.storageengine.api.schema.IndexProgressor;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.LabelScanReader;
+import org.neo4j.storageengine.api.schema.PartitionedValueSeek;
+import org.neo4j.storageengine.api.schema.RelationshipTypeScanReader;
+import org.neo4j.values.storable.PointValue;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueGroup;
 import org.neo4j.values.storable.Values;
@@ -102,6 +112,109 @@ abstract class Read implements TxStateHolder,
         reader.query( withFullPrecision, indexOrder, needsValues, query );
     }
 
+    @Override
+    public final PartitionedScan<NodeValueIndexCursor> nodeIndexSeek( IndexReference index, int desiredNumberOfPartitions, boolean needsValues,
+            IndexQuery... query ) throws IndexNotApplicableKernelException, IndexNotFoundKernelException
+    {
+        ktx.assertOpen();
+        if ( hasTxStateWithChanges() )
+        {
+            throw new IllegalStateException( "Transaction contains changes, partitioned index seeks can only be made in transactions without changes" );
+        }
+        if ( desiredNumberOfPartitions < 1 )
+        {
+            throw new IllegalArgumentException( "Desired number of partitions must be positive, was " + desiredNumberOfPartitions );
+        }
+        if ( hasForbiddenProperties( index ) )
+        {
+            return new NodeIndexPartitionedScan( PartitionedValueSeek.EMPTY );
+        }
+
+        IndexReader reader = indexReader( index, false );
+        if ( !reader.hasFullValuePrecision( query ) )
+        {
+            // Filtering of results on property values needs node and property cursors, which belong to the thread of this transaction
+            throw new IndexNotApplicableKernelException( format( "Partitioned seek is not supported for query %s, since results of it would need filtering",
+                    Arrays.toString( query ) ) );
+        }
+        return new NodeIndexPartitionedScan( reader.partitionedQuery( desiredNumberOfPartitions, needsValues, query ) );
+    }
+
+    /**
+     * Initializes the cursors of the threads consuming a partitioned index seek.
+     */
+    private class NodeIndexPartitionedScan implements PartitionedScan<NodeValueIndexCursor>
+    {
+        private final PartitionedValueSeek seek;
+
+        NodeIndexPartitionedScan( PartitionedValueSeek seek )
+        {
+            this.seek = seek;
+        }
+
+        @Override
+        public int getNumberOfPartitions()
+        {
+            return seek.getNumberOfPartitions();
+        }
+
+        @Override
+        public boolean reservePartition( NodeValueIndexCursor cursor )
+        {
+            ktx.assertOpen();
+            DefaultNodeValueIndexCursor cursorImpl = (DefaultNodeValueIndexCursor) cursor;
+            cursorImpl.setRead( Read.this );
+            return seek.reserve( cursorImpl );
+        }
+    }
+
+    @Override
+    public final long nodeIndexCount( IndexReference index, IndexQuery... query ) throws IndexNotFoundKernelException
+    {
+        ktx.assertOpen();
+        if ( hasForbiddenProperties( index ) )
+        {
+            return 0;
+        }
+        if ( hasTxStateWithChanges() )
+        {
+            // The counts in the index don't include the changes in the transaction state
+            return UNKNOWN_COUNT;
+        }
+        return indexReader( index, false ).countEntries( query );
+    }
+
+    @Override
+    public final void nodeIndexNearestNeighbours( IndexReference index, NodeValueIndexCursor cursor, PointValue point, int k, boolean needsValues )
+            throws KernelException
+    {
+        ktx.assertOpen();
+        if ( k < 1 )
+        {
+            throw new IllegalArgumentException( "Number of nearest neighbours must be positive, was " + k );
+        }
+        if ( index.properties().length != 1 )
+        {
+            throw new IndexNotApplicableKernelException( format( "Nearest neighbour search needs an index on a single property, got %s", index ) );
+        }
+        if ( hasForbiddenProperties( index ) )
+        {
+            cursor.close();
+            return;
+        }
+
+        DefaultNodeValueIndexCursor cursorImpl = (DefaultNodeValueIndexCursor) cursor;
+        cursorImpl.setRead( this );
+        IndexProgressor progressor;
+        try ( NodeValueIndexCursor seekCursor = cursors.allocateNodeValueIndexCursor();
+              CursorPropertyAccessor accessor = new CursorPropertyAccessor( cursors.allocateNodeCursor(), cursors.allocatePropertyCursor(), this ) )
+        {
+            progressor = new NearestNeighbourSearch( this, index, point, k ).search( seekCursor, accessor, cursorImpl, needsValues );
+        }
+        // The seeks of the search have already merged in the transaction state
+        cursorImpl.initializeWithoutTxState( progressor, new IndexQuery[]{IndexQuery.exists( index.properties()[0] )}, needsValues );
+    }
+
     @Override
     public void nodeIndexDistinctValues( IndexReference index, NodeValueIndexCursor cursor, boolean needsValues ) throws IndexNotFoundKernelException
     {
@@ -118,7 +231,28 @@ abstract class Read implements TxStateHolder,
     private IndexProgressor.NodeValueClient injectFullValuePrecision( IndexProgressor.NodeValueClient cursor,
             IndexQuery[] query, IndexReader reader )
     {
-        IndexProgressor.NodeValueClient target = cursor;
+        IndexQuery[] filters = valueFilters( query, reader );
+        // filters[] can contain null elements. The non-null elements are the filters and each sit in the designated slot
+        // matching the values from the index.
+        return filters == null ? cursor
+                               : new NodeValueClientFilter( cursor, cursors.allocateNodeCursor(), cursors.allocatePropertyCursor(), this, filters );
+    }
+
+    private IndexProgressor.NodeValueClient injectFullValuePrecisionForRelationships( IndexProgressor.NodeValueClient cursor,
+            IndexQuery[] query, IndexReader reader )
+    {
+        IndexQuery[] filters = valueFilters( query, reader );
+        return filters == null ? cursor
+                               : new RelationshipValueClientFilter( cursor, cursors.allocateRelationshipScanCursor(), cursors.allocatePropertyCursor(), this,
+                                       filters );
+    }
+
+    /**
+     * @return the predicates of the query that results from the index must be filtered on, in the slots of their properties,
+     * or {@code null} if the index answers the query with full value precision.
+     */
+    private static IndexQuery[] valueFilters( IndexQuery[] query, IndexReader reader )
+    {
         if ( !reader.hasFullValuePrecision( query ) )
         {
             IndexQuery[] filters = new IndexQuery[query.length];
@@ -147,19 +281,25 @@ abstract class Read implements TxStateHolder,
                         }
                     }
                     break;
+                case stringContains:
+                case stringSuffix:
+                    // Readers serving these from n-gram postings only know that candidates have all n-grams of the searched string
+                    if ( !reader.hasFullValuePrecision( q ) )
+                    {
+                        filters[i] = q;
+                        count++;
+                    }
+                    break;
                 default:
                     break;
                 }
             }
             if ( count > 0 )
             {
-                // filters[] can contain null elements. The non-null elements are the filters and each sit in the designated slot
-                // matching the values from the index.
-                target = new NodeValueClientFilter( target, cursors.allocateNodeCursor(),
-                        cursors.allocatePropertyCursor(), this, filters );
+                return filters;
             }
         }
-        return target;
+        return null;
     }
 
     @Override
@@ -208,6 +348,28 @@ abstract class Read implements TxStateHolder,
         indexReader( index, false ).query( cursorImpl, indexOrder, needsValues, IndexQuery.exists( firstProperty ) );
     }
 
+    @Override
+    public final void relationshipIndexSeek( IndexReference index, RelationshipValueIndexCursor cursor, IndexOrder indexOrder, boolean needsValues,
+            IndexQuery... query ) throws IndexNotApplicableKernelException, IndexNotFoundKernelException
+    {
+        ktx.assertOpen();
+        if ( index.schema().entityType() != EntityType.RELATIONSHIP )
+        {
+            throw new IndexNotApplicableKernelException( format( "Index %s is not an index on relationships", index ) );
+        }
+        if ( hasForbiddenProperties( index ) )
+        {
+            cursor.close();
+            return;
+        }
+
+        DefaultRelationshipValueIndexCursor cursorImpl = (DefaultRelationshipValueIndexCursor) cursor;
+        IndexReader reader = indexReader( index, false );
+        cursorImpl.setRead( this );
+        IndexProgressor.NodeValueClient withFullPrecision = injectFullValuePrecisionForRelationships( cursorImpl, query, reader );
+        reader.query( withFullPrecision, indexOrder, needsValues, query );
+    }
+
     private boolean hasForbiddenProperties( IndexReference index )
     {
         AccessMode mode = ktx.securityContext().mode();
@@ -258,7 +420,7 @@ abstract class Read implements TxStateHolder,
     public final Scan<NodeLabelIndexCursor> nodeLabelScan( int label )
     {
         ktx.assertOpen();
-        throw new UnsupportedOperationException( "not implemented" );
+        return new NodeLabelIndexCursorScan( labelScanReader().nodeLabelScan( label ), this, label );
     }
 
     @Override
@@ -272,7 +434,7 @@ abstract class Read implements TxStateHolder,
     public final Scan<NodeCursor> allNodesScan()
     {
         ktx.assertOpen();
-        throw new UnsupportedOperationException( "not implemented" );
+        return new NodeCursorScan( nodeStoreScan(), this );
     }
 
     @Override
@@ -300,21 +462,21 @@ abstract class Read implements TxStateHolder,
     public final Scan<RelationshipScanCursor> allRelationshipsScan()
     {
         ktx.assertOpen();
-        throw new UnsupportedOperationException( "not implemented" );
+        return new RelationshipCursorScan( relationshipStoreScan(), this );
     }
 
     @Override
     public final void relationshipTypeScan( int type, RelationshipScanCursor cursor )
     {
         ktx.assertOpen();
-        ((DefaultRelationshipScanCursor) cursor).scan( type, this );
+        ((DefaultRelationshipScanCursor) cursor).scan( type, relationshipTypeScanReader().relationshipsWithType( type ), this );
     }
 
     @Override
     public final Scan<RelationshipScanCursor> relationshipTypeScan( int type )
     {
         ktx.assertOpen();
-        throw new UnsupportedOperationException( "not implemented" );
+        return new RelationshipTypeCursorScan( relationshipTypeScanReader().relationshipTypeScan( type ), this, type );
     }
 
     @Override
@@ -465,6 +627,12 @@ abstract class Read implements TxStateHolder,
 
     abstract LabelScanReader labelScanReader();
 
+    abstract RelationshipTypeScanReader relationshipTypeScanReader();
+
+    abstract AllNodeScan nodeStoreScan();
+
+    abstract AllRelationshipsScan relationshipStoreScan();
+
     abstract ExplicitIndex explicitNodeIndex( String indexName ) throws ExplicitIndexNotFoundKernelException;
 
     abstract ExplicitIndex explicitRelationshipIndex( String indexName ) throws ExplicitIndexNotFoundKernelException;
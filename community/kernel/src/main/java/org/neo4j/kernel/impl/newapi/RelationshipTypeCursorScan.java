@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import org.eclipse.collections.api.iterator.LongIterator;
+
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
+import org.neo4j.storageengine.api.schema.TokenScan;
+
+/**
+ * Parallel scan over the relationships of a type, as provided by the relationship type scan store.
+ */
+final class RelationshipTypeCursorScan extends BaseCursorScan<RelationshipScanCursor,TokenScan>
+{
+    private final int type;
+
+    RelationshipTypeCursorScan( TokenScan storageScan, Read read, int type )
+    {
+        super( storageScan, read, txState -> txState.addedAndRemovedRelationships().getAdded().toArray() );
+        this.type = type;
+    }
+
+    @Override
+    boolean scanBatch( RelationshipScanCursor cursor, int sizeHint, LongIterator addedItemsBatch )
+    {
+        return ((DefaultRelationshipScanCursor) cursor).scanBatch( read, type, storageScan, sizeHint, addedItemsBatch, hasChanges );
+    }
+}
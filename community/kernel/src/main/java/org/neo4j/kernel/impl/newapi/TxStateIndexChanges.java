@@ -85,7 +85,7 @@ class TxStateIndexChanges
         {
             throw new IllegalStateException( "Suffix and contains queries are only supported for single property queries" );
         }
-        return indexUpdatesForScanAndFilter( txState, descriptor, query, indexOrder );
+        return indexUpdatesForScanAndFilter( txState, descriptor, new IndexQuery[]{query}, indexOrder );
     }
 
     static AddedWithValuesAndRemoved indexUpdatesWithValuesForSuffixOrContains( ReadableTransactionState txState,
@@ -97,6 +97,24 @@ class TxStateIndexChanges
         {
             throw new IllegalStateException( "Suffix and contains queries are only supported for single property queries" );
         }
+        return indexUpdatesWithValuesScanAndFilter( txState, descriptor, new IndexQuery[]{query}, indexOrder );
+    }
+
+    // COMPOSITE
+
+    static AddedAndRemoved indexUpdatesForCompositeSeek( ReadableTransactionState txState,
+                                                         IndexDescriptor descriptor,
+                                                         IndexQuery[] query,
+                                                         IndexOrder indexOrder )
+    {
+        return indexUpdatesForScanAndFilter( txState, descriptor, query, indexOrder );
+    }
+
+    static AddedWithValuesAndRemoved indexUpdatesWithValuesForCompositeSeek( ReadableTransactionState txState,
+                                                                             IndexDescriptor descriptor,
+                                                                             IndexQuery[] query,
+                                                                             IndexOrder indexOrder )
+    {
         return indexUpdatesWithValuesScanAndFilter( txState, descriptor, query, indexOrder );
     }
 
@@ -321,7 +339,7 @@ class TxStateIndexChanges
 
     private static AddedAndRemoved indexUpdatesForScanAndFilter( ReadableTransactionState txState,
                                                                  IndexDescriptor descriptor,
-                                                                 IndexQuery filter,
+                                                                 IndexQuery[] filter,
                                                                  IndexOrder indexOrder )
     {
         Map<ValueTuple,? extends LongDiffSets> updates = getUpdates( txState, descriptor, indexOrder );
@@ -337,7 +355,7 @@ class TxStateIndexChanges
         for ( Map.Entry<ValueTuple,? extends LongDiffSets> entry : updates.entrySet() )
         {
             ValueTuple key = entry.getKey();
-            if ( filter == null || filter.acceptsValue( key.getOnlyValue() ) )
+            if ( filter == null || acceptsValues( filter, key ) )
             {
                 LongDiffSets diffSet = entry.getValue();
                 added.addAll( diffSet.getAdded() );
@@ -349,7 +367,7 @@ class TxStateIndexChanges
 
     private static AddedWithValuesAndRemoved indexUpdatesWithValuesScanAndFilter( ReadableTransactionState txState,
                                                                                   IndexDescriptor descriptor,
-                                                                                  IndexQuery filter,
+                                                                                  IndexQuery[] filter,
                                                                                   IndexOrder indexOrder )
     {
         Map<ValueTuple,? extends LongDiffSets> updates = getUpdates( txState, descriptor, indexOrder );
@@ -365,7 +383,7 @@ class TxStateIndexChanges
         for ( Map.Entry<ValueTuple,? extends LongDiffSets> entry : updates.entrySet() )
         {
             ValueTuple key = entry.getKey();
-            if ( filter == null || filter.acceptsValue( key.getOnlyValue() ) )
+            if ( filter == null || acceptsValues( filter, key ) )
             {
                 Value[] values = key.getValues();
                 LongDiffSets diffSet = entry.getValue();
@@ -376,6 +394,18 @@ class TxStateIndexChanges
         return new AddedWithValuesAndRemoved( indexOrder == IndexOrder.DESCENDING ? added.asReversed() : added, removed );
     }
 
+    private static boolean acceptsValues( IndexQuery[] filter, ValueTuple key )
+    {
+        for ( int i = 0; i < filter.length; i++ )
+        {
+            if ( !filter[i].acceptsValue( key.valueAt( i ) ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static Map<ValueTuple,? extends LongDiffSets> getUpdates( ReadableTransactionState txState,
                                                                       IndexDescriptor descriptor,
                                                                       IndexOrder indexOrder )
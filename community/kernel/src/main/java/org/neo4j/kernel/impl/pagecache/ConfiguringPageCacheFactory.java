@@ -40,6 +40,7 @@ import org.neo4j.memory.GlobalMemoryTracker;
 import org.neo4j.scheduler.JobScheduler;
 
 import static org.neo4j.graphdb.factory.GraphDatabaseSettings.mapped_memory_page_size;
+import static org.neo4j.graphdb.factory.GraphDatabaseSettings.pagecache_compressed_memory;
 import static org.neo4j.graphdb.factory.GraphDatabaseSettings.pagecache_memory;
 import static org.neo4j.graphdb.factory.GraphDatabaseSettings.pagecache_swapper;
 import static org.neo4j.kernel.configuration.Settings.BYTES;
@@ -94,8 +95,13 @@ public class ConfiguringPageCacheFactory
     {
         checkPageSize( config );
         MemoryAllocator memoryAllocator = buildMemoryAllocator( config );
+        long compressedPagesMemory = config.get( pagecache_compressed_memory );
+        if ( compressedPagesMemory > 0 )
+        {
+            log.info( "Configured " + pagecache_compressed_memory.name() + ": " + compressedPagesMemory + " bytes" );
+        }
         return new MuninnPageCache( swapperFactory, memoryAllocator, pageCacheTracer, pageCursorTracerSupplier,
-                versionContextSupplier, scheduler );
+                versionContextSupplier, scheduler, compressedPagesMemory );
     }
 
     private MemoryAllocator buildMemoryAllocator( Config config )
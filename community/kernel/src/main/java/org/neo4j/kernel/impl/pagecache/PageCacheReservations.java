@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import java.nio.file.OpenOption;
+import java.util.Arrays;
+
+import org.neo4j.graphdb.config.Setting;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageReservation;
+import org.neo4j.kernel.configuration.Config;
+
+import static org.neo4j.kernel.configuration.Settings.BYTES;
+
+/**
+ * Turns the configured page cache reservations, like
+ * {@link org.neo4j.graphdb.factory.GraphDatabaseSettings#pagecache_reserved_node_store}, into {@link PageReservation}
+ * open options for {@link PageCache#map(java.io.File, int, OpenOption...)}.
+ */
+public final class PageCacheReservations
+{
+    private PageCacheReservations()
+    {
+    }
+
+    /**
+     * Add the page reservation from the given setting, if it has been configured, to the given open options.
+     * All the files that are mapped with the options returned for a given setting, share the same reservation.
+     *
+     * @param config the configuration to read the reservation setting from.
+     * @param setting the reservation setting, either a percentage of the page cache, or an amount of memory.
+     * @param pageCache the page cache that the files will be mapped in.
+     * @param openOptions the open options to add the reservation to.
+     * @return the given open options, with the reservation added if one has been configured.
+     */
+    public static OpenOption[] withReservation( Config config, Setting<String> setting, PageCache pageCache,
+            OpenOption... openOptions )
+    {
+        String value = config.get( setting );
+        if ( value == null || value.trim().isEmpty() )
+        {
+            return openOptions;
+        }
+        OpenOption[] result = Arrays.copyOf( openOptions, openOptions.length + 1 );
+        result[openOptions.length] = parseReservation( setting.name(), value.trim(), pageCache.pageSize() );
+        return result;
+    }
+
+    static PageReservation parseReservation( String name, String value, int cachePageSize )
+    {
+        if ( value.endsWith( "%" ) )
+        {
+            double percentage = Double.parseDouble( value.substring( 0, value.length() - 1 ).trim() );
+            return PageReservation.fraction( name, percentage / 100.0 );
+        }
+        return PageReservation.pages( name, BYTES.apply( value ) / cachePageSize );
+    }
+}
@@ -30,6 +30,7 @@ import org.neo4j.kernel.impl.store.NodeLabelsField;
 import org.neo4j.kernel.impl.store.NodeStore;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.impl.store.record.RecordLoad;
+import org.neo4j.storageengine.api.AllNodeScan;
 import org.neo4j.storageengine.api.StorageNodeCursor;
 
 public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor
@@ -39,12 +40,14 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor
     private long next;
     private long highMark;
     private long nextStoreReference;
+    private boolean batched;
     private boolean open;
 
     RecordNodeCursor( NodeStore read )
     {
         super( NO_ID );
         this.read = read;
+        this.next = NO_ID;
     }
 
     @Override
@@ -56,14 +59,43 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor
         }
         if ( pageCursor == null )
         {
-            pageCursor = nodePage( 0 );
+            pageCursor = nodeScanPage( 0 );
         }
         this.next = 0;
         this.highMark = nodeHighMark();
         this.nextStoreReference = NO_ID;
+        this.batched = false;
         this.open = true;
     }
 
+    @Override
+    public boolean scanBatch( AllNodeScan scan, int sizeHint )
+    {
+        if ( getId() != NO_ID )
+        {
+            resetState();
+        }
+        int recordsPerPage = read.getRecordsPerPage();
+        long start = ((RecordScan) scan).reserve( sizeHint, recordsPerPage );
+        long storeHighMark = nodeHighMark();
+        if ( start > storeHighMark )
+        {
+            this.next = NO_ID;
+            this.open = true;
+            return false;
+        }
+        if ( pageCursor == null )
+        {
+            pageCursor = nodeScanPage( start );
+        }
+        this.next = start;
+        this.highMark = Math.min( start + RecordScan.batchSize( sizeHint, recordsPerPage ) - 1, storeHighMark );
+        this.nextStoreReference = NO_ID;
+        this.batched = true;
+        this.open = true;
+        return true;
+    }
+
     @Override
     public void single( long reference )
     {
@@ -79,6 +111,7 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor
         //This marks the cursor as a "single cursor"
         this.highMark = NO_ID;
         this.nextStoreReference = NO_ID;
+        this.batched = false;
         this.open = true;
     }
 
@@ -165,6 +198,12 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor
                     next = NO_ID;
                     return inUse();
                 }
+                else if ( batched )
+                {
+                    //we are a cursor of a parallel scan, which sticks to its batch
+                    next = NO_ID;
+                    return inUse();
+                }
                 else
                 {
                     //we are a "scan cursor"
@@ -248,6 +287,11 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor
         return read.openPageCursorForReading( reference );
     }
 
+    private PageCursor nodeScanPage( long reference )
+    {
+        return read.openPageCursorForScanning( reference );
+    }
+
     private long nodeHighMark()
     {
         return read.getHighestPossibleIdInUse();
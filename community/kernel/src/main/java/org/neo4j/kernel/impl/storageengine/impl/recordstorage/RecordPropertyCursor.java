@@ -25,8 +25,10 @@ package org.neo4j.kernel.impl.storageengine.impl.recordstorage;
 import org.apache.commons.lang3.exception.CloneFailedException;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.kernel.impl.cache.NodePropertyValueCache;
 import org.neo4j.kernel.impl.store.GeometryType;
 import org.neo4j.kernel.impl.store.LongerShortString;
 import org.neo4j.kernel.impl.store.PropertyStore;
@@ -38,7 +40,6 @@ import org.neo4j.kernel.impl.store.record.PropertyRecord;
 import org.neo4j.kernel.impl.store.record.RecordLoad;
 import org.neo4j.kernel.impl.util.Bits;
 import org.neo4j.storageengine.api.StoragePropertyCursor;
-import org.neo4j.string.UTF8;
 import org.neo4j.values.storable.ArrayValue;
 import org.neo4j.values.storable.BooleanValue;
 import org.neo4j.values.storable.ByteValue;
@@ -58,6 +59,9 @@ class RecordPropertyCursor extends PropertyRecord implements StoragePropertyCurs
     private static final int INITIAL_POSITION = -1;
 
     private final PropertyStore read;
+    private final NodePropertyValueCache nodePropertyValueCache;
+    private long nodeReference = NO_ID;
+    private long cacheStamp;
     private long next;
     private int block;
     public ByteBuffer buffer;
@@ -67,9 +71,15 @@ class RecordPropertyCursor extends PropertyRecord implements StoragePropertyCurs
     private boolean open;
 
     RecordPropertyCursor( PropertyStore read )
+    {
+        this( read, NodePropertyValueCache.DISABLED );
+    }
+
+    RecordPropertyCursor( PropertyStore read, NodePropertyValueCache nodePropertyValueCache )
     {
         super( NO_ID );
         this.read = read;
+        this.nodePropertyValueCache = nodePropertyValueCache;
     }
 
     @Override
@@ -93,6 +103,19 @@ class RecordPropertyCursor extends PropertyRecord implements StoragePropertyCurs
         // Store state
         this.next = reference;
         this.open = true;
+        this.nodeReference = NO_ID;
+    }
+
+    @Override
+    public void initNodeProperties( long reference, long nodeReference )
+    {
+        init( reference );
+        if ( nodePropertyValueCache.isEnabled() )
+        {
+            // Stamp before any record is read, so that values read from records changed after this point are not cached
+            this.cacheStamp = nodePropertyValueCache.stamp( nodeReference );
+            this.nodeReference = nodeReference;
+        }
     }
 
     @Override
@@ -151,6 +174,7 @@ class RecordPropertyCursor extends PropertyRecord implements StoragePropertyCurs
         if ( open )
         {
             open = false;
+            nodeReference = NO_ID;
             clear();
         }
     }
@@ -184,17 +208,66 @@ class RecordPropertyCursor extends PropertyRecord implements StoragePropertyCurs
         case CHAR:
         case SHORT_STRING:
             return ValueGroup.TEXT;
-        case TEMPORAL:
-        case GEOMETRY:
         case SHORT_ARRAY:
+            // the element type sits in the header of the first block, next to the property type
+            return arrayType( (int) ((currentBlock() >>> 28) & 0xF) );
         case ARRAY:
-            // value read is needed to get correct value group since type is not fine grained enough to match all ValueGroups
+            // the element type is the first byte of the first dynamic record, no need to read the rest of the chain
+            long reference = PropertyBlock.fetchLong( currentBlock() );
+            return arrayType( read.loadArrayTypeId( reference, arrayPage( reference ) ) );
+        case TEMPORAL:
+        case GEOMETRY:
+            // value read is needed to get correct value group since type is not fine grained enough to match all ValueGroups,
+            // but these values are inlined in the property record so this is cheap
             return propertyValue().valueGroup();
         default:
             throw new UnsupportedOperationException( "not implemented" );
         }
     }
 
+    private ValueGroup arrayType( int typeId )
+    {
+        if ( typeId == PropertyType.STRING.intValue() || typeId == PropertyType.CHAR.intValue() )
+        {
+            return ValueGroup.TEXT_ARRAY;
+        }
+        if ( typeId == PropertyType.BOOL.intValue() )
+        {
+            return ValueGroup.BOOLEAN_ARRAY;
+        }
+        if ( typeId == PropertyType.GEOMETRY.intValue() )
+        {
+            return ValueGroup.GEOMETRY_ARRAY;
+        }
+        if ( typeId == PropertyType.TEMPORAL.intValue() )
+        {
+            // the kind of temporal is in the array header, which is only available by reading the value
+            return propertyValue().valueGroup();
+        }
+        return ValueGroup.NUMBER_ARRAY;
+    }
+
+    @Override
+    public int propertyValueSize()
+    {
+        PropertyType type = type();
+        if ( type == null )
+        {
+            return 0;
+        }
+        switch ( type )
+        {
+        case STRING:
+            long stringReference = PropertyBlock.fetchLong( currentBlock() );
+            return read.loadStringLength( stringReference, stringPage( stringReference ) );
+        case ARRAY:
+            long arrayReference = PropertyBlock.fetchLong( currentBlock() );
+            return read.loadArrayLength( arrayReference, arrayPage( arrayReference ) );
+        default:
+            return type.calculateNumberOfBlocksUsed( currentBlock() ) * Long.BYTES;
+        }
+    }
+
     private PropertyType type()
     {
         return PropertyType.getPropertyTypeOrNull( currentBlock() );
@@ -203,9 +276,30 @@ class RecordPropertyCursor extends PropertyRecord implements StoragePropertyCurs
     @Override
     public Value propertyValue()
     {
+        if ( nodeReference != NO_ID )
+        {
+            PropertyType type = type();
+            if ( type == PropertyType.STRING || type == PropertyType.ARRAY )
+            {
+                // only values in dynamic records are cached, inlined values are cheaper to decode than to look up
+                return readCachedValue();
+            }
+        }
         return readValue();
     }
 
+    private Value readCachedValue()
+    {
+        int propertyKey = propertyKey();
+        Value value = nodePropertyValueCache.get( nodeReference, propertyKey );
+        if ( value == null )
+        {
+            value = readValue();
+            nodePropertyValueCache.put( nodeReference, propertyKey, value, buffer.limit(), cacheStamp );
+        }
+        return value;
+    }
+
     private Value readValue()
     {
         PropertyType type = type();
@@ -261,21 +355,13 @@ class RecordPropertyCursor extends PropertyRecord implements StoragePropertyCurs
     private ArrayValue readLongArray()
     {
         long reference = PropertyBlock.fetchLong( currentBlock() );
-        if ( arrayPage == null )
-        {
-            arrayPage = arrayPage( reference );
-        }
-        return array( this, reference, arrayPage );
+        return array( this, reference, arrayPage( reference ) );
     }
 
     private TextValue readLongString()
     {
         long reference = PropertyBlock.fetchLong( currentBlock() );
-        if ( stringPage == null )
-        {
-            stringPage = stringPage( reference );
-        }
-        return string( this, reference, stringPage );
+        return string( this, reference, stringPage( reference ) );
     }
 
     private Value readShortArray()
@@ -389,12 +475,20 @@ class RecordPropertyCursor extends PropertyRecord implements StoragePropertyCurs
 
     private PageCursor stringPage( long reference )
     {
-        return read.openStringPageCursor( reference );
+        if ( stringPage == null )
+        {
+            stringPage = read.openStringPageCursor( reference );
+        }
+        return stringPage;
     }
 
     private PageCursor arrayPage( long reference )
     {
-        return read.openArrayPageCursor( reference );
+        if ( arrayPage == null )
+        {
+            arrayPage = read.openArrayPageCursor( reference );
+        }
+        return arrayPage;
     }
 
     private void property( PropertyRecord record, long reference, PageCursor pageCursor )
@@ -408,7 +502,8 @@ class RecordPropertyCursor extends PropertyRecord implements StoragePropertyCurs
     {
         ByteBuffer buffer = cursor.buffer = read.loadString( reference, cursor.buffer, page );
         buffer.flip();
-        return Values.stringValue( UTF8.decode( buffer.array(), 0, buffer.limit() ) );
+        // The buffer is reused between reads, so copy out the bytes, but leave decoding them to whoever needs the string
+        return Values.utf8Value( Arrays.copyOf( buffer.array(), buffer.limit() ) );
     }
 
     private ArrayValue array( RecordPropertyCursor cursor, long reference, PageCursor page )
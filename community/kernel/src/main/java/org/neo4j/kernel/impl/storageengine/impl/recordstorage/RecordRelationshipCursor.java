@@ -90,6 +90,11 @@ abstract class RecordRelationshipCursor extends RelationshipRecord implements Re
         return relationshipStore.openPageCursorForReading( reference );
     }
 
+    PageCursor relationshipScanPage( long reference )
+    {
+        return relationshipStore.openPageCursorForScanning( reference );
+    }
+
     void relationship( RelationshipRecord record, long reference, PageCursor pageCursor )
     {
         // When scanning, we inspect RelationshipRecord.inUse(), so using RecordLoad.CHECK is fine
@@ -26,6 +26,7 @@ import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.kernel.impl.store.RelationshipStore;
 import org.neo4j.kernel.impl.store.record.RecordLoad;
 import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.storageengine.api.AllRelationshipsScan;
 import org.neo4j.storageengine.api.StorageRelationshipScanCursor;
 
 class RecordRelationshipScanCursor extends RecordRelationshipCursor implements StorageRelationshipScanCursor
@@ -35,11 +36,13 @@ class RecordRelationshipScanCursor extends RecordRelationshipCursor implements S
     private long highMark;
     private long nextStoreReference;
     private PageCursor pageCursor;
+    private boolean batched;
     private boolean open;
 
     RecordRelationshipScanCursor( RelationshipStore relationshipStore )
     {
         super( relationshipStore );
+        this.next = NO_ID;
     }
 
     @Override
@@ -57,15 +60,44 @@ class RecordRelationshipScanCursor extends RecordRelationshipCursor implements S
         }
         if ( pageCursor == null )
         {
-            pageCursor = relationshipPage( 0 );
+            pageCursor = relationshipScanPage( 0 );
         }
         this.next = 0;
         this.filterType = type;
         this.highMark = relationshipHighMark();
         this.nextStoreReference = NO_ID;
+        this.batched = false;
         this.open = true;
     }
 
+    @Override
+    public boolean scanBatch( AllRelationshipsScan scan, int sizeHint )
+    {
+        if ( getId() != NO_ID )
+        {
+            resetState();
+        }
+        int recordsPerPage = relationshipStore.getRecordsPerPage();
+        long start = ((RecordScan) scan).reserve( sizeHint, recordsPerPage );
+        long storeHighMark = relationshipHighMark();
+        this.filterType = -1;
+        this.nextStoreReference = NO_ID;
+        this.open = true;
+        if ( start > storeHighMark )
+        {
+            this.next = NO_ID;
+            return false;
+        }
+        if ( pageCursor == null )
+        {
+            pageCursor = relationshipScanPage( start );
+        }
+        this.next = start;
+        this.highMark = Math.min( start + RecordScan.batchSize( sizeHint, recordsPerPage ) - 1, storeHighMark );
+        this.batched = true;
+        return true;
+    }
+
     @Override
     public void single( long reference )
     {
@@ -81,6 +113,7 @@ class RecordRelationshipScanCursor extends RecordRelationshipCursor implements S
         this.filterType = -1;
         this.highMark = NO_ID;
         this.nextStoreReference = NO_ID;
+        this.batched = false;
         this.open = true;
     }
 
@@ -115,6 +148,12 @@ class RecordRelationshipScanCursor extends RecordRelationshipCursor implements S
                     next = NO_ID;
                     return inUse();
                 }
+                else if ( batched )
+                {
+                    //we are a cursor of a parallel scan, which sticks to its batch
+                    next = NO_ID;
+                    return isWantedTypeAndInUse();
+                }
                 else
                 {
                     //we are a "scan cursor"
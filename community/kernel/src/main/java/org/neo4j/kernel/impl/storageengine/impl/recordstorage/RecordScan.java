@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.storageengine.impl.recordstorage;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.storageengine.api.AllNodeScan;
+import org.neo4j.storageengine.api.AllRelationshipsScan;
+
+/**
+ * A scan over all records of a store, shared between the cursors of a parallel scan. The records are handed out in batches of
+ * whole pages, so that no two cursors ever read from the same page.
+ */
+final class RecordScan implements AllNodeScan, AllRelationshipsScan
+{
+    private final AtomicLong nextStart = new AtomicLong();
+
+    /**
+     * Reserves the next batch of records.
+     *
+     * @param sizeHint the desired number of records in the batch.
+     * @param recordsPerPage the number of records in each page of the store.
+     * @return the id of the first record of the reserved batch, which spans {@link #batchSize(int, int)} records.
+     */
+    long reserve( int sizeHint, int recordsPerPage )
+    {
+        return nextStart.getAndAdd( batchSize( sizeHint, recordsPerPage ) );
+    }
+
+    /**
+     * @return the given size hint, rounded up to a whole number of pages.
+     */
+    static long batchSize( int sizeHint, int recordsPerPage )
+    {
+        long pages = Math.max( 1, (sizeHint + (long) recordsPerPage - 1) / recordsPerPage );
+        return pages * recordsPerPage;
+    }
+}
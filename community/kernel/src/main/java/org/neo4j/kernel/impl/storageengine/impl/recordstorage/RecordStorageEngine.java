@@ -45,6 +45,7 @@ import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
 import org.neo4j.kernel.api.exceptions.TransactionApplyKernelException;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
 import org.neo4j.kernel.api.labelscan.LabelScanWriter;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
 import org.neo4j.kernel.api.labelscan.LoggingMonitor;
 import org.neo4j.kernel.api.txstate.TransactionCountingStateVisitor;
 import org.neo4j.kernel.configuration.Config;
@@ -65,14 +66,17 @@ import org.neo4j.kernel.impl.api.index.IndexingService;
 import org.neo4j.kernel.impl.api.index.IndexingServiceFactory;
 import org.neo4j.kernel.impl.api.index.IndexingUpdateService;
 import org.neo4j.kernel.impl.api.scan.FullLabelStream;
+import org.neo4j.kernel.impl.api.scan.FullRelationshipTypeStream;
 import org.neo4j.kernel.impl.api.store.SchemaCache;
 import org.neo4j.kernel.impl.cache.BridgingCacheAccess;
+import org.neo4j.kernel.impl.cache.NodePropertyValueCache;
 import org.neo4j.kernel.impl.constraints.ConstraintSemantics;
 import org.neo4j.kernel.impl.core.CacheAccessBackDoor;
 import org.neo4j.kernel.impl.core.TokenHolders;
 import org.neo4j.kernel.impl.factory.OperationalMode;
 import org.neo4j.kernel.impl.index.IndexConfigStore;
 import org.neo4j.kernel.impl.index.labelscan.NativeLabelScanStore;
+import org.neo4j.kernel.impl.index.labelscan.NativeRelationshipTypeScanStore;
 import org.neo4j.kernel.impl.locking.LockGroup;
 import org.neo4j.kernel.impl.locking.LockService;
 import org.neo4j.kernel.impl.storageengine.impl.recordstorage.id.IdController;
@@ -119,6 +123,7 @@ import org.neo4j.util.VisibleForTesting;
 import org.neo4j.util.concurrent.WorkSync;
 
 import static org.neo4j.kernel.impl.locking.LockService.NO_LOCK_SERVICE;
+import static org.neo4j.kernel.impl.pagecache.PageCacheReservations.withReservation;
 import static org.neo4j.storageengine.api.TransactionApplicationMode.RECOVERY;
 import static org.neo4j.storageengine.api.TransactionApplicationMode.REVERSE_RECOVERY;
 
@@ -132,7 +137,9 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     private final SchemaCache schemaCache;
     private final IntegrityValidator integrityValidator;
     private final CacheAccessBackDoor cacheAccess;
+    private final NodePropertyValueCache nodePropertyValueCache;
     private final LabelScanStore labelScanStore;
+    private final RelationshipTypeScanStore relationshipTypeScanStore;
     private final IndexProviderMap indexProviderMap;
     private final ExplicitIndexApplierLookup explicitIndexApplierLookup;
     private final SchemaState schemaState;
@@ -141,6 +148,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     private final IdOrderingQueue explicitIndexTransactionOrdering;
     private final LockService lockService;
     private final WorkSync<Supplier<LabelScanWriter>,LabelUpdateWork> labelScanStoreSync;
+    private final WorkSync<Supplier<LabelScanWriter>,LabelUpdateWork> relationshipTypeScanStoreSync;
     private final CommandReaderFactory commandReaderFactory;
     private final WorkSync<IndexingUpdateService,IndexUpdatesWork> indexUpdatesSync;
     private final IndexStoreView indexStoreView;
@@ -198,6 +206,9 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
             boolean readOnly = config.get( GraphDatabaseSettings.read_only ) && operationalMode == OperationalMode.single;
             monitors.addMonitorListener( new LoggingMonitor( logProvider.getLog( NativeLabelScanStore.class ) ) );
             labelScanStore = new NativeLabelScanStore( pageCache, databaseLayout, fs, new FullLabelStream( neoStoreIndexStoreView ),
+                    readOnly, monitors, recoveryCleanupWorkCollector,
+                    withReservation( config, GraphDatabaseSettings.pagecache_reserved_label_scan_store, pageCache ) );
+            relationshipTypeScanStore = new NativeRelationshipTypeScanStore( pageCache, databaseLayout, fs, new FullRelationshipTypeStream( neoStores ),
                     readOnly, monitors, recoveryCleanupWorkCollector );
 
             indexStoreView = new DynamicIndexStoreView( neoStoreIndexStoreView, labelScanStore, lockService, neoStores, logProvider );
@@ -209,13 +220,16 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
 
             integrityValidator = new IntegrityValidator( neoStores, indexingService );
             cacheAccess = new BridgingCacheAccess( schemaCache, schemaState, tokenHolders );
+            nodePropertyValueCache = new NodePropertyValueCache( config.get( GraphDatabaseSettings.node_property_cache_max_off_heap_memory ) );
 
             explicitIndexApplierLookup = new ExplicitIndexApplierLookup.Direct( explicitIndexProvider );
 
             labelScanStoreSync = new WorkSync<>( labelScanStore::newWriter );
+            relationshipTypeScanStoreSync = new WorkSync<>( relationshipTypeScanStore::newWriter );
 
             commandReaderFactory = new RecordStorageCommandReaderFactory();
-            indexUpdatesSync = new WorkSync<>( indexingService );
+            // Without a work sync each committing transaction applies its own index updates, in parallel with the others
+            indexUpdatesSync = config.get( GraphDatabaseSettings.index_parallel_updates_enabled ) ? null : new WorkSync<>( indexingService );
 
             denseNodeThreshold = config.get( GraphDatabaseSettings.dense_node_threshold );
             recordIdBatchSize = config.get( GraphDatabaseSettings.record_id_batch_size );
@@ -232,7 +246,8 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     {
         Supplier<IndexReaderFactory> indexReaderFactory = () -> new IndexReaderFactory.Caching( indexingService );
         return new RecordStorageReader( tokenHolders, schemaStorage, neoStores, indexingService,
-                schemaCache, indexReaderFactory, labelScanStore::newReader, allocateCommandCreationContext() );
+                schemaCache, indexReaderFactory, labelScanStore::newReader, relationshipTypeScanStore::newReader,
+                allocateCommandCreationContext(), nodePropertyValueCache );
     }
 
     @Override
@@ -324,9 +339,10 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         {
             appliers.add( new HighIdBatchTransactionApplier( neoStores ) );
         }
-        if ( mode.needsCacheInvalidationOnUpdates() )
+        if ( mode.needsCacheInvalidationOnUpdates() || nodePropertyValueCache.isEnabled() )
         {
-            appliers.add( new CacheInvalidationBatchTransactionApplier( neoStores, cacheAccess ) );
+            appliers.add( new CacheInvalidationBatchTransactionApplier( neoStores, cacheAccess, nodePropertyValueCache,
+                    mode.needsCacheInvalidationOnUpdates() ) );
         }
         if ( mode.needsAuxiliaryStores() )
         {
@@ -334,7 +350,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
             appliers.add( new CountsStoreBatchTransactionApplier( neoStores.getCounts(), mode ) );
 
             // Schema index application
-            appliers.add( new IndexBatchTransactionApplier( indexingService, labelScanStoreSync, indexUpdatesSync,
+            appliers.add( new IndexBatchTransactionApplier( indexingService, labelScanStoreSync, relationshipTypeScanStoreSync, indexUpdatesSync,
                     neoStores.getNodeStore(), neoStores.getRelationshipStore(),
                     neoStores.getPropertyStore(), indexActivator ) );
 
@@ -359,9 +375,11 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     {
         satisfier.satisfyDependency( explicitIndexApplierLookup );
         satisfier.satisfyDependency( cacheAccess );
+        satisfier.satisfyDependency( nodePropertyValueCache );
         satisfier.satisfyDependency( indexProviderMap );
         satisfier.satisfyDependency( integrityValidator );
         satisfier.satisfyDependency( labelScanStore );
+        satisfier.satisfyDependency( relationshipTypeScanStore );
         satisfier.satisfyDependency( indexingService );
         satisfier.satisfyDependency( neoStores.getMetaDataStore() );
         satisfier.satisfyDependency( indexStoreView );
@@ -371,6 +389,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     public void init() throws Throwable
     {
         labelScanStore.init();
+        relationshipTypeScanStore.init();
     }
 
     @Override
@@ -380,6 +399,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         neoStores.startCountStore(); // TODO: move this to counts store lifecycle
         indexingService.start();
         labelScanStore.start();
+        relationshipTypeScanStore.start();
         idController.start();
     }
 
@@ -401,6 +421,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     {
         indexingService.stop();
         labelScanStore.stop();
+        relationshipTypeScanStore.stop();
         idController.stop();
     }
 
@@ -409,6 +430,8 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     {
         indexingService.shutdown();
         labelScanStore.shutdown();
+        relationshipTypeScanStore.shutdown();
+        nodePropertyValueCache.close();
         neoStores.close();
     }
 
@@ -417,6 +440,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     {
         indexingService.forceAll( limiter );
         labelScanStore.force( limiter );
+        relationshipTypeScanStore.force( limiter );
         for ( IndexImplementation index : explicitIndexProviderLookup.allIndexProviders() )
         {
             index.force();
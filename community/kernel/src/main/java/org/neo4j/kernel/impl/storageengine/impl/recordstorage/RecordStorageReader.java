@@ -38,6 +38,7 @@ import org.neo4j.kernel.impl.api.IndexReaderFactory;
 import org.neo4j.kernel.impl.api.index.IndexProxy;
 import org.neo4j.kernel.impl.api.index.IndexingService;
 import org.neo4j.kernel.impl.api.store.SchemaCache;
+import org.neo4j.kernel.impl.cache.NodePropertyValueCache;
 import org.neo4j.kernel.impl.core.TokenHolders;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.NodeStore;
@@ -50,6 +51,8 @@ import org.neo4j.kernel.impl.store.counts.CountsTracker;
 import org.neo4j.kernel.impl.store.record.RelationshipRecord;
 import org.neo4j.register.Register;
 import org.neo4j.register.Register.DoubleLongRegister;
+import org.neo4j.storageengine.api.AllNodeScan;
+import org.neo4j.storageengine.api.AllRelationshipsScan;
 import org.neo4j.storageengine.api.EntityType;
 import org.neo4j.storageengine.api.RelationshipVisitor;
 import org.neo4j.storageengine.api.StoragePropertyCursor;
@@ -61,6 +64,7 @@ import org.neo4j.storageengine.api.schema.CapableIndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.LabelScanReader;
+import org.neo4j.storageengine.api.schema.RelationshipTypeScanReader;
 import org.neo4j.storageengine.api.schema.PopulationProgress;
 import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
 
@@ -87,10 +91,13 @@ public class RecordStorageReader implements StorageReader
 
     private final Supplier<IndexReaderFactory> indexReaderFactorySupplier;
     private final Supplier<LabelScanReader> labelScanReaderSupplier;
+    private final Supplier<RelationshipTypeScanReader> relationshipTypeScanReaderSupplier;
     private final RecordStorageCommandCreationContext commandCreationContext;
+    private final NodePropertyValueCache nodePropertyValueCache;
 
     private IndexReaderFactory indexReaderFactory;
     private LabelScanReader labelScanReader;
+    private RelationshipTypeScanReader relationshipTypeScanReader;
 
     private boolean acquired;
     private boolean closed;
@@ -100,7 +107,9 @@ public class RecordStorageReader implements StorageReader
             IndexingService indexService, SchemaCache schemaCache,
             Supplier<IndexReaderFactory> indexReaderFactory,
             Supplier<LabelScanReader> labelScanReaderSupplier,
-            RecordStorageCommandCreationContext commandCreationContext )
+            Supplier<RelationshipTypeScanReader> relationshipTypeScanReaderSupplier,
+            RecordStorageCommandCreationContext commandCreationContext,
+            NodePropertyValueCache nodePropertyValueCache )
     {
         this.tokenHolders = tokenHolders;
         this.neoStores = neoStores;
@@ -114,7 +123,9 @@ public class RecordStorageReader implements StorageReader
         this.schemaCache = schemaCache;
         this.indexReaderFactorySupplier = indexReaderFactory;
         this.labelScanReaderSupplier = labelScanReaderSupplier;
+        this.relationshipTypeScanReaderSupplier = relationshipTypeScanReaderSupplier;
         this.commandCreationContext = commandCreationContext;
+        this.nodePropertyValueCache = nodePropertyValueCache;
     }
 
     /**
@@ -123,7 +134,7 @@ public class RecordStorageReader implements StorageReader
      */
     public RecordStorageReader( NeoStores stores )
     {
-        this( null, null, stores, null, null, null, null, null );
+        this( null, null, stores, null, null, null, null, null, null, NodePropertyValueCache.DISABLED );
     }
 
     @Override
@@ -412,6 +423,11 @@ public class RecordStorageReader implements StorageReader
             labelScanReader.close();
             labelScanReader = null;
         }
+        if ( relationshipTypeScanReader != null )
+        {
+            relationshipTypeScanReader.close();
+            relationshipTypeScanReader = null;
+        }
     }
 
     @Override
@@ -421,6 +437,13 @@ public class RecordStorageReader implements StorageReader
                labelScanReader : (labelScanReader = labelScanReaderSupplier.get());
     }
 
+    @Override
+    public RelationshipTypeScanReader getRelationshipTypeScanReader()
+    {
+        return relationshipTypeScanReader != null ?
+               relationshipTypeScanReader : (relationshipTypeScanReader = relationshipTypeScanReaderSupplier.get());
+    }
+
     private IndexReaderFactory indexReaderFactory()
     {
         return indexReaderFactory != null ?
@@ -480,6 +503,18 @@ public class RecordStorageReader implements StorageReader
         return neoStores.getMetaDataStore().getGraphNextProp();
     }
 
+    @Override
+    public AllNodeScan allNodeScan()
+    {
+        return new RecordScan();
+    }
+
+    @Override
+    public AllRelationshipsScan allRelationshipScan()
+    {
+        return new RecordScan();
+    }
+
     @Override
     public RecordNodeCursor allocateNodeCursor()
     {
@@ -513,6 +548,6 @@ public class RecordStorageReader implements StorageReader
     @Override
     public StoragePropertyCursor allocatePropertyCursor()
     {
-        return new RecordPropertyCursor( propertyStore );
+        return new RecordPropertyCursor( propertyStore, nodePropertyValueCache );
     }
 }
@@ -59,6 +59,7 @@ import static org.neo4j.io.pagecache.PageCacheOpenOptions.ANY_PAGE_SIZE;
 import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_TRANSIENT;
 import static org.neo4j.kernel.impl.store.record.RecordLoad.CHECK;
 import static org.neo4j.kernel.impl.store.record.RecordLoad.NORMAL;
 
@@ -424,11 +425,25 @@ public abstract class CommonAbstractStore<RECORD extends AbstractBaseRecord,HEAD
      */
     @Override
     public PageCursor openPageCursorForReading( long id )
+    {
+        return openPageCursor( id, PF_SHARED_READ_LOCK );
+    }
+
+    /**
+     * DANGER: make sure to always close this cursor.
+     */
+    @Override
+    public PageCursor openPageCursorForScanning( long id )
+    {
+        return openPageCursor( id, PF_SHARED_READ_LOCK | PF_READ_AHEAD | PF_TRANSIENT );
+    }
+
+    private PageCursor openPageCursor( long id, int pf_flags )
     {
         try
         {
             long pageId = pageIdForRecord( id );
-            return pagedFile.io( pageId, PF_SHARED_READ_LOCK );
+            return pagedFile.io( pageId, pf_flags );
         }
         catch ( IOException e )
         {
@@ -1161,7 +1176,7 @@ public abstract class CommonAbstractStore<RECORD extends AbstractBaseRecord,HEAD
     @Override
     public <EXCEPTION extends Exception> void scanAllRecords( Visitor<RECORD,EXCEPTION> visitor ) throws EXCEPTION
     {
-        try ( PageCursor cursor = openPageCursorForReading( 0 ) )
+        try ( PageCursor cursor = openPageCursorForScanning( 0 ) )
         {
             RECORD record = newRecord();
             long highId = getHighId();
@@ -921,6 +921,13 @@ public enum LongerShortString
         LongerShortString table = getEncodingTable( encoding );
         assert table != null : "We only decode LongerShortStrings after we have consistently read the PropertyBlock " +
                 "data from the page cache. Thus, we should never have an invalid encoding header here.";
+        if ( table != EUROPEAN )
+        {
+            // All other tables only have ASCII characters, which are their own UTF-8 bytes, so skip creating a String
+            byte[] result = new byte[stringLength];
+            decode( result, blocks, offset, table );
+            return Values.utf8Value( result );
+        }
         char[] result = new char[stringLength];
         // encode shifts in the bytes with the first char at the MSB, therefore
         // we must "unshift" in the reverse order
@@ -932,22 +939,38 @@ public enum LongerShortString
 
     private static void decode( char[] result, long[] blocks, int offset, LongerShortString table )
     {
-        int block = offset;
-        int maskShift = HEADER_SIZE;
-        long baseMask = table.mask;
         for ( int i = 0; i < result.length; i++ )
         {
-            byte codePoint = (byte) ((blocks[block] >>> maskShift) & baseMask);
-            maskShift += table.step;
-            if ( maskShift >= 64 && block + 1 < blocks.length )
-            {
-                maskShift %= 64;
-                codePoint |= (blocks[++block] & (baseMask >>> (table.step - maskShift))) << (table.step - maskShift);
-            }
-            result[i] = table.decTranslate( codePoint );
+            result[i] = decodeChar( blocks, offset, table, i );
+        }
+    }
+
+    private static void decode( byte[] result, long[] blocks, int offset, LongerShortString table )
+    {
+        for ( int i = 0; i < result.length; i++ )
+        {
+            result[i] = (byte) decodeChar( blocks, offset, table, i );
         }
     }
 
+    /**
+     * Decode the character at {@code index}, which may straddle two blocks.
+     */
+    private static char decodeChar( long[] blocks, int offset, LongerShortString table, int index )
+    {
+        int bitOffset = HEADER_SIZE + index * table.step;
+        int block = offset + (bitOffset >>> 6);
+        int maskShift = bitOffset & 63;
+        long baseMask = table.mask;
+        byte codePoint = (byte) ((blocks[block] >>> maskShift) & baseMask);
+        int bitsInNextBlock = maskShift + table.step - 64;
+        if ( bitsInNextBlock > 0 )
+        {
+            codePoint |= (blocks[block + 1] & (baseMask >>> (table.step - bitsInNextBlock))) << (table.step - bitsInNextBlock);
+        }
+        return table.decTranslate( codePoint );
+    }
+
     // lookup table by encoding header
     // +2 because of ENCODING_LATIN1 gap and one based index
     private static final LongerShortString[] ENCODINGS_BY_ENCODING = new LongerShortString[ENCODING_COUNT + 2];
@@ -1054,21 +1077,24 @@ public enum LongerShortString
 
     private static TextValue decodeLatin1( long[] blocks, int offset, int stringLength )
     {
-        char[] result = new char[stringLength];
+        byte[] result = new byte[stringLength];
+        boolean ascii = true;
         int block = offset;
         int maskShift = HEADER_SIZE;
         for ( int i = 0; i < result.length; i++ )
         {
-            char codePoint = (char) ((blocks[block] >>> maskShift) & 0xFF);
+            int codePoint = (int) ((blocks[block] >>> maskShift) & 0xFF);
             maskShift += 8;
             if ( maskShift >= 64 )
             {
                 maskShift %= 64;
                 codePoint |= (blocks[++block] & (0xFF >>> (8 - maskShift))) << (8 - maskShift);
             }
-            result[i] = codePoint;
+            result[i] = (byte) codePoint;
+            ascii &= codePoint < 0x80;
         }
-        return Values.stringValue( UnsafeUtil.newSharedArrayString( result ) );
+        // Latin-1 and UTF-8 only agree on the ASCII characters
+        return ascii ? Values.utf8Value( result ) : Values.stringValue( new String( result, StandardCharsets.ISO_8859_1 ) );
     }
 
     private static TextValue decodeUTF8( long[] blocks, int offset, int stringLength )
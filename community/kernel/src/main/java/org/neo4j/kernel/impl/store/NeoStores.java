@@ -29,7 +29,6 @@ import java.nio.file.OpenOption;
 import java.util.Iterator;
 import java.util.function.Predicate;
 
-import org.neo4j.graphdb.config.Setting;
 import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.helpers.ArrayUtil;
 import org.neo4j.helpers.Exceptions;
@@ -63,6 +62,7 @@ import org.neo4j.logging.Logger;
 
 import static org.neo4j.helpers.collection.Iterators.iterator;
 import static org.neo4j.helpers.collection.Iterators.loop;
+import static org.neo4j.kernel.impl.pagecache.PageCacheReservations.withReservation;
 import static org.neo4j.kernel.impl.store.MetaDataStore.Position.STORE_VERSION;
 import static org.neo4j.kernel.impl.store.MetaDataStore.getRecord;
 import static org.neo4j.kernel.impl.store.MetaDataStore.versionLongToString;
@@ -118,6 +118,10 @@ public class NeoStores implements AutoCloseable
     // All stores, as Object due to CountsTracker being different that all other stores.
     private final Object[] stores;
     private final OpenOption[] openOptions;
+    // The open options of the node, relationship and property store files include their page cache reservations.
+    private final OpenOption[] nodeStoreOpenOptions;
+    private final OpenOption[] relationshipStoreOpenOptions;
+    private final OpenOption[] propertyStoreOpenOptions;
 
     NeoStores(
             DatabaseLayout layout,
@@ -143,6 +147,11 @@ public class NeoStores implements AutoCloseable
         this.recordFormats = recordFormats;
         this.createIfNotExist = createIfNotExist;
         this.openOptions = openOptions;
+        this.nodeStoreOpenOptions = withReservation( config, GraphDatabaseSettings.pagecache_reserved_node_store, pageCache, openOptions );
+        this.relationshipStoreOpenOptions =
+                withReservation( config, GraphDatabaseSettings.pagecache_reserved_relationship_store, pageCache, openOptions );
+        this.propertyStoreOpenOptions =
+                withReservation( config, GraphDatabaseSettings.pagecache_reserved_property_store, pageCache, openOptions );
 
         verifyRecordFormat();
         stores = new Object[StoreType.values().length];
@@ -535,13 +544,13 @@ public class NeoStores implements AutoCloseable
     {
         return initialize(
                 new NodeStore( layout.nodeStore(), layout.idNodeStore(), config, idGeneratorFactory, pageCache, logProvider,
-                        (DynamicArrayStore) getOrCreateStore( StoreType.NODE_LABEL ), recordFormats, openOptions ) );
+                        (DynamicArrayStore) getOrCreateStore( StoreType.NODE_LABEL ), recordFormats, nodeStoreOpenOptions ) );
     }
 
     CommonAbstractStore createNodeLabelStore()
     {
         return createDynamicArrayStore( layout.nodeLabelStore(), layout.idNodeLabelStore(), IdType.NODE_LABELS,
-                GraphDatabaseSettings.label_block_size );
+                config.get( GraphDatabaseSettings.label_block_size ), nodeStoreOpenOptions );
     }
 
     CommonAbstractStore createPropertyKeyTokenStore()
@@ -562,26 +571,26 @@ public class NeoStores implements AutoCloseable
         return initialize( new PropertyStore( layout.propertyStore(), layout.idPropertyStore(), config, idGeneratorFactory, pageCache,
                 logProvider, (DynamicStringStore) getOrCreateStore( StoreType.PROPERTY_STRING ),
                 (PropertyKeyTokenStore) getOrCreateStore( StoreType.PROPERTY_KEY_TOKEN ), (DynamicArrayStore) getOrCreateStore( StoreType.PROPERTY_ARRAY ),
-                recordFormats, openOptions ) );
+                recordFormats, propertyStoreOpenOptions ) );
     }
 
     CommonAbstractStore createPropertyStringStore()
     {
         return createDynamicStringStore( layout.propertyStringStore(), layout.idPropertyStringStore(), IdType.STRING_BLOCK,
-                GraphDatabaseSettings.string_block_size );
+                config.get( GraphDatabaseSettings.string_block_size ), propertyStoreOpenOptions );
     }
 
     CommonAbstractStore createPropertyArrayStore()
     {
         return createDynamicArrayStore( layout.propertyArrayStore(), layout.idPropertyArrayStore(), IdType.ARRAY_BLOCK,
-                GraphDatabaseSettings.array_block_size );
+                config.get( GraphDatabaseSettings.array_block_size ), propertyStoreOpenOptions );
     }
 
     CommonAbstractStore createRelationshipStore()
     {
         return initialize(
                 new RelationshipStore( layout.relationshipStore(), layout.idRelationshipStore(), config, idGeneratorFactory,
-                        pageCache, logProvider, recordFormats, openOptions ) );
+                        pageCache, logProvider, recordFormats, relationshipStoreOpenOptions ) );
     }
 
     CommonAbstractStore createRelationshipTypeTokenStore()
@@ -615,7 +624,7 @@ public class NeoStores implements AutoCloseable
     CommonAbstractStore createRelationshipGroupStore()
     {
         return initialize( new RelationshipGroupStore( layout.relationshipGroupStore(), layout.idRelationshipGroupStore(), config,
-                idGeneratorFactory, pageCache, logProvider, recordFormats, openOptions ) );
+                idGeneratorFactory, pageCache, logProvider, recordFormats, relationshipStoreOpenOptions ) );
     }
 
     CommonAbstractStore createLabelTokenNamesStore()
@@ -668,24 +677,26 @@ public class NeoStores implements AutoCloseable
                         recordFormats.metaData(), recordFormats.storeVersion(), openOptions ) );
     }
 
-    private CommonAbstractStore createDynamicStringStore( File storeFile, File idFile, IdType idType, Setting<Integer> blockSizeProperty )
+    private CommonAbstractStore createDynamicStringStore( File storeFile, File idFile, IdType idType, int blockSize )
     {
-        return createDynamicStringStore( storeFile, idFile, idType, config.get( blockSizeProperty ) );
+        return createDynamicStringStore( storeFile, idFile, idType, blockSize, openOptions );
     }
 
-    private CommonAbstractStore createDynamicStringStore( File storeFile, File idFile, IdType idType, int blockSize )
+    private CommonAbstractStore createDynamicStringStore( File storeFile, File idFile, IdType idType, int blockSize,
+            OpenOption[] openOptions )
     {
         return initialize( new DynamicStringStore( storeFile, idFile, config, idType, idGeneratorFactory,
                 pageCache, logProvider, blockSize, recordFormats.dynamic(), recordFormats.storeVersion(),
                 openOptions ) );
     }
 
-    private CommonAbstractStore createDynamicArrayStore( File storeFile, File idFile, IdType idType, Setting<Integer> blockSizeProperty )
+    CommonAbstractStore createDynamicArrayStore( File storeFile, File idFile, IdType idType, int blockSize )
     {
-        return createDynamicArrayStore( storeFile, idFile, idType, config.get( blockSizeProperty ) );
+        return createDynamicArrayStore( storeFile, idFile, idType, blockSize, openOptions );
     }
 
-    CommonAbstractStore createDynamicArrayStore( File storeFile, File idFile, IdType idType, int blockSize )
+    private CommonAbstractStore createDynamicArrayStore( File storeFile, File idFile, IdType idType, int blockSize,
+            OpenOption[] openOptions )
     {
         if ( blockSize <= 0 )
         {
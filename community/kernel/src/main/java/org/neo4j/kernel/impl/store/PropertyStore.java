@@ -361,6 +361,50 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
         return readDynamic( arrayStore, reference, buffer, page );
     }
 
+    /**
+     * @return number of payload bytes in the dynamic string record chain starting at {@code reference},
+     * found without assembling or decoding the string.
+     */
+    public int loadStringLength( long reference, PageCursor page )
+    {
+        return readDynamicLength( stringStore, reference, page );
+    }
+
+    /**
+     * @return number of payload bytes, header included, in the dynamic array record chain starting at
+     * {@code reference}, found without assembling or decoding the array.
+     */
+    public int loadArrayLength( long reference, PageCursor page )
+    {
+        return readDynamicLength( arrayStore, reference, page );
+    }
+
+    /**
+     * Reads only the first record of the dynamic array record chain starting at {@code reference}.
+     *
+     * @return the {@link PropertyType#intValue() type id} of the array elements.
+     */
+    public byte loadArrayTypeId( long reference, PageCursor page )
+    {
+        DynamicRecord record = arrayStore.newRecord();
+        arrayStore.getRecordByCursor( reference, record, RecordLoad.FORCE, page );
+        return record.getData()[0];
+    }
+
+    private static int readDynamicLength( AbstractDynamicStore store, long reference, PageCursor page )
+    {
+        int length = 0;
+        DynamicRecord record = store.newRecord();
+        do
+        {
+            store.getRecordByCursor( reference, record, RecordLoad.FORCE, page );
+            reference = record.getNextBlock();
+            length += record.getLength();
+        }
+        while ( reference != NO_ID );
+        return length;
+    }
+
     private static ByteBuffer readDynamic( AbstractDynamicStore store, long reference, ByteBuffer buffer,
             PageCursor page )
     {
@@ -127,6 +127,18 @@ public interface RecordStore<RECORD extends AbstractBaseRecord> extends IdSequen
      */
     PageCursor openPageCursorForReading( long id );
 
+    /**
+     * Opens a {@link PageCursor} on this store, just like {@link #openPageCursorForReading(long)}, but for callers
+     * that intend to visit the records in ascending id order. The page cache will read ahead of such a cursor,
+     * once it notices that the cursor is scanning. The cursor is also transient, so the scan will not push the hot
+     * working set of the database out of the page cache.
+     * The caller is responsible for closing it when done with it.
+     *
+     * @param id cursor will initially be placed at the page containing this record id.
+     * @return PageCursor for scanning records.
+     */
+    PageCursor openPageCursorForScanning( long id );
+
     /**
      * Reads a record from the store into {@code target}, see
      * {@link RecordStore#getRecord(long, AbstractBaseRecord, RecordLoad)}.
@@ -312,6 +324,12 @@ public interface RecordStore<RECORD extends AbstractBaseRecord> extends IdSequen
             return actual.openPageCursorForReading( id );
         }
 
+        @Override
+        public PageCursor openPageCursorForScanning( long id )
+        {
+            return actual.openPageCursorForScanning( id );
+        }
+
         @Override
         public void getRecordByCursor( long id, R target, RecordLoad mode, PageCursor cursor ) throws InvalidRecordException
         {
@@ -71,7 +71,7 @@ public class Scanner
             this.filters = filters;
             this.ids = new StoreIdIterator( store, forward );
             this.store = store;
-            this.cursor = store.openPageCursorForReading( 0 );
+            this.cursor = store.openPageCursorForScanning( 0 );
             this.record = store.newRecord();
         }
 
@@ -26,6 +26,7 @@ import java.io.IOException;
 
 import org.neo4j.kernel.impl.api.BatchTransactionApplier;
 import org.neo4j.kernel.impl.api.TransactionApplier;
+import org.neo4j.kernel.impl.cache.NodePropertyValueCache;
 import org.neo4j.kernel.impl.core.CacheAccessBackDoor;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.storageengine.api.CommandsToApply;
@@ -34,17 +35,31 @@ public class CacheInvalidationBatchTransactionApplier extends BatchTransactionAp
 {
     private final NeoStores neoStores;
     private final CacheAccessBackDoor cacheAccess;
+    private final NodePropertyValueCache nodePropertyValueCache;
+    private final boolean updateTokens;
 
     public CacheInvalidationBatchTransactionApplier( NeoStores neoStores,
             CacheAccessBackDoor cacheAccess )
+    {
+        this( neoStores, cacheAccess, NodePropertyValueCache.DISABLED, true );
+    }
+
+    /**
+     * @param updateTokens whether or not to add created tokens to the token caches, not needed for transactions which
+     * have already updated the caches from their transaction state.
+     */
+    public CacheInvalidationBatchTransactionApplier( NeoStores neoStores,
+            CacheAccessBackDoor cacheAccess, NodePropertyValueCache nodePropertyValueCache, boolean updateTokens )
     {
         this.neoStores = neoStores;
         this.cacheAccess = cacheAccess;
+        this.nodePropertyValueCache = nodePropertyValueCache;
+        this.updateTokens = updateTokens;
     }
 
     @Override
     public TransactionApplier startTx( CommandsToApply transaction )
     {
-        return new CacheInvalidationTransactionApplier( neoStores, cacheAccess );
+        return new CacheInvalidationTransactionApplier( neoStores, cacheAccess, nodePropertyValueCache, updateTokens );
     }
 }
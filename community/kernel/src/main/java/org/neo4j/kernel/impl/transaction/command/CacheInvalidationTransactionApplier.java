@@ -24,12 +24,16 @@ package org.neo4j.kernel.impl.transaction.command;
 
 import org.neo4j.internal.kernel.api.NamedToken;
 import org.neo4j.kernel.impl.api.TransactionApplier;
+import org.neo4j.kernel.impl.cache.NodePropertyValueCache;
 import org.neo4j.kernel.impl.core.CacheAccessBackDoor;
 import org.neo4j.kernel.impl.store.LabelTokenStore;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.PropertyKeyTokenStore;
 import org.neo4j.kernel.impl.store.RelationshipTypeTokenStore;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
 import org.neo4j.kernel.impl.transaction.command.Command.LabelTokenCommand;
+import org.neo4j.kernel.impl.transaction.command.Command.PropertyCommand;
 import org.neo4j.kernel.impl.transaction.command.Command.PropertyKeyTokenCommand;
 import org.neo4j.kernel.impl.transaction.command.Command.RelationshipTypeTokenCommand;
 
@@ -39,11 +43,17 @@ public class CacheInvalidationTransactionApplier extends TransactionApplier.Adap
     private final RelationshipTypeTokenStore relationshipTypeTokenStore;
     private final LabelTokenStore labelTokenStore;
     private final PropertyKeyTokenStore propertyKeyTokenStore;
+    private final NodePropertyValueCache nodePropertyValueCache;
+    private final boolean updateTokens;
 
     public CacheInvalidationTransactionApplier( NeoStores neoStores,
-                                                CacheAccessBackDoor cacheAccess )
+                                                CacheAccessBackDoor cacheAccess,
+                                                NodePropertyValueCache nodePropertyValueCache,
+                                                boolean updateTokens )
     {
         this.cacheAccess = cacheAccess;
+        this.nodePropertyValueCache = nodePropertyValueCache;
+        this.updateTokens = updateTokens;
         this.relationshipTypeTokenStore = neoStores.getRelationshipTypeTokenStore();
         this.labelTokenStore = neoStores.getLabelTokenStore();
         this.propertyKeyTokenStore = neoStores.getPropertyKeyTokenStore();
@@ -52,8 +62,11 @@ public class CacheInvalidationTransactionApplier extends TransactionApplier.Adap
     @Override
     public boolean visitRelationshipTypeTokenCommand( RelationshipTypeTokenCommand command )
     {
-        NamedToken type = relationshipTypeTokenStore.getToken( (int) command.getKey() );
-        cacheAccess.addRelationshipTypeToken( type );
+        if ( updateTokens )
+        {
+            NamedToken type = relationshipTypeTokenStore.getToken( (int) command.getKey() );
+            cacheAccess.addRelationshipTypeToken( type );
+        }
 
         return false;
     }
@@ -61,8 +74,11 @@ public class CacheInvalidationTransactionApplier extends TransactionApplier.Adap
     @Override
     public boolean visitLabelTokenCommand( LabelTokenCommand command )
     {
-        NamedToken labelId = labelTokenStore.getToken( (int) command.getKey() );
-        cacheAccess.addLabelToken( labelId );
+        if ( updateTokens )
+        {
+            NamedToken labelId = labelTokenStore.getToken( (int) command.getKey() );
+            cacheAccess.addLabelToken( labelId );
+        }
 
         return false;
     }
@@ -70,12 +86,38 @@ public class CacheInvalidationTransactionApplier extends TransactionApplier.Adap
     @Override
     public boolean visitPropertyKeyTokenCommand( PropertyKeyTokenCommand command )
     {
-        NamedToken index = propertyKeyTokenStore.getToken( (int) command.getKey() );
-        cacheAccess.addPropertyKeyToken( index );
+        if ( updateTokens )
+        {
+            NamedToken index = propertyKeyTokenStore.getToken( (int) command.getKey() );
+            cacheAccess.addPropertyKeyToken( index );
+        }
 
         return false;
     }
 
+    @Override
+    public boolean visitPropertyCommand( PropertyCommand command )
+    {
+        if ( nodePropertyValueCache.isEnabled() )
+        {
+            // Both versions, since a changed or removed value may only be present in the before record
+            invalidateNodeProperties( command.getBefore() );
+            invalidateNodeProperties( command.getAfter() );
+        }
+        return false;
+    }
+
+    private void invalidateNodeProperties( PropertyRecord record )
+    {
+        if ( record.isNodeSet() )
+        {
+            for ( PropertyBlock block : record )
+            {
+                nodePropertyValueCache.invalidate( record.getNodeId(), block.getKeyIndexId() );
+            }
+        }
+    }
+
     @Override
     public void close()
     {
@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
 
+import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
 import org.neo4j.kernel.api.labelscan.LabelScanWriter;
 import org.neo4j.kernel.api.labelscan.NodeLabelUpdate;
 import org.neo4j.kernel.impl.api.BatchTransactionApplier;
@@ -40,8 +41,10 @@ import org.neo4j.kernel.impl.store.NodeLabels;
 import org.neo4j.kernel.impl.store.NodeStore;
 import org.neo4j.kernel.impl.store.PropertyStore;
 import org.neo4j.kernel.impl.store.RelationshipStore;
+import org.neo4j.kernel.impl.store.UnderlyingStorageException;
 import org.neo4j.kernel.impl.store.record.ConstraintRule;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
 import org.neo4j.kernel.impl.transaction.command.Command.PropertyCommand;
 import org.neo4j.kernel.impl.transaction.state.IndexUpdates;
 import org.neo4j.kernel.impl.transaction.state.OnlineIndexUpdates;
@@ -51,31 +54,39 @@ import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
 import org.neo4j.util.concurrent.AsyncApply;
 import org.neo4j.util.concurrent.WorkSync;
 
+import static org.neo4j.collection.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
 import static org.neo4j.kernel.impl.store.NodeLabelsField.parseLabelsField;
 
 /**
- * Gather node and property changes, converting them into logical updates to the indexes. {@link #close()} will actually
- * apply the indexes.
+ * Gather node, relationship and property changes, converting them into logical updates to the indexes and the label and
+ * relationship type scan stores. {@link #close()} will actually apply the indexes.
  */
 public class IndexBatchTransactionApplier extends BatchTransactionApplier.Adapter
 {
     private final IndexingService indexingService;
     private final WorkSync<Supplier<LabelScanWriter>,LabelUpdateWork> labelScanStoreSync;
+    private final WorkSync<Supplier<LabelScanWriter>,LabelUpdateWork> relationshipTypeScanStoreSync;
+    /**
+     * Combines index updates of transactions committed at the same time, or {@code null} if each transaction applies its own.
+     */
     private final WorkSync<IndexingUpdateService,IndexUpdatesWork> indexUpdatesSync;
     private final SingleTransactionApplier transactionApplier;
     private final IndexActivator indexActivator;
     private final PropertyStore propertyStore;
 
     private List<NodeLabelUpdate> labelUpdates;
+    private List<NodeLabelUpdate> relationshipTypeUpdates;
     private IndexUpdates indexUpdates;
     private long txId;
 
     public IndexBatchTransactionApplier( IndexingService indexingService, WorkSync<Supplier<LabelScanWriter>,LabelUpdateWork> labelScanStoreSync,
+            WorkSync<Supplier<LabelScanWriter>,LabelUpdateWork> relationshipTypeScanStoreSync,
             WorkSync<IndexingUpdateService,IndexUpdatesWork> indexUpdatesSync, NodeStore nodeStore, RelationshipStore relationshipStore,
             PropertyStore propertyStore, IndexActivator indexActivator )
     {
         this.indexingService = indexingService;
         this.labelScanStoreSync = labelScanStoreSync;
+        this.relationshipTypeScanStoreSync = relationshipTypeScanStoreSync;
         this.indexUpdatesSync = indexUpdatesSync;
         this.propertyStore = propertyStore;
         this.transactionApplier = new SingleTransactionApplier( nodeStore, relationshipStore );
@@ -89,6 +100,18 @@ public class IndexBatchTransactionApplier extends BatchTransactionApplier.Adapte
         return transactionApplier;
     }
 
+    private void applyIndexUpdates( IndexUpdates updates ) throws IOException
+    {
+        try
+        {
+            indexingService.apply( updates );
+        }
+        catch ( IndexEntryConflictException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
+    }
+
     private void applyPendingLabelAndIndexUpdates() throws IOException
     {
         AsyncApply labelUpdatesApply = null;
@@ -99,15 +122,28 @@ public class IndexBatchTransactionApplier extends BatchTransactionApplier.Adapte
             labelUpdatesApply = labelScanStoreSync.applyAsync( new LabelUpdateWork( labelUpdates ) );
             labelUpdates = null;
         }
+        AsyncApply relationshipTypeUpdatesApply = null;
+        if ( relationshipTypeUpdates != null )
+        {
+            relationshipTypeUpdatesApply = relationshipTypeScanStoreSync.applyAsync( new LabelUpdateWork( relationshipTypeUpdates ) );
+            relationshipTypeUpdates = null;
+        }
         if ( indexUpdates != null && indexUpdates.hasUpdates() )
         {
-            try
+            if ( indexUpdatesSync == null )
             {
-                indexUpdatesSync.apply( new IndexUpdatesWork( indexUpdates ) );
+                applyIndexUpdates( indexUpdates );
             }
-            catch ( ExecutionException e )
+            else
             {
-                throw new IOException( "Failed to flush index updates", e );
+                try
+                {
+                    indexUpdatesSync.apply( new IndexUpdatesWork( indexUpdates ) );
+                }
+                catch ( ExecutionException e )
+                {
+                    throw new IOException( "Failed to flush index updates", e );
+                }
             }
             indexUpdates = null;
         }
@@ -123,6 +159,17 @@ public class IndexBatchTransactionApplier extends BatchTransactionApplier.Adapte
                 throw new IOException( "Failed to flush label updates", e );
             }
         }
+        if ( relationshipTypeUpdatesApply != null )
+        {
+            try
+            {
+                relationshipTypeUpdatesApply.await();
+            }
+            catch ( ExecutionException e )
+            {
+                throw new IOException( "Failed to flush relationship type updates", e );
+            }
+        }
     }
 
     @Override
@@ -208,6 +255,21 @@ public class IndexBatchTransactionApplier extends BatchTransactionApplier.Adapte
         @Override
         public boolean visitRelationshipCommand( Command.RelationshipCommand command )
         {
+            // for relationship type store updates, a relationship can't change type so only creations and deletions matter
+            RelationshipRecord before = command.getBefore();
+            RelationshipRecord after = command.getAfter();
+            if ( before.inUse() != after.inUse() )
+            {
+                if ( relationshipTypeUpdates == null )
+                {
+                    relationshipTypeUpdates = new ArrayList<>();
+                }
+                relationshipTypeUpdates.add( after.inUse()
+                        ? NodeLabelUpdate.labelChanges( command.getKey(), EMPTY_LONG_ARRAY, new long[]{after.getType()}, txId )
+                        : NodeLabelUpdate.labelChanges( command.getKey(), new long[]{before.getType()}, EMPTY_LONG_ARRAY, txId ) );
+            }
+
+            // for indexes
             return indexUpdatesExtractor.visitRelationshipCommand( command );
         }
 
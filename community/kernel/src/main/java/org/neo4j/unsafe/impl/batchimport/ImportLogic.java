@@ -507,6 +507,15 @@ public class ImportLogic implements Closeable
         }
     }
 
+    /**
+     * Builds the relationship type index. Requires that {@link #importRelationships()} has run.
+     */
+    public void buildRelationshipTypeIndex()
+    {
+        executeStage( new RelationshipTypeIndexBuildStage( config, neoStore.getRelationshipStore(),
+                neoStore.getRelationshipTypeScanStore(), new MemoryUsageStatsProvider( neoStore ) ) );
+    }
+
     public void success()
     {
         neoStore.success();
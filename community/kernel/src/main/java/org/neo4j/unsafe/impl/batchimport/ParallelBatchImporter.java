@@ -97,6 +97,7 @@ public class ParallelBatchImporter implements BatchImporter
             logic.linkRelationshipsOfAllTypes();
             logic.defragmentRelationshipGroups();
             logic.buildCountsStore();
+            logic.buildRelationshipTypeIndex();
 
             logic.success();
         }
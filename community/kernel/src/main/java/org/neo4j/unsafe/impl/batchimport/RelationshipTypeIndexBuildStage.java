@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.unsafe.impl.batchimport;
+
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
+import org.neo4j.kernel.impl.store.RelationshipStore;
+import org.neo4j.unsafe.impl.batchimport.staging.BatchFeedStep;
+import org.neo4j.unsafe.impl.batchimport.staging.ReadRecordsStep;
+import org.neo4j.unsafe.impl.batchimport.staging.Stage;
+import org.neo4j.unsafe.impl.batchimport.stats.StatsProvider;
+
+import static org.neo4j.unsafe.impl.batchimport.RecordIdIterator.allIn;
+import static org.neo4j.unsafe.impl.batchimport.staging.Step.ORDER_SEND_DOWNSTREAM;
+import static org.neo4j.unsafe.impl.batchimport.staging.Step.RECYCLE_BATCHES;
+
+/**
+ * Reads all records from {@link RelationshipStore} and builds the {@link RelationshipTypeScanStore relationship type index} from them.
+ */
+public class RelationshipTypeIndexBuildStage extends Stage
+{
+    public static final String NAME = "Relationship type index build";
+
+    public RelationshipTypeIndexBuildStage( Configuration config, RelationshipStore relationshipStore,
+            RelationshipTypeScanStore relationshipTypeIndex, StatsProvider... additionalStatsProviders )
+    {
+        super( NAME, null, config, ORDER_SEND_DOWNSTREAM | RECYCLE_BATCHES );
+        add( new BatchFeedStep( control(), config, allIn( relationshipStore, config ), relationshipStore.getRecordSize() ) );
+        add( new ReadRecordsStep<>( control(), config, false, relationshipStore ) );
+        add( new RelationshipTypeIndexWriterStep( control(), config, relationshipTypeIndex, additionalStatsProviders ) );
+    }
+}
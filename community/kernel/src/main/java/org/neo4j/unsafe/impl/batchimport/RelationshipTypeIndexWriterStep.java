@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.unsafe.impl.batchimport;
+
+import org.neo4j.kernel.api.labelscan.LabelScanWriter;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.unsafe.impl.batchimport.staging.BatchSender;
+import org.neo4j.unsafe.impl.batchimport.staging.ProcessorStep;
+import org.neo4j.unsafe.impl.batchimport.staging.StageControl;
+import org.neo4j.unsafe.impl.batchimport.stats.StatsProvider;
+
+import static org.neo4j.collection.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
+import static org.neo4j.kernel.api.labelscan.NodeLabelUpdate.labelChanges;
+
+public class RelationshipTypeIndexWriterStep extends ProcessorStep<RelationshipRecord[]>
+{
+    private final LabelScanWriter writer;
+
+    public RelationshipTypeIndexWriterStep( StageControl control, Configuration config, RelationshipTypeScanStore store,
+            StatsProvider... additionalStatsProviders )
+    {
+        super( control, "RELATIONSHIP TYPE INDEX", config, 1, additionalStatsProviders );
+        this.writer = store.newBulkAppendWriter();
+    }
+
+    @Override
+    protected void process( RelationshipRecord[] batch, BatchSender sender ) throws Throwable
+    {
+        for ( RelationshipRecord relationship : batch )
+        {
+            if ( relationship.inUse() )
+            {
+                writer.write( labelChanges( relationship.getId(), EMPTY_LONG_ARRAY, new long[]{relationship.getType()} ) );
+            }
+        }
+        sender.send( batch );
+    }
+
+    @Override
+    public void close() throws Exception
+    {
+        super.close();
+        writer.close();
+    }
+}
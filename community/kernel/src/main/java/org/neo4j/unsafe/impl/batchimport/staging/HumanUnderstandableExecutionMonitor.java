@@ -292,7 +292,8 @@ public class HumanUnderstandableExecutionMonitor implements ExecutionMonitor
                 groupCount +                 // Write groups
                 groupCount +                 // Node --> Group
                 actualNodeCount +            // Node counts
-                relationshipRecordIdCount,   // Relationship counts
+                relationshipRecordIdCount +  // Relationship counts
+                relationshipRecordIdCount,   // Relationship type index
                 ImportStage.postProcessing
                 );
     }
@@ -42,9 +42,11 @@ import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
 import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.api.scan.FullStoreChangeStream;
 import org.neo4j.kernel.impl.index.labelscan.NativeLabelScanStore;
+import org.neo4j.kernel.impl.index.labelscan.NativeRelationshipTypeScanStore;
 import org.neo4j.kernel.impl.pagecache.ConfiguringPageCacheFactory;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.NodeStore;
@@ -82,6 +84,7 @@ import static org.neo4j.helpers.collection.MapUtil.stringMap;
 import static org.neo4j.io.IOUtils.closeAll;
 import static org.neo4j.io.pagecache.IOLimiter.UNLIMITED;
 import static org.neo4j.kernel.impl.index.labelscan.NativeLabelScanStore.getLabelScanStoreFile;
+import static org.neo4j.kernel.impl.index.labelscan.NativeRelationshipTypeScanStore.getRelationshipTypeScanStoreFile;
 import static org.neo4j.kernel.impl.store.StoreType.PROPERTY;
 import static org.neo4j.kernel.impl.store.StoreType.PROPERTY_ARRAY;
 import static org.neo4j.kernel.impl.store.StoreType.PROPERTY_STRING;
@@ -123,6 +126,7 @@ public class BatchingNeoStores implements AutoCloseable, MemoryStatsVisitor.Visi
     private BatchingRelationshipTypeTokenRepository relationshipTypeRepository;
     private LifeSupport life = new LifeSupport();
     private LabelScanStore labelScanStore;
+    private RelationshipTypeScanStore relationshipTypeScanStore;
     private PageCacheFlusher flusher;
     private boolean doubleRelationshipRecordUnits;
 
@@ -180,6 +184,7 @@ public class BatchingNeoStores implements AutoCloseable, MemoryStatsVisitor.Visi
         // be in a semi-initialized state. Better to be on the safe side and deleted it. We get her after determining that
         // the db is either completely empty or non-existent anyway, so deleting this file is OK.
         fileSystem.deleteFile( getLabelScanStoreFile( databaseLayout ) );
+        fileSystem.deleteFile( getRelationshipTypeScanStoreFile( databaseLayout ) );
 
         instantiateStores();
         neoStores.getMetaDataStore().setLastCommittedAndClosedTransactionId(
@@ -233,6 +238,9 @@ public class BatchingNeoStores implements AutoCloseable, MemoryStatsVisitor.Visi
         labelScanStore = new NativeLabelScanStore( pageCache, databaseLayout, fileSystem, FullStoreChangeStream.EMPTY, false, new Monitors(),
                 RecoveryCleanupWorkCollector.immediate() );
         life.add( labelScanStore );
+        relationshipTypeScanStore = new NativeRelationshipTypeScanStore( pageCache, databaseLayout, fileSystem, FullStoreChangeStream.EMPTY, false,
+                new Monitors(), RecoveryCleanupWorkCollector.immediate() );
+        life.add( relationshipTypeScanStore );
     }
 
     private void instantiateStores()
@@ -418,6 +426,11 @@ public class BatchingNeoStores implements AutoCloseable, MemoryStatsVisitor.Visi
         return labelScanStore;
     }
 
+    public RelationshipTypeScanStore getRelationshipTypeScanStore()
+    {
+        return relationshipTypeScanStore;
+    }
+
     public NeoStores getNeoStores()
     {
         return neoStores;
@@ -488,6 +501,10 @@ public class BatchingNeoStores implements AutoCloseable, MemoryStatsVisitor.Visi
         {
             labelScanStore.force( UNLIMITED );
         }
+        if ( relationshipTypeScanStore != null )
+        {
+            relationshipTypeScanStore.force( UNLIMITED );
+        }
     }
 
     public void success()
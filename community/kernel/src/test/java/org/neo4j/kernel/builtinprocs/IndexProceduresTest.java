@@ -24,8 +24,13 @@ package org.neo4j.kernel.builtinprocs;
 
 import org.junit.Test;
 
+import java.util.Optional;
+
+import org.neo4j.internal.kernel.api.SchemaWrite;
+import org.neo4j.internal.kernel.api.TokenWrite;
 import org.neo4j.kernel.api.KernelTransaction;
 import org.neo4j.kernel.api.Statement;
+import org.neo4j.kernel.api.schema.SchemaDescriptorFactory;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -45,4 +50,24 @@ public class IndexProceduresTest
         }
         verify( statement ).close();
     }
+
+    @Test
+    public void createIndexOnRelationshipTypeForRelationshipPattern() throws Exception
+    {
+        KernelTransaction kernelTransaction = mock( KernelTransaction.class );
+        TokenWrite tokenWrite = mock( TokenWrite.class );
+        SchemaWrite schemaWrite = mock( SchemaWrite.class );
+        when( kernelTransaction.acquireStatement() ).thenReturn( mock( Statement.class ) );
+        when( kernelTransaction.tokenWrite() ).thenReturn( tokenWrite );
+        when( kernelTransaction.schemaWrite() ).thenReturn( schemaWrite );
+        when( tokenWrite.relationshipTypeGetOrCreateForName( "KNOWS" ) ).thenReturn( 3 );
+        when( tokenWrite.propertyKeyGetOrCreateForName( "since" ) ).thenReturn( 5 );
+
+        try ( IndexProcedures indexProcedures = new IndexProcedures( kernelTransaction, null ) )
+        {
+            indexProcedures.createIndex( "-[:KNOWS(since)]-", "native-btree-1.0" );
+        }
+
+        verify( schemaWrite ).indexCreate( SchemaDescriptorFactory.forRelType( 3, 5 ), "native-btree-1.0", Optional.empty() );
+    }
 }
@@ -107,6 +107,26 @@ public class IndexSpecifierTest
                 is( arrayContaining( "(:!\"£$%^&*( )" ) ) );
     }
 
+    @Test
+    public void shouldParseARelationshipTypePattern()
+    {
+        IndexSpecifier spec = IndexSpecifier.byPattern( "-[:KNOWS(since, `how long`)]-" );
+        assertThat( spec.relationshipType(), is( "KNOWS" ) );
+        assertThat( spec.properties(), is( arrayContaining( "since", "how long" ) ) );
+        assertNull( spec.label() );
+        assertNull( spec.name() );
+
+        spec = IndexSpecifier.byPatternOrName( " - [ :`Knows well` ( since ) ] - " );
+        assertThat( spec.relationshipType(), is( "Knows well" ) );
+        assertThat( spec.properties(), is( arrayContaining( "since" ) ) );
+    }
+
+    @Test
+    public void labelPatternsHaveNoRelationshipType()
+    {
+        assertNull( IndexSpecifier.byPattern( ":Person(name)" ).relationshipType() );
+    }
+
     @Test
     public void specifiersThatDoNotBeginWithColonAreIndexNames()
     {
@@ -162,5 +182,15 @@ public class IndexSpecifierTest
         {
             //expected
         }
+
+        try
+        {
+            IndexSpecifier.byPattern( "-[:KNOWS(since)" );
+            fail( "expected exception" );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            //expected
+        }
     }
 }
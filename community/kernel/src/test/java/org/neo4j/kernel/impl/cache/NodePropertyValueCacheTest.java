@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.neo4j.io.ByteUnit;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NodePropertyValueCacheTest
+{
+    private static final long MAX_MEMORY = ByteUnit.mebiBytes( 4 );
+
+    private final NodePropertyValueCache cache = new NodePropertyValueCache( MAX_MEMORY );
+
+    @AfterEach
+    void tearDown()
+    {
+        cache.close();
+    }
+
+    @Test
+    void shouldNotCacheAnythingWhenDisabled()
+    {
+        NodePropertyValueCache disabled = new NodePropertyValueCache( 0 );
+
+        disabled.put( 1, 2, Values.stringValue( "value" ), 5, disabled.stamp( 1 ) );
+
+        assertFalse( disabled.isEnabled() );
+        assertNull( disabled.get( 1, 2 ) );
+        assertEquals( 0, disabled.usedMemory() );
+    }
+
+    @Test
+    void shouldGetCachedValue()
+    {
+        // given
+        Value value = Values.stringArray( "a", "b", "c" );
+        cache.put( 1, 2, value, 16, cache.stamp( 1 ) );
+
+        // then
+        assertTrue( cache.isEnabled() );
+        assertEquals( value, cache.get( 1, 2 ) );
+        assertNull( cache.get( 1, 3 ) );
+        assertNull( cache.get( 2, 2 ) );
+        assertEquals( 1, cache.hits() );
+        assertEquals( 2, cache.misses() );
+        assertEquals( 1d / 3, cache.hitRatio(), 0.0001 );
+    }
+
+    @Test
+    void shouldRemoveInvalidatedValue()
+    {
+        // given
+        cache.put( 1, 2, Values.stringValue( "before" ), 6, cache.stamp( 1 ) );
+        cache.put( 1, 3, Values.stringValue( "other" ), 5, cache.stamp( 1 ) );
+
+        // when
+        cache.invalidate( 1, 2 );
+
+        // then
+        assertNull( cache.get( 1, 2 ) );
+        assertEquals( Values.stringValue( "other" ), cache.get( 1, 3 ) );
+    }
+
+    @Test
+    void shouldNotCacheValueReadBeforeInvalidation()
+    {
+        // given a reader that started reading before a transaction changing the value was applied
+        long stamp = cache.stamp( 1 );
+        cache.invalidate( 1, 2 );
+
+        // when
+        cache.put( 1, 2, Values.stringValue( "stale" ), 5, stamp );
+
+        // then
+        assertNull( cache.get( 1, 2 ) );
+
+        // and values read after the invalidation can be cached
+        cache.put( 1, 2, Values.stringValue( "fresh" ), 5, cache.stamp( 1 ) );
+        assertEquals( Values.stringValue( "fresh" ), cache.get( 1, 2 ) );
+    }
+
+    @Test
+    void shouldNotCacheValuesTooBigForTheBudget()
+    {
+        cache.put( 1, 2, Values.stringValue( "big" ), MAX_MEMORY, cache.stamp( 1 ) );
+
+        assertNull( cache.get( 1, 2 ) );
+    }
+
+    @Test
+    void shouldEvictValuesToStayWithinMemoryBudget()
+    {
+        // given
+        String text = new String( new char[1_000] ).replace( '\0', 'x' );
+
+        // when
+        for ( int node = 0; node < 100_000; node++ )
+        {
+            cache.put( node, 0, Values.stringValue( text ), text.length(), cache.stamp( node ) );
+        }
+
+        // then
+        assertTrue( cache.evictions() > 0 );
+        assertTrue( cache.usedMemory() <= MAX_MEMORY * 2, "used memory " + cache.usedMemory() );
+        assertEquals( Values.stringValue( text ), cache.get( 99_999, 0 ) );
+        assertNull( cache.get( 0, 0 ) );
+    }
+
+    @Test
+    void shouldKeepValuesReadFromOldGeneration()
+    {
+        // given
+        String text = new String( new char[1_000] ).replace( '\0', 'x' );
+        cache.put( 0, 0, Values.stringValue( "hot" ), 3, cache.stamp( 0 ) );
+
+        // when values keep being added, while the first one is read every now and then
+        for ( int node = 1; node < 100_000; node++ )
+        {
+            cache.put( node, 0, Values.stringValue( text ), text.length(), cache.stamp( node ) );
+            if ( node % 100 == 0 )
+            {
+                assertEquals( Values.stringValue( "hot" ), cache.get( 0, 0 ), "at node " + node );
+            }
+        }
+
+        // then
+        assertNull( cache.get( 1, 0 ) );
+    }
+}
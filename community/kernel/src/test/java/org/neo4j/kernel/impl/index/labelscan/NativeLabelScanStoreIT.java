@@ -46,6 +46,7 @@ import org.neo4j.test.rule.fs.DefaultFileSystemRule;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.rules.RuleChain.outerRule;
+import static org.neo4j.collection.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
 import static org.neo4j.collection.PrimitiveLongCollections.asArray;
 import static org.neo4j.kernel.api.labelscan.NodeLabelUpdate.labelChanges;
 
@@ -88,6 +89,30 @@ public class NativeLabelScanStoreIT
         }
     }
 
+    @Test
+    public void shouldBuildStoreUsingBulkAppendWriter() throws Exception
+    {
+        // GIVEN
+        long[] expected = new long[NODE_COUNT];
+        try ( LabelScanWriter writer = store.newBulkAppendWriter() )
+        {
+            for ( int nodeId = 0; nodeId < NODE_COUNT; nodeId++ )
+            {
+                long labels = random.nextInt( 1 << LABEL_COUNT );
+                if ( labels != 0 )
+                {
+                    writer.write( labelChanges( nodeId, EMPTY_LONG_ARRAY, getLabels( labels ) ) );
+                    expected[nodeId] = labels;
+                }
+            }
+        }
+
+        // WHEN/THEN
+        verifyReads( expected );
+        randomModifications( expected, NODE_COUNT / 10 );
+        verifyReads( expected );
+    }
+
     private void verifyReads( long[] expected )
     {
         try ( LabelScanReader reader = store.newReader() )
@@ -62,6 +62,7 @@ import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.IndexSample;
 import org.neo4j.storageengine.api.schema.IndexSampler;
 import org.neo4j.storageengine.api.schema.SimpleNodeValueClient;
+import org.neo4j.test.Race;
 import org.neo4j.values.storable.CoordinateReferenceSystem;
 import org.neo4j.values.storable.PointValue;
 import org.neo4j.values.storable.RandomValues;
@@ -84,7 +85,9 @@ import static org.neo4j.helpers.collection.Iterators.filter;
 import static org.neo4j.kernel.api.index.IndexEntryUpdate.change;
 import static org.neo4j.kernel.api.index.IndexEntryUpdate.remove;
 import static org.neo4j.kernel.impl.api.index.IndexUpdateMode.ONLINE;
+import static org.neo4j.kernel.impl.api.index.IndexUpdateMode.RECOVERY;
 import static org.neo4j.kernel.impl.index.schema.ValueCreatorUtil.countUniqueValues;
+import static org.neo4j.test.Race.throwing;
 import static org.neo4j.values.storable.Values.of;
 
 /**
@@ -550,19 +553,59 @@ public abstract class NativeIndexAccessorTests<KEY extends NativeIndexKey<KEY>,
     }
 
     @Test
-    public void requestForSecondUpdaterMustThrow() throws Exception
+    public void requestForSecondRecoveryUpdaterMustThrow() throws Exception
     {
         // given
-        try ( IndexUpdater ignored = accessor.newUpdater( ONLINE ) )
+        try ( IndexUpdater ignored = accessor.newUpdater( RECOVERY ) )
         {
             // then
             expected.expect( IllegalStateException.class );
 
             // when
-            accessor.newUpdater( ONLINE );
+            accessor.newUpdater( RECOVERY );
         }
     }
 
+    @Test
+    public void shouldApplyUpdatesFromConcurrentOnlineUpdaters() throws Throwable
+    {
+        // given
+        int appliers = 4;
+        int updatesPerApplier = 500;
+        int updatesPerUpdater = 10;
+        ValueType[] types = RandomValues.excluding( valueCreatorUtil.supportedTypes(), ValueType.BOOLEAN, ValueType.BOOLEAN_ARRAY );
+        Iterator<IndexEntryUpdate<IndexDescriptor>> generator = valueCreatorUtil.randomUpdateGenerator( random, types );
+        //noinspection unchecked
+        IndexEntryUpdate<IndexDescriptor>[] updates = new IndexEntryUpdate[appliers * updatesPerApplier];
+        for ( int i = 0; i < updates.length; i++ )
+        {
+            updates[i] = generator.next();
+        }
+
+        // when
+        Race race = new Race();
+        for ( int applier = 0; applier < appliers; applier++ )
+        {
+            int first = applier * updatesPerApplier;
+            race.addContestant( throwing( () ->
+            {
+                // Like transactions committed at the same time, each applying its updates through an updater of its own
+                for ( int i = first; i < first + updatesPerApplier; i += updatesPerUpdater )
+                {
+                    try ( IndexUpdater updater = accessor.newUpdater( ONLINE ) )
+                    {
+                        processAll( updater, Arrays.copyOfRange( updates, i, i + updatesPerUpdater ) );
+                    }
+                }
+            } ) );
+        }
+        race.go();
+
+        // then
+        forceAndCloseAccessor();
+        verifyUpdates( updates );
+    }
+
     @Test
     public void dropShouldDeleteAndCloseIndex()
     {
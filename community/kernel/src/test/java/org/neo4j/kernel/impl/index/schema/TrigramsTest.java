@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.junit.Test;
+
+import org.neo4j.values.storable.Values;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.values.storable.Values.stringValue;
+
+public class TrigramsTest
+{
+    @Test
+    public void shouldNotHaveTrigramsForNonStringValues()
+    {
+        assertEquals( 0, Trigrams.ofIndexedValue( Values.intValue( 12345 ) ).length );
+        assertEquals( 0, Trigrams.ofIndexedValue( Values.stringArray( "abcdef" ) ).length );
+    }
+
+    @Test
+    public void shouldNotHaveTrigramsForTooShortStrings()
+    {
+        assertEquals( 0, Trigrams.ofContains( stringValue( "ab" ) ).length );
+        assertEquals( 0, Trigrams.ofSuffix( stringValue( "a" ) ).length );
+        assertEquals( 0, Trigrams.ofIndexedValue( stringValue( "a" ) ).length );
+    }
+
+    @Test
+    public void shouldAnchorTrigramsAtEndOfIndexedValuesAndSuffixes()
+    {
+        // two chars are enough for the trigram anchored at the end
+        assertEquals( 1, Trigrams.ofSuffix( stringValue( "ab" ) ).length );
+        assertArrayEquals( Trigrams.ofSuffix( stringValue( "ab" ) ), Trigrams.ofIndexedValue( stringValue( "ab" ) ) );
+
+        // "abcd" has "abc", "bcd" and the one anchored at the end, of which contains only has the first two
+        assertEquals( 3, Trigrams.ofIndexedValue( stringValue( "abcd" ) ).length );
+        assertEquals( 2, Trigrams.ofContains( stringValue( "abcd" ) ).length );
+    }
+
+    @Test
+    public void shouldHaveSortedDistinctTrigrams()
+    {
+        // "aaaaaa" has "aaa" four times and the one anchored at the end
+        long[] trigrams = Trigrams.ofIndexedValue( stringValue( "aaaaaa" ) );
+        assertEquals( 2, trigrams.length );
+
+        trigrams = Trigrams.ofIndexedValue( stringValue( "the quick brown fox jumps over the lazy dog" ) );
+        for ( int i = 1; i < trigrams.length; i++ )
+        {
+            assertTrue( trigrams[i - 1] < trigrams[i] );
+        }
+    }
+
+    @Test
+    public void shouldHaveTrigramsOfSearchedStringsAmongTrigramsOfMatchingValues()
+    {
+        long[] indexed = Trigrams.ofIndexedValue( stringValue( "sm\u00F6rg\u00E5sbord\uD83D\uDE00" ) );
+        assertContainsAll( indexed, Trigrams.ofContains( stringValue( "rg\u00E5s" ) ) );
+        assertContainsAll( indexed, Trigrams.ofContains( stringValue( "ord\uD83D\uDE00" ) ) );
+        assertContainsAll( indexed, Trigrams.ofSuffix( stringValue( "d\uD83D\uDE00" ) ) );
+        assertContainsAll( indexed, Trigrams.ofSuffix( stringValue( "sm\u00F6rg\u00E5sbord\uD83D\uDE00" ) ) );
+    }
+
+    @Test
+    public void shouldHaveNonNegativeIntTrigrams()
+    {
+        for ( long trigram : Trigrams.ofIndexedValue( stringValue( "\uDBFF\uDFFF\uDBFF\uDFFF\uDBFF\uDFFF\u0000\u0000\u0000 ~~~" ) ) )
+        {
+            assertTrue( trigram >= 0 && trigram <= Integer.MAX_VALUE );
+        }
+    }
+
+    private static void assertContainsAll( long[] indexed, long[] searched )
+    {
+        assertTrue( searched.length > 0 );
+        for ( long trigram : searched )
+        {
+            boolean found = false;
+            for ( long candidate : indexed )
+            {
+                found |= candidate == trigram;
+            }
+            assertTrue( "Expected trigram " + trigram + " among trigrams of indexed value", found );
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import org.junit.Test;
+
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.Read;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
+import org.neo4j.kernel.api.schema.index.TestIndexDescriptorFactory;
+import org.neo4j.storageengine.api.schema.IndexProgressor;
+import org.neo4j.storageengine.api.schema.IndexProgressor.NodeValueClient;
+import org.neo4j.values.storable.Value;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.neo4j.values.storable.Values.NO_VALUE;
+import static org.neo4j.values.storable.Values.longValue;
+
+public class RelationshipValueClientFilterTest
+{
+    private final Read read = mock( Read.class );
+    private final RelationshipScanCursor relationship = mock( RelationshipScanCursor.class );
+    private final PropertyCursor property = mock( PropertyCursor.class );
+    private final NodeValueClient target = mock( NodeValueClient.class );
+
+    @Test
+    public void shouldFilterOnValuesFromIndexWithoutReadingRelationship()
+    {
+        // given
+        when( target.acceptNode( anyLong(), any() ) ).thenReturn( true );
+        RelationshipValueClientFilter filter = initializeFilter( IndexQuery.range( 12, 10L, true, 20L, false ) );
+
+        // when
+        boolean accepted = filter.acceptNode( 17, new Value[]{longValue( 15 )} );
+        boolean rejected = filter.acceptNode( 18, new Value[]{longValue( 25 )} );
+
+        // then
+        assertTrue( accepted );
+        assertFalse( rejected );
+        verify( target ).acceptNode( 17, new Value[]{longValue( 15 )} );
+        verify( target, never() ).acceptNode( 18, new Value[]{longValue( 25 )} );
+        verify( read, never() ).singleRelationship( anyLong(), any() );
+    }
+
+    @Test
+    public void shouldRejectRelationshipNotInUse()
+    {
+        // given
+        when( relationship.next() ).thenReturn( false );
+        RelationshipValueClientFilter filter = initializeFilter( IndexQuery.exact( 12, 15L ) );
+
+        // when
+        boolean accepted = filter.acceptNode( 17, new Value[]{NO_VALUE} );
+
+        // then
+        assertFalse( accepted );
+        verify( read ).singleRelationship( 17, relationship );
+        verify( target, never() ).acceptNode( anyLong(), any() );
+    }
+
+    @Test
+    public void shouldFilterOnValuesFromRelationshipStore()
+    {
+        // given
+        when( target.acceptNode( anyLong(), any() ) ).thenReturn( true );
+        when( relationship.next() ).thenReturn( true );
+        when( property.next() ).thenReturn( true, false, true, false );
+        when( property.propertyKey() ).thenReturn( 12 );
+        when( property.propertyValue() ).thenReturn( longValue( 15 ), longValue( 15 ), longValue( 16 ) );
+        RelationshipValueClientFilter filter = initializeFilter( IndexQuery.exact( 12, 15L ) );
+
+        // when
+        Value[] values = {NO_VALUE};
+        boolean accepted = filter.acceptNode( 17, values );
+        boolean rejected = filter.acceptNode( 18, new Value[]{NO_VALUE} );
+
+        // then
+        assertTrue( accepted );
+        assertFalse( rejected );
+        verify( read ).singleRelationship( 17, relationship );
+        verify( read ).singleRelationship( 18, relationship );
+        verify( relationship, times( 2 ) ).properties( property );
+        assertArrayEquals( new Value[]{longValue( 15 )}, values );
+    }
+
+    @Test
+    public void shouldCloseCursorsOnClose()
+    {
+        // given
+        RelationshipValueClientFilter filter = initializeFilter( IndexQuery.exact( 12, 15L ) );
+
+        // when
+        filter.close();
+
+        // then
+        verify( relationship ).close();
+        verify( property ).close();
+    }
+
+    private RelationshipValueClientFilter initializeFilter( IndexQuery... filters )
+    {
+        RelationshipValueClientFilter filter = new RelationshipValueClientFilter( target, relationship, property, read, filters );
+        filter.initialize( TestIndexDescriptorFactory.forLabel( 11, 12 ), mock( IndexProgressor.class ), filters, IndexOrder.NONE, true );
+        return filter;
+    }
+}
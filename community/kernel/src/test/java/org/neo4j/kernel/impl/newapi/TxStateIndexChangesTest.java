@@ -64,11 +64,13 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForCompositeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForRangeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForRangeSeekByPrefix;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForScan;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSuffixOrContains;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForCompositeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForRangeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForRangeSeekByPrefix;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForScan;
@@ -670,6 +672,49 @@ class TxStateIndexChangesTest
             assertContains( indexUpdatesForSeek( state, compositeIndex, ValueTuple.of( 40.1, 40.2 ) ).getAdded(), 14L );
         }
 
+        @Test
+        void shouldSeekByExactPrefixAndRange()
+        {
+            // GIVEN
+            ReadableTransactionState state = new TxStateBuilder()
+                    .withAdded( 42L, "SE", 20 )
+                    .withAdded( 43L, "SE", 35 )
+                    .withAdded( 44L, "SE", 40 )
+                    .withAdded( 45L, "NO", 50 )
+                    .withRemoved( 46L, "SE", 60 )
+                    .withRemoved( 47L, "SE", 10 )
+                    .build();
+            IndexQuery[] query = {IndexQuery.exact( 1, "SE" ), IndexQuery.range( 2, 30, false, null, false )};
+
+            // WHEN
+            AddedAndRemoved changes = indexUpdatesForCompositeSeek( state, compositeIndex, query, IndexOrder.ASCENDING );
+            AddedWithValuesAndRemoved changesWithValues = indexUpdatesWithValuesForCompositeSeek( state, compositeIndex, query, IndexOrder.ASCENDING );
+
+            // THEN
+            assertContainsInOrder( changes.getAdded(), 43L, 44L );
+            assertContainsInOrder( changesWithValues.getAdded(), nodeWithPropertyValues( 43L, "SE", 35 ), nodeWithPropertyValues( 44L, "SE", 40 ) );
+            assertContains( changes.getRemoved(), 46L );
+            assertContains( changesWithValues.getRemoved(), 46L );
+        }
+
+        @Test
+        void shouldSeekByRangeAndFilterFollowingPredicates()
+        {
+            // GIVEN
+            ReadableTransactionState state = new TxStateBuilder()
+                    .withAdded( 42L, "a", 1 )
+                    .withAdded( 43L, "b", 2 )
+                    .withAdded( 44L, "c", 1 )
+                    .withAdded( 45L, 10, 1 )
+                    .build();
+            IndexQuery[] rangeAndExact = {IndexQuery.stringPrefix( 1, stringValue( "" ) ), IndexQuery.exact( 2, 1 )};
+            IndexQuery[] existsAndRange = {IndexQuery.exists( 1 ), IndexQuery.range( 2, 2, true, null, false )};
+
+            // THEN
+            assertContains( indexUpdatesForCompositeSeek( state, compositeIndex, rangeAndExact, IndexOrder.NONE ).getAdded(), 42L, 44L );
+            assertContains( indexUpdatesForCompositeSeek( state, compositeIndex, existsAndRange, IndexOrder.NONE ).getAdded(), 43L );
+        }
+
     }
 
     private void assertContains( IndexOrder indexOrder,
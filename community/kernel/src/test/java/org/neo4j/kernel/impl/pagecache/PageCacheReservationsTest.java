@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import org.junit.Test;
+
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+
+import org.neo4j.graphdb.config.InvalidSettingException;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageReservation;
+import org.neo4j.kernel.configuration.Config;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.graphdb.factory.GraphDatabaseSettings.pagecache_reserved_node_store;
+import static org.neo4j.graphdb.factory.GraphDatabaseSettings.pagecache_reserved_property_store;
+
+public class PageCacheReservationsTest
+{
+    @Test
+    public void shouldNotAddReservationWhenNotConfigured()
+    {
+        OpenOption[] openOptions = {StandardOpenOption.CREATE};
+        OpenOption[] result = PageCacheReservations.withReservation( Config.defaults(), pagecache_reserved_node_store,
+                mock( PageCache.class ), openOptions );
+        assertSame( openOptions, result );
+    }
+
+    @Test
+    public void shouldAddPercentageReservation()
+    {
+        Config config = Config.defaults( pagecache_reserved_node_store, "25%" );
+        OpenOption[] result = PageCacheReservations.withReservation( config, pagecache_reserved_node_store,
+                mock( PageCache.class ), StandardOpenOption.CREATE );
+
+        assertEquals( 2, result.length );
+        assertEquals( StandardOpenOption.CREATE, result[0] );
+        PageReservation reservation = (PageReservation) result[1];
+        assertEquals( pagecache_reserved_node_store.name(), reservation.name() );
+        assertEquals( 250, reservation.reservedPages( 1000 ) );
+    }
+
+    @Test
+    public void shouldAddMemoryReservationInPages()
+    {
+        PageCache pageCache = mock( PageCache.class );
+        when( pageCache.pageSize() ).thenReturn( 8192 );
+        Config config = Config.defaults( pagecache_reserved_property_store, "1m" );
+        OpenOption[] result = PageCacheReservations.withReservation( config, pagecache_reserved_property_store, pageCache );
+
+        assertEquals( 1, result.length );
+        assertEquals( 128, ((PageReservation) result[0]).reservedPages( 1000 ) );
+        assertEquals( 100, ((PageReservation) result[0]).reservedPages( 100 ) );
+    }
+
+    @Test
+    public void reservationsForTheSameSettingMustBeEqual()
+    {
+        Config config = Config.defaults( pagecache_reserved_node_store, "10%" );
+        OpenOption[] first = PageCacheReservations.withReservation( config, pagecache_reserved_node_store, mock( PageCache.class ) );
+        OpenOption[] second = PageCacheReservations.withReservation( config, pagecache_reserved_node_store, mock( PageCache.class ) );
+        assertArrayEquals( first, second );
+    }
+
+    @Test( expected = InvalidSettingException.class )
+    public void shouldRejectInvalidReservation()
+    {
+        Config.defaults( pagecache_reserved_node_store, "150%" );
+    }
+}
@@ -32,8 +32,10 @@ import java.util.Iterator;
 import java.util.Map;
 
 import org.neo4j.helpers.collection.IteratorWrapper;
+import org.neo4j.io.ByteUnit;
 import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier;
 import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.cache.NodePropertyValueCache;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.StoreFactory;
 import org.neo4j.kernel.impl.store.id.DefaultIdGeneratorFactory;
@@ -45,6 +47,7 @@ import org.neo4j.test.rule.RandomRule;
 import org.neo4j.unsafe.batchinsert.internal.DirectRecordAccessSet;
 import org.neo4j.values.storable.RandomValues;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -108,6 +111,26 @@ public class RecordPropertyCursorTest
         assertPropertyChain( valuesB, firstPropertyIdB, cursor );
     }
 
+    @Test
+    public void shouldReadDynamicNodePropertyValuesFromCache()
+    {
+        // given
+        Value[] values = {Values.intValue( 42 ), Values.stringValue( random.nextAlphaNumericString( 500, 1_000 ) ), Values.intArray( new int[1_000] )};
+        long firstPropertyId = storeValuesAsPropertyChain( creator, owner, values );
+
+        try ( NodePropertyValueCache cache = new NodePropertyValueCache( ByteUnit.mebiBytes( 1 ) );
+              RecordPropertyCursor cursor = new RecordPropertyCursor( neoStores.getPropertyStore(), cache ) )
+        {
+            // when
+            assertNodePropertyChain( values, firstPropertyId, cursor );
+            assertNodePropertyChain( values, firstPropertyId, cursor );
+
+            // then only the values in dynamic records are cached, and the second read is served from the cache
+            assertEquals( 2, cache.misses() );
+            assertEquals( 2, cache.hits() );
+        }
+    }
+
     @Test
     public void closeShouldBeIdempotent()
     {
@@ -138,6 +161,17 @@ public class RecordPropertyCursorTest
         assertTrue( expectedValues.isEmpty() );
     }
 
+    private void assertNodePropertyChain( Value[] values, long firstPropertyId, RecordPropertyCursor cursor )
+    {
+        Map<Integer,Value> expectedValues = asMap( values );
+        cursor.initNodeProperties( firstPropertyId, 7 );
+        while ( cursor.next() )
+        {
+            assertEquals( expectedValues.remove( cursor.propertyKey() ), cursor.propertyValue() );
+        }
+        assertTrue( expectedValues.isEmpty() );
+    }
+
     private Value[] createValues()
     {
         int numberOfProperties = random.nextInt( 1, 20 );
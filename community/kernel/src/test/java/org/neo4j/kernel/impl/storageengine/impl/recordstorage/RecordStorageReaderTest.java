@@ -26,6 +26,7 @@ import org.junit.Test;
 
 import java.util.function.Supplier;
 
+import org.neo4j.kernel.impl.cache.NodePropertyValueCache;
 import org.neo4j.storageengine.api.schema.LabelScanReader;
 import org.neo4j.test.MockedNeoStores;
 
@@ -46,7 +47,8 @@ public class RecordStorageReaderTest
 
         when( scanStore.get() ).thenReturn( scanReader );
         RecordStorageReader statement = new RecordStorageReader( null, null, MockedNeoStores.basicMockedNeoStores(), null, null,
-                mock( Supplier.class ), scanStore, mock( RecordStorageCommandCreationContext.class ) );
+                mock( Supplier.class ), scanStore, mock( Supplier.class ), mock( RecordStorageCommandCreationContext.class ),
+                NodePropertyValueCache.DISABLED );
         statement.acquire();
 
         // when
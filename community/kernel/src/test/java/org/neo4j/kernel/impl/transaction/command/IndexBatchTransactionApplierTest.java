@@ -25,6 +25,7 @@ package org.neo4j.kernel.impl.transaction.command;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -44,7 +45,9 @@ import org.neo4j.kernel.impl.store.PropertyStore;
 import org.neo4j.kernel.impl.store.RelationshipStore;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
 import org.neo4j.kernel.impl.transaction.command.Command.NodeCommand;
+import org.neo4j.kernel.impl.transaction.command.Command.RelationshipCommand;
 import org.neo4j.storageengine.api.EntityType;
 import org.neo4j.storageengine.api.schema.SchemaRule;
 import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
@@ -77,8 +80,8 @@ public class IndexBatchTransactionApplierTest
         WorkSync<IndexingUpdateService,IndexUpdatesWork> indexUpdatesSync = new WorkSync<>( indexing );
         TransactionToApply tx = mock( TransactionToApply.class );
         PropertyStore propertyStore = mock( PropertyStore.class );
-        try ( IndexBatchTransactionApplier applier = new IndexBatchTransactionApplier( indexing, labelScanSync, indexUpdatesSync, mock( NodeStore.class ),
-                mock( RelationshipStore.class ), propertyStore, new IndexActivator( indexing ) ) )
+        try ( IndexBatchTransactionApplier applier = new IndexBatchTransactionApplier( indexing, labelScanSync, relationshipTypeScanSync(),
+                indexUpdatesSync, mock( NodeStore.class ), mock( RelationshipStore.class ), propertyStore, new IndexActivator( indexing ) ) )
         {
             try ( TransactionApplier txApplier = applier.startTx( tx ) )
             {
@@ -92,6 +95,36 @@ public class IndexBatchTransactionApplierTest
         verify( labelScanSync ).applyAsync( any() );
     }
 
+    @Test
+    public void shouldProvideRelationshipTypeScanStoreUpdatesForCreatedAndDeletedRelationships() throws Exception
+    {
+        // GIVEN
+        IndexingService indexing = mock( IndexingService.class );
+        when( indexing.convertToIndexUpdates( any(), eq( EntityType.RELATIONSHIP ) ) ).thenAnswer( o -> Iterables.empty() );
+        List<NodeLabelUpdate> updates = new ArrayList<>();
+        WorkSync<Supplier<LabelScanWriter>,LabelUpdateWork> relationshipTypeScanSync =
+                new WorkSync<>( singletonProvider( new CollectingLabelScanWriter( updates ) ) );
+        WorkSync<IndexingUpdateService,IndexUpdatesWork> indexUpdatesSync = new WorkSync<>( indexing );
+        TransactionToApply tx = mock( TransactionToApply.class );
+        try ( IndexBatchTransactionApplier applier = new IndexBatchTransactionApplier( indexing, relationshipTypeScanSync(), relationshipTypeScanSync,
+                indexUpdatesSync, mock( NodeStore.class ), mock( RelationshipStore.class ), mock( PropertyStore.class ),
+                new IndexActivator( indexing ) ) )
+        {
+            try ( TransactionApplier txApplier = applier.startTx( tx ) )
+            {
+                // WHEN
+                txApplier.visitRelationshipCommand( relationship( 7, 3, false, true ) );
+                txApplier.visitRelationshipCommand( relationship( 5, 4, true, false ) );
+                txApplier.visitRelationshipCommand( relationship( 6, 4, true, true ) );
+            }
+        }
+
+        // THEN
+        assertEquals( Arrays.asList(
+                NodeLabelUpdate.labelChanges( 5, new long[]{4}, new long[0] ),
+                NodeLabelUpdate.labelChanges( 7, new long[0], new long[]{3} ) ), updates );
+    }
+
     @Test
     public void shouldRegisterIndexesToActivateIntoTheActivator() throws Exception
     {
@@ -114,7 +147,7 @@ public class IndexBatchTransactionApplierTest
         StoreIndexDescriptor rule1 = uniqueForSchema( forLabel( 1, 1 ), providerDescriptor ).withIds( indexId1, constraintId1 );
         StoreIndexDescriptor rule2 = uniqueForSchema( forLabel( 2, 1 ), providerDescriptor ).withIds( indexId2, constraintId2 );
         StoreIndexDescriptor rule3 = uniqueForSchema( forLabel( 3, 1 ), providerDescriptor ).withIds( indexId3, constraintId3 );
-        try ( IndexBatchTransactionApplier applier = new IndexBatchTransactionApplier( indexing, labelScanSync,
+        try ( IndexBatchTransactionApplier applier = new IndexBatchTransactionApplier( indexing, labelScanSync, relationshipTypeScanSync(),
                 indexUpdatesSync, mock( NodeStore.class ), mock( RelationshipStore.class ),
                 propertyStore, indexActivator ) )
         {
@@ -152,6 +185,11 @@ public class IndexBatchTransactionApplierTest
         return records;
     }
 
+    private WorkSync<Supplier<LabelScanWriter>,LabelUpdateWork> relationshipTypeScanSync()
+    {
+        return new WorkSync<>( singletonProvider( new CollectingLabelScanWriter( new ArrayList<>() ) ) );
+    }
+
     private Supplier<LabelScanWriter> singletonProvider( final LabelScanWriter writer )
     {
         return () -> writer;
@@ -166,6 +204,36 @@ public class IndexBatchTransactionApplierTest
         return new NodeCommand( new NodeRecord( nodeId ), after );
     }
 
+    private RelationshipCommand relationship( long relationshipId, int type, boolean inUseBefore, boolean inUseAfter )
+    {
+        RelationshipRecord before = new RelationshipRecord( relationshipId, inUseBefore, 1, 2, type, NO_NEXT_RELATIONSHIP.intValue(),
+                NO_NEXT_RELATIONSHIP.intValue(), NO_NEXT_RELATIONSHIP.intValue(), NO_NEXT_RELATIONSHIP.intValue(), true, true );
+        RelationshipRecord after = before.clone();
+        after.setInUse( inUseAfter );
+        return new RelationshipCommand( before, after );
+    }
+
+    private static class CollectingLabelScanWriter implements LabelScanWriter
+    {
+        private final List<NodeLabelUpdate> updates;
+
+        CollectingLabelScanWriter( List<NodeLabelUpdate> updates )
+        {
+            this.updates = updates;
+        }
+
+        @Override
+        public void write( NodeLabelUpdate update )
+        {
+            updates.add( update );
+        }
+
+        @Override
+        public void close()
+        {   // empty
+        }
+    }
+
     private static class OrderVerifyingLabelScanWriter implements LabelScanWriter
     {
         private final long[] expectedNodeIds;
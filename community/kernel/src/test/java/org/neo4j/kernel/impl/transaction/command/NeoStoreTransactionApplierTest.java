@@ -909,7 +909,7 @@ public class NeoStoreTransactionApplierTest
 
     private BatchTransactionApplier newIndexApplier()
     {
-        return new IndexBatchTransactionApplier( indexingService, labelScanStoreSynchronizer,
+        return new IndexBatchTransactionApplier( indexingService, labelScanStoreSynchronizer, labelScanStoreSynchronizer,
                 indexUpdatesSync, nodeStore, neoStores.getRelationshipStore(), propertyStore, indexActivator );
     }
 
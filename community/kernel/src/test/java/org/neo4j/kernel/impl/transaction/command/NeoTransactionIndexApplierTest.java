@@ -103,7 +103,8 @@ public class NeoTransactionIndexApplierTest
     private IndexBatchTransactionApplier newIndexTransactionApplier()
     {
         PropertyStore propertyStore = mock( PropertyStore.class );
-        return new IndexBatchTransactionApplier( indexingService, labelScanStoreSynchronizer, indexUpdatesSync, mock( NodeStore.class ),
+        return new IndexBatchTransactionApplier( indexingService, labelScanStoreSynchronizer, labelScanStoreSynchronizer, indexUpdatesSync,
+                mock( NodeStore.class ),
                 mock( RelationshipStore.class ), propertyStore, new IndexActivator( indexingService ) );
     }
 
@@ -91,8 +91,8 @@ public class SchemaRuleCommandTest
     private final WorkSync<IndexingUpdateService,IndexUpdatesWork> indexUpdatesSync = new WorkSync<>( indexes );
     private final PropertyStore propertyStore = mock( PropertyStore.class );
     private final IndexBatchTransactionApplier indexApplier =
-            new IndexBatchTransactionApplier( indexes, labelScanStoreSynchronizer, indexUpdatesSync, mock( NodeStore.class ), neoStores.getRelationshipStore(),
-                    propertyStore, new IndexActivator( indexes ) );
+            new IndexBatchTransactionApplier( indexes, labelScanStoreSynchronizer, labelScanStoreSynchronizer, indexUpdatesSync,
+                    mock( NodeStore.class ), neoStores.getRelationshipStore(), propertyStore, new IndexActivator( indexes ) );
     private final BaseCommandReader reader = new PhysicalLogCommandReaderV3_0_2();
     private final StoreIndexDescriptor rule = TestIndexDescriptorFactory.forLabel( labelId, propertyKey ).withId( id );
 
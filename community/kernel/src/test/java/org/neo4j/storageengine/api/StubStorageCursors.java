@@ -43,6 +43,7 @@ import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.LabelScanReader;
 import org.neo4j.storageengine.api.schema.PopulationProgress;
+import org.neo4j.storageengine.api.schema.RelationshipTypeScanReader;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueGroup;
 
@@ -135,6 +136,12 @@ public class StubStorageCursors implements StorageReader
         throw new UnsupportedOperationException( "Not implemented yet" );
     }
 
+    @Override
+    public RelationshipTypeScanReader getRelationshipTypeScanReader()
+    {
+        throw new UnsupportedOperationException( "Not implemented yet" );
+    }
+
     @Override
     public IndexReader getIndexReader( IndexDescriptor index )
     {
@@ -393,6 +400,18 @@ public class StubStorageCursors implements StorageReader
         throw new UnsupportedOperationException( "Not implemented yet" );
     }
 
+    @Override
+    public AllNodeScan allNodeScan()
+    {
+        throw new UnsupportedOperationException( "Not implemented yet" );
+    }
+
+    @Override
+    public AllRelationshipsScan allRelationshipScan()
+    {
+        throw new UnsupportedOperationException( "Not implemented yet" );
+    }
+
     @Override
     public StorageNodeCursor allocateNodeCursor()
     {
@@ -485,6 +504,12 @@ public class StubStorageCursors implements StorageReader
             this.iterator = nodeData.keySet().iterator();
         }
 
+        @Override
+        public boolean scanBatch( AllNodeScan scan, int sizeHint )
+        {
+            throw new UnsupportedOperationException( "Not implemented yet" );
+        }
+
         @Override
         public void single( long reference )
         {
@@ -600,6 +625,12 @@ public class StubStorageCursors implements StorageReader
             next = NO_ID;
         }
 
+        @Override
+        public boolean scanBatch( AllRelationshipsScan scan, int sizeHint )
+        {
+            throw new UnsupportedOperationException( "Not implemented yet" );
+        }
+
         @Override
         public void single( long reference )
         {
@@ -696,6 +727,12 @@ public class StubStorageCursors implements StorageReader
             iterator = properties != null ? properties.properties.entrySet().iterator() : emptyIterator();
         }
 
+        @Override
+        public void initNodeProperties( long reference, long nodeReference )
+        {
+            init( reference );
+        }
+
         @Override
         public void close()
         {
@@ -713,6 +750,12 @@ public class StubStorageCursors implements StorageReader
             return current.getValue().valueGroup();
         }
 
+        @Override
+        public int propertyValueSize()
+        {
+            throw new UnsupportedOperationException();
+        }
+
         @Override
         public Value propertyValue()
         {
@@ -26,6 +26,9 @@ import java.io.File;
 import java.io.IOException;
 
 import org.neo4j.internal.kernel.api.IndexCapability;
+import org.neo4j.internal.kernel.api.IndexLimitation;
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexValueCapability;
 import org.neo4j.internal.kernel.api.InternalIndexState;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.PageCache;
@@ -47,11 +50,50 @@ import org.neo4j.kernel.impl.storemigration.StoreMigrationParticipant;
 import org.neo4j.kernel.impl.storemigration.participant.SchemaIndexMigrator;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
+import org.neo4j.values.storable.ValueCategory;
 
 import static org.neo4j.storageengine.api.schema.IndexDescriptor.Type.UNIQUE;
 
 public class LuceneIndexProvider extends IndexProvider
 {
+    /**
+     * Composite lucene indexes store each property as a separate field, so they can only be sought by exact values on all of them.
+     */
+    private static final IndexCapability COMPOSITE_CAPABILITY = new IndexCapability()
+    {
+        private final IndexLimitation[] limitations = {IndexLimitation.EXACT_COMPOSITE_ONLY};
+
+        @Override
+        public IndexOrder[] orderCapability( ValueCategory... valueCategories )
+        {
+            return ORDER_NONE;
+        }
+
+        @Override
+        public IndexValueCapability valueCapability( ValueCategory... valueCategories )
+        {
+            return IndexValueCapability.NO;
+        }
+
+        @Override
+        public boolean isFulltextIndex()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isEventuallyConsistent()
+        {
+            return false;
+        }
+
+        @Override
+        public IndexLimitation[] limitations()
+        {
+            return limitations;
+        }
+    };
+
     private final IndexStorageFactory indexStorageFactory;
     private final Config config;
     private final OperationalMode operationalMode;
@@ -142,6 +184,10 @@ public class LuceneIndexProvider extends IndexProvider
     @Override
     public IndexCapability getCapability( StoreIndexDescriptor descriptor )
     {
+        if ( descriptor.schema().getPropertyIds().length > 1 )
+        {
+            return COMPOSITE_CAPABILITY;
+        }
         return IndexCapability.NO_CAPABILITY;
     }
 
@@ -71,7 +71,7 @@ public final class UTF8StringValue extends StringValue
             {
                 return false;
             }
-            for ( int i = offset, j = other.offset; i < byteLength; i++, j++ )
+            for ( int i = offset, j = other.offset, end = offset + byteLength; i < end; i++, j++ )
             {
                 if ( bytes[i] != other.bytes[j] )
                 {
@@ -80,12 +80,54 @@ public final class UTF8StringValue extends StringValue
             }
             return true;
         }
+        else if ( value instanceof TextValue )
+        {
+            return equals( ((TextValue) value).stringValue() );
+        }
         else
         {
             return super.equals( value );
         }
     }
 
+    /**
+     * Compares the code points of the UTF-8 bytes directly against those of the given string, so that comparing a string
+     * read from the store against e.g. a query parameter doesn't require decoding the bytes into a {@link String} first.
+     */
+    @Override
+    public boolean equals( String x )
+    {
+        String s = value;
+        if ( s != null )
+        {
+            return s.equals( x );
+        }
+        int stringLength = x.length();
+        // Every UTF-16 char takes between one and three bytes in UTF-8
+        if ( byteLength < stringLength || byteLength > 3 * stringLength )
+        {
+            return false;
+        }
+
+        CodePointCursor cpc = new CodePointCursor( bytes, offset );
+        int end = offset + byteLength;
+        int j = 0;
+        while ( cpc.i < end )
+        {
+            if ( j >= stringLength )
+            {
+                return false;
+            }
+            int codePoint = x.codePointAt( j );
+            if ( cpc.nextCodePoint() != codePoint )
+            {
+                return false;
+            }
+            j += Character.charCount( codePoint );
+        }
+        return j == stringLength;
+    }
+
     @Override
     String value()
     {
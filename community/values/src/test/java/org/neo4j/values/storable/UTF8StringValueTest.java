@@ -159,6 +159,34 @@ class UTF8StringValueTest
         assertSame( textValue.reverse(), stringValue( "ed" ) );
     }
 
+    @Test
+    void shouldCompareBytesWithinOffsetForEquality()
+    {
+        // Given
+        byte[] bytes = "abcdefg".getBytes( UTF_8 );
+
+        // When
+        TextValue textValue = utf8Value( bytes, 3, 2 );
+
+        // Then
+        assertSame( textValue, utf8Value( "de".getBytes( UTF_8 ) ) );
+        assertThat( textValue.equals( utf8Value( "dx".getBytes( UTF_8 ) ) ), equalTo( false ) );
+        assertThat( utf8Value( "dx".getBytes( UTF_8 ) ).equals( textValue ), equalTo( false ) );
+    }
+
+    @Test
+    void shouldCompareEqualToStringsWithoutDecoding()
+    {
+        for ( String string : STRINGS )
+        {
+            TextValue utf8 = utf8Value( string.getBytes( UTF_8 ) );
+            assertThat( string, utf8.equals( string ), equalTo( true ) );
+            assertThat( string, utf8.equals( stringValue( string ) ), equalTo( true ) );
+            assertThat( string, utf8.equals( string + "a" ), equalTo( false ) );
+            assertThat( string, utf8.equals( stringValue( "a" + string ) ), equalTo( false ) );
+        }
+    }
+
     @Test
     void shouldHandleAdditionWithOffset()
     {
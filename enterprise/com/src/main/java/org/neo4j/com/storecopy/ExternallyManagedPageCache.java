@@ -94,6 +94,12 @@ public class ExternallyManagedPageCache implements PageCache
         delegate.flushAndForce( limiter );
     }
 
+    @Override
+    public long flushColdPages( IOLimiter limiter ) throws IOException
+    {
+        return delegate.flushColdPages( limiter );
+    }
+
     @Override
     public int pageSize()
     {
@@ -285,6 +285,13 @@ object SlotAllocation {
         result.newLong(leaf.endNode, nullable, CTNode)
         result
 
+      case leaf: DirectedRelationshipIndexSeek =>
+        val result = argument
+        result.newLong(leaf.idName, nullable, CTRelationship)
+        result.newLong(leaf.startNode, nullable, CTNode)
+        result.newLong(leaf.endNode, nullable, CTNode)
+        result
+
       case leaf: UndirectedRelationshipByIdSeek =>
         val result = argument
         result.newLong(leaf.idName, nullable, CTRelationship)
@@ -302,6 +309,11 @@ object SlotAllocation {
         result.newReference(leaf.idName, false, CTInteger)
         result
 
+      case leaf: NodeCountFromIndexSeek =>
+        val result = argument
+        result.newReference(leaf.idName, false, CTInteger)
+        result
+
       case p => throw new SlotAllocationFailed(s"Don't know how to handle $p")
     }
 
@@ -81,6 +81,10 @@ class SlottedPipeBuilder(fallback: PipeBuilder,
         NodeIndexSeekSlottedPipe(column, label, properties.map(SlottedIndexedProperty(column, _, slots)).toIndexedSeq,
           valueExpr.map(convertExpressions), indexSeekMode, indexOrder, slots, argumentSize)(id = id)
 
+      case DirectedRelationshipIndexSeek(column, startNode, endNode, typeToken, properties, valueExpr, _) =>
+        DirectedRelationshipIndexSeekSlottedPipe(column, startNode, endNode, typeToken, properties.toIndexedSeq, valueExpr.map(convertExpressions),
+          slots, argumentSize)(id)
+
       case NodeByLabelScan(column, label, _) =>
         NodesByLabelScanSlottedPipe(column, LazyLabel(label), slots, argumentSize)(id)
 
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.pipes
+
+import org.neo4j.cypher.internal.compatibility.v3_6.runtime.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.ExecutionContext
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.pipes._
+import org.neo4j.cypher.internal.runtime.slotted.SlottedExecutionContext
+import org.neo4j.cypher.internal.v3_6.expressions.{PropertyKeyToken, RelationshipTypeToken}
+import org.neo4j.cypher.internal.v3_6.logical.plans.QueryExpression
+import org.neo4j.cypher.internal.v3_6.util.attribution.Id
+import org.neo4j.internal.kernel.api.{IndexReference, RelationshipValueIndexCursor}
+import org.neo4j.kernel.api.StatementConstants
+
+case class DirectedRelationshipIndexSeekSlottedPipe(ident: String,
+                                                    fromNode: String,
+                                                    toNode: String,
+                                                    typeToken: RelationshipTypeToken,
+                                                    properties: IndexedSeq[PropertyKeyToken],
+                                                    valueExpr: QueryExpression[Expression],
+                                                    slots: SlotConfiguration,
+                                                    argumentSize: SlotConfiguration.Size)
+                                                   (val id: Id = Id.INVALID_ID) extends Pipe with NodeIndexSeeker {
+
+  override val indexMode: IndexSeekMode = IndexSeek
+
+  override val propertyIds: Array[Int] = properties.map(_.nameId.id).toArray
+
+  private val relOffset = slots.getLongOffsetFor(ident)
+  private val fromOffset = slots.getLongOffsetFor(fromNode)
+  private val toOffset = slots.getLongOffsetFor(toNode)
+
+  private var reference: IndexReference = IndexReference.NO_INDEX
+
+  private def reference(context: QueryContext): IndexReference = {
+    if (reference == IndexReference.NO_INDEX) {
+      reference = context.relationshipIndexReference(typeToken.nameId.id, propertyIds: _*)
+    }
+    reference
+  }
+
+  valueExpr.expressions.foreach(_.registerOwningPipe(this))
+
+  protected def internalCreateResults(state: QueryState): Iterator[ExecutionContext] = {
+    val indexReference = reference(state.query)
+    val contextForIndexExpression = state.initialContext.getOrElse(SlottedExecutionContext.empty)
+    relationshipIndexSeek(state, indexReference, contextForIndexExpression).flatMap(
+      cursor => new SlottedRelationshipIndexIterator(state, cursor)
+    )
+  }
+
+  class SlottedRelationshipIndexIterator(state: QueryState,
+                                         cursor: RelationshipValueIndexCursor
+                                        ) extends IndexIteratorBase[ExecutionContext](cursor) {
+
+    override protected def fetchNext(): ExecutionContext = {
+      var slottedContext: SlottedExecutionContext = null
+      while (slottedContext == null && cursor.next()) {
+        val fromNodeId = cursor.sourceNodeReference()
+        // Skip relationships that can no longer be read from the store
+        if (fromNodeId != StatementConstants.NO_SUCH_NODE) {
+          slottedContext = SlottedExecutionContext(slots)
+          state.copyArgumentStateTo(slottedContext, argumentSize.nLongs, argumentSize.nReferences)
+          slottedContext.setLongAt(relOffset, cursor.relationshipReference())
+          slottedContext.setLongAt(fromOffset, fromNodeId)
+          slottedContext.setLongAt(toOffset, cursor.targetNodeReference())
+        }
+      }
+      slottedContext
+    }
+  }
+
+  def canEqual(other: Any): Boolean = other.isInstanceOf[DirectedRelationshipIndexSeekSlottedPipe]
+
+  override def equals(other: Any): Boolean = other match {
+    case that: DirectedRelationshipIndexSeekSlottedPipe =>
+      (that canEqual this) &&
+        ident == that.ident &&
+        fromNode == that.fromNode &&
+        toNode == that.toNode &&
+        typeToken == that.typeToken &&
+        properties == that.properties &&
+        valueExpr == that.valueExpr &&
+        slots == that.slots &&
+        argumentSize == that.argumentSize
+    case _ => false
+  }
+
+  override def hashCode(): Int = {
+    val state = Seq(ident, fromNode, toNode, typeToken, properties, valueExpr, slots, argumentSize)
+    state.map(_.hashCode()).foldLeft(0)((a, b) => 31 * a + b)
+  }
+}
@@ -18,16 +18,20 @@
  */
 package org.neo4j.kernel.impl.pagecache;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -35,12 +39,13 @@ import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
 import java.util.stream.Stream;
 
 import org.neo4j.graphdb.Resource;
+import org.neo4j.io.IOUtils;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.PageCache;
-import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.io.pagecache.impl.FileIsNotMappedException;
 import org.neo4j.kernel.impl.transaction.state.NeoStoreFileListing;
@@ -49,8 +54,6 @@ import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.StoreFileMetadata;
 
 import static java.util.Comparator.naturalOrder;
-import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
-import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
 
 /**
  * The page cache warmer profiles the page cache to figure out what data is in memory and what is not, and uses those
@@ -63,8 +66,13 @@ import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
  * The profiles are collected in the "profiles" directory, so it is easy to get rid of all of them, on the off chance
  * that something is wrong with them.
  * <p>
- * These cacheprof files are compressed bitmaps where each raised bit indicates that the page identified by the
- * bit-index was in memory.
+ * These cacheprof files are compressed, and record four bits of "heat" for every page in the mapped file. A page with a
+ * heat of zero was not in memory, while the heat of the other pages is one more than their usage count in the page
+ * cache, which is an approximation of how frequently they were accessed. Profiles are reheated hottest pages first,
+ * across all of the profiled files, so the pages that matter the most are the first to be back in memory.
+ * <p>
+ * Profiles written by older versions are compressed bitmaps, where each raised bit indicates that the page identified
+ * by the bit-index was in memory. They are still read, as if all of their pages were equally hot.
  */
 public class PageCacheWarmer implements NeoStoreFileListing.StoreFileProvider
 {
@@ -72,11 +80,16 @@ public class PageCacheWarmer implements NeoStoreFileListing.StoreFileProvider
 
     private static final int IO_PARALLELISM = Runtime.getRuntime().availableProcessors();
 
+    // Profiles in the heat format start with this header. Older bitmap profiles have no header.
+    private static final byte[] HEAT_PROFILE_HEADER = {'H', 'E', 'A', 'T'};
+    private static final int MAX_HEAT = 15;
+
     private final FileSystemAbstraction fs;
     private final PageCache pageCache;
     private final JobScheduler scheduler;
     private final File databaseDirectory;
     private final ProfileRefCounts refCounts;
+    private final Set<File> reheatedFiles;
     private volatile boolean stopped;
     private ExecutorService executor;
     private PageLoaderFactory pageLoaderFactory;
@@ -88,6 +101,7 @@ public class PageCacheWarmer implements NeoStoreFileListing.StoreFileProvider
         this.scheduler = scheduler;
         this.databaseDirectory = databaseDirectory;
         this.refCounts = new ProfileRefCounts();
+        this.reheatedFiles = new HashSet<>();
     }
 
     @Override
@@ -110,6 +124,7 @@ public class PageCacheWarmer implements NeoStoreFileListing.StoreFileProvider
     public synchronized void start()
     {
         stopped = false;
+        reheatedFiles.clear();
         executor = buildExecutorService( scheduler );
         pageLoaderFactory = new PageLoaderFactory( executor, pageCache );
     }
@@ -139,26 +154,83 @@ public class PageCacheWarmer implements NeoStoreFileListing.StoreFileProvider
      * @throws IOException if anything goes wrong while reading the profiled data back in.
      */
     synchronized OptionalLong reheat() throws IOException
+    {
+        return reheat( 0.0, pagesLoaded ->
+        {
+        } );
+    }
+
+    /**
+     * Reheat the page cache based on existing profiling data, or do nothing if no profiling data is available.
+     * <p>
+     * The profiled pages of all the mapped files are loaded hottest first. Once the given fraction of them are in
+     * memory, the given callback is told how many pages that took, while the rest of the pages continue to load.
+     * The callback is called right away if the fraction is zero, or if there is nothing to load. It is not called if
+     * the reheating is stopped before the hot pages are in.
+     * <p>
+     * Files that have already been reheated since the warmer was {@link #start() started} are skipped.
+     *
+     * @param hotFraction The fraction of the profiled pages, between 0.0 and 1.0, that are considered hot.
+     * @param hotPagesLoaded Called with the number of pages loaded, once the hot pages are in memory.
+     * @return An {@link OptionalLong} of the number of pages loaded in, or {@link OptionalLong#empty()} if the
+     * reheating was stopped early via {@link #stop()}.
+     * @throws IOException if anything goes wrong while reading the profiled data back in.
+     */
+    synchronized OptionalLong reheat( double hotFraction, LongConsumer hotPagesLoaded ) throws IOException
     {
         if ( stopped )
         {
             return OptionalLong.empty();
         }
-        long pagesLoaded = 0;
         List<PagedFile> files = pageCache.listExistingMappings();
         Profile[] existingProfiles = findExistingProfiles( files );
+        List<ProfiledFile> profiledFiles = new ArrayList<>();
+        long profiledPages = 0;
         for ( PagedFile file : files )
         {
-            try
+            if ( reheatedFiles.add( file.file() ) )
             {
-                pagesLoaded += reheat( file, existingProfiles );
+                ProfiledFile profiledFile = findValidProfile( file, existingProfiles );
+                if ( profiledFile != null )
+                {
+                    profiledFiles.add( profiledFile );
+                    profiledPages += profiledFile.profiledPages();
+                }
             }
-            catch ( FileIsNotMappedException ignore )
+        }
+
+        HotPages hotPages = new HotPages( (long) Math.ceil( profiledPages * hotFraction ), hotPagesLoaded, profiledFiles );
+        try
+        {
+            hotPages.signalIfLoaded();
+            for ( int heat = MAX_HEAT; heat > 0; heat-- )
             {
-                // The database is allowed to map and unmap files while we are trying to heat it up.
+                for ( ProfiledFile profiledFile : profiledFiles )
+                {
+                    try
+                    {
+                        reheat( profiledFile, heat, hotPages );
+                    }
+                    catch ( FileIsNotMappedException ignore )
+                    {
+                        // The database is allowed to map and unmap files while we are trying to heat it up.
+                        profiledFile.unmapped = true;
+                    }
+                    if ( stopped )
+                    {
+                        return OptionalLong.of( hotPages.pagesLoaded );
+                    }
+                }
             }
+            // Files may have been unmapped along the way, in which case we never got to the hot fraction.
+            hotPages.signal();
+        }
+        finally
+        {
+            closeLoaders( profiledFiles );
+            pageCache.reportEvents();
         }
-        return OptionalLong.of( pagesLoaded );
+        return OptionalLong.of( hotPages.pagesLoaded );
     }
 
     /**
@@ -200,65 +272,126 @@ public class PageCacheWarmer implements NeoStoreFileListing.StoreFileProvider
         return OptionalLong.of( pagesInMemory );
     }
 
-    private long reheat( PagedFile file, Profile[] existingProfiles ) throws IOException
+    /**
+     * Load the pages of the given file, that have the given heat in its profile.
+     */
+    private void reheat( ProfiledFile profiledFile, int heat, HotPages hotPages ) throws IOException
     {
-        Optional<Profile> savedProfile = filterRelevant( existingProfiles, file )
-                .sorted( Comparator.reverseOrder() ) // Try most recent profile first.
-                .filter( this::verifyChecksum )
-                .findFirst();
+        long pagesWithHeat = profiledFile.pagesByHeat[heat];
+        if ( pagesWithHeat == 0 || profiledFile.unmapped )
+        {
+            return;
+        }
+        if ( profiledFile.loader == null )
+        {
+            profiledFile.loader = pageLoaderFactory.getLoader( profiledFile.file );
+        }
+        PageLoader loader = profiledFile.loader;
+        long[] pagesLeft = {pagesWithHeat};
+        readProfile( profiledFile.profile, ( pageId, pageHeat ) ->
+        {
+            if ( stopped )
+            {
+                return false;
+            }
+            if ( pageHeat == heat )
+            {
+                loader.load( pageId );
+                hotPages.pageLoaded();
+                pagesLeft[0]--;
+            }
+            return pagesLeft[0] > 0;
+        } );
+    }
 
-        if ( !savedProfile.isPresent() )
+    private ProfiledFile findValidProfile( PagedFile file, Profile[] existingProfiles )
+    {
+        Iterator<Profile> profiles = filterRelevant( existingProfiles, file )
+                .sorted( Comparator.reverseOrder() ) // Try most recent profile first.
+                .iterator();
+        while ( profiles.hasNext() )
         {
-            return 0;
+            Profile profile = profiles.next();
+            long[] pagesByHeat = new long[MAX_HEAT + 1];
+            // Successfully reading through and closing the compressed file implies verifying the gzip checksum.
+            try
+            {
+                readProfile( profile, ( pageId, heat ) ->
+                {
+                    pagesByHeat[heat]++;
+                    return true;
+                } );
+            }
+            catch ( IOException ignore )
+            {
+                continue;
+            }
+            return new ProfiledFile( file, profile, pagesByHeat );
         }
+        return null;
+    }
 
-        // The file contents checks out. Let's load it in.
-        long pagesLoaded = 0;
-        try ( InputStream input = savedProfile.get().read( fs );
-              PageLoader loader = pageLoaderFactory.getLoader( file ) )
+    /**
+     * Read through the given profile, and give the heat of every page in it to the given visitor, until the visitor
+     * returns {@code false} or the profile ends.
+     */
+    private void readProfile( Profile profile, PageHeatVisitor visitor ) throws IOException
+    {
+        try ( InputStream input = new BufferedInputStream( profile.read( fs ) ) )
         {
+            boolean heatProfile = readHeatProfileHeader( input );
             long pageId = 0;
             int b;
             while ( (b = input.read()) != -1 )
             {
-                for ( int i = 0; i < 8; i++ )
+                if ( heatProfile )
                 {
-                    if ( stopped )
+                    if ( !visitor.visit( pageId++, b & 0x0F ) || !visitor.visit( pageId++, b >>> 4 ) )
                     {
-                        pageCache.reportEvents();
-                        return pagesLoaded;
+                        return;
                     }
-                    if ( (b & 1) == 1 )
+                }
+                else
+                {
+                    for ( int i = 0; i < 8; i++ )
                     {
-                        loader.load( pageId );
-                        pagesLoaded++;
+                        if ( !visitor.visit( pageId++, b & 1 ) )
+                        {
+                            return;
+                        }
+                        b >>= 1;
                     }
-                    b >>= 1;
-                    pageId++;
                 }
             }
         }
-        pageCache.reportEvents();
-        return pagesLoaded;
     }
 
-    private boolean verifyChecksum( Profile profile )
+    private static boolean readHeatProfileHeader( InputStream input ) throws IOException
     {
-        // Successfully reading through and closing the compressed file implies verifying the gzip checksum.
-        try ( InputStream input = profile.read( fs ) )
+        input.mark( HEAT_PROFILE_HEADER.length );
+        for ( byte expected : HEAT_PROFILE_HEADER )
         {
-            int b;
-            do
+            if ( input.read() != expected )
             {
-                b = input.read();
+                // This is an old bitmap profile, which starts right away with the page bits.
+                input.reset();
+                return false;
             }
-            while ( b != -1 );
         }
-        catch ( IOException ignore )
+        return true;
+    }
+
+    private static void closeLoaders( List<ProfiledFile> profiledFiles ) throws IOException
+    {
+        List<PageLoader> loaders = new ArrayList<>();
+        for ( ProfiledFile profiledFile : profiledFiles )
         {
-            return false;
+            if ( profiledFile.loader != null )
+            {
+                loaders.add( profiledFile.loader );
+            }
         }
-        return true;
+        IOUtils.closeAll( loaders );
     }
 
     private long profile( PagedFile file, Profile[] existingProfiles ) throws IOException
@@ -269,27 +402,30 @@ public class PageCacheWarmer implements NeoStoreFileListing.StoreFileProvider
                 .map( Profile::next )
                 .orElse( Profile.first( file.file() ) );
 
-        try ( OutputStream output = nextProfile.write( fs );
-              PageCursor cursor = file.io( 0, PF_SHARED_READ_LOCK | PF_NO_FAULT ) )
+        try ( OutputStream output = nextProfile.write( fs ) )
         {
-            int stepper = 0;
+            output.write( HEAT_PROFILE_HEADER );
+            long lastPageId = file.getLastPageId();
             int b = 0;
-            while ( cursor.next() )
+            for ( long pageId = 0; pageId <= lastPageId; pageId++ )
             {
-                if ( cursor.getCurrentPageId() != PageCursor.UNBOUND_PAGE_ID )
+                int usageCount = file.usageCount( pageId );
+                if ( usageCount >= 0 )
                 {
                     pagesInMemory++;
-                    b |= 1 << stepper;
+                    int heat = Math.min( usageCount + 1, MAX_HEAT );
+                    b |= heat << (4 * (pageId & 1));
                 }
-                stepper++;
-                if ( stepper == 8 )
+                if ( (pageId & 1) == 1 )
                 {
                     output.write( b );
                     b = 0;
-                    stepper = 0;
                 }
             }
-            output.write( b );
+            if ( lastPageId >= 0 && (lastPageId & 1) == 0 )
+            {
+                output.write( b );
+            }
             output.flush();
         }
 
@@ -326,4 +462,89 @@ public class PageCacheWarmer implements NeoStoreFileListing.StoreFileProvider
                          .flatMap( dir -> Profile.findProfilesInDirectory( fs, dir ) )
                          .toArray( Profile[]::new );
     }
+
+    @FunctionalInterface
+    private interface PageHeatVisitor
+    {
+        boolean visit( long pageId, int heat ) throws IOException;
+    }
+
+    /**
+     * A mapped file with a valid profile, and a count of the profiled pages for every heat.
+     */
+    private static class ProfiledFile
+    {
+        private final PagedFile file;
+        private final Profile profile;
+        private final long[] pagesByHeat;
+        private PageLoader loader;
+        private boolean unmapped;
+
+        ProfiledFile( PagedFile file, Profile profile, long[] pagesByHeat )
+        {
+            this.file = file;
+            this.profile = profile;
+            this.pagesByHeat = pagesByHeat;
+        }
+
+        long profiledPages()
+        {
+            long pages = 0;
+            for ( int heat = 1; heat < pagesByHeat.length; heat++ )
+            {
+                pages += pagesByHeat[heat];
+            }
+            return pages;
+        }
+    }
+
+    /**
+     * Counts the pages loaded by a reheat, and signals when the hot pages are in memory.
+     */
+    private static class HotPages
+    {
+        private final long hotPages;
+        private final LongConsumer hotPagesLoaded;
+        private final List<ProfiledFile> profiledFiles;
+        private long pagesLoaded;
+        private boolean signalled;
+
+        HotPages( long hotPages, LongConsumer hotPagesLoaded, List<ProfiledFile> profiledFiles )
+        {
+            this.hotPages = hotPages;
+            this.hotPagesLoaded = hotPagesLoaded;
+            this.profiledFiles = profiledFiles;
+        }
+
+        void pageLoaded()
+        {
+            pagesLoaded++;
+            signalIfLoaded();
+        }
+
+        void signalIfLoaded()
+        {
+            if ( pagesLoaded >= hotPages )
+            {
+                signal();
+            }
+        }
+
+        void signal()
+        {
+            if ( !signalled )
+            {
+                signalled = true;
+                // The loaders may still be working on some of the pages we have asked for.
+                for ( ProfiledFile profiledFile : profiledFiles )
+                {
+                    if ( profiledFile.loader != null )
+                    {
+                        profiledFile.loader.awaitLoaded();
+                    }
+                }
+                hotPagesLoaded.accept( pagesLoaded );
+            }
+        }
+    }
 }
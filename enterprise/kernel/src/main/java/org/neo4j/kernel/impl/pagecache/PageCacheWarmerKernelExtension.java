@@ -22,18 +22,27 @@ import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.kernel.NeoStoreDataSource;
+import org.neo4j.kernel.availability.AvailabilityRequirement;
 import org.neo4j.kernel.availability.DatabaseAvailabilityGuard;
+import org.neo4j.kernel.availability.DescriptiveAvailabilityRequirement;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.pagecache.monitor.PageCacheWarmerMonitor;
 import org.neo4j.kernel.impl.transaction.state.NeoStoreFileListing;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 import org.neo4j.logging.Log;
+import org.neo4j.scheduler.Group;
 import org.neo4j.scheduler.JobScheduler;
 
 class PageCacheWarmerKernelExtension extends LifecycleAdapter
 {
+    private static final AvailabilityRequirement HOT_PAGES_REQUIREMENT =
+            new DescriptiveAvailabilityRequirement( "Page cache warmup of hot pages" );
+
+    private final JobScheduler scheduler;
     private final DatabaseAvailabilityGuard databaseAvailabilityGuard;
     private final NeoStoreDataSource dataSource;
+    private final Log log;
+    private final PageCacheWarmerMonitor monitor;
     private final Config config;
     private final PageCacheWarmer pageCacheWarmer;
     private final WarmupAvailabilityListener availabilityListener;
@@ -43,8 +52,11 @@ class PageCacheWarmerKernelExtension extends LifecycleAdapter
             JobScheduler scheduler, DatabaseAvailabilityGuard databaseAvailabilityGuard, PageCache pageCache, FileSystemAbstraction fs,
             NeoStoreDataSource dataSource, Log log, PageCacheWarmerMonitor monitor, Config config )
     {
+        this.scheduler = scheduler;
         this.databaseAvailabilityGuard = databaseAvailabilityGuard;
         this.dataSource = dataSource;
+        this.log = log;
+        this.monitor = monitor;
         this.config = config;
         pageCacheWarmer = new PageCacheWarmer( fs, pageCache, scheduler, dataSource.getDatabaseLayout().databaseDirectory() );
         availabilityListener = new WarmupAvailabilityListener( scheduler, pageCacheWarmer, config, log, monitor );
@@ -56,12 +68,45 @@ class PageCacheWarmerKernelExtension extends LifecycleAdapter
         if ( config.get( GraphDatabaseSettings.pagecache_warmup_enabled ) )
         {
             pageCacheWarmer.start();
+            double hotFraction = config.get( GraphDatabaseSettings.pagecache_warmup_hot_fraction );
+            if ( hotFraction > 0.0 )
+            {
+                // The store files are mapped by now, so we can start loading their hottest pages before the database
+                // becomes available. Files that are mapped later, will be reheated by the availability listener.
+                databaseAvailabilityGuard.require( HOT_PAGES_REQUIREMENT );
+                scheduler.schedule( Group.FILE_IO_HELPER, () -> warmupHotPages( hotFraction ) );
+            }
             databaseAvailabilityGuard.addListener( availabilityListener );
             getNeoStoreFileListing().registerStoreFileProvider( pageCacheWarmer );
             started = true;
         }
     }
 
+    private void warmupHotPages( double hotFraction )
+    {
+        try
+        {
+            monitor.warmupStarted();
+            pageCacheWarmer.reheat( hotFraction, this::hotPagesLoaded ).ifPresent( monitor::warmupCompleted );
+        }
+        catch ( Exception e )
+        {
+            log.debug( "Active page cache warmup failed, " +
+                       "so it may take longer for the cache to be populated with hot data.", e );
+        }
+        finally
+        {
+            // Never keep the database unavailable because of a failed or stopped warmup.
+            databaseAvailabilityGuard.fulfill( HOT_PAGES_REQUIREMENT );
+        }
+    }
+
+    private void hotPagesLoaded( long pagesLoaded )
+    {
+        monitor.warmupHotPagesLoaded( pagesLoaded );
+        databaseAvailabilityGuard.fulfill( HOT_PAGES_REQUIREMENT );
+    }
+
     @Override
     public void stop() throws Throwable
     {
@@ -24,4 +24,9 @@ import java.io.IOException;
 interface PageLoader extends Closeable
 {
     void load( long pageId ) throws IOException;
+
+    /**
+     * Wait for all the pages that have been given to {@link #load(long)} so far, to be in memory.
+     */
+    void awaitLoaded();
 }
@@ -70,11 +70,17 @@ class ParallelPageLoader implements PageLoader
     }
 
     @Override
-    public void close()
+    public void awaitLoaded()
     {
         while ( processed.get() < received.get() )
         {
             Thread.yield();
         }
     }
+
+    @Override
+    public void close()
+    {
+        awaitLoaded();
+    }
 }
@@ -40,6 +40,12 @@ class SingleCursorPageLoader implements PageLoader
         cursor.next( pageId );
     }
 
+    @Override
+    public void awaitLoaded()
+    {
+        // Pages are loaded synchronously by the load method.
+    }
+
     @Override
     public void close()
     {
@@ -40,6 +40,12 @@ public class PageCacheWarmerLoggingMonitor extends PageCacheWarmerMonitorAdapter
         log.info( "Page cache warmup started." );
     }
 
+    @Override
+    public void warmupHotPagesLoaded( long pagesLoaded )
+    {
+        log.info( "Page cache warmup loaded the %d hottest pages. Duration: %s.", pagesLoaded, getDuration( warmupStartMillis ) );
+    }
+
     @Override
     public void warmupCompleted( long pagesLoaded )
     {
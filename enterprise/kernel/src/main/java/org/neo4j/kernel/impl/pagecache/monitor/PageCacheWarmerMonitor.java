@@ -22,6 +22,8 @@ public interface PageCacheWarmerMonitor
 {
     void warmupStarted();
 
+    void warmupHotPagesLoaded( long pagesLoaded );
+
     void warmupCompleted( long pagesLoaded );
 
     void profileCompleted( long pagesInMemory );
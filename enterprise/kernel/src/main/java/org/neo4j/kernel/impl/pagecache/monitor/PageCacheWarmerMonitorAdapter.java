@@ -26,6 +26,12 @@ public class PageCacheWarmerMonitorAdapter implements PageCacheWarmerMonitor
         //nothing
     }
 
+    @Override
+    public void warmupHotPagesLoaded( long pagesLoaded )
+    {
+        //nothing
+    }
+
     @Override
     public void warmupCompleted( long pagesLoaded )
     {
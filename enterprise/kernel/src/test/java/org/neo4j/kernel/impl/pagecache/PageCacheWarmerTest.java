@@ -18,6 +18,7 @@
  */
 package org.neo4j.kernel.impl.pagecache;
 
+import org.apache.commons.lang3.mutable.MutableLong;
 import org.eclipse.collections.api.iterator.IntIterator;
 import org.eclipse.collections.api.set.primitive.MutableIntSet;
 import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
@@ -29,6 +30,7 @@ import org.junit.rules.RuleChain;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -277,6 +279,83 @@ public class PageCacheWarmerTest
         }
     }
 
+    @Test
+    public void reheatMustLoadHottestPagesFirst() throws Exception
+    {
+        int[] hotPages = {3, 17, 40};
+        int[] coldPages = {1, 5, 6, 7, 20, 30, 41};
+        try ( PageCache pageCache = pageCacheRule.getPageCache( fs, cfg );
+              PagedFile pf = pageCache.map( file, pageCache.pageSize(), StandardOpenOption.CREATE ) )
+        {
+            try ( PageCursor writer = pf.io( 0, PagedFile.PF_SHARED_WRITE_LOCK ) )
+            {
+                assertTrue( writer.next( 49 ) );
+            }
+            pf.flushAndForce();
+        }
+
+        try ( PageCache pageCache = pageCacheRule.getPageCache( fs, cfg );
+              PagedFile pf = pageCache.map( file, pageCache.pageSize() ) )
+        {
+            touchPages( pf, coldPages, 1 );
+            touchPages( pf, hotPages, 4 );
+            PageCacheWarmer warmer = new PageCacheWarmer( fs, pageCache, scheduler, testDirectory.databaseDir() );
+            warmer.start();
+            warmer.profile();
+        }
+
+        try ( PageCache pageCache = pageCacheRule.getPageCache( fs, cfg );
+              PagedFile pf = pageCache.map( file, pageCache.pageSize() ) )
+        {
+            PageCacheWarmer warmer = new PageCacheWarmer( fs, pageCache, scheduler, testDirectory.databaseDir() );
+            warmer.start();
+            MutableLong hotPagesLoaded = new MutableLong( -1 );
+            OptionalLong pagesLoaded = warmer.reheat( 0.3, loaded ->
+            {
+                // Only the hot pages may be in memory when the hot fraction has been loaded.
+                hotPagesLoaded.setValue( loaded );
+                assertPagesInMemory( pf, hotPages, true );
+                assertPagesInMemory( pf, coldPages, false );
+            } );
+
+            assertThat( hotPagesLoaded.longValue(), is( (long) hotPages.length ) );
+            assertThat( pagesLoaded.getAsLong(), is( (long) (hotPages.length + coldPages.length) ) );
+            assertPagesInMemory( pf, coldPages, true );
+            // Files that have already been reheated are not loaded again.
+            assertThat( warmer.reheat().getAsLong(), is( 0L ) );
+        }
+    }
+
+    @Test
+    public void mustReheatFromLegacyBitmapProfile() throws Exception
+    {
+        try ( PageCache pageCache = pageCacheRule.getPageCache( fs, cfg );
+              PagedFile pf = pageCache.map( file, pageCache.pageSize(), StandardOpenOption.CREATE ) )
+        {
+            try ( PageCursor writer = pf.io( 0, PagedFile.PF_SHARED_WRITE_LOCK ) )
+            {
+                assertTrue( writer.next( 19 ) );
+            }
+            pf.flushAndForce();
+        }
+        try ( OutputStream out = Profile.first( file ).write( fs ) )
+        {
+            // One bit per page: pages 1, 2 and 15.
+            out.write( 0b0000_0110 );
+            out.write( 0b1000_0000 );
+        }
+
+        try ( PageCache pageCache = pageCacheRule.getPageCache( fs, cfg );
+              PagedFile pf = pageCache.map( file, pageCache.pageSize() ) )
+        {
+            PageCacheWarmer warmer = new PageCacheWarmer( fs, pageCache, scheduler, testDirectory.databaseDir() );
+            warmer.start();
+            assertThat( warmer.reheat().getAsLong(), is( 3L ) );
+            assertPagesInMemory( pf, new int[]{1, 2, 15}, true );
+            assertPagesInMemory( pf, new int[]{0, 3, 14, 16}, false );
+        }
+    }
+
     @SuppressWarnings( "unused" )
     @Test
     public void profileMustNotDeleteFilesCurrentlyExposedViaFileListing() throws Exception
@@ -355,6 +434,28 @@ public class PageCacheWarmerTest
         assertThat( resortedProfiles, is( sortedProfiles ) );
     }
 
+    private static void touchPages( PagedFile pf, int[] pageIds, int times ) throws IOException
+    {
+        for ( int i = 0; i < times; i++ )
+        {
+            for ( int pageId : pageIds )
+            {
+                try ( PageCursor reader = pf.io( pageId, PagedFile.PF_SHARED_READ_LOCK ) )
+                {
+                    assertTrue( reader.next() );
+                }
+            }
+        }
+    }
+
+    private static void assertPagesInMemory( PagedFile pf, int[] pageIds, boolean inMemory )
+    {
+        for ( int pageId : pageIds )
+        {
+            assertThat( "page " + pageId, pf.usageCount( pageId ) >= 0, is( inMemory ) );
+        }
+    }
+
     private void assertFilesExists( List<StoreFileMetadata> fileListing )
     {
         for ( StoreFileMetadata fileMetadata : fileListing )
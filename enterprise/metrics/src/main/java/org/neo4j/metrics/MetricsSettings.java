@@ -71,6 +71,11 @@ public class MetricsSettings implements LoadableConfig
     public static final Setting<Boolean> neoPageCacheEnabled = buildSetting(
             "metrics.neo4j.pagecache.enabled", BOOLEAN ).inherits( neoEnabled ).build();
 
+    @Description( "Enable reporting metrics about the node property value cache; hits, misses, hit ratio, evictions and " +
+                  "used memory." )
+    public static final Setting<Boolean> neoNodePropertyCacheEnabled = buildSetting(
+            "metrics.neo4j.node_property_cache.enabled", BOOLEAN ).inherits( neoEnabled ).build();
+
     @Description( "Enable reporting metrics about approximately how many entities are in the database; nodes, " +
                   "relationships, properties, etc." )
     public static final Setting<Boolean> neoCountsEnabled = buildSetting(
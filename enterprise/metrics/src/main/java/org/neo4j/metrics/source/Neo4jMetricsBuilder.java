@@ -23,10 +23,13 @@ import com.codahale.metrics.MetricRegistry;
 import java.util.function.Supplier;
 
 import org.neo4j.causalclustering.core.consensus.CoreMetaData;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.neo4j.io.pagecache.BackgroundPageFlusher;
 import org.neo4j.io.pagecache.monitoring.PageCacheCounters;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.ha.cluster.member.ClusterMembers;
 import org.neo4j.kernel.impl.api.LogRotationMonitor;
+import org.neo4j.kernel.impl.cache.NodePropertyValueCache;
 import org.neo4j.kernel.impl.factory.Edition;
 import org.neo4j.kernel.impl.factory.OperationalMode;
 import org.neo4j.kernel.impl.spi.KernelContext;
@@ -45,11 +48,13 @@ import org.neo4j.metrics.source.causalclustering.CoreMetrics;
 import org.neo4j.metrics.source.causalclustering.ReadReplicaMetrics;
 import org.neo4j.metrics.source.cluster.ClusterMetrics;
 import org.neo4j.metrics.source.cluster.NetworkMetrics;
+import org.neo4j.metrics.source.db.BackgroundPageFlusherMetrics;
 import org.neo4j.metrics.source.db.BoltMetrics;
 import org.neo4j.metrics.source.db.CheckPointingMetrics;
 import org.neo4j.metrics.source.db.CypherMetrics;
 import org.neo4j.metrics.source.db.EntityCountMetrics;
 import org.neo4j.metrics.source.db.LogRotationMetrics;
+import org.neo4j.metrics.source.db.NodePropertyValueCacheMetrics;
 import org.neo4j.metrics.source.db.PageCacheMetrics;
 import org.neo4j.metrics.source.db.TransactionMetrics;
 import org.neo4j.metrics.source.jvm.GCMetrics;
@@ -111,10 +116,21 @@ public class Neo4jMetricsBuilder
             result = true;
         }
 
+        if ( config.get( MetricsSettings.neoNodePropertyCacheEnabled ) )
+        {
+            life.add( new NodePropertyValueCacheMetrics( registry, databaseDependencySupplier( NodePropertyValueCache.class ) ) );
+            result = true;
+        }
+
         if ( config.get( MetricsSettings.neoCheckPointingEnabled ) )
         {
             life.add( new CheckPointingMetrics( reporter, registry, dependencies.monitors(),
                     databaseDependencySupplier( CheckPointerMonitor.class ) ) );
+            if ( config.get( GraphDatabaseSettings.check_point_background_flush_interval ).toMillis() > 0 )
+            {
+                life.add( new BackgroundPageFlusherMetrics( registry,
+                        databaseDependencySupplier( BackgroundPageFlusher.class ) ) );
+            }
             result = true;
         }
 
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.metrics.source.db;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.function.Supplier;
+
+import org.neo4j.io.pagecache.BackgroundPageFlusher;
+import org.neo4j.kernel.impl.annotations.Documented;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+@Documented( ".Database background page flushing metrics" )
+public class BackgroundPageFlusherMetrics extends LifecycleAdapter
+{
+    private static final String BACKGROUND_FLUSH_PREFIX = "neo4j.check_point.background_flush";
+
+    @Documented( "The number of dirty pages that the latest background flush left for the next check point to flush" )
+    public static final String BACKGROUND_FLUSH_LAG = name( BACKGROUND_FLUSH_PREFIX, "lag" );
+    @Documented( "The duration of the latest background flush" )
+    public static final String BACKGROUND_FLUSH_DURATION = name( BACKGROUND_FLUSH_PREFIX, "duration" );
+    @Documented( "The total number of background flushes completed so far" )
+    public static final String BACKGROUND_FLUSH_EVENTS = name( BACKGROUND_FLUSH_PREFIX, "events" );
+    @Documented( "The total number of background flushes that have failed so far" )
+    public static final String BACKGROUND_FLUSH_FAILURES = name( BACKGROUND_FLUSH_PREFIX, "failures" );
+
+    private final MetricRegistry registry;
+    private final Supplier<BackgroundPageFlusher> backgroundPageFlusherSupplier;
+
+    public BackgroundPageFlusherMetrics( MetricRegistry registry,
+            Supplier<BackgroundPageFlusher> backgroundPageFlusherSupplier )
+    {
+        this.registry = registry;
+        this.backgroundPageFlusherSupplier = backgroundPageFlusherSupplier;
+    }
+
+    @Override
+    public void start()
+    {
+        BackgroundPageFlusher flusher = backgroundPageFlusherSupplier.get();
+        registry.register( BACKGROUND_FLUSH_LAG, (Gauge<Long>) flusher::dirtyPagesLeftBehind );
+        registry.register( BACKGROUND_FLUSH_DURATION, (Gauge<Long>) flusher::lastPassDurationMillis );
+        registry.register( BACKGROUND_FLUSH_EVENTS, (Gauge<Long>) flusher::completedPasses );
+        registry.register( BACKGROUND_FLUSH_FAILURES, (Gauge<Long>) flusher::failedPasses );
+    }
+
+    @Override
+    public void stop()
+    {
+        registry.remove( BACKGROUND_FLUSH_LAG );
+        registry.remove( BACKGROUND_FLUSH_DURATION );
+        registry.remove( BACKGROUND_FLUSH_EVENTS );
+        registry.remove( BACKGROUND_FLUSH_FAILURES );
+    }
+}
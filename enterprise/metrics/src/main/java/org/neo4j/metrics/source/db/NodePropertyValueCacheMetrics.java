@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.metrics.source.db;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.function.Supplier;
+
+import org.neo4j.kernel.impl.annotations.Documented;
+import org.neo4j.kernel.impl.cache.NodePropertyValueCache;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+@Documented( ".Database node property value cache metrics" )
+public class NodePropertyValueCacheMetrics extends LifecycleAdapter
+{
+    private static final String NODE_PROPERTY_CACHE_PREFIX = "neo4j.node_property_cache";
+
+    @Documented( "The total number of node property values found in the node property value cache" )
+    public static final String NPC_HITS = name( NODE_PROPERTY_CACHE_PREFIX, "hits" );
+    @Documented( "The total number of node property values not found in the node property value cache, and read from the store" )
+    public static final String NPC_MISSES = name( NODE_PROPERTY_CACHE_PREFIX, "misses" );
+    @Documented( "The ratio of hits to the total number of lookups in the node property value cache" )
+    public static final String NPC_HIT_RATIO = name( NODE_PROPERTY_CACHE_PREFIX, "hit_ratio" );
+    @Documented( "The total number of values evicted from the node property value cache to make room for newer values" )
+    public static final String NPC_EVICTIONS = name( NODE_PROPERTY_CACHE_PREFIX, "evictions" );
+    @Documented( "The amount of off-heap memory, in bytes, used by the node property value cache" )
+    public static final String NPC_USED_MEMORY = name( NODE_PROPERTY_CACHE_PREFIX, "used_memory" );
+
+    private final MetricRegistry registry;
+    private final Supplier<NodePropertyValueCache> nodePropertyValueCacheSupplier;
+
+    public NodePropertyValueCacheMetrics( MetricRegistry registry, Supplier<NodePropertyValueCache> nodePropertyValueCacheSupplier )
+    {
+        this.registry = registry;
+        this.nodePropertyValueCacheSupplier = nodePropertyValueCacheSupplier;
+    }
+
+    @Override
+    public void start()
+    {
+        NodePropertyValueCache cache = nodePropertyValueCacheSupplier.get();
+        registry.register( NPC_HITS, (Gauge<Long>) cache::hits );
+        registry.register( NPC_MISSES, (Gauge<Long>) cache::misses );
+        registry.register( NPC_HIT_RATIO, (Gauge<Double>) cache::hitRatio );
+        registry.register( NPC_EVICTIONS, (Gauge<Long>) cache::evictions );
+        registry.register( NPC_USED_MEMORY, (Gauge<Long>) cache::usedMemory );
+    }
+
+    @Override
+    public void stop()
+    {
+        registry.remove( NPC_HITS );
+        registry.remove( NPC_MISSES );
+        registry.remove( NPC_HIT_RATIO );
+        registry.remove( NPC_EVICTIONS );
+        registry.remove( NPC_USED_MEMORY );
+    }
+}
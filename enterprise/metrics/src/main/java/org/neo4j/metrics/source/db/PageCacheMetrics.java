@@ -48,6 +48,12 @@ public class PageCacheMetrics extends LifecycleAdapter
     public static final String PC_HITS = name( PAGE_CACHE_PREFIX, "hits" );
     @Documented( "The ratio of hits to the total number of lookups in the page cache" )
     public static final String PC_HIT_RATIO = name( PAGE_CACHE_PREFIX, "hit_ratio" );
+    @Documented( "The total number of page hits happened in the page cache on behalf of transient scans" )
+    public static final String PC_TRANSIENT_HITS = name( PAGE_CACHE_PREFIX, "transient_hits" );
+    @Documented( "The total number of page faults happened in the page cache on behalf of transient scans" )
+    public static final String PC_TRANSIENT_PAGE_FAULTS = name( PAGE_CACHE_PREFIX, "transient_page_faults" );
+    @Documented( "The ratio of hits to the total number of lookups in the page cache, excluding transient scans" )
+    public static final String PC_NON_TRANSIENT_HIT_RATIO = name( PAGE_CACHE_PREFIX, "non_transient_hit_ratio" );
     @Documented( "The ratio of number of used pages to total number of available pages" )
     public static final String PC_USAGE_RATIO = name( PAGE_CACHE_PREFIX, "usage_ratio" );
 
@@ -72,6 +78,9 @@ public class PageCacheMetrics extends LifecycleAdapter
         registry.register( PC_EVICTION_EXCEPTIONS, (Gauge<Long>) pageCacheCounters::evictionExceptions );
         registry.register( PC_HIT_RATIO, (Gauge<Double>) pageCacheCounters::hitRatio );
         registry.register( PC_USAGE_RATIO, (Gauge<Double>) pageCacheCounters::usageRatio );
+        registry.register( PC_TRANSIENT_HITS, (Gauge<Long>) pageCacheCounters::transientHits );
+        registry.register( PC_TRANSIENT_PAGE_FAULTS, (Gauge<Long>) pageCacheCounters::transientFaults );
+        registry.register( PC_NON_TRANSIENT_HIT_RATIO, (Gauge<Double>) pageCacheCounters::nonTransientHitRatio );
     }
 
     @Override
@@ -86,5 +95,8 @@ public class PageCacheMetrics extends LifecycleAdapter
         registry.remove( PC_EVICTION_EXCEPTIONS );
         registry.remove( PC_HIT_RATIO );
         registry.remove( PC_USAGE_RATIO );
+        registry.remove( PC_TRANSIENT_HITS );
+        registry.remove( PC_TRANSIENT_PAGE_FAULTS );
+        registry.remove( PC_NON_TRANSIENT_HIT_RATIO );
     }
 }
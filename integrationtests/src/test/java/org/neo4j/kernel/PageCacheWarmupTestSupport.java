@@ -106,6 +106,12 @@ class PageCacheWarmupTestSupport
             //nothing
         }
 
+        @Override
+        public void warmupHotPagesLoaded( long pagesLoaded )
+        {
+            //nothing
+        }
+
         @Override
         public void warmupCompleted( long pagesLoaded )
         {